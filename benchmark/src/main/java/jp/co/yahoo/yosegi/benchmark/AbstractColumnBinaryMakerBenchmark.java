@@ -0,0 +1,163 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.co.yahoo.yosegi.benchmark;
+
+import jp.co.yahoo.yosegi.binary.ColumnBinary;
+import jp.co.yahoo.yosegi.binary.ColumnBinaryMakerConfig;
+import jp.co.yahoo.yosegi.binary.CompressResultNode;
+import jp.co.yahoo.yosegi.binary.FindColumnBinaryMaker;
+import jp.co.yahoo.yosegi.binary.maker.IColumnBinaryMaker;
+import jp.co.yahoo.yosegi.compressor.FindCompressor;
+import jp.co.yahoo.yosegi.inmemory.IMemoryAllocator;
+import jp.co.yahoo.yosegi.reader.DynamicSchemaRootMemoryAllocator;
+import jp.co.yahoo.yosegi.spread.Spread;
+import jp.co.yahoo.yosegi.spread.column.IColumn;
+import jp.co.yahoo.yosegi.spread.column.filter.IFilter;
+import jp.co.yahoo.yosegi.spread.expression.ExecuterNode;
+import jp.co.yahoo.yosegi.spread.expression.IExpressionNode;
+import jp.co.yahoo.yosegi.spread.expression.StringExtractNode;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.SchemaChangeCallBack;
+import org.apache.arrow.vector.complex.StructVector;
+import org.apache.arrow.vector.types.pojo.ArrowType.Struct;
+import org.apache.arrow.vector.types.pojo.FieldType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of encoding, decoding, filtering and Arrow loading of a single IColumnBinaryMaker.
+ * The subclass defines the combination of makers, datasets and filter as JMH parameters.
+ * Run with "-prof gc" to report the allocation rate of each maker.
+ */
+@State( Scope.Thread )
+@BenchmarkMode( Mode.Throughput )
+@OutputTimeUnit( TimeUnit.SECONDS )
+@Warmup( iterations = 3 , time = 2 )
+@Measurement( iterations = 5 , time = 2 )
+@Fork( 1 )
+public abstract class AbstractColumnBinaryMakerBenchmark {
+
+  @Param( { "50000" } )
+  public int rows;
+
+  @Param( { "jp.co.yahoo.yosegi.compressor.GzipCompressor" } )
+  public String compressor;
+
+  private IColumnBinaryMaker maker;
+  private ColumnBinaryMakerConfig config;
+  private IColumn column;
+  private ColumnBinary columnBinary;
+  private IExpressionNode filterNode;
+  private BufferAllocator bufferAllocator;
+  private StructVector rootVector;
+
+  public abstract String getMakerClassName();
+
+  public abstract BenchmarkDataset getDataset();
+
+  public abstract IFilter createFilter();
+
+  /**
+   * Create the column and the binary used in each benchmark.
+   */
+  @Setup
+  public void setup() throws IOException {
+    maker = FindColumnBinaryMaker.get( getMakerClassName() );
+    config = new ColumnBinaryMakerConfig();
+    config.compressorClass = FindCompressor.get( compressor );
+    column = getDataset().createSpread( rows ).getColumn( BenchmarkDataset.COLUMN_NAME );
+    columnBinary = maker.toBinary( config , null , new CompressResultNode() , column );
+    filterNode = new ExecuterNode(
+        new StringExtractNode( BenchmarkDataset.COLUMN_NAME ) , createFilter() );
+    bufferAllocator = new RootAllocator( Integer.MAX_VALUE );
+    rootVector = new StructVector(
+        "root" ,
+        bufferAllocator ,
+        new FieldType( true , Struct.INSTANCE , null , null ) ,
+        new SchemaChangeCallBack() );
+  }
+
+  /**
+   * Release the Arrow memory.
+   */
+  @TearDown
+  public void tearDown() {
+    rootVector.close();
+    bufferAllocator.close();
+  }
+
+  @Benchmark
+  public ColumnBinary toBinary() throws IOException {
+    return maker.toBinary( config , null , new CompressResultNode() , column );
+  }
+
+  /**
+   * Decode the binary and access all cells.
+   */
+  @Benchmark
+  public void toColumn( final Blackhole blackhole ) throws IOException {
+    IColumn readColumn = maker.toColumn( columnBinary );
+    for ( int i = 0 ; i < readColumn.size() ; i++ ) {
+      blackhole.consume( readColumn.get( i ) );
+    }
+  }
+
+  /**
+   * Decode the binary and evaluate the filter through the expression node.
+   */
+  @Benchmark
+  public boolean[] filter() throws IOException {
+    Spread spread = new Spread();
+    spread.addColumn( maker.toColumn( columnBinary ) );
+    spread.setRowCount( rows );
+    return filterNode.exec( spread );
+  }
+
+  /**
+   * Decode the binary directly into the Arrow vector.
+   */
+  @Benchmark
+  public StructVector loadInMemoryStorage() throws IOException {
+    rootVector.clear();
+    IMemoryAllocator memoryAllocator = new DynamicSchemaRootMemoryAllocator()
+        .create( bufferAllocator , rootVector , rows );
+    IMemoryAllocator childAllocator =
+        memoryAllocator.getChild( columnBinary.columnName , columnBinary.columnType );
+    maker.loadInMemoryStorage( columnBinary , childAllocator );
+    childAllocator.setValueCount( rows );
+    return rootVector;
+  }
+
+}
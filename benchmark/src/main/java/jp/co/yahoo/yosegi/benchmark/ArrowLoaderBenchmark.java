@@ -0,0 +1,96 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.co.yahoo.yosegi.benchmark;
+
+import jp.co.yahoo.yosegi.config.Configuration;
+import jp.co.yahoo.yosegi.reader.DirectArrowLoader;
+import jp.co.yahoo.yosegi.reader.DynamicSchemaRootMemoryAllocator;
+import jp.co.yahoo.yosegi.reader.IArrowLoader;
+import jp.co.yahoo.yosegi.reader.YosegiReader;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of loading the file into Arrow with DirectArrowLoader.
+ */
+@State( Scope.Thread )
+@BenchmarkMode( Mode.Throughput )
+@OutputTimeUnit( TimeUnit.SECONDS )
+@Warmup( iterations = 3 , time = 2 )
+@Measurement( iterations = 5 , time = 2 )
+@Fork( 1 )
+public class ArrowLoaderBenchmark {
+
+  @Param( { "50000" } )
+  public int rows;
+
+  @Param( { "4" } )
+  public int spreads;
+
+  private byte[] file;
+  private BufferAllocator allocator;
+
+  /**
+   * Create the file.
+   */
+  @Setup
+  public void setup() throws IOException {
+    file = ReaderBenchmark.createFile( rows , spreads );
+    allocator = new RootAllocator( Integer.MAX_VALUE );
+  }
+
+  @TearDown
+  public void tearDown() {
+    allocator.close();
+  }
+
+  /**
+   * Load all Spreads into Arrow vectors.
+   */
+  @Benchmark
+  public void next( final Blackhole blackhole ) throws IOException {
+    YosegiReader reader = new YosegiReader();
+    reader.setNewStream( new ByteArrayInputStream( file ) , file.length , new Configuration() );
+    IArrowLoader loader = new DirectArrowLoader(
+        new DynamicSchemaRootMemoryAllocator() , reader , allocator );
+    while ( loader.hasNext() ) {
+      blackhole.consume( loader.next() );
+    }
+    loader.close();
+  }
+
+}
@@ -0,0 +1,163 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.co.yahoo.yosegi.benchmark;
+
+import jp.co.yahoo.yosegi.message.objects.DoubleObj;
+import jp.co.yahoo.yosegi.message.objects.LongObj;
+import jp.co.yahoo.yosegi.message.objects.StringObj;
+import jp.co.yahoo.yosegi.spread.Spread;
+import jp.co.yahoo.yosegi.spread.column.ColumnType;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Synthetic column data used by the benchmarks.
+ * Every dataset is generated from a fixed seed so that runs are comparable.
+ * A null value is represented by not setting the key in the row.
+ */
+public enum BenchmarkDataset {
+
+  HIGH_CARDINALITY_STRING( ColumnType.STRING ) {
+    @Override
+    public Object create( final Random random , final int rowIndex ) {
+      return new StringObj( Long.toHexString( random.nextLong() ) + "-" + rowIndex );
+    }
+  },
+
+  LOW_CARDINALITY_STRING( ColumnType.STRING ) {
+    @Override
+    public Object create( final Random random , final int rowIndex ) {
+      return new StringObj( LOW_CARDINALITY_VALUES[ random.nextInt( 16 ) ] );
+    }
+  },
+
+  SORTED_LONG( ColumnType.LONG ) {
+    @Override
+    public Object create( final Random random , final int rowIndex ) {
+      return new LongObj( 1500000000000L + ( rowIndex * 1000L ) + random.nextInt( 10 ) );
+    }
+  },
+
+  RANDOM_LONG( ColumnType.LONG ) {
+    @Override
+    public Object create( final Random random , final int rowIndex ) {
+      return new LongObj( random.nextLong() );
+    }
+  },
+
+  SPARSE_NULL_LONG( ColumnType.LONG ) {
+    @Override
+    public Object create( final Random random , final int rowIndex ) {
+      if ( random.nextInt( 10 ) != 0 ) {
+        return null;
+      }
+      return new LongObj( random.nextInt( 100000 ) );
+    }
+  },
+
+  RANDOM_DOUBLE( ColumnType.DOUBLE ) {
+    @Override
+    public Object create( final Random random , final int rowIndex ) {
+      return new DoubleObj( Math.round( random.nextDouble() * 100000d ) / 100d );
+    }
+  },
+
+  NESTED_ARRAY( ColumnType.ARRAY ) {
+    @Override
+    public Object create( final Random random , final int rowIndex ) {
+      int length = random.nextInt( 5 );
+      if ( length == 0 ) {
+        return null;
+      }
+      List<Object> array = new ArrayList<Object>( length );
+      for ( int i = 0 ; i < length ; i++ ) {
+        array.add( new LongObj( random.nextInt( 1000 ) ) );
+      }
+      return array;
+    }
+  };
+
+  public static final String COLUMN_NAME = "c";
+
+  private static final long SEED = 20201001L;
+
+  private static final String[] LOW_CARDINALITY_VALUES = new String[]{
+    "JP" , "US" , "GB" , "FR" , "DE" , "IT" , "ES" , "KR" ,
+    "CN" , "TW" , "IN" , "BR" , "MX" , "CA" , "AU" , "NZ" };
+
+  private final ColumnType columnType;
+
+  BenchmarkDataset( final ColumnType columnType ) {
+    this.columnType = columnType;
+  }
+
+  public ColumnType getColumnType() {
+    return columnType;
+  }
+
+  /**
+   * Create the value of the specified row. Returns null if the row is null.
+   */
+  public abstract Object create( final Random random , final int rowIndex );
+
+  /**
+   * Create a Spread that has only this dataset as the column.
+   */
+  public Spread createSpread( final int rows ) throws IOException {
+    Random random = new Random( SEED );
+    Spread spread = new Spread();
+    Map<String,Object> row = new HashMap<String,Object>();
+    for ( int i = 0 ; i < rows ; i++ ) {
+      row.clear();
+      Object value = create( random , i );
+      if ( value != null ) {
+        row.put( COLUMN_NAME , value );
+      }
+      spread.addRow( row );
+    }
+    return spread;
+  }
+
+  /**
+   * Create a Spread that has all datasets as columns.
+   * The column name is the name of the dataset.
+   */
+  public static Spread createWideSpread( final int rows ) throws IOException {
+    Random random = new Random( SEED );
+    Spread spread = new Spread();
+    Map<String,Object> row = new HashMap<String,Object>();
+    for ( int i = 0 ; i < rows ; i++ ) {
+      row.clear();
+      for ( BenchmarkDataset dataset : values() ) {
+        Object value = dataset.create( random , i );
+        if ( value != null ) {
+          row.put( dataset.name() , value );
+        }
+      }
+      spread.addRow( row );
+    }
+    return spread;
+  }
+
+}
@@ -0,0 +1,60 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.co.yahoo.yosegi.benchmark;
+
+import jp.co.yahoo.yosegi.message.objects.LongObj;
+import jp.co.yahoo.yosegi.spread.column.filter.IFilter;
+import jp.co.yahoo.yosegi.spread.column.filter.NumberFilter;
+import jp.co.yahoo.yosegi.spread.column.filter.NumberFilterType;
+
+import org.openjdk.jmh.annotations.Param;
+
+/**
+ * Benchmark of the long IColumnBinaryMaker.
+ */
+public class LongColumnBinaryMakerBenchmark extends AbstractColumnBinaryMakerBenchmark {
+
+  @Param( {
+      "jp.co.yahoo.yosegi.binary.maker.OptimizedNullArrayDumpLongColumnBinaryMaker" ,
+      "jp.co.yahoo.yosegi.binary.maker.OptimizedNullArrayLongColumnBinaryMaker" ,
+      "jp.co.yahoo.yosegi.binary.maker.UnsafeOptimizeDumpLongColumnBinaryMaker" ,
+      "jp.co.yahoo.yosegi.binary.maker.UnsafeOptimizeLongColumnBinaryMaker" ,
+      "jp.co.yahoo.yosegi.binary.maker.RleLongColumnBinaryMaker"
+  } )
+  public String maker;
+
+  @Param( { "SORTED_LONG" , "RANDOM_LONG" , "SPARSE_NULL_LONG" } )
+  public BenchmarkDataset dataset;
+
+  @Override
+  public String getMakerClassName() {
+    return maker;
+  }
+
+  @Override
+  public BenchmarkDataset getDataset() {
+    return dataset;
+  }
+
+  @Override
+  public IFilter createFilter() {
+    return new NumberFilter( NumberFilterType.GE , new LongObj( 1500000000000L ) );
+  }
+
+}
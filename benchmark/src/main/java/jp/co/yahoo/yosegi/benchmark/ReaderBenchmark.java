@@ -0,0 +1,118 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.co.yahoo.yosegi.benchmark;
+
+import jp.co.yahoo.yosegi.config.Configuration;
+import jp.co.yahoo.yosegi.reader.YosegiReader;
+import jp.co.yahoo.yosegi.spread.Spread;
+import jp.co.yahoo.yosegi.spread.column.IColumn;
+import jp.co.yahoo.yosegi.writer.YosegiWriter;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of the read path from the file to Spread.
+ * The file is created once in memory and read from a ByteArrayInputStream.
+ */
+@State( Scope.Thread )
+@BenchmarkMode( Mode.Throughput )
+@OutputTimeUnit( TimeUnit.SECONDS )
+@Warmup( iterations = 3 , time = 2 )
+@Measurement( iterations = 5 , time = 2 )
+@Fork( 1 )
+public class ReaderBenchmark {
+
+  @Param( { "50000" } )
+  public int rows;
+
+  @Param( { "4" } )
+  public int spreads;
+
+  private byte[] file;
+
+  /**
+   * Create the file.
+   */
+  @Setup
+  public void setup() throws IOException {
+    file = createFile( rows , spreads );
+  }
+
+  /**
+   * Create a file with the specified number of Spreads.
+   */
+  public static byte[] createFile( final int rows , final int spreads ) throws IOException {
+    Spread spread = BenchmarkDataset.createWideSpread( rows );
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try ( YosegiWriter writer = new YosegiWriter( out , new Configuration() ) ) {
+      for ( int i = 0 ; i < spreads ; i++ ) {
+        writer.append( spread );
+      }
+    }
+    return out.toByteArray();
+  }
+
+  /**
+   * Read all Spreads and access all cells.
+   */
+  @Benchmark
+  public void next( final Blackhole blackhole ) throws IOException {
+    try ( YosegiReader reader = new YosegiReader() ) {
+      reader.setNewStream( new ByteArrayInputStream( file ) , file.length , new Configuration() );
+      while ( reader.hasNext() ) {
+        Spread spread = reader.next();
+        for ( IColumn column : spread.getListColumn() ) {
+          for ( int i = 0 ; i < column.size() ; i++ ) {
+            blackhole.consume( column.get( i ) );
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Read all Spreads without decoding.
+   */
+  @Benchmark
+  public void nextRaw( final Blackhole blackhole ) throws IOException {
+    try ( YosegiReader reader = new YosegiReader() ) {
+      reader.setNewStream( new ByteArrayInputStream( file ) , file.length , new Configuration() );
+      while ( reader.hasNext() ) {
+        blackhole.consume( reader.nextRaw() );
+      }
+    }
+  }
+
+}
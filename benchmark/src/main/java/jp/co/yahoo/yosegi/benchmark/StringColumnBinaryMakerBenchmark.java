@@ -0,0 +1,59 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.co.yahoo.yosegi.benchmark;
+
+import jp.co.yahoo.yosegi.spread.column.filter.IFilter;
+import jp.co.yahoo.yosegi.spread.column.filter.PerfectMatchStringFilter;
+
+import org.openjdk.jmh.annotations.Param;
+
+/**
+ * Benchmark of the string IColumnBinaryMaker.
+ */
+public class StringColumnBinaryMakerBenchmark extends AbstractColumnBinaryMakerBenchmark {
+
+  @Param( {
+      "jp.co.yahoo.yosegi.binary.maker.OptimizedNullArrayDumpStringColumnBinaryMaker" ,
+      "jp.co.yahoo.yosegi.binary.maker.OptimizedNullArrayStringColumnBinaryMaker" ,
+      "jp.co.yahoo.yosegi.binary.maker.UnsafeOptimizeDumpStringColumnBinaryMaker" ,
+      "jp.co.yahoo.yosegi.binary.maker.UnsafeOptimizeStringColumnBinaryMaker" ,
+      "jp.co.yahoo.yosegi.binary.maker.DictionaryRleStringColumnBinaryMaker" ,
+      "jp.co.yahoo.yosegi.binary.maker.RleStringColumnBinaryMaker"
+  } )
+  public String maker;
+
+  @Param( { "HIGH_CARDINALITY_STRING" , "LOW_CARDINALITY_STRING" } )
+  public BenchmarkDataset dataset;
+
+  @Override
+  public String getMakerClassName() {
+    return maker;
+  }
+
+  @Override
+  public BenchmarkDataset getDataset() {
+    return dataset;
+  }
+
+  @Override
+  public IFilter createFilter() {
+    return new PerfectMatchStringFilter( "JP" );
+  }
+
+}
@@ -0,0 +1,103 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.co.yahoo.yosegi.benchmark;
+
+import jp.co.yahoo.yosegi.binary.ColumnBinary;
+import jp.co.yahoo.yosegi.block.PushdownSupportedBlockWriter;
+import jp.co.yahoo.yosegi.config.Configuration;
+import jp.co.yahoo.yosegi.spread.Spread;
+import jp.co.yahoo.yosegi.writer.YosegiWriter;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of the write path from Spread to the file.
+ * The Spread contains all columns of {@link BenchmarkDataset}.
+ */
+@State( Scope.Thread )
+@BenchmarkMode( Mode.Throughput )
+@OutputTimeUnit( TimeUnit.SECONDS )
+@Warmup( iterations = 3 , time = 2 )
+@Measurement( iterations = 5 , time = 2 )
+@Fork( 1 )
+public class WriterBenchmark {
+
+  @Param( { "50000" } )
+  public int rows;
+
+  @Param( { "true" , "false" } )
+  public String autoOptimizer;
+
+  private Spread spread;
+  private Configuration config;
+  private PushdownSupportedBlockWriter blockWriter;
+
+  /**
+   * Create the Spread and the block writer.
+   */
+  @Setup
+  public void setup() throws IOException {
+    spread = BenchmarkDataset.createWideSpread( rows );
+    config = new Configuration();
+    config.set( "spread.column.maker.use.auto.optimizer" , autoOptimizer );
+    blockWriter = new PushdownSupportedBlockWriter();
+    blockWriter.setup( 1024 * 1024 * 64 , config );
+  }
+
+  @Benchmark
+  public List<ColumnBinary> convertRow() throws IOException {
+    return blockWriter.convertRow( spread );
+  }
+
+  /**
+   * Write the Spread as one file.
+   */
+  @Benchmark
+  public void append() throws IOException {
+    try ( YosegiWriter writer = new YosegiWriter( new NullOutputStream() , config ) ) {
+      writer.append( spread );
+    }
+  }
+
+  private static class NullOutputStream extends OutputStream {
+
+    @Override
+    public void write( final int data ) {}
+
+    @Override
+    public void write( final byte[] data , final int start , final int length ) {}
+
+  }
+
+}
@@ -0,0 +1,299 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.co.yahoo.yosegi.binary;
+
+import jp.co.yahoo.yosegi.binary.maker.IColumnBinaryMaker;
+import jp.co.yahoo.yosegi.binary.maker.ISharedDictionaryColumnBinaryMaker;
+import jp.co.yahoo.yosegi.spread.column.ColumnType;
+import jp.co.yahoo.yosegi.spread.column.ColumnTypeFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The shared dictionaries of a block, one for each column path and column type.
+ * The writer stores it once in the block meta, and the reader attaches it
+ * to the ColumnBinary of every Spread.
+ *
+ * <p>The binary layout is shown below.
+ *
+ * <ul>
+ * <li>dictionaryCount int
+ * <li>(pathLength int, (nameLength int, name bytes) * pathLength,
+ *     columnType byte, dictionary) * dictionaryCount
+ * </ul>
+ */
+public class BlockDictionary {
+
+  private final Map<List<String>,SharedDictionary> dictionaryMap =
+      new LinkedHashMap<List<String>,SharedDictionary>();
+  private final Map<List<String>,ColumnType> columnTypeMap =
+      new LinkedHashMap<List<String>,ColumnType>();
+
+  /**
+   * Create the dictionaries from the binary.
+   */
+  public static BlockDictionary createFromBinary( final byte[] buffer , final int start ) {
+    BlockDictionary blockDictionary = new BlockDictionary();
+    ByteBuffer wrapBuffer = ByteBuffer.wrap( buffer );
+    int offset = start;
+    int dictionaryCount = wrapBuffer.getInt( offset );
+    offset += Integer.BYTES;
+    for ( int i = 0 ; i < dictionaryCount ; i++ ) {
+      int pathLength = wrapBuffer.getInt( offset );
+      offset += Integer.BYTES;
+      List<String> path = new ArrayList<String>( pathLength );
+      for ( int j = 0 ; j < pathLength ; j++ ) {
+        int nameLength = wrapBuffer.getInt( offset );
+        offset += Integer.BYTES;
+        path.add( new String( buffer , offset , nameLength , StandardCharsets.UTF_8 ) );
+        offset += nameLength;
+      }
+      ColumnType columnType = ColumnTypeFactory.getColumnTypeFromByte( buffer[offset] );
+      offset += Byte.BYTES;
+      SharedDictionary dictionary =
+          SharedDictionary.createFromBinary( columnType , buffer , offset );
+      offset += dictionary.getBinarySize();
+      blockDictionary.put( path , columnType , dictionary );
+    }
+    return blockDictionary;
+  }
+
+  private static List<String> createKey(
+      final List<String> path , final ColumnType columnType ) {
+    List<String> key = new ArrayList<String>( path.size() + 1 );
+    key.addAll( path );
+    key.add( columnType.toString() );
+    return Collections.unmodifiableList( key );
+  }
+
+  private void put(
+      final List<String> path ,
+      final ColumnType columnType ,
+      final SharedDictionary dictionary ) {
+    List<String> key = createKey( path , columnType );
+    dictionaryMap.put( key , dictionary );
+    columnTypeMap.put( key , columnType );
+  }
+
+  /**
+   * Get the dictionary of the column, or create it if it does not exist.
+   */
+  public synchronized SharedDictionary getOrCreate(
+      final List<String> path , final ColumnType columnType ) {
+    SharedDictionary dictionary = get( path , columnType );
+    if ( dictionary == null ) {
+      dictionary = new SharedDictionary( columnType );
+      put( path , columnType , dictionary );
+    }
+    return dictionary;
+  }
+
+  public synchronized SharedDictionary get(
+      final List<String> path , final ColumnType columnType ) {
+    return dictionaryMap.get( createKey( path , columnType ) );
+  }
+
+  public synchronized boolean isEmpty() {
+    return dictionaryMap.isEmpty();
+  }
+
+  /**
+   * Get the length of the binary.
+   */
+  public synchronized int getBinarySize() {
+    int size = Integer.BYTES;
+    for ( Map.Entry<List<String>,SharedDictionary> entry : dictionaryMap.entrySet() ) {
+      List<String> key = entry.getKey();
+      size += Integer.BYTES;
+      for ( int i = 0 ; i < key.size() - 1 ; i++ ) {
+        size += Integer.BYTES + key.get( i ).getBytes( StandardCharsets.UTF_8 ).length;
+      }
+      size += Byte.BYTES + entry.getValue().getBinarySize();
+    }
+    return size;
+  }
+
+  /**
+   * Convert the dictionaries to the binary.
+   */
+  public synchronized byte[] toBinary() {
+    byte[] buffer = new byte[ getBinarySize() ];
+    ByteBuffer wrapBuffer = ByteBuffer.wrap( buffer );
+    int offset = 0;
+    wrapBuffer.putInt( offset , dictionaryMap.size() );
+    offset += Integer.BYTES;
+    for ( Map.Entry<List<String>,SharedDictionary> entry : dictionaryMap.entrySet() ) {
+      List<String> key = entry.getKey();
+      wrapBuffer.putInt( offset , key.size() - 1 );
+      offset += Integer.BYTES;
+      for ( int i = 0 ; i < key.size() - 1 ; i++ ) {
+        byte[] name = key.get( i ).getBytes( StandardCharsets.UTF_8 );
+        wrapBuffer.putInt( offset , name.length );
+        offset += Integer.BYTES;
+        System.arraycopy( name , 0 , buffer , offset , name.length );
+        offset += name.length;
+      }
+      buffer[offset] = ColumnTypeFactory.getColumnTypeByte( columnTypeMap.get( key ) );
+      offset += Byte.BYTES;
+      offset = entry.getValue().toBinary( buffer , offset );
+    }
+    return buffer;
+  }
+
+  private static int getEntryBinarySize( final List<String> path ) {
+    int size = Integer.BYTES + Byte.BYTES + Integer.BYTES;
+    for ( String name : path ) {
+      size += Integer.BYTES + name.getBytes( StandardCharsets.UTF_8 ).length;
+    }
+    return size;
+  }
+
+  /**
+   * Get the length that the binary grows by when the column binaries of a Spread are shared.
+   * The binaries whose ids can not be appended are counted with all the values they reference.
+   * The binaries that hold their own dictionaries are not counted.
+   */
+  public synchronized int getAppendBinarySize( final List<ColumnBinary> binaryList ) {
+    return getAppendBinarySize( binaryList , new ArrayList<String>() );
+  }
+
+  private int getAppendBinarySize(
+      final List<ColumnBinary> binaryList , final List<String> parentPath ) {
+    int size = 0;
+    for ( ColumnBinary columnBinary : binaryList ) {
+      if ( columnBinary == null ) {
+        continue;
+      }
+      List<String> path = new ArrayList<String>( parentPath );
+      path.add( columnBinary.columnName );
+      if ( columnBinary.columnBinaryList != null ) {
+        size += getAppendBinarySize( columnBinary.columnBinaryList , path );
+      }
+      SharedDictionaryAppend dictionaryAppend = columnBinary.sharedDictionaryAppend;
+      if ( dictionaryAppend == null ) {
+        continue;
+      }
+      SharedDictionary dictionary = get( path , columnBinary.columnType );
+      if ( dictionary == null ) {
+        size += getEntryBinarySize( path ) + dictionaryAppend.getReferenceBinarySize();
+      } else if ( dictionaryAppend.canAppendTo( dictionary ) ) {
+        size += dictionaryAppend.getAppendBinarySize();
+      } else {
+        size += dictionaryAppend.getReferenceBinarySize();
+      }
+    }
+    return size;
+  }
+
+  /**
+   * Share the dictionaries of the column binaries of a Spread with this block.
+   * The new values of the binaries created against the dictionaries of this block are appended,
+   * and the binaries are used as they are.
+   * The other binaries are rebound to this block and compressed again.
+   * If isShared is false, the binaries keep their own dictionaries instead,
+   * so a binary read from another block can be written without its block.
+   */
+  public synchronized List<ColumnBinary> share(
+      final List<ColumnBinary> binaryList ,
+      final boolean isShared ,
+      final ColumnBinaryMakerConfig commonConfig ,
+      final CompressResultNode compressResultNode ) throws IOException {
+    return share(
+        binaryList , new ArrayList<String>() , isShared , commonConfig , compressResultNode );
+  }
+
+  private List<ColumnBinary> share(
+      final List<ColumnBinary> binaryList ,
+      final List<String> parentPath ,
+      final boolean isShared ,
+      final ColumnBinaryMakerConfig commonConfig ,
+      final CompressResultNode compressResultNode ) throws IOException {
+    List<ColumnBinary> result = new ArrayList<ColumnBinary>( binaryList.size() );
+    for ( ColumnBinary columnBinary : binaryList ) {
+      if ( columnBinary == null ) {
+        result.add( null );
+        continue;
+      }
+      List<String> path = new ArrayList<String>( parentPath );
+      path.add( columnBinary.columnName );
+      CompressResultNode childResultNode = compressResultNode.getChild( columnBinary.columnName );
+      if ( columnBinary.columnBinaryList != null ) {
+        columnBinary.columnBinaryList = share(
+            columnBinary.columnBinaryList , path , isShared , commonConfig , childResultNode );
+      }
+      IColumnBinaryMaker maker = FindColumnBinaryMaker.get( columnBinary.makerClassName );
+      SharedDictionaryAppend dictionaryAppend = columnBinary.sharedDictionaryAppend;
+      if ( ! ( maker instanceof ISharedDictionaryColumnBinaryMaker )
+          || ( ! isShared && columnBinary.sharedDictionary == null && dictionaryAppend == null ) ) {
+        result.add( columnBinary );
+        continue;
+      }
+      SharedDictionary dictionary =
+          isShared ? getOrCreate( path , columnBinary.columnType ) : null;
+      if ( dictionary != null && dictionaryAppend != null
+          && dictionaryAppend.canAppendTo( dictionary ) ) {
+        dictionaryAppend.appendTo( dictionary );
+        columnBinary.sharedDictionary = dictionary;
+        columnBinary.sharedDictionaryAppend = null;
+        result.add( columnBinary );
+      } else {
+        result.add( ( (ISharedDictionaryColumnBinaryMaker)maker ).shareDictionary(
+            commonConfig , childResultNode , columnBinary , dictionary ) );
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Set the dictionaries of this block to the column binaries of a Spread.
+   */
+  public void attach( final List<ColumnBinary> binaryList ) {
+    attach( binaryList , new ArrayList<String>() );
+  }
+
+  private void attach( final List<ColumnBinary> binaryList , final List<String> parentPath ) {
+    for ( ColumnBinary columnBinary : binaryList ) {
+      if ( columnBinary == null ) {
+        continue;
+      }
+      List<String> path = new ArrayList<String>( parentPath );
+      path.add( columnBinary.columnName );
+      if ( columnBinary.columnBinaryList != null ) {
+        attach( columnBinary.columnBinaryList , path );
+      }
+      SharedDictionary dictionary = get( path , columnBinary.columnType );
+      if ( dictionary != null ) {
+        columnBinary.sharedDictionary = dictionary;
+      }
+    }
+  }
+
+  public synchronized void clear() {
+    dictionaryMap.clear();
+    columnTypeMap.clear();
+  }
+
+}
@@ -19,13 +19,21 @@
 package jp.co.yahoo.yosegi.binary;
 
 import jp.co.yahoo.yosegi.compressor.CompressorNameShortCut;
+import jp.co.yahoo.yosegi.compressor.FindCompressor;
+import jp.co.yahoo.yosegi.compressor.ICompressor;
+import jp.co.yahoo.yosegi.compressor.ZstdDictionary;
+import jp.co.yahoo.yosegi.compressor.ZstdDictionaryCompressor;
 import jp.co.yahoo.yosegi.spread.column.ColumnType;
 import jp.co.yahoo.yosegi.spread.column.ColumnTypeFactory;
 import jp.co.yahoo.yosegi.stats.ColumnStats;
 import jp.co.yahoo.yosegi.stats.SummaryStats;
 
+import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
 /**
  * This class is a variable that holds the serialized data of the column.
@@ -85,6 +93,31 @@ public class ColumnBinary {
 
   public List<ColumnBinary> columnBinaryList;
 
+  /**
+   * The dictionary of the block referenced by this binary.
+   * It is not serialized, and is set by the block reader when the block has shared dictionaries.
+   */
+  public SharedDictionary sharedDictionary;
+
+  /**
+   * The values that the block writer adds to the dictionary of the block with this binary.
+   * It is not serialized, and is set by the shared dictionary makers.
+   */
+  public SharedDictionaryAppend sharedDictionaryAppend;
+
+  /**
+   * The zstd dictionaries by key that this binary may be compressed with.
+   * It is not serialized. The writer sets the dictionaries used to compress the binary,
+   * and the block reader sets the dictionaries stored in the block meta.
+   */
+  public Map<Long,ZstdDictionary> zstdDictionaryMap;
+
+  /**
+   * The number of NULL rows in the rowCount rows of this binary, -1 if not counted.
+   * It is not serialized. The writer uses it to keep the null count of each Spread in the index.
+   */
+  public int nullCount = -1;
+
   /**
    * Create an object initialized with argument values.
    * There is a risk that the value set at initialization is rewritten
@@ -129,6 +162,44 @@ public class ColumnBinary {
     this.columnBinaryList = columnBinaryList;
   }
 
+  /**
+   * Copy this object and its children.
+   * The copies have the data bytes of their own, so they do not share {@link #binary}.
+   *
+   * @return A new ColumnBinary object.
+   */
+  public ColumnBinary copy() {
+    List<ColumnBinary> childList = null;
+    if ( columnBinaryList != null ) {
+      childList = new ArrayList<ColumnBinary>( columnBinaryList.size() );
+      for ( ColumnBinary child : columnBinaryList ) {
+        childList.add( child == null ? null : child.copy() );
+      }
+    }
+    byte[] copyBinary = binary;
+    if ( binary != null ) {
+      copyBinary = Arrays.copyOfRange( binary , binaryStart , binaryStart + binaryLength );
+    }
+    ColumnBinary result = new ColumnBinary(
+        makerClassName ,
+        compressorClassName ,
+        columnName ,
+        columnType ,
+        rowCount ,
+        rawDataSize ,
+        logicalDataSize ,
+        cardinality ,
+        copyBinary ,
+        0 ,
+        binaryLength ,
+        childList );
+    result.sharedDictionary = sharedDictionary;
+    result.sharedDictionaryAppend = sharedDictionaryAppend;
+    result.zstdDictionaryMap = zstdDictionaryMap;
+    result.nullCount = nullCount;
+    return result;
+  }
+
   /**
    * Returns the size of the data.
    * It does not include the binary size of the meta.
@@ -230,6 +301,32 @@ public class ColumnBinary {
         childList );
   }
 
+  /**
+   * Get the compressor to decompress this binary.
+   * If zstd dictionaries are attached, the compressor decompresses with them.
+   */
+  public ICompressor getCompressor() throws IOException {
+    if ( zstdDictionaryMap != null
+        && ZstdDictionaryCompressor.class.getName().equals( compressorClassName ) ) {
+      return new ZstdDictionaryCompressor( zstdDictionaryMap );
+    }
+    return FindCompressor.get( compressorClassName );
+  }
+
+  /**
+   * Set the zstd dictionaries to this binary and its children.
+   */
+  public void setZstdDictionaryMap( final Map<Long,ZstdDictionary> zstdDictionaryMap ) {
+    this.zstdDictionaryMap = zstdDictionaryMap;
+    if ( columnBinaryList != null ) {
+      for ( ColumnBinary child : columnBinaryList ) {
+        if ( child != null ) {
+          child.setZstdDictionaryMap( zstdDictionaryMap );
+        }
+      }
+    }
+  }
+
   /**
    * Serializes this object.
    * Does not include data.
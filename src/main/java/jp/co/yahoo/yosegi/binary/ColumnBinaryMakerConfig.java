@@ -74,6 +74,11 @@ public class ColumnBinaryMakerConfig {
   public CompressionPolicy compressionPolicy;
   public double allowedRatio;
 
+  /**
+   * If true, the optimizers select only the makers that older readers can read.
+   */
+  public boolean useLegacyMakers;
+
   /**
    * Initialize with the default value.
    * Each variable is set to the newly created object.
@@ -135,6 +140,7 @@ public class ColumnBinaryMakerConfig {
     this.stringMakerClass = otherConfig.stringMakerClass;
     this.compressionPolicy = otherConfig.compressionPolicy;
     this.allowedRatio = otherConfig.allowedRatio;
+    this.useLegacyMakers = otherConfig.useLegacyMakers;
   }
 
   /**
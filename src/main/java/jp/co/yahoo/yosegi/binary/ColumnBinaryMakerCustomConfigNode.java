@@ -18,6 +18,7 @@
 
 package jp.co.yahoo.yosegi.binary;
 
+import jp.co.yahoo.yosegi.compressor.CompressionPolicy;
 import jp.co.yahoo.yosegi.compressor.FindCompressor;
 import jp.co.yahoo.yosegi.message.parser.IParser;
 
@@ -76,6 +77,12 @@ public class ColumnBinaryMakerCustomConfigNode {
         currentConfig.stringMakerClass = FindColumnBinaryMaker.get( value );
       } else if ( "compressor_class".equals( paramName ) ) {
         currentConfig.compressorClass = FindCompressor.get( value );
+      } else if ( "compression_policy".equals( paramName ) ) {
+        try {
+          currentConfig.compressionPolicy = CompressionPolicy.valueOf( value );
+        } catch ( IllegalArgumentException ex ) {
+          throw new IOException( "Invalid compression policy : " + value , ex );
+        }
       } else {
         currentConfig.param.set( paramName , value );
       }
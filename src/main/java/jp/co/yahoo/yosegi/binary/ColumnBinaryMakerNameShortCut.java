@@ -125,6 +125,23 @@ public final class ColumnBinaryMakerNameShortCut {
     CLASS_NAME_PAIR.set(
         "jp.co.yahoo.yosegi.binary.maker.DictionaryRleStringColumnBinaryMaker" , "DRLE4" );
 
+    CLASS_NAME_PAIR.set(
+        "jp.co.yahoo.yosegi.binary.maker.BitPackedLongColumnBinaryMaker" , "BP3" );
+    CLASS_NAME_PAIR.set(
+        "jp.co.yahoo.yosegi.binary.maker.DeltaLongColumnBinaryMaker" , "DL3" );
+    CLASS_NAME_PAIR.set(
+        "jp.co.yahoo.yosegi.binary.maker.AlpFloatColumnBinaryMaker" , "ALP1" );
+    CLASS_NAME_PAIR.set(
+        "jp.co.yahoo.yosegi.binary.maker.AlpDoubleColumnBinaryMaker" , "ALP2" );
+    CLASS_NAME_PAIR.set(
+        "jp.co.yahoo.yosegi.binary.maker.FsstStringColumnBinaryMaker" , "FS1" );
+    CLASS_NAME_PAIR.set(
+        "jp.co.yahoo.yosegi.binary.maker.BitmapBooleanColumnBinaryMaker" , "BM1" );
+    CLASS_NAME_PAIR.set(
+        "jp.co.yahoo.yosegi.binary.maker.SharedDictionaryStringColumnBinaryMaker" , "SD1" );
+    CLASS_NAME_PAIR.set(
+        "jp.co.yahoo.yosegi.binary.maker.SharedDictionaryLongColumnBinaryMaker" , "SD2" );
+
   }
 
   private ColumnBinaryMakerNameShortCut() {}
@@ -23,25 +23,28 @@ import jp.co.yahoo.yosegi.compressor.CompressionPolicy;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Holds the compression results of each column by column name.
+ * The node is shared when columns are converted in parallel,
+ * so it can be accessed from multiple threads.
+ */
 public class CompressResultNode {
 
   private final Map<String,Map<String,CompressResult>> currentCompressResult;
   private final Map<String,CompressResultNode> childNode;
 
   public CompressResultNode() {
-    currentCompressResult = new HashMap<String,Map<String,CompressResult>>();
-    childNode = new HashMap<String,CompressResultNode>();
+    currentCompressResult = new ConcurrentHashMap<String,Map<String,CompressResult>>();
+    childNode = new ConcurrentHashMap<String,CompressResultNode>();
   }
 
   /**
    * Get child node.
    */
   public CompressResultNode getChild( final String childName ) {
-    if ( ! childNode.containsKey( childName ) ) {
-      childNode.put( childName , new CompressResultNode() );
-    }
-    return childNode.get( childName );
+    return childNode.computeIfAbsent( childName , key -> new CompressResultNode() );
   }
 
   /**
@@ -52,16 +55,30 @@ public class CompressResultNode {
       final String processName ,
       final CompressionPolicy compressionPolicy ,
       final double allowedRatio ) {
-    if ( ! currentCompressResult.containsKey( makerClassName ) ) {
-      currentCompressResult.put( makerClassName , new HashMap<String,CompressResult>() );
-    }
-    Map<String,CompressResult> makerCompressResultMap
-        = currentCompressResult.get( makerClassName );
-    if ( ! makerCompressResultMap.containsKey( processName ) ) {
-      makerCompressResultMap.put(
-          processName , new CompressResult( compressionPolicy , allowedRatio ) );
+    Map<String,CompressResult> makerCompressResultMap = currentCompressResult.computeIfAbsent(
+        makerClassName , key -> new ConcurrentHashMap<String,CompressResult>() );
+    return makerCompressResultMap.computeIfAbsent(
+        processName , key -> new CompressResult( compressionPolicy , allowedRatio ) );
+  }
+
+  /**
+   * Get the names of the compressors selected for the columns of this node
+   * by ColumnBinaryMaker class name and process name.
+   * The results that have not selected a compressor are not included.
+   */
+  public Map<String,Map<String,String>> getSelectedCompressorNames() {
+    Map<String,Map<String,String>> result = new HashMap<String,Map<String,String>>();
+    for ( Map.Entry<String,Map<String,CompressResult>> makerEntry
+        : currentCompressResult.entrySet() ) {
+      for ( Map.Entry<String,CompressResult> entry : makerEntry.getValue().entrySet() ) {
+        String compressorName = entry.getValue().getSelectedCompressorName();
+        if ( compressorName != null ) {
+          result.computeIfAbsent( makerEntry.getKey() , key -> new HashMap<String,String>() )
+              .put( entry.getKey() , compressorName );
+        }
+      }
     }
-    return makerCompressResultMap.get( processName );
+    return result;
   }
 
 }
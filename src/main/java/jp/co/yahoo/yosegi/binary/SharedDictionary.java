@@ -0,0 +1,215 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.co.yahoo.yosegi.binary;
+
+import jp.co.yahoo.yosegi.message.objects.ByteObj;
+import jp.co.yahoo.yosegi.message.objects.IntegerObj;
+import jp.co.yahoo.yosegi.message.objects.LongObj;
+import jp.co.yahoo.yosegi.message.objects.PrimitiveObject;
+import jp.co.yahoo.yosegi.message.objects.ShortObj;
+import jp.co.yahoo.yosegi.message.objects.Utf8BytesLinkObj;
+import jp.co.yahoo.yosegi.spread.column.ColumnType;
+import jp.co.yahoo.yosegi.spread.column.filter.IFilter;
+import jp.co.yahoo.yosegi.spread.column.index.ICellIndex;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Dictionary of the values of a column.
+ * A STRING value is held as UTF-8 bytes and an integral value as 8 bytes of long.
+ *
+ * <p>The dictionary is either owned by a ColumnBinary or shared by all Spreads of a block.
+ * When shared, the values and the result of the last filter are decoded once per block.
+ *
+ * <p>The binary layout is shown below.
+ *
+ * <ul>
+ * <li>size int
+ * <li>(valueLength int, value bytes) * size
+ * </ul>
+ */
+public class SharedDictionary {
+
+  private final ColumnType columnType;
+  private final List<byte[]> valueList = new ArrayList<byte[]>();
+  private final Map<ByteBuffer,Integer> idMap = new HashMap<ByteBuffer,Integer>();
+
+  private int binarySize = Integer.BYTES;
+  private PrimitiveObject[] objectArray;
+  private IFilter cachedFilter;
+  private boolean[] cachedFilterResult;
+
+  public SharedDictionary( final ColumnType columnType ) {
+    this.columnType = columnType;
+  }
+
+  /**
+   * Create a dictionary from the binary.
+   * The length read is given by getBinarySize().
+   */
+  public static SharedDictionary createFromBinary(
+      final ColumnType columnType , final byte[] buffer , final int start ) {
+    SharedDictionary dictionary = new SharedDictionary( columnType );
+    ByteBuffer wrapBuffer = ByteBuffer.wrap( buffer );
+    int offset = start;
+    int size = wrapBuffer.getInt( offset );
+    offset += Integer.BYTES;
+    for ( int i = 0 ; i < size ; i++ ) {
+      int length = wrapBuffer.getInt( offset );
+      offset += Integer.BYTES;
+      byte[] value = new byte[length];
+      System.arraycopy( buffer , offset , value , 0 , length );
+      offset += length;
+      dictionary.add( value );
+    }
+    return dictionary;
+  }
+
+  /**
+   * Convert a long to the value of an integral column.
+   */
+  public static byte[] toValue( final long value ) {
+    return ByteBuffer.allocate( Long.BYTES ).putLong( value ).array();
+  }
+
+  /**
+   * Convert the value of an integral column to a long.
+   */
+  public static long toLong( final byte[] value ) {
+    return ByteBuffer.wrap( value ).getLong();
+  }
+
+  public ColumnType getColumnType() {
+    return columnType;
+  }
+
+  /**
+   * Add the value if it is new, and returns its id.
+   * The ids are numbered from 0 in the order of addition.
+   */
+  public synchronized int add( final byte[] value ) {
+    ByteBuffer key = ByteBuffer.wrap( value );
+    Integer id = idMap.get( key );
+    if ( id != null ) {
+      return id.intValue();
+    }
+    int newId = valueList.size();
+    valueList.add( value );
+    idMap.put( key , Integer.valueOf( newId ) );
+    binarySize += Integer.BYTES + value.length;
+    objectArray = null;
+    cachedFilter = null;
+    cachedFilterResult = null;
+    return newId;
+  }
+
+  /**
+   * Get the id of the value, or -1 if it is not in this dictionary.
+   */
+  public synchronized int getId( final byte[] value ) {
+    Integer id = idMap.get( ByteBuffer.wrap( value ) );
+    return id == null ? -1 : id.intValue();
+  }
+
+  public synchronized int size() {
+    return valueList.size();
+  }
+
+  public synchronized byte[] get( final int id ) {
+    return valueList.get( id );
+  }
+
+  public synchronized int getBinarySize() {
+    return binarySize;
+  }
+
+  /**
+   * Write the dictionary to the buffer and returns the offset next to it.
+   */
+  public synchronized int toBinary( final byte[] buffer , final int start ) {
+    ByteBuffer wrapBuffer = ByteBuffer.wrap( buffer );
+    int offset = start;
+    wrapBuffer.putInt( offset , valueList.size() );
+    offset += Integer.BYTES;
+    for ( byte[] value : valueList ) {
+      wrapBuffer.putInt( offset , value.length );
+      offset += Integer.BYTES;
+      System.arraycopy( value , 0 , buffer , offset , value.length );
+      offset += value.length;
+    }
+    return offset;
+  }
+
+  /**
+   * Get the values as objects of the column type.
+   * The array is created once and shared by all readers of this dictionary.
+   */
+  public synchronized PrimitiveObject[] getObjectArray() throws IOException {
+    if ( objectArray != null ) {
+      return objectArray;
+    }
+    PrimitiveObject[] result = new PrimitiveObject[ valueList.size() ];
+    for ( int i = 0 ; i < result.length ; i++ ) {
+      byte[] value = valueList.get( i );
+      switch ( columnType ) {
+        case STRING:
+          result[i] = new Utf8BytesLinkObj( value , 0 , value.length );
+          break;
+        case BYTE:
+          result[i] = new ByteObj( (byte)toLong( value ) );
+          break;
+        case SHORT:
+          result[i] = new ShortObj( (short)toLong( value ) );
+          break;
+        case INTEGER:
+          result[i] = new IntegerObj( (int)toLong( value ) );
+          break;
+        case LONG:
+          result[i] = new LongObj( toLong( value ) );
+          break;
+        default:
+          throw new IOException( "Unsupported column type of dictionary : " + columnType );
+      }
+    }
+    objectArray = result;
+    return objectArray;
+  }
+
+  /**
+   * Evaluate the filter with the index over this dictionary.
+   * The result of the last filter is kept, so the Spreads of a block
+   * that evaluate the same filter reuse it.
+   */
+  public synchronized boolean[] filter(
+      final IFilter filter ,
+      final ICellIndex dictionaryIndex ,
+      final int filterSize ) throws IOException {
+    if ( filter != cachedFilter ) {
+      cachedFilterResult = dictionaryIndex.filter( filter , new boolean[filterSize] );
+      cachedFilter = filter;
+    }
+    return cachedFilterResult;
+  }
+
+}
@@ -0,0 +1,130 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.co.yahoo.yosegi.binary;
+
+import jp.co.yahoo.yosegi.spread.column.ColumnType;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The ids of the values of a Spread, numbered against the dictionary of a block.
+ * The values in the dictionary keep their ids, and the new values are numbered after them.
+ * The block writer appends the new values to the dictionary when it adds the Spread,
+ * so the ids are used as they are while the dictionary has not changed.
+ */
+public class SharedDictionaryAppend {
+
+  private final ColumnType columnType;
+  private final SharedDictionary baseDictionary;
+  private final int baseSize;
+  private final List<byte[]> valueList = new ArrayList<byte[]>();
+  private final Map<ByteBuffer,Integer> idMap = new HashMap<ByteBuffer,Integer>();
+
+  private int appendBinarySize;
+  private int referenceBinarySize;
+
+  /**
+   * Number the values against the dictionary.
+   * If the dictionary is null, all values are new.
+   */
+  public SharedDictionaryAppend(
+      final ColumnType columnType , final SharedDictionary baseDictionary ) {
+    this.columnType = columnType;
+    this.baseDictionary = baseDictionary;
+    this.baseSize = baseDictionary == null ? 0 : baseDictionary.size();
+  }
+
+  /**
+   * Get the id of the value.
+   * The id is the id in the dictionary, or the next id after the dictionary for a new value.
+   */
+  public int add( final byte[] value ) {
+    ByteBuffer key = ByteBuffer.wrap( value );
+    Integer id = idMap.get( key );
+    if ( id != null ) {
+      return id.intValue();
+    }
+    int newId = baseDictionary == null ? -1 : baseDictionary.getId( value );
+    if ( newId < 0 || baseSize <= newId ) {
+      newId = baseSize + valueList.size();
+      valueList.add( value );
+      appendBinarySize += Integer.BYTES + value.length;
+    }
+    idMap.put( key , Integer.valueOf( newId ) );
+    referenceBinarySize += Integer.BYTES + value.length;
+    return newId;
+  }
+
+  /**
+   * Get the number of the distinct values that were added.
+   */
+  public int getValueCount() {
+    return idMap.size();
+  }
+
+  /**
+   * Get the length of the new values in the binary of the dictionary.
+   */
+  public int getAppendBinarySize() {
+    return appendBinarySize;
+  }
+
+  /**
+   * Get the length of all the added values in the binary of the dictionary.
+   */
+  public int getReferenceBinarySize() {
+    return referenceBinarySize;
+  }
+
+  /**
+   * Returns true if the ids are valid in the dictionary after the new values are appended.
+   */
+  public boolean canAppendTo( final SharedDictionary dictionary ) {
+    return dictionary.size() == baseSize
+        && ( dictionary == baseDictionary || baseSize == 0 );
+  }
+
+  /**
+   * Append the new values to the dictionary in the order of their ids.
+   */
+  public void appendTo( final SharedDictionary dictionary ) {
+    for ( byte[] value : valueList ) {
+      dictionary.add( value );
+    }
+  }
+
+  /**
+   * Create a dictionary in which the ids are valid.
+   * This copies the values of the base dictionary,
+   * and is used when the binary is read without the dictionary of the block.
+   */
+  public SharedDictionary createDictionary() {
+    SharedDictionary dictionary = new SharedDictionary( columnType );
+    for ( int i = 0 ; i < baseSize ; i++ ) {
+      dictionary.add( baseDictionary.get( i ) );
+    }
+    appendTo( dictionary );
+    return dictionary;
+  }
+
+}
@@ -0,0 +1,385 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.co.yahoo.yosegi.binary.maker;
+
+import jp.co.yahoo.yosegi.binary.ColumnBinary;
+import jp.co.yahoo.yosegi.binary.ColumnBinaryMakerConfig;
+import jp.co.yahoo.yosegi.binary.ColumnBinaryMakerCustomConfigNode;
+import jp.co.yahoo.yosegi.binary.CompressResultNode;
+import jp.co.yahoo.yosegi.blockindex.BlockIndexNode;
+import jp.co.yahoo.yosegi.blockindex.IBlockIndex;
+import jp.co.yahoo.yosegi.compressor.CompressBuffer;
+import jp.co.yahoo.yosegi.compressor.CompressResult;
+import jp.co.yahoo.yosegi.compressor.ICompressor;
+import jp.co.yahoo.yosegi.inmemory.IMemoryAllocator;
+import jp.co.yahoo.yosegi.message.objects.PrimitiveObject;
+import jp.co.yahoo.yosegi.spread.analyzer.IColumnAnalizeResult;
+import jp.co.yahoo.yosegi.spread.column.ColumnType;
+import jp.co.yahoo.yosegi.spread.column.ICell;
+import jp.co.yahoo.yosegi.spread.column.IColumn;
+import jp.co.yahoo.yosegi.spread.column.PrimitiveCell;
+import jp.co.yahoo.yosegi.spread.column.PrimitiveColumn;
+import jp.co.yahoo.yosegi.spread.column.index.ICellIndex;
+import jp.co.yahoo.yosegi.util.ByteArrayData;
+import jp.co.yahoo.yosegi.util.DetermineMinMax;
+import jp.co.yahoo.yosegi.util.io.alp.AlpEncoder;
+import jp.co.yahoo.yosegi.util.io.alp.AlpStatistics;
+import jp.co.yahoo.yosegi.util.io.alp.AlpUtils;
+import jp.co.yahoo.yosegi.util.io.nullencoder.NullBinaryEncoder;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Store the values with ALP, or with byte stream split if ALP is larger.
+ * The layout is shared by double and float, and only the width differs.
+ * The values are passed around as their raw bits, so that NaN payloads are kept.
+ */
+public abstract class AbstractAlpColumnBinaryMaker implements IColumnBinaryMaker {
+
+  // Metadata layout
+  // ColumnStart, rowCount, nullIndexLength
+  private static final int META_LENGTH = Integer.BYTES * 3;
+
+  private final int valueBytes;
+
+  /**
+   * Create a maker of the width, Double.BYTES or Float.BYTES.
+   */
+  protected AbstractAlpColumnBinaryMaker( final int valueBytes ) {
+    this.valueBytes = valueBytes;
+  }
+
+  /**
+   * Get the raw bits of the value.
+   */
+  protected abstract long getBits( final PrimitiveObject obj ) throws IOException;
+
+  /**
+   * Create the object of the raw bits.
+   */
+  protected abstract PrimitiveObject createObject( final long bits );
+
+  /**
+   * Set the value of the raw bits to the allocator.
+   */
+  protected abstract void setValue(
+      final IMemoryAllocator allocator , final int index , final long bits ) throws IOException;
+
+  protected abstract AlpStatistics getAlpStatistics( final IColumnAnalizeResult analizeResult );
+
+  protected abstract ICellIndex createCellIndex( final double min , final double max );
+
+  protected abstract IBlockIndex createBlockIndex( final double min , final double max );
+
+  @Override
+  public ColumnBinary toBinary(
+      final ColumnBinaryMakerConfig commonConfig ,
+      final ColumnBinaryMakerCustomConfigNode currentConfigNode ,
+      final CompressResultNode compressResultNode ,
+      final IColumn column ) throws IOException {
+    ColumnBinaryMakerConfig currentConfig = commonConfig;
+    if ( currentConfigNode != null ) {
+      currentConfig = currentConfigNode.getCurrentConfig();
+    }
+    long[] bitsArray = new long[column.size()];
+    boolean[] isNullArray = new boolean[column.size()];
+
+    DetermineMinMax<Double> detemineMinMax = createMinMax();
+    int rowCount = 0;
+    int nullCount = 0;
+    int nullMaxIndex = 0;
+    int notNullMaxIndex = 0;
+
+    int startIndex = 0;
+    for ( ; startIndex < column.size() ; startIndex++ ) {
+      ICell cell = column.get(startIndex);
+      if ( cell.getType() != ColumnType.NULL ) {
+        break;
+      }
+    }
+
+    for ( int i = startIndex,arrayIndex = 0 ; i < column.size() ; i++,arrayIndex++ ) {
+      ICell cell = column.get(i);
+      if ( cell.getType() == ColumnType.NULL ) {
+        nullCount++;
+        nullMaxIndex = arrayIndex;
+        isNullArray[arrayIndex] = true;
+        continue;
+      }
+      notNullMaxIndex = arrayIndex;
+      PrimitiveCell primitiveCell = (PrimitiveCell) cell;
+      long bits = getBits( primitiveCell.getRow() );
+      detemineMinMax.set( Double.valueOf( AlpUtils.toValue( bits , valueBytes ) ) );
+      bitsArray[rowCount] = bits;
+      rowCount++;
+    }
+
+    if ( nullCount == 0
+        && detemineMinMax.getMin().equals( detemineMinMax.getMax() )
+        && startIndex == 0 ) {
+      return ConstantColumnBinaryMaker.createColumnBinary(
+          createObject( bitsArray[0] ) , column.getColumnName() , column.size() );
+    }
+
+    int nullIndexLength = NullBinaryEncoder.getBinarySize(
+        nullCount , rowCount , nullMaxIndex , notNullMaxIndex );
+    byte[] valueBinary = AlpEncoder.toBinary( bitsArray , rowCount , valueBytes );
+    byte[] binaryRaw = new byte[ META_LENGTH + nullIndexLength + valueBinary.length ];
+
+    ByteBuffer wrapBuffer = ByteBuffer.wrap( binaryRaw );
+    wrapBuffer.putInt( startIndex );
+    wrapBuffer.putInt( rowCount );
+    wrapBuffer.putInt( nullIndexLength );
+    NullBinaryEncoder.toBinary(
+        binaryRaw ,
+        META_LENGTH ,
+        nullIndexLength ,
+        isNullArray ,
+        nullCount ,
+        rowCount ,
+        nullMaxIndex ,
+        notNullMaxIndex );
+    System.arraycopy(
+        valueBinary , 0 , binaryRaw , META_LENGTH + nullIndexLength , valueBinary.length );
+
+    CompressResult compressResult = compressResultNode.getCompressResult(
+        this.getClass().getName() ,
+        "c0"  ,
+        currentConfig.compressionPolicy ,
+        currentConfig.allowedRatio );
+    byte[] binary = currentConfig.compressorClass.compressWithHeader(
+        binaryRaw , 0 , binaryRaw.length , valueBytes * 2 , compressResult );
+
+    wrapBuffer = ByteBuffer.wrap( binary , 0 , binary.length );
+    if ( valueBytes == Float.BYTES ) {
+      wrapBuffer.putFloat( detemineMinMax.getMin().floatValue() );
+      wrapBuffer.putFloat( detemineMinMax.getMax().floatValue() );
+    } else {
+      wrapBuffer.putDouble( detemineMinMax.getMin().doubleValue() );
+      wrapBuffer.putDouble( detemineMinMax.getMax().doubleValue() );
+    }
+
+    ColumnBinary result = new ColumnBinary(
+        this.getClass().getName() ,
+        currentConfig.compressorClass.getClass().getName() ,
+        column.getColumnName() ,
+        column.getColumnType() ,
+        column.size() ,
+        binaryRaw.length ,
+        valueBytes * rowCount ,
+        -1 ,
+        binary ,
+        0 ,
+        binary.length ,
+        null );
+    result.nullCount = column.size() - rowCount;
+    return result;
+  }
+
+  /**
+   * Float values are compared widened to double, so start from the float range.
+   */
+  private DetermineMinMax<Double> createMinMax() {
+    if ( valueBytes == Float.BYTES ) {
+      return new DetermineMinMax<Double>(
+          Double.valueOf( Float.MAX_VALUE ) , Double.valueOf( -Float.MAX_VALUE ) );
+    }
+    return new DetermineMinMax<Double>( Double.MAX_VALUE , -Double.MAX_VALUE );
+  }
+
+  @Override
+  public int calcBinarySize( final IColumnAnalizeResult analizeResult ) {
+    int startIndex = analizeResult.getRowStart();
+    int maxIndex = analizeResult.getRowEnd();
+    int nullCount = analizeResult.getNullCount() - startIndex;
+    int notNullCount = analizeResult.getRowCount();
+
+    int nullIndexLength =
+        NullBinaryEncoder.getBinarySize( nullCount , notNullCount , maxIndex , maxIndex );
+
+    AlpStatistics alpStatistics = getAlpStatistics( analizeResult );
+    int valueLength;
+    if ( alpStatistics == null ) {
+      valueLength = AlpStatistics.BYTE_STREAM_SPLIT_HEADER_LENGTH + valueBytes * notNullCount;
+    } else {
+      valueLength = alpStatistics.calcBinarySize();
+    }
+
+    return META_LENGTH + nullIndexLength + valueLength;
+  }
+
+  /**
+   * Read the min and max from the head of the binary.
+   */
+  private double[] getMinMax( final ColumnBinary columnBinary ) {
+    ByteBuffer wrapBuffer = ByteBuffer.wrap(
+        columnBinary.binary , columnBinary.binaryStart , columnBinary.binaryLength );
+    if ( valueBytes == Float.BYTES ) {
+      return new double[]{ wrapBuffer.getFloat() , wrapBuffer.getFloat() };
+    }
+    return new double[]{ wrapBuffer.getDouble() , wrapBuffer.getDouble() };
+  }
+
+  @Override
+  public IColumn toColumn( final ColumnBinary columnBinary ) throws IOException {
+    double[] minMax = getMinMax( columnBinary );
+    return new HeaderIndexLazyColumn(
+      columnBinary.columnName ,
+      columnBinary.columnType ,
+      new ColumnManager( columnBinary ) ,
+      createCellIndex( minMax[0] , minMax[1] )
+    );
+  }
+
+  private byte[] decompress( final ColumnBinary columnBinary ) throws IOException {
+    int start = columnBinary.binaryStart + ( valueBytes * 2 );
+    int length = columnBinary.binaryLength - ( valueBytes * 2 );
+
+    ICompressor compressor = columnBinary.getCompressor();
+    return compressor.decompress( columnBinary.binary , start , length );
+  }
+
+  private int decompress(
+      final ColumnBinary columnBinary , final ByteArrayData buffer ) throws IOException {
+    int start = columnBinary.binaryStart + ( valueBytes * 2 );
+    int length = columnBinary.binaryLength - ( valueBytes * 2 );
+
+    ICompressor compressor = columnBinary.getCompressor();
+    return compressor.decompressAndSet(
+        ByteBuffer.wrap( columnBinary.binary , start , length ) , buffer );
+  }
+
+  @Override
+  public void loadInMemoryStorage(
+      final ColumnBinary columnBinary ,
+      final IMemoryAllocator allocator ) throws IOException {
+    ByteArrayData buffer = CompressBuffer.acquire();
+    try {
+      int binaryLength = decompress( columnBinary , buffer );
+      byte[] binary = buffer.getBytes();
+      ByteBuffer wrapBuffer = ByteBuffer.wrap( binary , 0 , binaryLength );
+      int startIndex = wrapBuffer.getInt();
+      int rowCount = wrapBuffer.getInt();
+      int nullIndexLength = wrapBuffer.getInt();
+
+      boolean[] isNullArray =
+          NullBinaryEncoder.toIsNullArray( binary , META_LENGTH , nullIndexLength );
+      long[] bitsArray = AlpEncoder.toBitsArray(
+          binary , META_LENGTH + nullIndexLength , rowCount , valueBytes );
+
+      allocator.setValueCount( startIndex + isNullArray.length );
+
+      int index = 0;
+      for ( ; index < startIndex ; index++ ) {
+        allocator.setNull( index );
+      }
+      int valueIndex = 0;
+      for ( int i = 0 ; i < isNullArray.length ; i++,index++ ) {
+        if ( isNullArray[i]  ) {
+          allocator.setNull( index );
+        } else {
+          setValue( allocator , index , bitsArray[valueIndex++] );
+        }
+      }
+    } finally {
+      CompressBuffer.release( buffer );
+    }
+  }
+
+  @Override
+  public void setBlockIndexNode(
+      final BlockIndexNode parentNode ,
+      final ColumnBinary columnBinary ,
+      final int spreadIndex ) throws IOException {
+    double[] minMax = getMinMax( columnBinary );
+    BlockIndexNode currentNode = parentNode.getChildNode( columnBinary.columnName );
+    currentNode.setBlockIndex( createBlockIndex( minMax[0] , minMax[1] ) );
+    currentNode.setNullCount( columnBinary.nullCount , columnBinary.rowCount );
+  }
+
+  public class ColumnManager implements IColumnManager {
+
+    private final ColumnBinary columnBinary;
+
+    private PrimitiveColumn column;
+    private boolean isCreate;
+
+    public ColumnManager( final ColumnBinary columnBinary ) {
+      this.columnBinary = columnBinary;
+    }
+
+    private void create() throws IOException {
+      if ( isCreate ) {
+        return;
+      }
+      byte[] binary = decompress( columnBinary );
+      ByteBuffer wrapBuffer = ByteBuffer.wrap( binary , 0 , binary.length );
+      final int startIndex = wrapBuffer.getInt();
+      int rowCount = wrapBuffer.getInt();
+      int nullIndexLength = wrapBuffer.getInt();
+
+      boolean[] isNullArray =
+          NullBinaryEncoder.toIsNullArray( binary , META_LENGTH , nullIndexLength );
+      long[] bitsArray = AlpEncoder.toBitsArray(
+          binary , META_LENGTH + nullIndexLength , rowCount , valueBytes );
+
+      PrimitiveObject[] valueArray = new PrimitiveObject[isNullArray.length];
+      int valueIndex = 0;
+      for ( int i = 0 ; i < isNullArray.length ; i++ ) {
+        if ( ! isNullArray[i]  ) {
+          valueArray[i] = createObject( bitsArray[valueIndex++] );
+        }
+      }
+
+      column = new PrimitiveColumn( columnBinary.columnType , columnBinary.columnName );
+      column.setCellManager( new OptimizedNullArrayCellManager(
+          columnBinary.columnType , startIndex , valueArray ) );
+
+      isCreate = true;
+    }
+
+    @Override
+    public IColumn get() {
+      if ( ! isCreate ) {
+        try {
+          create();
+        } catch ( IOException ex ) {
+          throw new UncheckedIOException( ex );
+        }
+      }
+      return column;
+    }
+
+    @Override
+    public List<String> getColumnKeys() {
+      return new ArrayList<String>();
+    }
+
+    @Override
+    public int getColumnSize() {
+      return 0;
+    }
+
+  }
+
+}
@@ -0,0 +1,75 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.co.yahoo.yosegi.binary.maker;
+
+import jp.co.yahoo.yosegi.binary.maker.index.RangeDoubleIndex;
+import jp.co.yahoo.yosegi.blockindex.DoubleRangeBlockIndex;
+import jp.co.yahoo.yosegi.blockindex.IBlockIndex;
+import jp.co.yahoo.yosegi.inmemory.IMemoryAllocator;
+import jp.co.yahoo.yosegi.message.objects.DoubleObj;
+import jp.co.yahoo.yosegi.message.objects.PrimitiveObject;
+import jp.co.yahoo.yosegi.spread.analyzer.DoubleColumnAnalizeResult;
+import jp.co.yahoo.yosegi.spread.analyzer.IColumnAnalizeResult;
+import jp.co.yahoo.yosegi.spread.column.index.ICellIndex;
+import jp.co.yahoo.yosegi.util.io.alp.AlpStatistics;
+
+import java.io.IOException;
+
+/**
+ * Store the double values with ALP, or with byte stream split if ALP is larger.
+ * Decimal values such as prices and sensor readings become small bit-packed integers.
+ */
+public class AlpDoubleColumnBinaryMaker extends AbstractAlpColumnBinaryMaker {
+
+  public AlpDoubleColumnBinaryMaker() {
+    super( Double.BYTES );
+  }
+
+  @Override
+  protected long getBits( final PrimitiveObject obj ) throws IOException {
+    return Double.doubleToRawLongBits( obj.getDouble() );
+  }
+
+  @Override
+  protected PrimitiveObject createObject( final long bits ) {
+    return new DoubleObj( Double.longBitsToDouble( bits ) );
+  }
+
+  @Override
+  protected void setValue(
+      final IMemoryAllocator allocator , final int index , final long bits ) throws IOException {
+    allocator.setDouble( index , Double.longBitsToDouble( bits ) );
+  }
+
+  @Override
+  protected AlpStatistics getAlpStatistics( final IColumnAnalizeResult analizeResult ) {
+    return ( (DoubleColumnAnalizeResult) analizeResult ).getAlpStatistics();
+  }
+
+  @Override
+  protected ICellIndex createCellIndex( final double min , final double max ) {
+    return new RangeDoubleIndex( Double.valueOf( min ) , Double.valueOf( max ) );
+  }
+
+  @Override
+  protected IBlockIndex createBlockIndex( final double min , final double max ) {
+    return new DoubleRangeBlockIndex( Double.valueOf( min ) , Double.valueOf( max ) );
+  }
+
+}
@@ -0,0 +1,458 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.co.yahoo.yosegi.binary.maker;
+
+import jp.co.yahoo.yosegi.binary.ColumnBinary;
+import jp.co.yahoo.yosegi.binary.ColumnBinaryMakerConfig;
+import jp.co.yahoo.yosegi.binary.ColumnBinaryMakerCustomConfigNode;
+import jp.co.yahoo.yosegi.binary.CompressResultNode;
+import jp.co.yahoo.yosegi.binary.maker.index.RangeLongIndex;
+import jp.co.yahoo.yosegi.blockindex.BlockIndexNode;
+import jp.co.yahoo.yosegi.blockindex.BloomFilterBlockIndex;
+import jp.co.yahoo.yosegi.blockindex.LongRangeBlockIndex;
+import jp.co.yahoo.yosegi.compressor.CompressBuffer;
+import jp.co.yahoo.yosegi.compressor.CompressResult;
+import jp.co.yahoo.yosegi.compressor.ICompressor;
+import jp.co.yahoo.yosegi.inmemory.IMemoryAllocator;
+import jp.co.yahoo.yosegi.message.objects.PrimitiveObject;
+import jp.co.yahoo.yosegi.spread.analyzer.ByteColumnAnalizeResult;
+import jp.co.yahoo.yosegi.spread.analyzer.IColumnAnalizeResult;
+import jp.co.yahoo.yosegi.spread.analyzer.IntegerColumnAnalizeResult;
+import jp.co.yahoo.yosegi.spread.analyzer.LongColumnAnalizeResult;
+import jp.co.yahoo.yosegi.spread.analyzer.ShortColumnAnalizeResult;
+import jp.co.yahoo.yosegi.spread.column.ColumnType;
+import jp.co.yahoo.yosegi.spread.column.ICell;
+import jp.co.yahoo.yosegi.spread.column.IColumn;
+import jp.co.yahoo.yosegi.spread.column.PrimitiveCell;
+import jp.co.yahoo.yosegi.spread.column.PrimitiveColumn;
+import jp.co.yahoo.yosegi.util.ByteArrayData;
+import jp.co.yahoo.yosegi.util.DetermineMinMax;
+import jp.co.yahoo.yosegi.util.DetermineMinMaxFactory;
+import jp.co.yahoo.yosegi.util.io.bitpack.BitPackBlockEncoder;
+import jp.co.yahoo.yosegi.util.io.bitpack.BitPackUtils;
+import jp.co.yahoo.yosegi.util.io.diffencoder.NumEncoderUtil;
+import jp.co.yahoo.yosegi.util.io.nullencoder.NullBinaryEncoder;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Store the offsets from min packed with the bit width of each block.
+ * A column that needs 3 or 11 bits per value is stored with 3 or 11 bits
+ * instead of rounding up to a byte or a short.
+ */
+public class BitPackedLongColumnBinaryMaker implements IColumnBinaryMaker {
+
+  private static final int BLOCK_SIZE = BitPackBlockEncoder.BLOCK_SIZE;
+
+  // Metadata layout
+  // ColumnStart, rowCount, nullIndexLength
+  private static final int META_LENGTH = Integer.BYTES * 3;
+
+  @Override
+  public ColumnBinary toBinary(
+      final ColumnBinaryMakerConfig commonConfig ,
+      final ColumnBinaryMakerCustomConfigNode currentConfigNode ,
+      final CompressResultNode compressResultNode ,
+      final IColumn column ) throws IOException {
+    ColumnBinaryMakerConfig currentConfig = commonConfig;
+    if ( currentConfigNode != null ) {
+      currentConfig = currentConfigNode.getCurrentConfig();
+    }
+    long[] longArray = new long[column.size()];
+    boolean[] isNullArray = new boolean[column.size()];
+
+    DetermineMinMax<Long> detemineMinMax = DetermineMinMaxFactory.createLong();
+    int rowCount = 0;
+    int nullCount = 0;
+    int nullMaxIndex = 0;
+    int notNullMaxIndex = 0;
+
+    int startIndex = 0;
+    for ( ; startIndex < column.size() ; startIndex++ ) {
+      ICell cell = column.get(startIndex);
+      if ( cell.getType() != ColumnType.NULL ) {
+        break;
+      }
+    }
+
+    for ( int i = startIndex,arrayIndex = 0 ; i < column.size() ; i++,arrayIndex++ ) {
+      ICell cell = column.get(i);
+      if ( cell.getType() == ColumnType.NULL ) {
+        nullCount++;
+        nullMaxIndex = arrayIndex;
+        isNullArray[arrayIndex] = true;
+        continue;
+      }
+      notNullMaxIndex = arrayIndex;
+      PrimitiveCell primitiveCell = (PrimitiveCell) cell;
+      PrimitiveObject primitiveObj = primitiveCell.getRow();
+      Long target = Long.valueOf( primitiveObj.getLong() );
+      detemineMinMax.set( target );
+      longArray[rowCount] = target.longValue();
+      rowCount++;
+    }
+
+    long min = detemineMinMax.getMin().longValue();
+    long max = detemineMinMax.getMax().longValue();
+    if ( nullCount == 0 && min == max && startIndex == 0 ) {
+      return ConstantColumnBinaryMaker.createColumnBinary(
+          OptimizedNullArrayDumpLongColumnBinaryMaker.createConstObjectFromNum(
+              column.getColumnType() , min ) ,
+          column.getColumnName() ,
+          column.size() );
+    }
+
+    for ( int i = 0 ; i < rowCount ; i++ ) {
+      longArray[i] -= min;
+    }
+    int valueLength = BitPackBlockEncoder.calcBinarySize( longArray , 0 , rowCount );
+
+    int nullIndexLength = NullBinaryEncoder.getBinarySize(
+        nullCount , rowCount , nullMaxIndex , notNullMaxIndex );
+
+    byte[] binaryRaw = new byte[ META_LENGTH + nullIndexLength + valueLength ];
+
+    ByteBuffer wrapBuffer = ByteBuffer.wrap( binaryRaw );
+    wrapBuffer.putInt( startIndex );
+    wrapBuffer.putInt( rowCount );
+    wrapBuffer.putInt( nullIndexLength );
+    NullBinaryEncoder.toBinary(
+        binaryRaw ,
+        META_LENGTH ,
+        nullIndexLength ,
+        isNullArray ,
+        nullCount ,
+        rowCount ,
+        nullMaxIndex ,
+        notNullMaxIndex );
+    BitPackBlockEncoder.toBinary(
+        longArray , 0 , rowCount , binaryRaw , META_LENGTH + nullIndexLength );
+
+    CompressResult compressResult = compressResultNode.getCompressResult(
+        this.getClass().getName() ,
+        "c0"  ,
+        currentConfig.compressionPolicy ,
+        currentConfig.allowedRatio );
+    byte[] binary = currentConfig.compressorClass.compressWithHeader(
+        binaryRaw , 0 , binaryRaw.length , Long.BYTES * 2 , compressResult );
+
+    wrapBuffer = ByteBuffer.wrap( binary , 0 , binary.length );
+    wrapBuffer.putLong( min );
+    wrapBuffer.putLong( max );
+
+    ColumnBinary result = new ColumnBinary(
+        this.getClass().getName() ,
+        currentConfig.compressorClass.getClass().getName() ,
+        column.getColumnName() ,
+        column.getColumnType() ,
+        column.size() ,
+        binaryRaw.length ,
+        NumEncoderUtil.getLogicalSize( rowCount , column.getColumnType() ) ,
+        -1 ,
+        binary ,
+        0 ,
+        binary.length ,
+        null );
+    result.nullCount = column.size() - rowCount;
+    return result;
+  }
+
+  @Override
+  public int calcBinarySize( final IColumnAnalizeResult analizeResult ) {
+    int startIndex = analizeResult.getRowStart();
+    int maxIndex = analizeResult.getRowEnd();
+    int nullCount = analizeResult.getNullCount() - startIndex;
+    int notNullCount = analizeResult.getRowCount();
+
+    int nullIndexLength =
+        NullBinaryEncoder.getBinarySize( nullCount , notNullCount , maxIndex , maxIndex );
+
+    long min;
+    long max;
+    switch ( analizeResult.getColumnType() ) {
+      case BYTE:
+        min = (long)( (ByteColumnAnalizeResult) analizeResult ).getMin();
+        max = (long)( (ByteColumnAnalizeResult) analizeResult ).getMax();
+        break;
+      case SHORT:
+        min = (long)( (ShortColumnAnalizeResult) analizeResult ).getMin();
+        max = (long)( (ShortColumnAnalizeResult) analizeResult ).getMax();
+        break;
+      case INTEGER:
+        min = (long)( (IntegerColumnAnalizeResult) analizeResult ).getMin();
+        max = (long)( (IntegerColumnAnalizeResult) analizeResult ).getMax();
+        break;
+      case LONG:
+        min = ( (LongColumnAnalizeResult) analizeResult ).getMin();
+        max = ( (LongColumnAnalizeResult) analizeResult ).getMax();
+        break;
+      default:
+        min = Long.MIN_VALUE;
+        max = Long.MAX_VALUE;
+        break;
+    }
+    int valueLength = BitPackBlockEncoder.calcBinarySize(
+        notNullCount , BitPackUtils.getBitWidth( max - min ) );
+
+    return META_LENGTH + nullIndexLength + valueLength;
+  }
+
+  @Override
+  public IColumn toColumn( final ColumnBinary columnBinary ) throws IOException {
+    ByteBuffer wrapBuffer = ByteBuffer.wrap(
+        columnBinary.binary , columnBinary.binaryStart , columnBinary.binaryLength );
+    Long min = Long.valueOf( wrapBuffer.getLong() );
+    Long max = Long.valueOf( wrapBuffer.getLong() );
+
+    return new HeaderIndexLazyColumn(
+      columnBinary.columnName ,
+      columnBinary.columnType ,
+      new ColumnManager(
+        min.longValue(),
+        columnBinary
+      ) ,
+      new RangeLongIndex( min , max )
+    );
+  }
+
+  private static byte[] decompress( final ColumnBinary columnBinary ) throws IOException {
+    int start = columnBinary.binaryStart + ( Long.BYTES * 2 );
+    int length = columnBinary.binaryLength - ( Long.BYTES * 2 );
+
+    ICompressor compressor = columnBinary.getCompressor();
+    return compressor.decompress( columnBinary.binary , start , length );
+  }
+
+  private static int decompress(
+      final ColumnBinary columnBinary , final ByteArrayData buffer ) throws IOException {
+    int start = columnBinary.binaryStart + ( Long.BYTES * 2 );
+    int length = columnBinary.binaryLength - ( Long.BYTES * 2 );
+
+    ICompressor compressor = columnBinary.getCompressor();
+    return compressor.decompressAndSet(
+        ByteBuffer.wrap( columnBinary.binary , start , length ) , buffer );
+  }
+
+  @Override
+  public void loadInMemoryStorage(
+      final ColumnBinary columnBinary ,
+      final IMemoryAllocator allocator ) throws IOException {
+    ByteBuffer compressWrapBuffer = ByteBuffer.wrap(
+        columnBinary.binary , columnBinary.binaryStart , columnBinary.binaryLength );
+    long min = compressWrapBuffer.getLong();
+
+    ByteArrayData buffer = CompressBuffer.acquire();
+    try {
+      int binaryLength = decompress( columnBinary , buffer );
+      byte[] binary = buffer.getBytes();
+      ByteBuffer wrapBuffer = ByteBuffer.wrap( binary , 0 , binaryLength );
+      int startIndex = wrapBuffer.getInt();
+      int rowCount = wrapBuffer.getInt();
+      int nullIndexLength = wrapBuffer.getInt();
+
+      boolean[] isNullArray =
+          NullBinaryEncoder.toIsNullArray( binary , META_LENGTH , nullIndexLength );
+
+      allocator.setValueCount( startIndex + isNullArray.length );
+
+      for ( int index = 0 ; index < startIndex ; index++ ) {
+        allocator.setNull( index );
+      }
+      int valueStart = META_LENGTH + nullIndexLength;
+      if ( columnBinary.columnType == ColumnType.LONG ) {
+        loadLong( binary , valueStart , rowCount , isNullArray , min , allocator , startIndex );
+      } else {
+        loadInteger( binary , valueStart , rowCount , isNullArray , (int)min ,
+            columnBinary.columnType , allocator , startIndex );
+      }
+    } finally {
+      CompressBuffer.release( buffer );
+    }
+  }
+
+  private void loadLong(
+      final byte[] binary ,
+      final int start ,
+      final int rowCount ,
+      final boolean[] isNullArray ,
+      final long min ,
+      final IMemoryAllocator allocator ,
+      final int startIndex ) throws IOException {
+    long[] blockArray = new long[BLOCK_SIZE];
+    int offset = start;
+    int blockIndex = BLOCK_SIZE;
+    int remaining = rowCount;
+    for ( int i = 0 ; i < isNullArray.length ; i++ ) {
+      if ( isNullArray[i] ) {
+        allocator.setNull( i + startIndex );
+        continue;
+      }
+      if ( blockIndex == BLOCK_SIZE ) {
+        offset = BitPackBlockEncoder.readBlock(
+            binary , offset , Math.min( BLOCK_SIZE , remaining ) , blockArray );
+        remaining -= BLOCK_SIZE;
+        blockIndex = 0;
+      }
+      allocator.setLong( i + startIndex , min + blockArray[blockIndex++] );
+    }
+  }
+
+  /**
+   * The values of BYTE, SHORT and INTEGER fit in int,
+   * so the offsets are unpacked into int array and added in int.
+   */
+  private void loadInteger(
+      final byte[] binary ,
+      final int start ,
+      final int rowCount ,
+      final boolean[] isNullArray ,
+      final int min ,
+      final ColumnType columnType ,
+      final IMemoryAllocator allocator ,
+      final int startIndex ) throws IOException {
+    int[] blockArray = new int[BLOCK_SIZE];
+    int offset = start;
+    int blockIndex = BLOCK_SIZE;
+    int remaining = rowCount;
+    for ( int i = 0 ; i < isNullArray.length ; i++ ) {
+      if ( isNullArray[i] ) {
+        allocator.setNull( i + startIndex );
+        continue;
+      }
+      if ( blockIndex == BLOCK_SIZE ) {
+        offset = BitPackBlockEncoder.readBlock(
+            binary , offset , Math.min( BLOCK_SIZE , remaining ) , blockArray );
+        remaining -= BLOCK_SIZE;
+        blockIndex = 0;
+      }
+      int value = min + blockArray[blockIndex++];
+      switch ( columnType ) {
+        case BYTE:
+          allocator.setByte( i + startIndex , (byte)value );
+          break;
+        case SHORT:
+          allocator.setShort( i + startIndex , (short)value );
+          break;
+        default:
+          allocator.setInteger( i + startIndex , value );
+          break;
+      }
+    }
+  }
+
+  @Override
+  public void setBlockIndexNode(
+      final BlockIndexNode parentNode ,
+      final ColumnBinary columnBinary ,
+      final int spreadIndex ) throws IOException {
+    ByteBuffer wrapBuffer = ByteBuffer.wrap(
+        columnBinary.binary , columnBinary.binaryStart , columnBinary.binaryLength );
+    Long min = Long.valueOf( wrapBuffer.getLong() );
+    Long max = Long.valueOf( wrapBuffer.getLong() );
+    BlockIndexNode currentNode = parentNode.getChildNode( columnBinary.columnName );
+    setRangeBlockIndex( currentNode , new LongRangeBlockIndex( min , max ) ,
+        BloomFilterBlockIndex.NUMBER_VALUE , columnBinary , spreadIndex );
+  }
+
+  public class ColumnManager implements IColumnManager {
+
+    private final long min;
+    private final ColumnBinary columnBinary;
+
+    private PrimitiveColumn column;
+    private boolean isCreate;
+
+    /**
+     * initialize.
+     */
+    public ColumnManager(
+        final long min,
+        final ColumnBinary columnBinary ) {
+      this.min = min;
+      this.columnBinary = columnBinary;
+    }
+
+    private void create() throws IOException {
+      if ( isCreate ) {
+        return;
+      }
+      byte[] binary = decompress( columnBinary );
+      ByteBuffer wrapBuffer = ByteBuffer.wrap( binary , 0 , binary.length );
+      final int startIndex = wrapBuffer.getInt();
+      int rowCount = wrapBuffer.getInt();
+      int nullIndexLength = wrapBuffer.getInt();
+
+      boolean[] isNullArray =
+          NullBinaryEncoder.toIsNullArray( binary , META_LENGTH , nullIndexLength );
+
+      PrimitiveObject[] valueArray = new PrimitiveObject[isNullArray.length];
+      long[] blockArray = new long[BLOCK_SIZE];
+      int offset = META_LENGTH + nullIndexLength;
+      int blockIndex = BLOCK_SIZE;
+      int remaining = rowCount;
+      for ( int i = 0 ; i < isNullArray.length ; i++ ) {
+        if ( isNullArray[i] ) {
+          continue;
+        }
+        if ( blockIndex == BLOCK_SIZE ) {
+          offset = BitPackBlockEncoder.readBlock(
+              binary , offset , Math.min( BLOCK_SIZE , remaining ) , blockArray );
+          remaining -= BLOCK_SIZE;
+          blockIndex = 0;
+        }
+        valueArray[i] = OptimizedNullArrayDumpLongColumnBinaryMaker.createConstObjectFromNum(
+            columnBinary.columnType , min + blockArray[blockIndex++] );
+      }
+
+      column = new PrimitiveColumn( columnBinary.columnType , columnBinary.columnName );
+      column.setCellManager( new OptimizedNullArrayCellManager(
+          columnBinary.columnType , startIndex , valueArray ) );
+
+      isCreate = true;
+    }
+
+    @Override
+    public IColumn get() {
+      if ( ! isCreate ) {
+        try {
+          create();
+        } catch ( IOException ex ) {
+          throw new UncheckedIOException( ex );
+        }
+      }
+      return column;
+    }
+
+    @Override
+    public List<String> getColumnKeys() {
+      return new ArrayList<String>();
+    }
+
+    @Override
+    public int getColumnSize() {
+      return 0;
+    }
+
+  }
+
+}
@@ -0,0 +1,157 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.co.yahoo.yosegi.binary.maker;
+
+import jp.co.yahoo.yosegi.inmemory.IMemoryAllocator;
+import jp.co.yahoo.yosegi.message.objects.BooleanObj;
+import jp.co.yahoo.yosegi.message.objects.PrimitiveObject;
+import jp.co.yahoo.yosegi.spread.column.BooleanCell;
+import jp.co.yahoo.yosegi.spread.column.ICell;
+import jp.co.yahoo.yosegi.spread.column.ICellManager;
+import jp.co.yahoo.yosegi.spread.column.filter.IFilter;
+import jp.co.yahoo.yosegi.spread.column.index.DefaultCellIndex;
+import jp.co.yahoo.yosegi.spread.column.index.ICellIndex;
+import jp.co.yahoo.yosegi.spread.expression.IExpressionIndex;
+import jp.co.yahoo.yosegi.spread.expression.SelectionBitmap;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Boolean cell manager that keeps not null flags and values as long word bitmaps.
+ */
+public class BitmapBooleanCellManager implements ICellManager<ICell> {
+
+  private static final BooleanObj TRUE = new BooleanObj( true );
+  private static final BooleanObj FALSE = new BooleanObj( false );
+  private static final ICell TRUE_CELL = new BooleanCell( TRUE );
+  private static final ICell FALSE_CELL = new BooleanCell( FALSE );
+
+  private final long[] isNotNullWords;
+  private final long[] valueWords;
+  private final int size;
+
+  private ICellIndex index = new DefaultCellIndex();
+
+  /**
+   * Manage the bitmaps of the specified number of rows.
+   */
+  public BitmapBooleanCellManager(
+      final long[] isNotNullWords , final long[] valueWords , final int size ) {
+    this.isNotNullWords = isNotNullWords;
+    this.valueWords = valueWords;
+    this.size = size;
+  }
+
+  private boolean isNull( final int index ) {
+    return index < 0
+        || size <= index
+        || ( isNotNullWords[ index >>> 6 ] & ( 1L << index ) ) == 0;
+  }
+
+  private boolean getValue( final int index ) {
+    return ( valueWords[ index >>> 6 ] & ( 1L << index ) ) != 0;
+  }
+
+  @Override
+  public void add( final ICell cell , final int index ) {
+    throw new UnsupportedOperationException( "read only." );
+  }
+
+  @Override
+  public ICell get( final int index , final ICell defaultCell ) {
+    if ( isNull( index ) ) {
+      return defaultCell;
+    }
+    return getValue( index ) ? TRUE_CELL : FALSE_CELL;
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public void clear() {}
+
+  @Override
+  public void setIndex( final ICellIndex index ) {
+    this.index = index;
+  }
+
+  @Override
+  public boolean[] filter(
+      final IFilter filter , final boolean[] filterArray ) throws IOException {
+    return index.filter( filter , filterArray );
+  }
+
+  @Override
+  public SelectionBitmap filterBitmap(
+      final IFilter filter , final int size ) throws IOException {
+    return index.filterBitmap( filter , size );
+  }
+
+  @Override
+  public PrimitiveObject[] getPrimitiveObjectArray(
+      final IExpressionIndex indexList ,
+      final int start ,
+      final int length ) {
+    PrimitiveObject[] result = new PrimitiveObject[length];
+    int loopEnd = ( start + length );
+    if ( indexList.size() < loopEnd ) {
+      loopEnd = indexList.size();
+    }
+    for ( int i = start,index = 0 ; i < loopEnd ; i++,index++ ) {
+      int valueIndex = indexList.get( i );
+      if ( ! isNull( valueIndex ) ) {
+        result[index] = getValue( valueIndex ) ? TRUE : FALSE;
+      }
+    }
+    return result;
+  }
+
+  @Override
+  public void setPrimitiveObjectArray(
+      final IExpressionIndex indexList ,
+      final int start ,
+      final int length ,
+      final IMemoryAllocator allocator ) {
+    int loopEnd = ( start + length );
+    if ( indexList.size() < loopEnd ) {
+      loopEnd = indexList.size();
+    }
+    int index = 0;
+    try {
+      for ( int i = start ; i < loopEnd ; i++,index++ ) {
+        int valueIndex = indexList.get( i );
+        if ( isNull( valueIndex ) ) {
+          allocator.setNull( index );
+        } else {
+          allocator.setBoolean( index , getValue( valueIndex ) );
+        }
+      }
+    } catch ( IOException ex ) {
+      throw new UncheckedIOException( ex );
+    }
+    for ( int i = index ; i < length ; i++ ) {
+      allocator.setNull( i );
+    }
+  }
+
+}
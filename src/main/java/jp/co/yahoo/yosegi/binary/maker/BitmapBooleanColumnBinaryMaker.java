@@ -0,0 +1,237 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.co.yahoo.yosegi.binary.maker;
+
+import jp.co.yahoo.yosegi.binary.ColumnBinary;
+import jp.co.yahoo.yosegi.binary.ColumnBinaryMakerConfig;
+import jp.co.yahoo.yosegi.binary.ColumnBinaryMakerCustomConfigNode;
+import jp.co.yahoo.yosegi.binary.CompressResultNode;
+import jp.co.yahoo.yosegi.binary.maker.index.BitmapBooleanCellIndex;
+import jp.co.yahoo.yosegi.binary.maker.index.FlagBooleanIndex;
+import jp.co.yahoo.yosegi.blockindex.BlockIndexNode;
+import jp.co.yahoo.yosegi.blockindex.BooleanBlockIndex;
+import jp.co.yahoo.yosegi.compressor.CompressResult;
+import jp.co.yahoo.yosegi.compressor.ICompressor;
+import jp.co.yahoo.yosegi.inmemory.IMemoryAllocator;
+import jp.co.yahoo.yosegi.spread.analyzer.IColumnAnalizeResult;
+import jp.co.yahoo.yosegi.spread.column.ColumnType;
+import jp.co.yahoo.yosegi.spread.column.ICell;
+import jp.co.yahoo.yosegi.spread.column.IColumn;
+import jp.co.yahoo.yosegi.spread.column.PrimitiveCell;
+import jp.co.yahoo.yosegi.spread.column.PrimitiveColumn;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Boolean column stored as two bitmaps, one for not null rows and one for true rows.
+ * The bitmaps are read as long words, so filters and Arrow loading work 64 rows at a time.
+ */
+public class BitmapBooleanColumnBinaryMaker implements IColumnBinaryMaker {
+
+  // Metadata layout
+  // rowCount
+  private static final int META_LENGTH = Integer.BYTES;
+
+  /**
+   * Get the byte length of a bitmap of the specified number of rows.
+   */
+  public static int getBitmapLength( final int rowCount ) {
+    return ( rowCount + Byte.SIZE - 1 ) / Byte.SIZE;
+  }
+
+  /**
+   * Read a little endian bitmap into long words.
+   */
+  public static long[] toWords( final byte[] buffer , final int start , final int rowCount ) {
+    long[] words = new long[ ( rowCount + Long.SIZE - 1 ) / Long.SIZE ];
+    int length = getBitmapLength( rowCount );
+    for ( int i = 0 ; i < length ; i++ ) {
+      words[ i >>> 3 ] |= ( buffer[ start + i ] & 0xFFL ) << ( ( i & 7 ) * Byte.SIZE );
+    }
+    return words;
+  }
+
+  private static byte[] decompressBinary( final ColumnBinary columnBinary ) throws IOException {
+    int start = columnBinary.binaryStart + BooleanBlockIndex.BitFlags.LENGTH;
+    int length = columnBinary.binaryLength - BooleanBlockIndex.BitFlags.LENGTH;
+    ICompressor compressor = columnBinary.getCompressor();
+    return compressor.decompress( columnBinary.binary , start , length );
+  }
+
+  private static BooleanBlockIndex.BitFlags getBitFlags( final ColumnBinary columnBinary ) {
+    return new BooleanBlockIndex.BitFlags( columnBinary.binary[columnBinary.binaryStart] );
+  }
+
+  @Override
+  public ColumnBinary toBinary(
+      final ColumnBinaryMakerConfig commonConfig ,
+      final ColumnBinaryMakerCustomConfigNode currentConfigNode ,
+      final CompressResultNode compressResultNode ,
+      final IColumn column ) throws IOException {
+    ColumnBinaryMakerConfig currentConfig = commonConfig;
+    if ( currentConfigNode != null ) {
+      currentConfig = currentConfigNode.getCurrentConfig();
+    }
+
+    int rowCount = column.size();
+    int bitmapLength = getBitmapLength( rowCount );
+    byte[] binaryRaw = new byte[ META_LENGTH + bitmapLength * 2 ];
+    ByteBuffer.wrap( binaryRaw ).putInt( rowCount );
+
+    int notNullStart = META_LENGTH;
+    int valueStart = META_LENGTH + bitmapLength;
+    int notNullCount = 0;
+    int trueCount = 0;
+    for ( int i = 0 ; i < rowCount ; i++ ) {
+      ICell cell = column.get( i );
+      if ( cell.getType() == ColumnType.NULL ) {
+        continue;
+      }
+      byte bit = (byte)( 1 << ( i & 7 ) );
+      binaryRaw[ notNullStart + ( i >>> 3 ) ] |= bit;
+      notNullCount++;
+      if ( ( (PrimitiveCell)cell ).getRow().getBoolean() ) {
+        binaryRaw[ valueStart + ( i >>> 3 ) ] |= bit;
+        trueCount++;
+      }
+    }
+
+    CompressResult compressResult = compressResultNode.getCompressResult(
+        this.getClass().getName() ,
+        "c0" ,
+        currentConfig.compressionPolicy ,
+        currentConfig.allowedRatio );
+    byte[] binary = currentConfig.compressorClass.compressWithHeader(
+        binaryRaw , 0 , binaryRaw.length , BooleanBlockIndex.BitFlags.LENGTH , compressResult );
+    BooleanBlockIndex.BitFlags bitFlags = new BooleanBlockIndex.BitFlags(
+        0 < trueCount , trueCount < notNullCount , notNullCount < rowCount );
+    ByteBuffer wrapBuffer = ByteBuffer.wrap( binary );
+    wrapBuffer.put( bitFlags.getBitFlags() );
+
+    return new ColumnBinary(
+        this.getClass().getName() ,
+        currentConfig.compressorClass.getClass().getName() ,
+        column.getColumnName() ,
+        ColumnType.BOOLEAN ,
+        rowCount ,
+        binaryRaw.length ,
+        Byte.BYTES * notNullCount ,
+        -1 ,
+        binary ,
+        0 ,
+        binary.length ,
+        null );
+  }
+
+  @Override
+  public int calcBinarySize( final IColumnAnalizeResult analizeResult ) {
+    return BooleanBlockIndex.BitFlags.LENGTH
+        + META_LENGTH
+        + getBitmapLength( analizeResult.getColumnSize() ) * 2;
+  }
+
+  @Override
+  public IColumn toColumn( final ColumnBinary columnBinary ) throws IOException {
+    BooleanBlockIndex.BitFlags bitFlags = getBitFlags( columnBinary );
+    return new HeaderIndexLazyColumn(
+        columnBinary.columnName ,
+        columnBinary.columnType ,
+        new BooleanColumnManager( columnBinary ) ,
+        new FlagBooleanIndex( bitFlags.hasTrue() , bitFlags.hasFalse() , bitFlags.hasNull() ) );
+  }
+
+  @Override
+  public void loadInMemoryStorage(
+      final ColumnBinary columnBinary ,
+      final IMemoryAllocator allocator ) throws IOException {
+    byte[] binary = decompressBinary( columnBinary );
+    int rowCount = ByteBuffer.wrap( binary ).getInt();
+    int bitmapLength = getBitmapLength( rowCount );
+    long[] isNotNullWords = toWords( binary , META_LENGTH , rowCount );
+    long[] valueWords = toWords( binary , META_LENGTH + bitmapLength , rowCount );
+    allocator.setBooleanWords( isNotNullWords , valueWords , rowCount );
+    allocator.setValueCount( rowCount );
+  }
+
+  @Override
+  public void setBlockIndexNode(
+      final BlockIndexNode parentNode ,
+      final ColumnBinary columnBinary ,
+      final int spreadIndex ) throws IOException {
+    BooleanBlockIndex.BitFlags bitFlags = getBitFlags( columnBinary );
+    BlockIndexNode currentNode = parentNode.getChildNode( columnBinary.columnName );
+    currentNode.setBlockIndex( new BooleanBlockIndex(
+        bitFlags.hasTrue() , bitFlags.hasFalse() , bitFlags.hasNull() ) );
+  }
+
+  public class BooleanColumnManager implements IColumnManager {
+
+    private final ColumnBinary columnBinary;
+    private PrimitiveColumn column;
+    private boolean isCreate;
+
+    public BooleanColumnManager( final ColumnBinary columnBinary ) throws IOException {
+      this.columnBinary = columnBinary;
+    }
+
+    private void create() throws IOException {
+      if ( isCreate ) {
+        return;
+      }
+      byte[] binary = decompressBinary( columnBinary );
+      int rowCount = ByteBuffer.wrap( binary ).getInt();
+      int bitmapLength = getBitmapLength( rowCount );
+      long[] isNotNullWords = toWords( binary , META_LENGTH , rowCount );
+      long[] valueWords = toWords( binary , META_LENGTH + bitmapLength , rowCount );
+
+      column = new PrimitiveColumn( columnBinary.columnType , columnBinary.columnName );
+      column.setCellManager(
+          new BitmapBooleanCellManager( isNotNullWords , valueWords , rowCount ) );
+      column.setIndex( new BitmapBooleanCellIndex( isNotNullWords , valueWords , rowCount ) );
+
+      isCreate = true;
+    }
+
+    @Override
+    public IColumn get() {
+      try {
+        create();
+      } catch ( IOException ex ) {
+        throw new UncheckedIOException( ex );
+      }
+      return column;
+    }
+
+    @Override
+    public List<String> getColumnKeys() {
+      return new ArrayList<String>();
+    }
+
+    @Override
+    public int getColumnSize() {
+      return 0;
+    }
+
+  }
+
+}
@@ -247,6 +247,7 @@ public class ConstantColumnBinaryMaker implements IColumnBinaryMaker {
       final ColumnBinary columnBinary ,
       final int spreadIndex ) throws IOException {
     BlockIndexNode currentNode = parentNode.getChildNode( columnBinary.columnName );
+    currentNode.setNullCount( columnBinary.nullCount , columnBinary.rowCount );
     ByteBuffer wrapBuffer = ByteBuffer.wrap(
         columnBinary.binary , columnBinary.binaryStart , columnBinary.binaryLength );
     switch ( columnBinary.columnType ) {
@@ -470,7 +471,7 @@ public class ConstantColumnBinaryMaker implements IColumnBinaryMaker {
         throw new IOException( "Unknown primitive type." );
     }
 
-    return new ColumnBinary(
+    ColumnBinary result = new ColumnBinary(
         ConstantColumnBinaryMaker.class.getName() ,
         DefaultCompressor.class.getName() ,
         columnName ,
@@ -483,6 +484,8 @@ public class ConstantColumnBinaryMaker implements IColumnBinaryMaker {
         0 ,
         valueBinary.length ,
         null );
+    result.nullCount = 0;
+    return result;
   }
 
 }
@@ -0,0 +1,504 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.co.yahoo.yosegi.binary.maker;
+
+import jp.co.yahoo.yosegi.binary.ColumnBinary;
+import jp.co.yahoo.yosegi.binary.ColumnBinaryMakerConfig;
+import jp.co.yahoo.yosegi.binary.ColumnBinaryMakerCustomConfigNode;
+import jp.co.yahoo.yosegi.binary.CompressResultNode;
+import jp.co.yahoo.yosegi.binary.maker.index.RangeLongIndex;
+import jp.co.yahoo.yosegi.blockindex.BlockIndexNode;
+import jp.co.yahoo.yosegi.blockindex.BloomFilterBlockIndex;
+import jp.co.yahoo.yosegi.blockindex.LongRangeBlockIndex;
+import jp.co.yahoo.yosegi.compressor.CompressBuffer;
+import jp.co.yahoo.yosegi.compressor.CompressResult;
+import jp.co.yahoo.yosegi.compressor.ICompressor;
+import jp.co.yahoo.yosegi.inmemory.IMemoryAllocator;
+import jp.co.yahoo.yosegi.message.objects.PrimitiveObject;
+import jp.co.yahoo.yosegi.spread.analyzer.ByteColumnAnalizeResult;
+import jp.co.yahoo.yosegi.spread.analyzer.IColumnAnalizeResult;
+import jp.co.yahoo.yosegi.spread.analyzer.IntegerColumnAnalizeResult;
+import jp.co.yahoo.yosegi.spread.analyzer.LongColumnAnalizeResult;
+import jp.co.yahoo.yosegi.spread.analyzer.ShortColumnAnalizeResult;
+import jp.co.yahoo.yosegi.spread.column.ColumnType;
+import jp.co.yahoo.yosegi.spread.column.ICell;
+import jp.co.yahoo.yosegi.spread.column.IColumn;
+import jp.co.yahoo.yosegi.spread.column.PrimitiveCell;
+import jp.co.yahoo.yosegi.spread.column.PrimitiveColumn;
+import jp.co.yahoo.yosegi.util.ByteArrayData;
+import jp.co.yahoo.yosegi.util.DetermineMinMax;
+import jp.co.yahoo.yosegi.util.DetermineMinMaxFactory;
+import jp.co.yahoo.yosegi.util.io.bitpack.BitPackBlockEncoder;
+import jp.co.yahoo.yosegi.util.io.bitpack.BitPackUtils;
+import jp.co.yahoo.yosegi.util.io.diffencoder.NumEncoderUtil;
+import jp.co.yahoo.yosegi.util.io.nullencoder.NullBinaryEncoder;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Store the difference between consecutive non-null values, or the change of
+ * the difference, bit-packed as the offset from its minimum.
+ * Timestamps and sequential ids become a few bits per value.
+ */
+public class DeltaLongColumnBinaryMaker implements IColumnBinaryMaker {
+
+  public static final byte DELTA = (byte)0;
+  public static final byte DELTA_OF_DELTA = (byte)1;
+
+  private static final int BLOCK_SIZE = BitPackBlockEncoder.BLOCK_SIZE;
+
+  // Metadata layout
+  // ColumnStart, rowCount, nullIndexLength, (null index),
+  // encoding, firstValue, firstDelta, minResidual
+  private static final int META_LENGTH = Integer.BYTES * 3 + Byte.BYTES + Long.BYTES * 3;
+
+  /**
+   * Replace the values with the difference from the previous value.
+   * The first value is left as it is.
+   */
+  private static void toDelta( final long[] values , final int start , final int count ) {
+    for ( int i = start + count - 1 ; start < i ; i-- ) {
+      values[i] -= values[ i - 1 ];
+    }
+  }
+
+  /**
+   * Subtract the minimum and returns it.
+   */
+  private static long toResidual( final long[] values , final int start , final int count ) {
+    long min = Long.MAX_VALUE;
+    for ( int i = start ; i < start + count ; i++ ) {
+      min = Math.min( min , values[i] );
+    }
+    for ( int i = start ; i < start + count ; i++ ) {
+      values[i] -= min;
+    }
+    return min;
+  }
+
+  /**
+   * Decode the values with the prefix sum of the residuals.
+   */
+  private static long[] decode(
+      final byte[] binary , final int start , final int rowCount ) {
+    ByteBuffer wrapBuffer = ByteBuffer.wrap( binary , start , binary.length - start );
+    byte encoding = wrapBuffer.get();
+    long value = wrapBuffer.getLong();
+    long delta = wrapBuffer.getLong();
+    long minResidual = wrapBuffer.getLong();
+    int offset = start + Byte.BYTES + Long.BYTES * 3;
+
+    long[] result = new long[rowCount];
+    if ( rowCount == 0 ) {
+      return result;
+    }
+    result[0] = value;
+    int index = 1;
+    if ( encoding == DELTA_OF_DELTA && 1 < rowCount ) {
+      value += delta;
+      result[index++] = value;
+    }
+
+    long[] blockArray = new long[BLOCK_SIZE];
+    while ( index < rowCount ) {
+      int blockLength = Math.min( BLOCK_SIZE , rowCount - index );
+      offset = BitPackBlockEncoder.readBlock( binary , offset , blockLength , blockArray );
+      if ( encoding == DELTA_OF_DELTA ) {
+        for ( int i = 0 ; i < blockLength ; i++ ) {
+          delta += minResidual + blockArray[i];
+          value += delta;
+          result[index++] = value;
+        }
+      } else {
+        for ( int i = 0 ; i < blockLength ; i++ ) {
+          value += minResidual + blockArray[i];
+          result[index++] = value;
+        }
+      }
+    }
+    return result;
+  }
+
+  @Override
+  public ColumnBinary toBinary(
+      final ColumnBinaryMakerConfig commonConfig ,
+      final ColumnBinaryMakerCustomConfigNode currentConfigNode ,
+      final CompressResultNode compressResultNode ,
+      final IColumn column ) throws IOException {
+    ColumnBinaryMakerConfig currentConfig = commonConfig;
+    if ( currentConfigNode != null ) {
+      currentConfig = currentConfigNode.getCurrentConfig();
+    }
+    long[] longArray = new long[column.size()];
+    boolean[] isNullArray = new boolean[column.size()];
+
+    DetermineMinMax<Long> detemineMinMax = DetermineMinMaxFactory.createLong();
+    int rowCount = 0;
+    int nullCount = 0;
+    int nullMaxIndex = 0;
+    int notNullMaxIndex = 0;
+
+    int startIndex = 0;
+    for ( ; startIndex < column.size() ; startIndex++ ) {
+      ICell cell = column.get(startIndex);
+      if ( cell.getType() != ColumnType.NULL ) {
+        break;
+      }
+    }
+
+    for ( int i = startIndex,arrayIndex = 0 ; i < column.size() ; i++,arrayIndex++ ) {
+      ICell cell = column.get(i);
+      if ( cell.getType() == ColumnType.NULL ) {
+        nullCount++;
+        nullMaxIndex = arrayIndex;
+        isNullArray[arrayIndex] = true;
+        continue;
+      }
+      notNullMaxIndex = arrayIndex;
+      PrimitiveCell primitiveCell = (PrimitiveCell) cell;
+      PrimitiveObject primitiveObj = primitiveCell.getRow();
+      Long target = Long.valueOf( primitiveObj.getLong() );
+      detemineMinMax.set( target );
+      longArray[rowCount] = target.longValue();
+      rowCount++;
+    }
+
+    long min = detemineMinMax.getMin().longValue();
+    long max = detemineMinMax.getMax().longValue();
+    if ( nullCount == 0 && min == max && startIndex == 0 ) {
+      return ConstantColumnBinaryMaker.createColumnBinary(
+          OptimizedNullArrayDumpLongColumnBinaryMaker.createConstObjectFromNum(
+              column.getColumnType() , min ) ,
+          column.getColumnName() ,
+          column.size() );
+    }
+
+    final long firstValue = rowCount == 0 ? 0 : longArray[0];
+    toDelta( longArray , 0 , rowCount );
+    long[] deltaOfDeltaArray = null;
+    long firstDelta = 0;
+    long deltaOfDeltaMinResidual = 0;
+    int deltaOfDeltaLength = Integer.MAX_VALUE;
+    if ( 2 < rowCount ) {
+      deltaOfDeltaArray = new long[rowCount];
+      System.arraycopy( longArray , 1 , deltaOfDeltaArray , 1 , rowCount - 1 );
+      firstDelta = deltaOfDeltaArray[1];
+      toDelta( deltaOfDeltaArray , 1 , rowCount - 1 );
+      deltaOfDeltaMinResidual = toResidual( deltaOfDeltaArray , 2 , rowCount - 2 );
+      deltaOfDeltaLength =
+          BitPackBlockEncoder.calcBinarySize( deltaOfDeltaArray , 2 , rowCount - 2 );
+    }
+    int deltaCount = Math.max( rowCount - 1 , 0 );
+    long deltaMinResidual = toResidual( longArray , 1 , deltaCount );
+    int deltaLength = BitPackBlockEncoder.calcBinarySize( longArray , 1 , deltaCount );
+
+    byte encoding = DELTA;
+    long minResidual = deltaMinResidual;
+    long[] residualArray = longArray;
+    int residualStart = 1;
+    int valueLength = deltaLength;
+    if ( deltaOfDeltaLength < deltaLength ) {
+      encoding = DELTA_OF_DELTA;
+      minResidual = deltaOfDeltaMinResidual;
+      residualArray = deltaOfDeltaArray;
+      residualStart = 2;
+      valueLength = deltaOfDeltaLength;
+    } else {
+      firstDelta = 0;
+    }
+
+    int nullIndexLength = NullBinaryEncoder.getBinarySize(
+        nullCount , rowCount , nullMaxIndex , notNullMaxIndex );
+
+    byte[] binaryRaw = new byte[ META_LENGTH + nullIndexLength + valueLength ];
+
+    ByteBuffer wrapBuffer = ByteBuffer.wrap( binaryRaw );
+    wrapBuffer.putInt( startIndex );
+    wrapBuffer.putInt( rowCount );
+    wrapBuffer.putInt( nullIndexLength );
+    NullBinaryEncoder.toBinary(
+        binaryRaw ,
+        Integer.BYTES * 3 ,
+        nullIndexLength ,
+        isNullArray ,
+        nullCount ,
+        rowCount ,
+        nullMaxIndex ,
+        notNullMaxIndex );
+    wrapBuffer.position( Integer.BYTES * 3 + nullIndexLength );
+    wrapBuffer.put( encoding );
+    wrapBuffer.putLong( firstValue );
+    wrapBuffer.putLong( firstDelta );
+    wrapBuffer.putLong( minResidual );
+    BitPackBlockEncoder.toBinary(
+        residualArray ,
+        residualStart ,
+        Math.max( rowCount - residualStart , 0 ) ,
+        binaryRaw ,
+        META_LENGTH + nullIndexLength );
+
+    CompressResult compressResult = compressResultNode.getCompressResult(
+        this.getClass().getName() ,
+        "c0"  ,
+        currentConfig.compressionPolicy ,
+        currentConfig.allowedRatio );
+    byte[] binary = currentConfig.compressorClass.compressWithHeader(
+        binaryRaw , 0 , binaryRaw.length , Long.BYTES * 2 , compressResult );
+
+    wrapBuffer = ByteBuffer.wrap( binary , 0 , binary.length );
+    wrapBuffer.putLong( min );
+    wrapBuffer.putLong( max );
+
+    ColumnBinary result = new ColumnBinary(
+        this.getClass().getName() ,
+        currentConfig.compressorClass.getClass().getName() ,
+        column.getColumnName() ,
+        column.getColumnType() ,
+        column.size() ,
+        binaryRaw.length ,
+        NumEncoderUtil.getLogicalSize( rowCount , column.getColumnType() ) ,
+        -1 ,
+        binary ,
+        0 ,
+        binary.length ,
+        null );
+    result.nullCount = column.size() - rowCount;
+    return result;
+  }
+
+  private static int getBitWidth( final long min , final long max ) {
+    return BitPackUtils.getBitWidth( max - min );
+  }
+
+  @Override
+  public int calcBinarySize( final IColumnAnalizeResult analizeResult ) {
+    int startIndex = analizeResult.getRowStart();
+    int maxIndex = analizeResult.getRowEnd();
+    int nullCount = analizeResult.getNullCount() - startIndex;
+    int notNullCount = analizeResult.getRowCount();
+
+    int nullIndexLength =
+        NullBinaryEncoder.getBinarySize( nullCount , notNullCount , maxIndex , maxIndex );
+
+    int deltaCount = Math.max( notNullCount - 1 , 0 );
+    if ( analizeResult.getColumnType() == ColumnType.LONG ) {
+      LongColumnAnalizeResult longResult = (LongColumnAnalizeResult) analizeResult;
+      int deltaLength = BitPackBlockEncoder.calcBinarySize( deltaCount ,
+          getBitWidth( longResult.getMinDelta() , longResult.getMaxDelta() ) );
+      int deltaOfDeltaLength = BitPackBlockEncoder.calcBinarySize(
+          Math.max( notNullCount - 2 , 0 ) ,
+          getBitWidth( longResult.getMinDeltaOfDelta() , longResult.getMaxDeltaOfDelta() ) );
+      return META_LENGTH + nullIndexLength + Math.min( deltaLength , deltaOfDeltaLength );
+    }
+
+    long min;
+    long max;
+    switch ( analizeResult.getColumnType() ) {
+      case BYTE:
+        min = (long)( (ByteColumnAnalizeResult) analizeResult ).getMin();
+        max = (long)( (ByteColumnAnalizeResult) analizeResult ).getMax();
+        break;
+      case SHORT:
+        min = (long)( (ShortColumnAnalizeResult) analizeResult ).getMin();
+        max = (long)( (ShortColumnAnalizeResult) analizeResult ).getMax();
+        break;
+      case INTEGER:
+        min = (long)( (IntegerColumnAnalizeResult) analizeResult ).getMin();
+        max = (long)( (IntegerColumnAnalizeResult) analizeResult ).getMax();
+        break;
+      default:
+        min = Long.MIN_VALUE;
+        max = Long.MAX_VALUE;
+        break;
+    }
+    // The difference is within [min - max, max - min].
+    int bitWidth = max - min < 0 ? Long.SIZE : getBitWidth( min - max , max - min );
+    return META_LENGTH + nullIndexLength
+        + BitPackBlockEncoder.calcBinarySize( deltaCount , bitWidth );
+  }
+
+  @Override
+  public IColumn toColumn( final ColumnBinary columnBinary ) throws IOException {
+    ByteBuffer wrapBuffer = ByteBuffer.wrap(
+        columnBinary.binary , columnBinary.binaryStart , columnBinary.binaryLength );
+    Long min = Long.valueOf( wrapBuffer.getLong() );
+    Long max = Long.valueOf( wrapBuffer.getLong() );
+
+    return new HeaderIndexLazyColumn(
+      columnBinary.columnName ,
+      columnBinary.columnType ,
+      new ColumnManager( columnBinary ) ,
+      new RangeLongIndex( min , max )
+    );
+  }
+
+  private static byte[] decompress( final ColumnBinary columnBinary ) throws IOException {
+    int start = columnBinary.binaryStart + ( Long.BYTES * 2 );
+    int length = columnBinary.binaryLength - ( Long.BYTES * 2 );
+
+    ICompressor compressor = columnBinary.getCompressor();
+    return compressor.decompress( columnBinary.binary , start , length );
+  }
+
+  private static int decompress(
+      final ColumnBinary columnBinary , final ByteArrayData buffer ) throws IOException {
+    int start = columnBinary.binaryStart + ( Long.BYTES * 2 );
+    int length = columnBinary.binaryLength - ( Long.BYTES * 2 );
+
+    ICompressor compressor = columnBinary.getCompressor();
+    return compressor.decompressAndSet(
+        ByteBuffer.wrap( columnBinary.binary , start , length ) , buffer );
+  }
+
+  @Override
+  public void loadInMemoryStorage(
+      final ColumnBinary columnBinary ,
+      final IMemoryAllocator allocator ) throws IOException {
+    ByteArrayData buffer = CompressBuffer.acquire();
+    try {
+      int binaryLength = decompress( columnBinary , buffer );
+      byte[] binary = buffer.getBytes();
+      ByteBuffer wrapBuffer = ByteBuffer.wrap( binary , 0 , binaryLength );
+      int startIndex = wrapBuffer.getInt();
+      int rowCount = wrapBuffer.getInt();
+      int nullIndexLength = wrapBuffer.getInt();
+
+      boolean[] isNullArray =
+          NullBinaryEncoder.toIsNullArray( binary , Integer.BYTES * 3 , nullIndexLength );
+      long[] valueArray = decode( binary , Integer.BYTES * 3 + nullIndexLength , rowCount );
+
+      allocator.setValueCount( startIndex + isNullArray.length );
+
+      for ( int index = 0 ; index < startIndex ; index++ ) {
+        allocator.setNull( index );
+      }
+      int valueIndex = 0;
+      for ( int i = 0 ; i < isNullArray.length ; i++ ) {
+        if ( isNullArray[i] ) {
+          allocator.setNull( i + startIndex );
+          continue;
+        }
+        long value = valueArray[valueIndex++];
+        switch ( columnBinary.columnType ) {
+          case BYTE:
+            allocator.setByte( i + startIndex , (byte)value );
+            break;
+          case SHORT:
+            allocator.setShort( i + startIndex , (short)value );
+            break;
+          case INTEGER:
+            allocator.setInteger( i + startIndex , (int)value );
+            break;
+          default:
+            allocator.setLong( i + startIndex , value );
+            break;
+        }
+      }
+    } finally {
+      CompressBuffer.release( buffer );
+    }
+  }
+
+  @Override
+  public void setBlockIndexNode(
+      final BlockIndexNode parentNode ,
+      final ColumnBinary columnBinary ,
+      final int spreadIndex ) throws IOException {
+    ByteBuffer wrapBuffer = ByteBuffer.wrap(
+        columnBinary.binary , columnBinary.binaryStart , columnBinary.binaryLength );
+    Long min = Long.valueOf( wrapBuffer.getLong() );
+    Long max = Long.valueOf( wrapBuffer.getLong() );
+    BlockIndexNode currentNode = parentNode.getChildNode( columnBinary.columnName );
+    setRangeBlockIndex( currentNode , new LongRangeBlockIndex( min , max ) ,
+        BloomFilterBlockIndex.NUMBER_VALUE , columnBinary , spreadIndex );
+  }
+
+  public class ColumnManager implements IColumnManager {
+
+    private final ColumnBinary columnBinary;
+
+    private PrimitiveColumn column;
+    private boolean isCreate;
+
+    /**
+     * initialize.
+     */
+    public ColumnManager( final ColumnBinary columnBinary ) {
+      this.columnBinary = columnBinary;
+    }
+
+    private void create() throws IOException {
+      if ( isCreate ) {
+        return;
+      }
+      byte[] binary = decompress( columnBinary );
+      ByteBuffer wrapBuffer = ByteBuffer.wrap( binary , 0 , binary.length );
+      final int startIndex = wrapBuffer.getInt();
+      int rowCount = wrapBuffer.getInt();
+      int nullIndexLength = wrapBuffer.getInt();
+
+      boolean[] isNullArray =
+          NullBinaryEncoder.toIsNullArray( binary , Integer.BYTES * 3 , nullIndexLength );
+      long[] longArray = decode( binary , Integer.BYTES * 3 + nullIndexLength , rowCount );
+
+      PrimitiveObject[] valueArray = new PrimitiveObject[isNullArray.length];
+      int valueIndex = 0;
+      for ( int i = 0 ; i < isNullArray.length ; i++ ) {
+        if ( ! isNullArray[i] ) {
+          valueArray[i] = OptimizedNullArrayDumpLongColumnBinaryMaker.createConstObjectFromNum(
+              columnBinary.columnType , longArray[valueIndex++] );
+        }
+      }
+
+      column = new PrimitiveColumn( columnBinary.columnType , columnBinary.columnName );
+      column.setCellManager( new OptimizedNullArrayCellManager(
+          columnBinary.columnType , startIndex , valueArray ) );
+
+      isCreate = true;
+    }
+
+    @Override
+    public IColumn get() {
+      if ( ! isCreate ) {
+        try {
+          create();
+        } catch ( IOException ex ) {
+          throw new UncheckedIOException( ex );
+        }
+      }
+      return column;
+    }
+
+    @Override
+    public List<String> getColumnKeys() {
+      return new ArrayList<String>();
+    }
+
+    @Override
+    public int getColumnSize() {
+      return 0;
+    }
+
+  }
+
+}
@@ -24,9 +24,9 @@ import jp.co.yahoo.yosegi.binary.ColumnBinaryMakerCustomConfigNode;
 import jp.co.yahoo.yosegi.binary.CompressResultNode;
 import jp.co.yahoo.yosegi.binary.maker.index.RangeStringIndex;
 import jp.co.yahoo.yosegi.blockindex.BlockIndexNode;
+import jp.co.yahoo.yosegi.blockindex.BloomFilterBlockIndex;
 import jp.co.yahoo.yosegi.blockindex.StringRangeBlockIndex;
 import jp.co.yahoo.yosegi.compressor.CompressResult;
-import jp.co.yahoo.yosegi.compressor.FindCompressor;
 import jp.co.yahoo.yosegi.compressor.ICompressor;
 import jp.co.yahoo.yosegi.inmemory.IDictionary;
 import jp.co.yahoo.yosegi.inmemory.IMemoryAllocator;
@@ -260,14 +260,12 @@ public class DictionaryRleStringColumnBinaryMaker implements IColumnBinaryMaker
         "c0"  ,
         currentConfig.compressionPolicy ,
         currentConfig.allowedRatio );
-    byte[] compressBinaryRaw = currentConfig.compressorClass.compress(
-        binaryRaw , 0 , binaryRaw.length , compressResult );
-
     int minCharLength = Character.BYTES * detemineMinMax.getMin().length();
     int maxCharLength = Character.BYTES * detemineMinMax.getMax().length();
     int headerSize = Integer.BYTES + minCharLength + Integer.BYTES + maxCharLength;
 
-    byte[] binary = new byte[headerSize + compressBinaryRaw.length];
+    byte[] binary = currentConfig.compressorClass.compressWithHeader(
+        binaryRaw , 0 , binaryRaw.length , headerSize , compressResult );
     ByteBuffer binaryWrapBuffer = ByteBuffer.wrap( binary );
     binaryWrapBuffer.putInt( minCharLength );
     binaryWrapBuffer.asCharBuffer().put( detemineMinMax.getMin() );
@@ -275,9 +273,8 @@ public class DictionaryRleStringColumnBinaryMaker implements IColumnBinaryMaker
     binaryWrapBuffer.putInt( maxCharLength );
     binaryWrapBuffer.asCharBuffer().put( detemineMinMax.getMax() );
     binaryWrapBuffer.position( binaryWrapBuffer.position() + maxCharLength );
-    binaryWrapBuffer.put( compressBinaryRaw );
 
-    return new ColumnBinary(
+    ColumnBinary result = new ColumnBinary(
         this.getClass().getName() ,
         currentConfig.compressorClass.getClass().getName() ,
         column.getColumnName() ,
@@ -290,6 +287,8 @@ public class DictionaryRleStringColumnBinaryMaker implements IColumnBinaryMaker
         0 ,
         binary.length ,
         null );
+    result.nullCount = column.size() - rowCount;
+    return result;
   }
 
   @Override
@@ -377,7 +376,7 @@ public class DictionaryRleStringColumnBinaryMaker implements IColumnBinaryMaker
     headerWrapBuffer.position( headerWrapBuffer.position() + maxCharLength );
     int headerSize = Integer.BYTES + minCharLength + Integer.BYTES + maxCharLength;
 
-    ICompressor compressor = FindCompressor.get( columnBinary.compressorClassName );
+    ICompressor compressor = columnBinary.getCompressor();
     byte[] binary = compressor.decompress(
         columnBinary.binary ,
         columnBinary.binaryStart + headerSize ,
@@ -479,7 +478,8 @@ public class DictionaryRleStringColumnBinaryMaker implements IColumnBinaryMaker
     String max = new String( maxCharArray );
 
     BlockIndexNode currentNode = parentNode.getChildNode( columnBinary.columnName );
-    currentNode.setBlockIndex( new StringRangeBlockIndex( min , max ) );
+    setRangeBlockIndex( currentNode , new StringRangeBlockIndex( min , max ) ,
+        BloomFilterBlockIndex.STRING_VALUE , columnBinary , spreadIndex );
   }
 
   public class StringColumnManager implements IColumnManager {
@@ -506,7 +506,7 @@ public class DictionaryRleStringColumnBinaryMaker implements IColumnBinaryMaker
       if ( isCreate ) {
         return;
       }
-      ICompressor compressor = FindCompressor.get( columnBinary.compressorClassName );
+      ICompressor compressor = columnBinary.getCompressor();
       byte[] binary = compressor.decompress( columnBinary.binary , binaryStart , binaryLength );
       ByteBuffer wrapBuffer = ByteBuffer.wrap( binary , 0 , binary.length );
       wrapBuffer.get();
@@ -0,0 +1,69 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.co.yahoo.yosegi.binary.maker;
+
+import jp.co.yahoo.yosegi.message.objects.DoubleObj;
+import jp.co.yahoo.yosegi.message.objects.PrimitiveObject;
+
+import java.io.IOException;
+
+/**
+ * Dictionary of double values held as a primitive array.
+ * Index 0 is reserved for null.
+ * PrimitiveObject is created only when it is requested by get().
+ */
+public class DoubleDicManager implements IDicManager {
+
+  private final double[] dicArray;
+  private PrimitiveObject[] objectArray;
+
+  public DoubleDicManager( final double[] dicArray ) {
+    this.dicArray = dicArray;
+  }
+
+  @Override
+  public PrimitiveObject get( final int index ) throws IOException {
+    if ( index == 0 ) {
+      return null;
+    }
+    if ( objectArray == null ) {
+      objectArray = new PrimitiveObject[dicArray.length];
+    }
+    if ( objectArray[index] == null ) {
+      objectArray[index] = new DoubleObj( dicArray[index] );
+    }
+    return objectArray[index];
+  }
+
+  @Override
+  public int getDicSize() throws IOException {
+    return dicArray.length;
+  }
+
+  @Override
+  public boolean isNull( final int index ) throws IOException {
+    return index == 0;
+  }
+
+  @Override
+  public double getDouble( final int index ) throws IOException {
+    return dicArray[index];
+  }
+
+}
@@ -25,7 +25,6 @@ import jp.co.yahoo.yosegi.binary.CompressResultNode;
 import jp.co.yahoo.yosegi.binary.FindColumnBinaryMaker;
 import jp.co.yahoo.yosegi.blockindex.BlockIndexNode;
 import jp.co.yahoo.yosegi.compressor.CompressResult;
-import jp.co.yahoo.yosegi.compressor.FindCompressor;
 import jp.co.yahoo.yosegi.compressor.ICompressor;
 import jp.co.yahoo.yosegi.inmemory.IMemoryAllocator;
 import jp.co.yahoo.yosegi.message.objects.PrimitiveObject;
@@ -139,7 +138,7 @@ public class DumpArrayColumnBinaryMaker implements IColumnBinaryMaker {
       maker.loadInMemoryStorage( childColumnBinary , childMemoryAllocator );
     }
 
-    ICompressor compressor = FindCompressor.get( columnBinary.compressorClassName );
+    ICompressor compressor = columnBinary.getCompressor();
     byte[] decompressBuffer = compressor.decompress(
         columnBinary.binary , columnBinary.binaryStart , columnBinary.binaryLength );
 
@@ -272,7 +271,7 @@ public class DumpArrayColumnBinaryMaker implements IColumnBinaryMaker {
       }
       spread.setRowCount( columnBinary.rowCount );
 
-      ICompressor compressor = FindCompressor.get( columnBinary.compressorClassName );
+      ICompressor compressor = columnBinary.getCompressor();
       byte[] decompressBuffer = compressor.decompress(
           columnBinary.binary , columnBinary.binaryStart , columnBinary.binaryLength );
 
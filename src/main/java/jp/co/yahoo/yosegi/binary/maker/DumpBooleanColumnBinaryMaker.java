@@ -25,7 +25,6 @@ import jp.co.yahoo.yosegi.binary.CompressResultNode;
 import jp.co.yahoo.yosegi.binary.maker.index.SequentialBooleanCellIndex;
 import jp.co.yahoo.yosegi.blockindex.BlockIndexNode;
 import jp.co.yahoo.yosegi.compressor.CompressResult;
-import jp.co.yahoo.yosegi.compressor.FindCompressor;
 import jp.co.yahoo.yosegi.compressor.ICompressor;
 import jp.co.yahoo.yosegi.constants.PrimitiveByteLength;
 import jp.co.yahoo.yosegi.inmemory.IMemoryAllocator;
@@ -120,7 +119,7 @@ public class DumpBooleanColumnBinaryMaker implements IColumnBinaryMaker {
   public void loadInMemoryStorage(
       final ColumnBinary columnBinary ,
       final IMemoryAllocator allocator ) throws IOException {
-    ICompressor compressor = FindCompressor.get( columnBinary.compressorClassName );
+    ICompressor compressor = columnBinary.getCompressor();
     byte[] binary = compressor.decompress(
         columnBinary.binary , columnBinary.binaryStart , columnBinary.binaryLength );
     for ( int i = 0 ; i < binary.length ; i++ ) {
@@ -281,7 +280,7 @@ public class DumpBooleanColumnBinaryMaker implements IColumnBinaryMaker {
         return;
       }
 
-      ICompressor compressor = FindCompressor.get( columnBinary.compressorClassName );
+      ICompressor compressor = columnBinary.getCompressor();
       byte[] binary = compressor.decompress(
           columnBinary.binary , columnBinary.binaryStart , columnBinary.binaryLength );
 
@@ -24,7 +24,6 @@ import jp.co.yahoo.yosegi.binary.ColumnBinaryMakerCustomConfigNode;
 import jp.co.yahoo.yosegi.binary.CompressResultNode;
 import jp.co.yahoo.yosegi.blockindex.BlockIndexNode;
 import jp.co.yahoo.yosegi.compressor.CompressResult;
-import jp.co.yahoo.yosegi.compressor.FindCompressor;
 import jp.co.yahoo.yosegi.compressor.ICompressor;
 import jp.co.yahoo.yosegi.inmemory.IMemoryAllocator;
 import jp.co.yahoo.yosegi.message.objects.PrimitiveObject;
@@ -158,7 +157,7 @@ public class DumpBytesColumnBinaryMaker implements IColumnBinaryMaker {
       final int start ,
       final int length ,
       final IMemoryAllocator allocator ) throws IOException {
-    ICompressor compressor = FindCompressor.get( columnBinary.compressorClassName );
+    ICompressor compressor = columnBinary.getCompressor();
     byte[] binary = compressor.decompress( columnBinary.binary , start , length );
     ByteBuffer wrapBuffer = ByteBuffer.wrap( binary );
     int indexListSize = wrapBuffer.getInt();
@@ -244,7 +243,7 @@ public class DumpBytesColumnBinaryMaker implements IColumnBinaryMaker {
       if ( isCreate ) {
         return;
       }
-      ICompressor compressor = FindCompressor.get( columnBinary.compressorClassName );
+      ICompressor compressor = columnBinary.getCompressor();
       byte[] binary = compressor.decompress( columnBinary.binary , binaryStart , binaryLength );
       ByteBuffer wrapBuffer = ByteBuffer.wrap( binary );
       int indexListSize = wrapBuffer.getInt();
@@ -25,7 +25,6 @@ import jp.co.yahoo.yosegi.binary.CompressResultNode;
 import jp.co.yahoo.yosegi.binary.FindColumnBinaryMaker;
 import jp.co.yahoo.yosegi.blockindex.BlockIndexNode;
 import jp.co.yahoo.yosegi.compressor.CompressResult;
-import jp.co.yahoo.yosegi.compressor.FindCompressor;
 import jp.co.yahoo.yosegi.compressor.ICompressor;
 import jp.co.yahoo.yosegi.inmemory.IMemoryAllocator;
 import jp.co.yahoo.yosegi.spread.analyzer.IColumnAnalizeResult;
@@ -248,7 +247,7 @@ public class DumpUnionColumnBinaryMaker implements IColumnBinaryMaker {
       }
 
 
-      ICompressor compressor = FindCompressor.get( columnBinary.compressorClassName );
+      ICompressor compressor = columnBinary.getCompressor();
       byte[] cellBinary = compressor.decompress(
           columnBinary.binary , columnBinary.binaryStart , columnBinary.binaryLength );
       ByteBuffer wrapBuffer = ByteBuffer.wrap( cellBinary );
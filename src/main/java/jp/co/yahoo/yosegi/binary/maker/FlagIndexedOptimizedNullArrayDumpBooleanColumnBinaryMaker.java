@@ -23,7 +23,6 @@ import jp.co.yahoo.yosegi.binary.maker.index.FlagBooleanIndex;
 import jp.co.yahoo.yosegi.blockindex.BlockIndexNode;
 import jp.co.yahoo.yosegi.blockindex.BooleanBlockIndex;
 import jp.co.yahoo.yosegi.compressor.CompressResult;
-import jp.co.yahoo.yosegi.compressor.FindCompressor;
 import jp.co.yahoo.yosegi.compressor.ICompressor;
 import jp.co.yahoo.yosegi.inmemory.IMemoryAllocator;
 import jp.co.yahoo.yosegi.message.objects.BooleanObj;
@@ -55,7 +54,7 @@ public class FlagIndexedOptimizedNullArrayDumpBooleanColumnBinaryMaker
   private static byte[] decompressBinary(final ColumnBinary columnBinary) throws IOException {
     int start = columnBinary.binaryStart + BooleanBlockIndex.BitFlags.LENGTH;
     int length = columnBinary.binaryLength - BooleanBlockIndex.BitFlags.LENGTH;
-    ICompressor compressor = FindCompressor.get(columnBinary.compressorClassName);
+    ICompressor compressor = columnBinary.getCompressor();
     return compressor.decompress(columnBinary.binary, start, length);
   }
 
@@ -0,0 +1,376 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.co.yahoo.yosegi.binary.maker;
+
+import jp.co.yahoo.yosegi.binary.ColumnBinary;
+import jp.co.yahoo.yosegi.binary.ColumnBinaryMakerConfig;
+import jp.co.yahoo.yosegi.binary.ColumnBinaryMakerCustomConfigNode;
+import jp.co.yahoo.yosegi.binary.CompressResultNode;
+import jp.co.yahoo.yosegi.binary.maker.index.FsstStringCellIndex;
+import jp.co.yahoo.yosegi.binary.maker.index.RangeStringIndex;
+import jp.co.yahoo.yosegi.blockindex.BlockIndexNode;
+import jp.co.yahoo.yosegi.blockindex.BloomFilterBlockIndex;
+import jp.co.yahoo.yosegi.blockindex.StringRangeBlockIndex;
+import jp.co.yahoo.yosegi.compressor.CompressResult;
+import jp.co.yahoo.yosegi.compressor.ICompressor;
+import jp.co.yahoo.yosegi.inmemory.IMemoryAllocator;
+import jp.co.yahoo.yosegi.message.objects.PrimitiveObject;
+import jp.co.yahoo.yosegi.message.objects.StringObj;
+import jp.co.yahoo.yosegi.message.objects.Utf8BytesLinkObj;
+import jp.co.yahoo.yosegi.spread.analyzer.IColumnAnalizeResult;
+import jp.co.yahoo.yosegi.spread.analyzer.StringColumnAnalizeResult;
+import jp.co.yahoo.yosegi.spread.column.ColumnType;
+import jp.co.yahoo.yosegi.spread.column.ICell;
+import jp.co.yahoo.yosegi.spread.column.IColumn;
+import jp.co.yahoo.yosegi.spread.column.PrimitiveCell;
+import jp.co.yahoo.yosegi.spread.column.PrimitiveColumn;
+import jp.co.yahoo.yosegi.util.io.fsst.FsstStringDictionary;
+import jp.co.yahoo.yosegi.util.io.fsst.FsstSymbolTable;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Store the dictionary of strings encoded with FSST, and the dictionary index of each row.
+ * The dictionary is not compressed again, so a string is decoded without
+ * decompressing the others, and perfect and forward match are evaluated on the
+ * encoded strings. Only the dictionary index is compressed by the compressor.
+ */
+public class FsstStringColumnBinaryMaker implements IColumnBinaryMaker {
+
+  // Index layout
+  // byteOrder, dictionary index
+  private static final int INDEX_META_LENGTH = Byte.BYTES;
+
+  @Override
+  public ColumnBinary toBinary(
+      final ColumnBinaryMakerConfig commonConfig ,
+      final ColumnBinaryMakerCustomConfigNode currentConfigNode ,
+      final CompressResultNode compressResultNode ,
+      final IColumn column ) throws IOException {
+    if ( column.size() == 0 ) {
+      return new UnsupportedColumnBinaryMaker()
+          .toBinary( commonConfig , currentConfigNode , compressResultNode , column );
+    }
+
+    ColumnBinaryMakerConfig currentConfig = commonConfig;
+    if ( currentConfigNode != null ) {
+      currentConfig = currentConfigNode.getCurrentConfig();
+    }
+
+    Map<String,Integer> dicMap = new HashMap<String,Integer>();
+    int[] indexArray = new int[ column.size() ];
+    List<byte[]> stringList = new ArrayList<byte[]>();
+    dicMap.put( null , 0 );
+    stringList.add( new byte[0] );
+
+    int logicalDataLength = 0;
+    boolean hasNull = false;
+    String min = null;
+    String max = "";
+    for ( int i = 0 ; i < column.size() ; i++ ) {
+      ICell cell = column.get(i);
+      if ( cell.getType() == ColumnType.NULL ) {
+        indexArray[i] = 0;
+        hasNull = true;
+        continue;
+      }
+      PrimitiveCell byteCell = (PrimitiveCell) cell;
+      String strObj = byteCell.getRow().getString();
+      if ( strObj == null ) {
+        indexArray[i] = 0;
+        hasNull = true;
+        continue;
+      }
+      if ( ! dicMap.containsKey( strObj ) ) {
+        dicMap.put( strObj , stringList.size() );
+        stringList.add( byteCell.getRow().getBytes() );
+        if ( max.compareTo( strObj ) < 0 ) {
+          max = strObj;
+        }
+        if ( min == null || 0 < min.compareTo( strObj ) ) {
+          min = strObj;
+        }
+      }
+      int dicIndex = dicMap.get( strObj );
+      indexArray[i] = dicIndex;
+      logicalDataLength += Integer.BYTES + stringList.get( dicIndex ).length;
+    }
+
+    if ( ! hasNull && min.equals( max ) ) {
+      return ConstantColumnBinaryMaker.createColumnBinary(
+          new StringObj( min ) , column.getColumnName() , column.size() );
+    }
+    if ( min == null ) {
+      min = "";
+    }
+
+    byte[] dictionaryBinary = FsstStringDictionary.toBinary( stringList );
+
+    UnsafeOptimizeStringColumnBinaryMaker.IDictionaryIndexMaker indexMaker =
+        UnsafeOptimizeStringColumnBinaryMaker.chooseDictionaryIndexMaker( indexArray.length );
+    int indexBinaryLength = indexMaker.calcBinarySize( indexArray.length );
+    ByteOrder order = ByteOrder.nativeOrder();
+    byte[] indexBinaryRaw = new byte[ INDEX_META_LENGTH + indexBinaryLength ];
+    indexBinaryRaw[0] = order == ByteOrder.BIG_ENDIAN ? (byte)0 : (byte)1;
+    indexMaker.create(
+        indexArray , indexBinaryRaw , INDEX_META_LENGTH , indexBinaryLength , order );
+
+    CompressResult compressResult = compressResultNode.getCompressResult(
+        this.getClass().getName() ,
+        "c0"  ,
+        currentConfig.compressionPolicy ,
+        currentConfig.allowedRatio );
+    byte[] compressIndexBinary = currentConfig.compressorClass.compress(
+        indexBinaryRaw , 0 , indexBinaryRaw.length , compressResult );
+
+    int minCharLength = Character.BYTES * min.length();
+    int maxCharLength = Character.BYTES * max.length();
+    int headerSize = Integer.BYTES + minCharLength + Integer.BYTES + maxCharLength;
+
+    byte[] binary = new byte[ headerSize + Integer.BYTES + dictionaryBinary.length
+        + compressIndexBinary.length ];
+    ByteBuffer binaryWrapBuffer = ByteBuffer.wrap( binary );
+    binaryWrapBuffer.putInt( minCharLength );
+    binaryWrapBuffer.asCharBuffer().put( min );
+    binaryWrapBuffer.position( binaryWrapBuffer.position() + minCharLength );
+    binaryWrapBuffer.putInt( maxCharLength );
+    binaryWrapBuffer.asCharBuffer().put( max );
+    binaryWrapBuffer.position( binaryWrapBuffer.position() + maxCharLength );
+    binaryWrapBuffer.putInt( dictionaryBinary.length );
+    binaryWrapBuffer.put( dictionaryBinary );
+    binaryWrapBuffer.put( compressIndexBinary );
+    return new ColumnBinary(
+        this.getClass().getName() ,
+        currentConfig.compressorClass.getClass().getName() ,
+        column.getColumnName() ,
+        ColumnType.STRING ,
+        column.size() ,
+        dictionaryBinary.length + indexBinaryRaw.length ,
+        logicalDataLength ,
+        stringList.size() ,
+        binary ,
+        0 ,
+        binary.length ,
+        null );
+  }
+
+  @Override
+  public int calcBinarySize( final IColumnAnalizeResult analizeResult ) {
+    StringColumnAnalizeResult stringAnalizeResult = (StringColumnAnalizeResult)analizeResult;
+    boolean hasNull = analizeResult.getNullCount() != 0;
+    if ( ! hasNull && analizeResult.getUniqCount() == 1 ) {
+      return stringAnalizeResult.getUniqUtf8ByteSize();
+    }
+    UnsafeOptimizeStringColumnBinaryMaker.IDictionaryIndexMaker indexMaker =
+        UnsafeOptimizeStringColumnBinaryMaker.chooseDictionaryIndexMaker(
+            stringAnalizeResult.getColumnSize() );
+    int indexBinaryLength = indexMaker.calcBinarySize( stringAnalizeResult.getColumnSize() );
+    // The ratio of FSST is unknown until the table is trained,
+    // so the largest symbol table and the raw strings are assumed.
+    int tableLength = Byte.BYTES
+        + FsstSymbolTable.MAX_SYMBOL_COUNT * ( Byte.BYTES + FsstSymbolTable.MAX_SYMBOL_LENGTH );
+    int offsetLength = Integer.BYTES * ( stringAnalizeResult.getUniqCount() + 3 );
+
+    return INDEX_META_LENGTH
+        + indexBinaryLength
+        + tableLength
+        + offsetLength
+        + stringAnalizeResult.getUniqUtf8ByteSize();
+  }
+
+  /**
+   * Parsed layout of the binary.
+   */
+  private static class BinaryLayout {
+
+    private final String min;
+    private final String max;
+    private final FsstStringDictionary dictionary;
+    private final int indexStart;
+    private final int indexLength;
+
+    private BinaryLayout( final ColumnBinary columnBinary ) {
+      ByteBuffer wrapBuffer = ByteBuffer.wrap(
+          columnBinary.binary , columnBinary.binaryStart , columnBinary.binaryLength );
+      int minLength = wrapBuffer.getInt();
+      char[] minCharArray = new char[minLength / Character.BYTES];
+      wrapBuffer.asCharBuffer().get( minCharArray );
+      wrapBuffer.position( wrapBuffer.position() + minLength );
+
+      int maxLength = wrapBuffer.getInt();
+      char[] maxCharArray = new char[maxLength / Character.BYTES];
+      wrapBuffer.asCharBuffer().get( maxCharArray );
+      wrapBuffer.position( wrapBuffer.position() + maxLength );
+
+      min = new String( minCharArray );
+      max = new String( maxCharArray );
+
+      int dictionaryLength = wrapBuffer.getInt();
+      dictionary = new FsstStringDictionary( columnBinary.binary , wrapBuffer.position() );
+      indexStart = wrapBuffer.position() + dictionaryLength;
+      indexLength = columnBinary.binaryStart + columnBinary.binaryLength - indexStart;
+    }
+
+    private IntBuffer getIndexIntBuffer( final ColumnBinary columnBinary ) throws IOException {
+      ICompressor compressor = columnBinary.getCompressor();
+      byte[] binary = compressor.decompress( columnBinary.binary , indexStart , indexLength );
+      ByteOrder order = binary[0] == (byte)0 ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN;
+      UnsafeOptimizeStringColumnBinaryMaker.IDictionaryIndexMaker indexMaker =
+          UnsafeOptimizeStringColumnBinaryMaker.chooseDictionaryIndexMaker( columnBinary.rowCount );
+      return indexMaker.getIndexIntBuffer(
+          columnBinary.rowCount ,
+          binary ,
+          INDEX_META_LENGTH ,
+          binary.length - INDEX_META_LENGTH ,
+          order );
+    }
+
+  }
+
+  @Override
+  public IColumn toColumn( final ColumnBinary columnBinary ) throws IOException {
+    BinaryLayout layout = new BinaryLayout( columnBinary );
+    return new HeaderIndexLazyColumn(
+        columnBinary.columnName ,
+        columnBinary.columnType ,
+        new StringColumnManager( columnBinary , layout ) ,
+        new RangeStringIndex( layout.min , layout.max ) );
+  }
+
+  @Override
+  public void loadInMemoryStorage(
+      final ColumnBinary columnBinary , final IMemoryAllocator allocator ) throws IOException {
+    BinaryLayout layout = new BinaryLayout( columnBinary );
+    IntBuffer indexBuffer = layout.getIndexIntBuffer( columnBinary );
+    byte[][] decodedArray = new byte[ layout.dictionary.size() ][];
+    for ( int i = 0 ; i < columnBinary.rowCount ; i++ ) {
+      int index = indexBuffer.get();
+      if ( index == 0 ) {
+        allocator.setNull( i );
+        continue;
+      }
+      if ( decodedArray[index] == null ) {
+        decodedArray[index] = layout.dictionary.get( index );
+      }
+      allocator.setBytes( i , decodedArray[index] , 0 , decodedArray[index].length );
+    }
+    allocator.setValueCount( columnBinary.rowCount );
+  }
+
+  @Override
+  public void setBlockIndexNode(
+      final BlockIndexNode parentNode ,
+      final ColumnBinary columnBinary ,
+      final int spreadIndex ) throws IOException {
+    BinaryLayout layout = new BinaryLayout( columnBinary );
+    BlockIndexNode currentNode = parentNode.getChildNode( columnBinary.columnName );
+    setRangeBlockIndex( currentNode , new StringRangeBlockIndex( layout.min , layout.max ) ,
+        BloomFilterBlockIndex.STRING_VALUE , columnBinary , spreadIndex );
+  }
+
+  /**
+   * Decode a string of the dictionary when it is first accessed.
+   */
+  public static class FsstStringDicManager implements IDicManager {
+
+    private final FsstStringDictionary dictionary;
+    private final PrimitiveObject[] dicArray;
+
+    public FsstStringDicManager( final FsstStringDictionary dictionary ) {
+      this.dictionary = dictionary;
+      dicArray = new PrimitiveObject[ dictionary.size() ];
+    }
+
+    @Override
+    public PrimitiveObject get( final int index ) throws IOException {
+      if ( index == 0 ) {
+        return null;
+      }
+      if ( dicArray[index] == null ) {
+        byte[] value = dictionary.get( index );
+        dicArray[index] = new Utf8BytesLinkObj( value , 0 , value.length );
+      }
+      return dicArray[index];
+    }
+
+    @Override
+    public int getDicSize() throws IOException {
+      return dicArray.length;
+    }
+
+  }
+
+  public class StringColumnManager implements IColumnManager {
+
+    private final ColumnBinary columnBinary;
+    private final BinaryLayout layout;
+    private PrimitiveColumn column;
+    private boolean isCreate;
+
+    private StringColumnManager( final ColumnBinary columnBinary , final BinaryLayout layout ) {
+      this.columnBinary = columnBinary;
+      this.layout = layout;
+    }
+
+    private void create() throws IOException {
+      if ( isCreate ) {
+        return;
+      }
+      IntBuffer indexBuffer = layout.getIndexIntBuffer( columnBinary );
+      IDicManager dicManager = new FsstStringDicManager( layout.dictionary );
+
+      column = new PrimitiveColumn( columnBinary.columnType , columnBinary.columnName );
+      column.setCellManager( new BufferDirectDictionaryLinkCellManager(
+          columnBinary.columnType , dicManager , indexBuffer ) );
+      column.setIndex( new FsstStringCellIndex( layout.dictionary , dicManager , indexBuffer ) );
+
+      isCreate = true;
+    }
+
+    @Override
+    public IColumn get() {
+      try {
+        create();
+      } catch ( IOException ex ) {
+        throw new UncheckedIOException( ex );
+      }
+      return column;
+    }
+
+    @Override
+    public List<String> getColumnKeys() {
+      return new ArrayList<String>();
+    }
+
+    @Override
+    public int getColumnSize() {
+      return 0;
+    }
+
+  }
+
+}
@@ -21,6 +21,7 @@ package jp.co.yahoo.yosegi.binary.maker;
 import jp.co.yahoo.yosegi.spread.column.ColumnType;
 import jp.co.yahoo.yosegi.spread.column.filter.IFilter;
 import jp.co.yahoo.yosegi.spread.column.index.ICellIndex;
+import jp.co.yahoo.yosegi.spread.expression.SelectionBitmap;
 
 import java.io.IOException;
 
@@ -47,4 +48,14 @@ public class HeaderIndexLazyColumn extends LazyColumn {
     return super.filter( filter , filterArray );
   }
 
+  @Override
+  public SelectionBitmap filterBitmap(
+      final IFilter filter , final int size ) throws IOException {
+    SelectionBitmap result = rangeIndex.filterBitmap( filter , size );
+    if ( result != null ) {
+      return result;
+    }
+    return super.filterBitmap( filter , size );
+  }
+
 }
@@ -23,6 +23,10 @@ import jp.co.yahoo.yosegi.binary.ColumnBinaryMakerConfig;
 import jp.co.yahoo.yosegi.binary.ColumnBinaryMakerCustomConfigNode;
 import jp.co.yahoo.yosegi.binary.CompressResultNode;
 import jp.co.yahoo.yosegi.blockindex.BlockIndexNode;
+import jp.co.yahoo.yosegi.blockindex.BloomFilterBlockIndex;
+import jp.co.yahoo.yosegi.blockindex.BloomFilterMemoryAllocator;
+import jp.co.yahoo.yosegi.blockindex.CompositeBlockIndex;
+import jp.co.yahoo.yosegi.blockindex.IBlockIndex;
 import jp.co.yahoo.yosegi.inmemory.IMemoryAllocator;
 import jp.co.yahoo.yosegi.spread.analyzer.IColumnAnalizeResult;
 import jp.co.yahoo.yosegi.spread.column.IColumn;
@@ -50,4 +54,33 @@ public interface IColumnBinaryMaker {
       final ColumnBinary columnBinary ,
       final int spreadIndex ) throws IOException;
 
+  /**
+   * Set the range index of the column to the node.
+   * If the node enables the bloom filter, the filter of the values is set with it.
+   * The null count of the binary is also set to keep it per Spread.
+   */
+  default void setRangeBlockIndex(
+      final BlockIndexNode currentNode ,
+      final IBlockIndex rangeBlockIndex ,
+      final byte bloomFilterValueType ,
+      final ColumnBinary columnBinary ,
+      final int spreadIndex ) throws IOException {
+    currentNode.setNullCount( columnBinary.nullCount , columnBinary.rowCount );
+    if ( ! currentNode.isBloomFilterEnabled() ) {
+      currentNode.setBlockIndex( rangeBlockIndex );
+      return;
+    }
+    IBlockIndex bloomFilterBlockIndex;
+    if ( currentNode.isBloomFilterSizeOnly() ) {
+      bloomFilterBlockIndex = BloomFilterBlockIndex.createEmpty( bloomFilterValueType ,
+          spreadIndex , Math.max( columnBinary.rowCount , columnBinary.cardinality ) );
+    } else {
+      BloomFilterMemoryAllocator bloomFilterAllocator =
+          new BloomFilterMemoryAllocator( bloomFilterValueType );
+      loadInMemoryStorage( columnBinary , bloomFilterAllocator );
+      bloomFilterBlockIndex = bloomFilterAllocator.createBlockIndex( spreadIndex );
+    }
+    currentNode.setBlockIndex( new CompositeBlockIndex( rangeBlockIndex , bloomFilterBlockIndex ) );
+  }
+
 }
@@ -28,4 +28,32 @@ public interface IDicManager {
 
   int getDicSize() throws IOException;
 
+  default boolean isNull( final int index ) throws IOException {
+    return get( index ) == null;
+  }
+
+  default byte getByte( final int index ) throws IOException {
+    return get( index ).getByte();
+  }
+
+  default short getShort( final int index ) throws IOException {
+    return get( index ).getShort();
+  }
+
+  default int getInt( final int index ) throws IOException {
+    return get( index ).getInt();
+  }
+
+  default long getLong( final int index ) throws IOException {
+    return get( index ).getLong();
+  }
+
+  default float getFloat( final int index ) throws IOException {
+    return get( index ).getFloat();
+  }
+
+  default double getDouble( final int index ) throws IOException {
+    return get( index ).getDouble();
+  }
+
 }
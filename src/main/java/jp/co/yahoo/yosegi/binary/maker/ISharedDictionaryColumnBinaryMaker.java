@@ -0,0 +1,58 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.co.yahoo.yosegi.binary.maker;
+
+import jp.co.yahoo.yosegi.binary.ColumnBinary;
+import jp.co.yahoo.yosegi.binary.ColumnBinaryMakerConfig;
+import jp.co.yahoo.yosegi.binary.ColumnBinaryMakerCustomConfigNode;
+import jp.co.yahoo.yosegi.binary.CompressResultNode;
+import jp.co.yahoo.yosegi.binary.SharedDictionary;
+import jp.co.yahoo.yosegi.spread.column.IColumn;
+
+import java.io.IOException;
+
+/**
+ * A maker whose values can reference a dictionary shared by the Spreads of a block.
+ */
+public interface ISharedDictionaryColumnBinaryMaker extends IColumnBinaryMaker {
+
+  /**
+   * Create a binary whose values reference the dictionary of the block.
+   * The dictionary is not changed, and the new values are kept in
+   * {@link ColumnBinary#sharedDictionaryAppend} until the block writer adds the binary.
+   */
+  ColumnBinary toBinary(
+      final ColumnBinaryMakerConfig commonConfig ,
+      final ColumnBinaryMakerCustomConfigNode currentConfigNode ,
+      final CompressResultNode compressResultNode ,
+      final IColumn column ,
+      final SharedDictionary blockDictionary ) throws IOException;
+
+  /**
+   * Create a binary whose values reference the given dictionary.
+   * The values that are not in the dictionary are added to it.
+   * If the dictionary is null, the binary holds its own dictionary.
+   */
+  ColumnBinary shareDictionary(
+      final ColumnBinaryMakerConfig commonConfig ,
+      final CompressResultNode compressResultNode ,
+      final ColumnBinary columnBinary ,
+      final SharedDictionary dictionary ) throws IOException;
+
+}
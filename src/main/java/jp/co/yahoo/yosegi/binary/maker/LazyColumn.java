@@ -29,6 +29,7 @@ import jp.co.yahoo.yosegi.spread.column.NullColumn;
 import jp.co.yahoo.yosegi.spread.column.filter.IFilter;
 import jp.co.yahoo.yosegi.spread.column.index.ICellIndex;
 import jp.co.yahoo.yosegi.spread.expression.IExpressionIndex;
+import jp.co.yahoo.yosegi.spread.expression.SelectionBitmap;
 
 import java.io.IOException;
 import java.util.List;
@@ -166,6 +167,12 @@ public class LazyColumn implements IColumn {
     return columnManager.get().filter( filter , filterArray );
   }
 
+  @Override
+  public SelectionBitmap filterBitmap(
+      final IFilter filter , final int size ) throws IOException {
+    return columnManager.get().filterBitmap( filter , size );
+  }
+
   @Override
   public PrimitiveObject[] getPrimitiveObjectArray(
       final IExpressionIndex indexList ,
@@ -188,4 +195,29 @@ public class LazyColumn implements IColumn {
     return columnManager.get().toString();
   }
 
+  @Override
+  public boolean isRunLength() {
+    return columnManager.get().isRunLength();
+  }
+
+  @Override
+  public int getRunLengthSize() {
+    return columnManager.get().getRunLengthSize();
+  }
+
+  @Override
+  public int[] getRunLengthStartArray() {
+    return columnManager.get().getRunLengthStartArray();
+  }
+
+  @Override
+  public int[] getRunLengthLengthArray() {
+    return columnManager.get().getRunLengthLengthArray();
+  }
+
+  @Override
+  public PrimitiveObject[] getRunLengthValueArray() {
+    return columnManager.get().getRunLengthValueArray();
+  }
+
 }
@@ -0,0 +1,103 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.co.yahoo.yosegi.binary.maker;
+
+import jp.co.yahoo.yosegi.message.objects.ByteObj;
+import jp.co.yahoo.yosegi.message.objects.IntegerObj;
+import jp.co.yahoo.yosegi.message.objects.LongObj;
+import jp.co.yahoo.yosegi.message.objects.PrimitiveObject;
+import jp.co.yahoo.yosegi.message.objects.ShortObj;
+import jp.co.yahoo.yosegi.spread.column.ColumnType;
+
+import java.io.IOException;
+
+/**
+ * Dictionary of integral values held as a long array.
+ * Index 0 is reserved for null.
+ * PrimitiveObject is created only when it is requested by get().
+ */
+public class LongDicManager implements IDicManager {
+
+  private final ColumnType columnType;
+  private final long[] dicArray;
+  private PrimitiveObject[] objectArray;
+
+  public LongDicManager( final ColumnType columnType , final long[] dicArray ) {
+    this.columnType = columnType;
+    this.dicArray = dicArray;
+  }
+
+  private PrimitiveObject createObject( final long value ) {
+    switch ( columnType ) {
+      case BYTE:
+        return new ByteObj( (byte)value );
+      case SHORT:
+        return new ShortObj( (short)value );
+      case INTEGER:
+        return new IntegerObj( (int)value );
+      default:
+        return new LongObj( value );
+    }
+  }
+
+  @Override
+  public PrimitiveObject get( final int index ) throws IOException {
+    if ( index == 0 ) {
+      return null;
+    }
+    if ( objectArray == null ) {
+      objectArray = new PrimitiveObject[dicArray.length];
+    }
+    if ( objectArray[index] == null ) {
+      objectArray[index] = createObject( dicArray[index] );
+    }
+    return objectArray[index];
+  }
+
+  @Override
+  public int getDicSize() throws IOException {
+    return dicArray.length;
+  }
+
+  @Override
+  public boolean isNull( final int index ) throws IOException {
+    return index == 0;
+  }
+
+  @Override
+  public byte getByte( final int index ) throws IOException {
+    return (byte)dicArray[index];
+  }
+
+  @Override
+  public short getShort( final int index ) throws IOException {
+    return (short)dicArray[index];
+  }
+
+  @Override
+  public int getInt( final int index ) throws IOException {
+    return (int)dicArray[index];
+  }
+
+  @Override
+  public long getLong( final int index ) throws IOException {
+    return dicArray[index];
+  }
+
+}
@@ -25,7 +25,6 @@ import jp.co.yahoo.yosegi.binary.CompressResultNode;
 import jp.co.yahoo.yosegi.binary.FindColumnBinaryMaker;
 import jp.co.yahoo.yosegi.blockindex.BlockIndexNode;
 import jp.co.yahoo.yosegi.compressor.CompressResult;
-import jp.co.yahoo.yosegi.compressor.FindCompressor;
 import jp.co.yahoo.yosegi.compressor.ICompressor;
 import jp.co.yahoo.yosegi.inmemory.IMemoryAllocator;
 import jp.co.yahoo.yosegi.message.objects.PrimitiveObject;
@@ -157,7 +156,7 @@ public class MaxLengthBasedArrayColumnBinaryMaker implements IColumnBinaryMaker
       maker.loadInMemoryStorage( childColumnBinary , childMemoryAllocator );
     }
 
-    ICompressor compressor = FindCompressor.get( columnBinary.compressorClassName );
+    ICompressor compressor = columnBinary.getCompressor();
     byte[] decompressBuffer = compressor.decompress(
         columnBinary.binary , columnBinary.binaryStart , columnBinary.binaryLength );
     int maxSize = ByteBuffer.wrap( decompressBuffer ).getInt();
@@ -293,7 +292,7 @@ public class MaxLengthBasedArrayColumnBinaryMaker implements IColumnBinaryMaker
       }
       spread.setRowCount( columnBinary.rowCount );
 
-      ICompressor compressor = FindCompressor.get( columnBinary.compressorClassName );
+      ICompressor compressor = columnBinary.getCompressor();
       byte[] decompressBuffer = compressor.decompress(
           columnBinary.binary , columnBinary.binaryStart , columnBinary.binaryLength );
       int maxSize = ByteBuffer.wrap( decompressBuffer ).getInt();
@@ -27,7 +27,6 @@ import jp.co.yahoo.yosegi.binary.maker.index.SequentialStringCellIndex;
 import jp.co.yahoo.yosegi.blockindex.BlockIndexNode;
 import jp.co.yahoo.yosegi.blockindex.StringRangeBlockIndex;
 import jp.co.yahoo.yosegi.compressor.CompressResult;
-import jp.co.yahoo.yosegi.compressor.FindCompressor;
 import jp.co.yahoo.yosegi.compressor.ICompressor;
 import jp.co.yahoo.yosegi.inmemory.IMemoryAllocator;
 import jp.co.yahoo.yosegi.message.objects.BooleanObj;
@@ -191,7 +190,7 @@ public class OptimizedNullArrayDumpBooleanColumnBinaryMaker implements IColumnBi
   public void loadInMemoryStorage(
       final ColumnBinary columnBinary ,
       final IMemoryAllocator allocator ) throws IOException {
-    ICompressor compressor = FindCompressor.get( columnBinary.compressorClassName );
+    ICompressor compressor = columnBinary.getCompressor();
     byte[] binary = compressor.decompress(
         columnBinary.binary ,
         columnBinary.binaryStart ,
@@ -246,7 +245,7 @@ public class OptimizedNullArrayDumpBooleanColumnBinaryMaker implements IColumnBi
       if ( isCreate ) {
         return;
       }
-      ICompressor compressor = FindCompressor.get( columnBinary.compressorClassName );
+      ICompressor compressor = columnBinary.getCompressor();
       byte[] binary = compressor.decompress(
           columnBinary.binary ,
           columnBinary.binaryStart ,
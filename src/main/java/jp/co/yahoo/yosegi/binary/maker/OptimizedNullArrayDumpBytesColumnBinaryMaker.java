@@ -27,7 +27,6 @@ import jp.co.yahoo.yosegi.binary.maker.index.SequentialStringCellIndex;
 import jp.co.yahoo.yosegi.blockindex.BlockIndexNode;
 import jp.co.yahoo.yosegi.blockindex.StringRangeBlockIndex;
 import jp.co.yahoo.yosegi.compressor.CompressResult;
-import jp.co.yahoo.yosegi.compressor.FindCompressor;
 import jp.co.yahoo.yosegi.compressor.ICompressor;
 import jp.co.yahoo.yosegi.inmemory.IMemoryAllocator;
 import jp.co.yahoo.yosegi.message.objects.PrimitiveObject;
@@ -235,7 +234,7 @@ public class OptimizedNullArrayDumpBytesColumnBinaryMaker implements IColumnBina
   public void loadInMemoryStorage(
       final ColumnBinary columnBinary ,
       final IMemoryAllocator allocator ) throws IOException {
-    ICompressor compressor = FindCompressor.get( columnBinary.compressorClassName );
+    ICompressor compressor = columnBinary.getCompressor();
     byte[] binary = compressor.decompress(
         columnBinary.binary ,
         columnBinary.binaryStart ,
@@ -303,7 +302,7 @@ public class OptimizedNullArrayDumpBytesColumnBinaryMaker implements IColumnBina
       if ( isCreate ) {
         return;
       }
-      ICompressor compressor = FindCompressor.get( columnBinary.compressorClassName );
+      ICompressor compressor = columnBinary.getCompressor();
       byte[] binary = compressor.decompress( columnBinary.binary ,
           columnBinary.binaryStart ,
           columnBinary.binaryLength );
@@ -25,8 +25,8 @@ import jp.co.yahoo.yosegi.binary.CompressResultNode;
 import jp.co.yahoo.yosegi.binary.maker.index.RangeDoubleIndex;
 import jp.co.yahoo.yosegi.blockindex.BlockIndexNode;
 import jp.co.yahoo.yosegi.blockindex.DoubleRangeBlockIndex;
+import jp.co.yahoo.yosegi.compressor.CompressBuffer;
 import jp.co.yahoo.yosegi.compressor.CompressResult;
-import jp.co.yahoo.yosegi.compressor.FindCompressor;
 import jp.co.yahoo.yosegi.compressor.ICompressor;
 import jp.co.yahoo.yosegi.inmemory.IMemoryAllocator;
 import jp.co.yahoo.yosegi.message.objects.DoubleObj;
@@ -38,6 +38,7 @@ import jp.co.yahoo.yosegi.spread.column.ICell;
 import jp.co.yahoo.yosegi.spread.column.IColumn;
 import jp.co.yahoo.yosegi.spread.column.PrimitiveCell;
 import jp.co.yahoo.yosegi.spread.column.PrimitiveColumn;
+import jp.co.yahoo.yosegi.util.ByteArrayData;
 import jp.co.yahoo.yosegi.util.DetermineMinMax;
 import jp.co.yahoo.yosegi.util.DetermineMinMaxFactory;
 import jp.co.yahoo.yosegi.util.io.IReadSupporter;
@@ -144,17 +145,14 @@ public class OptimizedNullArrayDumpDoubleColumnBinaryMaker implements IColumnBin
         "c0"  ,
         currentConfig.compressionPolicy ,
         currentConfig.allowedRatio );
-    byte[] compressBinary = currentConfig.compressorClass.compress(
-        binaryRaw , 0 , binaryRaw.length , compressResult );
-
-    byte[] binary = new byte[ Double.BYTES * 2 + compressBinary.length ];
+    byte[] binary = currentConfig.compressorClass.compressWithHeader(
+        binaryRaw , 0 , binaryRaw.length , Double.BYTES * 2 , compressResult );
 
     wrapBuffer = ByteBuffer.wrap( binary , 0 , binary.length );
     wrapBuffer.putDouble( detemineMinMax.getMin() );
     wrapBuffer.putDouble( detemineMinMax.getMax() );
-    wrapBuffer.put( compressBinary );
 
-    return new ColumnBinary(
+    ColumnBinary result = new ColumnBinary(
         this.getClass().getName() ,
         currentConfig.compressorClass.getClass().getName() ,
         column.getColumnName() ,
@@ -167,6 +165,8 @@ public class OptimizedNullArrayDumpDoubleColumnBinaryMaker implements IColumnBin
         0 ,
         binary.length ,
         null );
+    result.nullCount = column.size() - rowCount;
+    return result;
   }
 
   @Override
@@ -208,37 +208,44 @@ public class OptimizedNullArrayDumpDoubleColumnBinaryMaker implements IColumnBin
     int start = columnBinary.binaryStart + ( Double.BYTES * 2 );
     int length = columnBinary.binaryLength - ( Double.BYTES * 2 );
 
-    ICompressor compressor = FindCompressor.get( columnBinary.compressorClassName );
-    byte[] binary = compressor.decompress( columnBinary.binary , start , length );
+    ICompressor compressor = columnBinary.getCompressor();
+    ByteArrayData buffer = CompressBuffer.acquire();
+    try {
+      int binaryLength = compressor.decompressAndSet(
+          ByteBuffer.wrap( columnBinary.binary , start , length ) , buffer );
+      byte[] binary = buffer.getBytes();
 
-    ByteBuffer wrapBuffer = ByteBuffer.wrap( binary , 0 , binary.length );
+      ByteBuffer wrapBuffer = ByteBuffer.wrap( binary , 0 , binaryLength );
 
-    ByteOrder order = wrapBuffer.get() == (byte)0
-        ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN;
-    int startIndex = wrapBuffer.getInt();
-    int nullIndexLength = wrapBuffer.getInt();
-    int valueBinaryLength = binary.length - META_LENGTH - nullIndexLength;
+      ByteOrder order = wrapBuffer.get() == (byte)0
+          ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN;
+      int startIndex = wrapBuffer.getInt();
+      int nullIndexLength = wrapBuffer.getInt();
+      int valueBinaryLength = binaryLength - META_LENGTH - nullIndexLength;
 
-    boolean[] isNullArray =
-        NullBinaryEncoder.toIsNullArray( binary , META_LENGTH , nullIndexLength );
+      boolean[] isNullArray =
+          NullBinaryEncoder.toIsNullArray( binary , META_LENGTH , nullIndexLength );
 
-    allocator.setValueCount( startIndex + isNullArray.length );
+      allocator.setValueCount( startIndex + isNullArray.length );
 
-    IReadSupporter valueReader = ByteBufferSupporterFactory.createReadSupporter(
-        binary,
-        META_LENGTH + nullIndexLength,
-        valueBinaryLength,
-        order );
-    int index = 0;
-    for ( ; index < startIndex ; index++ ) {
-      allocator.setNull( index );
-    }
-    for ( int i = 0 ; i < isNullArray.length ; i++,index++ ) {
-      if ( isNullArray[i]  ) {
+      IReadSupporter valueReader = ByteBufferSupporterFactory.createReadSupporter(
+          binary,
+          META_LENGTH + nullIndexLength,
+          valueBinaryLength,
+          order );
+      int index = 0;
+      for ( ; index < startIndex ; index++ ) {
         allocator.setNull( index );
-      } else {
-        allocator.setDouble( index , valueReader.getDouble() );
       }
+      for ( int i = 0 ; i < isNullArray.length ; i++,index++ ) {
+        if ( isNullArray[i]  ) {
+          allocator.setNull( index );
+        } else {
+          allocator.setDouble( index , valueReader.getDouble() );
+        }
+      }
+    } finally {
+      CompressBuffer.release( buffer );
     }
   }
 
@@ -253,6 +260,7 @@ public class OptimizedNullArrayDumpDoubleColumnBinaryMaker implements IColumnBin
     Double max = Double.valueOf( wrapBuffer.getDouble() );
     BlockIndexNode currentNode = parentNode.getChildNode( columnBinary.columnName );
     currentNode.setBlockIndex( new DoubleRangeBlockIndex( min , max ) );
+    currentNode.setNullCount( columnBinary.nullCount , columnBinary.rowCount );
   }
 
   public class ColumnManager implements IColumnManager {
@@ -274,7 +282,7 @@ public class OptimizedNullArrayDumpDoubleColumnBinaryMaker implements IColumnBin
       int start = columnBinary.binaryStart + ( Double.BYTES * 2 );
       int length = columnBinary.binaryLength - ( Double.BYTES * 2 );
 
-      ICompressor compressor = FindCompressor.get( columnBinary.compressorClassName );
+      ICompressor compressor = columnBinary.getCompressor();
       byte[] binary = compressor.decompress( columnBinary.binary , start , length );
 
       ByteBuffer wrapBuffer = ByteBuffer.wrap( binary , 0 , binary.length );
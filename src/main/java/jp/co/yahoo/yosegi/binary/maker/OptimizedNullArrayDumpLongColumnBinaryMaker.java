@@ -24,9 +24,10 @@ import jp.co.yahoo.yosegi.binary.ColumnBinaryMakerCustomConfigNode;
 import jp.co.yahoo.yosegi.binary.CompressResultNode;
 import jp.co.yahoo.yosegi.binary.maker.index.RangeLongIndex;
 import jp.co.yahoo.yosegi.blockindex.BlockIndexNode;
+import jp.co.yahoo.yosegi.blockindex.BloomFilterBlockIndex;
 import jp.co.yahoo.yosegi.blockindex.LongRangeBlockIndex;
+import jp.co.yahoo.yosegi.compressor.CompressBuffer;
 import jp.co.yahoo.yosegi.compressor.CompressResult;
-import jp.co.yahoo.yosegi.compressor.FindCompressor;
 import jp.co.yahoo.yosegi.compressor.ICompressor;
 import jp.co.yahoo.yosegi.inmemory.IMemoryAllocator;
 import jp.co.yahoo.yosegi.message.objects.ByteObj;
@@ -44,6 +45,7 @@ import jp.co.yahoo.yosegi.spread.column.ICell;
 import jp.co.yahoo.yosegi.spread.column.IColumn;
 import jp.co.yahoo.yosegi.spread.column.PrimitiveCell;
 import jp.co.yahoo.yosegi.spread.column.PrimitiveColumn;
+import jp.co.yahoo.yosegi.util.ByteArrayData;
 import jp.co.yahoo.yosegi.util.DetermineMinMax;
 import jp.co.yahoo.yosegi.util.DetermineMinMaxFactory;
 import jp.co.yahoo.yosegi.util.io.diffencoder.INumEncoder;
@@ -169,17 +171,14 @@ public class OptimizedNullArrayDumpLongColumnBinaryMaker implements IColumnBinar
         "c0"  ,
         currentConfig.compressionPolicy ,
         currentConfig.allowedRatio );
-    byte[] compressBinary = currentConfig.compressorClass.compress(
-        binaryRaw , 0 , binaryRaw.length , compressResult );
-
-    byte[] binary = new byte[ Long.BYTES * 2 + compressBinary.length ];
+    byte[] binary = currentConfig.compressorClass.compressWithHeader(
+        binaryRaw , 0 , binaryRaw.length , Long.BYTES * 2 , compressResult );
 
     wrapBuffer = ByteBuffer.wrap( binary , 0 , binary.length );
     wrapBuffer.putLong( detemineMinMax.getMin() );
     wrapBuffer.putLong( detemineMinMax.getMax() );
-    wrapBuffer.put( compressBinary );
 
-    return new ColumnBinary(
+    ColumnBinary result = new ColumnBinary(
         this.getClass().getName() ,
         currentConfig.compressorClass.getClass().getName() ,
         column.getColumnName() ,
@@ -192,6 +191,8 @@ public class OptimizedNullArrayDumpLongColumnBinaryMaker implements IColumnBinar
         0 ,
         binary.length ,
         null );
+    result.nullCount = column.size() - rowCount;
+    return result;
   }
 
   @Override
@@ -271,36 +272,43 @@ public class OptimizedNullArrayDumpLongColumnBinaryMaker implements IColumnBinar
     int start = columnBinary.binaryStart + ( Long.BYTES * 2 );
     int length = columnBinary.binaryLength - ( Long.BYTES * 2 );
 
-    ICompressor compressor = FindCompressor.get( columnBinary.compressorClassName );
-    byte[] binary = compressor.decompress( columnBinary.binary , start , length );
+    ICompressor compressor = columnBinary.getCompressor();
+    ByteArrayData buffer = CompressBuffer.acquire();
+    try {
+      int binaryLength = compressor.decompressAndSet(
+          ByteBuffer.wrap( columnBinary.binary , start , length ) , buffer );
+      byte[] binary = buffer.getBytes();
 
-    ByteBuffer wrapBuffer = ByteBuffer.wrap( binary , 0 , binary.length );
+      ByteBuffer wrapBuffer = ByteBuffer.wrap( binary , 0 , binaryLength );
 
-    ByteOrder order = wrapBuffer.get() == (byte)0
-        ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN;
-    int startIndex = wrapBuffer.getInt();
-    int rowCount = wrapBuffer.getInt();
-    int nullIndexLength = wrapBuffer.getInt();
-    int valueBinaryLength = binary.length - META_LENGTH - nullIndexLength;
+      ByteOrder order = wrapBuffer.get() == (byte)0
+          ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN;
+      int startIndex = wrapBuffer.getInt();
+      int rowCount = wrapBuffer.getInt();
+      int nullIndexLength = wrapBuffer.getInt();
+      int valueBinaryLength = binaryLength - META_LENGTH - nullIndexLength;
 
-    boolean[] isNullArray =
-        NullBinaryEncoder.toIsNullArray( binary , META_LENGTH , nullIndexLength );
+      boolean[] isNullArray =
+          NullBinaryEncoder.toIsNullArray( binary , META_LENGTH , nullIndexLength );
 
-    allocator.setValueCount( startIndex + isNullArray.length );
+      allocator.setValueCount( startIndex + isNullArray.length );
 
-    for ( int index = 0 ; index < startIndex ; index++ ) {
-      allocator.setNull( index );
+      for ( int index = 0 ; index < startIndex ; index++ ) {
+        allocator.setNull( index );
+      }
+      INumEncoder valueEncoder =
+          NumEncoderUtil.createEncoder( min , max );
+      valueEncoder.loadInMemoryStorage(
+          binary,
+          META_LENGTH + nullIndexLength,
+          rowCount,
+          isNullArray,
+          order,
+          allocator,
+          startIndex );
+    } finally {
+      CompressBuffer.release( buffer );
     }
-    INumEncoder valueEncoder =
-        NumEncoderUtil.createEncoder( min , max );
-    valueEncoder.loadInMemoryStorage(
-        binary,
-        META_LENGTH + nullIndexLength,
-        rowCount,
-        isNullArray,
-        order,
-        allocator,
-        startIndex );
   }
 
   @Override
@@ -313,7 +321,8 @@ public class OptimizedNullArrayDumpLongColumnBinaryMaker implements IColumnBinar
     Long min = Long.valueOf( wrapBuffer.getLong() );
     Long max = Long.valueOf( wrapBuffer.getLong() );
     BlockIndexNode currentNode = parentNode.getChildNode( columnBinary.columnName );
-    currentNode.setBlockIndex( new LongRangeBlockIndex( min , max ) );
+    setRangeBlockIndex( currentNode , new LongRangeBlockIndex( min , max ) ,
+        BloomFilterBlockIndex.NUMBER_VALUE , columnBinary , spreadIndex );
   }
 
   public class ColumnManager implements IColumnManager {
@@ -344,7 +353,7 @@ public class OptimizedNullArrayDumpLongColumnBinaryMaker implements IColumnBinar
       int start = columnBinary.binaryStart + ( Long.BYTES * 2 );
       int length = columnBinary.binaryLength - ( Long.BYTES * 2 );
 
-      ICompressor compressor = FindCompressor.get( columnBinary.compressorClassName );
+      ICompressor compressor = columnBinary.getCompressor();
       byte[] binary = compressor.decompress( columnBinary.binary , start , length );
 
       ByteBuffer wrapBuffer = ByteBuffer.wrap( binary , 0 , binary.length );
@@ -25,9 +25,9 @@ import jp.co.yahoo.yosegi.binary.CompressResultNode;
 import jp.co.yahoo.yosegi.binary.maker.index.RangeStringIndex;
 import jp.co.yahoo.yosegi.binary.maker.index.SequentialStringCellIndex;
 import jp.co.yahoo.yosegi.blockindex.BlockIndexNode;
+import jp.co.yahoo.yosegi.blockindex.BloomFilterBlockIndex;
 import jp.co.yahoo.yosegi.blockindex.StringRangeBlockIndex;
 import jp.co.yahoo.yosegi.compressor.CompressResult;
-import jp.co.yahoo.yosegi.compressor.FindCompressor;
 import jp.co.yahoo.yosegi.compressor.ICompressor;
 import jp.co.yahoo.yosegi.inmemory.IMemoryAllocator;
 import jp.co.yahoo.yosegi.message.objects.PrimitiveObject;
@@ -187,14 +187,12 @@ public class OptimizedNullArrayDumpStringColumnBinaryMaker implements IColumnBin
         "c0"  ,
         currentConfig.compressionPolicy ,
         currentConfig.allowedRatio );
-    byte[] compressBinaryRaw = currentConfig.compressorClass.compress(
-        binaryRaw , 0 , binaryRaw.length , compressResult );
-
     int minCharLength = Character.BYTES * detemineMinMax.getMin().length();
     int maxCharLength = Character.BYTES * detemineMinMax.getMax().length();
     int headerSize = Integer.BYTES + minCharLength + Integer.BYTES + maxCharLength;
 
-    byte[] binary = new byte[headerSize + compressBinaryRaw.length];
+    byte[] binary = currentConfig.compressorClass.compressWithHeader(
+        binaryRaw , 0 , binaryRaw.length , headerSize , compressResult );
     ByteBuffer binaryWrapBuffer = ByteBuffer.wrap( binary );
     binaryWrapBuffer.putInt( minCharLength );
     binaryWrapBuffer.asCharBuffer().put( detemineMinMax.getMin() );
@@ -202,9 +200,8 @@ public class OptimizedNullArrayDumpStringColumnBinaryMaker implements IColumnBin
     binaryWrapBuffer.putInt( maxCharLength );
     binaryWrapBuffer.asCharBuffer().put( detemineMinMax.getMax() );
     binaryWrapBuffer.position( binaryWrapBuffer.position() + maxCharLength );
-    binaryWrapBuffer.put( compressBinaryRaw );
 
-    return new ColumnBinary(
+    ColumnBinary result = new ColumnBinary(
         this.getClass().getName() ,
         currentConfig.compressorClass.getClass().getName() ,
         column.getColumnName() ,
@@ -217,6 +214,8 @@ public class OptimizedNullArrayDumpStringColumnBinaryMaker implements IColumnBin
         0 ,
         binary.length ,
         null );
+    result.nullCount = column.size() - rowCount;
+    return result;
   }
 
   @Override
@@ -298,7 +297,7 @@ public class OptimizedNullArrayDumpStringColumnBinaryMaker implements IColumnBin
     headerWrapBuffer.position( headerWrapBuffer.position() + maxCharLength );
     int headerSize = Integer.BYTES + minCharLength + Integer.BYTES + maxCharLength;
 
-    ICompressor compressor = FindCompressor.get( columnBinary.compressorClassName );
+    ICompressor compressor = columnBinary.getCompressor();
     byte[] binary = compressor.decompress(
         columnBinary.binary ,
         columnBinary.binaryStart + headerSize ,
@@ -364,7 +363,8 @@ public class OptimizedNullArrayDumpStringColumnBinaryMaker implements IColumnBin
     String max = new String( maxCharArray );
 
     BlockIndexNode currentNode = parentNode.getChildNode( columnBinary.columnName );
-    currentNode.setBlockIndex( new StringRangeBlockIndex( min , max ) );
+    setRangeBlockIndex( currentNode , new StringRangeBlockIndex( min , max ) ,
+        BloomFilterBlockIndex.STRING_VALUE , columnBinary , spreadIndex );
   }
 
   public class StringColumnManager implements IColumnManager {
@@ -391,7 +391,7 @@ public class OptimizedNullArrayDumpStringColumnBinaryMaker implements IColumnBin
       if ( isCreate ) {
         return;
       }
-      ICompressor compressor = FindCompressor.get( columnBinary.compressorClassName );
+      ICompressor compressor = columnBinary.getCompressor();
       byte[] binary = compressor.decompress( columnBinary.binary , binaryStart , binaryLength );
       ByteBuffer wrapBuffer = ByteBuffer.wrap( binary , 0 , binary.length );
       ByteOrder order =
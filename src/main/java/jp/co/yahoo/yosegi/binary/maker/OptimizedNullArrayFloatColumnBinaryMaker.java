@@ -25,8 +25,8 @@ import jp.co.yahoo.yosegi.binary.CompressResultNode;
 import jp.co.yahoo.yosegi.binary.maker.index.RangeFloatIndex;
 import jp.co.yahoo.yosegi.blockindex.BlockIndexNode;
 import jp.co.yahoo.yosegi.blockindex.FloatRangeBlockIndex;
+import jp.co.yahoo.yosegi.compressor.CompressBuffer;
 import jp.co.yahoo.yosegi.compressor.CompressResult;
-import jp.co.yahoo.yosegi.compressor.FindCompressor;
 import jp.co.yahoo.yosegi.compressor.ICompressor;
 import jp.co.yahoo.yosegi.inmemory.IMemoryAllocator;
 import jp.co.yahoo.yosegi.message.objects.FloatObj;
@@ -38,6 +38,7 @@ import jp.co.yahoo.yosegi.spread.column.ICell;
 import jp.co.yahoo.yosegi.spread.column.IColumn;
 import jp.co.yahoo.yosegi.spread.column.PrimitiveCell;
 import jp.co.yahoo.yosegi.spread.column.PrimitiveColumn;
+import jp.co.yahoo.yosegi.util.ByteArrayData;
 import jp.co.yahoo.yosegi.util.DetermineMinMax;
 import jp.co.yahoo.yosegi.util.DetermineMinMaxFactory;
 import jp.co.yahoo.yosegi.util.io.IReadSupporter;
@@ -167,17 +168,14 @@ public class OptimizedNullArrayFloatColumnBinaryMaker implements IColumnBinaryMa
         "c0"  ,
         currentConfig.compressionPolicy ,
         currentConfig.allowedRatio );
-    byte[] compressBinary = currentConfig.compressorClass.compress(
-        binaryRaw , 0 , binaryRaw.length , compressResult );
-
-    byte[] binary = new byte[ Float.BYTES * 2 + compressBinary.length ];
+    byte[] binary = currentConfig.compressorClass.compressWithHeader(
+        binaryRaw , 0 , binaryRaw.length , Float.BYTES * 2 , compressResult );
 
     wrapBuffer = ByteBuffer.wrap( binary , 0 , binary.length );
     wrapBuffer.putFloat( detemineMinMax.getMin() );
     wrapBuffer.putFloat( detemineMinMax.getMax() );
-    wrapBuffer.put( compressBinary );
 
-    return new ColumnBinary(
+    ColumnBinary result = new ColumnBinary(
         this.getClass().getName() ,
         currentConfig.compressorClass.getClass().getName() ,
         column.getColumnName() ,
@@ -190,6 +188,8 @@ public class OptimizedNullArrayFloatColumnBinaryMaker implements IColumnBinaryMa
         0 ,
         binary.length ,
         null );
+    result.nullCount = column.size() - rowCount;
+    return result;
   }
 
   @Override
@@ -234,50 +234,57 @@ public class OptimizedNullArrayFloatColumnBinaryMaker implements IColumnBinaryMa
     int start = columnBinary.binaryStart + ( Float.BYTES * 2 );
     int length = columnBinary.binaryLength - ( Float.BYTES * 2 );
 
-    ICompressor compressor = FindCompressor.get( columnBinary.compressorClassName );
-    byte[] binary = compressor.decompress( columnBinary.binary , start , length );
+    ICompressor compressor = columnBinary.getCompressor();
+    ByteArrayData buffer = CompressBuffer.acquire();
+    try {
+      int binaryLength = compressor.decompressAndSet(
+          ByteBuffer.wrap( columnBinary.binary , start , length ) , buffer );
+      byte[] binary = buffer.getBytes();
 
-    ByteBuffer wrapBuffer = ByteBuffer.wrap( binary , 0 , binary.length );
+      ByteBuffer wrapBuffer = ByteBuffer.wrap( binary , 0 , binaryLength );
 
-    ByteOrder order = wrapBuffer.get() == (byte)0
-        ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN;
-    int startIndex = wrapBuffer.getInt();
-    final int rowCount = wrapBuffer.getInt();
-    int nullIndexLength = wrapBuffer.getInt();
-    int indexLength = wrapBuffer.getInt();
-    int dicLength = binary.length - META_LENGTH - nullIndexLength - indexLength;
-    int dicSize = dicLength / Float.BYTES;
+      ByteOrder order = wrapBuffer.get() == (byte)0
+          ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN;
+      int startIndex = wrapBuffer.getInt();
+      final int rowCount = wrapBuffer.getInt();
+      int nullIndexLength = wrapBuffer.getInt();
+      int indexLength = wrapBuffer.getInt();
+      int dicLength = binaryLength - META_LENGTH - nullIndexLength - indexLength;
+      int dicSize = dicLength / Float.BYTES;
 
-    NumberToBinaryUtils.IIntConverter indexConverter =
-        NumberToBinaryUtils.getIntConverter( 0 , dicSize );
+      NumberToBinaryUtils.IIntConverter indexConverter =
+          NumberToBinaryUtils.getIntConverter( 0 , dicSize );
 
-    boolean[] isNullArray =
-        NullBinaryEncoder.toIsNullArray( binary , META_LENGTH , nullIndexLength );
+      boolean[] isNullArray =
+          NullBinaryEncoder.toIsNullArray( binary , META_LENGTH , nullIndexLength );
 
-    IReadSupporter dicReader = ByteBufferSupporterFactory.createReadSupporter(
-        binary,
-        META_LENGTH + nullIndexLength + indexLength,
-        dicLength,
-        order );
-    float[] dicArray = new float[dicSize];
-    for ( int i = 0 ; i < dicArray.length ; i++ ) {
-      dicArray[i] = dicReader.getFloat();
-    }
+      IReadSupporter dicReader = ByteBufferSupporterFactory.createReadSupporter(
+          binary,
+          META_LENGTH + nullIndexLength + indexLength,
+          dicLength,
+          order );
+      float[] dicArray = new float[dicSize];
+      for ( int i = 0 ; i < dicArray.length ; i++ ) {
+        dicArray[i] = dicReader.getFloat();
+      }
 
-    allocator.setValueCount( startIndex + isNullArray.length );
+      allocator.setValueCount( startIndex + isNullArray.length );
 
-    IReadSupporter indexReader =
-        indexConverter.toReadSupporter( binary , META_LENGTH + nullIndexLength , indexLength );
-    int index = startIndex;
-    for ( ; index < startIndex ; index++ ) {
-      allocator.setNull( index );
-    }
-    for ( int i = 0 ; i < isNullArray.length ; i++,index++ ) {
-      if ( isNullArray[i]  ) {
+      IReadSupporter indexReader =
+          indexConverter.toReadSupporter( binary , META_LENGTH + nullIndexLength , indexLength );
+      int index = startIndex;
+      for ( ; index < startIndex ; index++ ) {
         allocator.setNull( index );
-      } else {
-        allocator.setFloat( index , dicArray[indexReader.getInt()] );
       }
+      for ( int i = 0 ; i < isNullArray.length ; i++,index++ ) {
+        if ( isNullArray[i]  ) {
+          allocator.setNull( index );
+        } else {
+          allocator.setFloat( index , dicArray[indexReader.getInt()] );
+        }
+      }
+    } finally {
+      CompressBuffer.release( buffer );
     }
   }
 
@@ -292,6 +299,7 @@ public class OptimizedNullArrayFloatColumnBinaryMaker implements IColumnBinaryMa
     Float max = Float.valueOf( wrapBuffer.getFloat() );
     BlockIndexNode currentNode = parentNode.getChildNode( columnBinary.columnName );
     currentNode.setBlockIndex( new FloatRangeBlockIndex( min , max ) );
+    currentNode.setNullCount( columnBinary.nullCount , columnBinary.rowCount );
   }
 
   public class ColumnManager implements IColumnManager {
@@ -313,7 +321,7 @@ public class OptimizedNullArrayFloatColumnBinaryMaker implements IColumnBinaryMa
       int start = columnBinary.binaryStart + ( Float.BYTES * 2 );
       int length = columnBinary.binaryLength - ( Float.BYTES * 2 );
 
-      ICompressor compressor = FindCompressor.get( columnBinary.compressorClassName );
+      ICompressor compressor = columnBinary.getCompressor();
       byte[] binary = compressor.decompress( columnBinary.binary , start , length );
 
       ByteBuffer wrapBuffer = ByteBuffer.wrap( binary , 0 , binary.length );
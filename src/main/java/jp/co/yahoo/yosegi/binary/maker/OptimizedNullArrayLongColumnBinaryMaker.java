@@ -24,9 +24,10 @@ import jp.co.yahoo.yosegi.binary.ColumnBinaryMakerCustomConfigNode;
 import jp.co.yahoo.yosegi.binary.CompressResultNode;
 import jp.co.yahoo.yosegi.binary.maker.index.RangeLongIndex;
 import jp.co.yahoo.yosegi.blockindex.BlockIndexNode;
+import jp.co.yahoo.yosegi.blockindex.BloomFilterBlockIndex;
 import jp.co.yahoo.yosegi.blockindex.LongRangeBlockIndex;
+import jp.co.yahoo.yosegi.compressor.CompressBuffer;
 import jp.co.yahoo.yosegi.compressor.CompressResult;
-import jp.co.yahoo.yosegi.compressor.FindCompressor;
 import jp.co.yahoo.yosegi.compressor.ICompressor;
 import jp.co.yahoo.yosegi.inmemory.IDictionary;
 import jp.co.yahoo.yosegi.inmemory.IMemoryAllocator;
@@ -45,6 +46,7 @@ import jp.co.yahoo.yosegi.spread.column.ICell;
 import jp.co.yahoo.yosegi.spread.column.IColumn;
 import jp.co.yahoo.yosegi.spread.column.PrimitiveCell;
 import jp.co.yahoo.yosegi.spread.column.PrimitiveColumn;
+import jp.co.yahoo.yosegi.util.ByteArrayData;
 import jp.co.yahoo.yosegi.util.DetermineMinMax;
 import jp.co.yahoo.yosegi.util.DetermineMinMaxFactory;
 import jp.co.yahoo.yosegi.util.io.IReadSupporter;
@@ -197,17 +199,14 @@ public class OptimizedNullArrayLongColumnBinaryMaker implements IColumnBinaryMak
         "c0"  ,
         currentConfig.compressionPolicy ,
         currentConfig.allowedRatio );
-    byte[] compressBinary = currentConfig.compressorClass.compress(
-        binaryRaw , 0 , binaryRaw.length , compressResult );
-
-    byte[] binary = new byte[ Long.BYTES * 2 + compressBinary.length ];
+    byte[] binary = currentConfig.compressorClass.compressWithHeader(
+        binaryRaw , 0 , binaryRaw.length , Long.BYTES * 2 , compressResult );
 
     wrapBuffer = ByteBuffer.wrap( binary , 0 , binary.length );
     wrapBuffer.putLong( detemineMinMax.getMin() );
     wrapBuffer.putLong( detemineMinMax.getMax() );
-    wrapBuffer.put( compressBinary );
 
-    return new ColumnBinary(
+    ColumnBinary result = new ColumnBinary(
         this.getClass().getName() ,
         currentConfig.compressorClass.getClass().getName() ,
         column.getColumnName() ,
@@ -220,6 +219,8 @@ public class OptimizedNullArrayLongColumnBinaryMaker implements IColumnBinaryMak
         0 ,
         binary.length ,
         null );
+    result.nullCount = column.size() - rowCount;
+    return result;
   }
 
   @Override
@@ -302,49 +303,56 @@ public class OptimizedNullArrayLongColumnBinaryMaker implements IColumnBinaryMak
     int start = columnBinary.binaryStart + ( Long.BYTES * 2 );
     int length = columnBinary.binaryLength - ( Long.BYTES * 2 );
 
-    ICompressor compressor = FindCompressor.get( columnBinary.compressorClassName );
-    byte[] binary = compressor.decompress( columnBinary.binary , start , length );
+    ICompressor compressor = columnBinary.getCompressor();
+    ByteArrayData buffer = CompressBuffer.acquire();
+    try {
+      int binaryLength = compressor.decompressAndSet(
+          ByteBuffer.wrap( columnBinary.binary , start , length ) , buffer );
+      byte[] binary = buffer.getBytes();
 
-    ByteBuffer wrapBuffer = ByteBuffer.wrap( binary , 0 , binary.length );
+      ByteBuffer wrapBuffer = ByteBuffer.wrap( binary , 0 , binaryLength );
 
-    ByteOrder order = wrapBuffer.get() == (byte)0
-        ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN;
-    int startIndex = wrapBuffer.getInt();
-    final int rowCount = wrapBuffer.getInt();
-    int dicSize = wrapBuffer.getInt();
-    int nullIndexLength = wrapBuffer.getInt();
-    int indexLength = wrapBuffer.getInt();
+      ByteOrder order = wrapBuffer.get() == (byte)0
+          ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN;
+      int startIndex = wrapBuffer.getInt();
+      final int rowCount = wrapBuffer.getInt();
+      int dicSize = wrapBuffer.getInt();
+      int nullIndexLength = wrapBuffer.getInt();
+      int indexLength = wrapBuffer.getInt();
 
-    NumberToBinaryUtils.IIntConverter indexConverter =
-        NumberToBinaryUtils.getIntConverter( 0 , dicSize );
+      NumberToBinaryUtils.IIntConverter indexConverter =
+          NumberToBinaryUtils.getIntConverter( 0 , dicSize );
 
-    boolean[] isNullArray =
-        NullBinaryEncoder.toIsNullArray( binary , META_LENGTH , nullIndexLength );
+      boolean[] isNullArray =
+          NullBinaryEncoder.toIsNullArray( binary , META_LENGTH , nullIndexLength );
 
-    INumEncoder dicEncoder =
-        NumEncoderUtil.createEncoder( min , max );
-    IDictionary dic = allocator.createDictionary( dicSize );
-    dicEncoder.setDictionary(
-        binary ,
-        META_LENGTH + nullIndexLength + indexLength,
-        dicSize,
-        order,
-        dic );
+      INumEncoder dicEncoder =
+          NumEncoderUtil.createEncoder( min , max );
+      IDictionary dic = allocator.createDictionary( dicSize );
+      dicEncoder.setDictionary(
+          binary ,
+          META_LENGTH + nullIndexLength + indexLength,
+          dicSize,
+          order,
+          dic );
 
-    allocator.setValueCount( startIndex + isNullArray.length );
+      allocator.setValueCount( startIndex + isNullArray.length );
 
-    IReadSupporter indexReader =
-        indexConverter.toReadSupporter( binary , META_LENGTH + nullIndexLength , indexLength );
-    int index = startIndex;
-    for ( ; index < startIndex ; index++ ) {
-      allocator.setNull( index );
-    }
-    for ( int i = 0 ; i < isNullArray.length ; i++,index++ ) {
-      if ( isNullArray[i]  ) {
+      IReadSupporter indexReader =
+          indexConverter.toReadSupporter( binary , META_LENGTH + nullIndexLength , indexLength );
+      int index = startIndex;
+      for ( ; index < startIndex ; index++ ) {
         allocator.setNull( index );
-      } else {
-        allocator.setFromDictionary( index , indexReader.getInt() , dic );
       }
+      for ( int i = 0 ; i < isNullArray.length ; i++,index++ ) {
+        if ( isNullArray[i]  ) {
+          allocator.setNull( index );
+        } else {
+          allocator.setFromDictionary( index , indexReader.getInt() , dic );
+        }
+      }
+    } finally {
+      CompressBuffer.release( buffer );
     }
   }
 
@@ -358,7 +366,8 @@ public class OptimizedNullArrayLongColumnBinaryMaker implements IColumnBinaryMak
     Long min = Long.valueOf( wrapBuffer.getLong() );
     Long max = Long.valueOf( wrapBuffer.getLong() );
     BlockIndexNode currentNode = parentNode.getChildNode( columnBinary.columnName );
-    currentNode.setBlockIndex( new LongRangeBlockIndex( min , max ) );
+    setRangeBlockIndex( currentNode , new LongRangeBlockIndex( min , max ) ,
+        BloomFilterBlockIndex.NUMBER_VALUE , columnBinary , spreadIndex );
   }
 
   public class ColumnManager implements IColumnManager {
@@ -386,7 +395,7 @@ public class OptimizedNullArrayLongColumnBinaryMaker implements IColumnBinaryMak
       int start = columnBinary.binaryStart + ( Long.BYTES * 2 );
       int length = columnBinary.binaryLength - ( Long.BYTES * 2 );
 
-      ICompressor compressor = FindCompressor.get( columnBinary.compressorClassName );
+      ICompressor compressor = columnBinary.getCompressor();
       byte[] binary = compressor.decompress( columnBinary.binary , start , length );
 
       ByteBuffer wrapBuffer = ByteBuffer.wrap( binary , 0 , binary.length );
@@ -24,9 +24,9 @@ import jp.co.yahoo.yosegi.binary.ColumnBinaryMakerCustomConfigNode;
 import jp.co.yahoo.yosegi.binary.CompressResultNode;
 import jp.co.yahoo.yosegi.binary.maker.index.RangeStringIndex;
 import jp.co.yahoo.yosegi.blockindex.BlockIndexNode;
+import jp.co.yahoo.yosegi.blockindex.BloomFilterBlockIndex;
 import jp.co.yahoo.yosegi.blockindex.StringRangeBlockIndex;
 import jp.co.yahoo.yosegi.compressor.CompressResult;
-import jp.co.yahoo.yosegi.compressor.FindCompressor;
 import jp.co.yahoo.yosegi.compressor.ICompressor;
 import jp.co.yahoo.yosegi.inmemory.IDictionary;
 import jp.co.yahoo.yosegi.inmemory.IMemoryAllocator;
@@ -207,14 +207,12 @@ public class OptimizedNullArrayStringColumnBinaryMaker implements IColumnBinaryM
         "c0"  ,
         currentConfig.compressionPolicy ,
         currentConfig.allowedRatio );
-    byte[] compressBinary = currentConfig.compressorClass.compress(
-        binaryRaw , 0 , binaryRaw.length , compressResult );
-
     int minCharLength = Character.BYTES * detemineMinMax.getMin().length();
     int maxCharLength = Character.BYTES * detemineMinMax.getMax().length();
     int headerSize = Integer.BYTES + minCharLength + Integer.BYTES + maxCharLength;
 
-    byte[] binary = new byte[headerSize + compressBinary.length];
+    byte[] binary = currentConfig.compressorClass.compressWithHeader(
+        binaryRaw , 0 , binaryRaw.length , headerSize , compressResult );
     wrapBuffer = ByteBuffer.wrap( binary , 0 , binary.length );
     ByteBuffer binaryWrapBuffer = ByteBuffer.wrap( binary );
     binaryWrapBuffer.putInt( minCharLength );
@@ -223,9 +221,8 @@ public class OptimizedNullArrayStringColumnBinaryMaker implements IColumnBinaryM
     binaryWrapBuffer.putInt( maxCharLength );
     binaryWrapBuffer.asCharBuffer().put( detemineMinMax.getMax() );
     binaryWrapBuffer.position( binaryWrapBuffer.position() + maxCharLength );
-    binaryWrapBuffer.put( compressBinary );
 
-    return new ColumnBinary(
+    ColumnBinary result = new ColumnBinary(
         this.getClass().getName() ,
         currentConfig.compressorClass.getClass().getName() ,
         column.getColumnName() ,
@@ -238,6 +235,8 @@ public class OptimizedNullArrayStringColumnBinaryMaker implements IColumnBinaryM
         0 ,
         binary.length ,
         null );
+    result.nullCount = column.size() - rowCount;
+    return result;
   }
 
   @Override
@@ -316,7 +315,7 @@ public class OptimizedNullArrayStringColumnBinaryMaker implements IColumnBinaryM
 
     int headerSize = Integer.BYTES + minBinaryLength + Integer.BYTES + maxBinaryLength;
 
-    ICompressor compressor = FindCompressor.get( columnBinary.compressorClassName );
+    ICompressor compressor = columnBinary.getCompressor();
     byte[] binary = compressor.decompress(
         columnBinary.binary ,
         columnBinary.binaryStart + headerSize ,
@@ -398,7 +397,8 @@ public class OptimizedNullArrayStringColumnBinaryMaker implements IColumnBinaryM
     String max = new String( maxCharArray );
 
     BlockIndexNode currentNode = parentNode.getChildNode( columnBinary.columnName );
-    currentNode.setBlockIndex( new StringRangeBlockIndex( min , max ) );
+    setRangeBlockIndex( currentNode , new StringRangeBlockIndex( min , max ) ,
+        BloomFilterBlockIndex.STRING_VALUE , columnBinary , spreadIndex );
   }
 
   public class ColumnManager implements IColumnManager {
@@ -426,7 +426,7 @@ public class OptimizedNullArrayStringColumnBinaryMaker implements IColumnBinaryM
       if ( isCreate ) {
         return;
       }
-      ICompressor compressor = FindCompressor.get( columnBinary.compressorClassName );
+      ICompressor compressor = columnBinary.getCompressor();
       byte[] binary = compressor.decompress( columnBinary.binary , binaryStart , binaryLength );
       ByteBuffer wrapBuffer = ByteBuffer.wrap( binary , 0 , binary.length );
 
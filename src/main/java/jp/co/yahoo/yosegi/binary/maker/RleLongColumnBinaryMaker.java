@@ -24,9 +24,10 @@ import jp.co.yahoo.yosegi.binary.ColumnBinaryMakerCustomConfigNode;
 import jp.co.yahoo.yosegi.binary.CompressResultNode;
 import jp.co.yahoo.yosegi.binary.maker.index.RangeLongIndex;
 import jp.co.yahoo.yosegi.blockindex.BlockIndexNode;
+import jp.co.yahoo.yosegi.blockindex.BloomFilterBlockIndex;
 import jp.co.yahoo.yosegi.blockindex.LongRangeBlockIndex;
+import jp.co.yahoo.yosegi.compressor.CompressBuffer;
 import jp.co.yahoo.yosegi.compressor.CompressResult;
-import jp.co.yahoo.yosegi.compressor.FindCompressor;
 import jp.co.yahoo.yosegi.compressor.ICompressor;
 import jp.co.yahoo.yosegi.inmemory.IDictionary;
 import jp.co.yahoo.yosegi.inmemory.IMemoryAllocator;
@@ -42,15 +43,14 @@ import jp.co.yahoo.yosegi.spread.column.ICell;
 import jp.co.yahoo.yosegi.spread.column.IColumn;
 import jp.co.yahoo.yosegi.spread.column.PrimitiveCell;
 import jp.co.yahoo.yosegi.spread.column.PrimitiveColumn;
-import jp.co.yahoo.yosegi.util.DetermineMinMax;
-import jp.co.yahoo.yosegi.util.DetermineMinMaxFactory;
+import jp.co.yahoo.yosegi.util.ByteArrayData;
 import jp.co.yahoo.yosegi.util.io.IReadSupporter;
 import jp.co.yahoo.yosegi.util.io.IWriteSupporter;
 import jp.co.yahoo.yosegi.util.io.NumberToBinaryUtils;
 import jp.co.yahoo.yosegi.util.io.diffencoder.INumEncoder;
 import jp.co.yahoo.yosegi.util.io.diffencoder.NumEncoderUtil;
 import jp.co.yahoo.yosegi.util.io.nullencoder.NullBinaryEncoder;
-import jp.co.yahoo.yosegi.util.io.rle.RleConverter;
+import jp.co.yahoo.yosegi.util.io.rle.LongRleConverter;
 
 import java.io.IOException;
 import java.io.UncheckedIOException;
@@ -82,7 +82,8 @@ public class RleLongColumnBinaryMaker implements IColumnBinaryMaker {
     }
     boolean[] isNullArray = new boolean[column.size()];
 
-    DetermineMinMax<Long> detemineMinMax = DetermineMinMaxFactory.createLong();
+    long min = Long.MAX_VALUE;
+    long max = Long.MIN_VALUE;
     int rowCount = 0;
     int nullCount = 0;
     int nullMaxIndex = 0;
@@ -96,7 +97,7 @@ public class RleLongColumnBinaryMaker implements IColumnBinaryMaker {
       }
     }
 
-    RleConverter<Long> rleConverter = null;
+    LongRleConverter rleConverter = null;
     for ( int i = startIndex,arrayIndex = 0 ; i < column.size() ; i++,arrayIndex++ ) {
       ICell cell = column.get(i);
       if ( cell.getType() == ColumnType.NULL ) {
@@ -107,10 +108,15 @@ public class RleLongColumnBinaryMaker implements IColumnBinaryMaker {
       }
       notNullMaxIndex = arrayIndex;
       PrimitiveObject primitiveObj = ( (PrimitiveCell) cell).getRow();
-      Long target = Long.valueOf( primitiveObj.getLong() );
-      detemineMinMax.set( target );
+      long target = primitiveObj.getLong();
+      if ( target < min ) {
+        min = target;
+      }
+      if ( max < target ) {
+        max = target;
+      }
       if ( rleConverter == null ) {
-        rleConverter = new RleConverter<Long>( target , new Long[column.size()] );
+        rleConverter = new LongRleConverter( target , new long[column.size()] );
       }
       rleConverter.add( target );
       rowCount++;
@@ -126,7 +132,7 @@ public class RleLongColumnBinaryMaker implements IColumnBinaryMaker {
     int lengthBinaryLength = lengthEncoder.calcBinarySize( rleConverter.getRowGroupCount() );
 
     INumEncoder valueEncoder =
-        NumEncoderUtil.createEncoder( detemineMinMax.getMin() , detemineMinMax.getMax() );
+        NumEncoderUtil.createEncoder( min , max );
     int valueLength = valueEncoder.calcBinarySize( rleConverter.getRowGroupCount() );
 
     byte[] binaryRaw = new byte[ META_LENGTH + nullIndexLength + lengthBinaryLength + valueLength ];
@@ -171,17 +177,14 @@ public class RleLongColumnBinaryMaker implements IColumnBinaryMaker {
         "c0"  ,
         currentConfig.compressionPolicy ,
         currentConfig.allowedRatio );
-    byte[] compressBinary = currentConfig.compressorClass.compress(
-        binaryRaw , 0 , binaryRaw.length , compressResult );
-
-    byte[] binary = new byte[ Long.BYTES * 2 + compressBinary.length ];
+    byte[] binary = currentConfig.compressorClass.compressWithHeader(
+        binaryRaw , 0 , binaryRaw.length , Long.BYTES * 2 , compressResult );
 
     wrapBuffer = ByteBuffer.wrap( binary , 0 , binary.length );
-    wrapBuffer.putLong( detemineMinMax.getMin() );
-    wrapBuffer.putLong( detemineMinMax.getMax() );
-    wrapBuffer.put( compressBinary );
+    wrapBuffer.putLong( min );
+    wrapBuffer.putLong( max );
 
-    return new ColumnBinary(
+    ColumnBinary result = new ColumnBinary(
         this.getClass().getName() ,
         currentConfig.compressorClass.getClass().getName() ,
         column.getColumnName() ,
@@ -194,6 +197,8 @@ public class RleLongColumnBinaryMaker implements IColumnBinaryMaker {
         0 ,
         binary.length ,
         null );
+    result.nullCount = column.size() - rowCount;
+    return result;
   }
 
   @Override
@@ -279,56 +284,68 @@ public class RleLongColumnBinaryMaker implements IColumnBinaryMaker {
     int start = columnBinary.binaryStart + ( Long.BYTES * 2 );
     int length = columnBinary.binaryLength - ( Long.BYTES * 2 );
 
-    ICompressor compressor = FindCompressor.get( columnBinary.compressorClassName );
-    byte[] binary = compressor.decompress( columnBinary.binary , start , length );
+    ICompressor compressor = columnBinary.getCompressor();
+    ByteArrayData buffer = CompressBuffer.acquire();
+    try {
+      int binaryLength = compressor.decompressAndSet(
+          ByteBuffer.wrap( columnBinary.binary , start , length ) , buffer );
+      byte[] binary = buffer.getBytes();
 
-    ByteBuffer wrapBuffer = ByteBuffer.wrap( binary , 0 , binary.length );
+      ByteBuffer wrapBuffer = ByteBuffer.wrap( binary , 0 , binaryLength );
 
-    ByteOrder order = wrapBuffer.get() == (byte)0
-        ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN;
-    int startIndex = wrapBuffer.getInt();
-    int rowCount = wrapBuffer.getInt();
-    int rowGroupCount = wrapBuffer.getInt();
-    int maxRowGroupCount = wrapBuffer.getInt();
-    int nullIndexLength = wrapBuffer.getInt();
-    int lengthBinarySize = wrapBuffer.getInt();
-    int valueBinaryLength = binary.length - META_LENGTH - nullIndexLength - lengthBinarySize;
+      ByteOrder order = wrapBuffer.get() == (byte)0
+          ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN;
+      int startIndex = wrapBuffer.getInt();
+      int rowCount = wrapBuffer.getInt();
+      int rowGroupCount = wrapBuffer.getInt();
+      int maxRowGroupCount = wrapBuffer.getInt();
+      int nullIndexLength = wrapBuffer.getInt();
+      int lengthBinarySize = wrapBuffer.getInt();
+      int valueBinaryLength = binaryLength - META_LENGTH - nullIndexLength - lengthBinarySize;
 
-    boolean[] isNullArray =
-        NullBinaryEncoder.toIsNullArray( binary , META_LENGTH , nullIndexLength );
+      boolean[] isNullArray =
+          NullBinaryEncoder.toIsNullArray( binary , META_LENGTH , nullIndexLength );
 
-    allocator.setValueCount( startIndex + isNullArray.length );
+      allocator.setValueCount( startIndex + isNullArray.length );
 
-    for ( int index = 0 ; index < startIndex ; index++ ) {
-      allocator.setNull( index );
-    }
-    NumberToBinaryUtils.IIntConverter lengthEncoder =
-        NumberToBinaryUtils.getIntConverter( 0 , maxRowGroupCount );
-    IReadSupporter lengthReader = lengthEncoder.toReadSupporter(
-        binary , 
-        META_LENGTH + nullIndexLength , 
-        lengthBinarySize );
+      for ( int index = 0 ; index < startIndex ; index++ ) {
+        allocator.setNull( index );
+      }
+      NumberToBinaryUtils.IIntConverter lengthEncoder =
+          NumberToBinaryUtils.getIntConverter( 0 , maxRowGroupCount );
+      IReadSupporter lengthReader = lengthEncoder.toReadSupporter(
+          binary , 
+          META_LENGTH + nullIndexLength , 
+          lengthBinarySize );
 
-    INumEncoder valueEncoder =
-        NumEncoderUtil.createEncoder( min , max );
-    IDictionary dic = allocator.createDictionary( rowGroupCount );
-    valueEncoder.setDictionary(
-        binary,
-        META_LENGTH + nullIndexLength + lengthBinarySize,
-        rowGroupCount,
-        order, 
-        dic );
-    int index = 0;
-    for ( int i = 0 ; i < rowGroupCount ; i++ ) {
-      int valueLength = lengthReader.getInt();
-      for ( int n = 0 ; n < valueLength ; index++ ) {
-        if ( isNullArray[index] ) {
-          allocator.setNull( index + startIndex );
-          continue;
+      INumEncoder valueEncoder =
+          NumEncoderUtil.createEncoder( min , max );
+      IDictionary dic = allocator.createDictionary( rowGroupCount );
+      valueEncoder.setDictionary(
+          binary,
+          META_LENGTH + nullIndexLength + lengthBinarySize,
+          rowGroupCount,
+          order, 
+          dic );
+      int index = 0;
+      for ( int i = 0 ; i < rowGroupCount ; i++ ) {
+        int remaining = lengthReader.getInt();
+        while ( 0 < remaining ) {
+          if ( isNullArray[index] ) {
+            allocator.setNull( index + startIndex );
+            index++;
+            continue;
+          }
+          int runStart = index;
+          while ( 0 < remaining && ! isNullArray[index] ) {
+            index++;
+            remaining--;
+          }
+          allocator.setRunFromDictionary( runStart + startIndex , index - runStart , i , dic );
         }
-        allocator.setFromDictionary( index + startIndex , i , dic );
-        n++;
       }
+    } finally {
+      CompressBuffer.release( buffer );
     }
   }
 
@@ -342,7 +359,8 @@ public class RleLongColumnBinaryMaker implements IColumnBinaryMaker {
     Long min = Long.valueOf( wrapBuffer.getLong() );
     Long max = Long.valueOf( wrapBuffer.getLong() );
     BlockIndexNode currentNode = parentNode.getChildNode( columnBinary.columnName );
-    currentNode.setBlockIndex( new LongRangeBlockIndex( min , max ) );
+    setRangeBlockIndex( currentNode , new LongRangeBlockIndex( min , max ) ,
+        BloomFilterBlockIndex.NUMBER_VALUE , columnBinary , spreadIndex );
   }
 
   public class ColumnManager implements IColumnManager {
@@ -373,7 +391,7 @@ public class RleLongColumnBinaryMaker implements IColumnBinaryMaker {
       int start = columnBinary.binaryStart + ( Long.BYTES * 2 );
       int length = columnBinary.binaryLength - ( Long.BYTES * 2 );
 
-      ICompressor compressor = FindCompressor.get( columnBinary.compressorClassName );
+      ICompressor compressor = columnBinary.getCompressor();
       byte[] binary = compressor.decompress( columnBinary.binary , start , length );
 
       ByteBuffer wrapBuffer = ByteBuffer.wrap( binary , 0 , binary.length );
@@ -407,21 +425,19 @@ public class RleLongColumnBinaryMaker implements IColumnBinaryMaker {
           rowGroupCount,
           order );
 
-      PrimitiveObject[] columnArray = new PrimitiveObject[isNullArray.length];
-      int index = 0;
+      int[] rowGroupLengthArray = new int[rowGroupCount];
       for ( int i = 0 ; i < rowGroupCount ; i++ ) {
-        int valueLength = lengthReader.getInt();
-        for ( int n = 0 ; n < valueLength ; index++ ) {
-          if ( ! isNullArray[index] ) {
-            columnArray[index] = valueArray[i];
-            n++;
-          }
-        }
+        rowGroupLengthArray[i] = lengthReader.getInt();
       }
 
       column = new PrimitiveColumn( columnBinary.columnType , columnBinary.columnName );
-      column.setCellManager( new OptimizedNullArrayCellManager(
-          columnBinary.columnType , startIndex , columnArray ) );
+      column.setCellManager( RunLengthCellManager.create(
+          columnBinary.columnType ,
+          startIndex ,
+          isNullArray ,
+          rowGroupCount ,
+          rowGroupLengthArray ,
+          valueArray ) );
 
       isCreate = true;
     }
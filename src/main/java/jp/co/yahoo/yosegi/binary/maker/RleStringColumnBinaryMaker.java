@@ -25,9 +25,9 @@ import jp.co.yahoo.yosegi.binary.CompressResultNode;
 import jp.co.yahoo.yosegi.binary.maker.index.RangeStringIndex;
 import jp.co.yahoo.yosegi.binary.maker.index.SequentialStringCellIndex;
 import jp.co.yahoo.yosegi.blockindex.BlockIndexNode;
+import jp.co.yahoo.yosegi.blockindex.BloomFilterBlockIndex;
 import jp.co.yahoo.yosegi.blockindex.StringRangeBlockIndex;
 import jp.co.yahoo.yosegi.compressor.CompressResult;
-import jp.co.yahoo.yosegi.compressor.FindCompressor;
 import jp.co.yahoo.yosegi.compressor.ICompressor;
 import jp.co.yahoo.yosegi.inmemory.IDictionary;
 import jp.co.yahoo.yosegi.inmemory.IMemoryAllocator;
@@ -233,14 +233,12 @@ public class RleStringColumnBinaryMaker implements IColumnBinaryMaker {
         "c0"  ,
         currentConfig.compressionPolicy ,
         currentConfig.allowedRatio );
-    byte[] compressBinaryRaw = currentConfig.compressorClass.compress(
-        binaryRaw , 0 , binaryRaw.length , compressResult );
-
     int minCharLength = Character.BYTES * detemineMinMax.getMin().length();
     int maxCharLength = Character.BYTES * detemineMinMax.getMax().length();
     int headerSize = Integer.BYTES + minCharLength + Integer.BYTES + maxCharLength;
 
-    byte[] binary = new byte[headerSize + compressBinaryRaw.length];
+    byte[] binary = currentConfig.compressorClass.compressWithHeader(
+        binaryRaw , 0 , binaryRaw.length , headerSize , compressResult );
     ByteBuffer binaryWrapBuffer = ByteBuffer.wrap( binary );
     binaryWrapBuffer.putInt( minCharLength );
     binaryWrapBuffer.asCharBuffer().put( detemineMinMax.getMin() );
@@ -248,9 +246,8 @@ public class RleStringColumnBinaryMaker implements IColumnBinaryMaker {
     binaryWrapBuffer.putInt( maxCharLength );
     binaryWrapBuffer.asCharBuffer().put( detemineMinMax.getMax() );
     binaryWrapBuffer.position( binaryWrapBuffer.position() + maxCharLength );
-    binaryWrapBuffer.put( compressBinaryRaw );
 
-    return new ColumnBinary(
+    ColumnBinary result = new ColumnBinary(
         this.getClass().getName() ,
         currentConfig.compressorClass.getClass().getName() ,
         column.getColumnName() ,
@@ -263,6 +260,8 @@ public class RleStringColumnBinaryMaker implements IColumnBinaryMaker {
         0 ,
         binary.length ,
         null );
+    result.nullCount = column.size() - rowCount;
+    return result;
   }
 
   @Override
@@ -344,7 +343,7 @@ public class RleStringColumnBinaryMaker implements IColumnBinaryMaker {
     headerWrapBuffer.position( headerWrapBuffer.position() + maxCharLength );
     int headerSize = Integer.BYTES + minCharLength + Integer.BYTES + maxCharLength;
 
-    ICompressor compressor = FindCompressor.get( columnBinary.compressorClassName );
+    ICompressor compressor = columnBinary.getCompressor();
     byte[] binary = compressor.decompress(
         columnBinary.binary ,
         columnBinary.binaryStart + headerSize ,
@@ -391,16 +390,21 @@ public class RleStringColumnBinaryMaker implements IColumnBinaryMaker {
     }
     int index = 0;
     for ( int i = 0 ; i < rowGroupCount ; i++ ) {
-      int rowGroupLength = rowGroupLengthReader.getInt();
+      int remaining = rowGroupLengthReader.getInt();
       int binaryLength = lengthReader.getInt();
       dic.setBytes( i , binary , currentStart , binaryLength );
-      for ( int n = 0 ; n < rowGroupLength ; index++ ) {
+      while ( 0 < remaining ) {
         if ( isNullArray[index] ) {
           allocator.setNull( index + startIndex );
+          index++;
           continue;
         }
-        allocator.setFromDictionary( index + startIndex , i , dic );
-        n++;
+        int runStart = index;
+        while ( 0 < remaining && ! isNullArray[index] ) {
+          index++;
+          remaining--;
+        }
+        allocator.setRunFromDictionary( runStart + startIndex , index - runStart , i , dic );
       }
       currentStart += binaryLength;
     }
@@ -427,7 +431,8 @@ public class RleStringColumnBinaryMaker implements IColumnBinaryMaker {
     String max = new String( maxCharArray );
 
     BlockIndexNode currentNode = parentNode.getChildNode( columnBinary.columnName );
-    currentNode.setBlockIndex( new StringRangeBlockIndex( min , max ) );
+    setRangeBlockIndex( currentNode , new StringRangeBlockIndex( min , max ) ,
+        BloomFilterBlockIndex.STRING_VALUE , columnBinary , spreadIndex );
   }
 
   public class StringColumnManager implements IColumnManager {
@@ -454,7 +459,7 @@ public class RleStringColumnBinaryMaker implements IColumnBinaryMaker {
       if ( isCreate ) {
         return;
       }
-      ICompressor compressor = FindCompressor.get( columnBinary.compressorClassName );
+      ICompressor compressor = columnBinary.getCompressor();
       byte[] binary = compressor.decompress( columnBinary.binary , binaryStart , binaryLength );
       ByteBuffer wrapBuffer = ByteBuffer.wrap( binary , 0 , binary.length );
       ByteOrder order =
@@ -468,7 +473,7 @@ public class RleStringColumnBinaryMaker implements IColumnBinaryMaker {
       int rowGroupBinaryLength = wrapBuffer.getInt();
       int lengthBinaryLength = wrapBuffer.getInt();
 
-      boolean[] isNullArray =
+      final boolean[] isNullArray =
           NullBinaryEncoder.toIsNullArray( binary , META_LENGTH , nullLength );
 
       NumberToBinaryUtils.IIntConverter rowGroupLengthConverter =
@@ -489,26 +494,24 @@ public class RleStringColumnBinaryMaker implements IColumnBinaryMaker {
             META_LENGTH + nullLength + rowGroupBinaryLength ,
             lengthBinaryLength );
       }
-      int[] dicIndexArray = new int[isNullArray.length];
+      int[] rowGroupLengthArray = new int[rowGroupCount];
       PrimitiveObject[] dicArray = new PrimitiveObject[rowGroupCount];
       int currentStart = META_LENGTH + nullLength + rowGroupBinaryLength + lengthBinaryLength;
-      int index = 0;
       for ( int i = 0 ; i < rowGroupCount ; i++ ) {
-        int rowGroupLength = rowGroupLengthReader.getInt();
+        rowGroupLengthArray[i] = rowGroupLengthReader.getInt();
         int binaryLength = lengthReader.getInt();
         dicArray[i] = new Utf8BytesLinkObj( binary , currentStart , binaryLength );
-        for ( int n = 0 ; n < rowGroupLength ; index++ ) {
-          if ( ! isNullArray[index] ) {
-            dicIndexArray[index] = i;
-            n++;
-          }
-        }
         currentStart += binaryLength;
       }
 
       column = new PrimitiveColumn( columnBinary.columnType , columnBinary.columnName );
-      column.setCellManager( new OptimizedNullArrayDicCellManager(
-          columnBinary.columnType , startIndex , isNullArray , dicIndexArray , dicArray ) );
+      column.setCellManager( RunLengthCellManager.create(
+          columnBinary.columnType ,
+          startIndex ,
+          isNullArray ,
+          rowGroupCount ,
+          rowGroupLengthArray ,
+          dicArray ) );
       isCreate = true;
     }
 
@@ -0,0 +1,267 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.co.yahoo.yosegi.binary.maker;
+
+import jp.co.yahoo.yosegi.binary.maker.index.RunLengthCellIndex;
+import jp.co.yahoo.yosegi.inmemory.IMemoryAllocator;
+import jp.co.yahoo.yosegi.message.objects.PrimitiveObject;
+import jp.co.yahoo.yosegi.spread.column.CellMakerFactory;
+import jp.co.yahoo.yosegi.spread.column.ColumnType;
+import jp.co.yahoo.yosegi.spread.column.ICell;
+import jp.co.yahoo.yosegi.spread.column.ICellMaker;
+import jp.co.yahoo.yosegi.spread.column.ICellManager;
+import jp.co.yahoo.yosegi.spread.column.filter.IFilter;
+import jp.co.yahoo.yosegi.spread.column.index.ICellIndex;
+import jp.co.yahoo.yosegi.spread.expression.IExpressionIndex;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+
+public class RunLengthCellManager implements ICellManager<ICell> {
+
+  private final ColumnType columnType;
+  private final ICellMaker cellMaker;
+  private final int size;
+  private final int runCount;
+  private final int[] runStartArray;
+  private final int[] runLengthArray;
+  private final int[] runValueIndexArray;
+  private final PrimitiveObject[] valueArray;
+
+  private ICellIndex index;
+  private int lastRun;
+
+  /**
+   * Run i has runLengthArray[i] rows from runStartArray[i] whose value is
+   * valueArray[runValueIndexArray[i]]. Rows outside the runs are null.
+   */
+  public RunLengthCellManager(
+      final ColumnType columnType ,
+      final int size ,
+      final int runCount ,
+      final int[] runStartArray ,
+      final int[] runLengthArray ,
+      final int[] runValueIndexArray ,
+      final PrimitiveObject[] valueArray ) throws IOException {
+    this.columnType = columnType;
+    this.size = size;
+    this.runCount = runCount;
+    this.runStartArray = runStartArray;
+    this.runLengthArray = runLengthArray;
+    this.runValueIndexArray = runValueIndexArray;
+    this.valueArray = valueArray;
+    cellMaker = CellMakerFactory.getCellMaker( columnType );
+    index = new RunLengthCellIndex(
+        columnType ,
+        size ,
+        runCount ,
+        runStartArray ,
+        runLengthArray ,
+        runValueIndexArray ,
+        valueArray );
+  }
+
+  /**
+   * Split the row groups of a RLE binary into runs at the null rows.
+   * Row group i has rowGroupLengthArray[i] not null rows whose value is valueArray[i].
+   */
+  public static RunLengthCellManager create(
+      final ColumnType columnType ,
+      final int startIndex ,
+      final boolean[] isNullArray ,
+      final int rowGroupCount ,
+      final int[] rowGroupLengthArray ,
+      final PrimitiveObject[] valueArray ) throws IOException {
+    int[] runStartArray = new int[isNullArray.length];
+    int[] runLengthArray = new int[isNullArray.length];
+    int[] runValueIndexArray = new int[isNullArray.length];
+    int runCount = 0;
+    int index = 0;
+    for ( int i = 0 ; i < rowGroupCount ; i++ ) {
+      int remaining = rowGroupLengthArray[i];
+      while ( 0 < remaining ) {
+        if ( isNullArray[index] ) {
+          index++;
+          continue;
+        }
+        int runStart = index;
+        while ( 0 < remaining && ! isNullArray[index] ) {
+          index++;
+          remaining--;
+        }
+        runStartArray[runCount] = startIndex + runStart;
+        runLengthArray[runCount] = index - runStart;
+        runValueIndexArray[runCount] = i;
+        runCount++;
+      }
+    }
+    return new RunLengthCellManager(
+        columnType ,
+        startIndex + isNullArray.length ,
+        runCount ,
+        runStartArray ,
+        runLengthArray ,
+        runValueIndexArray ,
+        valueArray );
+  }
+
+  private int findRun( final int row ) {
+    int run = lastRun;
+    if ( run < runCount
+        && runStartArray[run] <= row
+        && row < runStartArray[run] + runLengthArray[run] ) {
+      return run;
+    }
+    run++;
+    if ( run < runCount
+        && runStartArray[run] <= row
+        && row < runStartArray[run] + runLengthArray[run] ) {
+      lastRun = run;
+      return run;
+    }
+    run = Arrays.binarySearch( runStartArray , 0 , runCount , row );
+    if ( run < 0 ) {
+      run = -run - 2;
+    }
+    if ( run < 0 || runStartArray[run] + runLengthArray[run] <= row ) {
+      return -1;
+    }
+    lastRun = run;
+    return run;
+  }
+
+  private PrimitiveObject getValue( final int row ) {
+    if ( row < 0 || size <= row ) {
+      return null;
+    }
+    int run = findRun( row );
+    if ( run < 0 ) {
+      return null;
+    }
+    return valueArray[ runValueIndexArray[run] ];
+  }
+
+  @Override
+  public void add( final ICell cell , final int index ) {
+    throw new UnsupportedOperationException( "read only." );
+  }
+
+  @Override
+  public ICell get( final int index , final ICell defaultCell ) {
+    PrimitiveObject value = getValue( index );
+    if ( value == null ) {
+      return defaultCell;
+    }
+    return cellMaker.create( value );
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public void clear() {}
+
+  @Override
+  public void setIndex( final ICellIndex index ) {
+    this.index = index;
+  }
+
+  @Override
+  public boolean[] filter(
+      final IFilter filter , final boolean[] filterArray ) throws IOException {
+    return index.filter( filter , filterArray );
+  }
+
+  @Override
+  public PrimitiveObject[] getPrimitiveObjectArray(
+      final IExpressionIndex indexList ,
+      final int start ,
+      final int length ) {
+    PrimitiveObject[] result = new PrimitiveObject[length];
+    int loopEnd = ( start + length );
+    if ( indexList.size() < loopEnd ) {
+      loopEnd = indexList.size();
+    }
+    for ( int i = start , index = 0 ; i < loopEnd ; i++,index++ ) {
+      result[index] = getValue( indexList.get( i ) );
+    }
+    return result;
+  }
+
+  @Override
+  public void setPrimitiveObjectArray(
+      final IExpressionIndex indexList ,
+      final int start ,
+      final int length ,
+      final IMemoryAllocator allocator ) {
+    int loopEnd = ( start + length );
+    if ( indexList.size() < loopEnd ) {
+      loopEnd = indexList.size();
+    }
+    int index = 0;
+    for ( int i = start ; i < loopEnd ; i++,index++ ) {
+      PrimitiveObject value = getValue( indexList.get( i ) );
+      if ( value == null ) {
+        allocator.setNull( index );
+      } else {
+        try {
+          allocator.setPrimitiveObject( index , value );
+        } catch ( IOException ex ) {
+          throw new UncheckedIOException( ex );
+        }
+      }
+    }
+    for ( int i = index ; i < length ; i++ ) {
+      allocator.setNull( i );
+    }
+  }
+
+  @Override
+  public boolean isRunLength() {
+    return true;
+  }
+
+  @Override
+  public int getRunLengthSize() {
+    return runCount;
+  }
+
+  @Override
+  public int[] getRunLengthStartArray() {
+    return Arrays.copyOf( runStartArray , runCount );
+  }
+
+  @Override
+  public int[] getRunLengthLengthArray() {
+    return Arrays.copyOf( runLengthArray , runCount );
+  }
+
+  @Override
+  public PrimitiveObject[] getRunLengthValueArray() {
+    PrimitiveObject[] result = new PrimitiveObject[runCount];
+    for ( int i = 0 ; i < runCount ; i++ ) {
+      result[i] = valueArray[ runValueIndexArray[i] ];
+    }
+    return result;
+  }
+
+}
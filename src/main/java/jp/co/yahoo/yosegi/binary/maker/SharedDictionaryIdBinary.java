@@ -0,0 +1,261 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.co.yahoo.yosegi.binary.maker;
+
+import jp.co.yahoo.yosegi.binary.ColumnBinary;
+import jp.co.yahoo.yosegi.binary.SharedDictionary;
+import jp.co.yahoo.yosegi.inmemory.IDictionary;
+import jp.co.yahoo.yosegi.inmemory.IMemoryAllocator;
+import jp.co.yahoo.yosegi.spread.column.ColumnType;
+import jp.co.yahoo.yosegi.util.io.bitpack.BitPackBlockEncoder;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * The row ids and the dictionary of the shared dictionary makers.
+ * Id 0 is null and id n is the value n - 1 of the dictionary.
+ *
+ * <p>The binary layout is shown below.
+ * The dictionary is included only when it is owned by the binary.
+ *
+ * <ul>
+ * <li>isShared byte
+ * <li>startIndex int
+ * <li>idCount int
+ * <li>idLength int
+ * <li>ids bit-packed
+ * <li>dictionary
+ * </ul>
+ */
+public class SharedDictionaryIdBinary {
+
+  public static final byte LOCAL = (byte)0;
+  public static final byte SHARED = (byte)1;
+
+  // Metadata layout
+  // isShared, startIndex, idCount, idLength
+  private static final int META_LENGTH = Byte.BYTES + Integer.BYTES * 3;
+
+  private final int startIndex;
+  private final int[] idArray;
+  private final SharedDictionary dictionary;
+
+  /**
+   * Hold the ids of the rows from startIndex and the dictionary they reference.
+   */
+  public SharedDictionaryIdBinary(
+      final int startIndex , final int[] idArray , final SharedDictionary dictionary ) {
+    this.startIndex = startIndex;
+    this.idArray = idArray;
+    this.dictionary = dictionary;
+  }
+
+  /**
+   * Read the binary.
+   * The shared dictionary is used if the binary does not own its dictionary.
+   */
+  public static SharedDictionaryIdBinary createFromBinary(
+      final byte[] binary ,
+      final ColumnType columnType ,
+      final SharedDictionary sharedDictionary ) throws IOException {
+    ByteBuffer wrapBuffer = ByteBuffer.wrap( binary );
+    byte isShared = wrapBuffer.get();
+    int startIndex = wrapBuffer.getInt();
+    int idCount = wrapBuffer.getInt();
+    int idLength = wrapBuffer.getInt();
+
+    int[] idArray = new int[idCount];
+    int[] blockArray = new int[BitPackBlockEncoder.BLOCK_SIZE];
+    int offset = META_LENGTH;
+    for ( int i = 0 ; i < idCount ; i += BitPackBlockEncoder.BLOCK_SIZE ) {
+      int blockLength = Math.min( BitPackBlockEncoder.BLOCK_SIZE , idCount - i );
+      offset = BitPackBlockEncoder.readBlock( binary , offset , blockLength , blockArray );
+      System.arraycopy( blockArray , 0 , idArray , i , blockLength );
+    }
+
+    SharedDictionary dictionary = sharedDictionary;
+    if ( isShared == LOCAL ) {
+      dictionary =
+          SharedDictionary.createFromBinary( columnType , binary , META_LENGTH + idLength );
+    } else if ( sharedDictionary == null ) {
+      throw new IOException( "The shared dictionary of this block is not loaded." );
+    }
+    return new SharedDictionaryIdBinary( startIndex , idArray , dictionary );
+  }
+
+  /**
+   * Get the dictionary that the ids of the binary reference.
+   * If the binary has not been added to a block yet,
+   * a dictionary including the values it will append is created.
+   */
+  public static SharedDictionary getSharedDictionary( final ColumnBinary columnBinary ) {
+    if ( columnBinary.sharedDictionary == null && columnBinary.sharedDictionaryAppend != null ) {
+      return columnBinary.sharedDictionaryAppend.createDictionary();
+    }
+    return columnBinary.sharedDictionary;
+  }
+
+  public int getStartIndex() {
+    return startIndex;
+  }
+
+  public int[] getIdArray() {
+    return idArray;
+  }
+
+  public SharedDictionary getDictionary() {
+    return dictionary;
+  }
+
+  /**
+   * Get the number of the rows including the leading nulls.
+   */
+  public int size() {
+    return startIndex + idArray.length;
+  }
+
+  /**
+   * Get the null flags of the rows from startIndex.
+   */
+  public boolean[] getIsNullArray() {
+    boolean[] result = new boolean[idArray.length];
+    for ( int i = 0 ; i < idArray.length ; i++ ) {
+      result[i] = idArray[i] == 0;
+    }
+    return result;
+  }
+
+  /**
+   * Get the dictionary index of the rows from startIndex.
+   * The index of a null row is 0.
+   */
+  public int[] getDictionaryIndexArray() {
+    int[] result = new int[idArray.length];
+    for ( int i = 0 ; i < idArray.length ; i++ ) {
+      result[i] = Math.max( idArray[i] - 1 , 0 );
+    }
+    return result;
+  }
+
+  /**
+   * Get the ids referenced by the rows in the order of their first row.
+   * The shared dictionary has the values of the whole block,
+   * so the readers copy only these values.
+   */
+  public int[] getReferenceIdArray() {
+    boolean[] isReference = new boolean[ dictionary.size() + 1 ];
+    int[] referenceIdArray = new int[ Math.min( idArray.length , dictionary.size() ) ];
+    int referenceCount = 0;
+    for ( int id : idArray ) {
+      if ( id != 0 && ! isReference[id] ) {
+        isReference[id] = true;
+        referenceIdArray[referenceCount++] = id;
+      }
+    }
+    return Arrays.copyOf( referenceIdArray , referenceCount );
+  }
+
+  /**
+   * Set the rows to the allocator.
+   * The index i of the dictionary is the value of the id referenceIdArray[i].
+   */
+  public void setFromDictionary(
+      final IMemoryAllocator allocator ,
+      final int[] referenceIdArray ,
+      final IDictionary dic ) throws IOException {
+    int[] dicIndexMap = new int[ dictionary.size() + 1 ];
+    for ( int i = 0 ; i < referenceIdArray.length ; i++ ) {
+      dicIndexMap[ referenceIdArray[i] ] = i;
+    }
+    allocator.setValueCount( size() );
+    for ( int i = 0 ; i < startIndex ; i++ ) {
+      allocator.setNull( i );
+    }
+    for ( int i = 0 ; i < idArray.length ; i++ ) {
+      if ( idArray[i] == 0 ) {
+        allocator.setNull( startIndex + i );
+      } else {
+        allocator.setFromDictionary( startIndex + i , dicIndexMap[ idArray[i] ] , dic );
+      }
+    }
+  }
+
+  /**
+   * Replace the dictionary with the given one.
+   * If the dictionary is null, a new dictionary of the referenced values is created.
+   */
+  public SharedDictionaryIdBinary rebind( final SharedDictionary targetDictionary ) {
+    SharedDictionary newDictionary = targetDictionary;
+    if ( newDictionary == null ) {
+      newDictionary = new SharedDictionary( dictionary.getColumnType() );
+    }
+    int[] idMap = new int[ dictionary.size() + 1 ];
+    int[] newIdArray = new int[idArray.length];
+    for ( int i = 0 ; i < idArray.length ; i++ ) {
+      int id = idArray[i];
+      if ( id == 0 ) {
+        continue;
+      }
+      if ( idMap[id] == 0 ) {
+        idMap[id] = newDictionary.add( dictionary.get( id - 1 ) ) + 1;
+      }
+      newIdArray[i] = idMap[id];
+    }
+    return new SharedDictionaryIdBinary( startIndex , newIdArray , newDictionary );
+  }
+
+  /**
+   * Convert to the binary.
+   * If isShared is true, the dictionary is not included.
+   */
+  public byte[] toBinary( final boolean isShared ) {
+    long[] longIdArray = new long[idArray.length];
+    for ( int i = 0 ; i < idArray.length ; i++ ) {
+      longIdArray[i] = idArray[i];
+    }
+    int idLength = BitPackBlockEncoder.calcBinarySize( longIdArray , 0 , longIdArray.length );
+    int dictionaryLength = isShared ? 0 : dictionary.getBinarySize();
+    byte[] binary = new byte[ META_LENGTH + idLength + dictionaryLength ];
+    ByteBuffer wrapBuffer = ByteBuffer.wrap( binary );
+    wrapBuffer.put( isShared ? SHARED : LOCAL );
+    wrapBuffer.putInt( startIndex );
+    wrapBuffer.putInt( idArray.length );
+    wrapBuffer.putInt( idLength );
+    BitPackBlockEncoder.toBinary( longIdArray , 0 , longIdArray.length , binary , META_LENGTH );
+    if ( ! isShared ) {
+      dictionary.toBinary( binary , META_LENGTH + idLength );
+    }
+    return binary;
+  }
+
+  /**
+   * Estimate the binary size of a Spread with its own dictionary.
+   */
+  public static int calcBinarySize(
+      final int idCount , final int uniqCount , final int dictionaryValueLength ) {
+    int bitWidth = Integer.SIZE - Integer.numberOfLeadingZeros( uniqCount );
+    return META_LENGTH
+        + BitPackBlockEncoder.calcBinarySize( idCount , bitWidth )
+        + Integer.BYTES * ( uniqCount + 1 )
+        + dictionaryValueLength;
+  }
+
+}
@@ -0,0 +1,334 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.co.yahoo.yosegi.binary.maker;
+
+import jp.co.yahoo.yosegi.binary.ColumnBinary;
+import jp.co.yahoo.yosegi.binary.ColumnBinaryMakerConfig;
+import jp.co.yahoo.yosegi.binary.ColumnBinaryMakerCustomConfigNode;
+import jp.co.yahoo.yosegi.binary.CompressResultNode;
+import jp.co.yahoo.yosegi.binary.SharedDictionary;
+import jp.co.yahoo.yosegi.binary.SharedDictionaryAppend;
+import jp.co.yahoo.yosegi.binary.maker.index.RangeLongIndex;
+import jp.co.yahoo.yosegi.binary.maker.index.SharedDictionaryCellIndex;
+import jp.co.yahoo.yosegi.blockindex.BlockIndexNode;
+import jp.co.yahoo.yosegi.blockindex.BloomFilterBlockIndex;
+import jp.co.yahoo.yosegi.blockindex.LongRangeBlockIndex;
+import jp.co.yahoo.yosegi.compressor.CompressResult;
+import jp.co.yahoo.yosegi.compressor.ICompressor;
+import jp.co.yahoo.yosegi.inmemory.IDictionary;
+import jp.co.yahoo.yosegi.inmemory.IMemoryAllocator;
+import jp.co.yahoo.yosegi.spread.analyzer.IColumnAnalizeResult;
+import jp.co.yahoo.yosegi.spread.column.ColumnType;
+import jp.co.yahoo.yosegi.spread.column.ICell;
+import jp.co.yahoo.yosegi.spread.column.IColumn;
+import jp.co.yahoo.yosegi.spread.column.PrimitiveCell;
+import jp.co.yahoo.yosegi.spread.column.PrimitiveColumn;
+import jp.co.yahoo.yosegi.util.io.diffencoder.NumEncoderUtil;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * BYTE, SHORT, INTEGER and LONG dictionary maker
+ * whose dictionary can be shared by the Spreads of a block.
+ * When the block writer shares dictionaries, each Spread stores only the ids of the rows.
+ */
+public class SharedDictionaryLongColumnBinaryMaker
+    implements ISharedDictionaryColumnBinaryMaker {
+
+  // Header layout
+  // min, max
+  private static final int HEADER_LENGTH = Long.BYTES * 2;
+
+  private static SharedDictionaryIdBinary decode(
+      final ColumnBinary columnBinary ) throws IOException {
+    ICompressor compressor = columnBinary.getCompressor();
+    byte[] binary = compressor.decompress(
+        columnBinary.binary ,
+        columnBinary.binaryStart + HEADER_LENGTH ,
+        columnBinary.binaryLength - HEADER_LENGTH );
+    return SharedDictionaryIdBinary.createFromBinary(
+        binary ,
+        columnBinary.columnType ,
+        SharedDictionaryIdBinary.getSharedDictionary( columnBinary ) );
+  }
+
+  private static byte[] toBinary(
+      final long min , final long max , final byte[] compressBinary ) {
+    byte[] binary = new byte[ HEADER_LENGTH + compressBinary.length ];
+    ByteBuffer wrapBuffer = ByteBuffer.wrap( binary );
+    wrapBuffer.putLong( min );
+    wrapBuffer.putLong( max );
+    wrapBuffer.put( compressBinary );
+    return binary;
+  }
+
+  @Override
+  public ColumnBinary toBinary(
+      final ColumnBinaryMakerConfig commonConfig ,
+      final ColumnBinaryMakerCustomConfigNode currentConfigNode ,
+      final CompressResultNode compressResultNode ,
+      final IColumn column ) throws IOException {
+    return toBinary(
+        commonConfig , currentConfigNode , compressResultNode , column , null , false );
+  }
+
+  @Override
+  public ColumnBinary toBinary(
+      final ColumnBinaryMakerConfig commonConfig ,
+      final ColumnBinaryMakerCustomConfigNode currentConfigNode ,
+      final CompressResultNode compressResultNode ,
+      final IColumn column ,
+      final SharedDictionary blockDictionary ) throws IOException {
+    return toBinary(
+        commonConfig , currentConfigNode , compressResultNode , column , blockDictionary , true );
+  }
+
+  private ColumnBinary toBinary(
+      final ColumnBinaryMakerConfig commonConfig ,
+      final ColumnBinaryMakerCustomConfigNode currentConfigNode ,
+      final CompressResultNode compressResultNode ,
+      final IColumn column ,
+      final SharedDictionary blockDictionary ,
+      final boolean isShared ) throws IOException {
+    ColumnBinaryMakerConfig currentConfig = commonConfig;
+    if ( currentConfigNode != null ) {
+      currentConfig = currentConfigNode.getCurrentConfig();
+    }
+
+    int startIndex = 0;
+    for ( ; startIndex < column.size() ; startIndex++ ) {
+      if ( column.get( startIndex ).getType() != ColumnType.NULL ) {
+        break;
+      }
+    }
+
+    SharedDictionaryAppend dictionaryAppend =
+        new SharedDictionaryAppend( column.getColumnType() , blockDictionary );
+    int[] idArray = new int[ column.size() - startIndex ];
+    long min = Long.MAX_VALUE;
+    long max = Long.MIN_VALUE;
+    int rowCount = 0;
+    for ( int i = startIndex ; i < column.size() ; i++ ) {
+      ICell cell = column.get( i );
+      if ( cell.getType() == ColumnType.NULL ) {
+        continue;
+      }
+      long value = ( (PrimitiveCell)cell ).getRow().getLong();
+      idArray[ i - startIndex ] = dictionaryAppend.add( SharedDictionary.toValue( value ) ) + 1;
+      min = Math.min( min , value );
+      max = Math.max( max , value );
+      rowCount++;
+    }
+
+    if ( rowCount == column.size() && dictionaryAppend.getValueCount() == 1 ) {
+      return ConstantColumnBinaryMaker.createColumnBinary(
+          OptimizedNullArrayDumpLongColumnBinaryMaker.createConstObjectFromNum(
+              column.getColumnType() , min ) ,
+          column.getColumnName() ,
+          column.size() );
+    }
+
+    // The dictionary is only written when the binary holds its own dictionary.
+    SharedDictionary dictionary = isShared ? null : dictionaryAppend.createDictionary();
+    byte[] binaryRaw =
+        new SharedDictionaryIdBinary( startIndex , idArray , dictionary ).toBinary( isShared );
+    CompressResult compressResult = compressResultNode.getCompressResult(
+        this.getClass().getName() ,
+        "c0" ,
+        currentConfig.compressionPolicy ,
+        currentConfig.allowedRatio );
+    byte[] compressBinary = currentConfig.compressorClass.compress(
+        binaryRaw , 0 , binaryRaw.length , compressResult );
+    byte[] binary = toBinary( min , max , compressBinary );
+
+    ColumnBinary result = new ColumnBinary(
+        this.getClass().getName() ,
+        currentConfig.compressorClass.getClass().getName() ,
+        column.getColumnName() ,
+        column.getColumnType() ,
+        column.size() ,
+        binaryRaw.length ,
+        NumEncoderUtil.getLogicalSize( rowCount , column.getColumnType() ) ,
+        dictionaryAppend.getValueCount() ,
+        binary ,
+        0 ,
+        binary.length ,
+        null );
+    if ( isShared ) {
+      result.sharedDictionaryAppend = dictionaryAppend;
+    }
+    return result;
+  }
+
+  @Override
+  public ColumnBinary shareDictionary(
+      final ColumnBinaryMakerConfig commonConfig ,
+      final CompressResultNode compressResultNode ,
+      final ColumnBinary columnBinary ,
+      final SharedDictionary dictionary ) throws IOException {
+    ByteBuffer wrapBuffer = ByteBuffer.wrap(
+        columnBinary.binary , columnBinary.binaryStart , columnBinary.binaryLength );
+    long min = wrapBuffer.getLong();
+    long max = wrapBuffer.getLong();
+    byte[] binaryRaw = decode( columnBinary ).rebind( dictionary ).toBinary( dictionary != null );
+    CompressResult compressResult = compressResultNode.getCompressResult(
+        this.getClass().getName() ,
+        "c0" ,
+        commonConfig.compressionPolicy ,
+        commonConfig.allowedRatio );
+    byte[] binary = toBinary( min , max , columnBinary.getCompressor().compress(
+        binaryRaw , 0 , binaryRaw.length , compressResult ) );
+    ColumnBinary result = new ColumnBinary(
+        columnBinary.makerClassName ,
+        columnBinary.compressorClassName ,
+        columnBinary.columnName ,
+        columnBinary.columnType ,
+        columnBinary.rowCount ,
+        binaryRaw.length ,
+        columnBinary.logicalDataSize ,
+        columnBinary.cardinality ,
+        binary ,
+        0 ,
+        binary.length ,
+        null );
+    result.sharedDictionary = dictionary;
+    return result;
+  }
+
+  @Override
+  public int calcBinarySize( final IColumnAnalizeResult analizeResult ) {
+    return SharedDictionaryIdBinary.calcBinarySize(
+        analizeResult.getColumnSize() - analizeResult.getRowStart() ,
+        analizeResult.getUniqCount() ,
+        analizeResult.getUniqCount() * Long.BYTES );
+  }
+
+  @Override
+  public IColumn toColumn( final ColumnBinary columnBinary ) throws IOException {
+    ByteBuffer wrapBuffer = ByteBuffer.wrap(
+        columnBinary.binary , columnBinary.binaryStart , columnBinary.binaryLength );
+    Long min = Long.valueOf( wrapBuffer.getLong() );
+    Long max = Long.valueOf( wrapBuffer.getLong() );
+    return new HeaderIndexLazyColumn(
+        columnBinary.columnName ,
+        columnBinary.columnType ,
+        new ColumnManager( columnBinary ) ,
+        new RangeLongIndex( min , max ) );
+  }
+
+  @Override
+  public void loadInMemoryStorage(
+      final ColumnBinary columnBinary ,
+      final IMemoryAllocator allocator ) throws IOException {
+    SharedDictionaryIdBinary idBinary = decode( columnBinary );
+    SharedDictionary dictionary = idBinary.getDictionary();
+    int[] referenceIdArray = idBinary.getReferenceIdArray();
+    IDictionary dic = allocator.createDictionary( referenceIdArray.length );
+    for ( int i = 0 ; i < referenceIdArray.length ; i++ ) {
+      long value = SharedDictionary.toLong( dictionary.get( referenceIdArray[i] - 1 ) );
+      switch ( columnBinary.columnType ) {
+        case BYTE:
+          dic.setByte( i , (byte)value );
+          break;
+        case SHORT:
+          dic.setShort( i , (short)value );
+          break;
+        case INTEGER:
+          dic.setInteger( i , (int)value );
+          break;
+        default:
+          dic.setLong( i , value );
+          break;
+      }
+    }
+    idBinary.setFromDictionary( allocator , referenceIdArray , dic );
+  }
+
+  @Override
+  public void setBlockIndexNode(
+      final BlockIndexNode parentNode ,
+      final ColumnBinary columnBinary ,
+      final int spreadIndex ) throws IOException {
+    ByteBuffer wrapBuffer = ByteBuffer.wrap(
+        columnBinary.binary , columnBinary.binaryStart , columnBinary.binaryLength );
+    Long min = Long.valueOf( wrapBuffer.getLong() );
+    Long max = Long.valueOf( wrapBuffer.getLong() );
+    BlockIndexNode currentNode = parentNode.getChildNode( columnBinary.columnName );
+    setRangeBlockIndex( currentNode , new LongRangeBlockIndex( min , max ) ,
+        BloomFilterBlockIndex.NUMBER_VALUE , columnBinary , spreadIndex );
+  }
+
+  public class ColumnManager implements IColumnManager {
+
+    private final ColumnBinary columnBinary;
+
+    private PrimitiveColumn column;
+    private boolean isCreate;
+
+    public ColumnManager( final ColumnBinary columnBinary ) {
+      this.columnBinary = columnBinary;
+    }
+
+    private void create() throws IOException {
+      if ( isCreate ) {
+        return;
+      }
+      SharedDictionaryIdBinary idBinary = decode( columnBinary );
+      column = new PrimitiveColumn( columnBinary.columnType , columnBinary.columnName );
+      column.setCellManager( new OptimizedNullArrayDicCellManager(
+          columnBinary.columnType ,
+          idBinary.getStartIndex() ,
+          idBinary.getIsNullArray() ,
+          idBinary.getDictionaryIndexArray() ,
+          idBinary.getDictionary().getObjectArray() ) );
+      column.setIndex( new SharedDictionaryCellIndex(
+          idBinary.getDictionary() , idBinary.getStartIndex() , idBinary.getIdArray() ) );
+
+      isCreate = true;
+    }
+
+    @Override
+    public IColumn get() {
+      if ( ! isCreate ) {
+        try {
+          create();
+        } catch ( IOException ex ) {
+          throw new UncheckedIOException( ex );
+        }
+      }
+      return column;
+    }
+
+    @Override
+    public List<String> getColumnKeys() {
+      return new ArrayList<String>();
+    }
+
+    @Override
+    public int getColumnSize() {
+      return 0;
+    }
+
+  }
+
+}
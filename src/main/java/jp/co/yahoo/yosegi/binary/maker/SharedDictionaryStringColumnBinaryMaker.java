@@ -0,0 +1,344 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.co.yahoo.yosegi.binary.maker;
+
+import jp.co.yahoo.yosegi.binary.ColumnBinary;
+import jp.co.yahoo.yosegi.binary.ColumnBinaryMakerConfig;
+import jp.co.yahoo.yosegi.binary.ColumnBinaryMakerCustomConfigNode;
+import jp.co.yahoo.yosegi.binary.CompressResultNode;
+import jp.co.yahoo.yosegi.binary.SharedDictionary;
+import jp.co.yahoo.yosegi.binary.SharedDictionaryAppend;
+import jp.co.yahoo.yosegi.binary.maker.index.RangeStringIndex;
+import jp.co.yahoo.yosegi.binary.maker.index.SharedDictionaryCellIndex;
+import jp.co.yahoo.yosegi.blockindex.BlockIndexNode;
+import jp.co.yahoo.yosegi.blockindex.BloomFilterBlockIndex;
+import jp.co.yahoo.yosegi.blockindex.StringRangeBlockIndex;
+import jp.co.yahoo.yosegi.compressor.CompressResult;
+import jp.co.yahoo.yosegi.compressor.ICompressor;
+import jp.co.yahoo.yosegi.inmemory.IDictionary;
+import jp.co.yahoo.yosegi.inmemory.IMemoryAllocator;
+import jp.co.yahoo.yosegi.message.objects.StringObj;
+import jp.co.yahoo.yosegi.spread.analyzer.IColumnAnalizeResult;
+import jp.co.yahoo.yosegi.spread.analyzer.StringColumnAnalizeResult;
+import jp.co.yahoo.yosegi.spread.column.ColumnType;
+import jp.co.yahoo.yosegi.spread.column.ICell;
+import jp.co.yahoo.yosegi.spread.column.IColumn;
+import jp.co.yahoo.yosegi.spread.column.PrimitiveCell;
+import jp.co.yahoo.yosegi.spread.column.PrimitiveColumn;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * String dictionary maker whose dictionary can be shared by the Spreads of a block.
+ * When the block writer shares dictionaries, each Spread stores only the ids of the rows.
+ */
+public class SharedDictionaryStringColumnBinaryMaker
+    implements ISharedDictionaryColumnBinaryMaker {
+
+  private static int getHeaderLength( final ColumnBinary columnBinary ) {
+    ByteBuffer wrapBuffer = ByteBuffer.wrap( columnBinary.binary );
+    int minLength = wrapBuffer.getInt( columnBinary.binaryStart );
+    int maxLength = wrapBuffer.getInt( columnBinary.binaryStart + Integer.BYTES + minLength );
+    return Integer.BYTES * 2 + minLength + maxLength;
+  }
+
+  private static String[] getMinMax( final ColumnBinary columnBinary ) {
+    ByteBuffer wrapBuffer = ByteBuffer.wrap( columnBinary.binary );
+    int offset = columnBinary.binaryStart;
+    int minLength = wrapBuffer.getInt( offset );
+    offset += Integer.BYTES;
+    String min = new String( columnBinary.binary , offset , minLength , StandardCharsets.UTF_8 );
+    offset += minLength;
+    int maxLength = wrapBuffer.getInt( offset );
+    offset += Integer.BYTES;
+    String max = new String( columnBinary.binary , offset , maxLength , StandardCharsets.UTF_8 );
+    return new String[]{ min , max };
+  }
+
+  private static SharedDictionaryIdBinary decode(
+      final ColumnBinary columnBinary ) throws IOException {
+    int headerLength = getHeaderLength( columnBinary );
+    ICompressor compressor = columnBinary.getCompressor();
+    byte[] binary = compressor.decompress(
+        columnBinary.binary ,
+        columnBinary.binaryStart + headerLength ,
+        columnBinary.binaryLength - headerLength );
+    return SharedDictionaryIdBinary.createFromBinary(
+        binary , ColumnType.STRING , SharedDictionaryIdBinary.getSharedDictionary( columnBinary ) );
+  }
+
+  private static byte[] toBinary(
+      final byte[] header , final byte[] compressBinary ) {
+    byte[] binary = new byte[ header.length + compressBinary.length ];
+    System.arraycopy( header , 0 , binary , 0 , header.length );
+    System.arraycopy( compressBinary , 0 , binary , header.length , compressBinary.length );
+    return binary;
+  }
+
+  @Override
+  public ColumnBinary toBinary(
+      final ColumnBinaryMakerConfig commonConfig ,
+      final ColumnBinaryMakerCustomConfigNode currentConfigNode ,
+      final CompressResultNode compressResultNode ,
+      final IColumn column ) throws IOException {
+    return toBinary(
+        commonConfig , currentConfigNode , compressResultNode , column , null , false );
+  }
+
+  @Override
+  public ColumnBinary toBinary(
+      final ColumnBinaryMakerConfig commonConfig ,
+      final ColumnBinaryMakerCustomConfigNode currentConfigNode ,
+      final CompressResultNode compressResultNode ,
+      final IColumn column ,
+      final SharedDictionary blockDictionary ) throws IOException {
+    return toBinary(
+        commonConfig , currentConfigNode , compressResultNode , column , blockDictionary , true );
+  }
+
+  private ColumnBinary toBinary(
+      final ColumnBinaryMakerConfig commonConfig ,
+      final ColumnBinaryMakerCustomConfigNode currentConfigNode ,
+      final CompressResultNode compressResultNode ,
+      final IColumn column ,
+      final SharedDictionary blockDictionary ,
+      final boolean isShared ) throws IOException {
+    ColumnBinaryMakerConfig currentConfig = commonConfig;
+    if ( currentConfigNode != null ) {
+      currentConfig = currentConfigNode.getCurrentConfig();
+    }
+
+    int startIndex = 0;
+    for ( ; startIndex < column.size() ; startIndex++ ) {
+      if ( column.get( startIndex ).getType() != ColumnType.NULL ) {
+        break;
+      }
+    }
+
+    SharedDictionaryAppend dictionaryAppend =
+        new SharedDictionaryAppend( ColumnType.STRING , blockDictionary );
+    int[] idArray = new int[ column.size() - startIndex ];
+    String min = null;
+    String max = null;
+    int nullCount = 0;
+    int logicalDataLength = 0;
+    for ( int i = startIndex ; i < column.size() ; i++ ) {
+      ICell cell = column.get( i );
+      String target = null;
+      if ( cell.getType() != ColumnType.NULL ) {
+        target = ( (PrimitiveCell)cell ).getRow().getString();
+      }
+      if ( target == null ) {
+        nullCount++;
+        continue;
+      }
+      byte[] value = target.getBytes( StandardCharsets.UTF_8 );
+      idArray[ i - startIndex ] = dictionaryAppend.add( value ) + 1;
+      logicalDataLength += Integer.BYTES + value.length;
+      if ( min == null || target.compareTo( min ) < 0 ) {
+        min = target;
+      }
+      if ( max == null || 0 < target.compareTo( max ) ) {
+        max = target;
+      }
+    }
+
+    if ( nullCount == 0 && startIndex == 0 && dictionaryAppend.getValueCount() == 1 ) {
+      return ConstantColumnBinaryMaker.createColumnBinary(
+          new StringObj( min ) , column.getColumnName() , column.size() );
+    }
+
+    // The dictionary is only written when the binary holds its own dictionary.
+    SharedDictionary dictionary = isShared ? null : dictionaryAppend.createDictionary();
+    byte[] binaryRaw =
+        new SharedDictionaryIdBinary( startIndex , idArray , dictionary ).toBinary( isShared );
+    CompressResult compressResult = compressResultNode.getCompressResult(
+        this.getClass().getName() ,
+        "c0" ,
+        currentConfig.compressionPolicy ,
+        currentConfig.allowedRatio );
+    byte[] compressBinary = currentConfig.compressorClass.compress(
+        binaryRaw , 0 , binaryRaw.length , compressResult );
+
+    byte[] minBytes = ( min == null ? "" : min ).getBytes( StandardCharsets.UTF_8 );
+    byte[] maxBytes = ( max == null ? "" : max ).getBytes( StandardCharsets.UTF_8 );
+    byte[] header = new byte[ Integer.BYTES * 2 + minBytes.length + maxBytes.length ];
+    ByteBuffer wrapBuffer = ByteBuffer.wrap( header );
+    wrapBuffer.putInt( minBytes.length );
+    wrapBuffer.put( minBytes );
+    wrapBuffer.putInt( maxBytes.length );
+    wrapBuffer.put( maxBytes );
+    byte[] binary = toBinary( header , compressBinary );
+
+    ColumnBinary result = new ColumnBinary(
+        this.getClass().getName() ,
+        currentConfig.compressorClass.getClass().getName() ,
+        column.getColumnName() ,
+        column.getColumnType() ,
+        column.size() ,
+        binaryRaw.length ,
+        logicalDataLength ,
+        dictionaryAppend.getValueCount() ,
+        binary ,
+        0 ,
+        binary.length ,
+        null );
+    if ( isShared ) {
+      result.sharedDictionaryAppend = dictionaryAppend;
+    }
+    return result;
+  }
+
+  @Override
+  public ColumnBinary shareDictionary(
+      final ColumnBinaryMakerConfig commonConfig ,
+      final CompressResultNode compressResultNode ,
+      final ColumnBinary columnBinary ,
+      final SharedDictionary dictionary ) throws IOException {
+    int headerLength = getHeaderLength( columnBinary );
+    byte[] header = new byte[headerLength];
+    System.arraycopy( columnBinary.binary , columnBinary.binaryStart , header , 0 , headerLength );
+    byte[] binaryRaw = decode( columnBinary ).rebind( dictionary ).toBinary( dictionary != null );
+    CompressResult compressResult = compressResultNode.getCompressResult(
+        this.getClass().getName() ,
+        "c0" ,
+        commonConfig.compressionPolicy ,
+        commonConfig.allowedRatio );
+    byte[] binary = toBinary( header , columnBinary.getCompressor().compress(
+        binaryRaw , 0 , binaryRaw.length , compressResult ) );
+    ColumnBinary result = new ColumnBinary(
+        columnBinary.makerClassName ,
+        columnBinary.compressorClassName ,
+        columnBinary.columnName ,
+        columnBinary.columnType ,
+        columnBinary.rowCount ,
+        binaryRaw.length ,
+        columnBinary.logicalDataSize ,
+        columnBinary.cardinality ,
+        binary ,
+        0 ,
+        binary.length ,
+        null );
+    result.sharedDictionary = dictionary;
+    return result;
+  }
+
+  @Override
+  public int calcBinarySize( final IColumnAnalizeResult analizeResult ) {
+    StringColumnAnalizeResult stringAnalizeResult = (StringColumnAnalizeResult)analizeResult;
+    return SharedDictionaryIdBinary.calcBinarySize(
+        analizeResult.getColumnSize() - analizeResult.getRowStart() ,
+        analizeResult.getUniqCount() ,
+        stringAnalizeResult.getUniqUtf8ByteSize() );
+  }
+
+  @Override
+  public IColumn toColumn( final ColumnBinary columnBinary ) throws IOException {
+    String[] minMax = getMinMax( columnBinary );
+    return new HeaderIndexLazyColumn(
+        columnBinary.columnName ,
+        columnBinary.columnType ,
+        new ColumnManager( columnBinary ) ,
+        new RangeStringIndex( minMax[0] , minMax[1] ) );
+  }
+
+  @Override
+  public void loadInMemoryStorage(
+      final ColumnBinary columnBinary ,
+      final IMemoryAllocator allocator ) throws IOException {
+    SharedDictionaryIdBinary idBinary = decode( columnBinary );
+    SharedDictionary dictionary = idBinary.getDictionary();
+    int[] referenceIdArray = idBinary.getReferenceIdArray();
+    IDictionary dic = allocator.createDictionary( referenceIdArray.length );
+    for ( int i = 0 ; i < referenceIdArray.length ; i++ ) {
+      dic.setBytes( i , dictionary.get( referenceIdArray[i] - 1 ) );
+    }
+    idBinary.setFromDictionary( allocator , referenceIdArray , dic );
+  }
+
+  @Override
+  public void setBlockIndexNode(
+      final BlockIndexNode parentNode ,
+      final ColumnBinary columnBinary ,
+      final int spreadIndex ) throws IOException {
+    String[] minMax = getMinMax( columnBinary );
+    BlockIndexNode currentNode = parentNode.getChildNode( columnBinary.columnName );
+    setRangeBlockIndex( currentNode , new StringRangeBlockIndex( minMax[0] , minMax[1] ) ,
+        BloomFilterBlockIndex.STRING_VALUE , columnBinary , spreadIndex );
+  }
+
+  public class ColumnManager implements IColumnManager {
+
+    private final ColumnBinary columnBinary;
+
+    private PrimitiveColumn column;
+    private boolean isCreate;
+
+    public ColumnManager( final ColumnBinary columnBinary ) {
+      this.columnBinary = columnBinary;
+    }
+
+    private void create() throws IOException {
+      if ( isCreate ) {
+        return;
+      }
+      SharedDictionaryIdBinary idBinary = decode( columnBinary );
+      column = new PrimitiveColumn( columnBinary.columnType , columnBinary.columnName );
+      column.setCellManager( new OptimizedNullArrayDicCellManager(
+          columnBinary.columnType ,
+          idBinary.getStartIndex() ,
+          idBinary.getIsNullArray() ,
+          idBinary.getDictionaryIndexArray() ,
+          idBinary.getDictionary().getObjectArray() ) );
+      column.setIndex( new SharedDictionaryCellIndex(
+          idBinary.getDictionary() , idBinary.getStartIndex() , idBinary.getIdArray() ) );
+
+      isCreate = true;
+    }
+
+    @Override
+    public IColumn get() {
+      if ( ! isCreate ) {
+        try {
+          create();
+        } catch ( IOException ex ) {
+          throw new UncheckedIOException( ex );
+        }
+      }
+      return column;
+    }
+
+    @Override
+    public List<String> getColumnKeys() {
+      return new ArrayList<String>();
+    }
+
+    @Override
+    public int getColumnSize() {
+      return 0;
+    }
+
+  }
+
+}
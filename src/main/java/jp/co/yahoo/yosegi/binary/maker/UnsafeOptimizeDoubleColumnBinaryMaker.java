@@ -27,7 +27,6 @@ import jp.co.yahoo.yosegi.binary.maker.index.RangeDoubleIndex;
 import jp.co.yahoo.yosegi.blockindex.BlockIndexNode;
 import jp.co.yahoo.yosegi.blockindex.DoubleRangeBlockIndex;
 import jp.co.yahoo.yosegi.compressor.CompressResult;
-import jp.co.yahoo.yosegi.compressor.FindCompressor;
 import jp.co.yahoo.yosegi.compressor.ICompressor;
 import jp.co.yahoo.yosegi.inmemory.IMemoryAllocator;
 import jp.co.yahoo.yosegi.message.objects.DoubleObj;
@@ -92,6 +91,12 @@ public class UnsafeOptimizeDoubleColumnBinaryMaker implements IColumnBinaryMaker
         final int length ,
         final ByteOrder order ) throws IOException;
 
+    double[] getDicDoubleArray(
+        final byte[] buffer ,
+        final int start ,
+        final int length ,
+        final ByteOrder order ) throws IOException;
+
   }
 
   public static class DoubleDictionaryMaker implements IDictionaryMaker {
@@ -138,6 +143,24 @@ public class UnsafeOptimizeDoubleColumnBinaryMaker implements IColumnBinaryMaker
       return result;
     }
 
+    @Override
+    public double[] getDicDoubleArray(
+        final byte[] buffer ,
+        final int start ,
+        final int length ,
+        final ByteOrder order ) throws IOException {
+      int size = length / Double.BYTES;
+      double[] result = new double[size];
+      IReadSupporter wrapBuffer =
+          ByteBufferSupporterFactory.createReadSupporter( buffer , start , length , order );
+      wrapBuffer.getDouble();
+      for ( int i = 1 ; i < size ; i++ ) {
+        result[i] = wrapBuffer.getDouble();
+      }
+
+      return result;
+    }
+
   }
 
   public interface IDictionaryIndexMaker {
@@ -353,17 +376,14 @@ public class UnsafeOptimizeDoubleColumnBinaryMaker implements IColumnBinaryMaker
         "c0"  ,
         currentConfig.compressionPolicy ,
         currentConfig.allowedRatio );
-    byte[] compressBinary = currentConfig.compressorClass.compress(
-        binaryRaw , 0 , binaryRaw.length , compressResult );
-
-    byte[] binary = new byte[ Double.BYTES * 2 + Byte.BYTES + compressBinary.length ];
+    byte[] binary = currentConfig.compressorClass.compressWithHeader(
+        binaryRaw , 0 , binaryRaw.length , Double.BYTES * 2 + Byte.BYTES , compressResult );
 
     byte byteOrderByte = order == ByteOrder.BIG_ENDIAN ? (byte)0 : (byte)1;
     ByteBuffer wrapBuffer = ByteBuffer.wrap( binary , 0 , binary.length );
     wrapBuffer.putDouble( min );
     wrapBuffer.putDouble( max );
     wrapBuffer.put( byteOrderByte );
-    wrapBuffer.put( compressBinary );
 
     return new ColumnBinary(
         this.getClass().getName() ,
@@ -434,7 +454,7 @@ public class UnsafeOptimizeDoubleColumnBinaryMaker implements IColumnBinaryMaker
     int start = columnBinary.binaryStart + ( Double.BYTES * 2 + Byte.BYTES );
     int length = columnBinary.binaryLength - ( Double.BYTES * 2 + Byte.BYTES );
 
-    ICompressor compressor = FindCompressor.get( columnBinary.compressorClassName );
+    ICompressor compressor = columnBinary.getCompressor();
     byte[] binary = compressor.decompress( columnBinary.binary , start , length );
 
     int indexLength = indexMaker.calcBinarySize( columnBinary.rowCount );
@@ -442,13 +462,13 @@ public class UnsafeOptimizeDoubleColumnBinaryMaker implements IColumnBinaryMaker
 
     IntBuffer indexIntBuffer =
         indexMaker.getIndexIntBuffer( binary , 0 , indexLength , order );
-    PrimitiveObject[] dicArray =
-        dicMaker.getDicPrimitiveArray( binary , indexLength , dicLength , order );
+    double[] dicArray =
+        dicMaker.getDicDoubleArray( binary , indexLength , dicLength , order );
 
     for ( int i = 0 ; i < columnBinary.rowCount ; i++ ) {
       int dicIndex = indexIntBuffer.get();
       if ( dicIndex != 0 ) {
-        allocator.setDouble( i , dicArray[dicIndex].getDouble() );
+        allocator.setDouble( i , dicArray[dicIndex] );
       }
     }
     allocator.setValueCount( columnBinary.rowCount );
@@ -518,7 +538,7 @@ public class UnsafeOptimizeDoubleColumnBinaryMaker implements IColumnBinaryMaker
       int start = columnBinary.binaryStart + ( Double.BYTES * 2 + Byte.BYTES );
       int length = columnBinary.binaryLength - ( Double.BYTES * 2 + Byte.BYTES );
 
-      ICompressor compressor = FindCompressor.get( columnBinary.compressorClassName );
+      ICompressor compressor = columnBinary.getCompressor();
       byte[] binary = compressor.decompress( columnBinary.binary , start , length );
 
       int indexLength = indexMaker.calcBinarySize( columnBinary.rowCount );
@@ -526,10 +546,10 @@ public class UnsafeOptimizeDoubleColumnBinaryMaker implements IColumnBinaryMaker
 
       IntBuffer indexIntBuffer =
           indexMaker.getIndexIntBuffer( binary , 0 , indexLength , order );
-      PrimitiveObject[] dicArray =
-          dicMaker.getDicPrimitiveArray( binary , indexLength , dicLength , order );
+      double[] dicArray =
+          dicMaker.getDicDoubleArray( binary , indexLength , dicLength , order );
 
-      IDicManager dicManager = new DicManager( dicArray );
+      IDicManager dicManager = new DoubleDicManager( dicArray );
       column = new PrimitiveColumn( columnBinary.columnType , columnBinary.columnName );
       column.setCellManager(
           new BufferDirectDictionaryLinkCellManager(
@@ -25,9 +25,9 @@ import jp.co.yahoo.yosegi.binary.CompressResultNode;
 import jp.co.yahoo.yosegi.binary.maker.index.RangeLongIndex;
 import jp.co.yahoo.yosegi.binary.maker.index.SequentialNumberCellIndex;
 import jp.co.yahoo.yosegi.blockindex.BlockIndexNode;
+import jp.co.yahoo.yosegi.blockindex.BloomFilterBlockIndex;
 import jp.co.yahoo.yosegi.blockindex.LongRangeBlockIndex;
 import jp.co.yahoo.yosegi.compressor.CompressResult;
-import jp.co.yahoo.yosegi.compressor.FindCompressor;
 import jp.co.yahoo.yosegi.compressor.ICompressor;
 import jp.co.yahoo.yosegi.inmemory.IMemoryAllocator;
 import jp.co.yahoo.yosegi.message.objects.ByteObj;
@@ -725,11 +725,9 @@ public class UnsafeOptimizeDumpLongColumnBinaryMaker implements IColumnBinaryMak
         "c0"  ,
         currentConfig.compressionPolicy ,
         currentConfig.allowedRatio );
-    byte[] compressBinary = currentConfig.compressorClass.compress(
-        binaryRaw , 0 , binaryRaw.length , compressResult );
-
-    byte[] binary =
-        new byte[ Long.BYTES * 2 + Byte.BYTES * 2 + Integer.BYTES + compressBinary.length ];
+    byte[] binary = currentConfig.compressorClass.compressWithHeader(
+        binaryRaw , 0 , binaryRaw.length ,
+        Long.BYTES * 2 + Byte.BYTES * 2 + Integer.BYTES , compressResult );
 
     byte byteOrderByte = order == ByteOrder.BIG_ENDIAN ? (byte)0 : (byte)1;
 
@@ -739,7 +737,6 @@ public class UnsafeOptimizeDumpLongColumnBinaryMaker implements IColumnBinaryMak
     wrapBuffer.put( hasNull ? (byte)1 : (byte)0 );
     wrapBuffer.put( byteOrderByte );
     wrapBuffer.putInt( rowCount );
-    wrapBuffer.put( compressBinary );
 
     return new ColumnBinary(
         this.getClass().getName() ,
@@ -835,7 +832,7 @@ public class UnsafeOptimizeDumpLongColumnBinaryMaker implements IColumnBinaryMak
     int start = columnBinary.binaryStart + ( Long.BYTES * 2 + Byte.BYTES * 2 + Integer.BYTES );
     int length = columnBinary.binaryLength - ( Long.BYTES * 2 + Byte.BYTES * 2 + Integer.BYTES );
 
-    ICompressor compressor = FindCompressor.get( columnBinary.compressorClassName );
+    ICompressor compressor = columnBinary.getCompressor();
     byte[] binary = compressor.decompress( columnBinary.binary , start , length );
 
     int isNullLength = 0;
@@ -869,7 +866,8 @@ public class UnsafeOptimizeDumpLongColumnBinaryMaker implements IColumnBinaryMak
     Long min = Long.valueOf( wrapBuffer.getLong() );
     Long max = Long.valueOf( wrapBuffer.getLong() );
     BlockIndexNode currentNode = parentNode.getChildNode( columnBinary.columnName );
-    currentNode.setBlockIndex( new LongRangeBlockIndex( min , max ) );
+    setRangeBlockIndex( currentNode , new LongRangeBlockIndex( min , max ) ,
+        BloomFilterBlockIndex.NUMBER_VALUE , columnBinary , spreadIndex );
   }
 
   public class DicManager implements IDicManager {
@@ -940,7 +938,7 @@ public class UnsafeOptimizeDumpLongColumnBinaryMaker implements IColumnBinaryMak
       int start = columnBinary.binaryStart + ( Long.BYTES * 2 + Byte.BYTES * 2 + Integer.BYTES );
       int length = columnBinary.binaryLength - ( Long.BYTES * 2 + Byte.BYTES * 2 + Integer.BYTES );
 
-      ICompressor compressor = FindCompressor.get( columnBinary.compressorClassName );
+      ICompressor compressor = columnBinary.getCompressor();
       byte[] binary = compressor.decompress( columnBinary.binary , start , length );
 
       int isNullLength = 0;
@@ -25,9 +25,9 @@ import jp.co.yahoo.yosegi.binary.CompressResultNode;
 import jp.co.yahoo.yosegi.binary.maker.index.RangeStringIndex;
 import jp.co.yahoo.yosegi.binary.maker.index.SequentialStringCellIndex;
 import jp.co.yahoo.yosegi.blockindex.BlockIndexNode;
+import jp.co.yahoo.yosegi.blockindex.BloomFilterBlockIndex;
 import jp.co.yahoo.yosegi.blockindex.StringRangeBlockIndex;
 import jp.co.yahoo.yosegi.compressor.CompressResult;
-import jp.co.yahoo.yosegi.compressor.FindCompressor;
 import jp.co.yahoo.yosegi.compressor.ICompressor;
 import jp.co.yahoo.yosegi.inmemory.IMemoryAllocator;
 import jp.co.yahoo.yosegi.message.objects.PrimitiveObject;
@@ -465,14 +465,12 @@ public class UnsafeOptimizeDumpStringColumnBinaryMaker implements IColumnBinaryM
         "c0"  ,
         currentConfig.compressionPolicy ,
         currentConfig.allowedRatio );
-    byte[] compressBinaryRaw = currentConfig.compressorClass.compress(
-        binaryRaw , 0 , binaryRaw.length , compressResult );
-
     int minCharLength = Character.BYTES * min.length();
     int maxCharLength = Character.BYTES * max.length();
     int headerSize = Integer.BYTES + minCharLength + Integer.BYTES + maxCharLength;
 
-    byte[] binary = new byte[headerSize + compressBinaryRaw.length];
+    byte[] binary = currentConfig.compressorClass.compressWithHeader(
+        binaryRaw , 0 , binaryRaw.length , headerSize , compressResult );
     ByteBuffer binaryWrapBuffer = ByteBuffer.wrap( binary );
     binaryWrapBuffer.putInt( minCharLength );
     binaryWrapBuffer.asCharBuffer().put( min );
@@ -480,7 +478,6 @@ public class UnsafeOptimizeDumpStringColumnBinaryMaker implements IColumnBinaryM
     binaryWrapBuffer.putInt( maxCharLength );
     binaryWrapBuffer.asCharBuffer().put( max );
     binaryWrapBuffer.position( binaryWrapBuffer.position() + maxCharLength );
-    binaryWrapBuffer.put( compressBinaryRaw );
 
     return new ColumnBinary(
         this.getClass().getName() ,
@@ -566,7 +563,7 @@ public class UnsafeOptimizeDumpStringColumnBinaryMaker implements IColumnBinaryM
     headerWrapBuffer.position( headerWrapBuffer.position() + maxCharLength );
     int headerSize = Integer.BYTES + minCharLength + Integer.BYTES + maxCharLength;
 
-    ICompressor compressor = FindCompressor.get( columnBinary.compressorClassName );
+    ICompressor compressor = columnBinary.getCompressor();
     byte[] binary = compressor.decompress(
         columnBinary.binary ,
         columnBinary.binaryStart + headerSize ,
@@ -626,7 +623,8 @@ public class UnsafeOptimizeDumpStringColumnBinaryMaker implements IColumnBinaryM
     String max = new String( maxCharArray );
 
     BlockIndexNode currentNode = parentNode.getChildNode( columnBinary.columnName );
-    currentNode.setBlockIndex( new StringRangeBlockIndex( min , max ) );
+    setRangeBlockIndex( currentNode , new StringRangeBlockIndex( min , max ) ,
+        BloomFilterBlockIndex.STRING_VALUE , columnBinary , spreadIndex );
   }
 
   public class RangeStringDicManager implements IDicManager {
@@ -673,7 +671,7 @@ public class UnsafeOptimizeDumpStringColumnBinaryMaker implements IColumnBinaryM
       if ( isCreate ) {
         return;
       }
-      ICompressor compressor = FindCompressor.get( columnBinary.compressorClassName );
+      ICompressor compressor = columnBinary.getCompressor();
       byte[] binary = compressor.decompress( columnBinary.binary , binaryStart , binaryLength );
       ByteBuffer wrapBuffer = ByteBuffer.wrap( binary , 0 , binary.length );
       ByteOrder order =
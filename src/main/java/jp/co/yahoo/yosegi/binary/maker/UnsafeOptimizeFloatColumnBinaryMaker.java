@@ -27,7 +27,6 @@ import jp.co.yahoo.yosegi.binary.maker.index.RangeFloatIndex;
 import jp.co.yahoo.yosegi.blockindex.BlockIndexNode;
 import jp.co.yahoo.yosegi.blockindex.FloatRangeBlockIndex;
 import jp.co.yahoo.yosegi.compressor.CompressResult;
-import jp.co.yahoo.yosegi.compressor.FindCompressor;
 import jp.co.yahoo.yosegi.compressor.ICompressor;
 import jp.co.yahoo.yosegi.inmemory.IMemoryAllocator;
 import jp.co.yahoo.yosegi.message.objects.FloatObj;
@@ -92,6 +91,12 @@ public class UnsafeOptimizeFloatColumnBinaryMaker implements IColumnBinaryMaker
         final int length ,
         final ByteOrder order ) throws IOException;
 
+    float[] getDicFloatArray(
+        final byte[] buffer ,
+        final int start ,
+        final int length ,
+        final ByteOrder order ) throws IOException;
+
   }
 
   public static class FloatDictionaryMaker implements IDictionaryMaker {
@@ -138,6 +143,24 @@ public class UnsafeOptimizeFloatColumnBinaryMaker implements IColumnBinaryMaker
       return result;
     }
 
+    @Override
+    public float[] getDicFloatArray(
+        final byte[] buffer ,
+        final int start ,
+        final int length ,
+        final ByteOrder order ) throws IOException {
+      int size = length / Float.BYTES;
+      float[] result = new float[size];
+      IReadSupporter wrapBuffer =
+          ByteBufferSupporterFactory.createReadSupporter( buffer , start , length , order );
+      wrapBuffer.getFloat();
+      for ( int i = 1 ; i < size ; i++ ) {
+        result[i] = wrapBuffer.getFloat();
+      }
+
+      return result;
+    }
+
   }
 
   public interface IDictionaryIndexMaker {
@@ -347,17 +370,14 @@ public class UnsafeOptimizeFloatColumnBinaryMaker implements IColumnBinaryMaker
         "c0"  ,
         currentConfig.compressionPolicy ,
         currentConfig.allowedRatio );
-    byte[] compressBinary = currentConfig.compressorClass.compress(
-        binaryRaw , 0 , binaryRaw.length , compressResult );
-
-    byte[] binary = new byte[ Float.BYTES * 2 + Byte.BYTES + compressBinary.length ];
+    byte[] binary = currentConfig.compressorClass.compressWithHeader(
+        binaryRaw , 0 , binaryRaw.length , Float.BYTES * 2 + Byte.BYTES , compressResult );
 
     byte byteOrderByte = order == ByteOrder.BIG_ENDIAN ? (byte)0 : (byte)1;
     ByteBuffer wrapBuffer = ByteBuffer.wrap( binary , 0 , binary.length );
     wrapBuffer.putFloat( min );
     wrapBuffer.putFloat( max );
     wrapBuffer.put( byteOrderByte );
-    wrapBuffer.put( compressBinary );
 
     return new ColumnBinary(
         this.getClass().getName() ,
@@ -425,7 +445,7 @@ public class UnsafeOptimizeFloatColumnBinaryMaker implements IColumnBinaryMaker
     int start = columnBinary.binaryStart + ( Float.BYTES * 2 + Byte.BYTES );
     int length = columnBinary.binaryLength - ( Float.BYTES * 2 + Byte.BYTES );
 
-    ICompressor compressor = FindCompressor.get( columnBinary.compressorClassName );
+    ICompressor compressor = columnBinary.getCompressor();
     byte[] binary = compressor.decompress( columnBinary.binary , start , length );
 
     int indexLength = indexMaker.calcBinarySize( columnBinary.rowCount );
@@ -433,13 +453,13 @@ public class UnsafeOptimizeFloatColumnBinaryMaker implements IColumnBinaryMaker
 
     IntBuffer indexIntBuffer =
         indexMaker.getIndexIntBuffer( binary , 0 , indexLength , order );
-    PrimitiveObject[] dicArray =
-        dicMaker.getDicPrimitiveArray( binary , indexLength , dicLength , order );
+    float[] dicArray =
+        dicMaker.getDicFloatArray( binary , indexLength , dicLength , order );
 
     for ( int i = 0 ; i < columnBinary.rowCount ; i++ ) {
       int dicIndex = indexIntBuffer.get();
       if ( dicIndex != 0 ) {
-        allocator.setFloat( i , dicArray[dicIndex].getFloat() );
+        allocator.setFloat( i , dicArray[dicIndex] );
       }
     }
     allocator.setValueCount( columnBinary.rowCount );
@@ -509,7 +529,7 @@ public class UnsafeOptimizeFloatColumnBinaryMaker implements IColumnBinaryMaker
       int start = columnBinary.binaryStart + ( Float.BYTES * 2 + Byte.BYTES );
       int length = columnBinary.binaryLength - ( Float.BYTES * 2 + Byte.BYTES );
 
-      ICompressor compressor = FindCompressor.get( columnBinary.compressorClassName );
+      ICompressor compressor = columnBinary.getCompressor();
       byte[] binary = compressor.decompress( columnBinary.binary , start , length );
 
       int indexLength = indexMaker.calcBinarySize( columnBinary.rowCount );
@@ -517,10 +537,10 @@ public class UnsafeOptimizeFloatColumnBinaryMaker implements IColumnBinaryMaker
 
       IntBuffer indexIntBuffer =
           indexMaker.getIndexIntBuffer( binary , 0 , indexLength , order );
-      PrimitiveObject[] dicArray =
-          dicMaker.getDicPrimitiveArray( binary , indexLength , dicLength , order );
+      float[] dicArray =
+          dicMaker.getDicFloatArray( binary , indexLength , dicLength , order );
 
-      IDicManager dicManager = new DicManager( dicArray );
+      IDicManager dicManager = new FloatDicManager( dicArray );
       column = new PrimitiveColumn( columnBinary.columnType , columnBinary.columnName );
       column.setCellManager( new BufferDirectDictionaryLinkCellManager(
           columnBinary.columnType , dicManager , indexIntBuffer ) );
@@ -25,9 +25,9 @@ import jp.co.yahoo.yosegi.binary.CompressResultNode;
 import jp.co.yahoo.yosegi.binary.maker.index.BufferDirectSequentialNumberCellIndex;
 import jp.co.yahoo.yosegi.binary.maker.index.RangeLongIndex;
 import jp.co.yahoo.yosegi.blockindex.BlockIndexNode;
+import jp.co.yahoo.yosegi.blockindex.BloomFilterBlockIndex;
 import jp.co.yahoo.yosegi.blockindex.LongRangeBlockIndex;
 import jp.co.yahoo.yosegi.compressor.CompressResult;
-import jp.co.yahoo.yosegi.compressor.FindCompressor;
 import jp.co.yahoo.yosegi.compressor.ICompressor;
 import jp.co.yahoo.yosegi.inmemory.IMemoryAllocator;
 import jp.co.yahoo.yosegi.message.objects.ByteObj;
@@ -179,6 +179,13 @@ public class UnsafeOptimizeLongColumnBinaryMaker implements IColumnBinaryMaker {
         final int length ,
         final ByteOrder order ) throws IOException;
 
+    long[] getDicLongArray(
+        final int size ,
+        final byte[] buffer ,
+        final int start ,
+        final int length ,
+        final ByteOrder order ) throws IOException;
+
   }
 
   public static class ByteDictionaryMaker implements IDictionaryMaker {
@@ -220,6 +227,24 @@ public class UnsafeOptimizeLongColumnBinaryMaker implements IColumnBinaryMaker {
       return result;
     }
 
+    @Override
+    public long[] getDicLongArray(
+        final int size ,
+        final byte[] buffer ,
+        final int start ,
+        final int length ,
+        final ByteOrder order ) throws IOException {
+      long[] result = new long[size];
+      IReadSupporter wrapBuffer =
+          ByteBufferSupporterFactory.createReadSupporter( buffer , start , length , order );
+      wrapBuffer.getByte();
+      for ( int i = 1 ; i < size ; i++ ) {
+        result[i] = wrapBuffer.getByte();
+      }
+
+      return result;
+    }
+
   }
 
   public static class DiffByteDictionaryMaker implements IDictionaryMaker {
@@ -268,6 +293,24 @@ public class UnsafeOptimizeLongColumnBinaryMaker implements IColumnBinaryMaker {
       return result;
     }
 
+    @Override
+    public long[] getDicLongArray(
+        final int size ,
+        final byte[] buffer ,
+        final int start ,
+        final int length ,
+        final ByteOrder order ) throws IOException {
+      long[] result = new long[size];
+      IReadSupporter wrapBuffer =
+          ByteBufferSupporterFactory.createReadSupporter( buffer , start , length , order );
+      wrapBuffer.getByte();
+      for ( int i = 1 ; i < size ; i++ ) {
+        result[i] = NumberToBinaryUtils.getUnsignedByteToLong( wrapBuffer.getByte() ) + min;
+      }
+
+      return result;
+    }
+
   }
 
   public static class ShortDictionaryMaker implements IDictionaryMaker {
@@ -309,6 +352,24 @@ public class UnsafeOptimizeLongColumnBinaryMaker implements IColumnBinaryMaker {
       return result;
     }
 
+    @Override
+    public long[] getDicLongArray(
+        final int size ,
+        final byte[] buffer ,
+        final int start ,
+        final int length ,
+        final ByteOrder order ) throws IOException {
+      long[] result = new long[size];
+      IReadSupporter wrapBuffer =
+          ByteBufferSupporterFactory.createReadSupporter( buffer , start , length , order );
+      wrapBuffer.getShort();
+      for ( int i = 1 ; i < size ; i++ ) {
+        result[i] = wrapBuffer.getShort();
+      }
+
+      return result;
+    }
+
   }
 
   public static class DiffShortDictionaryMaker implements IDictionaryMaker {
@@ -357,6 +418,24 @@ public class UnsafeOptimizeLongColumnBinaryMaker implements IColumnBinaryMaker {
       return result;
     }
 
+    @Override
+    public long[] getDicLongArray(
+        final int size ,
+        final byte[] buffer ,
+        final int start ,
+        final int length ,
+        final ByteOrder order ) throws IOException {
+      long[] result = new long[size];
+      IReadSupporter wrapBuffer =
+          ByteBufferSupporterFactory.createReadSupporter( buffer , start , length , order );
+      wrapBuffer.getShort();
+      for ( int i = 1 ; i < size ; i++ ) {
+        result[i] = NumberToBinaryUtils.getUnsignedShortToLong( wrapBuffer.getShort() ) + min;
+      }
+
+      return result;
+    }
+
   }
 
   public static class IntDictionaryMaker implements IDictionaryMaker {
@@ -403,6 +482,23 @@ public class UnsafeOptimizeLongColumnBinaryMaker implements IColumnBinaryMaker {
       return result;
     }
 
+    @Override
+    public long[] getDicLongArray(
+        final int size ,
+        final byte[] buffer ,
+        final int start ,
+        final int length ,
+        final ByteOrder order ) throws IOException {
+      long[] result = new long[size];
+      IReadSupporter wrapBuffer = converter.toReadSupporter( buffer , start , length );
+      wrapBuffer.getInt();
+      for ( int i = 1 ; i < size ; i++ ) {
+        result[i] = wrapBuffer.getInt();
+      }
+
+      return result;
+    }
+
   }
 
   public static class DiffIntDictionaryMaker implements IDictionaryMaker {
@@ -456,6 +552,23 @@ public class UnsafeOptimizeLongColumnBinaryMaker implements IColumnBinaryMaker {
       return result;
     }
 
+    @Override
+    public long[] getDicLongArray(
+        final int size ,
+        final byte[] buffer ,
+        final int start ,
+        final int length ,
+        final ByteOrder order ) throws IOException {
+      long[] result = new long[size];
+      IReadSupporter wrapBuffer = converter.toReadSupporter( buffer , start , length );
+      wrapBuffer.getInt();
+      for ( int i = 1 ; i < size ; i++ ) {
+        result[i] = NumberToBinaryUtils.getUnsignedIntToLong( wrapBuffer.getInt() ) + min;
+      }
+
+      return result;
+    }
+
   }
 
   public static class LongDictionaryMaker implements IDictionaryMaker {
@@ -502,6 +615,23 @@ public class UnsafeOptimizeLongColumnBinaryMaker implements IColumnBinaryMaker {
       return result;
     }
 
+    @Override
+    public long[] getDicLongArray(
+        final int size ,
+        final byte[] buffer ,
+        final int start ,
+        final int length ,
+        final ByteOrder order ) throws IOException {
+      long[] result = new long[size];
+      IReadSupporter wrapBuffer = converter.toReadSupporter( buffer , start , length );
+      wrapBuffer.getLong();
+      for ( int i = 1 ; i < size ; i++ ) {
+        result[i] = wrapBuffer.getLong();
+      }
+
+      return result;
+    }
+
   }
 
   public interface IDictionaryIndexMaker {
@@ -724,10 +854,8 @@ public class UnsafeOptimizeLongColumnBinaryMaker implements IColumnBinaryMaker {
         "c0"  ,
         currentConfig.compressionPolicy ,
         currentConfig.allowedRatio );
-    byte[] compressBinary = currentConfig.compressorClass.compress(
-        binaryRaw , 0 , binaryRaw.length , compressResult );
-
-    byte[] binary = new byte[ Long.BYTES * 2 + Byte.BYTES + compressBinary.length ];
+    byte[] binary = currentConfig.compressorClass.compressWithHeader(
+        binaryRaw , 0 , binaryRaw.length , Long.BYTES * 2 + Byte.BYTES , compressResult );
 
     byte byteOrderByte = order == ByteOrder.BIG_ENDIAN ? (byte)0 : (byte)1;
 
@@ -735,7 +863,6 @@ public class UnsafeOptimizeLongColumnBinaryMaker implements IColumnBinaryMaker {
     wrapBuffer.putLong( min );
     wrapBuffer.putLong( max );
     wrapBuffer.put( byteOrderByte );
-    wrapBuffer.put( compressBinary );
 
     return new ColumnBinary(
         this.getClass().getName() ,
@@ -824,14 +951,14 @@ public class UnsafeOptimizeLongColumnBinaryMaker implements IColumnBinaryMaker {
     int start = columnBinary.binaryStart + ( Long.BYTES * 2 + Byte.BYTES );
     int length = columnBinary.binaryLength - ( Long.BYTES * 2 + Byte.BYTES );
 
-    ICompressor compressor = FindCompressor.get( columnBinary.compressorClassName );
+    ICompressor compressor = columnBinary.getCompressor();
     byte[] binary = compressor.decompress( columnBinary.binary , start , length );
 
     int indexLength = indexMaker.calcBinarySize( columnBinary.rowCount );
     int dicLength = dicMaker.calcBinarySize( columnBinary.cardinality );
 
     IntBuffer indexIntBuffer = indexMaker.getIndexIntBuffer( binary , 0 , indexLength , order );
-    PrimitiveObject[] dicArray = dicMaker.getDicPrimitiveArray(
+    long[] dicArray = dicMaker.getDicLongArray(
         columnBinary.cardinality , binary , indexLength , dicLength , order );
 
     int loopCount = indexIntBuffer.capacity();
@@ -840,7 +967,7 @@ public class UnsafeOptimizeLongColumnBinaryMaker implements IColumnBinaryMaker {
       if ( dicIndex == 0 ) {
         allocator.setNull( i );
       } else {
-        allocator.setLong( i , dicArray[dicIndex].getLong() );
+        allocator.setLong( i , dicArray[dicIndex] );
       }
     }
     allocator.setValueCount( loopCount );
@@ -856,7 +983,8 @@ public class UnsafeOptimizeLongColumnBinaryMaker implements IColumnBinaryMaker {
     Long min = Long.valueOf( wrapBuffer.getLong() );
     Long max = Long.valueOf( wrapBuffer.getLong() );
     BlockIndexNode currentNode = parentNode.getChildNode( columnBinary.columnName );
-    currentNode.setBlockIndex( new LongRangeBlockIndex( min , max ) );
+    setRangeBlockIndex( currentNode , new LongRangeBlockIndex( min , max ) ,
+        BloomFilterBlockIndex.NUMBER_VALUE , columnBinary , spreadIndex );
   }
 
   public class DicManager implements IDicManager {
@@ -910,17 +1038,17 @@ public class UnsafeOptimizeLongColumnBinaryMaker implements IColumnBinaryMaker {
       int start = columnBinary.binaryStart + ( Long.BYTES * 2 + Byte.BYTES );
       int length = columnBinary.binaryLength - ( Long.BYTES * 2 + Byte.BYTES );
 
-      ICompressor compressor = FindCompressor.get( columnBinary.compressorClassName );
+      ICompressor compressor = columnBinary.getCompressor();
       byte[] binary = compressor.decompress( columnBinary.binary , start , length );
 
       int indexLength = indexMaker.calcBinarySize( columnBinary.rowCount );
       int dicLength = dicMaker.calcBinarySize( columnBinary.cardinality );
 
       IntBuffer indexIntBuffer = indexMaker.getIndexIntBuffer( binary , 0 , indexLength , order );
-      PrimitiveObject[] dicArray = dicMaker.getDicPrimitiveArray(
+      long[] dicArray = dicMaker.getDicLongArray(
           columnBinary.cardinality , binary , indexLength , dicLength , order );
 
-      IDicManager dicManager = new DicManager( dicArray );
+      IDicManager dicManager = new LongDicManager( columnBinary.columnType , dicArray );
       column = new PrimitiveColumn( columnBinary.columnType , columnBinary.columnName );
       column.setCellManager( new BufferDirectDictionaryLinkCellManager(
           columnBinary.columnType , dicManager , indexIntBuffer ) );
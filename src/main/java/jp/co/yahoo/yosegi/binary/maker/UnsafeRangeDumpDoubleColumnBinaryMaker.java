@@ -26,7 +26,6 @@ import jp.co.yahoo.yosegi.binary.maker.index.RangeDoubleIndex;
 import jp.co.yahoo.yosegi.blockindex.BlockIndexNode;
 import jp.co.yahoo.yosegi.blockindex.DoubleRangeBlockIndex;
 import jp.co.yahoo.yosegi.compressor.CompressResult;
-import jp.co.yahoo.yosegi.compressor.FindCompressor;
 import jp.co.yahoo.yosegi.compressor.ICompressor;
 import jp.co.yahoo.yosegi.inmemory.IMemoryAllocator;
 import jp.co.yahoo.yosegi.message.objects.DoubleObj;
@@ -179,7 +178,7 @@ public class UnsafeRangeDumpDoubleColumnBinaryMaker implements IColumnBinaryMake
       final ColumnBinary columnBinary ,
       final IMemoryAllocator allocator ) throws IOException {
     byte type = columnBinary.binary[ columnBinary.binaryStart + Double.BYTES * 2 ];
-    ICompressor compressor = FindCompressor.get( columnBinary.compressorClassName );
+    ICompressor compressor = columnBinary.getCompressor();
     byte[] binary = compressor.decompress(
         columnBinary.binary ,
         columnBinary.binaryStart + HEADER_SIZE ,
@@ -262,7 +261,7 @@ public class UnsafeRangeDumpDoubleColumnBinaryMaker implements IColumnBinaryMake
       }
       PrimitiveObject[] array = new PrimitiveObject[columnBinary.rowCount];
       byte type = columnBinary.binary[ columnBinary.binaryStart + Double.BYTES * 2 ];
-      ICompressor compressor = FindCompressor.get( columnBinary.compressorClassName );
+      ICompressor compressor = columnBinary.getCompressor();
       byte[] binary = compressor.decompress(
           columnBinary.binary ,
           columnBinary.binaryStart + HEADER_SIZE ,
@@ -26,7 +26,6 @@ import jp.co.yahoo.yosegi.binary.maker.index.RangeFloatIndex;
 import jp.co.yahoo.yosegi.blockindex.BlockIndexNode;
 import jp.co.yahoo.yosegi.blockindex.FloatRangeBlockIndex;
 import jp.co.yahoo.yosegi.compressor.CompressResult;
-import jp.co.yahoo.yosegi.compressor.FindCompressor;
 import jp.co.yahoo.yosegi.compressor.ICompressor;
 import jp.co.yahoo.yosegi.inmemory.IMemoryAllocator;
 import jp.co.yahoo.yosegi.message.objects.FloatObj;
@@ -177,7 +176,7 @@ public class UnsafeRangeDumpFloatColumnBinaryMaker implements IColumnBinaryMaker
   public void loadInMemoryStorage(
       final ColumnBinary columnBinary , final IMemoryAllocator allocator ) throws IOException {
     byte type = columnBinary.binary[ columnBinary.binaryStart + Float.BYTES * 2 ];
-    ICompressor compressor = FindCompressor.get( columnBinary.compressorClassName );
+    ICompressor compressor = columnBinary.getCompressor();
     byte[] binary = compressor.decompress(
         columnBinary.binary ,
         columnBinary.binaryStart + HEADER_SIZE ,
@@ -271,7 +270,7 @@ public class UnsafeRangeDumpFloatColumnBinaryMaker implements IColumnBinaryMaker
       }
       PrimitiveObject[] array = new PrimitiveObject[columnBinary.rowCount];
       byte type = columnBinary.binary[ columnBinary.binaryStart + Float.BYTES * 2 ];
-      ICompressor compressor = FindCompressor.get( columnBinary.compressorClassName );
+      ICompressor compressor = columnBinary.getCompressor();
       byte[] binary = compressor.decompress(
           columnBinary.binary ,
           columnBinary.binaryStart + HEADER_SIZE ,
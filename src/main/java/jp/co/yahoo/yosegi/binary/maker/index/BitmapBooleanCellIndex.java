@@ -0,0 +1,96 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.co.yahoo.yosegi.binary.maker.index;
+
+import jp.co.yahoo.yosegi.spread.column.filter.BooleanFilter;
+import jp.co.yahoo.yosegi.spread.column.filter.FilterType;
+import jp.co.yahoo.yosegi.spread.column.filter.IFilter;
+import jp.co.yahoo.yosegi.spread.column.index.ICellIndex;
+import jp.co.yahoo.yosegi.spread.expression.SelectionBitmap;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Boolean filter on the long word bitmaps of BitmapBooleanColumnBinaryMaker.
+ * Each word compares 64 rows and only the matched bits are written to the filter array.
+ */
+public class BitmapBooleanCellIndex implements ICellIndex {
+
+  private final long[] isNotNullWords;
+  private final long[] valueWords;
+  private final int size;
+
+  /**
+   * Filter the bitmaps of the specified number of rows.
+   */
+  public BitmapBooleanCellIndex(
+      final long[] isNotNullWords , final long[] valueWords , final int size ) {
+    this.isNotNullWords = isNotNullWords;
+    this.valueWords = valueWords;
+    this.size = size;
+  }
+
+  @Override
+  public boolean[] filter(
+      final IFilter filter , final boolean[] filterArray ) throws IOException {
+    if ( filter == null || filter.getFilterType() != FilterType.BOOLEAN ) {
+      return null;
+    }
+    boolean flag = ( (BooleanFilter)filter ).getFlag();
+    int rowCount = Math.min( size , filterArray.length );
+    int wordCount = ( rowCount + Long.SIZE - 1 ) / Long.SIZE;
+    for ( int i = 0 ; i < wordCount ; i++ ) {
+      long match = isNotNullWords[i] & ( flag ? valueWords[i] : ~valueWords[i] );
+      int offset = i << 6;
+      if ( Long.bitCount( match ) == Long.SIZE && offset + Long.SIZE <= rowCount ) {
+        Arrays.fill( filterArray , offset , offset + Long.SIZE , true );
+        continue;
+      }
+      while ( match != 0 ) {
+        int index = offset + Long.numberOfTrailingZeros( match );
+        if ( rowCount <= index ) {
+          break;
+        }
+        filterArray[index] = true;
+        match &= match - 1;
+      }
+    }
+    return filterArray;
+  }
+
+  /**
+   * The matched words are returned as the bitmap without converting them to row flags.
+   */
+  @Override
+  public SelectionBitmap filterBitmap( final IFilter filter , final int size ) {
+    if ( filter == null || filter.getFilterType() != FilterType.BOOLEAN ) {
+      return null;
+    }
+    boolean flag = ( (BooleanFilter)filter ).getFlag();
+    long[] words = new long[ ( size + Long.SIZE - 1 ) / Long.SIZE ];
+    int wordCount = Math.min(
+        words.length , Math.min( isNotNullWords.length , valueWords.length ) );
+    for ( int i = 0 ; i < wordCount ; i++ ) {
+      words[i] = isNotNullWords[i] & ( flag ? valueWords[i] : ~valueWords[i] );
+    }
+    return SelectionBitmap.fromWords( words , size );
+  }
+
+}
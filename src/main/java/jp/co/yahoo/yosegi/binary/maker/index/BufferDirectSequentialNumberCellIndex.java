@@ -19,9 +19,9 @@
 package jp.co.yahoo.yosegi.binary.maker.index;
 
 import jp.co.yahoo.yosegi.binary.maker.IDicManager;
-import jp.co.yahoo.yosegi.message.objects.PrimitiveObject;
 import jp.co.yahoo.yosegi.spread.column.ColumnType;
 import jp.co.yahoo.yosegi.spread.column.filter.IFilter;
+import jp.co.yahoo.yosegi.spread.column.filter.INumberDictionaryFilter;
 import jp.co.yahoo.yosegi.spread.column.filter.NumberFilter;
 import jp.co.yahoo.yosegi.spread.column.filter.NumberRangeFilter;
 import jp.co.yahoo.yosegi.spread.column.index.ICellIndex;
@@ -37,6 +37,7 @@ public class BufferDirectSequentialNumberCellIndex implements ICellIndex {
   private final IComparator comparator;
   private final IDicManager dicManager;
   private final IntBuffer dicIndexIntBuffer;
+  private final ColumnType columnType;
 
   /**
    * Object for managing cells from IntBuffer.
@@ -47,6 +48,7 @@ public class BufferDirectSequentialNumberCellIndex implements ICellIndex {
         final IntBuffer dicIndexIntBuffer ) throws IOException {
     this.dicManager = dicManager;
     this.dicIndexIntBuffer = dicIndexIntBuffer;
+    this.columnType = columnType;
     switch ( columnType ) {
       case BYTE:
         comparator = new ByteComparator();
@@ -111,23 +113,39 @@ public class BufferDirectSequentialNumberCellIndex implements ICellIndex {
         return toColumnList(
             comparator.getRange( dicManager , dicIndexIntBuffer , numberRangeFilter ) ,
             filterArray );
+      case NUMBER_DICTIONARY:
+        return toColumnList(
+            SequentialNumberCellIndex.getTargetDictionary(
+                columnType , dicManager , (INumberDictionaryFilter)filter ) ,
+            filterArray );
       default:
         return null;
     }
   }
 
   private boolean[] toColumnList(
-      final Set<Integer> targetDicSet , final boolean[] filterArray ) {
+      final Set<Integer> targetDicSet , final boolean[] filterArray ) throws IOException {
     if ( targetDicSet == null ) {
       return null;
     }
     if ( targetDicSet.isEmpty() ) {
       return filterArray;
     }
+    boolean[] isTargetDic = new boolean[ dicManager.getDicSize() ];
+    for ( Integer dicIndex : targetDicSet ) {
+      isTargetDic[ dicIndex.intValue() ] = true;
+    }
+    return toColumnList( isTargetDic , filterArray );
+  }
+
+  private boolean[] toColumnList(
+      final boolean[] isTargetDic , final boolean[] filterArray ) throws IOException {
+    if ( isTargetDic == null ) {
+      return null;
+    }
     int length = dicIndexIntBuffer.capacity();
     for ( int i = 0 ; i < length ; i++ ) {
-      Integer dicIndex = Integer.valueOf( dicIndexIntBuffer.get(i) );
-      if ( targetDicSet.contains( dicIndex ) ) {
+      if ( isTargetDic[ dicIndexIntBuffer.get(i) ] ) {
         filterArray[i] = true;
       }
     }
@@ -248,11 +266,10 @@ public class BufferDirectSequentialNumberCellIndex implements ICellIndex {
         return matchDicList;
       }
       for ( int i = 0 ; i < dicManager.getDicSize() ; i++ ) {
-        PrimitiveObject numObj = dicManager.get( i );
-        if ( numObj == null ) {
+        if ( dicManager.isNull( i ) ) {
           continue;
         }
-        if ( target == numObj.getLong() ) {
+        if ( target == dicManager.getLong( i ) ) {
           matchDicList.add( Integer.valueOf( i ) );
         }
       }
@@ -273,8 +290,7 @@ public class BufferDirectSequentialNumberCellIndex implements ICellIndex {
       }
       Set<Integer> matchDicList = new HashSet<Integer>();
       for ( int i = 0 ; i < dicManager.getDicSize() ; i++ ) {
-        PrimitiveObject numObj = dicManager.get( i );
-        if ( numObj == null || target != numObj.getLong() ) {
+        if ( dicManager.isNull( i ) || target != dicManager.getLong( i ) ) {
           matchDicList.add( Integer.valueOf( i ) );
         }
       }
@@ -295,11 +311,10 @@ public class BufferDirectSequentialNumberCellIndex implements ICellIndex {
       }
       Set<Integer> matchDicList = new HashSet<Integer>();
       for ( int i = 0 ; i < dicManager.getDicSize() ; i++ ) {
-        PrimitiveObject numObj = dicManager.get( i );
-        if ( numObj == null ) {
+        if ( dicManager.isNull( i ) ) {
           continue;
         }
-        if ( numObj.getLong() < target ) {
+        if ( dicManager.getLong( i ) < target ) {
           matchDicList.add( Integer.valueOf( i ) );
         }
       }
@@ -320,11 +335,10 @@ public class BufferDirectSequentialNumberCellIndex implements ICellIndex {
       }
       Set<Integer> matchDicList = new HashSet<Integer>();
       for ( int i = 0 ; i < dicManager.getDicSize() ; i++ ) {
-        PrimitiveObject numObj = dicManager.get( i );
-        if ( numObj == null ) {
+        if ( dicManager.isNull( i ) ) {
           continue;
         }
-        if ( numObj.getLong() <= target ) {
+        if ( dicManager.getLong( i ) <= target ) {
           matchDicList.add( Integer.valueOf( i ) );
         }
       }
@@ -345,11 +359,10 @@ public class BufferDirectSequentialNumberCellIndex implements ICellIndex {
       }
       Set<Integer> matchDicList = new HashSet<Integer>();
       for ( int i = 0 ; i < dicManager.getDicSize() ; i++ ) {
-        PrimitiveObject numObj = dicManager.get( i );
-        if ( numObj == null ) {
+        if ( dicManager.isNull( i ) ) {
           continue;
         }
-        if ( target < numObj.getLong() ) {
+        if ( target < dicManager.getLong( i ) ) {
           matchDicList.add( Integer.valueOf( i ) );
         }
       }
@@ -370,11 +383,10 @@ public class BufferDirectSequentialNumberCellIndex implements ICellIndex {
       }
       Set<Integer> matchDicList = new HashSet<Integer>();
       for ( int i = 0 ; i < dicManager.getDicSize() ; i++ ) {
-        PrimitiveObject numObj = dicManager.get( i );
-        if ( numObj == null ) {
+        if ( dicManager.isNull( i ) ) {
           continue;
         }
-        if ( target <= numObj.getLong() ) {
+        if ( target <= dicManager.getLong( i ) ) {
           matchDicList.add( Integer.valueOf( i ) );
         }
       }
@@ -403,11 +415,10 @@ public class BufferDirectSequentialNumberCellIndex implements ICellIndex {
       boolean maxHasEquals = numberRangeFilter.isMaxHasEquals();
       Set<Integer> matchDicList = new HashSet<Integer>();
       for ( int i = 0 ; i < dicManager.getDicSize() ; i++ ) {
-        PrimitiveObject numObj = dicManager.get( i );
-        if ( numObj == null ) {
+        if ( dicManager.isNull( i ) ) {
           continue;
         }
-        long target = numObj.getLong();
+        long target = dicManager.getLong( i );
         if ( NumberUtils.range( min , minHasEquals , max , maxHasEquals , target ) ) {
           matchDicList.add( Integer.valueOf( i ) );
         }
@@ -432,11 +443,10 @@ public class BufferDirectSequentialNumberCellIndex implements ICellIndex {
         return matchDicList;
       }
       for ( int i = 0 ; i < dicManager.getDicSize() ; i++ ) {
-        PrimitiveObject numObj = dicManager.get( i );
-        if ( numObj == null ) {
+        if ( dicManager.isNull( i ) ) {
           continue;
         }
-        if ( target == numObj.getInt() ) {
+        if ( target == dicManager.getInt( i ) ) {
           matchDicList.add( Integer.valueOf( i ) );
         }
       }
@@ -457,8 +467,7 @@ public class BufferDirectSequentialNumberCellIndex implements ICellIndex {
       }
       Set<Integer> matchDicList = new HashSet<Integer>();
       for ( int i = 0 ; i < dicManager.getDicSize() ; i++ ) {
-        PrimitiveObject numObj = dicManager.get( i );
-        if ( numObj == null || target != numObj.getInt() ) {
+        if ( dicManager.isNull( i ) || target != dicManager.getInt( i ) ) {
           matchDicList.add( Integer.valueOf( i ) );
         }
       }
@@ -479,11 +488,10 @@ public class BufferDirectSequentialNumberCellIndex implements ICellIndex {
       }
       Set<Integer> matchDicList = new HashSet<Integer>();
       for ( int i = 0 ; i < dicManager.getDicSize() ; i++ ) {
-        PrimitiveObject numObj = dicManager.get( i );
-        if ( numObj == null ) {
+        if ( dicManager.isNull( i ) ) {
           continue;
         }
-        if ( numObj.getInt() < target ) {
+        if ( dicManager.getInt( i ) < target ) {
           matchDicList.add( Integer.valueOf( i ) );
         }
       }
@@ -504,11 +512,10 @@ public class BufferDirectSequentialNumberCellIndex implements ICellIndex {
       }
       Set<Integer> matchDicList = new HashSet<Integer>();
       for ( int i = 0 ; i < dicManager.getDicSize() ; i++ ) {
-        PrimitiveObject numObj = dicManager.get( i );
-        if ( numObj == null ) {
+        if ( dicManager.isNull( i ) ) {
           continue;
         }
-        if ( numObj.getInt() <= target ) {
+        if ( dicManager.getInt( i ) <= target ) {
           matchDicList.add( Integer.valueOf( i ) );
         }
       }
@@ -529,11 +536,10 @@ public class BufferDirectSequentialNumberCellIndex implements ICellIndex {
       }
       Set<Integer> matchDicList = new HashSet<Integer>();
       for ( int i = 0 ; i < dicManager.getDicSize() ; i++ ) {
-        PrimitiveObject numObj = dicManager.get( i );
-        if ( numObj == null ) {
+        if ( dicManager.isNull( i ) ) {
           continue;
         }
-        if ( target < numObj.getInt() ) {
+        if ( target < dicManager.getInt( i ) ) {
           matchDicList.add( Integer.valueOf( i ) );
         }
       }
@@ -554,11 +560,10 @@ public class BufferDirectSequentialNumberCellIndex implements ICellIndex {
       }
       Set<Integer> matchDicList = new HashSet<Integer>();
       for ( int i = 0 ; i < dicManager.getDicSize() ; i++ ) {
-        PrimitiveObject numObj = dicManager.get( i );
-        if ( numObj == null ) {
+        if ( dicManager.isNull( i ) ) {
           continue;
         }
-        if ( target <= numObj.getInt() ) {
+        if ( target <= dicManager.getInt( i ) ) {
           matchDicList.add( Integer.valueOf( i ) );
         }
       }
@@ -587,11 +592,10 @@ public class BufferDirectSequentialNumberCellIndex implements ICellIndex {
       boolean minHasEquals = numberRangeFilter.isMinHasEquals();
       boolean maxHasEquals = numberRangeFilter.isMaxHasEquals();
       for ( int i = 0 ; i < dicManager.getDicSize() ; i++ ) {
-        PrimitiveObject numObj = dicManager.get( i );
-        if ( numObj == null ) {
+        if ( dicManager.isNull( i ) ) {
           continue;
         }
-        int target = numObj.getInt();
+        int target = dicManager.getInt( i );
         if ( NumberUtils.range( min , minHasEquals , max , maxHasEquals , target ) ) {
           matchDicList.add( Integer.valueOf( i ) );
         }
@@ -616,11 +620,10 @@ public class BufferDirectSequentialNumberCellIndex implements ICellIndex {
         return matchDicList;
       }
       for ( int i = 0 ; i < dicManager.getDicSize() ; i++ ) {
-        PrimitiveObject numObj = dicManager.get( i );
-        if ( numObj == null ) {
+        if ( dicManager.isNull( i ) ) {
           continue;
         }
-        if ( target == numObj.getShort() ) {
+        if ( target == dicManager.getShort( i ) ) {
           matchDicList.add( Integer.valueOf( i ) );
         }
       }
@@ -641,8 +644,7 @@ public class BufferDirectSequentialNumberCellIndex implements ICellIndex {
       }
       Set<Integer> matchDicList = new HashSet<Integer>();
       for ( int i = 0 ; i < dicManager.getDicSize() ; i++ ) {
-        PrimitiveObject numObj = dicManager.get( i );
-        if ( numObj == null || target != numObj.getShort() ) {
+        if ( dicManager.isNull( i ) || target != dicManager.getShort( i ) ) {
           matchDicList.add( Integer.valueOf( i ) );
         }
       }
@@ -663,11 +665,10 @@ public class BufferDirectSequentialNumberCellIndex implements ICellIndex {
       }
       Set<Integer> matchDicList = new HashSet<Integer>();
       for ( int i = 0 ; i < dicManager.getDicSize() ; i++ ) {
-        PrimitiveObject numObj = dicManager.get( i );
-        if ( numObj == null ) {
+        if ( dicManager.isNull( i ) ) {
           continue;
         }
-        if ( numObj.getShort() < target ) {
+        if ( dicManager.getShort( i ) < target ) {
           matchDicList.add( Integer.valueOf( i ) );
         }
       }
@@ -688,11 +689,10 @@ public class BufferDirectSequentialNumberCellIndex implements ICellIndex {
       }
       Set<Integer> matchDicList = new HashSet<Integer>();
       for ( int i = 0 ; i < dicManager.getDicSize() ; i++ ) {
-        PrimitiveObject numObj = dicManager.get( i );
-        if ( numObj == null ) {
+        if ( dicManager.isNull( i ) ) {
           continue;
         }
-        if ( numObj.getShort() <= target ) {
+        if ( dicManager.getShort( i ) <= target ) {
           matchDicList.add( Integer.valueOf( i ) );
         }
       }
@@ -713,11 +713,10 @@ public class BufferDirectSequentialNumberCellIndex implements ICellIndex {
       }
       Set<Integer> matchDicList = new HashSet<Integer>();
       for ( int i = 0 ; i < dicManager.getDicSize() ; i++ ) {
-        PrimitiveObject numObj = dicManager.get( i );
-        if ( numObj == null ) {
+        if ( dicManager.isNull( i ) ) {
           continue;
         }
-        if ( target < numObj.getShort() ) {
+        if ( target < dicManager.getShort( i ) ) {
           matchDicList.add( Integer.valueOf( i ) );
         }
       }
@@ -738,11 +737,10 @@ public class BufferDirectSequentialNumberCellIndex implements ICellIndex {
       }
       Set<Integer> matchDicList = new HashSet<Integer>();
       for ( int i = 0 ; i < dicManager.getDicSize() ; i++ ) {
-        PrimitiveObject numObj = dicManager.get( i );
-        if ( numObj == null ) {
+        if ( dicManager.isNull( i ) ) {
           continue;
         }
-        if ( target <= numObj.getShort() ) {
+        if ( target <= dicManager.getShort( i ) ) {
           matchDicList.add( Integer.valueOf( i ) );
         }
       }
@@ -771,11 +769,10 @@ public class BufferDirectSequentialNumberCellIndex implements ICellIndex {
       boolean minHasEquals = numberRangeFilter.isMinHasEquals();
       boolean maxHasEquals = numberRangeFilter.isMaxHasEquals();
       for ( int i = 0 ; i < dicManager.getDicSize() ; i++ ) {
-        PrimitiveObject numObj = dicManager.get( i );
-        if ( numObj == null ) {
+        if ( dicManager.isNull( i ) ) {
           continue;
         }
-        short target = numObj.getShort();
+        short target = dicManager.getShort( i );
         if ( NumberUtils.range( min , minHasEquals , max , maxHasEquals , target ) ) {
           matchDicList.add( Integer.valueOf( i ) );
         }
@@ -800,11 +797,10 @@ public class BufferDirectSequentialNumberCellIndex implements ICellIndex {
         return matchDicList;
       }
       for ( int i = 0 ; i < dicManager.getDicSize() ; i++ ) {
-        PrimitiveObject numObj = dicManager.get( i );
-        if ( numObj == null ) {
+        if ( dicManager.isNull( i ) ) {
           continue;
         }
-        if ( target == numObj.getByte() ) {
+        if ( target == dicManager.getByte( i ) ) {
           matchDicList.add( Integer.valueOf( i ) );
         }
       }
@@ -825,8 +821,7 @@ public class BufferDirectSequentialNumberCellIndex implements ICellIndex {
       }
       Set<Integer> matchDicList = new HashSet<Integer>();
       for ( int i = 0 ; i < dicManager.getDicSize() ; i++ ) {
-        PrimitiveObject numObj = dicManager.get( i );
-        if ( numObj == null || target != numObj.getByte() ) {
+        if ( dicManager.isNull( i ) || target != dicManager.getByte( i ) ) {
           matchDicList.add( Integer.valueOf( i ) );
         }
       }
@@ -847,11 +842,10 @@ public class BufferDirectSequentialNumberCellIndex implements ICellIndex {
       }
       Set<Integer> matchDicList = new HashSet<Integer>();
       for ( int i = 0 ; i < dicManager.getDicSize() ; i++ ) {
-        PrimitiveObject numObj = dicManager.get( i );
-        if ( numObj == null ) {
+        if ( dicManager.isNull( i ) ) {
           continue;
         }
-        if ( numObj.getByte() < target ) {
+        if ( dicManager.getByte( i ) < target ) {
           matchDicList.add( Integer.valueOf( i ) );
         }
       }
@@ -872,11 +866,10 @@ public class BufferDirectSequentialNumberCellIndex implements ICellIndex {
       }
       Set<Integer> matchDicList = new HashSet<Integer>();
       for ( int i = 0 ; i < dicManager.getDicSize() ; i++ ) {
-        PrimitiveObject numObj = dicManager.get( i );
-        if ( numObj == null ) {
+        if ( dicManager.isNull( i ) ) {
           continue;
         }
-        if ( numObj.getByte() <= target ) {
+        if ( dicManager.getByte( i ) <= target ) {
           matchDicList.add( Integer.valueOf( i ) );
         }
       }
@@ -897,11 +890,10 @@ public class BufferDirectSequentialNumberCellIndex implements ICellIndex {
       }
       Set<Integer> matchDicList = new HashSet<Integer>();
       for ( int i = 0 ; i < dicManager.getDicSize() ; i++ ) {
-        PrimitiveObject numObj = dicManager.get( i );
-        if ( numObj == null ) {
+        if ( dicManager.isNull( i ) ) {
           continue;
         }
-        if ( target < numObj.getByte() ) {
+        if ( target < dicManager.getByte( i ) ) {
           matchDicList.add( Integer.valueOf( i ) );
         }
       }
@@ -922,11 +914,10 @@ public class BufferDirectSequentialNumberCellIndex implements ICellIndex {
       }
       Set<Integer> matchDicList = new HashSet<Integer>();
       for ( int i = 0 ; i < dicManager.getDicSize() ; i++ ) {
-        PrimitiveObject numObj = dicManager.get( i );
-        if ( numObj == null ) {
+        if ( dicManager.isNull( i ) ) {
           continue;
         }
-        if ( target <= numObj.getByte() ) {
+        if ( target <= dicManager.getByte( i ) ) {
           matchDicList.add( Integer.valueOf( i ) );
         }
       }
@@ -955,11 +946,10 @@ public class BufferDirectSequentialNumberCellIndex implements ICellIndex {
       boolean minHasEquals = numberRangeFilter.isMinHasEquals();
       boolean maxHasEquals = numberRangeFilter.isMaxHasEquals();
       for ( int i = 0 ; i < dicManager.getDicSize() ; i++ ) {
-        PrimitiveObject numObj = dicManager.get( i );
-        if ( numObj == null ) {
+        if ( dicManager.isNull( i ) ) {
           continue;
         }
-        byte target = numObj.getByte();
+        byte target = dicManager.getByte( i );
         if ( NumberUtils.range( min , minHasEquals , max , maxHasEquals , target ) ) {
           matchDicList.add( Integer.valueOf( i ) );
         }
@@ -1000,11 +990,10 @@ public class BufferDirectSequentialNumberCellIndex implements ICellIndex {
       }
       Set<Integer> matchDicList = new HashSet<Integer>();
       for ( int i = 0 ; i < dicManager.getDicSize() ; i++ ) {
-        PrimitiveObject numObj = dicManager.get( i );
-        if ( numObj == null ) {
+        if ( dicManager.isNull( i ) ) {
           continue;
         }
-        if ( 0 < target.compareTo( numObj.getFloat() ) ) {
+        if ( 0 < Float.compare( target , dicManager.getFloat( i ) ) ) {
           matchDicList.add( Integer.valueOf( i ) );
         }
       }
@@ -1025,11 +1014,10 @@ public class BufferDirectSequentialNumberCellIndex implements ICellIndex {
       }
       Set<Integer> matchDicList = new HashSet<Integer>();
       for ( int i = 0 ; i < dicManager.getDicSize() ; i++ ) {
-        PrimitiveObject numObj = dicManager.get( i );
-        if ( numObj == null ) {
+        if ( dicManager.isNull( i ) ) {
           continue;
         }
-        if ( 0 <= target.compareTo( numObj.getFloat() ) ) {
+        if ( 0 <= Float.compare( target , dicManager.getFloat( i ) ) ) {
           matchDicList.add( Integer.valueOf( i ) );
         }
       }
@@ -1050,11 +1038,10 @@ public class BufferDirectSequentialNumberCellIndex implements ICellIndex {
       }
       Set<Integer> matchDicList = new HashSet<Integer>();
       for ( int i = 0 ; i < dicManager.getDicSize() ; i++ ) {
-        PrimitiveObject numObj = dicManager.get( i );
-        if ( numObj == null ) {
+        if ( dicManager.isNull( i ) ) {
           continue;
         }
-        if ( target.compareTo( numObj.getFloat() ) < 0 ) {
+        if ( Float.compare( target , dicManager.getFloat( i ) ) < 0 ) {
           matchDicList.add( Integer.valueOf( i ) );
         }
       }
@@ -1075,11 +1062,10 @@ public class BufferDirectSequentialNumberCellIndex implements ICellIndex {
       }
       Set<Integer> matchDicList = new HashSet<Integer>();
       for ( int i = 0 ; i < dicManager.getDicSize() ; i++ ) {
-        PrimitiveObject numObj = dicManager.get( i );
-        if ( numObj == null ) {
+        if ( dicManager.isNull( i ) ) {
           continue;
         }
-        if ( target.compareTo( numObj.getFloat() ) <= 0 ) {
+        if ( Float.compare( target , dicManager.getFloat( i ) ) <= 0 ) {
           matchDicList.add( Integer.valueOf( i ) );
         }
       }
@@ -1108,11 +1094,10 @@ public class BufferDirectSequentialNumberCellIndex implements ICellIndex {
       boolean maxHasEquals = numberRangeFilter.isMaxHasEquals();
       Set<Integer> matchDicList = new HashSet<Integer>();
       for ( int i = 0 ; i < dicManager.getDicSize() ; i++ ) {
-        PrimitiveObject numObj = dicManager.get( i );
-        if ( numObj == null ) {
+        if ( dicManager.isNull( i ) ) {
           continue;
         }
-        Float target = Float.valueOf( numObj.getFloat() );
+        Float target = Float.valueOf( dicManager.getFloat( i ) );
         if ( NumberUtils.range( min , minHasEquals , max , maxHasEquals , target ) ) {
           matchDicList.add( Integer.valueOf( i ) );
         }
@@ -1153,11 +1138,10 @@ public class BufferDirectSequentialNumberCellIndex implements ICellIndex {
       }
       Set<Integer> matchDicList = new HashSet<Integer>();
       for ( int i = 0 ; i < dicManager.getDicSize() ; i++ ) {
-        PrimitiveObject numObj = dicManager.get( i );
-        if ( numObj == null ) {
+        if ( dicManager.isNull( i ) ) {
           continue;
         }
-        if ( 0 < target.compareTo( numObj.getDouble() ) ) {
+        if ( 0 < Double.compare( target , dicManager.getDouble( i ) ) ) {
           matchDicList.add( Integer.valueOf( i ) );
         }
       }
@@ -1178,11 +1162,10 @@ public class BufferDirectSequentialNumberCellIndex implements ICellIndex {
       }
       Set<Integer> matchDicList = new HashSet<Integer>();
       for ( int i = 0 ; i < dicManager.getDicSize() ; i++ ) {
-        PrimitiveObject numObj = dicManager.get( i );
-        if ( numObj == null ) {
+        if ( dicManager.isNull( i ) ) {
           continue;
         }
-        if ( 0 <= target.compareTo( numObj.getDouble() ) ) {
+        if ( 0 <= Double.compare( target , dicManager.getDouble( i ) ) ) {
           matchDicList.add( Integer.valueOf( i ) );
         }
       }
@@ -1203,11 +1186,10 @@ public class BufferDirectSequentialNumberCellIndex implements ICellIndex {
       }
       Set<Integer> matchDicList = new HashSet<Integer>();
       for ( int i = 0 ; i < dicManager.getDicSize() ; i++ ) {
-        PrimitiveObject numObj = dicManager.get( i );
-        if ( numObj == null ) {
+        if ( dicManager.isNull( i ) ) {
           continue;
         }
-        if ( target.compareTo( numObj.getDouble() ) < 0 ) {
+        if ( Double.compare( target , dicManager.getDouble( i ) ) < 0 ) {
           matchDicList.add( Integer.valueOf( i ) );
         }
       }
@@ -1228,11 +1210,10 @@ public class BufferDirectSequentialNumberCellIndex implements ICellIndex {
       }
       Set<Integer> matchDicList = new HashSet<Integer>();
       for ( int i = 0 ; i < dicManager.getDicSize() ; i++ ) {
-        PrimitiveObject numObj = dicManager.get( i );
-        if ( numObj == null ) {
+        if ( dicManager.isNull( i ) ) {
           continue;
         }
-        if ( target.compareTo( numObj.getDouble() ) <= 0 ) {
+        if ( Double.compare( target , dicManager.getDouble( i ) ) <= 0 ) {
           matchDicList.add( Integer.valueOf( i ) );
         }
       }
@@ -1261,11 +1242,10 @@ public class BufferDirectSequentialNumberCellIndex implements ICellIndex {
       boolean maxHasEquals = numberRangeFilter.isMaxHasEquals();
       Set<Integer> matchDicList = new HashSet<Integer>();
       for ( int i = 0 ; i < dicManager.getDicSize() ; i++ ) {
-        PrimitiveObject numObj = dicManager.get( i );
-        if ( numObj == null ) {
+        if ( dicManager.isNull( i ) ) {
           continue;
         }
-        Double target = Double.valueOf( numObj.getDouble() );
+        Double target = Double.valueOf( dicManager.getDouble( i ) );
         if ( NumberUtils.range( min , minHasEquals , max , maxHasEquals , target ) ) {
           matchDicList.add( Integer.valueOf( i ) );
         }
@@ -19,6 +19,7 @@ import jp.co.yahoo.yosegi.spread.column.filter.BooleanFilter;
 import jp.co.yahoo.yosegi.spread.column.filter.FilterType;
 import jp.co.yahoo.yosegi.spread.column.filter.IFilter;
 import jp.co.yahoo.yosegi.spread.column.index.ICellIndex;
+import jp.co.yahoo.yosegi.spread.expression.SelectionBitmap;
 
 import java.io.IOException;
 
@@ -58,4 +59,12 @@ public class FlagBooleanIndex implements ICellIndex {
     // NOTE: return null when there are some target values
     return null;
   }
+
+  @Override
+  public SelectionBitmap filterBitmap(final IFilter filter, final int size) throws IOException {
+    if (filter(filter, new boolean[0]) == null) {
+      return null;
+    }
+    return new SelectionBitmap(size);
+  }
 }
@@ -0,0 +1,104 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.co.yahoo.yosegi.binary.maker.index;
+
+import jp.co.yahoo.yosegi.binary.maker.IDicManager;
+import jp.co.yahoo.yosegi.spread.column.filter.IFilter;
+import jp.co.yahoo.yosegi.spread.column.filter.IStringFilter;
+import jp.co.yahoo.yosegi.spread.column.index.ICellIndex;
+import jp.co.yahoo.yosegi.util.io.fsst.FsstStringDictionary;
+import jp.co.yahoo.yosegi.util.io.fsst.FsstSymbolTable;
+
+import java.io.IOException;
+import java.nio.IntBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Evaluate perfect and forward match on the FSST encoded dictionary.
+ * The other filters are evaluated on the decoded strings.
+ */
+public class FsstStringCellIndex implements ICellIndex {
+
+  private final FsstStringDictionary dictionary;
+  private final IntBuffer dicIndexIntBuffer;
+  private final ICellIndex decodedCellIndex;
+
+  /**
+   * Create an index of the dictionary and the dictionary index of each row.
+   * Dictionary index 0 is null.
+   */
+  public FsstStringCellIndex(
+      final FsstStringDictionary dictionary ,
+      final IDicManager dicManager ,
+      final IntBuffer dicIndexIntBuffer ) {
+    this.dictionary = dictionary;
+    this.dicIndexIntBuffer = dicIndexIntBuffer;
+    decodedCellIndex = new BufferDirectSequentialStringCellIndex( dicManager , dicIndexIntBuffer );
+  }
+
+  @Override
+  public boolean[] filter(
+      final IFilter filter , final boolean[] filterArray ) throws IOException {
+    switch ( filter.getFilterType() ) {
+      case STRING:
+        IStringFilter stringFilter = (IStringFilter)filter;
+        byte[] target = stringFilter.getSearchString().getBytes( StandardCharsets.UTF_8 );
+        switch ( stringFilter.getStringFilterType() ) {
+          case PERFECT:
+            return toColumnList( perfectMatch( target ) , filterArray );
+          case FORWARD:
+            return toColumnList( forwardMatch( target ) , filterArray );
+          default:
+            return decodedCellIndex.filter( filter , filterArray );
+        }
+      default:
+        return decodedCellIndex.filter( filter , filterArray );
+    }
+  }
+
+  private boolean[] toColumnList( final boolean[] isMatchArray , final boolean[] filterArray ) {
+    int length = dicIndexIntBuffer.capacity();
+    for ( int i = 0 ; i < length ; i++ ) {
+      if ( isMatchArray[ dicIndexIntBuffer.get( i ) ] ) {
+        filterArray[i] = true;
+      }
+    }
+    return filterArray;
+  }
+
+  private boolean[] perfectMatch( final byte[] target ) {
+    byte[] encodedTarget = dictionary.getSymbolTable().encode( target );
+    boolean[] result = new boolean[ dictionary.size() ];
+    for ( int i = 1 ; i < result.length ; i++ ) {
+      result[i] = dictionary.isEqual( i , encodedTarget );
+    }
+    return result;
+  }
+
+  private boolean[] forwardMatch( final byte[] target ) {
+    FsstSymbolTable.PrefixMatcher matcher =
+        dictionary.getSymbolTable().createPrefixMatcher( target );
+    boolean[] result = new boolean[ dictionary.size() ];
+    for ( int i = 1 ; i < result.length ; i++ ) {
+      result[i] = dictionary.startsWith( i , matcher );
+    }
+    return result;
+  }
+
+}
@@ -18,10 +18,13 @@
 
 package jp.co.yahoo.yosegi.binary.maker.index;
 
+import jp.co.yahoo.yosegi.spread.column.ColumnType;
 import jp.co.yahoo.yosegi.spread.column.filter.IFilter;
+import jp.co.yahoo.yosegi.spread.column.filter.INumberDictionaryFilter;
 import jp.co.yahoo.yosegi.spread.column.filter.NumberFilter;
 import jp.co.yahoo.yosegi.spread.column.filter.NumberRangeFilter;
 import jp.co.yahoo.yosegi.spread.column.index.ICellIndex;
+import jp.co.yahoo.yosegi.util.LongHashSet;
 
 import java.io.IOException;
 
@@ -113,6 +116,16 @@ public class RangeFloatIndex implements ICellIndex {
           }
           return null;
         }
+      case NUMBER_DICTIONARY:
+        LongHashSet dictionary =
+            ( (INumberDictionaryFilter)filter ).getDictionary( ColumnType.FLOAT );
+        for ( long key : dictionary.toArray() ) {
+          float value = Float.intBitsToFloat( (int)key );
+          if ( min <= value && value <= max ) {
+            return null;
+          }
+        }
+        return filterArray;
       default:
         return null;
     }
@@ -0,0 +1,120 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.co.yahoo.yosegi.binary.maker.index;
+
+import jp.co.yahoo.yosegi.binary.maker.IDicManager;
+import jp.co.yahoo.yosegi.message.objects.PrimitiveObject;
+import jp.co.yahoo.yosegi.spread.column.ColumnType;
+import jp.co.yahoo.yosegi.spread.column.filter.IFilter;
+import jp.co.yahoo.yosegi.spread.column.index.ICellIndex;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Evaluate the filter once per value of the runs and select the rows of a run at once.
+ * The rows between the runs are null, and are selected when the filter matches null.
+ */
+public class RunLengthCellIndex implements ICellIndex {
+
+  private final ICellIndex valueIndex;
+  private final int valueCount;
+  private final int size;
+  private final int runCount;
+  private final int[] runStartArray;
+  private final int[] runLengthArray;
+  private final int[] runValueIndexArray;
+
+  /**
+   * Init.
+   */
+  public RunLengthCellIndex(
+      final ColumnType columnType ,
+      final int size ,
+      final int runCount ,
+      final int[] runStartArray ,
+      final int[] runLengthArray ,
+      final int[] runValueIndexArray ,
+      final PrimitiveObject[] valueArray ) throws IOException {
+    this.size = size;
+    this.runCount = runCount;
+    this.runStartArray = runStartArray;
+    this.runLengthArray = runLengthArray;
+    this.runValueIndexArray = runValueIndexArray;
+    valueCount = valueArray.length + 1;
+    IDicManager dicManager = new ValueDicManager( valueArray );
+    if ( columnType == ColumnType.STRING ) {
+      valueIndex = new SequentialStringCellIndex( dicManager );
+    } else {
+      valueIndex = new SequentialNumberCellIndex( columnType , dicManager );
+    }
+  }
+
+  @Override
+  public boolean[] filter(
+      final IFilter filter , final boolean[] filterArray ) throws IOException {
+    if ( filter == null ) {
+      return null;
+    }
+    boolean[] isTargetValue = valueIndex.filter( filter , new boolean[valueCount] );
+    if ( isTargetValue == null ) {
+      return null;
+    }
+    boolean isTargetNull = isTargetValue[ valueCount - 1 ];
+    int nullStart = 0;
+    for ( int i = 0 ; i < runCount ; i++ ) {
+      int runEnd = runStartArray[i] + runLengthArray[i];
+      if ( isTargetNull ) {
+        Arrays.fill( filterArray , nullStart , runStartArray[i] , true );
+      }
+      if ( isTargetValue[ runValueIndexArray[i] ] ) {
+        Arrays.fill( filterArray , runStartArray[i] , runEnd , true );
+      }
+      nullStart = runEnd;
+    }
+    if ( isTargetNull ) {
+      Arrays.fill( filterArray , nullStart , Math.min( size , filterArray.length ) , true );
+    }
+    return filterArray;
+  }
+
+  private static class ValueDicManager implements IDicManager {
+
+    private final PrimitiveObject[] valueArray;
+
+    ValueDicManager( final PrimitiveObject[] valueArray ) {
+      this.valueArray = valueArray;
+    }
+
+    @Override
+    public PrimitiveObject get( final int index ) throws IOException {
+      if ( index == valueArray.length ) {
+        return null;
+      }
+      return valueArray[index];
+    }
+
+    @Override
+    public int getDicSize() throws IOException {
+      return valueArray.length + 1;
+    }
+
+  }
+
+}
@@ -19,12 +19,14 @@
 package jp.co.yahoo.yosegi.binary.maker.index;
 
 import jp.co.yahoo.yosegi.binary.maker.IDicManager;
-import jp.co.yahoo.yosegi.message.objects.PrimitiveObject;
 import jp.co.yahoo.yosegi.spread.column.ColumnType;
 import jp.co.yahoo.yosegi.spread.column.filter.IFilter;
+import jp.co.yahoo.yosegi.spread.column.filter.INumberDictionaryFilter;
+import jp.co.yahoo.yosegi.spread.column.filter.NumberDictionaryFilter;
 import jp.co.yahoo.yosegi.spread.column.filter.NumberFilter;
 import jp.co.yahoo.yosegi.spread.column.filter.NumberRangeFilter;
 import jp.co.yahoo.yosegi.spread.column.index.ICellIndex;
+import jp.co.yahoo.yosegi.util.LongHashSet;
 import jp.co.yahoo.yosegi.util.NumberUtils;
 
 import java.io.IOException;
@@ -33,6 +35,7 @@ public class SequentialNumberCellIndex implements ICellIndex {
 
   private final IComparator comparator;
   private final IDicManager dicManager;
+  private final ColumnType columnType;
 
   /**
    * Index of Cell.
@@ -40,6 +43,7 @@ public class SequentialNumberCellIndex implements ICellIndex {
   public SequentialNumberCellIndex(
       final ColumnType columnType , final IDicManager dicManager ) throws IOException {
     this.dicManager = dicManager;
+    this.columnType = columnType;
     switch ( columnType ) {
       case BYTE:
         comparator = new ByteComparator();
@@ -89,6 +93,61 @@ public class SequentialNumberCellIndex implements ICellIndex {
       case NUMBER_RANGE:
         NumberRangeFilter numberRangeFilter = (NumberRangeFilter)filter;
         return comparator.getRange( filterArray , dicManager , numberRangeFilter );
+      case NUMBER_DICTIONARY:
+        boolean[] isTargetDic = getTargetDictionary(
+            columnType , dicManager , (INumberDictionaryFilter)filter );
+        if ( isTargetDic == null ) {
+          return null;
+        }
+        for ( int i = 0 ; i < isTargetDic.length ; i++ ) {
+          if ( isTargetDic[i] ) {
+            filterArray[i] = true;
+          }
+        }
+        return filterArray;
+      default:
+        return null;
+    }
+  }
+
+  /**
+   * Look up each value of the dictionary once in the set of the filter.
+   * Returns null if the column type is not a number.
+   */
+  public static boolean[] getTargetDictionary(
+      final ColumnType columnType ,
+      final IDicManager dicManager ,
+      final INumberDictionaryFilter filter ) throws IOException {
+    LongHashSet dictionary = filter.getDictionary( columnType );
+    int dicSize = dicManager.getDicSize();
+    boolean[] isTargetDic = new boolean[dicSize];
+    if ( dictionary.isEmpty() ) {
+      return isTargetDic;
+    }
+    switch ( columnType ) {
+      case BYTE:
+      case SHORT:
+      case INTEGER:
+      case LONG:
+        for ( int i = 0 ; i < dicSize ; i++ ) {
+          isTargetDic[i] = ! dicManager.isNull( i )
+              && dictionary.contains( dicManager.getLong( i ) );
+        }
+        return isTargetDic;
+      case FLOAT:
+        for ( int i = 0 ; i < dicSize ; i++ ) {
+          isTargetDic[i] = ! dicManager.isNull( i )
+              && dictionary.contains(
+                  NumberDictionaryFilter.toFloatKey( dicManager.getFloat( i ) ) );
+        }
+        return isTargetDic;
+      case DOUBLE:
+        for ( int i = 0 ; i < dicSize ; i++ ) {
+          isTargetDic[i] = ! dicManager.isNull( i )
+              && dictionary.contains(
+                  NumberDictionaryFilter.toDoubleKey( dicManager.getDouble( i ) ) );
+        }
+        return isTargetDic;
       default:
         return null;
     }
@@ -207,11 +266,10 @@ public class SequentialNumberCellIndex implements ICellIndex {
         return filterArray;
       }
       for ( int i = 0 ; i < dicManager.getDicSize() ; i++ ) {
-        PrimitiveObject numObj = dicManager.get( i );
-        if ( numObj == null ) {
+        if ( dicManager.isNull( i ) ) {
           continue;
         }
-        if ( target == numObj.getLong() ) {
+        if ( target == dicManager.getLong( i ) ) {
           filterArray[i] = true;
         }
       }
@@ -231,8 +289,7 @@ public class SequentialNumberCellIndex implements ICellIndex {
         return null;
       }
       for ( int i = 0 ; i < dicManager.getDicSize() ; i++ ) {
-        PrimitiveObject numObj = dicManager.get( i );
-        if ( numObj == null || target != numObj.getLong() ) {
+        if ( dicManager.isNull( i ) || target != dicManager.getLong( i ) ) {
           filterArray[i] = true;
         }
       }
@@ -252,11 +309,10 @@ public class SequentialNumberCellIndex implements ICellIndex {
         return null;
       }
       for ( int i = 0 ; i < dicManager.getDicSize() ; i++ ) {
-        PrimitiveObject numObj = dicManager.get( i );
-        if ( numObj == null ) {
+        if ( dicManager.isNull( i ) ) {
           continue;
         }
-        if ( numObj.getLong() < target ) {
+        if ( dicManager.getLong( i ) < target ) {
           filterArray[i] = true;
         }
       }
@@ -276,11 +332,10 @@ public class SequentialNumberCellIndex implements ICellIndex {
         return null;
       }
       for ( int i = 0 ; i < dicManager.getDicSize() ; i++ ) {
-        PrimitiveObject numObj = dicManager.get( i );
-        if ( numObj == null ) {
+        if ( dicManager.isNull( i ) ) {
           continue;
         }
-        if ( numObj.getLong() <= target ) {
+        if ( dicManager.getLong( i ) <= target ) {
           filterArray[i] = true;
         }
       }
@@ -300,11 +355,10 @@ public class SequentialNumberCellIndex implements ICellIndex {
         return null;
       }
       for ( int i = 0 ; i < dicManager.getDicSize() ; i++ ) {
-        PrimitiveObject numObj = dicManager.get( i );
-        if ( numObj == null ) {
+        if ( dicManager.isNull( i ) ) {
           continue;
         }
-        if ( target < numObj.getLong() ) {
+        if ( target < dicManager.getLong( i ) ) {
           filterArray[i] = true;
         }
       }
@@ -324,11 +378,10 @@ public class SequentialNumberCellIndex implements ICellIndex {
         return null;
       }
       for ( int i = 0 ; i < dicManager.getDicSize() ; i++ ) {
-        PrimitiveObject numObj = dicManager.get( i );
-        if ( numObj == null ) {
+        if ( dicManager.isNull( i ) ) {
           continue;
         }
-        if ( target <= numObj.getLong() ) {
+        if ( target <= dicManager.getLong( i ) ) {
           filterArray[i] = true;
         }
       }
@@ -356,11 +409,10 @@ public class SequentialNumberCellIndex implements ICellIndex {
       boolean minHasEquals = numberRangeFilter.isMinHasEquals();
       boolean maxHasEquals = numberRangeFilter.isMaxHasEquals();
       for ( int i = 0 ; i < dicManager.getDicSize() ; i++ ) {
-        PrimitiveObject numObj = dicManager.get( i );
-        if ( numObj == null ) {
+        if ( dicManager.isNull( i ) ) {
           continue;
         }
-        long target = numObj.getLong();
+        long target = dicManager.getLong( i );
         if ( NumberUtils.range( min , minHasEquals , max , maxHasEquals , target ) ) {
           filterArray[i] = true;
         }
@@ -384,11 +436,10 @@ public class SequentialNumberCellIndex implements ICellIndex {
         return filterArray;
       }
       for ( int i = 0 ; i < dicManager.getDicSize() ; i++ ) {
-        PrimitiveObject numObj = dicManager.get( i );
-        if ( numObj == null ) {
+        if ( dicManager.isNull( i ) ) {
           continue;
         }
-        if ( target == numObj.getInt() ) {
+        if ( target == dicManager.getInt( i ) ) {
           filterArray[i] = true;
         }
       }
@@ -408,8 +459,7 @@ public class SequentialNumberCellIndex implements ICellIndex {
         return null;
       }
       for ( int i = 0 ; i < dicManager.getDicSize() ; i++ ) {
-        PrimitiveObject numObj = dicManager.get( i );
-        if ( numObj == null || target != numObj.getInt() ) {
+        if ( dicManager.isNull( i ) || target != dicManager.getInt( i ) ) {
           filterArray[i] = true;
         }
       }
@@ -429,11 +479,10 @@ public class SequentialNumberCellIndex implements ICellIndex {
         return null;
       }
       for ( int i = 0 ; i < dicManager.getDicSize() ; i++ ) {
-        PrimitiveObject numObj = dicManager.get( i );
-        if ( numObj == null ) {
+        if ( dicManager.isNull( i ) ) {
           continue;
         }
-        if ( numObj.getInt() < target ) {
+        if ( dicManager.getInt( i ) < target ) {
           filterArray[i] = true;
         }
       }
@@ -453,11 +502,10 @@ public class SequentialNumberCellIndex implements ICellIndex {
         return null;
       }
       for ( int i = 0 ; i < dicManager.getDicSize() ; i++ ) {
-        PrimitiveObject numObj = dicManager.get( i );
-        if ( numObj == null ) {
+        if ( dicManager.isNull( i ) ) {
           continue;
         }
-        if ( numObj.getInt() <= target ) {
+        if ( dicManager.getInt( i ) <= target ) {
           filterArray[i] = true;
         }
       }
@@ -477,11 +525,10 @@ public class SequentialNumberCellIndex implements ICellIndex {
         return null;
       }
       for ( int i = 0 ; i < dicManager.getDicSize() ; i++ ) {
-        PrimitiveObject numObj = dicManager.get( i );
-        if ( numObj == null ) {
+        if ( dicManager.isNull( i ) ) {
           continue;
         }
-        if ( target < numObj.getInt() ) {
+        if ( target < dicManager.getInt( i ) ) {
           filterArray[i] = true;
         }
       }
@@ -501,11 +548,10 @@ public class SequentialNumberCellIndex implements ICellIndex {
         return null;
       }
       for ( int i = 0 ; i < dicManager.getDicSize() ; i++ ) {
-        PrimitiveObject numObj = dicManager.get( i );
-        if ( numObj == null ) {
+        if ( dicManager.isNull( i ) ) {
           continue;
         }
-        if ( target <= numObj.getInt() ) {
+        if ( target <= dicManager.getInt( i ) ) {
           filterArray[i] = true;
         }
       }
@@ -533,11 +579,10 @@ public class SequentialNumberCellIndex implements ICellIndex {
       boolean minHasEquals = numberRangeFilter.isMinHasEquals();
       boolean maxHasEquals = numberRangeFilter.isMaxHasEquals();
       for ( int i = 0 ; i < dicManager.getDicSize() ; i++ ) {
-        PrimitiveObject numObj = dicManager.get( i );
-        if ( numObj == null ) {
+        if ( dicManager.isNull( i ) ) {
           continue;
         }
-        int target = numObj.getInt();
+        int target = dicManager.getInt( i );
         if ( NumberUtils.range( min , minHasEquals , max , maxHasEquals , target ) ) {
           filterArray[i] = true;
         }
@@ -561,11 +606,10 @@ public class SequentialNumberCellIndex implements ICellIndex {
         return filterArray;
       }
       for ( int i = 0 ; i < dicManager.getDicSize() ; i++ ) {
-        PrimitiveObject numObj = dicManager.get( i );
-        if ( numObj == null ) {
+        if ( dicManager.isNull( i ) ) {
           continue;
         }
-        if ( target == numObj.getShort() ) {
+        if ( target == dicManager.getShort( i ) ) {
           filterArray[i] = true;
         }
       }
@@ -585,8 +629,7 @@ public class SequentialNumberCellIndex implements ICellIndex {
         return null;
       }
       for ( int i = 0 ; i < dicManager.getDicSize() ; i++ ) {
-        PrimitiveObject numObj = dicManager.get( i );
-        if ( numObj == null || target != numObj.getShort() ) {
+        if ( dicManager.isNull( i ) || target != dicManager.getShort( i ) ) {
           filterArray[i] = true;
         }
       }
@@ -606,11 +649,10 @@ public class SequentialNumberCellIndex implements ICellIndex {
         return null;
       }
       for ( int i = 0 ; i < dicManager.getDicSize() ; i++ ) {
-        PrimitiveObject numObj = dicManager.get( i );
-        if ( numObj == null ) {
+        if ( dicManager.isNull( i ) ) {
           continue;
         }
-        if ( numObj.getShort() < target ) {
+        if ( dicManager.getShort( i ) < target ) {
           filterArray[i] = true;
         }
       }
@@ -630,11 +672,10 @@ public class SequentialNumberCellIndex implements ICellIndex {
         return null;
       }
       for ( int i = 0 ; i < dicManager.getDicSize() ; i++ ) {
-        PrimitiveObject numObj = dicManager.get( i );
-        if ( numObj == null ) {
+        if ( dicManager.isNull( i ) ) {
           continue;
         }
-        if ( numObj.getShort() <= target ) {
+        if ( dicManager.getShort( i ) <= target ) {
           filterArray[i] = true;
         }
       }
@@ -654,11 +695,10 @@ public class SequentialNumberCellIndex implements ICellIndex {
         return null;
       }
       for ( int i = 0 ; i < dicManager.getDicSize() ; i++ ) {
-        PrimitiveObject numObj = dicManager.get( i );
-        if ( numObj == null ) {
+        if ( dicManager.isNull( i ) ) {
           continue;
         }
-        if ( target < numObj.getShort() ) {
+        if ( target < dicManager.getShort( i ) ) {
           filterArray[i] = true;
         }
       }
@@ -678,11 +718,10 @@ public class SequentialNumberCellIndex implements ICellIndex {
         return null;
       }
       for ( int i = 0 ; i < dicManager.getDicSize() ; i++ ) {
-        PrimitiveObject numObj = dicManager.get( i );
-        if ( numObj == null ) {
+        if ( dicManager.isNull( i ) ) {
           continue;
         }
-        if ( target <= numObj.getShort() ) {
+        if ( target <= dicManager.getShort( i ) ) {
           filterArray[i] = true;
         }
       }
@@ -710,11 +749,10 @@ public class SequentialNumberCellIndex implements ICellIndex {
       boolean minHasEquals = numberRangeFilter.isMinHasEquals();
       boolean maxHasEquals = numberRangeFilter.isMaxHasEquals();
       for ( int i = 0 ; i < dicManager.getDicSize() ; i++ ) {
-        PrimitiveObject numObj = dicManager.get( i );
-        if ( numObj == null ) {
+        if ( dicManager.isNull( i ) ) {
           continue;
         }
-        short target = numObj.getShort();
+        short target = dicManager.getShort( i );
         if ( NumberUtils.range( min , minHasEquals , max , maxHasEquals , target ) ) {
           filterArray[i] = true;
         }
@@ -738,11 +776,10 @@ public class SequentialNumberCellIndex implements ICellIndex {
         return filterArray;
       }
       for ( int i = 0 ; i < dicManager.getDicSize() ; i++ ) {
-        PrimitiveObject numObj = dicManager.get( i );
-        if ( numObj == null ) {
+        if ( dicManager.isNull( i ) ) {
           continue;
         }
-        if ( target == numObj.getByte() ) {
+        if ( target == dicManager.getByte( i ) ) {
           filterArray[i] = true;
         }
       }
@@ -762,8 +799,7 @@ public class SequentialNumberCellIndex implements ICellIndex {
         return null;
       }
       for ( int i = 0 ; i < dicManager.getDicSize() ; i++ ) {
-        PrimitiveObject numObj = dicManager.get( i );
-        if ( numObj == null || target != numObj.getByte() ) {
+        if ( dicManager.isNull( i ) || target != dicManager.getByte( i ) ) {
           filterArray[i] = true;
         }
       }
@@ -783,11 +819,10 @@ public class SequentialNumberCellIndex implements ICellIndex {
         return null;
       }
       for ( int i = 0 ; i < dicManager.getDicSize() ; i++ ) {
-        PrimitiveObject numObj = dicManager.get( i );
-        if ( numObj == null ) {
+        if ( dicManager.isNull( i ) ) {
           continue;
         }
-        if ( numObj.getByte() < target ) {
+        if ( dicManager.getByte( i ) < target ) {
           filterArray[i] = true;
         }
       }
@@ -807,11 +842,10 @@ public class SequentialNumberCellIndex implements ICellIndex {
         return null;
       }
       for ( int i = 0 ; i < dicManager.getDicSize() ; i++ ) {
-        PrimitiveObject numObj = dicManager.get( i );
-        if ( numObj == null ) {
+        if ( dicManager.isNull( i ) ) {
           continue;
         }
-        if ( numObj.getByte() <= target ) {
+        if ( dicManager.getByte( i ) <= target ) {
           filterArray[i] = true;
         }
       }
@@ -831,11 +865,10 @@ public class SequentialNumberCellIndex implements ICellIndex {
         return null;
       }
       for ( int i = 0 ; i < dicManager.getDicSize() ; i++ ) {
-        PrimitiveObject numObj = dicManager.get( i );
-        if ( numObj == null ) {
+        if ( dicManager.isNull( i ) ) {
           continue;
         }
-        if ( target < numObj.getByte() ) {
+        if ( target < dicManager.getByte( i ) ) {
           filterArray[i] = true;
         }
       }
@@ -855,11 +888,10 @@ public class SequentialNumberCellIndex implements ICellIndex {
         return null;
       }
       for ( int i = 0 ; i < dicManager.getDicSize() ; i++ ) {
-        PrimitiveObject numObj = dicManager.get( i );
-        if ( numObj == null ) {
+        if ( dicManager.isNull( i ) ) {
           continue;
         }
-        if ( target <= numObj.getByte() ) {
+        if ( target <= dicManager.getByte( i ) ) {
           filterArray[i] = true;
         }
       }
@@ -887,11 +919,10 @@ public class SequentialNumberCellIndex implements ICellIndex {
       boolean minHasEquals = numberRangeFilter.isMinHasEquals();
       boolean maxHasEquals = numberRangeFilter.isMaxHasEquals();
       for ( int i = 0 ; i < dicManager.getDicSize() ; i++ ) {
-        PrimitiveObject numObj = dicManager.get( i );
-        if ( numObj == null ) {
+        if ( dicManager.isNull( i ) ) {
           continue;
         }
-        byte target = numObj.getByte();
+        byte target = dicManager.getByte( i );
         if ( NumberUtils.range( min , minHasEquals , max , maxHasEquals , target ) ) {
           filterArray[i] = true;
         }
@@ -931,11 +962,10 @@ public class SequentialNumberCellIndex implements ICellIndex {
         return null;
       }
       for ( int i = 0 ; i < dicManager.getDicSize() ; i++ ) {
-        PrimitiveObject numObj = dicManager.get( i );
-        if ( numObj == null ) {
+        if ( dicManager.isNull( i ) ) {
           continue;
         }
-        if ( 0 < target.compareTo( numObj.getFloat() ) ) {
+        if ( 0 < Float.compare( target , dicManager.getFloat( i ) ) ) {
           filterArray[i] = true;
         }
       }
@@ -955,11 +985,10 @@ public class SequentialNumberCellIndex implements ICellIndex {
         return null;
       }
       for ( int i = 0 ; i < dicManager.getDicSize() ; i++ ) {
-        PrimitiveObject numObj = dicManager.get( i );
-        if ( numObj == null ) {
+        if ( dicManager.isNull( i ) ) {
           continue;
         }
-        if ( 0 <= target.compareTo( numObj.getFloat() ) ) {
+        if ( 0 <= Float.compare( target , dicManager.getFloat( i ) ) ) {
           filterArray[i] = true;
         }
       }
@@ -979,11 +1008,10 @@ public class SequentialNumberCellIndex implements ICellIndex {
         return null;
       }
       for ( int i = 0 ; i < dicManager.getDicSize() ; i++ ) {
-        PrimitiveObject numObj = dicManager.get( i );
-        if ( numObj == null ) {
+        if ( dicManager.isNull( i ) ) {
           continue;
         }
-        if ( target.compareTo( numObj.getFloat() ) < 0 ) {
+        if ( Float.compare( target , dicManager.getFloat( i ) ) < 0 ) {
           filterArray[i] = true;
         }
       }
@@ -1003,11 +1031,10 @@ public class SequentialNumberCellIndex implements ICellIndex {
         return null;
       }
       for ( int i = 0 ; i < dicManager.getDicSize() ; i++ ) {
-        PrimitiveObject numObj = dicManager.get( i );
-        if ( numObj == null ) {
+        if ( dicManager.isNull( i ) ) {
           continue;
         }
-        if ( target.compareTo( numObj.getFloat() ) <= 0 ) {
+        if ( Float.compare( target , dicManager.getFloat( i ) ) <= 0 ) {
           filterArray[i] = true;
         }
       }
@@ -1035,11 +1062,10 @@ public class SequentialNumberCellIndex implements ICellIndex {
       boolean minHasEquals = numberRangeFilter.isMinHasEquals();
       boolean maxHasEquals = numberRangeFilter.isMaxHasEquals();
       for ( int i = 0 ; i < dicManager.getDicSize() ; i++ ) {
-        PrimitiveObject numObj = dicManager.get( i );
-        if ( numObj == null ) {
+        if ( dicManager.isNull( i ) ) {
           continue;
         }
-        Float target = Float.valueOf( numObj.getFloat() );
+        Float target = Float.valueOf( dicManager.getFloat( i ) );
         if ( NumberUtils.range( min , minHasEquals , max , maxHasEquals , target ) ) {
           filterArray[i] = true;
         }
@@ -1079,11 +1105,10 @@ public class SequentialNumberCellIndex implements ICellIndex {
         return null;
       }
       for ( int i = 0 ; i < dicManager.getDicSize() ; i++ ) {
-        PrimitiveObject numObj = dicManager.get( i );
-        if ( numObj == null ) {
+        if ( dicManager.isNull( i ) ) {
           continue;
         }
-        if ( 0 < target.compareTo( numObj.getDouble() ) ) {
+        if ( 0 < Double.compare( target , dicManager.getDouble( i ) ) ) {
           filterArray[i] = true;
         }
       }
@@ -1103,11 +1128,10 @@ public class SequentialNumberCellIndex implements ICellIndex {
         return null;
       }
       for ( int i = 0 ; i < dicManager.getDicSize() ; i++ ) {
-        PrimitiveObject numObj = dicManager.get( i );
-        if ( numObj == null ) {
+        if ( dicManager.isNull( i ) ) {
           continue;
         }
-        if ( 0 <= target.compareTo( numObj.getDouble() ) ) {
+        if ( 0 <= Double.compare( target , dicManager.getDouble( i ) ) ) {
           filterArray[i] = true;
         }
       }
@@ -1127,11 +1151,10 @@ public class SequentialNumberCellIndex implements ICellIndex {
         return null;
       }
       for ( int i = 0 ; i < dicManager.getDicSize() ; i++ ) {
-        PrimitiveObject numObj = dicManager.get( i );
-        if ( numObj == null ) {
+        if ( dicManager.isNull( i ) ) {
           continue;
         }
-        if ( target.compareTo( numObj.getDouble() ) < 0 ) {
+        if ( Double.compare( target , dicManager.getDouble( i ) ) < 0 ) {
           filterArray[i] = true;
         }
       }
@@ -1151,11 +1174,10 @@ public class SequentialNumberCellIndex implements ICellIndex {
         return null;
       }
       for ( int i = 0 ; i < dicManager.getDicSize() ; i++ ) {
-        PrimitiveObject numObj = dicManager.get( i );
-        if ( numObj == null ) {
+        if ( dicManager.isNull( i ) ) {
           continue;
         }
-        if ( target.compareTo( numObj.getDouble() ) <= 0 ) {
+        if ( Double.compare( target , dicManager.getDouble( i ) ) <= 0 ) {
           filterArray[i] = true;
         }
       }
@@ -1183,11 +1205,10 @@ public class SequentialNumberCellIndex implements ICellIndex {
       boolean minHasEquals = numberRangeFilter.isMinHasEquals();
       boolean maxHasEquals = numberRangeFilter.isMaxHasEquals();
       for ( int i = 0 ; i < dicManager.getDicSize() ; i++ ) {
-        PrimitiveObject numObj = dicManager.get( i );
-        if ( numObj == null ) {
+        if ( dicManager.isNull( i ) ) {
           continue;
         }
-        Double target = Double.valueOf( numObj.getDouble() );
+        Double target = Double.valueOf( dicManager.getDouble( i ) );
         if ( NumberUtils.range( min , minHasEquals , max , maxHasEquals , target ) ) {
           filterArray[i] = true;
         }
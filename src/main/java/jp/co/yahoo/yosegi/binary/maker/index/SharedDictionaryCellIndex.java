@@ -0,0 +1,105 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.co.yahoo.yosegi.binary.maker.index;
+
+import jp.co.yahoo.yosegi.binary.SharedDictionary;
+import jp.co.yahoo.yosegi.binary.maker.IDicManager;
+import jp.co.yahoo.yosegi.message.objects.PrimitiveObject;
+import jp.co.yahoo.yosegi.spread.column.ColumnType;
+import jp.co.yahoo.yosegi.spread.column.filter.IFilter;
+import jp.co.yahoo.yosegi.spread.column.index.ICellIndex;
+
+import java.io.IOException;
+
+/**
+ * Evaluate the filter once against the dictionary and map the rows through their ids.
+ * When the dictionary is shared by a block, the result is reused by all its Spreads.
+ */
+public class SharedDictionaryCellIndex implements ICellIndex {
+
+  private final SharedDictionary dictionary;
+  private final int startIndex;
+  private final int[] idArray;
+
+  /**
+   * Filter the rows from startIndex, where id 0 is null and id n is the value n - 1.
+   */
+  public SharedDictionaryCellIndex(
+      final SharedDictionary dictionary , final int startIndex , final int[] idArray ) {
+    this.dictionary = dictionary;
+    this.startIndex = startIndex;
+    this.idArray = idArray;
+  }
+
+  @Override
+  public boolean[] filter(
+      final IFilter filter , final boolean[] filterArray ) throws IOException {
+    if ( filter == null ) {
+      return null;
+    }
+    PrimitiveObject[] objectArray = dictionary.getObjectArray();
+    IDicManager dicManager = new IdDicManager( objectArray );
+    ICellIndex dictionaryIndex;
+    if ( dictionary.getColumnType() == ColumnType.STRING ) {
+      dictionaryIndex = new SequentialStringCellIndex( dicManager );
+    } else {
+      dictionaryIndex = new SequentialNumberCellIndex( dictionary.getColumnType() , dicManager );
+    }
+    boolean[] isTargetId =
+        dictionary.filter( filter , dictionaryIndex , dicManager.getDicSize() );
+    if ( isTargetId == null ) {
+      return null;
+    }
+    if ( isTargetId[0] ) {
+      for ( int i = 0 ; i < startIndex ; i++ ) {
+        filterArray[i] = true;
+      }
+    }
+    for ( int i = 0 ; i < idArray.length ; i++ ) {
+      if ( isTargetId[ idArray[i] ] ) {
+        filterArray[ startIndex + i ] = true;
+      }
+    }
+    return filterArray;
+  }
+
+  private static class IdDicManager implements IDicManager {
+
+    private final PrimitiveObject[] objectArray;
+
+    IdDicManager( final PrimitiveObject[] objectArray ) {
+      this.objectArray = objectArray;
+    }
+
+    @Override
+    public PrimitiveObject get( final int index ) throws IOException {
+      if ( index == 0 ) {
+        return null;
+      }
+      return objectArray[ index - 1 ];
+    }
+
+    @Override
+    public int getDicSize() throws IOException {
+      return objectArray.length + 1;
+    }
+
+  }
+
+}
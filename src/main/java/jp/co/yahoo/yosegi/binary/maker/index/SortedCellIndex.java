@@ -0,0 +1,249 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.co.yahoo.yosegi.binary.maker.index;
+
+import jp.co.yahoo.yosegi.message.objects.PrimitiveObject;
+import jp.co.yahoo.yosegi.spread.column.ColumnType;
+import jp.co.yahoo.yosegi.spread.column.ICell;
+import jp.co.yahoo.yosegi.spread.column.IColumn;
+import jp.co.yahoo.yosegi.spread.column.PrimitiveCell;
+import jp.co.yahoo.yosegi.spread.column.filter.IFilter;
+import jp.co.yahoo.yosegi.spread.column.filter.IStringComparator;
+import jp.co.yahoo.yosegi.spread.column.filter.IStringCompareFilter;
+import jp.co.yahoo.yosegi.spread.column.filter.IStringFilter;
+import jp.co.yahoo.yosegi.spread.column.filter.NumberFilter;
+import jp.co.yahoo.yosegi.spread.column.filter.NumberRangeFilter;
+import jp.co.yahoo.yosegi.spread.column.index.ICellIndex;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Filter a column whose rows are sorted in ascending order with the null rows last.
+ * The matched rows are a contiguous range, so it is found by binary search.
+ * Returns null for the filters that may also match null rows.
+ */
+public class SortedCellIndex implements ICellIndex {
+
+  private final IColumn column;
+
+  public SortedCellIndex( final IColumn column ) {
+    this.column = column;
+  }
+
+  private interface IRowPredicate {
+
+    boolean test( final PrimitiveObject value ) throws IOException;
+
+  }
+
+  private PrimitiveObject getValue( final int index ) {
+    ICell cell = column.get( index );
+    if ( cell.getType() == ColumnType.NULL ) {
+      return null;
+    }
+    return ( (PrimitiveCell)cell ).getRow();
+  }
+
+  private int getNotNullSize() {
+    int low = 0;
+    int high = column.size();
+    while ( low < high ) {
+      int mid = ( low + high ) >>> 1;
+      if ( getValue( mid ) != null ) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  /**
+   * Returns the first row in [0, size) that does not satisfy the predicate,
+   * where the predicate is true for a prefix of the rows.
+   */
+  private int findEnd( final int size , final IRowPredicate predicate ) throws IOException {
+    int low = 0;
+    int high = size;
+    while ( low < high ) {
+      int mid = ( low + high ) >>> 1;
+      if ( predicate.test( getValue( mid ) ) ) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  private int compare(
+      final PrimitiveObject value , final PrimitiveObject target ) throws IOException {
+    switch ( column.getColumnType() ) {
+      case BYTE:
+      case SHORT:
+      case INTEGER:
+      case LONG:
+        return Long.compare( value.getLong() , target.getLong() );
+      case FLOAT:
+        return Float.compare( value.getFloat() , target.getFloat() );
+      case DOUBLE:
+        return Double.compare( value.getDouble() , target.getDouble() );
+      default:
+        throw new IOException( "Unsupported column type : " + column.getColumnType() );
+    }
+  }
+
+  private boolean[] fill( final boolean[] filterArray , final int start , final int end ) {
+    if ( start < end ) {
+      Arrays.fill( filterArray , start , end , true );
+    }
+    return filterArray;
+  }
+
+  @Override
+  public boolean[] filter(
+      final IFilter filter , final boolean[] filterArray ) throws IOException {
+    if ( filter == null ) {
+      return null;
+    }
+    switch ( column.getColumnType() ) {
+      case BYTE:
+      case SHORT:
+      case INTEGER:
+      case LONG:
+      case FLOAT:
+      case DOUBLE:
+      case STRING:
+        break;
+      default:
+        return null;
+    }
+    try {
+      switch ( filter.getFilterType() ) {
+        case NUMBER:
+          return filterNumber( (NumberFilter)filter , filterArray );
+        case NUMBER_RANGE:
+          return filterNumberRange( (NumberRangeFilter)filter , filterArray );
+        case STRING:
+          return filterString( (IStringFilter)filter , filterArray );
+        case STRING_COMPARE:
+          return filterStringCompare( (IStringCompareFilter)filter , filterArray );
+        default:
+          return null;
+      }
+    } catch ( NumberFormatException ex ) {
+      return null;
+    }
+  }
+
+  private boolean[] filterNumber(
+      final NumberFilter filter , final boolean[] filterArray ) throws IOException {
+    if ( column.getColumnType() == ColumnType.STRING ) {
+      return null;
+    }
+    PrimitiveObject target = filter.getNumberObject();
+    int size = getNotNullSize();
+    switch ( filter.getNumberFilterType() ) {
+      case EQUAL:
+        return fill( filterArray ,
+            findEnd( size , value -> compare( value , target ) < 0 ) ,
+            findEnd( size , value -> compare( value , target ) <= 0 ) );
+      case LT:
+        return fill( filterArray , 0 , findEnd( size , value -> compare( value , target ) < 0 ) );
+      case LE:
+        return fill( filterArray , 0 , findEnd( size , value -> compare( value , target ) <= 0 ) );
+      case GT:
+        return fill( filterArray ,
+            findEnd( size , value -> compare( value , target ) <= 0 ) , size );
+      case GE:
+        return fill( filterArray ,
+            findEnd( size , value -> compare( value , target ) < 0 ) , size );
+      default:
+        return null;
+    }
+  }
+
+  private boolean[] filterNumberRange(
+      final NumberRangeFilter filter , final boolean[] filterArray ) throws IOException {
+    if ( column.getColumnType() == ColumnType.STRING || filter.isInvert() ) {
+      return null;
+    }
+    PrimitiveObject min = filter.getMinObject();
+    PrimitiveObject max = filter.getMaxObject();
+    int size = getNotNullSize();
+    int start;
+    if ( filter.isMinHasEquals() ) {
+      start = findEnd( size , value -> compare( value , min ) < 0 );
+    } else {
+      start = findEnd( size , value -> compare( value , min ) <= 0 );
+    }
+    int end;
+    if ( filter.isMaxHasEquals() ) {
+      end = findEnd( size , value -> compare( value , max ) <= 0 );
+    } else {
+      end = findEnd( size , value -> compare( value , max ) < 0 );
+    }
+    return fill( filterArray , start , end );
+  }
+
+  private boolean[] filterString(
+      final IStringFilter filter , final boolean[] filterArray ) throws IOException {
+    if ( column.getColumnType() != ColumnType.STRING ) {
+      return null;
+    }
+    String target = filter.getSearchString();
+    int size = getNotNullSize();
+    switch ( filter.getStringFilterType() ) {
+      case PERFECT:
+        return fill( filterArray ,
+            findEnd( size , value -> value.getString().compareTo( target ) < 0 ) ,
+            findEnd( size , value -> value.getString().compareTo( target ) <= 0 ) );
+      case FORWARD:
+        return fill( filterArray ,
+            findEnd( size , value -> value.getString().compareTo( target ) < 0 ) ,
+            findEnd( size , value -> value.getString().compareTo( target ) < 0
+                || value.getString().startsWith( target ) ) );
+      default:
+        return null;
+    }
+  }
+
+  private boolean[] filterStringCompare(
+      final IStringCompareFilter filter , final boolean[] filterArray ) throws IOException {
+    if ( column.getColumnType() != ColumnType.STRING ) {
+      return null;
+    }
+    IStringComparator comparator = filter.getStringComparator();
+    int size = getNotNullSize();
+    switch ( filter.getStringCompareFilterType() ) {
+      case LT:
+      case LE:
+        return fill( filterArray , 0 ,
+            findEnd( size , value -> ! comparator.isFilterString( value.getString() ) ) );
+      case GT:
+      case GE:
+        return fill( filterArray ,
+            findEnd( size , value -> comparator.isFilterString( value.getString() ) ) , size );
+      default:
+        return null;
+    }
+  }
+
+}
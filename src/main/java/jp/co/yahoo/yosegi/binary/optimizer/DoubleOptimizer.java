@@ -31,6 +31,7 @@ public class DoubleOptimizer implements IOptimizer {
 
   private final IColumnBinaryMaker uniqMaker;
   private final IColumnBinaryMaker[] makerArray;
+  private final IColumnBinaryMaker[] legacyMakerArray;
 
   /**
    * Select logic to convert Double.
@@ -41,9 +42,13 @@ public class DoubleOptimizer implements IOptimizer {
     makerArray = new IColumnBinaryMaker[]{
       FindColumnBinaryMaker.get(
           "jp.co.yahoo.yosegi.binary.maker.OptimizedNullArrayDumpDoubleColumnBinaryMaker" ),
+      FindColumnBinaryMaker.get(
+          "jp.co.yahoo.yosegi.binary.maker.AlpDoubleColumnBinaryMaker" ),
       FindColumnBinaryMaker.get(
           "jp.co.yahoo.yosegi.binary.maker.OptimizedNullArrayDoubleColumnBinaryMaker" ),
     };
+    // Without the ALP maker, which older readers can not read.
+    legacyMakerArray = new IColumnBinaryMaker[]{ makerArray[0] , makerArray[2] };
   }
 
   @Override
@@ -55,7 +60,8 @@ public class DoubleOptimizer implements IOptimizer {
       maker = uniqMaker;
     } else {
       int minSize = Integer.MAX_VALUE;
-      for ( IColumnBinaryMaker currentMaker : makerArray ) {
+      for ( IColumnBinaryMaker currentMaker
+          : commonConfig.useLegacyMakers ? legacyMakerArray : makerArray ) {
         int currentSize = currentMaker.calcBinarySize( analizeResult );
         if ( currentSize <= minSize ) {
           maker = currentMaker;
@@ -30,6 +30,7 @@ public class FloatOptimizer implements IOptimizer {
 
   private final IColumnBinaryMaker uniqMaker;
   private final IColumnBinaryMaker[] makerArray;
+  private final IColumnBinaryMaker[] legacyMakerArray;
 
   /**
    * Select logic to convert Float.
@@ -40,7 +41,11 @@ public class FloatOptimizer implements IOptimizer {
     makerArray = new IColumnBinaryMaker[]{
       FindColumnBinaryMaker.get(
           "jp.co.yahoo.yosegi.binary.maker.OptimizedNullArrayDumpFloatColumnBinaryMaker" ),
+      FindColumnBinaryMaker.get(
+          "jp.co.yahoo.yosegi.binary.maker.AlpFloatColumnBinaryMaker" ),
     };
+    // Without the ALP maker, which older readers can not read.
+    legacyMakerArray = new IColumnBinaryMaker[]{ makerArray[0] };
   }
 
   @Override
@@ -51,7 +56,8 @@ public class FloatOptimizer implements IOptimizer {
       maker = uniqMaker;
     } else {
       int minSize = Integer.MAX_VALUE;
-      for ( IColumnBinaryMaker currentMaker : makerArray ) {
+      for ( IColumnBinaryMaker currentMaker
+          : commonConfig.useLegacyMakers ? legacyMakerArray : makerArray ) {
         int currentSize = currentMaker.calcBinarySize( analizeResult );
         if ( currentSize <= minSize ) {
           maker = currentMaker;
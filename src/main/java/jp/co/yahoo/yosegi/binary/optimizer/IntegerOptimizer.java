@@ -30,6 +30,7 @@ public class IntegerOptimizer implements IOptimizer {
 
   private final IColumnBinaryMaker rleMaker;
   private final IColumnBinaryMaker[] makerArray;
+  private final IColumnBinaryMaker[] legacyMakerArray;
 
   /**
    * Select logic to convert Integer.
@@ -40,7 +41,11 @@ public class IntegerOptimizer implements IOptimizer {
     makerArray = new IColumnBinaryMaker[]{
       FindColumnBinaryMaker.get(
           "jp.co.yahoo.yosegi.binary.maker.OptimizedNullArrayDumpLongColumnBinaryMaker" ),
+      FindColumnBinaryMaker.get(
+          "jp.co.yahoo.yosegi.binary.maker.BitPackedLongColumnBinaryMaker" ),
     };
+    // Without the bit-packed maker, which older readers can not read.
+    legacyMakerArray = new IColumnBinaryMaker[]{ makerArray[0] };
   }
 
   @Override
@@ -56,7 +61,8 @@ public class IntegerOptimizer implements IOptimizer {
     }
 
     int minSize = Integer.MAX_VALUE;
-    for ( IColumnBinaryMaker currentMaker : makerArray ) {
+    for ( IColumnBinaryMaker currentMaker
+        : commonConfig.useLegacyMakers ? legacyMakerArray : makerArray ) {
       int currentSize = currentMaker.calcBinarySize( analizeResult );
       if ( currentSize <= minSize ) {
         maker = currentMaker;
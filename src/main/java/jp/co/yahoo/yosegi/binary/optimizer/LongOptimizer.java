@@ -30,6 +30,7 @@ public class LongOptimizer implements IOptimizer {
 
   private final IColumnBinaryMaker rleMaker;
   private final IColumnBinaryMaker[] makerArray;
+  private final IColumnBinaryMaker[] legacyMakerArray;
 
   /**
    * Select logic to convert Long.
@@ -40,9 +41,15 @@ public class LongOptimizer implements IOptimizer {
     makerArray = new IColumnBinaryMaker[]{
       FindColumnBinaryMaker.get(
           "jp.co.yahoo.yosegi.binary.maker.OptimizedNullArrayDumpLongColumnBinaryMaker" ),
+      FindColumnBinaryMaker.get(
+          "jp.co.yahoo.yosegi.binary.maker.BitPackedLongColumnBinaryMaker" ),
+      FindColumnBinaryMaker.get(
+          "jp.co.yahoo.yosegi.binary.maker.DeltaLongColumnBinaryMaker" ),
       FindColumnBinaryMaker.get(
           "jp.co.yahoo.yosegi.binary.maker.OptimizedNullArrayLongColumnBinaryMaker" ),
     };
+    // Without the bit-packed and delta makers, which older readers can not read.
+    legacyMakerArray = new IColumnBinaryMaker[]{ makerArray[0] , makerArray[3] };
   }
 
   @Override
@@ -58,7 +65,8 @@ public class LongOptimizer implements IOptimizer {
     }
 
     int minSize = Integer.MAX_VALUE;
-    for ( IColumnBinaryMaker currentMaker : makerArray ) {
+    for ( IColumnBinaryMaker currentMaker
+        : commonConfig.useLegacyMakers ? legacyMakerArray : makerArray ) {
       int currentSize = currentMaker.calcBinarySize( analizeResult );
       if ( currentSize <= minSize ) {
         maker = currentMaker;
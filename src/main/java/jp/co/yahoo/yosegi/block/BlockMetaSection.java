@@ -0,0 +1,146 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.co.yahoo.yosegi.block;
+
+import jp.co.yahoo.yosegi.compressor.ZstdDictionary;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The optional sections written after the column meta of a block.
+ * Each section is the type byte, the length int and the payload.
+ * Readers skip the types they do not know, and older readers stop at the end of the meta.
+ */
+public final class BlockMetaSection {
+
+  public static final byte SHARED_DICTIONARY = 1;
+  public static final byte SORT_KEYS = 2;
+  public static final byte ZSTD_DICTIONARY = 3;
+
+  public static final int HEADER_LENGTH = Byte.BYTES + Integer.BYTES;
+
+  private BlockMetaSection() {}
+
+  /**
+   * Create the binary of a section.
+   */
+  public static byte[] toBinary( final byte type , final byte[] payload ) {
+    byte[] binary = new byte[ HEADER_LENGTH + payload.length ];
+    ByteBuffer wrapBuffer = ByteBuffer.wrap( binary );
+    wrapBuffer.put( type );
+    wrapBuffer.putInt( payload.length );
+    wrapBuffer.put( payload );
+    return binary;
+  }
+
+  /**
+   * Create the payload of the sort keys.
+   * The layout is the key count followed by the length and UTF-8 bytes of each key.
+   */
+  public static byte[] sortKeysToBinary( final List<String> sortKeys ) {
+    List<byte[]> keyBytesList = new ArrayList<byte[]>( sortKeys.size() );
+    int length = Integer.BYTES;
+    for ( String sortKey : sortKeys ) {
+      byte[] keyBytes = sortKey.getBytes( StandardCharsets.UTF_8 );
+      keyBytesList.add( keyBytes );
+      length += Integer.BYTES + keyBytes.length;
+    }
+    byte[] binary = new byte[length];
+    ByteBuffer wrapBuffer = ByteBuffer.wrap( binary );
+    wrapBuffer.putInt( keyBytesList.size() );
+    for ( byte[] keyBytes : keyBytesList ) {
+      wrapBuffer.putInt( keyBytes.length );
+      wrapBuffer.put( keyBytes );
+    }
+    return binary;
+  }
+
+  /**
+   * Read the sort keys from the payload.
+   */
+  public static List<String> sortKeysFromBinary( final byte[] buffer , final int start ) {
+    ByteBuffer wrapBuffer = ByteBuffer.wrap( buffer );
+    int offset = start;
+    int keyCount = wrapBuffer.getInt( offset );
+    offset += Integer.BYTES;
+    List<String> sortKeys = new ArrayList<String>( keyCount );
+    for ( int i = 0 ; i < keyCount ; i++ ) {
+      int keyLength = wrapBuffer.getInt( offset );
+      offset += Integer.BYTES;
+      sortKeys.add( new String( buffer , offset , keyLength , StandardCharsets.UTF_8 ) );
+      offset += keyLength;
+    }
+    return sortKeys;
+  }
+
+  /**
+   * Create the payload of the zstd dictionaries.
+   * The layout is the dictionary count followed by the length and bytes of each dictionary.
+   */
+  public static byte[] zstdDictionariesToBinary( final Collection<ZstdDictionary> dictionaries ) {
+    byte[] binary = new byte[ getZstdDictionariesBinarySize( dictionaries ) ];
+    ByteBuffer wrapBuffer = ByteBuffer.wrap( binary );
+    wrapBuffer.putInt( dictionaries.size() );
+    for ( ZstdDictionary dictionary : dictionaries ) {
+      wrapBuffer.putInt( dictionary.getBinary().length );
+      wrapBuffer.put( dictionary.getBinary() );
+    }
+    return binary;
+  }
+
+  /**
+   * Get the payload size of the zstd dictionaries.
+   */
+  public static int getZstdDictionariesBinarySize(
+      final Collection<ZstdDictionary> dictionaries ) {
+    int length = Integer.BYTES;
+    for ( ZstdDictionary dictionary : dictionaries ) {
+      length += Integer.BYTES + dictionary.getBinary().length;
+    }
+    return length;
+  }
+
+  /**
+   * Read the zstd dictionaries of the payload by key.
+   * The dictionaries are copied from the buffer.
+   */
+  public static Map<Long,ZstdDictionary> zstdDictionariesFromBinary(
+      final byte[] buffer , final int start ) {
+    ByteBuffer wrapBuffer = ByteBuffer.wrap( buffer );
+    int offset = start;
+    int dictionaryCount = wrapBuffer.getInt( offset );
+    offset += Integer.BYTES;
+    Map<Long,ZstdDictionary> result = new HashMap<Long,ZstdDictionary>();
+    for ( int i = 0 ; i < dictionaryCount ; i++ ) {
+      int dictionaryLength = wrapBuffer.getInt( offset );
+      offset += Integer.BYTES;
+      ZstdDictionary dictionary = new ZstdDictionary( buffer , offset , dictionaryLength );
+      result.put( dictionary.getKey() , dictionary );
+      offset += dictionaryLength;
+    }
+    return result;
+  }
+
+}
@@ -22,6 +22,7 @@ import jp.co.yahoo.yosegi.binary.ColumnBinary;
 import jp.co.yahoo.yosegi.spread.column.ColumnType;
 import jp.co.yahoo.yosegi.spread.column.ColumnTypeFactory;
 import jp.co.yahoo.yosegi.util.ByteArrayData;
+import jp.co.yahoo.yosegi.util.ByteArrayPool;
 
 import java.io.IOException;
 import java.io.OutputStream;
@@ -39,6 +40,7 @@ public class ColumnBinaryTree {
   private final Map<String,ColumnBinaryTree> childTreeMap = new HashMap<String,ColumnBinaryTree>();
   private final List<String> childKeyList = new ArrayList();
   private final List<BlockReadOffset> blockReadOffsetList = new ArrayList<BlockReadOffset>();
+  private final List<byte[]> pooledBufferList = new ArrayList<byte[]>();
 
   private ColumnNameNode columnNameNode;
   private int currentCount;
@@ -47,6 +49,7 @@ public class ColumnBinaryTree {
   private int dataSize;
   private int allBinaryStart;
   private int allBinaryLength;
+  private ByteArrayPool bufferPool;
 
   public ColumnBinaryTree() {
     columnNameNode = new ColumnNameNode( "root" );
@@ -145,6 +148,14 @@ public class ColumnBinaryTree {
     this.columnNameNode = columnNameNode;
   }
 
+  /**
+   * Set the pool of the column data buffers, or null to allocate them each time.
+   * The pooled buffers are released by clear() or releaseBuffers().
+   */
+  public void setBufferPool( final ByteArrayPool bufferPool ) {
+    this.bufferPool = bufferPool;
+  }
+
   public int toColumnBinaryTree(
       final byte[] metaBinary ,
       final int start ,
@@ -171,6 +182,7 @@ public class ColumnBinaryTree {
       String childName = new String( metaBinary , offset , childNameLength );
       offset += childNameLength;
       ColumnBinaryTree childColumnBinary = new ColumnBinaryTree();
+      childColumnBinary.setBufferPool( bufferPool );
       boolean isAppend = true;
       if ( isNeedAllChild ) {
         isAppend = true;
@@ -208,7 +220,7 @@ public class ColumnBinaryTree {
       byte[] childBuffer = null;
       int childStartDataOffset = 0;
       if ( ! columnNameNode.isDisable() ) {
-        childBuffer = new byte[allBinaryLength];
+        childBuffer = allocateBuffer( allBinaryLength );
       }
       for ( int startOffset = offset ; offset < startOffset + currentMetaBinaryLength ; ) {
         int index = byteBuffer.getInt( offset );
@@ -490,6 +502,7 @@ public class ColumnBinaryTree {
     for ( Map.Entry<String,ColumnBinaryTree> entry : childTreeMap.entrySet() ) {
       entry.getValue().clear();
     }
+    releaseBuffers();
     currentColumnBinaryList.clear();
     childTreeMap.clear();
     childKeyList.clear();
@@ -502,4 +515,30 @@ public class ColumnBinaryTree {
     allBinaryLength = 0;
   }
 
+  /**
+   * Return the column data buffers of this node and its children to the pool.
+   * The column binaries of this tree must not be used after this,
+   * so the block reader hands out copies of them when the buffers are pooled.
+   */
+  public void releaseBuffers() {
+    for ( Map.Entry<String,ColumnBinaryTree> entry : childTreeMap.entrySet() ) {
+      entry.getValue().releaseBuffers();
+    }
+    if ( bufferPool != null ) {
+      for ( byte[] buffer : pooledBufferList ) {
+        bufferPool.release( buffer );
+      }
+    }
+    pooledBufferList.clear();
+  }
+
+  private byte[] allocateBuffer( final int length ) {
+    if ( bufferPool == null ) {
+      return new byte[length];
+    }
+    byte[] buffer = bufferPool.acquire( length );
+    pooledBufferList.add( buffer );
+    return buffer;
+  }
+
 }
@@ -93,6 +93,7 @@ public class EncryptionSupportedBlockWriter implements IBlockWriter {
     defaultConfig.compressorClass =
         YosegiConfiguration.getDefaultCompressorForColumnMaker( config );
     defaultConfig.allowedRatio = YosegiConfiguration.getCompressOptimizeAllowedRatio( config );
+    defaultConfig.useLegacyMakers = YosegiConfiguration.useLegacyMakers( config );
 
     makeCustomConfig = YosegiConfiguration.useBinaryAutoOptimizer( config );
     optimizerFactory =
@@ -165,20 +166,31 @@ public class EncryptionSupportedBlockWriter implements IBlockWriter {
     }
   }
 
-  @Override
-  public List<ColumnBinary> convertRow( final Spread spread ) throws IOException {
+  /**
+   * Get the setting of conversion.
+   * The optimizer creates the setting from the first Spread.
+   * Spreads may be converted from multiple threads, so this is synchronized.
+   */
+  private synchronized ColumnBinaryMakerCustomConfigNode getConfigNode(
+      final Spread spread ) throws IOException {
     if ( makeCustomConfig ) {
       List<IColumnAnalizeResult> analizeResultList = Analyzer.analize( spread );
       BinaryMakerOptimizer optimizer = new BinaryMakerOptimizer( analizeResultList );
       configNode = optimizer.createConfigNode( configNode.getCurrentConfig() , optimizerFactory );
       makeCustomConfig = false;
     }
+    return configNode;
+  }
+
+  @Override
+  public List<ColumnBinary> convertRow( final Spread spread ) throws IOException {
+    ColumnBinaryMakerCustomConfigNode currentConfigNode = getConfigNode( spread );
     List<ColumnBinary> result = new ArrayList<ColumnBinary>();
     for ( int i = 0 ; i < spread.getColumnSize() ; i++ ) {
       IColumn column = spread.getColumn( i );
-      ColumnBinaryMakerConfig commonConfig = configNode.getCurrentConfig();
+      ColumnBinaryMakerConfig commonConfig = currentConfigNode.getCurrentConfig();
       ColumnBinaryMakerCustomConfigNode childConfigNode =
-          configNode.getChildConfigNode( column.getColumnName() );
+          currentConfigNode.getChildConfigNode( column.getColumnName() );
       IColumnBinaryMaker maker = commonConfig.getColumnMaker( column.getColumnType() );
       if ( childConfigNode != null ) {
         maker = childConfigNode.getCurrentConfig().getColumnMaker( column.getColumnType() );
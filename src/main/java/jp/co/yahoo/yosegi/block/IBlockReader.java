@@ -26,6 +26,7 @@ import jp.co.yahoo.yosegi.stats.SummaryStats;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.List;
 
 public interface IBlockReader {
@@ -44,6 +45,12 @@ public interface IBlockReader {
 
   List<ColumnBinary> nextRaw() throws IOException;
 
+  /**
+   * Build the remaining Spreads of the set block and load their columns,
+   * so that next() only returns them. The default does nothing.
+   */
+  default void loadSpreads() throws IOException {}
+
   int getBlockReadCount();
 
   int getBlockCount();
@@ -56,6 +63,10 @@ public interface IBlockReader {
 
   Integer getCurrentSpreadSize();
 
+  default List<String> getSortKeys() {
+    return new ArrayList<String>();
+  }
+
   void close() throws IOException;
 
 }
@@ -48,6 +48,8 @@ public interface IBlockWriter {
 
   String getReaderClassName();
 
+  default void setSortKeys( final List<String> sortKeys ) {}
+
   void close() throws IOException;
 
 }
@@ -18,22 +18,30 @@
 
 package jp.co.yahoo.yosegi.block;
 
+import jp.co.yahoo.yosegi.binary.BlockDictionary;
 import jp.co.yahoo.yosegi.binary.ColumnBinary;
 import jp.co.yahoo.yosegi.binary.FindColumnBinaryMaker;
+import jp.co.yahoo.yosegi.binary.maker.HeaderIndexLazyColumn;
 import jp.co.yahoo.yosegi.binary.maker.IColumnBinaryMaker;
+import jp.co.yahoo.yosegi.binary.maker.IColumnManager;
+import jp.co.yahoo.yosegi.binary.maker.index.SortedCellIndex;
 import jp.co.yahoo.yosegi.blockindex.BlockIndexNode;
 import jp.co.yahoo.yosegi.compressor.CompressorNameShortCut;
 import jp.co.yahoo.yosegi.compressor.FindCompressor;
 import jp.co.yahoo.yosegi.compressor.GzipCompressor;
 import jp.co.yahoo.yosegi.compressor.ICompressor;
+import jp.co.yahoo.yosegi.compressor.ZstdDictionary;
 import jp.co.yahoo.yosegi.config.Configuration;
 import jp.co.yahoo.yosegi.spread.Spread;
+import jp.co.yahoo.yosegi.spread.column.IColumn;
 import jp.co.yahoo.yosegi.spread.expand.ExpandFunctionFactory;
 import jp.co.yahoo.yosegi.spread.expand.IExpandFunction;
 import jp.co.yahoo.yosegi.spread.expression.IExpressionNode;
 import jp.co.yahoo.yosegi.spread.flatten.FlattenFunctionFactory;
 import jp.co.yahoo.yosegi.spread.flatten.IFlattenFunction;
 import jp.co.yahoo.yosegi.stats.SummaryStats;
+import jp.co.yahoo.yosegi.util.ByteArrayPool;
+import jp.co.yahoo.yosegi.util.io.FileChannelInputStream;
 import jp.co.yahoo.yosegi.util.io.InputStreamUtils;
 
 import java.io.IOException;
@@ -43,6 +51,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 public class PushdownSupportedBlockReader implements IBlockReader {
@@ -50,6 +59,7 @@ public class PushdownSupportedBlockReader implements IBlockReader {
   private final Block block;
   private final ColumnBinaryTree columnBinaryTree = new ColumnBinaryTree();
   private final List<Integer> spreadSizeList = new ArrayList<Integer>();
+  private final List<Spread> loadedSpreadList = new ArrayList<Spread>();
   private final SummaryStats readSummaryStats = new SummaryStats();
 
   private ColumnNameNode columnFilterNode;
@@ -60,6 +70,8 @@ public class PushdownSupportedBlockReader implements IBlockReader {
   private BlockIndexNode blockIndexNode = new BlockIndexNode();
   private IExpressionNode blockSkipIndex;
   private long readBytes = 0;
+  private List<String> sortKeys = new ArrayList<String>();
+  private ByteArrayPool bufferPool;
 
   public PushdownSupportedBlockReader() {
     block = new Block();
@@ -80,6 +92,12 @@ public class PushdownSupportedBlockReader implements IBlockReader {
   public void setup( final Configuration config ) throws IOException {
     expandFunction = ExpandFunctionFactory.get( config );
     flattenFunction = FlattenFunctionFactory.get( config );
+    if ( "true".equals( config.get( "block.reader.buffer.pool" , "false" ) ) ) {
+      bufferPool = ByteArrayPool.getDefault();
+    } else {
+      bufferPool = null;
+    }
+    columnBinaryTree.setBufferPool( bufferPool );
 
     columnFilterNode = new ColumnNameNode( "root" );
     List<String[]> needColumnList =
@@ -202,16 +220,44 @@ public class PushdownSupportedBlockReader implements IBlockReader {
     readBytes += InputStreamUtils.read( in , lengthBytes , 0 , Integer.BYTES );
 
     int metaLength = wrapBuffer.getInt( 0 );
-    byte[] metaBytes = new byte[metaLength];
+    byte[] metaBytes = allocateBuffer( metaLength );
 
     readBytes += InputStreamUtils.read( in , metaBytes , 0 , metaLength );
 
     int decompressSize = compressor.getDecompressSize( metaBytes , 0 , metaLength );
-    byte[] metaBinary = new byte[decompressSize];
+    byte[] metaBinary = allocateBuffer( decompressSize );
     int binaryLength = compressor.decompressAndSet(  metaBytes , 0 , metaLength , metaBinary );
-    columnBinaryTree.toColumnBinaryTree( metaBinary , 0 , spreadIndexDict );
+    int treeLength = columnBinaryTree.toColumnBinaryTree( metaBinary , 0 , spreadIndexDict );
 
     block.setColumnBinaryTree( columnBinaryTree );
+    sortKeys = new ArrayList<String>();
+    ByteBuffer metaWrapBuffer = ByteBuffer.wrap( metaBinary );
+    int sectionOffset = treeLength;
+    while ( sectionOffset + BlockMetaSection.HEADER_LENGTH <= binaryLength ) {
+      byte sectionType = metaBinary[sectionOffset];
+      int sectionLength = metaWrapBuffer.getInt( sectionOffset + Byte.BYTES );
+      int payloadOffset = sectionOffset + BlockMetaSection.HEADER_LENGTH;
+      if ( sectionType == BlockMetaSection.SHARED_DICTIONARY ) {
+        BlockDictionary blockDictionary =
+            BlockDictionary.createFromBinary( metaBinary , payloadOffset );
+        for ( int i = 0 ; i < block.size() ; i++ ) {
+          blockDictionary.attach( block.get( i ) );
+        }
+      } else if ( sectionType == BlockMetaSection.SORT_KEYS ) {
+        sortKeys = BlockMetaSection.sortKeysFromBinary( metaBinary , payloadOffset );
+      } else if ( sectionType == BlockMetaSection.ZSTD_DICTIONARY ) {
+        Map<Long,ZstdDictionary> zstdDictionaryMap =
+            BlockMetaSection.zstdDictionariesFromBinary( metaBinary , payloadOffset );
+        for ( int i = 0 ; i < block.size() ; i++ ) {
+          for ( ColumnBinary columnBinary : block.get( i ) ) {
+            columnBinary.setZstdDictionaryMap( zstdDictionaryMap );
+          }
+        }
+      }
+      sectionOffset = payloadOffset + sectionLength;
+    }
+    releaseBuffer( metaBytes );
+    releaseBuffer( metaBinary );
 
     int dataBufferLength =
         blockSize
@@ -223,12 +269,16 @@ public class PushdownSupportedBlockReader implements IBlockReader {
     Collections.sort( readOffsetList );
 
     int inOffset = 0;
-    for ( BlockReadOffset blockReadOffset : readOffsetList ) {
-      inOffset += InputStreamUtils.skip( in , blockReadOffset.streamStart - inOffset );
-      inOffset = blockReadOffset.streamStart;
-      inOffset += InputStreamUtils.read(
-          in , blockReadOffset.buffer , blockReadOffset.bufferStart , blockReadOffset.length );
-      readBytes += blockReadOffset.length;
+    if ( in instanceof FileChannelInputStream ) {
+      inOffset = readCoalescedOffset( (FileChannelInputStream)in , readOffsetList );
+    } else {
+      for ( BlockReadOffset blockReadOffset : readOffsetList ) {
+        inOffset += InputStreamUtils.skip( in , blockReadOffset.streamStart - inOffset );
+        inOffset = blockReadOffset.streamStart;
+        inOffset += InputStreamUtils.read(
+            in , blockReadOffset.buffer , blockReadOffset.bufferStart , blockReadOffset.length );
+        readBytes += blockReadOffset.length;
+      }
     }
     if ( inOffset < dataBufferLength ) {
       inOffset += InputStreamUtils.skip( in , dataBufferLength - inOffset );
@@ -237,6 +287,38 @@ public class PushdownSupportedBlockReader implements IBlockReader {
     readCount = 0;
   }
 
+  /**
+   * Read the column binaries by position.
+   * Adjacent ranges are read together in one scattering read.
+   */
+  private int readCoalescedOffset(
+      final FileChannelInputStream in ,
+      final List<BlockReadOffset> readOffsetList ) throws IOException {
+    int inOffset = 0;
+    int index = 0;
+    while ( index < readOffsetList.size() ) {
+      BlockReadOffset startOffset = readOffsetList.get( index );
+      int endIndex = index + 1;
+      int rangeEnd = startOffset.streamStart + startOffset.length;
+      while ( endIndex < readOffsetList.size()
+          && readOffsetList.get( endIndex ).streamStart == rangeEnd ) {
+        rangeEnd += readOffsetList.get( endIndex ).length;
+        endIndex++;
+      }
+      ByteBuffer[] bufferArray = new ByteBuffer[ endIndex - index ];
+      for ( int i = index ; i < endIndex ; i++ ) {
+        BlockReadOffset blockReadOffset = readOffsetList.get( i );
+        bufferArray[ i - index ] = ByteBuffer.wrap(
+            blockReadOffset.buffer , blockReadOffset.bufferStart , blockReadOffset.length );
+      }
+      InputStreamUtils.skip( in , startOffset.streamStart - inOffset );
+      inOffset = startOffset.streamStart + (int)in.readFully( bufferArray );
+      readBytes += rangeEnd - startOffset.streamStart;
+      index = endIndex;
+    }
+    return inOffset;
+  }
+
   @Override
   public boolean hasNext() throws IOException {
     return readCount < block.size();
@@ -244,29 +326,121 @@ public class PushdownSupportedBlockReader implements IBlockReader {
 
   @Override
   public Spread next() throws IOException {
+    Spread spread = takeLoadedSpread();
+    if ( spread == null ) {
+      spread = createSpread( readCount , false );
+    }
+    readCount++;
+    return spread;
+  }
+
+  @Override
+  public void loadSpreads() throws IOException {
+    loadedSpreadList.clear();
+    for ( int i = 0 ; i < block.size() ; i++ ) {
+      if ( i < readCount ) {
+        loadedSpreadList.add( null );
+      } else {
+        loadedSpreadList.add( createSpread( i , true ) );
+      }
+    }
+  }
+
+  private Spread takeLoadedSpread() {
+    if ( loadedSpreadList.size() <= readCount ) {
+      return null;
+    }
+    return loadedSpreadList.set( readCount , null );
+  }
+
+  private Spread createSpread( final int index , final boolean isLoad ) throws IOException {
     Spread spread = new Spread();
-    int spreadSize = spreadSizeList.get( readCount ).intValue();
-    for ( ColumnBinary columnBinary : block.get( readCount ) ) {
+    int spreadSize = spreadSizeList.get( index ).intValue();
+    for ( ColumnBinary columnBinary : getColumnBinaryList( index ) ) {
       if ( columnBinary != null ) {
         IColumnBinaryMaker maker = FindColumnBinaryMaker.get( columnBinary.makerClassName );
-        spread.addColumn( maker.toColumn( columnBinary ) );
+        IColumn column = maker.toColumn( columnBinary );
+        if ( ! sortKeys.isEmpty() && sortKeys.get( 0 ).equals( column.getColumnName() ) ) {
+          column = toSortedColumn( column );
+        }
+        spread.addColumn( column );
         readSummaryStats.merge( columnBinary.toSummaryStats() );
       }
     }
     spread.setRowCount( spreadSize );
+    if ( isLoad ) {
+      loadColumns( spread.getListColumn() );
+    }
 
-    readCount++;
     Spread expandSpread = expandFunction.expand( spread );
     return flattenFunction.flatten( expandSpread );
   }
 
+  /**
+   * Decode the lazy columns and their children.
+   */
+  private static void loadColumns( final List<IColumn> columnList ) {
+    for ( IColumn column : columnList ) {
+      column.size();
+      loadColumns( column.getListColumn() );
+    }
+  }
+
+  /**
+   * Wrap the column of the first sort key, whose rows are in ascending order in each Spread,
+   * so that the filters are answered by binary search.
+   */
+  private static IColumn toSortedColumn( final IColumn column ) {
+    IColumnManager columnManager = new IColumnManager() {
+      @Override
+      public IColumn get() {
+        return column;
+      }
+
+      @Override
+      public List<String> getColumnKeys() {
+        return column.getColumnKeys();
+      }
+
+      @Override
+      public int getColumnSize() {
+        return column.getColumnSize();
+      }
+    };
+    return new HeaderIndexLazyColumn( column.getColumnName() , column.getColumnType() ,
+        columnManager , new SortedCellIndex( column ) );
+  }
+
+  @Override
+  public List<String> getSortKeys() {
+    return sortKeys;
+  }
+
   @Override
   public List<ColumnBinary> nextRaw() throws IOException {
-    List<ColumnBinary> columnBinaryList = block.get( readCount );
+    takeLoadedSpread();
+    List<ColumnBinary> columnBinaryList = getColumnBinaryList( readCount );
     readCount++;
     return columnBinaryList;
   }
 
+  /**
+   * Get the column binaries of the Spread.
+   * With the buffer pool, the data is copied out of the pooled buffers,
+   * because they are reused for the next block while the returned binaries may still be in use.
+   */
+  private List<ColumnBinary> getColumnBinaryList( final int index ) {
+    List<ColumnBinary> columnBinaryList = block.get( index );
+    if ( bufferPool == null ) {
+      return columnBinaryList;
+    }
+    List<ColumnBinary> result = new ArrayList<ColumnBinary>( columnBinaryList.size() );
+    for ( ColumnBinary columnBinary : columnBinaryList ) {
+      result.add( columnBinary == null ? null : columnBinary.copy() );
+    }
+    return result;
+  }
+
   @Override
   public int getBlockReadCount() {
     return readCount;
@@ -293,17 +467,34 @@ public class PushdownSupportedBlockReader implements IBlockReader {
   }
 
   @Override
-  public void close() throws IOException {}
+  public void close() throws IOException {
+    loadedSpreadList.clear();
+    columnBinaryTree.releaseBuffers();
+  }
 
   /**
    * Clear the information of the set block.
    */
   public void clear() {
     spreadSizeList.clear();
+    loadedSpreadList.clear();
     columnBinaryTree.clear();
     readCount = 0;
     readBytes = 0;
     block.setColumnBinaryTree( null );
   }
 
+  private byte[] allocateBuffer( final int length ) {
+    if ( bufferPool == null ) {
+      return new byte[length];
+    }
+    return bufferPool.acquire( length );
+  }
+
+  private void releaseBuffer( final byte[] buffer ) {
+    if ( bufferPool != null ) {
+      bufferPool.release( buffer );
+    }
+  }
+
 }
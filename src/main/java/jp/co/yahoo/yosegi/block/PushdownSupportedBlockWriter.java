@@ -18,20 +18,26 @@
 
 package jp.co.yahoo.yosegi.block;
 
+import jp.co.yahoo.yosegi.binary.BlockDictionary;
 import jp.co.yahoo.yosegi.binary.ColumnBinary;
 import jp.co.yahoo.yosegi.binary.ColumnBinaryMakerConfig;
 import jp.co.yahoo.yosegi.binary.ColumnBinaryMakerCustomConfigNode;
 import jp.co.yahoo.yosegi.binary.CompressResultNode;
 import jp.co.yahoo.yosegi.binary.FindColumnBinaryMaker;
+import jp.co.yahoo.yosegi.binary.SharedDictionary;
 import jp.co.yahoo.yosegi.binary.maker.IColumnBinaryMaker;
+import jp.co.yahoo.yosegi.binary.maker.ISharedDictionaryColumnBinaryMaker;
 import jp.co.yahoo.yosegi.binary.optimizer.BinaryMakerOptimizer;
 import jp.co.yahoo.yosegi.binary.optimizer.FindOptimizerFactory;
 import jp.co.yahoo.yosegi.binary.optimizer.IOptimizerFactory;
 import jp.co.yahoo.yosegi.blockindex.BlockIndexNode;
+import jp.co.yahoo.yosegi.compressor.AdaptiveCompressor;
 import jp.co.yahoo.yosegi.compressor.CompressorNameShortCut;
 import jp.co.yahoo.yosegi.compressor.DefaultCompressor;
 import jp.co.yahoo.yosegi.compressor.FindCompressor;
 import jp.co.yahoo.yosegi.compressor.ICompressor;
+import jp.co.yahoo.yosegi.compressor.ZstdDictionary;
+import jp.co.yahoo.yosegi.compressor.ZstdDictionaryCompressor;
 import jp.co.yahoo.yosegi.config.Configuration;
 import jp.co.yahoo.yosegi.message.parser.IParser;
 import jp.co.yahoo.yosegi.message.parser.json.JacksonMessageReader;
@@ -42,10 +48,20 @@ import jp.co.yahoo.yosegi.spread.column.IColumn;
 import jp.co.yahoo.yosegi.util.ByteArrayData;
 
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.io.OutputStream;
 import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 public class PushdownSupportedBlockWriter implements IBlockWriter {
 
@@ -53,6 +69,10 @@ public class PushdownSupportedBlockWriter implements IBlockWriter {
 
   private final List<Integer> spreadSizeList = new ArrayList<Integer>();
   private final BlockIndexNode blockIndexNode = new BlockIndexNode();
+  private final BlockDictionary blockDictionary = new BlockDictionary();
+  private byte[] sortKeysSection = new byte[0];
+  private final Map<Long,ZstdDictionary> zstdDictionaryMap =
+      new LinkedHashMap<Long,ZstdDictionary>();
 
   private ColumnBinaryMakerCustomConfigNode configNode;
   private CompressResultNode compressResultNode;
@@ -66,6 +86,13 @@ public class PushdownSupportedBlockWriter implements IBlockWriter {
 
   private byte[] headerBytes;
 
+  private ExecutorService convertExecutor;
+  private boolean isOwnConvertExecutor;
+  private boolean keepSpreadIndex;
+  private boolean bloomFilter;
+  private boolean sharedDictionary;
+  private ZstdDictionaryCompressor zstdDictionaryCompressor;
+
   /**
    * Define the required initial value.
    */
@@ -80,6 +107,7 @@ public class PushdownSupportedBlockWriter implements IBlockWriter {
     this.blockSize = blockSize;
     spreadSizeList.clear();
 
+    checkColumnCompressorConfig( config );
     ColumnBinaryMakerConfig defaultConfig = new ColumnBinaryMakerConfig();
     if ( config.containsKey( "spread.column.maker.default.compress.class" ) ) {
       defaultConfig.compressorClass =
@@ -91,6 +119,16 @@ public class PushdownSupportedBlockWriter implements IBlockWriter {
         defaultConfig.allowedRatio = allowedRatio;
       }
     }
+    defaultConfig.useLegacyMakers = "true".equals(
+        config.get( "spread.column.maker.use.auto.optimizer.legacy.makers" , "false" ) );
+    if ( "true".equals( config.get( "block.maker.compress.adaptive" , "false" ) ) ) {
+      defaultConfig.compressorClass = createAdaptiveCompressor( config );
+    }
+    zstdDictionaryCompressor = createZstdDictionaryCompressor( config );
+    zstdDictionaryMap.clear();
+    if ( zstdDictionaryCompressor != null ) {
+      defaultConfig.compressorClass = zstdDictionaryCompressor;
+    }
 
     if ( config.containsKey( "spread.column.maker.setting" ) ) {
       JacksonMessageReader jsonReader = new JacksonMessageReader();
@@ -107,6 +145,22 @@ public class PushdownSupportedBlockWriter implements IBlockWriter {
     }
     compressResultNode = new CompressResultNode();
 
+    int convertThreads = config.getInt( "block.maker.convert.threads" , 1 );
+    if ( 1 < convertThreads && convertExecutor == null ) {
+      convertExecutor = Executors.newFixedThreadPool( convertThreads , runnable -> {
+        Thread thread = new Thread( runnable , "yosegi-column-convert" );
+        thread.setDaemon( true );
+        return thread;
+      } );
+      isOwnConvertExecutor = true;
+    }
+
+    keepSpreadIndex = "true".equals( config.get( "block.maker.spread.index" , "true" ) );
+    bloomFilter = "true".equals( config.get( "block.maker.bloom.filter" , "false" ) );
+    sharedDictionary =
+        "true".equals( config.get( "block.maker.shared.dictionary" , "false" ) );
+    blockDictionary.clear();
+
     metaBuffer = new ByteArrayData( META_BUFFER_SIZE );
     columnTree = new ColumnBinaryTree();
 
@@ -118,6 +172,117 @@ public class PushdownSupportedBlockWriter implements IBlockWriter {
         compressor.getClass().getName() ).getBytes( "UTF-8" );
   }
 
+  /**
+   * The compressor of the columns is set by "spread.column.maker.default.compress.class",
+   * "block.maker.compress.adaptive" or "block.maker.zstd.dictionary".
+   * Only one of them can be used, so setting more than one is an error.
+   */
+  private static void checkColumnCompressorConfig( final Configuration config ) throws IOException {
+    List<String> keyList = new ArrayList<String>();
+    if ( config.containsKey( "spread.column.maker.default.compress.class" ) ) {
+      keyList.add( "spread.column.maker.default.compress.class" );
+    }
+    if ( "true".equals( config.get( "block.maker.compress.adaptive" , "false" ) ) ) {
+      keyList.add( "block.maker.compress.adaptive" );
+    }
+    if ( "true".equals( config.get( "block.maker.zstd.dictionary" , "false" ) ) ) {
+      keyList.add( "block.maker.zstd.dictionary" );
+    }
+    if ( 1 < keyList.size() ) {
+      throw new IOException( "The column compressor is set by more than one of "
+          + String.join( " , " , keyList ) + "." );
+    }
+  }
+
+  /**
+   * Create the compressor that selects the codec per column.
+   * The weights of the CPU time follow the CompressionPolicy of each column,
+   * unless "block.maker.compress.adaptive.read.weight" is set.
+   */
+  private AdaptiveCompressor createAdaptiveCompressor(
+      final Configuration config ) throws IOException {
+    int samples = config.getInt(
+        "block.maker.compress.adaptive.samples" , AdaptiveCompressor.DEFAULT_SAMPLES );
+    if ( ! config.containsKey( "block.maker.compress.adaptive.read.weight" ) ) {
+      return new AdaptiveCompressor( samples );
+    }
+    double readCpuWeight =
+        config.getDouble( "block.maker.compress.adaptive.read.weight" , 0.1d );
+    return new AdaptiveCompressor( samples , readCpuWeight , config.getDouble(
+        "block.maker.compress.adaptive.write.weight" , readCpuWeight / 10.0d ) );
+  }
+
+  /**
+   * Create the compressor that uses zstd dictionaries,
+   * if "block.maker.zstd.dictionary" is true.
+   * The dictionary is read from "block.maker.zstd.dictionary.path" if it is set,
+   * otherwise a dictionary is trained per column from the binaries of the first Spreads.
+   */
+  private ZstdDictionaryCompressor createZstdDictionaryCompressor(
+      final Configuration config ) throws IOException {
+    if ( ! "true".equals( config.get( "block.maker.zstd.dictionary" , "false" ) ) ) {
+      return null;
+    }
+    if ( config.containsKey( "block.maker.zstd.dictionary.path" ) ) {
+      byte[] dictionary = Files.readAllBytes(
+          Paths.get( config.get( "block.maker.zstd.dictionary.path" ) ) );
+      return new ZstdDictionaryCompressor(
+          new ZstdDictionary( dictionary , 0 , dictionary.length ) );
+    }
+    return new ZstdDictionaryCompressor(
+        config.getInt( "block.maker.zstd.dictionary.train.spreads" ,
+            ZstdDictionaryCompressor.DEFAULT_TRAIN_SAMPLES ) ,
+        config.getInt( "block.maker.zstd.dictionary.sample.buffer.size" ,
+            ZstdDictionaryCompressor.DEFAULT_SAMPLE_BUFFER_SIZE ) ,
+        config.getInt( "block.maker.zstd.dictionary.size" ,
+            ZstdDictionaryCompressor.DEFAULT_DICTIONARY_SIZE ) );
+  }
+
+  /**
+   * Get the size of the meta section of the zstd dictionaries referenced by the block
+   * and by the binaries to be added.
+   */
+  private int getZstdDictionarySectionSize( final List<ColumnBinary> binaryList ) {
+    Map<Long,ZstdDictionary> dictionaryMap = zstdDictionaryMap;
+    if ( binaryList != null ) {
+      dictionaryMap = new LinkedHashMap<Long,ZstdDictionary>( zstdDictionaryMap );
+      putZstdDictionaries( dictionaryMap , binaryList );
+    }
+    if ( dictionaryMap.isEmpty() ) {
+      return 0;
+    }
+    return BlockMetaSection.HEADER_LENGTH
+        + BlockMetaSection.getZstdDictionariesBinarySize( dictionaryMap.values() );
+  }
+
+  private int getSharedDictionarySectionSize( final List<ColumnBinary> binaryList ) {
+    int appendSize = binaryList == null ? 0 : blockDictionary.getAppendBinarySize( binaryList );
+    if ( blockDictionary.isEmpty() && appendSize == 0 ) {
+      return 0;
+    }
+    return BlockMetaSection.HEADER_LENGTH + blockDictionary.getBinarySize() + appendSize;
+  }
+
+  private static void putZstdDictionaries(
+      final Map<Long,ZstdDictionary> dictionaryMap , final List<ColumnBinary> binaryList ) {
+    for ( ColumnBinary columnBinary : binaryList ) {
+      if ( columnBinary != null && columnBinary.zstdDictionaryMap != null ) {
+        dictionaryMap.putAll( columnBinary.zstdDictionaryMap );
+      }
+    }
+  }
+
+  /**
+   * Set the executor that converts the columns of a Spread in parallel.
+   * The executor is not shut down by this class.
+   * If null is set, the columns are converted serially.
+   */
+  public void setConvertExecutor( final ExecutorService convertExecutor ) {
+    shutdownConvertExecutor();
+    this.convertExecutor = convertExecutor;
+    isOwnConvertExecutor = false;
+  }
+
   @Override
   public void appendHeader( final byte[] headerBytes ) {
     if ( this.headerBytes.length == 0 ) {
@@ -131,48 +296,129 @@ public class PushdownSupportedBlockWriter implements IBlockWriter {
     }
   }
 
+  /**
+   * Record that the rows of every Spread are sorted by the keys.
+   * The keys are written in the meta of each block.
+   */
+  @Override
+  public void setSortKeys( final List<String> sortKeys ) {
+    if ( sortKeys.isEmpty() ) {
+      sortKeysSection = new byte[0];
+    } else {
+      sortKeysSection = BlockMetaSection.toBinary(
+          BlockMetaSection.SORT_KEYS , BlockMetaSection.sortKeysToBinary( sortKeys ) );
+    }
+  }
+
+  /**
+   * Add the binaries of a Spread.
+   * If "block.maker.shared.dictionary" is true, the values of the shared dictionary makers
+   * are merged into one dictionary per column, which is written once in the block meta.
+   * The zstd dictionaries referenced by the binaries are written once in the block meta.
+   */
   @Override
   public void append(
         final int spreadSize , final List<ColumnBinary> binaryList ) throws IOException {
-    for ( ColumnBinary columnBinary : binaryList ) {
-      if ( columnBinary != null ) {
-        IColumnBinaryMaker maker = FindColumnBinaryMaker.get( columnBinary.makerClassName );
-        maker.setBlockIndexNode( blockIndexNode , columnBinary , getRegisterSpreadCount() );
-      }
-    }
+    setBlockIndexNode( blockIndexNode , binaryList , spreadSize , false );
     spreadSizeList.add( spreadSize );
 
-    columnTree.addChild( binaryList );
+    putZstdDictionaries( zstdDictionaryMap , binaryList );
+    columnTree.addChild( blockDictionary.share(
+        binaryList , sharedDictionary , configNode.getCurrentConfig() , compressResultNode ) );
     if ( blockSize < size() ) {
       throw new IOException( "Buffer overflow." );
     }
   }
 
-  @Override
-  public List<ColumnBinary> convertRow( final Spread spread ) throws IOException {
+  /**
+   * Get the setting of conversion.
+   * The optimizer creates the setting from the first Spread.
+   * Spreads may be converted from multiple threads, so this is synchronized.
+   */
+  private synchronized ColumnBinaryMakerCustomConfigNode getConfigNode(
+      final Spread spread ) throws IOException {
     if ( makeCustomConfig ) {
       List<IColumnAnalizeResult> analizeResultList = Analyzer.analize( spread );
       BinaryMakerOptimizer optimizer = new BinaryMakerOptimizer( analizeResultList );
       configNode = optimizer.createConfigNode( configNode.getCurrentConfig() , optimizerFactory );
       makeCustomConfig = false;
     }
+    return configNode;
+  }
+
+  @Override
+  public List<ColumnBinary> convertRow( final Spread spread ) throws IOException {
+    ColumnBinaryMakerCustomConfigNode currentConfigNode = getConfigNode( spread );
     List<ColumnBinary> result = new ArrayList<ColumnBinary>();
+    if ( convertExecutor == null || spread.getColumnSize() <= 1 ) {
+      for ( int i = 0 ; i < spread.getColumnSize() ; i++ ) {
+        result.add( toColumnBinary( currentConfigNode , spread.getColumn( i ) ) );
+      }
+      return result;
+    }
+
+    List<Future<ColumnBinary>> futureList =
+        new ArrayList<Future<ColumnBinary>>( spread.getColumnSize() );
     for ( int i = 0 ; i < spread.getColumnSize() ; i++ ) {
       IColumn column = spread.getColumn( i );
-      ColumnBinaryMakerConfig commonConfig = configNode.getCurrentConfig();
-      ColumnBinaryMakerCustomConfigNode childConfigNode =
-          configNode.getChildConfigNode( column.getColumnName() );
-      IColumnBinaryMaker maker = commonConfig.getColumnMaker( column.getColumnType() );
-      if ( childConfigNode != null ) {
-        maker = childConfigNode.getCurrentConfig().getColumnMaker( column.getColumnType() );
+      futureList.add(
+          convertExecutor.submit( () -> toColumnBinary( currentConfigNode , column ) ) );
+    }
+    try {
+      for ( Future<ColumnBinary> future : futureList ) {
+        result.add( future.get() );
+      }
+    } catch ( InterruptedException ex ) {
+      futureList.forEach( future -> future.cancel( true ) );
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException( "Column conversion was interrupted." );
+    } catch ( ExecutionException ex ) {
+      futureList.forEach( future -> future.cancel( true ) );
+      if ( ex.getCause() instanceof IOException ) {
+        throw (IOException)ex.getCause();
       }
-      result.add( maker.toBinary(
+      throw new IOException( ex.getCause() );
+    }
+    return result;
+  }
+
+  private ColumnBinary toColumnBinary(
+      final ColumnBinaryMakerCustomConfigNode currentConfigNode ,
+      final IColumn column ) throws IOException {
+    ColumnBinaryMakerConfig commonConfig = currentConfigNode.getCurrentConfig();
+    ColumnBinaryMakerCustomConfigNode childConfigNode =
+        currentConfigNode.getChildConfigNode( column.getColumnName() );
+    IColumnBinaryMaker maker = commonConfig.getColumnMaker( column.getColumnType() );
+    if ( childConfigNode != null ) {
+      maker = childConfigNode.getCurrentConfig().getColumnMaker( column.getColumnType() );
+    }
+    ColumnBinary columnBinary;
+    if ( sharedDictionary && maker instanceof ISharedDictionaryColumnBinaryMaker ) {
+      // The dictionary is not created here, so a Spread that does not fit
+      // in this block does not leave an empty dictionary in it.
+      SharedDictionary dictionary = blockDictionary.get(
+          Collections.singletonList( column.getColumnName() ) , column.getColumnType() );
+      columnBinary = ( (ISharedDictionaryColumnBinaryMaker)maker ).toBinary(
+          commonConfig ,
+          childConfigNode ,
+          compressResultNode.getChild( column.getColumnName() ) ,
+          column ,
+          dictionary );
+    } else {
+      columnBinary = maker.toBinary(
           commonConfig ,
           childConfigNode ,
           compressResultNode.getChild( column.getColumnName() ) ,
-          column ) );
+          column );
     }
-    return result;
+    if ( zstdDictionaryCompressor != null ) {
+      Map<Long,ZstdDictionary> usedDictionaryMap =
+          zstdDictionaryCompressor.takeUsedDictionaryMap();
+      if ( columnBinary != null && ! usedDictionaryMap.isEmpty() ) {
+        columnBinary.setZstdDictionaryMap( usedDictionaryMap );
+      }
+    }
+    return columnBinary;
   }
 
   @Override
@@ -187,18 +433,22 @@ public class PushdownSupportedBlockWriter implements IBlockWriter {
 
   /**
    * Calculate the data size after addition.
+   * The bloom filters are only sized for the number of values instead of being created,
+   * so the columns are not decoded until they are appended.
    */
   public int sizeAfterAppend( final List<ColumnBinary> binaryList ) throws IOException {
     BlockIndexNode cloneBlockIndexNode = blockIndexNode.clone();
-    for ( ColumnBinary columnBinary : binaryList ) {
-      if ( columnBinary != null ) {
-        IColumnBinaryMaker maker = FindColumnBinaryMaker.get( columnBinary.makerClassName );
-        maker.setBlockIndexNode( cloneBlockIndexNode , columnBinary , getRegisterSpreadCount() );
-      }
-    }
+    // The spread size only changes the null counts, not the size of the index.
+    setBlockIndexNode( cloneBlockIndexNode , binaryList , 0 , true );
     int appendSpreadSizeBinary = Integer.BYTES;
+    int appendZstdDictionarySize =
+        getZstdDictionarySectionSize( binaryList ) - getZstdDictionarySectionSize( null );
+    int appendSharedDictionarySize =
+        getSharedDictionarySectionSize( binaryList ) - getSharedDictionarySectionSize( null );
     return blockMetaSize()
         + appendSpreadSizeBinary
+        + appendZstdDictionarySize
+        + appendSharedDictionarySize
         + cloneBlockIndexNode.getBinarySize()
         + columnTree.metaSizeAfterAppend( binaryList )
         + columnTree.dataSizeAfterAppend( binaryList );
@@ -217,7 +467,12 @@ public class PushdownSupportedBlockWriter implements IBlockWriter {
         // meta setting 
         + Integer.BYTES
         + ( Integer.BYTES * spreadSizeList.size() )
-        + Integer.BYTES;
+        + Integer.BYTES
+
+        // sections after the column meta
+        + getSharedDictionarySectionSize( null )
+        + sortKeysSection.length
+        + getZstdDictionarySectionSize( null );
   }
 
   @Override
@@ -244,6 +499,7 @@ public class PushdownSupportedBlockWriter implements IBlockWriter {
 
   @Override
   public void write( final OutputStream out , final int dataSize ) throws IOException {
+    blockIndexNode.setSpreadCount( getRegisterSpreadCount() );
     byte[] blockIndexBinary = new byte[
         Integer.BYTES   
         + compressorClassNameBytes.length
@@ -276,6 +532,18 @@ public class PushdownSupportedBlockWriter implements IBlockWriter {
     }
 
     columnTree.createMeta( metaBuffer , 0 );
+    if ( ! blockDictionary.isEmpty() ) {
+      metaBuffer.append( BlockMetaSection.toBinary(
+          BlockMetaSection.SHARED_DICTIONARY , blockDictionary.toBinary() ) );
+    }
+    if ( sortKeysSection.length != 0 ) {
+      metaBuffer.append( sortKeysSection );
+    }
+    if ( ! zstdDictionaryMap.isEmpty() ) {
+      metaBuffer.append( BlockMetaSection.toBinary(
+          BlockMetaSection.ZSTD_DICTIONARY ,
+          BlockMetaSection.zstdDictionariesToBinary( zstdDictionaryMap.values() ) ) );
+    }
     byte[] metaBinary = compressor.compress( metaBuffer.getBytes() , 0 , metaBuffer.getLength() );
     blockMetaBuffer.putInt( metaBinary.length );
     offset += Integer.BYTES;
@@ -300,6 +568,8 @@ public class PushdownSupportedBlockWriter implements IBlockWriter {
     spreadSizeList.clear();
     metaBuffer.clear();
     columnTree.clear();
+    blockDictionary.clear();
+    zstdDictionaryMap.clear();
     headerBytes = new byte[0];
   }
 
@@ -313,6 +583,46 @@ public class PushdownSupportedBlockWriter implements IBlockWriter {
     spreadSizeList.clear();
     metaBuffer.clear();
     columnTree.clear();
+    blockDictionary.clear();
+    zstdDictionaryMap.clear();
+    shutdownConvertExecutor();
+  }
+
+  private void shutdownConvertExecutor() {
+    if ( convertExecutor != null && isOwnConvertExecutor ) {
+      convertExecutor.shutdown();
+    }
+    convertExecutor = null;
+    isOwnConvertExecutor = false;
+  }
+
+  /**
+   * Add the index of the next Spread to the block index.
+   * If "block.maker.spread.index" is true, the range of each Spread is kept
+   * so that the reader can skip the Spreads in the block.
+   * If "block.maker.bloom.filter" is true, string and integer columns also get a bloom filter.
+   * If bloomFilterSizeOnly is true, the filters are only sized to calculate the index size.
+   * The null count of each column in the Spread is kept with its range.
+   */
+  private void setBlockIndexNode(
+      final BlockIndexNode parentNode ,
+      final List<ColumnBinary> binaryList ,
+      final int spreadSize ,
+      final boolean bloomFilterSizeOnly ) throws IOException {
+    int spreadIndex = getRegisterSpreadCount();
+    BlockIndexNode targetNode = keepSpreadIndex ? new BlockIndexNode() : parentNode;
+    if ( bloomFilter ) {
+      targetNode.enableBloomFilter( bloomFilterSizeOnly );
+    }
+    for ( ColumnBinary columnBinary : binaryList ) {
+      if ( columnBinary != null ) {
+        IColumnBinaryMaker maker = FindColumnBinaryMaker.get( columnBinary.makerClassName );
+        maker.setBlockIndexNode( targetNode , columnBinary , spreadIndex );
+      }
+    }
+    if ( keepSpreadIndex ) {
+      parentNode.putSpreadIndex( targetNode , spreadIndex , spreadSize );
+    }
   }
 
   private int getRegisterSpreadCount() {
@@ -28,6 +28,10 @@ public class BlockIndexNode {
   protected Map<String,BlockIndexNode> childContainer;
   protected IBlockIndex blockIndex;
   protected boolean isDisable;
+  protected boolean isBloomFilterEnabled;
+  protected boolean isBloomFilterSizeOnly;
+  protected int nullCount = -1;
+  protected int rowCount = -1;
 
   public BlockIndexNode() {
     childContainer = new HashMap<String,BlockIndexNode>();
@@ -44,6 +48,10 @@ public class BlockIndexNode {
       result.blockIndex = blockIndex.clone();
     }
     result.isDisable = isDisable;
+    result.isBloomFilterEnabled = isBloomFilterEnabled;
+    result.isBloomFilterSizeOnly = isBloomFilterSizeOnly;
+    result.nullCount = nullCount;
+    result.rowCount = rowCount;
     return result;
   }
 
@@ -56,13 +64,131 @@ public class BlockIndexNode {
     }
     if ( this.blockIndex == null ) {
       this.blockIndex = blockIndex;
-    } else {
-      if ( ! this.blockIndex.merge( blockIndex ) ) {
+    } else if ( ! this.blockIndex.merge( blockIndex ) ) {
+      if ( blockIndex instanceof CompositeBlockIndex && blockIndex.merge( this.blockIndex ) ) {
+        this.blockIndex = blockIndex;
+      } else {
         disable();
       }
     }
   }
 
+  /**
+   * Makers also create a bloom filter for the columns under this Node.
+   */
+  public void enableBloomFilter() {
+    enableBloomFilter( false );
+  }
+
+  /**
+   * Makers also create a bloom filter for the columns under this Node.
+   * If sizeOnly is true, the filter is only sized for the values without reading them,
+   * which is enough to calculate the size of the index.
+   */
+  public void enableBloomFilter( final boolean sizeOnly ) {
+    isBloomFilterEnabled = true;
+    isBloomFilterSizeOnly = sizeOnly;
+    for ( BlockIndexNode childNode : childContainer.values() ) {
+      childNode.enableBloomFilter( sizeOnly );
+    }
+  }
+
+  public boolean isBloomFilterEnabled() {
+    return isBloomFilterEnabled;
+  }
+
+  public boolean isBloomFilterSizeOnly() {
+    return isBloomFilterSizeOnly;
+  }
+
+  /**
+   * Set the null count and the row count of the column binary of this node.
+   * A negative null count means it is not counted.
+   */
+  public void setNullCount( final int nullCount , final int rowCount ) {
+    this.nullCount = nullCount;
+    this.rowCount = rowCount;
+  }
+
+  /**
+   * Merge the index of one Spread, keeping the range of each Spread.
+   * The rows the column binary does not have up to the spread size are counted as NULL.
+   * If the spread size is negative, the null count is not kept.
+   */
+  public void putSpreadIndex(
+      final BlockIndexNode spreadNode , final int spreadIndex , final int spreadSize ) {
+    if ( isDisable ) {
+      return;
+    }
+    if ( spreadNode.isDisable ) {
+      disable();
+      return;
+    }
+    if ( spreadNode.blockIndex != null ) {
+      int spreadNullCount = -1;
+      int spreadValueCount = -1;
+      if ( 0 <= spreadNode.nullCount && 0 <= spreadSize ) {
+        spreadNullCount =
+            spreadNode.nullCount + Math.max( 0 , spreadSize - spreadNode.rowCount );
+        spreadValueCount = spreadNode.rowCount - spreadNode.nullCount;
+      }
+      setBlockIndex( toSpreadBlockIndex(
+          spreadNode.blockIndex , spreadIndex , spreadNullCount , spreadValueCount ) );
+    }
+    for ( Map.Entry<String,BlockIndexNode> entry : spreadNode.childContainer.entrySet() ) {
+      if ( isDisable ) {
+        return;
+      }
+      getChildNode( entry.getKey() ).putSpreadIndex(
+          entry.getValue() , spreadIndex , spreadSize );
+    }
+  }
+
+  private static IBlockIndex toSpreadBlockIndex(
+      final IBlockIndex blockIndex ,
+      final int spreadIndex ,
+      final int nullCount ,
+      final int valueCount ) {
+    switch ( blockIndex.getBlockIndexType() ) {
+      case RANGE_STRING:
+      case RANGE_BYTE:
+      case RANGE_SHORT:
+      case RANGE_INTEGER:
+      case RANGE_LONG:
+      case RANGE_FLOAT:
+      case RANGE_DOUBLE:
+        return new FullRangeBlockIndex( spreadIndex , blockIndex , nullCount , valueCount );
+      case COMPOSITE:
+        CompositeBlockIndex result = new CompositeBlockIndex();
+        for ( IBlockIndex index : ( (CompositeBlockIndex)blockIndex ).getBlockIndexList() ) {
+          result.getBlockIndexList().add(
+              toSpreadBlockIndex( index , spreadIndex , nullCount , valueCount ) );
+        }
+        return result;
+      default:
+        return blockIndex;
+    }
+  }
+
+  /**
+   * Set the number of Spreads of the block to the index of each Spread under this Node.
+   * The Spreads without the range of the column can be found by the null filter.
+   */
+  public void setSpreadCount( final int spreadCount ) {
+    if ( blockIndex instanceof FullRangeBlockIndex ) {
+      ( (FullRangeBlockIndex)blockIndex ).setSpreadCount( spreadCount );
+    } else if ( blockIndex instanceof CompositeBlockIndex ) {
+      for ( IBlockIndex index : ( (CompositeBlockIndex)blockIndex ).getBlockIndexList() ) {
+        if ( index instanceof FullRangeBlockIndex ) {
+          ( (FullRangeBlockIndex)index ).setSpreadCount( spreadCount );
+        }
+      }
+    }
+    for ( BlockIndexNode childNode : childContainer.values() ) {
+      childNode.setSpreadCount( spreadCount );
+    }
+  }
+
   /**
    * Invalidate Index of this Node.
    */
@@ -87,7 +213,10 @@ public class BlockIndexNode {
    */
   public BlockIndexNode getChildNode( final String nodeName ) {
     if ( ! childContainer.containsKey( nodeName ) ) {
-      childContainer.put( nodeName , new BlockIndexNode() );
+      BlockIndexNode childNode = new BlockIndexNode();
+      childNode.isBloomFilterEnabled = isBloomFilterEnabled;
+      childNode.isBloomFilterSizeOnly = isBloomFilterSizeOnly;
+      childContainer.put( nodeName , childNode );
     }
     return childContainer.get( nodeName );
   }
@@ -202,6 +331,8 @@ public class BlockIndexNode {
     childContainer.clear();
     blockIndex = null;
     isDisable = false;
+    nullCount = -1;
+    rowCount = -1;
   }
 
   /**
@@ -31,5 +31,7 @@ public enum BlockIndexType {
   RANGE_FLOAT,
   RANGE_DOUBLE,
   BOOLEAN,
+  BLOOM_FILTER,
+  COMPOSITE,
 
 }
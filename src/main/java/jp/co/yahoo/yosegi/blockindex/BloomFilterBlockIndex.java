@@ -0,0 +1,330 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.co.yahoo.yosegi.blockindex;
+
+import jp.co.yahoo.yosegi.spread.column.ColumnType;
+import jp.co.yahoo.yosegi.spread.column.filter.IFilter;
+import jp.co.yahoo.yosegi.spread.column.filter.INumberDictionaryFilter;
+import jp.co.yahoo.yosegi.spread.column.filter.IStringDictionaryFilter;
+import jp.co.yahoo.yosegi.spread.column.filter.IStringFilter;
+import jp.co.yahoo.yosegi.spread.column.filter.NumberFilter;
+import jp.co.yahoo.yosegi.spread.column.filter.NumberFilterType;
+import jp.co.yahoo.yosegi.spread.column.filter.StringFilterType;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Split block bloom filter of each Spread.
+ * One hash sets one bit in each of the eight words of a 32-byte block,
+ * so a lookup touches a single cache line.
+ */
+public class BloomFilterBlockIndex implements IBlockIndex {
+
+  public static final byte STRING_VALUE = 0;
+  public static final byte NUMBER_VALUE = 1;
+
+  private static final int BITS_PER_VALUE = 10;
+  private static final int BLOCK_WORDS = 8;
+  private static final int BLOCK_BITS = BLOCK_WORDS * Integer.SIZE;
+  private static final int[] SALT = {
+      0x47b6137b , 0x44974d91 , 0x8824ad5b , 0xa2b7289d ,
+      0x705495c7 , 0x2df1424b , 0x9efc4947 , 0x5c6bfb31 };
+
+  private final List<SpreadBloomFilter> filterList = new ArrayList<SpreadBloomFilter>();
+  private byte valueType;
+
+  public BloomFilterBlockIndex() {}
+
+  /**
+   * Create the filter of one Spread from the hash of the values.
+   */
+  public BloomFilterBlockIndex(
+      final byte valueType ,
+      final int spreadIndex ,
+      final long[] hashArray ,
+      final int hashLength ) {
+    this.valueType = valueType;
+    long[] sortedHashArray = Arrays.copyOf( hashArray , hashLength );
+    Arrays.sort( sortedHashArray );
+    int distinctCount = 0;
+    for ( int i = 0 ; i < sortedHashArray.length ; i++ ) {
+      if ( i == 0 || sortedHashArray[i - 1] != sortedHashArray[i] ) {
+        distinctCount++;
+      }
+    }
+    int[] words = new int[ getWordLength( distinctCount ) ];
+    for ( long hash : sortedHashArray ) {
+      insert( words , hash );
+    }
+    filterList.add( new SpreadBloomFilter( spreadIndex , words ) );
+  }
+
+  /**
+   * Create an empty filter of one Spread sized for the number of distinct values.
+   * The filter has the same binary size as the one created from the values,
+   * so it is used to calculate the size of the index without reading the values.
+   */
+  public static BloomFilterBlockIndex createEmpty(
+      final byte valueType , final int spreadIndex , final int distinctCount ) {
+    BloomFilterBlockIndex result = new BloomFilterBlockIndex();
+    result.valueType = valueType;
+    result.filterList.add(
+        new SpreadBloomFilter( spreadIndex , new int[ getWordLength( distinctCount ) ] ) );
+    return result;
+  }
+
+  private static int getWordLength( final int distinctCount ) {
+    long bitLength = (long)distinctCount * BITS_PER_VALUE;
+    int blockLength = (int)Math.max( 1 , ( bitLength + BLOCK_BITS - 1 ) / BLOCK_BITS );
+    return blockLength * BLOCK_WORDS;
+  }
+
+  /**
+   * The filter of one Spread.
+   * The words are not changed after it is created, so it is shared by the clones.
+   */
+  private static final class SpreadBloomFilter {
+
+    private final int index;
+    private final int[] words;
+
+    public SpreadBloomFilter( final int index , final int[] words ) {
+      this.index = index;
+      this.words = words;
+    }
+
+    public int getIndex() {
+      return index;
+    }
+
+    public boolean mightContain( final long hash ) {
+      return BloomFilterBlockIndex.mightContain( words , hash );
+    }
+
+  }
+
+  private static int getBlockStart( final int[] words , final long hash ) {
+    long blockLength = words.length / BLOCK_WORDS;
+    return (int)( ( ( hash >>> 32 ) * blockLength ) >>> 32 ) * BLOCK_WORDS;
+  }
+
+  private static void insert( final int[] words , final long hash ) {
+    int blockStart = getBlockStart( words , hash );
+    int key = (int)hash;
+    for ( int i = 0 ; i < BLOCK_WORDS ; i++ ) {
+      words[blockStart + i] |= 1 << ( ( key * SALT[i] ) >>> 27 );
+    }
+  }
+
+  private static boolean mightContain( final int[] words , final long hash ) {
+    int blockStart = getBlockStart( words , hash );
+    int key = (int)hash;
+    for ( int i = 0 ; i < BLOCK_WORDS ; i++ ) {
+      if ( ( words[blockStart + i] & ( 1 << ( ( key * SALT[i] ) >>> 27 ) ) ) == 0 ) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static long mix( final long value ) {
+    long hash = value;
+    hash ^= hash >>> 33;
+    hash *= 0xff51afd7ed558ccdL;
+    hash ^= hash >>> 33;
+    hash *= 0xc4ceb9fe1a85ec53L;
+    hash ^= hash >>> 33;
+    return hash;
+  }
+
+  /**
+   * Get the hash of the UTF-8 bytes of a string.
+   */
+  public static long hashBytes( final byte[] value , final int start , final int length ) {
+    long hash = 0xcbf29ce484222325L;
+    for ( int i = start ; i < start + length ; i++ ) {
+      hash ^= value[i] & 0xff;
+      hash *= 0x100000001b3L;
+    }
+    return mix( hash );
+  }
+
+  public static long hashString( final String value ) {
+    byte[] bytes = value.getBytes( StandardCharsets.UTF_8 );
+    return hashBytes( bytes , 0 , bytes.length );
+  }
+
+  public static long hashLong( final long value ) {
+    return mix( value ^ 0x9e3779b97f4a7c15L );
+  }
+
+  @Override
+  public IBlockIndex clone() {
+    BloomFilterBlockIndex result = new BloomFilterBlockIndex();
+    result.valueType = valueType;
+    result.filterList.addAll( filterList );
+    return result;
+  }
+
+  @Override
+  public BlockIndexType getBlockIndexType() {
+    return BlockIndexType.BLOOM_FILTER;
+  }
+
+  @Override
+  public boolean merge( final IBlockIndex blockIndex ) {
+    if ( ! ( blockIndex instanceof BloomFilterBlockIndex ) ) {
+      return false;
+    }
+    BloomFilterBlockIndex bloomFilterBlockIndex = (BloomFilterBlockIndex)blockIndex;
+    if ( bloomFilterBlockIndex.valueType != valueType ) {
+      return false;
+    }
+    filterList.addAll( bloomFilterBlockIndex.filterList );
+    return true;
+  }
+
+  @Override
+  public int getBinarySize() {
+    int total = Byte.BYTES + Integer.BYTES;
+    for ( SpreadBloomFilter filter : filterList ) {
+      total += Integer.BYTES * 2 + Integer.BYTES * filter.words.length;
+    }
+    return total;
+  }
+
+  @Override
+  public byte[] toBinary() {
+    byte[] result = new byte[getBinarySize()];
+    ByteBuffer wrapBuffer = ByteBuffer.wrap( result );
+    wrapBuffer.put( valueType );
+    wrapBuffer.putInt( filterList.size() );
+    for ( SpreadBloomFilter filter : filterList ) {
+      wrapBuffer.putInt( filter.getIndex() );
+      wrapBuffer.putInt( filter.words.length );
+      wrapBuffer.asIntBuffer().put( filter.words );
+      wrapBuffer.position( wrapBuffer.position() + Integer.BYTES * filter.words.length );
+    }
+    return result;
+  }
+
+  @Override
+  public void setFromBinary( final byte[] buffer , final int start , final int length ) {
+    ByteBuffer wrapBuffer = ByteBuffer.wrap( buffer , start , length );
+    valueType = wrapBuffer.get();
+    int num = wrapBuffer.getInt();
+    for ( int i = 0 ; i < num ; i++ ) {
+      int spreadIndex = wrapBuffer.getInt();
+      int[] words = new int[ wrapBuffer.getInt() ];
+      wrapBuffer.asIntBuffer().get( words );
+      wrapBuffer.position( wrapBuffer.position() + Integer.BYTES * words.length );
+      filterList.add( new SpreadBloomFilter( spreadIndex , words ) );
+    }
+  }
+
+  /**
+   * Get the index of the Spreads that may contain the value of an equality or IN filter.
+   */
+  @Override
+  public List<Integer> getBlockSpreadIndex( final IFilter filter ) {
+    long[] hashArray = getFilterHashArray( filter );
+    if ( hashArray == null ) {
+      return null;
+    }
+    List<Integer> result = new ArrayList<Integer>();
+    for ( SpreadBloomFilter spreadFilter : filterList ) {
+      for ( long hash : hashArray ) {
+        if ( spreadFilter.mightContain( hash ) ) {
+          result.add( spreadFilter.getIndex() );
+          break;
+        }
+      }
+    }
+    result.sort( null );
+    for ( int i = result.size() - 1 ; 0 < i ; i-- ) {
+      if ( result.get( i ).equals( result.get( i - 1 ) ) ) {
+        result.remove( i );
+      }
+    }
+    return result;
+  }
+
+  private long[] getFilterHashArray( final IFilter filter ) {
+    switch ( filter.getFilterType() ) {
+      case STRING:
+        IStringFilter stringFilter = (IStringFilter)filter;
+        if ( valueType != STRING_VALUE
+            || stringFilter.getStringFilterType() != StringFilterType.PERFECT ) {
+          return null;
+        }
+        return new long[]{ hashString( stringFilter.getSearchString() ) };
+      case STRING_DICTIONARY:
+        if ( valueType != STRING_VALUE ) {
+          return null;
+        }
+        Set<String> dictionary = ( (IStringDictionaryFilter)filter ).getDictionary();
+        long[] dictionaryHashArray = new long[ dictionary.size() ];
+        int offset = 0;
+        for ( String str : dictionary ) {
+          dictionaryHashArray[offset++] = hashString( str );
+        }
+        return dictionaryHashArray;
+      case NUMBER:
+        NumberFilter numberFilter = (NumberFilter)filter;
+        if ( valueType != NUMBER_VALUE
+            || numberFilter.getNumberFilterType() != NumberFilterType.EQUAL ) {
+          return null;
+        }
+        try {
+          return new long[]{ hashLong( numberFilter.getNumberObject().getLong() ) };
+        } catch ( NumberFormatException | IOException ex ) {
+          return null;
+        }
+      case NUMBER_DICTIONARY:
+        if ( valueType != NUMBER_VALUE ) {
+          return null;
+        }
+        INumberDictionaryFilter numberDictionaryFilter = (INumberDictionaryFilter)filter;
+        long[] numberArray;
+        try {
+          numberArray = numberDictionaryFilter.getDictionary( ColumnType.LONG ).toArray();
+        } catch ( IOException ex ) {
+          return null;
+        }
+        for ( int i = 0 ; i < numberArray.length ; i++ ) {
+          numberArray[i] = hashLong( numberArray[i] );
+        }
+        return numberArray;
+      default:
+        return null;
+    }
+  }
+
+  @Override
+  public IBlockIndex getNewInstance() {
+    return new BloomFilterBlockIndex();
+  }
+
+}
@@ -0,0 +1,150 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.co.yahoo.yosegi.blockindex;
+
+import jp.co.yahoo.yosegi.inmemory.IDictionary;
+import jp.co.yahoo.yosegi.inmemory.IMemoryAllocator;
+import jp.co.yahoo.yosegi.message.objects.PrimitiveObject;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Collect the hash of the values loaded from a column to create a BloomFilterBlockIndex.
+ * When the column has a dictionary, only the dictionary is hashed.
+ */
+public class BloomFilterMemoryAllocator implements IMemoryAllocator , IDictionary {
+
+  private final byte valueType;
+  private long[] hashArray = new long[16];
+  private int hashLength;
+
+  public BloomFilterMemoryAllocator( final byte valueType ) {
+    this.valueType = valueType;
+  }
+
+  private void add( final long hash ) {
+    if ( hashLength == hashArray.length ) {
+      hashArray = Arrays.copyOf( hashArray , hashArray.length * 2 );
+    }
+    hashArray[hashLength++] = hash;
+  }
+
+  /**
+   * Create the index of the Spread from the collected values.
+   */
+  public IBlockIndex createBlockIndex( final int spreadIndex ) {
+    return new BloomFilterBlockIndex( valueType , spreadIndex , hashArray , hashLength );
+  }
+
+  @Override
+  public void setNull( final int index ) {
+  }
+
+  @Override
+  public void setBoolean( final int index , final boolean value ) throws IOException {
+  }
+
+  @Override
+  public void setByte( final int index , final byte value ) throws IOException {
+    add( BloomFilterBlockIndex.hashLong( value ) );
+  }
+
+  @Override
+  public void setShort( final int index , final short value ) throws IOException {
+    add( BloomFilterBlockIndex.hashLong( value ) );
+  }
+
+  @Override
+  public void setInteger( final int index , final int value ) throws IOException {
+    add( BloomFilterBlockIndex.hashLong( value ) );
+  }
+
+  @Override
+  public void setLong( final int index , final long value ) throws IOException {
+    add( BloomFilterBlockIndex.hashLong( value ) );
+  }
+
+  @Override
+  public void setFloat( final int index , final float value ) throws IOException {
+  }
+
+  @Override
+  public void setDouble( final int index , final double value ) throws IOException {
+  }
+
+  @Override
+  public void setBytes( final int index , final byte[] value ) throws IOException {
+    setBytes( index , value , 0 , value.length );
+  }
+
+  @Override
+  public void setBytes(
+      final int index ,
+      final byte[] value ,
+      final int start ,
+      final int length ) throws IOException {
+    add( BloomFilterBlockIndex.hashBytes( value , start , length ) );
+  }
+
+  @Override
+  public void setString( final int index , final String value ) throws IOException {
+    add( BloomFilterBlockIndex.hashString( value ) );
+  }
+
+  @Override
+  public void setString( final int index , final char[] value ) throws IOException {
+    setString( index , new String( value ) );
+  }
+
+  @Override
+  public void setString(
+      final int index ,
+      final char[] value ,
+      final int start ,
+      final int length ) throws IOException {
+    setString( index , new String( value , start , length ) );
+  }
+
+  @Override
+  public void setPrimitiveObject(
+      final int index , final PrimitiveObject value ) throws IOException {
+    if ( value == null ) {
+      return;
+    }
+    if ( valueType == BloomFilterBlockIndex.STRING_VALUE ) {
+      setString( index , value.getString() );
+    } else {
+      setLong( index , value.getLong() );
+    }
+  }
+
+  @Override
+  public IDictionary createDictionary( final int size ) throws IOException {
+    return this;
+  }
+
+  @Override
+  public void setFromDictionary(
+      final int index ,
+      final int dicIndex ,
+      final IDictionary dic ) throws IOException {
+  }
+
+}
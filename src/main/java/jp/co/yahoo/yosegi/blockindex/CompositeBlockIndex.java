@@ -0,0 +1,178 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.co.yahoo.yosegi.blockindex;
+
+import jp.co.yahoo.yosegi.spread.column.filter.IFilter;
+import jp.co.yahoo.yosegi.util.CollectionUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Several kinds of index of the same column.
+ * Only the Spreads that all of the indexes need to read are read.
+ */
+public class CompositeBlockIndex implements IBlockIndex {
+
+  private final List<IBlockIndex> childList = new ArrayList<IBlockIndex>();
+
+  public CompositeBlockIndex() {}
+
+  /**
+   * Set the indexes of different types.
+   */
+  public CompositeBlockIndex( final IBlockIndex... indexes ) {
+    for ( IBlockIndex index : indexes ) {
+      childList.add( index );
+    }
+  }
+
+  public List<IBlockIndex> getBlockIndexList() {
+    return childList;
+  }
+
+  @Override
+  public IBlockIndex clone() {
+    CompositeBlockIndex result = new CompositeBlockIndex();
+    for ( IBlockIndex index : childList ) {
+      result.childList.add( index.clone() );
+    }
+    return result;
+  }
+
+  @Override
+  public BlockIndexType getBlockIndexType() {
+    return BlockIndexType.COMPOSITE;
+  }
+
+  /**
+   * Merge the index of the same type.
+   * An index that the target does not have is removed,
+   * because it no longer covers all the Spreads.
+   */
+  @Override
+  public boolean merge( final IBlockIndex blockIndex ) {
+    List<IBlockIndex> targetList;
+    if ( blockIndex instanceof CompositeBlockIndex ) {
+      targetList = ( (CompositeBlockIndex)blockIndex ).childList;
+    } else {
+      targetList = new ArrayList<IBlockIndex>();
+      targetList.add( blockIndex );
+    }
+    Iterator<IBlockIndex> iterator = childList.iterator();
+    while ( iterator.hasNext() ) {
+      IBlockIndex index = iterator.next();
+      IBlockIndex target = null;
+      for ( IBlockIndex targetIndex : targetList ) {
+        if ( targetIndex.getBlockIndexType() == index.getBlockIndexType() ) {
+          target = targetIndex;
+          break;
+        }
+      }
+      if ( target == null || ! index.merge( target ) ) {
+        iterator.remove();
+      }
+    }
+    return ! childList.isEmpty();
+  }
+
+  @Override
+  public int getBinarySize() {
+    int total = Integer.BYTES;
+    for ( IBlockIndex index : childList ) {
+      total += Integer.BYTES * 2;
+      total += getShortCutName( index ).length;
+      total += index.getBinarySize();
+    }
+    return total;
+  }
+
+  private static byte[] getShortCutName( final IBlockIndex index ) {
+    return BlockIndexNameShortCut.getShortCutName( index.getClass().getName() )
+        .getBytes( StandardCharsets.UTF_8 );
+  }
+
+  @Override
+  public byte[] toBinary() {
+    byte[] result = new byte[getBinarySize()];
+    ByteBuffer wrapBuffer = ByteBuffer.wrap( result );
+    wrapBuffer.putInt( childList.size() );
+    for ( IBlockIndex index : childList ) {
+      byte[] nameBytes = getShortCutName( index );
+      byte[] childBinary = index.toBinary();
+      wrapBuffer.putInt( nameBytes.length );
+      wrapBuffer.put( nameBytes );
+      wrapBuffer.putInt( childBinary.length );
+      wrapBuffer.put( childBinary );
+    }
+    return result;
+  }
+
+  @Override
+  public void setFromBinary( final byte[] buffer , final int start , final int length ) {
+    ByteBuffer wrapBuffer = ByteBuffer.wrap( buffer , start , length );
+    int num = wrapBuffer.getInt();
+    for ( int i = 0 ; i < num ; i++ ) {
+      byte[] nameBytes = new byte[ wrapBuffer.getInt() ];
+      wrapBuffer.get( nameBytes , 0 , nameBytes.length );
+      byte[] childBinary = new byte[ wrapBuffer.getInt() ];
+      wrapBuffer.get( childBinary , 0 , childBinary.length );
+      IBlockIndex index;
+      try {
+        index = FindBlockIndex.get( BlockIndexNameShortCut.getClassName(
+            new String( nameBytes , StandardCharsets.UTF_8 ) ) );
+      } catch ( IOException ex ) {
+        throw new UncheckedIOException( ex );
+      }
+      index.setFromBinary( childBinary , 0 , childBinary.length );
+      childList.add( index );
+    }
+  }
+
+  @Override
+  public List<Integer> getBlockSpreadIndex( final IFilter filter ) {
+    List<Integer> result = null;
+    for ( IBlockIndex index : childList ) {
+      List<Integer> childResult = index.getBlockSpreadIndex( filter );
+      if ( childResult == null ) {
+        continue;
+      }
+      if ( result == null ) {
+        result = childResult;
+      } else {
+        result = CollectionUtils.intersectionFromSortedCollection( result , childResult );
+      }
+      if ( result.isEmpty() ) {
+        return result;
+      }
+    }
+    return result;
+  }
+
+  @Override
+  public IBlockIndex getNewInstance() {
+    return new CompositeBlockIndex();
+  }
+
+}
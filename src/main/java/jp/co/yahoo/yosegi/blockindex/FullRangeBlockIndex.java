@@ -18,15 +18,25 @@
 
 package jp.co.yahoo.yosegi.blockindex;
 
+import jp.co.yahoo.yosegi.spread.column.filter.FilterType;
 import jp.co.yahoo.yosegi.spread.column.filter.IFilter;
 
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
 
+/**
+ * The range of each Spread of the block.
+ * Each range may keep the null count and the value count of the Spread,
+ * and the binary ends with the number of Spreads of the block.
+ * They are written after the range binaries, so older readers ignore them.
+ */
 public class FullRangeBlockIndex implements IBlockIndex {
 
+  private static final int COUNT_LENGTH = Integer.BYTES * 2;
+
   public List<RangeBlockIndex> childList = new ArrayList<RangeBlockIndex>();
+  private int spreadCount = -1;
 
   public FullRangeBlockIndex() {}
 
@@ -34,6 +44,18 @@ public class FullRangeBlockIndex implements IBlockIndex {
    * Set an initial value to create a new object.
    */
   public FullRangeBlockIndex( final int spreadIndex , final IBlockIndex index ) {
+    this( spreadIndex , index , -1 , -1 );
+  }
+
+  /**
+   * Set an initial value with the null count and the value count of the Spread.
+   * A negative count means it is not counted.
+   */
+  public FullRangeBlockIndex(
+      final int spreadIndex ,
+      final IBlockIndex index ,
+      final int nullCount ,
+      final int valueCount ) {
     switch ( index.getBlockIndexType() ) {
       case RANGE_STRING:
       case RANGE_BYTE:
@@ -47,17 +69,25 @@ public class FullRangeBlockIndex implements IBlockIndex {
         throw new UnsupportedOperationException(
             "Unsupport index type : " + index.getBlockIndexType() );
     }
-    childList.add( new RangeBlockIndex( spreadIndex , index ) );
+    childList.add( new RangeBlockIndex( spreadIndex , index , nullCount , valueCount ) );
   }
 
   private final class RangeBlockIndex {
 
     private final int index;
     private final IBlockIndex blockIndex;
+    private final int nullCount;
+    private final int valueCount;
 
-    public RangeBlockIndex( final int index , final IBlockIndex blockIndex ) {
+    public RangeBlockIndex(
+        final int index ,
+        final IBlockIndex blockIndex ,
+        final int nullCount ,
+        final int valueCount ) {
       this.index = index;
       this.blockIndex = blockIndex;
+      this.nullCount = nullCount;
+      this.valueCount = valueCount;
     }
 
     public int getIndex() {
@@ -68,9 +98,21 @@ public class FullRangeBlockIndex implements IBlockIndex {
       return blockIndex;
     }
 
+    public int getNullCount() {
+      return nullCount;
+    }
+
+    public int getValueCount() {
+      return valueCount;
+    }
+
+    public boolean hasCount() {
+      return 0 <= nullCount && 0 <= valueCount;
+    }
+
     @Override
     public RangeBlockIndex clone() {
-      return new RangeBlockIndex( index , blockIndex.clone() );
+      return new RangeBlockIndex( index , blockIndex.clone() , nullCount , valueCount );
     }
 
   }
@@ -81,6 +123,7 @@ public class FullRangeBlockIndex implements IBlockIndex {
     for ( RangeBlockIndex rangeBlockIndex : childList ) {
       result.childList.add( rangeBlockIndex.clone() );
     }
+    result.spreadCount = spreadCount;
     return result;
   }
 
@@ -136,6 +179,18 @@ public class FullRangeBlockIndex implements IBlockIndex {
     return childList;
   }
 
+  /**
+   * Set the number of Spreads of the block.
+   * The Spreads without a range have only NULL in the column.
+   */
+  public void setSpreadCount( final int spreadCount ) {
+    this.spreadCount = spreadCount;
+  }
+
+  public int getSpreadCount() {
+    return spreadCount;
+  }
+
   @Override
   public BlockIndexType getBlockIndexType() {
     return BlockIndexType.FULL_RANGE;
@@ -148,6 +203,7 @@ public class FullRangeBlockIndex implements IBlockIndex {
     }
     FullRangeBlockIndex fullRangeBlockIndex = (FullRangeBlockIndex)blockIndex;
     childList.addAll( fullRangeBlockIndex.getBlockIndexList() );
+    spreadCount = Math.max( spreadCount , fullRangeBlockIndex.getSpreadCount() );
 
     return true;
   }
@@ -157,8 +213,12 @@ public class FullRangeBlockIndex implements IBlockIndex {
     int total = 0;
     for ( RangeBlockIndex index : childList ) {
       total += index.getBlockIndex().getBinarySize();
+      if ( index.hasCount() ) {
+        total += COUNT_LENGTH;
+      }
     }
-    return Integer.BYTES + ( ( Byte.BYTES + Integer.BYTES * 2 ) * childList.size() ) + total;
+    return Integer.BYTES + ( ( Byte.BYTES + Integer.BYTES * 2 ) * childList.size() ) + total
+        + Integer.BYTES;
   }
 
   @Override
@@ -170,9 +230,17 @@ public class FullRangeBlockIndex implements IBlockIndex {
       byte[] childBinary = index.getBlockIndex().toBinary();
       wrapBuffer.put( getTypeToByte( index.getBlockIndex().getBlockIndexType() ) );
       wrapBuffer.putInt( index.getIndex() );
-      wrapBuffer.putInt( childBinary.length );
-      wrapBuffer.put( childBinary );
+      if ( index.hasCount() ) {
+        wrapBuffer.putInt( childBinary.length + COUNT_LENGTH );
+        wrapBuffer.put( childBinary );
+        wrapBuffer.putInt( index.getNullCount() );
+        wrapBuffer.putInt( index.getValueCount() );
+      } else {
+        wrapBuffer.putInt( childBinary.length );
+        wrapBuffer.put( childBinary );
+      }
     }
+    wrapBuffer.putInt( spreadCount );
     return result;
   }
 
@@ -183,13 +251,24 @@ public class FullRangeBlockIndex implements IBlockIndex {
 
     for ( int i = 0 ; i < num ; i++ ) {
       byte type = wrapBuffer.get();
-      int spreadIndex = wrapBuffer.getInt();
+      final int spreadIndex = wrapBuffer.getInt();
       int binaryLength = wrapBuffer.getInt();
       byte[] childBinary = new byte[binaryLength];
       wrapBuffer.get( childBinary , 0 , childBinary.length );
       IBlockIndex blockIndex = getByteToBlockIndex( type );
       blockIndex.setFromBinary( childBinary , 0 , childBinary.length );
-      childList.add( new RangeBlockIndex( spreadIndex , blockIndex ) );
+      int nullCount = -1;
+      int valueCount = -1;
+      int childBinarySize = blockIndex.getBinarySize();
+      if ( childBinarySize + COUNT_LENGTH <= childBinary.length ) {
+        ByteBuffer countBuffer = ByteBuffer.wrap( childBinary , childBinarySize , COUNT_LENGTH );
+        nullCount = countBuffer.getInt();
+        valueCount = countBuffer.getInt();
+      }
+      childList.add( new RangeBlockIndex( spreadIndex , blockIndex , nullCount , valueCount ) );
+    }
+    if ( Integer.BYTES <= wrapBuffer.remaining() ) {
+      spreadCount = wrapBuffer.getInt();
     }
   }
 
@@ -197,8 +276,17 @@ public class FullRangeBlockIndex implements IBlockIndex {
    * Get the index of Spread that needs to be read.
    */
   public List<Integer> getBlockSpreadIndex( final IFilter filter ) {
+    if ( filter.getFilterType() == FilterType.NULL ) {
+      return getNullSpreadIndex();
+    }
     List<Integer> result = new ArrayList<Integer>();
     for ( RangeBlockIndex index : childList ) {
+      if ( filter.getFilterType() == FilterType.NOT_NULL ) {
+        if ( index.getValueCount() != 0 ) {
+          result.add( index.getIndex() );
+        }
+        continue;
+      }
       List<Integer> childResult = index.getBlockIndex().getBlockSpreadIndex( filter );
       if ( childResult == null ) {
         result.add( index.getIndex() );
@@ -207,6 +295,25 @@ public class FullRangeBlockIndex implements IBlockIndex {
     return result;
   }
 
+  private List<Integer> getNullSpreadIndex() {
+    if ( spreadCount < 0 ) {
+      return null;
+    }
+    boolean[] isNotNullSpread = new boolean[spreadCount];
+    for ( RangeBlockIndex index : childList ) {
+      if ( index.getNullCount() == 0 && index.getIndex() < spreadCount ) {
+        isNotNullSpread[index.getIndex()] = true;
+      }
+    }
+    List<Integer> result = new ArrayList<Integer>();
+    for ( int i = 0 ; i < spreadCount ; i++ ) {
+      if ( ! isNotNullSpread[i] ) {
+        result.add( i );
+      }
+    }
+    return result;
+  }
+
   @Override
   public IBlockIndex getNewInstance() {
     return new FullRangeBlockIndex();
@@ -18,9 +18,12 @@
 
 package jp.co.yahoo.yosegi.blockindex;
 
+import jp.co.yahoo.yosegi.spread.column.ColumnType;
 import jp.co.yahoo.yosegi.spread.column.filter.IFilter;
+import jp.co.yahoo.yosegi.spread.column.filter.INumberDictionaryFilter;
 import jp.co.yahoo.yosegi.spread.column.filter.NumberFilter;
 import jp.co.yahoo.yosegi.spread.column.filter.NumberRangeFilter;
+import jp.co.yahoo.yosegi.util.LongHashSet;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
@@ -165,6 +168,19 @@ public class LongRangeBlockIndex implements IBlockIndex {
           }
           return null;
         }
+      case NUMBER_DICTIONARY:
+        LongHashSet dictionary;
+        try {
+          dictionary = ( (INumberDictionaryFilter)filter ).getDictionary( ColumnType.LONG );
+        } catch ( IOException ex ) {
+          return null;
+        }
+        for ( long value : dictionary.toArray() ) {
+          if ( min <= value && value <= max ) {
+            return null;
+          }
+        }
+        return new ArrayList<Integer>();
       default:
         return null;
     }
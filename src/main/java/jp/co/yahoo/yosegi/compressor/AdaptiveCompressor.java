@@ -0,0 +1,227 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.co.yahoo.yosegi.compressor;
+
+import jp.co.yahoo.yosegi.util.ByteArrayData;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Select the compressor per column from none, lz4, snappy and zstd levels.
+ * The first binaries of each column are compressed and decompressed with every candidate,
+ * and the candidate with the lowest cost of CompressorSelector is used from then on.
+ * The weights of the CPU time follow the CompressionPolicy of the column unless they are given,
+ * so the speed policies prefer fast codecs and BEST_COMPRESSION prefers the smallest binary.
+ * The binary is the index of the candidate and the binary of the candidate.
+ */
+public class AdaptiveCompressor implements ICompressor {
+
+  public static final int DEFAULT_SAMPLES = 4;
+
+  private static final String[] CANDIDATE_NAMES =
+      new String[]{ "none" , "lz4" , "snappy" , "zstd_1" , "zstd_3" , "zstd_19" };
+  private static final ICompressor[] CANDIDATES = new ICompressor[]{
+      new DefaultCompressor() ,
+      new Lz4Compressor() ,
+      new SnappyCompressor() ,
+      new ZstdCompressor() ,
+      new ZstdCompressor() ,
+      new ZstdCompressor() };
+  private static final CompressionPolicy[] CANDIDATE_POLICIES = new CompressionPolicy[]{
+      CompressionPolicy.DEFAULT ,
+      CompressionPolicy.SPEED ,
+      CompressionPolicy.DEFAULT ,
+      CompressionPolicy.BEST_SPEED ,
+      CompressionPolicy.DEFAULT ,
+      CompressionPolicy.BEST_COMPRESSION };
+
+  private final int samples;
+  private final boolean isPolicyWeight;
+  private final double readCpuWeight;
+  private final double writeCpuWeight;
+
+  /**
+   * Select with the default number of samples and the weights of the CompressionPolicy.
+   * This is also the instance used for decompression.
+   */
+  public AdaptiveCompressor() {
+    this( DEFAULT_SAMPLES );
+  }
+
+  /**
+   * Select after the specified number of samples with the weights of the CompressionPolicy.
+   */
+  public AdaptiveCompressor( final int samples ) {
+    this( samples , true , 0.0d , 0.0d );
+  }
+
+  /**
+   * Select after the specified number of samples with the given weights for all columns.
+   */
+  public AdaptiveCompressor(
+      final int samples , final double readCpuWeight , final double writeCpuWeight ) {
+    this( samples , false , readCpuWeight , writeCpuWeight );
+  }
+
+  private AdaptiveCompressor(
+      final int samples ,
+      final boolean isPolicyWeight ,
+      final double readCpuWeight ,
+      final double writeCpuWeight ) {
+    if ( samples < 1 ) {
+      throw new IllegalArgumentException( "Samples must be 1 or more : " + samples );
+    }
+    this.samples = samples;
+    this.isPolicyWeight = isPolicyWeight;
+    this.readCpuWeight = readCpuWeight;
+    this.writeCpuWeight = writeCpuWeight;
+  }
+
+  /**
+   * Get the weight of the decompression time for the CompressionPolicy.
+   * The weight of the compression time is a tenth of it.
+   */
+  static double getReadCpuWeight( final CompressionPolicy compressionPolicy ) {
+    switch ( compressionPolicy ) {
+      case BEST_SPEED:
+        return 2.0d;
+      case SPEED:
+        return 0.5d;
+      case DEFAULT:
+        return 0.1d;
+      case BEST_COMPRESSION:
+        return 0.0d;
+      default:
+        return 0.1d;
+    }
+  }
+
+  /**
+   * Get the names of the candidates in the order of their index.
+   */
+  public static String[] getCandidateNames() {
+    return Arrays.copyOf( CANDIDATE_NAMES , CANDIDATE_NAMES.length );
+  }
+
+  private CompressorSelector createSelector( final CompressionPolicy compressionPolicy ) {
+    if ( isPolicyWeight ) {
+      double policyReadCpuWeight = getReadCpuWeight( compressionPolicy );
+      return new CompressorSelector(
+          CANDIDATE_NAMES , samples , policyReadCpuWeight , policyReadCpuWeight / 10.0d );
+    }
+    return new CompressorSelector( CANDIDATE_NAMES , samples , readCpuWeight , writeCpuWeight );
+  }
+
+  private static CompressResult createCandidateResult( final int index ) {
+    CompressResult compressResult = new CompressResult( CANDIDATE_POLICIES[index] , 1.0d );
+    compressResult.setEnd();
+    return compressResult;
+  }
+
+  private int selectCandidate(
+      final ByteBuffer data , final CompressResult compressResult ) throws IOException {
+    CompressorSelector selector = compressResult.getCompressorSelector(
+        () -> createSelector( compressResult.getCompressionPolicy() ) );
+    if ( selector.isEnd() ) {
+      return selector.getSelectedIndex();
+    }
+    ByteArrayData sampleBuffer = CompressBuffer.acquire();
+    ByteArrayData decompressBuffer = CompressBuffer.acquire();
+    decompressBuffer.setLength( data.remaining() );
+    for ( int i = 0 ; i < CANDIDATES.length ; i++ ) {
+      long compressStart = System.nanoTime();
+      CANDIDATES[i].compress( data.duplicate() , 0 , sampleBuffer , createCandidateResult( i ) );
+      long decompressStart = System.nanoTime();
+      CANDIDATES[i].decompressAndSet(
+          sampleBuffer.getBytes() , 0 , sampleBuffer.getLength() , decompressBuffer.getBytes() );
+      long decompressEnd = System.nanoTime();
+      selector.addResult( i , sampleBuffer.getLength() ,
+          decompressStart - compressStart , decompressEnd - decompressStart );
+    }
+    CompressBuffer.release( sampleBuffer );
+    CompressBuffer.release( decompressBuffer );
+    return selector.endSampleAndGet();
+  }
+
+  @Override
+  public byte[] compress(
+      final byte[] data ,
+      final int start ,
+      final int length ,
+      final CompressResult compressResult ) throws IOException {
+    ByteArrayData output = CompressBuffer.acquire();
+    compress( ByteBuffer.wrap( data , start , length ) , 0 , output , compressResult );
+    byte[] result = Arrays.copyOf( output.getBytes() , output.getLength() );
+    CompressBuffer.release( output );
+    return result;
+  }
+
+  @Override
+  public int compress(
+      final ByteBuffer data ,
+      final int headerLength ,
+      final ByteArrayData output ,
+      final CompressResult compressResult ) throws IOException {
+    int index = selectCandidate( data , compressResult );
+    int compressLength = CANDIDATES[index].compress(
+        data , headerLength + Byte.BYTES , output , createCandidateResult( index ) );
+    output.getBytes()[headerLength] = (byte)index;
+    return Byte.BYTES + compressLength;
+  }
+
+  private ICompressor getCandidate(
+      final byte[] data , final int start , final int length ) throws IOException {
+    if ( length < Byte.BYTES ) {
+      throw new IOException( "Broken data." );
+    }
+    int index = data[start];
+    if ( index < 0 || CANDIDATES.length <= index ) {
+      throw new IOException( "Unknown compressor index : " + index );
+    }
+    return CANDIDATES[index];
+  }
+
+  @Override
+  public int getDecompressSize(
+      final byte[] data , final int start , final int length ) throws IOException {
+    return getCandidate( data , start , length ).getDecompressSize(
+        data , start + Byte.BYTES , length - Byte.BYTES );
+  }
+
+  @Override
+  public byte[] decompress(
+      final byte[] data , final int start , final int length ) throws IOException {
+    byte[] retVal = new byte[ getDecompressSize( data , start , length ) ];
+    decompressAndSet( data , start , length , retVal );
+    return retVal;
+  }
+
+  @Override
+  public int decompressAndSet(
+      final byte[] data ,
+      final int start ,
+      final int length ,
+      final byte[] buffer ) throws IOException {
+    return getCandidate( data , start , length ).decompressAndSet(
+        data , start + Byte.BYTES , length - Byte.BYTES , buffer );
+  }
+
+}
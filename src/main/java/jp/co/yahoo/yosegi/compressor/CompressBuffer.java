@@ -0,0 +1,70 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.co.yahoo.yosegi.compressor;
+
+import jp.co.yahoo.yosegi.util.ByteArrayData;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * The work buffers of the compressors and the makers, kept per thread.
+ * A buffer is acquired for one compression or decompression and released after it,
+ * so nested calls get different buffers.
+ * A buffer larger than MAX_KEEP_BUFFER_SIZE is not kept when released,
+ * so one large column does not keep its buffer for the life of the thread.
+ * A buffer that is not released is only garbage collected.
+ */
+public final class CompressBuffer {
+
+  public static final int INITIAL_BUFFER_SIZE = 1024 * 64;
+  public static final int MAX_KEEP_BUFFER_SIZE = 1024 * 1024 * 4;
+  public static final int MAX_KEEP_BUFFER_COUNT = 4;
+
+  private static final ThreadLocal<Deque<ByteArrayData>> BUFFER_POOL =
+      ThreadLocal.withInitial( ArrayDeque::new );
+
+  private CompressBuffer() {}
+
+  /**
+   * Get an empty buffer of this thread.
+   */
+  public static ByteArrayData acquire() {
+    ByteArrayData buffer = BUFFER_POOL.get().poll();
+    if ( buffer == null ) {
+      return new ByteArrayData( INITIAL_BUFFER_SIZE );
+    }
+    return buffer;
+  }
+
+  /**
+   * Return the buffer to this thread.
+   * The data of the buffer must not be used after this.
+   */
+  public static void release( final ByteArrayData buffer ) {
+    Deque<ByteArrayData> pool = BUFFER_POOL.get();
+    if ( MAX_KEEP_BUFFER_SIZE < buffer.getBytes().length
+        || MAX_KEEP_BUFFER_COUNT <= pool.size() ) {
+      return;
+    }
+    buffer.clear();
+    pool.push( buffer );
+  }
+
+}
@@ -19,6 +19,7 @@
 package jp.co.yahoo.yosegi.compressor;
 
 import java.util.Map;
+import java.util.function.Supplier;
 
 public class CompressResult {
 
@@ -28,6 +29,8 @@ public class CompressResult {
   private boolean isEnd = false;
   private double startLevelDataRatio = -1.0d;
   private int currentLevel = 0;
+  private ZstdDictionaryTrainer dictionaryTrainer;
+  private CompressorSelector compressorSelector;
 
   public CompressResult( final CompressionPolicy compressionPolicy , final double allowedRatio ) {
     this.compressionPolicy = compressionPolicy;
@@ -44,14 +47,14 @@ public class CompressResult {
   /**
    * Get compression level.
    */
-  public int getCurrentLevel() {
+  public synchronized int getCurrentLevel() {
     return currentLevel;
   }
 
   /**
    * Feed back the result after compression.
    */
-  public void feedBack( final int originalDataSize , final int dataSize ) {
+  public synchronized void feedBack( final int originalDataSize , final int dataSize ) {
     if ( originalDataSize <= 0 || dataSize <= 0 ) {
       return;
     }
@@ -73,11 +76,46 @@ public class CompressResult {
   /**
    * The processing for lowering the compression level ends.
    */
-  public void setEnd() {
+  public synchronized void setEnd() {
     if ( 0 < currentLevel ) {
       currentLevel--;
     }
     isEnd = true;
   }
 
+  /**
+   * Get the dictionary trainer of this compression target.
+   * The trainer is created on the first call.
+   */
+  public synchronized ZstdDictionaryTrainer getDictionaryTrainer(
+      final Supplier<ZstdDictionaryTrainer> supplier ) {
+    if ( dictionaryTrainer == null ) {
+      dictionaryTrainer = supplier.get();
+    }
+    return dictionaryTrainer;
+  }
+
+  /**
+   * Get the compressor selector of this compression target.
+   * The selector is created on the first call.
+   */
+  public synchronized CompressorSelector getCompressorSelector(
+      final Supplier<CompressorSelector> supplier ) {
+    if ( compressorSelector == null ) {
+      compressorSelector = supplier.get();
+    }
+    return compressorSelector;
+  }
+
+  /**
+   * Get the name of the compressor selected for this compression target,
+   * or null if it is not selected yet.
+   */
+  public synchronized String getSelectedCompressorName() {
+    if ( compressorSelector == null ) {
+      return null;
+    }
+    return compressorSelector.getSelectedName();
+  }
+
 }
@@ -35,6 +35,11 @@ public final class CompressorNameShortCut {
     CLASS_NAME_PAIR.set( "jp.co.yahoo.yosegi.compressor.SnappyCommonsCompressor" , "snappy" );
     CLASS_NAME_PAIR.set( "jp.co.yahoo.yosegi.compressor.LzmaCommonsCompressor" , "lzma" );
     CLASS_NAME_PAIR.set( "jp.co.yahoo.yosegi.compressor.ZstdCommonsCompressor" , "zstd" );
+    CLASS_NAME_PAIR.set( "jp.co.yahoo.yosegi.compressor.ZstdCompressor" , "zstd_2" );
+    CLASS_NAME_PAIR.set( "jp.co.yahoo.yosegi.compressor.Lz4Compressor" , "lz4_2" );
+    CLASS_NAME_PAIR.set(
+        "jp.co.yahoo.yosegi.compressor.ZstdDictionaryCompressor" , "zstd_dictionary" );
+    CLASS_NAME_PAIR.set( "jp.co.yahoo.yosegi.compressor.AdaptiveCompressor" , "adaptive" );
   }
 
   private CompressorNameShortCut() {}
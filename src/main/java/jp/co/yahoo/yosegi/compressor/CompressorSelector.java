@@ -0,0 +1,121 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.co.yahoo.yosegi.compressor;
+
+/**
+ * Select a compressor of a column from the results of compressing its first binaries
+ * with every candidate.
+ * The cost of a candidate is the compressed bytes plus the weighted nanoseconds
+ * of decompression and compression, so a weight is the bytes that one nanosecond is worth.
+ */
+public class CompressorSelector {
+
+  private final String[] candidateNames;
+  private final int samples;
+  private final double readCpuWeight;
+  private final double writeCpuWeight;
+  private final long[] compressedBytes;
+  private final long[] decompressNanos;
+  private final long[] compressNanos;
+
+  private int sampleCount;
+  private int selectedIndex = -1;
+
+  /**
+   * Create a selector that selects after the specified number of samples.
+   */
+  public CompressorSelector(
+      final String[] candidateNames ,
+      final int samples ,
+      final double readCpuWeight ,
+      final double writeCpuWeight ) {
+    this.candidateNames = candidateNames;
+    this.samples = samples;
+    this.readCpuWeight = readCpuWeight;
+    this.writeCpuWeight = writeCpuWeight;
+    compressedBytes = new long[candidateNames.length];
+    decompressNanos = new long[candidateNames.length];
+    compressNanos = new long[candidateNames.length];
+  }
+
+  public synchronized boolean isEnd() {
+    return 0 <= selectedIndex;
+  }
+
+  /**
+   * Add the result of a candidate for the current sample.
+   */
+  public synchronized void addResult(
+      final int index ,
+      final int compressedLength ,
+      final long compressTime ,
+      final long decompressTime ) {
+    compressedBytes[index] += compressedLength;
+    compressNanos[index] += compressTime;
+    decompressNanos[index] += decompressTime;
+  }
+
+  /**
+   * Finish the current sample and get the candidate with the lowest cost so far.
+   * The candidate is fixed when the number of samples is reached.
+   */
+  public synchronized int endSampleAndGet() {
+    if ( isEnd() ) {
+      return selectedIndex;
+    }
+    sampleCount++;
+    int bestIndex = 0;
+    for ( int i = 1 ; i < candidateNames.length ; i++ ) {
+      if ( Double.compare( getCost( i ) , getCost( bestIndex ) ) < 0 ) {
+        bestIndex = i;
+      }
+    }
+    if ( samples <= sampleCount ) {
+      selectedIndex = bestIndex;
+    }
+    return bestIndex;
+  }
+
+  /**
+   * Get the selected candidate, or -1 while sampling.
+   */
+  public synchronized int getSelectedIndex() {
+    return selectedIndex;
+  }
+
+  /**
+   * Get the name of the selected candidate, or null while sampling.
+   */
+  public synchronized String getSelectedName() {
+    if ( ! isEnd() ) {
+      return null;
+    }
+    return candidateNames[selectedIndex];
+  }
+
+  /**
+   * Get the cost of the candidate for the samples so far.
+   */
+  public synchronized double getCost( final int index ) {
+    return (double)compressedBytes[index]
+        + readCpuWeight * (double)decompressNanos[index]
+        + writeCpuWeight * (double)compressNanos[index];
+  }
+
+}
@@ -18,10 +18,13 @@
 
 package jp.co.yahoo.yosegi.compressor;
 
+import jp.co.yahoo.yosegi.util.ByteArrayData;
+
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
 
 public class DefaultCompressor implements ICompressor {
 
@@ -36,6 +39,18 @@ public class DefaultCompressor implements ICompressor {
     return result;
   }
 
+  @Override
+  public int compress(
+      final ByteBuffer data ,
+      final int headerLength ,
+      final ByteArrayData output ,
+      final CompressResult compressResult ) throws IOException {
+    output.clear();
+    output.setLength( headerLength + data.remaining() );
+    data.duplicate().get( output.getBytes() , headerLength , data.remaining() );
+    return data.remaining();
+  }
+
   @Override
   public int getDecompressSize(
       final byte[] data ,
@@ -21,13 +21,14 @@ package jp.co.yahoo.yosegi.compressor;
 import jp.co.yahoo.yosegi.util.FindClass;
 
 import java.io.IOException;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public final class FindCompressor {
 
   private static final Object LOCK = new Object();
-  private static final Map<String,ICompressor> CACHE = new HashMap<String,ICompressor>();
+  private static final Map<String,ICompressor> CACHE =
+      new ConcurrentHashMap<String,ICompressor>();
 
   private FindCompressor() {}
 
@@ -35,8 +36,12 @@ public final class FindCompressor {
    * Create an ICompressor from the class name.
    */
   public static ICompressor get( final String target ) throws IOException {
-    if ( CACHE.containsKey( target ) ) {
-      return CACHE.get( target );
+    if ( target == null || target.isEmpty() ) {
+      throw new IOException( "ICompressor class name is null or empty." );
+    }
+    ICompressor cacheCompressor = CACHE.get( target );
+    if ( cacheCompressor != null ) {
+      return cacheCompressor;
     }
     Object obj = FindClass.getObject( target , true , FindCompressor.class.getClassLoader() );
     if ( ! ( obj instanceof ICompressor ) ) {
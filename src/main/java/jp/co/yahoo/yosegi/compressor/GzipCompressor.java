@@ -18,21 +18,42 @@
 
 package jp.co.yahoo.yosegi.compressor;
 
+import jp.co.yahoo.yosegi.util.ByteArrayData;
 import jp.co.yahoo.yosegi.util.io.InputStreamUtils;
 
 import java.io.BufferedInputStream;
 import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.ByteBuffer;
+import java.util.Arrays;
 import java.util.zip.Deflater;
 import java.util.zip.GZIPInputStream;
 import java.util.zip.GZIPOutputStream;
 
 public class GzipCompressor implements ICompressor {
 
+  private static class ByteArrayDataOutputStream extends OutputStream {
+
+    private final ByteArrayData output;
+
+    ByteArrayDataOutputStream( final ByteArrayData output ) {
+      this.output = output;
+    }
+
+    @Override
+    public void write( final int value ) {
+      output.append( (byte)value );
+    }
+
+    @Override
+    public void write( final byte[] buffer , final int start , final int length ) {
+      output.append( buffer , start , length );
+    }
+
+  }
+
   private int getCompressLevel( final CompressionPolicy compressionPolicy ) {
     switch ( compressionPolicy ) {
       case BEST_SPEED:
@@ -54,6 +75,25 @@ public class GzipCompressor implements ICompressor {
       final int start ,
       final int length ,
       final CompressResult compressResult ) throws IOException {
+    ByteArrayData output = CompressBuffer.acquire();
+    compress( ByteBuffer.wrap( data , start , length ) , 0 , output , compressResult );
+    byte[] result = Arrays.copyOf( output.getBytes() , output.getLength() );
+    CompressBuffer.release( output );
+    return result;
+  }
+
+  /**
+   * Write the gzip stream directly after the header and the original length.
+   */
+  @Override
+  public int compress(
+      final ByteBuffer data ,
+      final int headerLength ,
+      final ByteArrayData output ,
+      final CompressResult compressResult ) throws IOException {
+    if ( ! data.hasArray() ) {
+      return ICompressor.super.compress( data , headerLength , output , compressResult );
+    }
     int level = getCompressLevel( compressResult.getCompressionPolicy() ); 
     int optLevel = compressResult.getCurrentLevel();
     if ( ( level - optLevel ) < 1 ) {
@@ -62,28 +102,26 @@ public class GzipCompressor implements ICompressor {
     }
 
     int setLevel = level - optLevel;
-    ByteArrayOutputStream byteArrayOut = new ByteArrayOutputStream();
-    GZIPOutputStream out = new GZIPOutputStream( byteArrayOut ) {
+    int length = data.remaining();
+    output.clear();
+    output.setLength( headerLength + Integer.BYTES );
+    GZIPOutputStream out = new GZIPOutputStream( new ByteArrayDataOutputStream( output ) ) {
       {
         this.def.setLevel( setLevel );
       }
     };
+    try {
+      out.write( data.array() , data.arrayOffset() + data.position() , length );
+      out.finish();
+    } finally {
+      out.close();
+    }
+    ByteBuffer.wrap( output.getBytes() ).putInt( headerLength , length );
+    int compressLength = output.getLength() - headerLength - Integer.BYTES;
 
-    out.write( data , start , length );
-    out.flush();
-    out.finish();
-    byte[] compressByte = byteArrayOut.toByteArray();
-    byte[] retVal = new byte[ Integer.BYTES + compressByte.length ];
-    ByteBuffer wrapBuffer = ByteBuffer.wrap( retVal );
-    wrapBuffer.putInt( length );
-    wrapBuffer.put( compressByte );
-
-    byteArrayOut.close();
-    out.close();
-
-    compressResult.feedBack( length , compressByte.length );
+    compressResult.feedBack( length , compressLength );
 
-    return retVal;
+    return output.getLength() - headerLength;
   }
 
   @Override
@@ -18,9 +18,13 @@
 
 package jp.co.yahoo.yosegi.compressor;
 
+import jp.co.yahoo.yosegi.util.ByteArrayData;
+
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
 
 public interface ICompressor {
 
@@ -41,6 +45,55 @@ public interface ICompressor {
       final int length ,
       final CompressResult compressResult ) throws IOException;
 
+  /**
+   * Compress the remaining bytes of the data into the output after a header of headerLength bytes.
+   * The output is cleared and grown as needed, and its length is set to the end of the binary.
+   * The header is left for the caller to write, and the position of the data is not changed.
+   * Returns the length of the compressed binary without the header.
+   * The default implementation copies the result of compress( byte[] ... ),
+   * so compressors that can write to the output directly override it.
+   */
+  default int compress(
+      final ByteBuffer data ,
+      final int headerLength ,
+      final ByteArrayData output ,
+      final CompressResult compressResult ) throws IOException {
+    byte[] compressBinary;
+    if ( data.hasArray() ) {
+      compressBinary = compress( data.array() , data.arrayOffset() + data.position() ,
+          data.remaining() , compressResult );
+    } else {
+      byte[] copyData = new byte[ data.remaining() ];
+      data.duplicate().get( copyData );
+      compressBinary = compress( copyData , 0 , copyData.length , compressResult );
+    }
+    output.clear();
+    output.setLength( headerLength );
+    output.append( compressBinary );
+    return compressBinary.length;
+  }
+
+  /**
+   * Compress the byte array after a header of headerLength bytes.
+   * The returned binary has the exact length, and its header is filled with 0
+   * for the caller to write.
+   * The compression is done in a buffer reused per thread,
+   * so the only copy is the one into the returned binary.
+   */
+  default byte[] compressWithHeader(
+      final byte[] data ,
+      final int start ,
+      final int length ,
+      final int headerLength ,
+      final CompressResult compressResult ) throws IOException {
+    ByteArrayData output = CompressBuffer.acquire();
+    compress( ByteBuffer.wrap( data , start , length ) , headerLength , output , compressResult );
+    byte[] binary = Arrays.copyOf( output.getBytes() , output.getLength() );
+    CompressBuffer.release( output );
+    Arrays.fill( binary , 0 , headerLength , (byte)0 );
+    return binary;
+  }
+
   int getDecompressSize(
       final byte[] data , final int start , final int length ) throws IOException;
 
@@ -53,4 +106,29 @@ public interface ICompressor {
       final int length ,
       final byte[] buffer ) throws IOException;
 
+  /**
+   * Decompress the remaining bytes of the data into the output.
+   * The output is cleared and grown as needed, and its length is set to the decompressed length.
+   * Returns the decompressed length.
+   */
+  default int decompressAndSet(
+      final ByteBuffer data , final ByteArrayData output ) throws IOException {
+    byte[] binary;
+    int start;
+    if ( data.hasArray() ) {
+      binary = data.array();
+      start = data.arrayOffset() + data.position();
+    } else {
+      binary = new byte[ data.remaining() ];
+      data.duplicate().get( binary );
+      start = 0;
+    }
+    output.clear();
+    output.setLength( getDecompressSize( binary , start , data.remaining() ) );
+    int decompressLength =
+        decompressAndSet( binary , start , data.remaining() , output.getBytes() );
+    output.setLength( decompressLength );
+    return decompressLength;
+  }
+
 }
@@ -0,0 +1,141 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.co.yahoo.yosegi.compressor;
+
+import jp.co.yahoo.yosegi.util.ByteArrayData;
+
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Exception;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4FastDecompressor;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Compress with the lz4 block API.
+ * BEST_COMPRESSION and DEFAULT use the high compressor until the level feedback lowers it,
+ * and the speed policies use the fast compressor.
+ * The output buffer is reused per thread.
+ */
+public class Lz4Compressor implements ICompressor {
+
+  private static final LZ4Factory FACTORY = LZ4Factory.fastestInstance();
+
+  private int getCompressLevel( final CompressionPolicy compressionPolicy ) {
+    switch ( compressionPolicy ) {
+      case BEST_SPEED:
+      case SPEED:
+        return 1;
+      case DEFAULT:
+      case BEST_COMPRESSION:
+      default:
+        return 2;
+    }
+  }
+
+  @Override
+  public byte[] compress(
+      final byte[] data ,
+      final int start ,
+      final int length ,
+      final CompressResult compressResult ) throws IOException {
+    ByteArrayData output = CompressBuffer.acquire();
+    compress( ByteBuffer.wrap( data , start , length ) , 0 , output , compressResult );
+    byte[] result = Arrays.copyOf( output.getBytes() , output.getLength() );
+    CompressBuffer.release( output );
+    return result;
+  }
+
+  @Override
+  public int compress(
+      final ByteBuffer data ,
+      final int headerLength ,
+      final ByteArrayData output ,
+      final CompressResult compressResult ) throws IOException {
+    if ( ! data.hasArray() ) {
+      return ICompressor.super.compress( data , headerLength , output , compressResult );
+    }
+    int level = getCompressLevel( compressResult.getCompressionPolicy() );
+    int optLevel = compressResult.getCurrentLevel();
+    if ( ( level - optLevel ) < 1 ) {
+      compressResult.setEnd();
+      optLevel = compressResult.getCurrentLevel();
+    }
+    LZ4Compressor compressor =
+        ( level - optLevel ) < 2 ? FACTORY.fastCompressor() : FACTORY.highCompressor();
+
+    int length = data.remaining();
+    int dataStart = headerLength + Integer.BYTES;
+    int maxLength = compressor.maxCompressedLength( length );
+    output.clear();
+    output.setLength( dataStart + maxLength );
+    int compressLength;
+    try {
+      compressLength = compressor.compress(
+          data.array() , data.arrayOffset() + data.position() , length ,
+          output.getBytes() , dataStart , maxLength );
+    } catch ( LZ4Exception ex ) {
+      throw new IOException( "Failed to compress with lz4." , ex );
+    }
+    ByteBuffer.wrap( output.getBytes() ).putInt( headerLength , length );
+    output.setLength( dataStart + compressLength );
+
+    compressResult.feedBack( length , compressLength );
+
+    return Integer.BYTES + compressLength;
+  }
+
+  @Override
+  public int getDecompressSize(
+      final byte[] data , final int start , final int length ) throws IOException {
+    return ByteBuffer.wrap( data , start , length ).getInt();
+  }
+
+  @Override
+  public byte[] decompress(
+      final byte[] data , final int start , final int length ) throws IOException {
+    byte[] retVal = new byte[ getDecompressSize( data , start , length ) ];
+    decompressAndSet( data , start , length , retVal );
+    return retVal;
+  }
+
+  @Override
+  public int decompressAndSet(
+      final byte[] data ,
+      final int start ,
+      final int length ,
+      final byte[] buffer ) throws IOException {
+    int dataLength = getDecompressSize( data , start , length );
+    LZ4FastDecompressor decompressor = FACTORY.fastDecompressor();
+    int readLength;
+    try {
+      readLength = decompressor.decompress(
+          data , start + Integer.BYTES , buffer , 0 , dataLength );
+    } catch ( LZ4Exception ex ) {
+      throw new IOException( "Broken data." , ex );
+    }
+    if ( readLength != length - Integer.BYTES ) {
+      throw new IOException( "Broken data." );
+    }
+    return dataLength;
+  }
+
+}
@@ -18,10 +18,13 @@
 
 package jp.co.yahoo.yosegi.compressor;
 
+import jp.co.yahoo.yosegi.util.ByteArrayData;
+
 import org.xerial.snappy.Snappy;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.util.Arrays;
 
 public class SnappyCompressor implements ICompressor {
 
@@ -31,23 +34,35 @@ public class SnappyCompressor implements ICompressor {
       final int start ,
       final int length ,
       final CompressResult compressResult ) throws IOException {
-    byte[] compressTarget;
-    if ( start != 0 ) {
-      compressTarget = new byte[length];
-      System.arraycopy( data , start , compressTarget , 0 , length );
-    } else {
-      compressTarget = data;
-    }
+    ByteArrayData output = CompressBuffer.acquire();
+    compress( ByteBuffer.wrap( data , start , length ) , 0 , output , compressResult );
+    byte[] result = Arrays.copyOf( output.getBytes() , output.getLength() );
+    CompressBuffer.release( output );
+    return result;
+  }
 
-    byte[] compressByte = Snappy.rawCompress( compressTarget , length );
-    byte[] retVal = new byte[ Integer.BYTES + compressByte.length ];
-    ByteBuffer wrapBuffer = ByteBuffer.wrap( retVal );
-    wrapBuffer.putInt( length );
-    wrapBuffer.put( compressByte );
+  @Override
+  public int compress(
+      final ByteBuffer data ,
+      final int headerLength ,
+      final ByteArrayData output ,
+      final CompressResult compressResult ) throws IOException {
+    if ( ! data.hasArray() ) {
+      return ICompressor.super.compress( data , headerLength , output , compressResult );
+    }
+    int length = data.remaining();
+    int dataStart = headerLength + Integer.BYTES;
+    output.clear();
+    output.setLength( dataStart + Snappy.maxCompressedLength( length ) );
+    int compressLength = Snappy.rawCompress(
+        data.array() , data.arrayOffset() + data.position() , length ,
+        output.getBytes() , dataStart );
+    ByteBuffer.wrap( output.getBytes() ).putInt( headerLength , length );
+    output.setLength( dataStart + compressLength );
 
-    compressResult.feedBack( length , compressByte.length );
+    compressResult.feedBack( length , compressLength );
 
-    return retVal;
+    return Integer.BYTES + compressLength;
   }
 
   @Override
@@ -75,10 +90,13 @@ public class SnappyCompressor implements ICompressor {
       final int start ,
       final int length ,
       final byte[] buffer ) throws IOException {
-    byte[] decompressBinary = decompress( data , start , length );
-    ByteBuffer.wrap( buffer ).put( decompressBinary );
-
-    return decompressBinary.length;
+    int dataLength = ByteBuffer.wrap( data , start , length ).getInt();
+    int size = Snappy.rawUncompress(
+        data , start + Integer.BYTES , length - Integer.BYTES , buffer , 0 );
+    if ( size != dataLength ) {
+      throw new IOException( "Broken data." );
+    }
+    return dataLength;
   }
 
 }
@@ -0,0 +1,142 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.co.yahoo.yosegi.compressor;
+
+import com.github.luben.zstd.Zstd;
+import com.github.luben.zstd.ZstdCompressCtx;
+import com.github.luben.zstd.ZstdDecompressCtx;
+import jp.co.yahoo.yosegi.util.ByteArrayData;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Compress with the zstd block API.
+ * The compression and decompression contexts and the output buffer are reused per thread,
+ * and compress( ByteBuffer ... ) writes the frame directly into the caller's buffer.
+ */
+public class ZstdCompressor implements ICompressor {
+
+  private static final ThreadLocal<ZstdCompressCtx> COMPRESS_CONTEXT =
+      ThreadLocal.withInitial( ZstdCompressCtx::new );
+  private static final ThreadLocal<ZstdDecompressCtx> DECOMPRESS_CONTEXT =
+      ThreadLocal.withInitial( ZstdDecompressCtx::new );
+
+  static int getCompressLevel( final CompressionPolicy compressionPolicy ) {
+    switch ( compressionPolicy ) {
+      case BEST_SPEED:
+        return 1;
+      case SPEED:
+        return 2;
+      case DEFAULT:
+        return 3;
+      case BEST_COMPRESSION:
+        return 19;
+      default:
+        return 3;
+    }
+  }
+
+  @Override
+  public byte[] compress(
+      final byte[] data ,
+      final int start ,
+      final int length ,
+      final CompressResult compressResult ) throws IOException {
+    ByteArrayData output = CompressBuffer.acquire();
+    compress( ByteBuffer.wrap( data , start , length ) , 0 , output , compressResult );
+    byte[] result = Arrays.copyOf( output.getBytes() , output.getLength() );
+    CompressBuffer.release( output );
+    return result;
+  }
+
+  @Override
+  public int compress(
+      final ByteBuffer data ,
+      final int headerLength ,
+      final ByteArrayData output ,
+      final CompressResult compressResult ) throws IOException {
+    if ( ! data.hasArray() ) {
+      return ICompressor.super.compress( data , headerLength , output , compressResult );
+    }
+    int level = getCompressLevel( compressResult.getCompressionPolicy() );
+    int optLevel = compressResult.getCurrentLevel();
+    if ( ( level - optLevel ) < 1 ) {
+      compressResult.setEnd();
+      optLevel = compressResult.getCurrentLevel();
+    }
+
+    int length = data.remaining();
+    int dataStart = headerLength + Integer.BYTES;
+    int maxLength = (int)Zstd.compressBound( length );
+    output.clear();
+    output.setLength( dataStart + maxLength );
+    int compressLength;
+    try {
+      compressLength = COMPRESS_CONTEXT.get().setLevel( level - optLevel ).compressByteArray(
+          output.getBytes() , dataStart , maxLength ,
+          data.array() , data.arrayOffset() + data.position() , length );
+    } catch ( RuntimeException ex ) {
+      throw new IOException( "Failed to compress with zstd." , ex );
+    }
+    ByteBuffer.wrap( output.getBytes() ).putInt( headerLength , length );
+    output.setLength( dataStart + compressLength );
+
+    compressResult.feedBack( length , compressLength );
+
+    return Integer.BYTES + compressLength;
+  }
+
+  @Override
+  public int getDecompressSize(
+      final byte[] data , final int start , final int length ) throws IOException {
+    return ByteBuffer.wrap( data , start , length ).getInt();
+  }
+
+  @Override
+  public byte[] decompress(
+      final byte[] data , final int start , final int length ) throws IOException {
+    byte[] retVal = new byte[ getDecompressSize( data , start , length ) ];
+    decompressAndSet( data , start , length , retVal );
+    return retVal;
+  }
+
+  @Override
+  public int decompressAndSet(
+      final byte[] data ,
+      final int start ,
+      final int length ,
+      final byte[] buffer ) throws IOException {
+    int dataLength = getDecompressSize( data , start , length );
+    int size;
+    try {
+      size = DECOMPRESS_CONTEXT.get().decompressByteArray(
+          buffer , 0 , dataLength ,
+          data , start + Integer.BYTES , length - Integer.BYTES );
+    } catch ( RuntimeException ex ) {
+      throw new IOException( "Broken data." , ex );
+    }
+    if ( size != dataLength ) {
+      throw new IOException( "Broken data." );
+    }
+    return dataLength;
+  }
+
+}
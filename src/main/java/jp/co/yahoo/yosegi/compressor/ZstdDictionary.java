@@ -0,0 +1,94 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.co.yahoo.yosegi.compressor;
+
+import com.github.luben.zstd.ZstdDictCompress;
+import com.github.luben.zstd.ZstdDictDecompress;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A zstd dictionary and its digested forms.
+ * The key is the 64-bit FNV-1a hash of the dictionary bytes,
+ * so the same dictionary always gets the same key.
+ */
+public final class ZstdDictionary {
+
+  private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+  private static final long FNV_PRIME = 0x100000001b3L;
+
+  private final byte[] binary;
+  private final long key;
+  private final Map<Integer,ZstdDictCompress> compressDictionaryMap =
+      new HashMap<Integer,ZstdDictCompress>();
+  private ZstdDictDecompress decompressDictionary;
+
+  /**
+   * Create a dictionary from a copy of the bytes.
+   */
+  public ZstdDictionary( final byte[] buffer , final int start , final int length ) {
+    binary = Arrays.copyOfRange( buffer , start , start + length );
+    key = createKey( binary );
+  }
+
+  /**
+   * Create the key of the dictionary bytes.
+   * 0 is not used as a key because it means that no dictionary is used.
+   */
+  public static long createKey( final byte[] binary ) {
+    long hash = FNV_OFFSET_BASIS;
+    for ( byte value : binary ) {
+      hash ^= value & 0xff;
+      hash *= FNV_PRIME;
+    }
+    if ( hash == 0 ) {
+      return 1;
+    }
+    return hash;
+  }
+
+  public long getKey() {
+    return key;
+  }
+
+  public byte[] getBinary() {
+    return binary;
+  }
+
+  /**
+   * Get the dictionary digested for the compression level.
+   */
+  public synchronized ZstdDictCompress getCompressDictionary( final int level ) {
+    return compressDictionaryMap.computeIfAbsent(
+        level , newLevel -> new ZstdDictCompress( binary , newLevel ) );
+  }
+
+  /**
+   * Get the dictionary digested for decompression.
+   */
+  public synchronized ZstdDictDecompress getDecompressDictionary() {
+    if ( decompressDictionary == null ) {
+      decompressDictionary = new ZstdDictDecompress( binary );
+    }
+    return decompressDictionary;
+  }
+
+}
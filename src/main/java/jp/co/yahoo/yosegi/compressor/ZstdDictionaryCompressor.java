@@ -0,0 +1,280 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.co.yahoo.yosegi.compressor;
+
+import com.github.luben.zstd.Zstd;
+import com.github.luben.zstd.ZstdCompressCtx;
+import com.github.luben.zstd.ZstdDecompressCtx;
+import jp.co.yahoo.yosegi.util.ByteArrayData;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compress with zstd using a dictionary per column.
+ * The binary is the original length, the key of the dictionary and the zstd frame.
+ * The key is 0 when no dictionary is used.
+ * The dictionary is either given, or trained from the first binaries of each column.
+ * Decompression finds the dictionary by key from the dictionaries of this instance.
+ * The dictionaries are carried by the ColumnBinary, so there is no registry in the process
+ * and the dictionaries of a block are released with the block.
+ */
+public class ZstdDictionaryCompressor implements ICompressor {
+
+  public static final int DEFAULT_TRAIN_SAMPLES = 16;
+  public static final int DEFAULT_SAMPLE_BUFFER_SIZE = 1024 * 1024;
+  public static final int DEFAULT_DICTIONARY_SIZE = 1024 * 16;
+
+  private static final int HEADER_LENGTH = Integer.BYTES + Long.BYTES;
+
+  private static final ThreadLocal<ZstdCompressCtx> COMPRESS_CONTEXT =
+      ThreadLocal.withInitial( ZstdCompressCtx::new );
+  private static final ThreadLocal<ZstdDecompressCtx> DECOMPRESS_CONTEXT =
+      ThreadLocal.withInitial( ZstdDecompressCtx::new );
+
+  private final ZstdDictionary dictionary;
+  private final int trainSamples;
+  private final int sampleBufferSize;
+  private final int dictionarySize;
+  private final Map<Long,ZstdDictionary> dictionaryMap;
+  private final ThreadLocal<Map<Long,ZstdDictionary>> usedDictionaryMap =
+      ThreadLocal.withInitial( LinkedHashMap::new );
+
+  /**
+   * Compress without a dictionary.
+   * This is the instance used for decompression.
+   */
+  public ZstdDictionaryCompressor() {
+    this( null , 0 , 0 , 0 );
+  }
+
+  /**
+   * Decompress with the given dictionaries.
+   * The map is referenced and not copied.
+   */
+  public ZstdDictionaryCompressor( final Map<Long,ZstdDictionary> dictionaryMap ) {
+    this( null , 0 , 0 , 0 , dictionaryMap );
+  }
+
+  /**
+   * Compress every binary with the given dictionary.
+   */
+  public ZstdDictionaryCompressor( final ZstdDictionary dictionary ) {
+    this( dictionary , 0 , 0 , 0 );
+  }
+
+  /**
+   * Train a dictionary per column from the first binaries.
+   * Until the training ends, the binaries are compressed without a dictionary.
+   */
+  public ZstdDictionaryCompressor(
+      final int trainSamples , final int sampleBufferSize , final int dictionarySize ) {
+    this( null , trainSamples , sampleBufferSize , dictionarySize );
+  }
+
+  private ZstdDictionaryCompressor(
+      final ZstdDictionary dictionary ,
+      final int trainSamples ,
+      final int sampleBufferSize ,
+      final int dictionarySize ) {
+    this( dictionary , trainSamples , sampleBufferSize , dictionarySize ,
+        new LinkedHashMap<Long,ZstdDictionary>() );
+    if ( dictionary != null ) {
+      dictionaryMap.put( dictionary.getKey() , dictionary );
+    }
+  }
+
+  private ZstdDictionaryCompressor(
+      final ZstdDictionary dictionary ,
+      final int trainSamples ,
+      final int sampleBufferSize ,
+      final int dictionarySize ,
+      final Map<Long,ZstdDictionary> dictionaryMap ) {
+    this.dictionary = dictionary;
+    this.trainSamples = trainSamples;
+    this.sampleBufferSize = sampleBufferSize;
+    this.dictionarySize = dictionarySize;
+    this.dictionaryMap = dictionaryMap;
+  }
+
+  /**
+   * Get the dictionaries of this instance in the order they were created.
+   */
+  public synchronized List<ZstdDictionary> getDictionaryList() {
+    return new ArrayList<ZstdDictionary>( dictionaryMap.values() );
+  }
+
+  /**
+   * Get the dictionaries used by this thread since the last call, and clear them.
+   * The writer calls this after each column to find the dictionaries the block references.
+   */
+  public Map<Long,ZstdDictionary> takeUsedDictionaryMap() {
+    Map<Long,ZstdDictionary> result = usedDictionaryMap.get();
+    usedDictionaryMap.remove();
+    return result;
+  }
+
+  private synchronized ZstdDictionary getDictionary( final long dictionaryKey ) {
+    return dictionaryMap.get( dictionaryKey );
+  }
+
+  private ZstdDictionary getDictionary(
+      final byte[] data ,
+      final int start ,
+      final int length ,
+      final CompressResult compressResult ) {
+    if ( dictionary != null || trainSamples <= 0 ) {
+      return dictionary;
+    }
+    ZstdDictionaryTrainer trainer = compressResult.getDictionaryTrainer(
+        () -> new ZstdDictionaryTrainer( trainSamples , sampleBufferSize , dictionarySize ) );
+    ZstdDictionary trainedDictionary = trainer.addSampleAndGet( data , start , length );
+    if ( trainedDictionary == null ) {
+      return null;
+    }
+    synchronized ( this ) {
+      return dictionaryMap.computeIfAbsent( trainedDictionary.getKey() , key -> trainedDictionary );
+    }
+  }
+
+  @Override
+  public byte[] compress(
+      final byte[] data ,
+      final int start ,
+      final int length ,
+      final CompressResult compressResult ) throws IOException {
+    ByteArrayData output = CompressBuffer.acquire();
+    compress( ByteBuffer.wrap( data , start , length ) , 0 , output , compressResult );
+    byte[] result = Arrays.copyOf( output.getBytes() , output.getLength() );
+    CompressBuffer.release( output );
+    return result;
+  }
+
+  @Override
+  public int compress(
+      final ByteBuffer data ,
+      final int headerLength ,
+      final ByteArrayData output ,
+      final CompressResult compressResult ) throws IOException {
+    if ( ! data.hasArray() ) {
+      return ICompressor.super.compress( data , headerLength , output , compressResult );
+    }
+    int level = ZstdCompressor.getCompressLevel( compressResult.getCompressionPolicy() );
+    int optLevel = compressResult.getCurrentLevel();
+    if ( ( level - optLevel ) < 1 ) {
+      compressResult.setEnd();
+      optLevel = compressResult.getCurrentLevel();
+    }
+    int start = data.arrayOffset() + data.position();
+    int length = data.remaining();
+    ZstdDictionary currentDictionary =
+        getDictionary( data.array() , start , length , compressResult );
+
+    int dataStart = headerLength + HEADER_LENGTH;
+    int maxLength = (int)Zstd.compressBound( length );
+    output.clear();
+    output.setLength( dataStart + maxLength );
+    long compressLength;
+    try {
+      if ( currentDictionary == null ) {
+        compressLength = COMPRESS_CONTEXT.get().setLevel( level - optLevel ).compressByteArray(
+            output.getBytes() , dataStart , maxLength , data.array() , start , length );
+      } else {
+        compressLength = Zstd.compressFastDict(
+            output.getBytes() , dataStart , data.array() , start , length ,
+            currentDictionary.getCompressDictionary( level - optLevel ) );
+      }
+    } catch ( RuntimeException ex ) {
+      throw new IOException( "Failed to compress with zstd." , ex );
+    }
+    if ( Zstd.isError( compressLength ) ) {
+      throw new IOException( "Failed to compress with zstd. "
+          + Zstd.getErrorName( compressLength ) );
+    }
+    if ( currentDictionary != null ) {
+      usedDictionaryMap.get().put( currentDictionary.getKey() , currentDictionary );
+    }
+    ByteBuffer wrapBuffer = ByteBuffer.wrap( output.getBytes() );
+    wrapBuffer.putInt( headerLength , length );
+    wrapBuffer.putLong( headerLength + Integer.BYTES ,
+        currentDictionary == null ? 0 : currentDictionary.getKey() );
+    output.setLength( dataStart + (int)compressLength );
+
+    compressResult.feedBack( length , (int)compressLength );
+
+    return HEADER_LENGTH + (int)compressLength;
+  }
+
+  @Override
+  public int getDecompressSize(
+      final byte[] data , final int start , final int length ) throws IOException {
+    return ByteBuffer.wrap( data , start , length ).getInt();
+  }
+
+  @Override
+  public byte[] decompress(
+      final byte[] data , final int start , final int length ) throws IOException {
+    byte[] retVal = new byte[ getDecompressSize( data , start , length ) ];
+    decompressAndSet( data , start , length , retVal );
+    return retVal;
+  }
+
+  @Override
+  public int decompressAndSet(
+      final byte[] data ,
+      final int start ,
+      final int length ,
+      final byte[] buffer ) throws IOException {
+    ByteBuffer wrapBuffer = ByteBuffer.wrap( data , start , length );
+    int dataLength = wrapBuffer.getInt();
+    long dictionaryKey = wrapBuffer.getLong();
+    ZstdDictionary currentDictionary = null;
+    if ( dictionaryKey != 0 ) {
+      currentDictionary = getDictionary( dictionaryKey );
+      if ( currentDictionary == null ) {
+        throw new IOException( String.format(
+            "The zstd dictionary %016x is not attached to the binary." , dictionaryKey ) );
+      }
+    }
+    long size;
+    try {
+      if ( currentDictionary == null ) {
+        size = DECOMPRESS_CONTEXT.get().decompressByteArray(
+            buffer , 0 , dataLength ,
+            data , start + HEADER_LENGTH , length - HEADER_LENGTH );
+      } else {
+        size = Zstd.decompressFastDict(
+            buffer , 0 , data , start + HEADER_LENGTH , length - HEADER_LENGTH ,
+            currentDictionary.getDecompressDictionary() );
+      }
+    } catch ( RuntimeException ex ) {
+      throw new IOException( "Broken data." , ex );
+    }
+    if ( size != dataLength ) {
+      throw new IOException( "Broken data." );
+    }
+    return dataLength;
+  }
+
+}
@@ -0,0 +1,93 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.co.yahoo.yosegi.compressor;
+
+import com.github.luben.zstd.ZstdDictTrainer;
+import com.github.luben.zstd.ZstdException;
+
+import java.util.Arrays;
+
+/**
+ * Train a zstd dictionary from the first binaries of a column.
+ * The sample buffer is allocated on the first sample and released after the training.
+ * If the training fails, the column is compressed without a dictionary.
+ */
+public class ZstdDictionaryTrainer {
+
+  private final int trainSamples;
+  private final int sampleBufferSize;
+  private final int dictionarySize;
+
+  private ZstdDictTrainer trainer;
+  private int sampleCount;
+  private boolean isEnd;
+  private ZstdDictionary dictionary;
+
+  /**
+   * Set the number of samples used for training and the size limits.
+   */
+  public ZstdDictionaryTrainer(
+      final int trainSamples , final int sampleBufferSize , final int dictionarySize ) {
+    this.trainSamples = trainSamples;
+    this.sampleBufferSize = sampleBufferSize;
+    this.dictionarySize = dictionarySize;
+  }
+
+  /**
+   * Get the trained dictionary.
+   * If the training has not ended, the data is added as a sample and null is returned
+   * until enough samples are collected.
+   * The dictionary is returned from the call that adds the last sample.
+   */
+  public synchronized ZstdDictionary addSampleAndGet(
+      final byte[] data , final int start , final int length ) {
+    if ( isEnd ) {
+      return dictionary;
+    }
+    if ( trainer == null ) {
+      trainer = new ZstdDictTrainer( sampleBufferSize , dictionarySize );
+    }
+    boolean isFull = ! trainer.addSample( Arrays.copyOfRange( data , start , start + length ) );
+    if ( ! isFull ) {
+      sampleCount++;
+    }
+    if ( isFull || trainSamples <= sampleCount ) {
+      train();
+    }
+    return dictionary;
+  }
+
+  private void train() {
+    isEnd = true;
+    try {
+      if ( 0 < sampleCount ) {
+        byte[] binary = trainer.trainSamples();
+        dictionary = new ZstdDictionary( binary , 0 , binary.length );
+      }
+    } catch ( ZstdException ex ) {
+      dictionary = null;
+    }
+    trainer = null;
+  }
+
+  public synchronized boolean isEnd() {
+    return isEnd;
+  }
+
+}
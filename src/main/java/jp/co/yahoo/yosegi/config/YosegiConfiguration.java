@@ -50,6 +50,8 @@ public final class YosegiConfiguration {
       "spread.column.maker.use.auto.optimizer";
   public static final String PROP_COLUMN_MAKER_OPTIMIZER_CLASS =
       "spread.column.maker.use.auto.optimizer.factory.class";
+  public static final String PROP_COLUMN_MAKER_OPTIMIZER_LEGACY_MAKERS =
+      "spread.column.maker.use.auto.optimizer.legacy.makers";
 
   public static final String PROP_COMPRESS_OPTIMIZE_ALLOWED_RATIO =
       "compress.optimize.allowed.ratio";
@@ -104,6 +106,13 @@ public final class YosegiConfiguration {
     }
   }
 
+  /**
+   * Returns true if the auto optimizer selects only the makers that older readers can read.
+   */
+  public static boolean useLegacyMakers( final Configuration config ) {
+    return "true".equals( config.get( PROP_COLUMN_MAKER_OPTIMIZER_LEGACY_MAKERS , "false" ) );
+  }
+
   /**
    * Get auto optimizer factory.
    */
@@ -18,6 +18,7 @@
 
 package jp.co.yahoo.yosegi.inmemory;
 
+import io.netty.buffer.ArrowBuf;
 import jp.co.yahoo.yosegi.message.objects.PrimitiveObject;
 import jp.co.yahoo.yosegi.spread.column.ColumnType;
 
@@ -48,6 +49,39 @@ public class ArrowBooleanMemoryAllocator implements IMemoryAllocator {
     }
   }
 
+  /**
+   * Copy the bitmaps into the validity and data buffers a word at a time.
+   * Arrow bitmaps are little endian, so the words are written as they are.
+   */
+  @Override
+  public void setBooleanWords(
+      final long[] isNotNullWords ,
+      final long[] valueWords ,
+      final int count ) throws IOException {
+    while ( vector.getValueCapacity() < count ) {
+      vector.reAlloc();
+    }
+    copyWords( vector.getValidityBuffer() , isNotNullWords , count );
+    copyWords( vector.getDataBuffer() , valueWords , count );
+  }
+
+  private static void copyWords( final ArrowBuf buffer , final long[] words , final int count ) {
+    int length = ( count + Byte.SIZE - 1 ) / Byte.SIZE;
+    int offset = 0;
+    for ( int i = 0 ; offset < length ; i++ ) {
+      if ( offset + Long.BYTES <= length ) {
+        buffer.setLong( offset , words[i] );
+        offset += Long.BYTES;
+        continue;
+      }
+      long word = words[i];
+      for ( ; offset < length ; offset++ ) {
+        buffer.setByte( offset , (int)( word & 0xFFL ) );
+        word >>>= Byte.SIZE;
+      }
+    }
+  }
+
   @Override
   public void setByte( final int index , final byte value ) throws IOException {
     throw new UnsupportedOperationException( "Unsupported method setByte()" );
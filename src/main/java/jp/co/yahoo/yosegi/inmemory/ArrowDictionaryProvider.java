@@ -0,0 +1,77 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.co.yahoo.yosegi.inmemory;
+
+import org.apache.arrow.vector.dictionary.Dictionary;
+import org.apache.arrow.vector.dictionary.DictionaryProvider;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.DictionaryEncoding;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Hold the dictionaries of the dictionary-encoded Arrow vectors.
+ * A dictionary is replaced each time its column is loaded,
+ * so it is valid until the next batch is read.
+ */
+public class ArrowDictionaryProvider implements DictionaryProvider, AutoCloseable {
+
+  private final Map<Long,Dictionary> dictionaryMap = new HashMap<Long,Dictionary>();
+  private long nextId;
+
+  /**
+   * Create the encoding of a new dictionary with int32 indices.
+   */
+  public DictionaryEncoding createEncoding() {
+    DictionaryEncoding encoding =
+        new DictionaryEncoding( nextId , false , new ArrowType.Int( 32 , true ) );
+    nextId++;
+    return encoding;
+  }
+
+  /**
+   * Set the dictionary and release the previous dictionary of the same id.
+   */
+  public void put( final Dictionary dictionary ) {
+    Dictionary previous = dictionaryMap.put( dictionary.getEncoding().getId() , dictionary );
+    if ( previous != null && previous.getVector() != dictionary.getVector() ) {
+      previous.getVector().close();
+    }
+  }
+
+  @Override
+  public Dictionary lookup( final long id ) {
+    return dictionaryMap.get( id );
+  }
+
+  public Set<Long> getDictionaryIds() {
+    return dictionaryMap.keySet();
+  }
+
+  @Override
+  public void close() {
+    for ( Dictionary dictionary : dictionaryMap.values() ) {
+      dictionary.getVector().close();
+    }
+    dictionaryMap.clear();
+  }
+
+}
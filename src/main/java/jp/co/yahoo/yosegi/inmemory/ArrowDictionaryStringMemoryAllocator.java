@@ -0,0 +1,217 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.co.yahoo.yosegi.inmemory;
+
+import jp.co.yahoo.yosegi.message.objects.IBytesLink;
+import jp.co.yahoo.yosegi.message.objects.PrimitiveObject;
+import jp.co.yahoo.yosegi.spread.column.ColumnType;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.dictionary.Dictionary;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Load a string column into a dictionary-encoded vector.
+ * The dictionaries created by the column binary makers are copied once into
+ * the dictionary vector and the rows only set the int index.
+ * The values set row by row are deduplicated into the same dictionary vector.
+ */
+public class ArrowDictionaryStringMemoryAllocator implements IMemoryAllocator {
+
+  private final IntVector vector;
+  private final VarCharVector dictionaryVector;
+  private final Map<ByteBuffer,Integer> dictionaryIndexMap = new HashMap<ByteBuffer,Integer>();
+  private int dictionarySize;
+
+  private class ArrowStringDictionary implements IDictionary {
+
+    private final int offset;
+
+    ArrowStringDictionary( final int offset ) {
+      this.offset = offset;
+    }
+
+    @Override
+    public void setBytes(
+        final int index ,
+        final byte[] value ,
+        final int start ,
+        final int length ) throws IOException {
+      dictionaryVector.setSafe( offset + index , value , start , length );
+    }
+
+    @Override
+    public void setString( final int index , final String value ) throws IOException {
+      setBytes( index , value.getBytes( StandardCharsets.UTF_8 ) );
+    }
+
+    @Override
+    public void setPrimitiveObject(
+        final int index , final PrimitiveObject value ) throws IOException {
+      if ( value instanceof IBytesLink ) {
+        IBytesLink linkObj = (IBytesLink)value;
+        setBytes( index , linkObj.getLinkBytes() , linkObj.getStart() , linkObj.getLength() );
+      } else if ( value != null ) {
+        setBytes( index , value.getBytes() );
+      }
+    }
+
+  }
+
+  /**
+   * Set the index vector and create the dictionary vector of this batch.
+   */
+  public ArrowDictionaryStringMemoryAllocator(
+      final BufferAllocator allocator ,
+      final IntVector vector ,
+      final ArrowDictionaryProvider dictionaryProvider ) {
+    vector.allocateNew();
+    this.vector = vector;
+    dictionaryVector = new VarCharVector( vector.getField().getName() , allocator );
+    dictionaryVector.allocateNew();
+    dictionaryProvider.put(
+        new Dictionary( dictionaryVector , vector.getField().getDictionary() ) );
+  }
+
+  @Override
+  public void setNull( final int index ) {
+    vector.setNull( index );
+  }
+
+  @Override
+  public void setBytes( final int index , final byte[] value ) throws IOException {
+    setBytes( index , value , 0 , value.length );
+  }
+
+  @Override
+  public void setBytes(
+      final int index ,
+      final byte[] value ,
+      final int start ,
+      final int length ) throws IOException {
+    Integer dicIndex = dictionaryIndexMap.get( ByteBuffer.wrap( value , start , length ) );
+    if ( dicIndex == null ) {
+      dicIndex = Integer.valueOf( dictionarySize );
+      dictionaryVector.setSafe( dictionarySize , value , start , length );
+      dictionaryIndexMap.put(
+          ByteBuffer.wrap( Arrays.copyOfRange( value , start , start + length ) ) , dicIndex );
+      dictionarySize++;
+    }
+    vector.setSafe( index , dicIndex.intValue() );
+  }
+
+  @Override
+  public void setString( final int index , final String value ) throws IOException {
+    setBytes( index , value.getBytes( StandardCharsets.UTF_8 ) );
+  }
+
+  @Override
+  public void setString( final int index , final char[] value ) throws IOException {
+    setString( index , new String( value ) );
+  }
+
+  @Override
+  public void setString(
+      final int index ,
+      final char[] value ,
+      final int start ,
+      final int length ) throws IOException {
+    setString( index , new String( value , start , length ) );
+  }
+
+  @Override
+  public void setPrimitiveObject(
+      final int index , final PrimitiveObject value ) throws IOException {
+    if ( value == null ) {
+      setNull( index );
+    } else {
+      try {
+        if ( value instanceof IBytesLink ) {
+          IBytesLink linkObj = (IBytesLink)value;
+          setBytes( index , linkObj.getLinkBytes() , linkObj.getStart() , linkObj.getLength() );
+        } else {
+          setBytes( index , value.getBytes() );
+        }
+      } catch ( Exception ex ) {
+        setNull( index );
+      }
+    }
+  }
+
+  @Override
+  public IDictionary createDictionary( final int size ) throws IOException {
+    IDictionary dic = new ArrowStringDictionary( dictionarySize );
+    dictionarySize += size;
+    return dic;
+  }
+
+  @Override
+  public void setFromDictionary(
+      final int index ,
+      final int dicIndex ,
+      final IDictionary dic ) throws IOException {
+    if ( dic instanceof ArrowStringDictionary ) {
+      vector.setSafe( index , ( (ArrowStringDictionary)dic ).offset + dicIndex );
+    } else {
+      setPrimitiveObject( index , dic.getPrimitiveObject( dicIndex ) );
+    }
+  }
+
+  @Override
+  public void setRunFromDictionary(
+      final int index ,
+      final int length ,
+      final int dicIndex ,
+      final IDictionary dic ) throws IOException {
+    if ( dic instanceof ArrowStringDictionary ) {
+      int value = ( (ArrowStringDictionary)dic ).offset + dicIndex;
+      for ( int i = index ; i < index + length ; i++ ) {
+        vector.setSafe( i , value );
+      }
+    } else {
+      IMemoryAllocator.super.setRunFromDictionary( index , length , dicIndex , dic );
+    }
+  }
+
+  @Override
+  public void setValueCount( final int count ) throws IOException {
+    vector.setValueCount( count );
+    dictionaryVector.setValueCount( dictionarySize );
+  }
+
+  @Override
+  public int getValueCount() throws IOException {
+    return vector.getValueCount();
+  }
+
+  @Override
+  public IMemoryAllocator getChild(
+      final String columnName , final ColumnType type ) throws IOException {
+    throw new UnsupportedOperationException( "Unsupported method getChild()" );
+  }
+
+}
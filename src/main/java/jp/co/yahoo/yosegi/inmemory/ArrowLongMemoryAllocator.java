@@ -120,6 +120,30 @@ public class ArrowLongMemoryAllocator implements IMemoryAllocator {
     }
   }
 
+  @Override
+  public void setRunFromDictionary(
+      final int index ,
+      final int length ,
+      final int dicIndex ,
+      final IDictionary dic ) throws IOException {
+    PrimitiveObject value = dic.getPrimitiveObject( dicIndex );
+    long longValue;
+    try {
+      longValue = value.getLong();
+    } catch ( Exception ex ) {
+      for ( int i = index ; i < index + length ; i++ ) {
+        setNull( i );
+      }
+      return;
+    }
+    while ( vector.getValueCapacity() < index + length ) {
+      vector.reAlloc();
+    }
+    for ( int i = index ; i < index + length ; i++ ) {
+      vector.set( i , longValue );
+    }
+  }
+
   @Override
   public void setArrayIndex(
       final int index , final int start , final int length ) throws IOException {
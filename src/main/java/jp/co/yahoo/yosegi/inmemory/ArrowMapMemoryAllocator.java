@@ -29,15 +29,29 @@ public class ArrowMapMemoryAllocator implements IMemoryAllocator {
   private final StructVector vector;
   private final BufferAllocator allocator;
   private final int rowCount;
+  private final ArrowDictionaryProvider dictionaryProvider;
 
   /**
    * Set the vector of Map and initialize it.
    */
   public ArrowMapMemoryAllocator(
       final BufferAllocator allocator , final StructVector vector , final int rowCount ) {
+    this( allocator , vector , rowCount , null );
+  }
+
+  /**
+   * Set the vector of Map and initialize it.
+   * If the dictionary provider is set, the string children are dictionary-encoded.
+   */
+  public ArrowMapMemoryAllocator(
+      final BufferAllocator allocator ,
+      final StructVector vector ,
+      final int rowCount ,
+      final ArrowDictionaryProvider dictionaryProvider ) {
     this.allocator = allocator;
     this.vector = vector;
     this.rowCount = rowCount;
+    this.dictionaryProvider = dictionaryProvider;
     vector.allocateNew();
   }
 
@@ -137,7 +151,7 @@ public class ArrowMapMemoryAllocator implements IMemoryAllocator {
   public IMemoryAllocator getChild(
       final String columnName , final ColumnType type ) throws IOException {
     return ArrowMemoryAllocatorFactory.getFromStructVector(
-        type , columnName , allocator , vector , rowCount );
+        type , columnName , allocator , vector , rowCount , dictionaryProvider );
   }
 
 }
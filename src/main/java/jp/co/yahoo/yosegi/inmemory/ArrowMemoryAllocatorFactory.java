@@ -24,6 +24,7 @@ import org.apache.arrow.memory.BufferAllocator;
 import org.apache.arrow.vector.AddOrGetResult;
 import org.apache.arrow.vector.BigIntVector;
 import org.apache.arrow.vector.BitVector;
+import org.apache.arrow.vector.FieldVector;
 import org.apache.arrow.vector.Float4Vector;
 import org.apache.arrow.vector.Float8Vector;
 import org.apache.arrow.vector.IntVector;
@@ -38,6 +39,7 @@ import org.apache.arrow.vector.types.FloatingPointPrecision;
 import org.apache.arrow.vector.types.Types.MinorType;
 import org.apache.arrow.vector.types.pojo.ArrowType;
 import org.apache.arrow.vector.types.pojo.ArrowType.FloatingPoint;
+import org.apache.arrow.vector.types.pojo.DictionaryEncoding;
 import org.apache.arrow.vector.types.pojo.FieldType;
 
 public final class ArrowMemoryAllocatorFactory {
@@ -53,6 +55,20 @@ public final class ArrowMemoryAllocatorFactory {
       final BufferAllocator allocator ,
       final StructVector vector ,
       final int rowCount ) {
+    return getFromStructVector( columnType , columnName , allocator , vector , rowCount , null );
+  }
+
+  /**
+   * Set the vector of Struct and initialize it.
+   * If the dictionary provider is set, string columns are loaded as dictionary-encoded vectors.
+   */
+  public static IMemoryAllocator getFromStructVector(
+      final ColumnType columnType ,
+      final String columnName ,
+      final BufferAllocator allocator ,
+      final StructVector vector ,
+      final int rowCount ,
+      final ArrowDictionaryProvider dictionaryProvider ) {
     switch ( columnType ) {
       case UNION:
         UnionVector unionVector = vector.addOrGetUnion( columnName );
@@ -62,7 +78,7 @@ public final class ArrowMemoryAllocatorFactory {
             allocator , vector.addOrGetList( columnName ) , rowCount );
       case SPREAD:
         StructVector mapVector = vector.addOrGetStruct( columnName );
-        return new ArrowMapMemoryAllocator( allocator , mapVector , rowCount );
+        return new ArrowMapMemoryAllocator( allocator , mapVector , rowCount , dictionaryProvider );
 
       case BOOLEAN:
         BitVector bitVector =  vector.addOrGet(
@@ -123,6 +139,10 @@ public final class ArrowMemoryAllocatorFactory {
             Float8Vector.class );
         return new ArrowDoubleMemoryAllocator( doubleVector , rowCount );
       case STRING:
+        if ( dictionaryProvider != null ) {
+          return getDictionaryFromStructVector(
+              columnName , allocator , vector , dictionaryProvider );
+        }
         VarCharVector charVector = vector.addOrGet(
             columnName ,
             new FieldType( true , ArrowType.Utf8.INSTANCE , null , null ) ,
@@ -143,6 +163,27 @@ public final class ArrowMemoryAllocatorFactory {
     }
   }
 
+  private static IMemoryAllocator getDictionaryFromStructVector(
+      final String columnName ,
+      final BufferAllocator allocator ,
+      final StructVector vector ,
+      final ArrowDictionaryProvider dictionaryProvider ) {
+    FieldVector currentVector = vector.getChild( columnName , FieldVector.class );
+    DictionaryEncoding encoding = null;
+    if ( currentVector instanceof IntVector ) {
+      encoding = currentVector.getField().getDictionary();
+    }
+    if ( encoding == null ) {
+      encoding = dictionaryProvider.createEncoding();
+    }
+    IntVector indexVector = vector.addOrGet(
+        columnName ,
+        new FieldType( true , encoding.getIndexType() , encoding , null ) ,
+        IntVector.class );
+    return new ArrowDictionaryStringMemoryAllocator(
+        allocator , indexVector , dictionaryProvider );
+  }
+
   /**
    * Set the vector of List and initialize it.
    */
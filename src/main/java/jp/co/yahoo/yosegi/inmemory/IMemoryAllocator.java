@@ -32,6 +32,24 @@ public interface IMemoryAllocator {
     throw new UnsupportedOperationException( "Unsupported method setBoolean()" );
   }
 
+  /**
+   * Set booleans from long word bitmaps, where bit i of word i / 64 is row i.
+   * Rows whose not null bit is clear are set to null.
+   */
+  default void setBooleanWords(
+      final long[] isNotNullWords ,
+      final long[] valueWords ,
+      final int count ) throws IOException {
+    for ( int i = 0 ; i < count ; i++ ) {
+      long mask = 1L << i;
+      if ( ( isNotNullWords[ i >>> 6 ] & mask ) == 0 ) {
+        setNull( i );
+      } else {
+        setBoolean( i , ( valueWords[ i >>> 6 ] & mask ) != 0 );
+      }
+    }
+  }
+
   default void setByte( final int index , final byte value ) throws IOException {
     throw new UnsupportedOperationException( "Unsupported method setByte()" );
   }
@@ -125,6 +143,19 @@ public interface IMemoryAllocator {
     setPrimitiveObject( index , dic.getPrimitiveObject( dicIndex ) );
   }
 
+  /**
+   * Set the same dictionary value to length rows from index.
+   */
+  default void setRunFromDictionary(
+      final int index ,
+      final int length ,
+      final int dicIndex ,
+      final IDictionary dic ) throws IOException {
+    for ( int i = index ; i < index + length ; i++ ) {
+      setFromDictionary( i , dicIndex , dic );
+    }
+  }
+
   /**
    * This interface is used by Row Type to determine if a child column needs to be loaded.
    * In the load process of Row Type, load can be skipped
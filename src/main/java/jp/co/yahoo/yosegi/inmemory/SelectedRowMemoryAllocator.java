@@ -0,0 +1,222 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.co.yahoo.yosegi.inmemory;
+
+import jp.co.yahoo.yosegi.message.objects.PrimitiveObject;
+import jp.co.yahoo.yosegi.spread.column.ColumnType;
+import jp.co.yahoo.yosegi.spread.expression.SelectionBitmap;
+
+import java.io.IOException;
+
+/**
+ * Pass only the selected rows of a primitive column to the allocator.
+ * The selected rows are renumbered from 0 in row order, so the loaded vector is compacted.
+ */
+public class SelectedRowMemoryAllocator implements IMemoryAllocator {
+
+  private final IMemoryAllocator allocator;
+  private final SelectionBitmap bitmap;
+  private final int[] rankArray;
+
+  /**
+   * Set the allocator of the compacted rows and the selected rows.
+   */
+  public SelectedRowMemoryAllocator(
+      final IMemoryAllocator allocator , final SelectionBitmap bitmap ) {
+    this.allocator = allocator;
+    this.bitmap = bitmap;
+    rankArray = new int[ bitmap.size() + 1 ];
+    for ( int i = 0 ; i < bitmap.size() ; i++ ) {
+      rankArray[ i + 1 ] = bitmap.get( i ) ? rankArray[i] + 1 : rankArray[i];
+    }
+  }
+
+  private int toRank( final int index ) {
+    if ( index < 0 ) {
+      return 0;
+    }
+    return rankArray[ Math.min( index , bitmap.size() ) ];
+  }
+
+  private boolean isSelected( final int index ) {
+    return 0 <= index && index < bitmap.size() && bitmap.get( index );
+  }
+
+  @Override
+  public void setNull( final int index ) {
+    if ( isSelected( index ) ) {
+      allocator.setNull( rankArray[index] );
+    }
+  }
+
+  @Override
+  public void setBoolean( final int index , final boolean value ) throws IOException {
+    if ( isSelected( index ) ) {
+      allocator.setBoolean( rankArray[index] , value );
+    }
+  }
+
+  @Override
+  public void setByte( final int index , final byte value ) throws IOException {
+    if ( isSelected( index ) ) {
+      allocator.setByte( rankArray[index] , value );
+    }
+  }
+
+  @Override
+  public void setShort( final int index , final short value ) throws IOException {
+    if ( isSelected( index ) ) {
+      allocator.setShort( rankArray[index] , value );
+    }
+  }
+
+  @Override
+  public void setInteger( final int index , final int value ) throws IOException {
+    if ( isSelected( index ) ) {
+      allocator.setInteger( rankArray[index] , value );
+    }
+  }
+
+  @Override
+  public void setLong( final int index , final long value ) throws IOException {
+    if ( isSelected( index ) ) {
+      allocator.setLong( rankArray[index] , value );
+    }
+  }
+
+  @Override
+  public void setFloat( final int index , final float value ) throws IOException {
+    if ( isSelected( index ) ) {
+      allocator.setFloat( rankArray[index] , value );
+    }
+  }
+
+  @Override
+  public void setDouble( final int index , final double value ) throws IOException {
+    if ( isSelected( index ) ) {
+      allocator.setDouble( rankArray[index] , value );
+    }
+  }
+
+  @Override
+  public void setBytes(
+      final int index ,
+      final byte[] value ,
+      final int start ,
+      final int length ) throws IOException {
+    if ( isSelected( index ) ) {
+      allocator.setBytes( rankArray[index] , value , start , length );
+    }
+  }
+
+  @Override
+  public void setString( final int index , final String value ) throws IOException {
+    if ( isSelected( index ) ) {
+      allocator.setString( rankArray[index] , value );
+    }
+  }
+
+  @Override
+  public void setString( final int index , final char[] value ) throws IOException {
+    if ( isSelected( index ) ) {
+      allocator.setString( rankArray[index] , value );
+    }
+  }
+
+  @Override
+  public void setString(
+      final int index ,
+      final char[] value ,
+      final int start ,
+      final int length ) throws IOException {
+    if ( isSelected( index ) ) {
+      allocator.setString( rankArray[index] , value , start , length );
+    }
+  }
+
+  @Override
+  public void setPrimitiveObject(
+      final int index , final PrimitiveObject value ) throws IOException {
+    if ( isSelected( index ) ) {
+      allocator.setPrimitiveObject( rankArray[index] , value );
+    }
+  }
+
+  @Override
+  public IDictionary createDictionary( final int size ) throws IOException {
+    return allocator.createDictionary( size );
+  }
+
+  @Override
+  public void setFromDictionary(
+      final int index ,
+      final int dicIndex ,
+      final IDictionary dic ) throws IOException {
+    if ( isSelected( index ) ) {
+      allocator.setFromDictionary( rankArray[index] , dicIndex , dic );
+    }
+  }
+
+  @Override
+  public void setRunFromDictionary(
+      final int index ,
+      final int length ,
+      final int dicIndex ,
+      final IDictionary dic ) throws IOException {
+    int start = toRank( index );
+    int end = toRank( index + length );
+    if ( start < end ) {
+      allocator.setRunFromDictionary( start , end - start , dicIndex , dic );
+    }
+  }
+
+  @Override
+  public void setValueCount( final int count ) throws IOException {
+    allocator.setValueCount( toRank( count ) );
+  }
+
+  @Override
+  public int getValueCount() throws IOException {
+    return allocator.getValueCount();
+  }
+
+  @Override
+  public boolean isLoadingSkipped() {
+    return allocator.isLoadingSkipped();
+  }
+
+  @Override
+  public void setArrayIndex(
+      final int index , final int start , final int length ) throws IOException {
+    throw new UnsupportedOperationException( "Unsupported method setArrayIndex()" );
+  }
+
+  @Override
+  public IMemoryAllocator getChild(
+      final String columnName , final ColumnType type ) throws IOException {
+    throw new UnsupportedOperationException( "Unsupported method getChild()" );
+  }
+
+  @Override
+  public IMemoryAllocator getArrayChild(
+      final int childLength , final ColumnType type ) throws IOException {
+    throw new UnsupportedOperationException( "Unsupported method getArrayChild()" );
+  }
+
+}
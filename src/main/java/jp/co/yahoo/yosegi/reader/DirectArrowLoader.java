@@ -23,7 +23,12 @@ import jp.co.yahoo.yosegi.binary.FindColumnBinaryMaker;
 import jp.co.yahoo.yosegi.binary.maker.IColumnBinaryMaker;
 import jp.co.yahoo.yosegi.blockindex.BlockIndexNode;
 import jp.co.yahoo.yosegi.inmemory.IMemoryAllocator;
+import jp.co.yahoo.yosegi.inmemory.SelectedRowMemoryAllocator;
+import jp.co.yahoo.yosegi.spread.Spread;
+import jp.co.yahoo.yosegi.spread.expression.FilterdExpressionIndex;
+import jp.co.yahoo.yosegi.spread.expression.IExpressionIndex;
 import jp.co.yahoo.yosegi.spread.expression.IExpressionNode;
+import jp.co.yahoo.yosegi.spread.expression.SelectionBitmap;
 
 import org.apache.arrow.memory.BufferAllocator;
 import org.apache.arrow.vector.SchemaChangeCallBack;
@@ -41,6 +46,7 @@ public class DirectArrowLoader implements IArrowLoader {
   private final YosegiReader reader;
   private final BufferAllocator allocator;
   private final IRootMemoryAllocator rootMemoryAllocator;
+  private final boolean lateMaterialization;
 
   private IExpressionNode node;
 
@@ -51,6 +57,20 @@ public class DirectArrowLoader implements IArrowLoader {
       final IRootMemoryAllocator rootMemoryAllocator ,
       final YosegiReader reader ,
       final BufferAllocator allocator ) {
+    this( rootMemoryAllocator , reader , allocator , false );
+  }
+
+  /**
+   * FileReader and Arrow memory allocators are set and initialized.
+   * If lateMaterialization is true, the node is applied to the rows
+   * and only the selected rows are loaded.
+   */
+  public DirectArrowLoader(
+      final IRootMemoryAllocator rootMemoryAllocator ,
+      final YosegiReader reader ,
+      final BufferAllocator allocator ,
+      final boolean lateMaterialization ) {
+    this.lateMaterialization = lateMaterialization;
     this.reader = reader;
     this.allocator = allocator;
     this.rootMemoryAllocator = rootMemoryAllocator;
@@ -91,6 +111,13 @@ public class DirectArrowLoader implements IArrowLoader {
     }
 
     int spreadSize = reader.getCurrentSpreadSize();
+    if ( node != null && lateMaterialization ) {
+      SelectionBitmap bitmap = filter( columnBinaryList , spreadSize );
+      if ( bitmap != null && ! bitmap.isAll() ) {
+        loadSelectedRows( columnBinaryList , bitmap , memoryAllocator );
+        return rootVector;
+      }
+    }
     memoryAllocator.setValueCount( spreadSize );
     for ( ColumnBinary columnBinary : columnBinaryList ) {
       IColumnBinaryMaker maker = FindColumnBinaryMaker.get( columnBinary.makerClassName );
@@ -102,6 +129,65 @@ public class DirectArrowLoader implements IArrowLoader {
     return rootVector;
   }
 
+  /**
+   * Apply the node to the lazy columns, so only the columns of the filter are decoded.
+   * Null means that all rows are selected.
+   */
+  private SelectionBitmap filter(
+      final List<ColumnBinary> columnBinaryList , final int spreadSize ) throws IOException {
+    Spread spread = new Spread();
+    for ( ColumnBinary columnBinary : columnBinaryList ) {
+      IColumnBinaryMaker maker = FindColumnBinaryMaker.get( columnBinary.makerClassName );
+      spread.addColumn( maker.toColumn( columnBinary ) );
+    }
+    spread.setRowCount( spreadSize );
+    return node.execBitmap( spread );
+  }
+
+  /**
+   * Load the selected rows into compacted vectors.
+   * Primitive columns are loaded from the binary skipping the other rows,
+   * and nested columns are copied through the column by the row indexes.
+   */
+  private void loadSelectedRows(
+      final List<ColumnBinary> columnBinaryList ,
+      final SelectionBitmap bitmap ,
+      final IMemoryAllocator memoryAllocator ) throws IOException {
+    int selectedSize = bitmap.cardinality();
+    memoryAllocator.setValueCount( selectedSize );
+    if ( selectedSize == 0 ) {
+      return;
+    }
+    IExpressionIndex index = null;
+    for ( ColumnBinary columnBinary : columnBinaryList ) {
+      IColumnBinaryMaker maker = FindColumnBinaryMaker.get( columnBinary.makerClassName );
+      IMemoryAllocator childMemoryAllocator =
+          memoryAllocator.getChild( columnBinary.columnName , columnBinary.columnType );
+      switch ( columnBinary.columnType ) {
+        case BOOLEAN:
+        case BYTE:
+        case SHORT:
+        case INTEGER:
+        case LONG:
+        case FLOAT:
+        case DOUBLE:
+        case STRING:
+        case BYTES:
+          maker.loadInMemoryStorage(
+              columnBinary , new SelectedRowMemoryAllocator( childMemoryAllocator , bitmap ) );
+          break;
+        default:
+          if ( index == null ) {
+            index = new FilterdExpressionIndex( bitmap );
+          }
+          maker.toColumn( columnBinary ).setPrimitiveObjectArray(
+              index , 0 , selectedSize , childMemoryAllocator );
+          break;
+      }
+      childMemoryAllocator.setValueCount( selectedSize );
+    }
+  }
+
   @Override
   public void close() throws IOException {
     rootVector.clear();
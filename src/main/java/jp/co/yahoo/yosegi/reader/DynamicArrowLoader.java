@@ -77,7 +77,7 @@ public class DynamicArrowLoader implements IArrowLoader {
         rootMemoryAllocator.create( allocator , rootVector , spread.size() );
     IExpressionIndex index = new AllExpressionIndex( spread.size() );
     if ( node != null ) {
-      index = IndexFactory.toExpressionIndex( spread , node.exec( spread ) );
+      index = IndexFactory.toExpressionIndex( spread , node.execBitmap( spread ) );
       if ( index.size() == 0 ) {
         memoryAllocator.setValueCount( 0 );
         return rootVector;
@@ -18,6 +18,7 @@
 
 package jp.co.yahoo.yosegi.reader;
 
+import jp.co.yahoo.yosegi.inmemory.ArrowDictionaryProvider;
 import jp.co.yahoo.yosegi.inmemory.ArrowMapMemoryAllocator;
 import jp.co.yahoo.yosegi.inmemory.IMemoryAllocator;
 
@@ -28,12 +29,25 @@ import java.io.IOException;
 
 public class DynamicSchemaRootMemoryAllocator implements IRootMemoryAllocator {
 
+  private final ArrowDictionaryProvider dictionaryProvider;
+
+  public DynamicSchemaRootMemoryAllocator() {
+    this( null );
+  }
+
+  /**
+   * If the dictionary provider is set, string columns are loaded as dictionary-encoded vectors.
+   */
+  public DynamicSchemaRootMemoryAllocator( final ArrowDictionaryProvider dictionaryProvider ) {
+    this.dictionaryProvider = dictionaryProvider;
+  }
+
   @Override
   public IMemoryAllocator create(
       final BufferAllocator allocator ,
       final StructVector rootVector ,
       final int rowCount ) throws IOException {
-    return new ArrowMapMemoryAllocator( allocator , rootVector , rowCount );
+    return new ArrowMapMemoryAllocator( allocator , rootVector , rowCount , dictionaryProvider );
   }
  
 }
@@ -19,6 +19,7 @@
 package jp.co.yahoo.yosegi.reader;
 
 import jp.co.yahoo.yosegi.config.Configuration;
+import jp.co.yahoo.yosegi.inmemory.ArrowDictionaryProvider;
 import jp.co.yahoo.yosegi.message.design.StructContainerField;
 import jp.co.yahoo.yosegi.spread.expression.IExpressionNode;
 
@@ -27,6 +28,7 @@ import org.apache.arrow.memory.RootAllocator;
 import org.apache.arrow.vector.FieldVector;
 import org.apache.arrow.vector.ValueVector;
 import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.dictionary.DictionaryProvider;
 import org.apache.arrow.vector.ipc.ArrowFileWriter;
 
 import java.io.ByteArrayOutputStream;
@@ -39,6 +41,7 @@ import java.nio.channels.Channels;
 public class YosegiArrowReader {
 
   private final IArrowLoader arrowLoader;
+  private final ArrowDictionaryProvider dictionaryProvider;
 
   /**
    * Create new instance.
@@ -84,16 +87,26 @@ public class YosegiArrowReader {
 
   /**
    * Initialize without schema definition.
+   * If "spread.reader.arrow.dictionary" is true,
+   * string columns are read as dictionary-encoded vectors.
+   * If "spread.reader.arrow.late.materialization" is true,
+   * the node is applied to the rows and only the selected rows are loaded.
    */
   public YosegiArrowReader(
       final YosegiReader reader , final Configuration config ) throws IOException {
-    IRootMemoryAllocator rootAllocator = new DynamicSchemaRootMemoryAllocator();
+    if ( "true".equals( config.get( "spread.reader.arrow.dictionary" , "false" ) ) ) {
+      dictionaryProvider = new ArrowDictionaryProvider();
+    } else {
+      dictionaryProvider = null;
+    }
+    IRootMemoryAllocator rootAllocator = new DynamicSchemaRootMemoryAllocator( dictionaryProvider );
     BufferAllocator allocator = new RootAllocator( Integer.MAX_VALUE );
     if ( config.containsKey( "spread.reader.expand.column" )
         || config.containsKey( "spread.reader.flatten.column" ) ) {
       arrowLoader = new DynamicArrowLoader( rootAllocator , reader , allocator );
     } else {
-      arrowLoader = new DirectArrowLoader( rootAllocator , reader , allocator );
+      arrowLoader = new DirectArrowLoader( rootAllocator , reader , allocator ,
+          "true".equals( config.get( "spread.reader.arrow.late.materialization" , "false" ) ) );
     }
   }
 
@@ -104,13 +117,15 @@ public class YosegiArrowReader {
       final StructContainerField schema ,
       final YosegiReader reader ,
       final Configuration config ) throws IOException {
+    dictionaryProvider = null;
     IRootMemoryAllocator rootAllocator = new FixedSchemaRootMemoryAllocator( schema );
     BufferAllocator allocator = new RootAllocator( Integer.MAX_VALUE );
     if ( config.containsKey( "spread.reader.expand.column" )
         || config.containsKey( "spread.reader.flatten.column" ) ) {
       arrowLoader = new DynamicArrowLoader( rootAllocator , reader , allocator );
     } else {
-      arrowLoader = new DirectArrowLoader( rootAllocator , reader , allocator );
+      arrowLoader = new DirectArrowLoader( rootAllocator , reader , allocator ,
+          "true".equals( config.get( "spread.reader.arrow.late.materialization" , "false" ) ) );
     }
   }
 
@@ -126,6 +141,14 @@ public class YosegiArrowReader {
     return arrowLoader.next();
   }
 
+  /**
+   * Get the dictionaries of the dictionary-encoded vectors of the last batch.
+   * Returns null if the dictionary encoding is not enabled.
+   */
+  public DictionaryProvider getDictionaryProvider() {
+    return dictionaryProvider;
+  }
+
   /**
    * Read next.
    */
@@ -139,7 +162,8 @@ public class YosegiArrowReader {
   public byte[] nextToBytes() throws IOException {
     ByteArrayOutputStream out = new ByteArrayOutputStream();
     VectorSchemaRoot schemaRoot = nextToSchemaRoot();
-    ArrowFileWriter writer = new ArrowFileWriter( schemaRoot, null, Channels.newChannel( out ) );
+    ArrowFileWriter writer = new ArrowFileWriter(
+        schemaRoot , dictionaryProvider , Channels.newChannel( out ) );
     writer.start();
     writer.writeBatch();
     writer.end();
@@ -147,8 +171,14 @@ public class YosegiArrowReader {
     return out.toByteArray();
   }
 
+  /**
+   * Close the loader and release the dictionaries.
+   */
   public void close() throws IOException {
     arrowLoader.close();
+    if ( dictionaryProvider != null ) {
+      dictionaryProvider.close();
+    }
   }
 
 }
@@ -30,27 +30,50 @@ import jp.co.yahoo.yosegi.util.io.InputStreamUtils;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
 import java.nio.ByteBuffer;
 import java.nio.CharBuffer;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 public class YosegiReader implements AutoCloseable {
 
   private static final byte[] MAGIC = new byte[]{'$','C','L','M'};
+  private static final long PREFETCH_SHUTDOWN_TIMEOUT_SECONDS = 60;
 
   private final Map<String,IBlockReader> blockReaderMap = new HashMap<String,IBlockReader>();
   private final List<ReadBlockOffset> readTargetList = new ArrayList<ReadBlockOffset>();
+  private final Deque<PrefetchBlock> prefetchBlockList = new ArrayDeque<PrefetchBlock>();
+  private final SummaryStats prefetchReadStats = new SummaryStats();
   private IBlockReader currentBlockReader;
+  private IBlockReader templateBlockReader;
   private IExpressionNode blockSkipIndex;
+  private boolean isCurrentBlockSet;
+  private int finishedBlockReadCount;
+  private int finishedBlockCount;
+  private long finishedReadBytes;
 
   private InputStream in;
   private int blockSize;
   private long inReadOffset;
 
+  private Configuration readerConfig;
+  private String blockReaderClassName;
+  private int prefetchBlocks;
+  private ExecutorService blockReadExecutor;
+  private ExecutorService blockDecodeExecutor;
+  private boolean isPrefetchDecode;
+
   private class FileHeaderMeta {
     public final int blockSize;
     public final int headerSize;
@@ -73,6 +96,16 @@ public class YosegiReader implements AutoCloseable {
     }
   }
 
+  private class PrefetchBlock {
+    public final Future<IBlockReader> readFuture;
+    public final Future<?> decodeFuture;
+
+    public PrefetchBlock( final Future<IBlockReader> readFuture , final Future<?> decodeFuture ) {
+      this.readFuture = readFuture;
+      this.decodeFuture = decodeFuture;
+    }
+  }
+
   private FileHeaderMeta readFileHeader( final InputStream in ) throws IOException {
     byte[] magic = new byte[MAGIC.length];
     InputStreamUtils.read( in , magic , 0 , MAGIC.length );
@@ -123,8 +156,16 @@ public class YosegiReader implements AutoCloseable {
       final Configuration config ,
       final long start ,
       final long length ) throws IOException {
+    cancelPrefetch();
     inReadOffset = 0;
     readTargetList.clear();
+    if ( currentBlockReader != templateBlockReader ) {
+      currentBlockReader.close();
+    }
+    isCurrentBlockSet = false;
+    finishedBlockReadCount = 0;
+    finishedBlockCount = 0;
+    finishedReadBytes = 0;
 
     this.in = in;
 
@@ -139,6 +180,9 @@ public class YosegiReader implements AutoCloseable {
     currentBlockReader = blockReaderMap.get( meta.className );
     currentBlockReader.setup( config );
     currentBlockReader.setBlockSkipIndex( blockSkipIndex );
+    templateBlockReader = currentBlockReader;
+    readerConfig = config;
+    blockReaderClassName = meta.className;
 
     blockSize = meta.blockSize;
 
@@ -157,9 +201,146 @@ public class YosegiReader implements AutoCloseable {
       return;
     }
     currentBlockReader.setBlockSize( blockSize );
+    setupPrefetch( config );
     setNextBlock();
   }
 
+  /**
+   * Start reading ahead the blocks if "spread.reader.block.prefetch" is set.
+   * The blocks are set to their own block readers in order on one thread,
+   * so only the projected columns are read and adjacent ranges are read together
+   * in the same way as without read-ahead.
+   * If "spread.reader.block.prefetch.decode" is true, the Spreads of the blocks are also
+   * built and decompressed on "spread.reader.block.prefetch.threads" threads,
+   * so that next() only returns them. nextRaw() does not use the decoded Spreads.
+   */
+  private void setupPrefetch( final Configuration config ) {
+    prefetchBlocks = config.getInt( "spread.reader.block.prefetch" , 0 );
+    if ( prefetchBlocks <= 0 ) {
+      return;
+    }
+    if ( blockReadExecutor == null ) {
+      blockReadExecutor = Executors.newSingleThreadExecutor(
+          runnable -> createThread( runnable , "yosegi-block-read" ) );
+    }
+    isPrefetchDecode =
+        "true".equals( config.get( "spread.reader.block.prefetch.decode" , "false" ) );
+    if ( isPrefetchDecode && blockDecodeExecutor == null ) {
+      int decodeThreads =
+          Math.max( config.getInt( "spread.reader.block.prefetch.threads" , 1 ) , 1 );
+      blockDecodeExecutor = Executors.newFixedThreadPool(
+          decodeThreads , runnable -> createThread( runnable , "yosegi-block-decode" ) );
+    }
+    while ( prefetchBlockList.size() < prefetchBlocks && prefetchNextBlock() ) {
+      // Fill up the read-ahead queue.
+    }
+  }
+
+  private static Thread createThread( final Runnable runnable , final String name ) {
+    Thread thread = new Thread( runnable , name );
+    thread.setDaemon( true );
+    return thread;
+  }
+
+  private boolean prefetchNextBlock() {
+    if ( readTargetList.isEmpty() ) {
+      return false;
+    }
+    final ReadBlockOffset readOffset = readTargetList.remove(0);
+    final InputStream blockStream = in;
+    final long skipLength = readOffset.start - inReadOffset;
+    inReadOffset += Math.max( skipLength , 0 ) + readOffset.length;
+    final Future<IBlockReader> readFuture = blockReadExecutor.submit( () -> {
+      IBlockReader blockReader = (IBlockReader)( FindClass.getObject(
+          blockReaderClassName , true , this.getClass().getClassLoader() ) );
+      blockReader.setup( readerConfig );
+      blockReader.setBlockSkipIndex( blockSkipIndex );
+      blockReader.setBlockSize( blockSize );
+      try {
+        InputStreamUtils.skip( blockStream , skipLength );
+        blockReader.setStream( blockStream , readOffset.length );
+      } catch ( IOException | RuntimeException ex ) {
+        blockReader.close();
+        throw ex;
+      }
+      return blockReader;
+    } );
+    Future<?> decodeFuture = null;
+    if ( isPrefetchDecode ) {
+      decodeFuture = blockDecodeExecutor.submit( () -> {
+        readFuture.get().loadSpreads();
+        return null;
+      } );
+    }
+    prefetchBlockList.addLast( new PrefetchBlock( readFuture , decodeFuture ) );
+    return true;
+  }
+
+  /**
+   * Get the block reader read ahead.
+   * If it fails, the block stays in the queue and its reader is closed by cancelPrefetch().
+   */
+  private IBlockReader getPrefetchBlock( final PrefetchBlock prefetchBlock ) throws IOException {
+    IBlockReader blockReader = getFuture( prefetchBlock.readFuture );
+    if ( prefetchBlock.decodeFuture != null ) {
+      getFuture( prefetchBlock.decodeFuture );
+    }
+    return blockReader;
+  }
+
+  private static <T> T getFuture( final Future<T> future ) throws IOException {
+    try {
+      return future.get();
+    } catch ( InterruptedException ex ) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException( "Interrupted while reading ahead the block." );
+    } catch ( ExecutionException ex ) {
+      Throwable cause = ex.getCause();
+      if ( cause instanceof IOException ) {
+        throw (IOException)cause;
+      }
+      throw new IOException( cause );
+    }
+  }
+
+  /**
+   * Cancel the blocks read ahead that have not started.
+   * The started ones are waited for, and their block readers are closed.
+   */
+  private void cancelPrefetch() {
+    for ( PrefetchBlock prefetchBlock : prefetchBlockList ) {
+      if ( prefetchBlock.decodeFuture != null && ! prefetchBlock.decodeFuture.cancel( false ) ) {
+        try {
+          getFuture( prefetchBlock.decodeFuture );
+        } catch ( IOException ex ) {
+          // The block reader is closed below.
+        }
+      }
+      if ( prefetchBlock.readFuture.cancel( false ) ) {
+        continue;
+      }
+      try {
+        getFuture( prefetchBlock.readFuture ).close();
+      } catch ( IOException ex ) {
+        // The block reader was closed when the read failed.
+      }
+    }
+    prefetchBlockList.clear();
+    prefetchReadStats.clear();
+  }
+
+  /**
+   * Add the counts of the current block to the totals of this stream.
+   */
+  private void finishCurrentBlock() {
+    if ( isCurrentBlockSet ) {
+      finishedBlockReadCount += currentBlockReader.getBlockReadCount();
+      finishedBlockCount += currentBlockReader.getBlockCount();
+      finishedReadBytes += currentBlockReader.getReadBytes();
+    }
+    isCurrentBlockSet = false;
+  }
+
   /**
    * It is judged whether there is the next Spread.
    */
@@ -168,18 +349,43 @@ public class YosegiReader implements AutoCloseable {
   }
 
   private boolean setNextBlock() throws IOException {
+    if ( 0 < prefetchBlocks ) {
+      return setNextPrefetchBlock();
+    }
     while ( ! currentBlockReader.hasNext() ) {
       if ( readTargetList.isEmpty() ) {
         return false;
       }
       ReadBlockOffset readOffset = readTargetList.remove(0);
+      finishCurrentBlock();
       inReadOffset += InputStreamUtils.skip( in , readOffset.start - inReadOffset );
       currentBlockReader.setStream( in , readOffset.length );
+      isCurrentBlockSet = true;
       inReadOffset += readOffset.length;
     }
     return true;
   }
 
+  private boolean setNextPrefetchBlock() throws IOException {
+    while ( currentBlockReader == templateBlockReader || ! currentBlockReader.hasNext() ) {
+      if ( prefetchBlockList.isEmpty() ) {
+        return false;
+      }
+      PrefetchBlock prefetchBlock = prefetchBlockList.peekFirst();
+      prefetchNextBlock();
+      final IBlockReader nextBlockReader = getPrefetchBlock( prefetchBlock );
+      prefetchBlockList.removeFirst();
+      finishCurrentBlock();
+      if ( currentBlockReader != templateBlockReader ) {
+        prefetchReadStats.merge( currentBlockReader.getReadStats() );
+        currentBlockReader.close();
+      }
+      currentBlockReader = nextBlockReader;
+      isCurrentBlockSet = true;
+    }
+    return true;
+  }
+
   /**
    * Get the next Spread as a Spread.
    */
@@ -200,12 +406,24 @@ public class YosegiReader implements AutoCloseable {
     return currentBlockReader.nextRaw();
   }
 
+  /**
+   * Get the number of Spreads read from the blocks of this stream so far.
+   */
   public int getBlockReadCount() {
-    return currentBlockReader.getBlockReadCount();
+    if ( ! isCurrentBlockSet ) {
+      return finishedBlockReadCount;
+    }
+    return finishedBlockReadCount + currentBlockReader.getBlockReadCount();
   }
 
+  /**
+   * Get the number of Spreads in the blocks of this stream set so far.
+   */
   public int getBlockCount() {
-    return currentBlockReader.getBlockCount();
+    if ( ! isCurrentBlockSet ) {
+      return finishedBlockCount;
+    }
+    return finishedBlockCount + currentBlockReader.getBlockCount();
   }
 
   public long getReadPos() {
@@ -216,24 +434,71 @@ public class YosegiReader implements AutoCloseable {
     return currentBlockReader.getCurrentSpreadSize();
   }
 
+  /**
+   * Get the keys by which the rows of each Spread in the current block are sorted.
+   */
+  public List<String> getSortKeys() {
+    return currentBlockReader.getSortKeys();
+  }
+
+  /**
+   * Get the statistics of the read columns.
+   */
   public SummaryStats getReadStats() {
-    return currentBlockReader.getReadStats();
+    if ( currentBlockReader == templateBlockReader ) {
+      return currentBlockReader.getReadStats();
+    }
+    SummaryStats stats = new SummaryStats();
+    stats.merge( prefetchReadStats );
+    stats.merge( currentBlockReader.getReadStats() );
+    return stats;
   }
 
+  /**
+   * Get the bytes read from the blocks of this stream so far.
+   */
   public long getReadBytes() {
-    return currentBlockReader.getReadBytes();
+    if ( ! isCurrentBlockSet ) {
+      return finishedReadBytes;
+    }
+    return finishedReadBytes + currentBlockReader.getReadBytes();
   }
 
   /**
    * Close InputStream and reset internal data.
+   * The read-ahead thread is stopped before the InputStream is closed,
+   * so that the InputStream is not read after it is closed.
    */
   public void close() throws IOException {
+    cancelPrefetch();
+    if ( blockReadExecutor != null ) {
+      blockReadExecutor.shutdownNow();
+      try {
+        if ( ! blockReadExecutor.awaitTermination(
+            PREFETCH_SHUTDOWN_TIMEOUT_SECONDS , TimeUnit.SECONDS ) ) {
+          throw new IOException( "The block read thread did not stop." );
+        }
+      } catch ( InterruptedException ex ) {
+        Thread.currentThread().interrupt();
+        throw new InterruptedIOException( "Interrupted while stopping the block read thread." );
+      }
+      blockReadExecutor = null;
+    }
+    if ( blockDecodeExecutor != null ) {
+      blockDecodeExecutor.shutdownNow();
+      blockDecodeExecutor = null;
+    }
     if ( in != null ) {
       in.close();
       in = null;
     }
     inReadOffset = 0;
     readTargetList.clear();
+    isCurrentBlockSet = false;
+    if ( currentBlockReader != templateBlockReader ) {
+      currentBlockReader.close();
+      currentBlockReader = templateBlockReader;
+    }
     currentBlockReader.close();
   }
 
@@ -21,10 +21,10 @@ package jp.co.yahoo.yosegi.reader;
 import jp.co.yahoo.yosegi.config.Configuration;
 import jp.co.yahoo.yosegi.message.parser.IParser;
 import jp.co.yahoo.yosegi.message.parser.IStreamReader;
+import jp.co.yahoo.yosegi.util.io.FileChannelInputStream;
 
 import java.io.Closeable;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 
@@ -37,7 +37,7 @@ public class YosegiSchemaFileReader implements Closeable,IStreamReader {
    */
   public YosegiSchemaFileReader( final File file, final Configuration config) throws IOException {
     reader = new YosegiSchemaReader();
-    InputStream in = new FileInputStream(file);
+    InputStream in = FileChannelInputStream.open( file );
     reader.setNewStream(in, file.length(), config);
   }
 
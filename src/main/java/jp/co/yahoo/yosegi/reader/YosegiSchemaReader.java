@@ -83,7 +83,8 @@ public class YosegiSchemaReader implements IStreamReader {
     if ( currentSpread.size() == 0 ) {
       return nextReader();
     }
-    currentIndexList = IndexFactory.toExpressionIndex( currentSpread , node.exec( currentSpread ) );
+    currentIndexList =
+        IndexFactory.toExpressionIndex( currentSpread , node.execBitmap( currentSpread ) );
     currentIndex = 0;
     if ( currentIndexList.size() == 0 ) {
       return nextReader();
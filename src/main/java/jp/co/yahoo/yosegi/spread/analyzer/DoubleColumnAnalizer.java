@@ -22,6 +22,7 @@ import jp.co.yahoo.yosegi.spread.column.ColumnType;
 import jp.co.yahoo.yosegi.spread.column.ICell;
 import jp.co.yahoo.yosegi.spread.column.IColumn;
 import jp.co.yahoo.yosegi.spread.column.PrimitiveCell;
+import jp.co.yahoo.yosegi.util.io.alp.AlpStatistics;
 
 import java.io.IOException;
 import java.util.HashSet;
@@ -43,6 +44,7 @@ public class DoubleColumnAnalizer implements IColumnAnalizer {
     int rowCount = 0;
 
     Set<Double> dicSet = new HashSet<Double>();
+    AlpStatistics alpStatistics = new AlpStatistics( Double.BYTES );
 
     Double min = Double.MAX_VALUE;
     Double max = Double.MIN_VALUE;
@@ -61,6 +63,7 @@ public class DoubleColumnAnalizer implements IColumnAnalizer {
       }
 
       rowCount++;
+      alpStatistics.add( target.doubleValue() );
       if ( ! dicSet.contains( target ) ) {
         dicSet.add( target );
         if ( 0 < min.compareTo( target ) ) {
@@ -82,7 +85,8 @@ public class DoubleColumnAnalizer implements IColumnAnalizer {
         rowCount ,
         uniqCount ,
         min ,
-        max );
+        max ,
+        alpStatistics );
   }
 
 }
@@ -19,6 +19,7 @@
 package jp.co.yahoo.yosegi.spread.analyzer;
 
 import jp.co.yahoo.yosegi.spread.column.ColumnType;
+import jp.co.yahoo.yosegi.util.io.alp.AlpStatistics;
 
 public class FloatColumnAnalizeResult implements IColumnAnalizeResult {
 
@@ -31,6 +32,7 @@ public class FloatColumnAnalizeResult implements IColumnAnalizeResult {
 
   private final float min;
   private final float max;
+  private final AlpStatistics alpStatistics;
 
   /**
    * Set and initialize results.
@@ -44,6 +46,23 @@ public class FloatColumnAnalizeResult implements IColumnAnalizeResult {
       final int uniqCount ,
       final float min ,
       final float max ) {
+    this( columnName , columnSize , sortFlag , nullCount , rowCount , uniqCount ,
+        min , max , null );
+  }
+
+  /**
+   * Set and initialize results with the statistics for ALP.
+   */
+  public FloatColumnAnalizeResult(
+      final String columnName ,
+      final int columnSize ,
+      final boolean sortFlag ,
+      final int nullCount ,
+      final int rowCount ,
+      final int uniqCount ,
+      final float min ,
+      final float max ,
+      final AlpStatistics alpStatistics ) {
     this.columnName = columnName;
     this.columnSize = columnSize;
     this.sortFlag = sortFlag;
@@ -52,6 +71,7 @@ public class FloatColumnAnalizeResult implements IColumnAnalizeResult {
     this.uniqCount = uniqCount;
     this.min = min;
     this.max = max;
+    this.alpStatistics = alpStatistics;
   }
 
   @Override
@@ -112,4 +132,11 @@ public class FloatColumnAnalizeResult implements IColumnAnalizeResult {
     return max;
   }
 
+  /**
+   * Get the statistics for ALP, or null if it was not collected.
+   */
+  public AlpStatistics getAlpStatistics() {
+    return alpStatistics;
+  }
+
 }
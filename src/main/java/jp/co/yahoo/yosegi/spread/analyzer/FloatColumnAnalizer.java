@@ -22,6 +22,7 @@ import jp.co.yahoo.yosegi.spread.column.ColumnType;
 import jp.co.yahoo.yosegi.spread.column.ICell;
 import jp.co.yahoo.yosegi.spread.column.IColumn;
 import jp.co.yahoo.yosegi.spread.column.PrimitiveCell;
+import jp.co.yahoo.yosegi.util.io.alp.AlpStatistics;
 
 import java.io.IOException;
 import java.util.HashSet;
@@ -43,6 +44,7 @@ public class FloatColumnAnalizer implements IColumnAnalizer {
     int rowCount = 0;
 
     Set<Float> dicSet = new HashSet<Float>();
+    AlpStatistics alpStatistics = new AlpStatistics( Float.BYTES );
 
     Float min = Float.MAX_VALUE;
     Float max = Float.MIN_VALUE;
@@ -60,6 +62,7 @@ public class FloatColumnAnalizer implements IColumnAnalizer {
       }
 
       rowCount++;
+      alpStatistics.add( target.floatValue() );
       if ( ! dicSet.contains( target ) ) {
         dicSet.add( target );
         if ( 0 < min.compareTo( target ) ) {
@@ -81,7 +84,8 @@ public class FloatColumnAnalizer implements IColumnAnalizer {
         rowCount ,
         uniqCount ,
         min ,
-        max );
+        max ,
+        alpStatistics );
   }
 
 }
@@ -35,8 +35,13 @@ public class LongColumnAnalizeResult implements IColumnAnalizeResult {
   private final int nullIgnoreRleRowGroupCount;
   private final int nullIgnoreRleMaxRowGroupLength;
 
+  private final long minDelta;
+  private final long maxDelta;
+  private final long minDeltaOfDelta;
+  private final long maxDeltaOfDelta;
+
   /**
-   * Set and initialize results.
+   * Set and initialize results without the range of the difference.
    */
   public LongColumnAnalizeResult(
       final String columnName ,
@@ -49,6 +54,29 @@ public class LongColumnAnalizeResult implements IColumnAnalizeResult {
       final long max ,
       final int nullIgnoreRleRowGroupCount , 
       final int nullIgnoreRleMaxRowGroupLength ) {
+    this( columnName , columnSize , sortFlag , nullCount , rowCount , uniqCount , min , max ,
+        nullIgnoreRleRowGroupCount , nullIgnoreRleMaxRowGroupLength ,
+        Long.MIN_VALUE , Long.MAX_VALUE , Long.MIN_VALUE , Long.MAX_VALUE );
+  }
+
+  /**
+   * Set and initialize results.
+   */
+  public LongColumnAnalizeResult(
+      final String columnName ,
+      final int columnSize ,
+      final boolean sortFlag ,
+      final int nullCount ,
+      final int rowCount ,
+      final int uniqCount ,
+      final long min ,
+      final long max ,
+      final int nullIgnoreRleRowGroupCount , 
+      final int nullIgnoreRleMaxRowGroupLength ,
+      final long minDelta ,
+      final long maxDelta ,
+      final long minDeltaOfDelta ,
+      final long maxDeltaOfDelta ) {
     this.columnName = columnName;
     this.columnSize = columnSize;
     this.sortFlag = sortFlag;
@@ -59,6 +87,10 @@ public class LongColumnAnalizeResult implements IColumnAnalizeResult {
     this.max = max;
     this.nullIgnoreRleRowGroupCount = nullIgnoreRleRowGroupCount;
     this.nullIgnoreRleMaxRowGroupLength = nullIgnoreRleMaxRowGroupLength;
+    this.minDelta = minDelta;
+    this.maxDelta = maxDelta;
+    this.minDeltaOfDelta = minDeltaOfDelta;
+    this.maxDeltaOfDelta = maxDeltaOfDelta;
   }
 
   @Override
@@ -129,4 +161,26 @@ public class LongColumnAnalizeResult implements IColumnAnalizeResult {
     return max;
   }
 
+  /**
+   * Get the minimum difference between consecutive non-null values.
+   */
+  public long getMinDelta() {
+    return minDelta;
+  }
+
+  public long getMaxDelta() {
+    return maxDelta;
+  }
+
+  /**
+   * Get the minimum change of the difference between consecutive non-null values.
+   */
+  public long getMinDeltaOfDelta() {
+    return minDeltaOfDelta;
+  }
+
+  public long getMaxDeltaOfDelta() {
+    return maxDeltaOfDelta;
+  }
+
 }
@@ -22,7 +22,7 @@ import jp.co.yahoo.yosegi.spread.column.ColumnType;
 import jp.co.yahoo.yosegi.spread.column.ICell;
 import jp.co.yahoo.yosegi.spread.column.IColumn;
 import jp.co.yahoo.yosegi.spread.column.PrimitiveCell;
-import jp.co.yahoo.yosegi.util.io.rle.RleConverter;
+import jp.co.yahoo.yosegi.util.io.rle.LongRleConverter;
 
 import java.io.IOException;
 import java.util.HashSet;
@@ -47,7 +47,12 @@ public class LongColumnAnalizer implements IColumnAnalizer {
 
     Long min = Long.MAX_VALUE;
     Long max = Long.MIN_VALUE;
-    RleConverter<Long> rleConverter = null;
+    LongRleConverter rleConverter = null;
+
+    DeltaRange deltaRange = new DeltaRange();
+    DeltaRange deltaOfDeltaRange = new DeltaRange();
+    long prevValue = 0;
+    long prevDelta = 0;
     for ( int i = 0 ; i < column.size() ; i++ ) {
       ICell cell = column.get(i);
       if ( cell.getType() == ColumnType.NULL ) {
@@ -62,10 +67,23 @@ public class LongColumnAnalizer implements IColumnAnalizer {
       }
 
       if ( rleConverter == null ) {
-        rleConverter = new RleConverter<Long>( target , null );
+        rleConverter = new LongRleConverter( target , null );
       }
       rleConverter.add( target );
 
+      long value = target.longValue();
+      if ( 1 <= rowCount ) {
+        long delta = value - prevValue;
+        deltaRange.set( prevValue , value );
+        if ( deltaRange.isOverflow ) {
+          deltaOfDeltaRange.setOverflow();
+        } else if ( 2 <= rowCount ) {
+          deltaOfDeltaRange.set( prevDelta , delta );
+        }
+        prevDelta = delta;
+      }
+      prevValue = value;
+
       rowCount++;
       if ( ! dicSet.contains( target ) ) {
         dicSet.add( target );
@@ -91,7 +109,44 @@ public class LongColumnAnalizer implements IColumnAnalizer {
         min ,
         max ,
         rleConverter.getRowGroupCount() ,
-        rleConverter.getMaxGroupLength() );
+        rleConverter.getMaxGroupLength() ,
+        deltaRange.min ,
+        deltaRange.max ,
+        deltaOfDeltaRange.min ,
+        deltaOfDeltaRange.max );
+  }
+
+  /**
+   * Range of the difference between consecutive values.
+   * If the difference overflows, the range becomes the whole long range.
+   */
+  private static class DeltaRange {
+
+    private long min = Long.MAX_VALUE;
+    private long max = Long.MIN_VALUE;
+    private boolean isOverflow;
+
+    public void set( final long prev , final long current ) {
+      if ( isOverflow ) {
+        return;
+      }
+      long delta;
+      try {
+        delta = Math.subtractExact( current , prev );
+      } catch ( ArithmeticException ex ) {
+        setOverflow();
+        return;
+      }
+      min = Math.min( min , delta );
+      max = Math.max( max , delta );
+    }
+
+    public void setOverflow() {
+      isOverflow = true;
+      min = Long.MIN_VALUE;
+      max = Long.MAX_VALUE;
+    }
+
   }
 
 }
@@ -22,7 +22,7 @@ import jp.co.yahoo.yosegi.spread.column.ColumnType;
 import jp.co.yahoo.yosegi.spread.column.ICell;
 import jp.co.yahoo.yosegi.spread.column.IColumn;
 import jp.co.yahoo.yosegi.spread.column.PrimitiveCell;
-import jp.co.yahoo.yosegi.util.io.rle.RleConverter;
+import jp.co.yahoo.yosegi.util.io.rle.LongRleConverter;
 
 import java.io.IOException;
 import java.util.HashSet;
@@ -47,7 +47,7 @@ public class ShortColumnAnalizer implements IColumnAnalizer {
 
     Short min = Short.MAX_VALUE;
     Short max = Short.MIN_VALUE;
-    RleConverter<Short> rleConverter = null;
+    LongRleConverter rleConverter = null;
     for ( int i = 0 ; i < column.size() ; i++ ) {
       ICell cell = column.get(i);
       if ( cell.getType() == ColumnType.NULL ) {
@@ -62,7 +62,7 @@ public class ShortColumnAnalizer implements IColumnAnalizer {
       }
 
       if ( rleConverter == null ) {
-        rleConverter = new RleConverter<Short>( target , null );
+        rleConverter = new LongRleConverter( target , null );
       }
       rleConverter.add( target );
 
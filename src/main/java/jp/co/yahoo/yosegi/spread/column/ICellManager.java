@@ -23,6 +23,7 @@ import jp.co.yahoo.yosegi.message.objects.PrimitiveObject;
 import jp.co.yahoo.yosegi.spread.column.filter.IFilter;
 import jp.co.yahoo.yosegi.spread.column.index.ICellIndex;
 import jp.co.yahoo.yosegi.spread.expression.IExpressionIndex;
+import jp.co.yahoo.yosegi.spread.expression.SelectionBitmap;
 
 import java.io.IOException;
 
@@ -40,6 +41,19 @@ public interface ICellManager<T> {
 
   boolean[] filter( final IFilter filter , final boolean[] filterArray ) throws IOException;
 
+  /**
+   * Filter the rows into a bitmap of the specified number of rows.
+   * Null means that the rows are not filtered, as with filter().
+   */
+  default SelectionBitmap filterBitmap(
+      final IFilter filter , final int size ) throws IOException {
+    boolean[] result = filter( filter , new boolean[size] );
+    if ( result == null ) {
+      return null;
+    }
+    return SelectionBitmap.fromBooleanArray( result );
+  }
+
   PrimitiveObject[] getPrimitiveObjectArray(
       final IExpressionIndex indexList , final int start , final int length );
 
@@ -69,4 +83,24 @@ public interface ICellManager<T> {
     throw new UnsupportedOperationException( "This method only supports dictionary columns." );
   }
 
+  default boolean isRunLength() {
+    return false;
+  }
+
+  default int getRunLengthSize() {
+    throw new UnsupportedOperationException( "This method only supports run-length columns." );
+  }
+
+  default int[] getRunLengthStartArray() {
+    throw new UnsupportedOperationException( "This method only supports run-length columns." );
+  }
+
+  default int[] getRunLengthLengthArray() {
+    throw new UnsupportedOperationException( "This method only supports run-length columns." );
+  }
+
+  default PrimitiveObject[] getRunLengthValueArray() {
+    throw new UnsupportedOperationException( "This method only supports run-length columns." );
+  }
+
 }
@@ -24,6 +24,7 @@ import jp.co.yahoo.yosegi.message.objects.PrimitiveObject;
 import jp.co.yahoo.yosegi.spread.column.filter.IFilter;
 import jp.co.yahoo.yosegi.spread.column.index.ICellIndex;
 import jp.co.yahoo.yosegi.spread.expression.IExpressionIndex;
+import jp.co.yahoo.yosegi.spread.expression.SelectionBitmap;
 
 import java.io.IOException;
 import java.util.ArrayList;
@@ -166,6 +167,12 @@ public class PrimitiveColumn implements IColumn {
     return cellManager.filter( filter , filterArray );
   }
 
+  @Override
+  public SelectionBitmap filterBitmap(
+      final IFilter filter , final int size ) throws IOException {
+    return cellManager.filterBitmap( filter , size );
+  }
+
   @Override
   public PrimitiveObject[] getPrimitiveObjectArray(
       final IExpressionIndex indexList , final int start , final int length ) {
@@ -221,4 +228,29 @@ public class PrimitiveColumn implements IColumn {
     return cellManager.getDictionaryArray();
   }
 
+  @Override
+  public boolean isRunLength() {
+    return cellManager.isRunLength();
+  }
+
+  @Override
+  public int getRunLengthSize() {
+    return cellManager.getRunLengthSize();
+  }
+
+  @Override
+  public int[] getRunLengthStartArray() {
+    return cellManager.getRunLengthStartArray();
+  }
+
+  @Override
+  public int[] getRunLengthLengthArray() {
+    return cellManager.getRunLengthLengthArray();
+  }
+
+  @Override
+  public PrimitiveObject[] getRunLengthValueArray() {
+    return cellManager.getRunLengthValueArray();
+  }
+
 }
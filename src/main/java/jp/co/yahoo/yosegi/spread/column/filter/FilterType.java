@@ -27,6 +27,7 @@ public enum FilterType {
   STRING_DICTIONARY,
   NUMBER,
   NUMBER_RANGE,
+  NUMBER_DICTIONARY,
   BOOLEAN,
 
 }
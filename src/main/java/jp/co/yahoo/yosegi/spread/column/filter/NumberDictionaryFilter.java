@@ -0,0 +1,116 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.co.yahoo.yosegi.spread.column.filter;
+
+import jp.co.yahoo.yosegi.message.objects.PrimitiveObject;
+import jp.co.yahoo.yosegi.spread.column.ColumnType;
+import jp.co.yahoo.yosegi.util.LongHashSet;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Match one of the numbers. The numbers are compared like NumberFilter EQUAL.
+ */
+public class NumberDictionaryFilter implements INumberDictionaryFilter {
+
+  private final List<PrimitiveObject> numberObjectList;
+  private final Map<ColumnType,LongHashSet> dictionaryCache =
+      new EnumMap<ColumnType,LongHashSet>( ColumnType.class );
+
+  public NumberDictionaryFilter( final Collection<PrimitiveObject> numberObjects ) {
+    numberObjectList = new ArrayList<PrimitiveObject>( numberObjects );
+  }
+
+  public List<PrimitiveObject> getNumberObjectList() {
+    return numberObjectList;
+  }
+
+  public static long toFloatKey( final float value ) {
+    return Float.floatToIntBits( value == 0.0f ? 0.0f : value );
+  }
+
+  public static long toDoubleKey( final double value ) {
+    return Double.doubleToLongBits( value == 0.0d ? 0.0d : value );
+  }
+
+  @Override
+  public synchronized LongHashSet getDictionary(
+      final ColumnType columnType ) throws IOException {
+    ColumnType keyType;
+    switch ( columnType ) {
+      case BYTE:
+      case SHORT:
+      case INTEGER:
+      case LONG:
+        keyType = ColumnType.LONG;
+        break;
+      case FLOAT:
+      case DOUBLE:
+        keyType = columnType;
+        break;
+      default:
+        return new LongHashSet();
+    }
+    LongHashSet dictionary = dictionaryCache.get( keyType );
+    if ( dictionary == null ) {
+      dictionary = createDictionary( keyType );
+      dictionaryCache.put( keyType , dictionary );
+    }
+    return dictionary;
+  }
+
+  private LongHashSet createDictionary( final ColumnType keyType ) throws IOException {
+    LongHashSet dictionary = new LongHashSet( numberObjectList.size() );
+    for ( PrimitiveObject numberObject : numberObjectList ) {
+      try {
+        switch ( keyType ) {
+          case FLOAT:
+            float floatValue = numberObject.getFloat();
+            if ( ! Float.isNaN( floatValue ) ) {
+              dictionary.add( toFloatKey( floatValue ) );
+            }
+            break;
+          case DOUBLE:
+            double doubleValue = numberObject.getDouble();
+            if ( ! Double.isNaN( doubleValue ) ) {
+              dictionary.add( toDoubleKey( doubleValue ) );
+            }
+            break;
+          default:
+            dictionary.add( numberObject.getLong() );
+            break;
+        }
+      } catch ( NumberFormatException ex ) {
+        continue;
+      }
+    }
+    return dictionary;
+  }
+
+  @Override
+  public FilterType getFilterType() {
+    return FilterType.NUMBER_DICTIONARY;
+  }
+
+}
@@ -19,6 +19,7 @@
 package jp.co.yahoo.yosegi.spread.column.index;
 
 import jp.co.yahoo.yosegi.spread.column.filter.IFilter;
+import jp.co.yahoo.yosegi.spread.expression.SelectionBitmap;
 
 import java.io.IOException;
 
@@ -26,4 +27,17 @@ public interface ICellIndex {
 
   boolean[] filter( final IFilter filter , final boolean[] filterArray ) throws IOException;
 
+  /**
+   * Filter the rows into a bitmap of the specified number of rows.
+   * Null means that this index can not filter the rows, as with filter().
+   */
+  default SelectionBitmap filterBitmap(
+      final IFilter filter , final int size ) throws IOException {
+    boolean[] result = filter( filter , new boolean[size] );
+    if ( result == null ) {
+      return null;
+    }
+    return SelectionBitmap.fromBooleanArray( result );
+  }
+
 }
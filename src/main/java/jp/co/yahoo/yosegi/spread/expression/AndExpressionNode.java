@@ -39,23 +39,26 @@ public class AndExpressionNode implements IExpressionNode {
 
   @Override
   public boolean[] exec( final Spread spread ) throws IOException {
-    boolean[] intersection = null;
+    SelectionBitmap intersection = execBitmap( spread );
+    if ( intersection == null ) {
+      return null;
+    }
+    return intersection.toBooleanArray();
+  }
+
+  @Override
+  public SelectionBitmap execBitmap( final Spread spread ) throws IOException {
+    SelectionBitmap intersection = null;
     for ( IExpressionNode node : childNode ) {
-      boolean[] result = node.exec( spread );
+      SelectionBitmap result = node.execBitmap( spread );
       if ( result != null ) {
         if ( intersection == null ) {
           intersection = result;
         } else {
-          boolean isEmpty = true;
-          for ( int i = 0 ; i < intersection.length ; i++ ) {
-            intersection[i] = intersection[i] && result[i];
-            if ( intersection[i] ) {
-              isEmpty = false;
-            }
-          }
-          if ( isEmpty ) {
-            return intersection;
-          }
+          intersection.and( result );
+        }
+        if ( intersection.isEmpty() ) {
+          return intersection;
         }
       }
     }
@@ -56,6 +56,15 @@ public class ExecuterNode implements IExpressionNode {
     return column.filter( filter , new boolean[spread.size()] );
   }
 
+  /**
+   * Filter the column into a bitmap, so that a cell index can set the bits directly.
+   */
+  @Override
+  public SelectionBitmap execBitmap( final Spread spread ) throws IOException {
+    IColumn column = columnExtractNode.get( spread );
+    return column.filterBitmap( filter , spread.size() );
+  }
+
   @Override
   public List<Integer> getBlockSpreadIndex( final BlockIndexNode indexNode ) throws IOException {
     BlockIndexNode currentNode = columnExtractNode.get( indexNode );
@@ -37,6 +37,14 @@ public class FilterdExpressionIndex implements IExpressionIndex {
     }
   }
 
+  /**
+   * Create a valid row index from the row bitmap.
+   */
+  public FilterdExpressionIndex( final SelectionBitmap bitmap ) {
+    indexList = bitmap.toIndexArray();
+    size = indexList.length;
+  }
+
   @Override
   public int size() {
     return size;
@@ -31,6 +31,18 @@ public interface IExpressionNode extends Serializable {
 
   boolean[] exec( final Spread spread ) throws IOException;
 
+  /**
+   * Filter the Spread and return the selected rows as a bitmap.
+   * Null means that all rows are selected.
+   */
+  default SelectionBitmap execBitmap( final Spread spread ) throws IOException {
+    boolean[] result = exec( spread );
+    if ( result == null ) {
+      return null;
+    }
+    return SelectionBitmap.fromBooleanArray( result );
+  }
+
   List<Integer> getBlockSpreadIndex( final BlockIndexNode indexNode ) throws IOException;
 
 }
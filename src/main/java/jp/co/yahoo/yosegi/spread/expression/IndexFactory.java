@@ -35,4 +35,16 @@ public final class IndexFactory {
     }
   }
 
+  /**
+   * Determine the state of the bitmap filter and create IExpressionIndex.
+   */
+  public static IExpressionIndex toExpressionIndex(
+      final Spread spread , final SelectionBitmap index ) {
+    if ( index == null ) {
+      return new AllExpressionIndex( spread.size() );
+    } else {
+      return new FilterdExpressionIndex( index );
+    }
+  }
+
 }
@@ -41,19 +41,23 @@ public class NotExpressionNode implements IExpressionNode {
 
   @Override
   public boolean[] exec( final Spread spread ) throws IOException {
+    SelectionBitmap result = execBitmap( spread );
+    if ( result == null ) {
+      return null;
+    }
+    return result.toBooleanArray();
+  }
+
+  @Override
+  public SelectionBitmap execBitmap( final Spread spread ) throws IOException {
     if ( childNode == null ) {
       return null;
     }
-    boolean[] childCollection = childNode.exec( spread );
+    SelectionBitmap childCollection = childNode.execBitmap( spread );
     if ( childCollection == null ) {
       return null;
     }
-
-    for ( int i = 0 ; i < childCollection.length ; i++ ) {
-      childCollection[i] = ! childCollection[i];
-    }
-
-    return childCollection;
+    return childCollection.not();
   }
 
   @Override
@@ -39,23 +39,26 @@ public class OrExpressionNode implements IExpressionNode {
 
   @Override
   public boolean[] exec( final Spread spread ) throws IOException {
-    boolean[] union = null;
+    SelectionBitmap union = execBitmap( spread );
+    if ( union == null ) {
+      return null;
+    }
+    return union.toBooleanArray();
+  }
+
+  @Override
+  public SelectionBitmap execBitmap( final Spread spread ) throws IOException {
+    SelectionBitmap union = null;
     for ( IExpressionNode node : childNode ) {
-      boolean[] result = node.exec( spread );
+      SelectionBitmap result = node.execBitmap( spread );
       if ( result == null ) {
         return null;
       }
       if ( union == null ) {
         union = result;
       } else {
-        boolean isAll = true;
-        for ( int i = 0 ; i < union.length ; i++ ) {
-          union[i] = union[i] || result[i];
-          if ( ! union[i] ) {
-            isAll = false;
-          }
-        }
-        if ( isAll ) {
+        union.or( result );
+        if ( union.isAll() ) {
           return union;
         }
       }
@@ -0,0 +1,181 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.co.yahoo.yosegi.spread.expression;
+
+/**
+ * Selected rows of a Spread held as a bitset.
+ * AND, OR and NOT are done 64 rows at a time.
+ */
+public class SelectionBitmap {
+
+  private final long[] words;
+  private final int size;
+
+  /**
+   * Create a bitmap of the specified number of rows with no row selected.
+   */
+  public SelectionBitmap( final int size ) {
+    this.size = size;
+    words = new long[ ( size + Long.SIZE - 1 ) / Long.SIZE ];
+  }
+
+  private SelectionBitmap( final long[] words , final int size ) {
+    this.size = size;
+    this.words = words;
+  }
+
+  /**
+   * Create a bitmap that uses the words as its bits. Row i is bit ( i % 64 ) of word ( i / 64 ).
+   * The array is not copied, and the bits after the size are cleared.
+   */
+  public static SelectionBitmap fromWords( final long[] words , final int size ) {
+    if ( words.length != ( size + Long.SIZE - 1 ) / Long.SIZE ) {
+      throw new IllegalArgumentException(
+          "Words length " + words.length + " does not match size " + size );
+    }
+    SelectionBitmap bitmap = new SelectionBitmap( words , size );
+    bitmap.clearTail();
+    return bitmap;
+  }
+
+  /**
+   * Create a bitmap from row flags.
+   */
+  public static SelectionBitmap fromBooleanArray( final boolean[] filterArray ) {
+    SelectionBitmap bitmap = new SelectionBitmap( filterArray.length );
+    for ( int i = 0 ; i < filterArray.length ; i++ ) {
+      if ( filterArray[i] ) {
+        bitmap.words[ i >>> 6 ] |= 1L << i;
+      }
+    }
+    return bitmap;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public void set( final int index ) {
+    words[ index >>> 6 ] |= 1L << index;
+  }
+
+  public boolean get( final int index ) {
+    return ( words[ index >>> 6 ] & ( 1L << index ) ) != 0;
+  }
+
+  /**
+   * Keep only the rows also selected in the given bitmap.
+   */
+  public SelectionBitmap and( final SelectionBitmap target ) {
+    for ( int i = 0 ; i < words.length ; i++ ) {
+      words[i] &= target.words[i];
+    }
+    return this;
+  }
+
+  /**
+   * Add the rows selected in the given bitmap.
+   */
+  public SelectionBitmap or( final SelectionBitmap target ) {
+    for ( int i = 0 ; i < words.length ; i++ ) {
+      words[i] |= target.words[i];
+    }
+    return this;
+  }
+
+  /**
+   * Invert the selection.
+   */
+  public SelectionBitmap not() {
+    for ( int i = 0 ; i < words.length ; i++ ) {
+      words[i] = ~words[i];
+    }
+    clearTail();
+    return this;
+  }
+
+  private void clearTail() {
+    int tailBits = size % Long.SIZE;
+    if ( tailBits != 0 ) {
+      words[ words.length - 1 ] &= ( 1L << tailBits ) - 1L;
+    }
+  }
+
+  /**
+   * Get the number of selected rows.
+   */
+  public int cardinality() {
+    int count = 0;
+    for ( long word : words ) {
+      count += Long.bitCount( word );
+    }
+    return count;
+  }
+
+  /**
+   * Returns true if no row is selected.
+   */
+  public boolean isEmpty() {
+    for ( long word : words ) {
+      if ( word != 0 ) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Returns true if all rows are selected.
+   */
+  public boolean isAll() {
+    return cardinality() == size;
+  }
+
+  /**
+   * Convert to row flags.
+   */
+  public boolean[] toBooleanArray() {
+    boolean[] result = new boolean[size];
+    for ( int i = 0 ; i < words.length ; i++ ) {
+      long word = words[i];
+      while ( word != 0 ) {
+        result[ ( i << 6 ) + Long.numberOfTrailingZeros( word ) ] = true;
+        word &= word - 1;
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Convert to the sorted list of the selected row indexes.
+   */
+  public int[] toIndexArray() {
+    int[] result = new int[ cardinality() ];
+    int offset = 0;
+    for ( int i = 0 ; i < words.length ; i++ ) {
+      long word = words[i];
+      while ( word != 0 ) {
+        result[offset++] = ( i << 6 ) + Long.numberOfTrailingZeros( word );
+        word &= word - 1;
+      }
+    }
+    return result;
+  }
+
+}
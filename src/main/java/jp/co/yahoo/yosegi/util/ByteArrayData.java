@@ -49,6 +49,20 @@ public class ByteArrayData {
     return data;
   }
 
+  /**
+   * Set the length of the data, growing the buffer if needed.
+   * The bytes added by growing are not initialized, so the caller writes them via getBytes().
+   */
+  public void setLength( final int newLength ) {
+    if ( newLength < 0 ) {
+      throw new IllegalArgumentException( "Length must be 0 or more : " + newLength );
+    }
+    if ( length < newLength ) {
+      checkSize( newLength - length );
+    }
+    length = newLength;
+  }
+
   @Override
   public int hashCode() {
     int hash = 1;
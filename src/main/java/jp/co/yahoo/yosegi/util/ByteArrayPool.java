@@ -0,0 +1,136 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.co.yahoo.yosegi.util;
+
+import java.util.ArrayDeque;
+
+/**
+ * A pool of byte arrays grouped by power-of-two size classes.
+ * An acquired array can be longer than requested, so the caller keeps the length itself.
+ * The arrays that do not fit in a size class or over the retained limit are left to the GC.
+ */
+public class ByteArrayPool {
+
+  public static final int MIN_CLASS_SHIFT = 10;
+  public static final int MAX_CLASS_SHIFT = 30;
+  public static final long DEFAULT_MAX_RETAINED_BYTES = 256L * 1024L * 1024L;
+
+  private static final byte[] EMPTY = new byte[0];
+  private static final ByteArrayPool DEFAULT_POOL =
+      new ByteArrayPool( DEFAULT_MAX_RETAINED_BYTES );
+
+  private final ArrayDeque<byte[]>[] freeList;
+  private final long maxRetainedBytes;
+  private long retainedBytes;
+
+  /**
+   * Create a pool that retains the released arrays up to the specified bytes.
+   */
+  @SuppressWarnings( "unchecked" )
+  public ByteArrayPool( final long maxRetainedBytes ) {
+    if ( maxRetainedBytes < 0 ) {
+      throw new IllegalArgumentException(
+          "Max retained bytes must be 0 or more : " + maxRetainedBytes );
+    }
+    this.maxRetainedBytes = maxRetainedBytes;
+    freeList = new ArrayDeque[ MAX_CLASS_SHIFT - MIN_CLASS_SHIFT + 1 ];
+    for ( int i = 0 ; i < freeList.length ; i++ ) {
+      freeList[i] = new ArrayDeque<byte[]>();
+    }
+  }
+
+  public static ByteArrayPool getDefault() {
+    return DEFAULT_POOL;
+  }
+
+  /**
+   * Get the index of the smallest size class that can hold the size, or -1 if none.
+   */
+  public static int getClassIndex( final int size ) {
+    if ( size <= ( 1 << MIN_CLASS_SHIFT ) ) {
+      return 0;
+    }
+    int shift = Integer.SIZE - Integer.numberOfLeadingZeros( size - 1 );
+    if ( MAX_CLASS_SHIFT < shift ) {
+      return -1;
+    }
+    return shift - MIN_CLASS_SHIFT;
+  }
+
+  /**
+   * Get an array of at least the specified size.
+   * The contents of a reused array are not cleared.
+   */
+  public byte[] acquire( final int size ) {
+    if ( size < 0 ) {
+      throw new IllegalArgumentException( "Size must be 0 or more : " + size );
+    }
+    if ( size == 0 ) {
+      return EMPTY;
+    }
+    int index = getClassIndex( size );
+    if ( index < 0 ) {
+      return new byte[size];
+    }
+    synchronized ( this ) {
+      byte[] buffer = freeList[index].pollLast();
+      if ( buffer != null ) {
+        retainedBytes -= buffer.length;
+        return buffer;
+      }
+    }
+    return new byte[ 1 << ( index + MIN_CLASS_SHIFT ) ];
+  }
+
+  /**
+   * Return the array to the pool.
+   * The caller must not use the array after this.
+   */
+  public void release( final byte[] buffer ) {
+    if ( buffer == null || buffer.length == 0 ) {
+      return;
+    }
+    int index = getClassIndex( buffer.length );
+    if ( index < 0 || buffer.length != ( 1 << ( index + MIN_CLASS_SHIFT ) ) ) {
+      return;
+    }
+    synchronized ( this ) {
+      if ( maxRetainedBytes < retainedBytes + buffer.length ) {
+        return;
+      }
+      retainedBytes += buffer.length;
+      freeList[index].addLast( buffer );
+    }
+  }
+
+  public synchronized long getRetainedBytes() {
+    return retainedBytes;
+  }
+
+  /**
+   * Drop all the retained arrays.
+   */
+  public synchronized void clear() {
+    for ( ArrayDeque<byte[]> list : freeList ) {
+      list.clear();
+    }
+    retainedBytes = 0;
+  }
+
+}
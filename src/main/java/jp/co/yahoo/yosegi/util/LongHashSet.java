@@ -0,0 +1,147 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.co.yahoo.yosegi.util;
+
+import java.util.Arrays;
+
+/**
+ * Open addressing hash set of long values without boxing.
+ */
+public class LongHashSet {
+
+  private static final long EMPTY = 0L;
+
+  private long[] table;
+  private boolean hasEmptyValue;
+  private int size;
+
+  public LongHashSet() {
+    this( 16 );
+  }
+
+  /**
+   * Create a set that holds the specified number of values without resizing.
+   */
+  public LongHashSet( final int expectedSize ) {
+    int capacity = 16;
+    while ( capacity < expectedSize * 2 ) {
+      capacity <<= 1;
+    }
+    table = new long[capacity];
+  }
+
+  private static int hash( final long value ) {
+    long hash = value * 0x9e3779b97f4a7c15L;
+    return (int)( hash ^ ( hash >>> 32 ) );
+  }
+
+  /**
+   * Add the value and returns true if it was not in the set.
+   */
+  public boolean add( final long value ) {
+    if ( value == EMPTY ) {
+      if ( hasEmptyValue ) {
+        return false;
+      }
+      hasEmptyValue = true;
+      size++;
+      return true;
+    }
+    if ( table.length < ( size + 1 ) * 2 ) {
+      resize();
+    }
+    if ( ! insert( table , value ) ) {
+      return false;
+    }
+    size++;
+    return true;
+  }
+
+  private static boolean insert( final long[] target , final long value ) {
+    int mask = target.length - 1;
+    int index = hash( value ) & mask;
+    while ( target[index] != EMPTY ) {
+      if ( target[index] == value ) {
+        return false;
+      }
+      index = ( index + 1 ) & mask;
+    }
+    target[index] = value;
+    return true;
+  }
+
+  private void resize() {
+    long[] newTable = new long[ table.length * 2 ];
+    for ( long value : table ) {
+      if ( value != EMPTY ) {
+        insert( newTable , value );
+      }
+    }
+    table = newTable;
+  }
+
+  /**
+   * Returns true if the value is in the set.
+   */
+  public boolean contains( final long value ) {
+    if ( value == EMPTY ) {
+      return hasEmptyValue;
+    }
+    int mask = table.length - 1;
+    int index = hash( value ) & mask;
+    while ( table[index] != EMPTY ) {
+      if ( table[index] == value ) {
+        return true;
+      }
+      index = ( index + 1 ) & mask;
+    }
+    return false;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * Get the values in the set. The order is not defined.
+   */
+  public long[] toArray() {
+    long[] result = new long[size];
+    int offset = 0;
+    if ( hasEmptyValue ) {
+      result[offset++] = EMPTY;
+    }
+    for ( long value : table ) {
+      if ( value != EMPTY ) {
+        result[offset++] = value;
+      }
+    }
+    return result;
+  }
+
+  @Override
+  public String toString() {
+    return Arrays.toString( toArray() );
+  }
+
+}
@@ -0,0 +1,125 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.co.yahoo.yosegi.util.io;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * InputStream that reads a file by absolute position.
+ * Skipping only moves the position, so the skipped bytes are never read.
+ */
+public class FileChannelInputStream extends InputStream {
+
+  private final FileChannel channel;
+  private final long size;
+  private long position;
+
+  /**
+   * Create an InputStream reading the given channel from the current position.
+   */
+  public FileChannelInputStream( final FileChannel channel ) throws IOException {
+    this.channel = channel;
+    size = channel.size();
+    position = channel.position();
+  }
+
+  /**
+   * Open the file for reading.
+   */
+  public static FileChannelInputStream open( final File file ) throws IOException {
+    return new FileChannelInputStream(
+        FileChannel.open( file.toPath() , StandardOpenOption.READ ) );
+  }
+
+  public long getPosition() {
+    return position;
+  }
+
+  @Override
+  public int read() throws IOException {
+    byte[] buffer = new byte[1];
+    if ( read( buffer , 0 , 1 ) <= 0 ) {
+      return -1;
+    }
+    return buffer[0] & 0xff;
+  }
+
+  @Override
+  public int read( final byte[] buffer , final int start , final int length ) throws IOException {
+    if ( length == 0 ) {
+      return 0;
+    }
+    int readLength = channel.read( ByteBuffer.wrap( buffer , start , length ) , position );
+    if ( 0 < readLength ) {
+      position += readLength;
+    }
+    return readLength;
+  }
+
+  /**
+   * Read the continuous bytes from the current position into the buffers in one call.
+   * Returns the number of bytes read, which is less than requested only at the end of file.
+   */
+  public long readFully( final ByteBuffer[] buffers ) throws IOException {
+    long length = 0;
+    for ( ByteBuffer buffer : buffers ) {
+      length += buffer.remaining();
+    }
+    channel.position( position );
+    long readLength = 0;
+    while ( readLength < length ) {
+      long currentLength = channel.read( buffers );
+      if ( currentLength == -1 ) {
+        break;
+      }
+      readLength += currentLength;
+    }
+    position += readLength;
+    return readLength;
+  }
+
+  @Override
+  public long skip( final long length ) throws IOException {
+    if ( length <= 0 ) {
+      return 0;
+    }
+    long skipLength = Math.min( length , size - position );
+    if ( skipLength <= 0 ) {
+      return 0;
+    }
+    position += skipLength;
+    return skipLength;
+  }
+
+  @Override
+  public int available() throws IOException {
+    return (int)Math.min( Math.max( size - position , 0 ) , Integer.MAX_VALUE );
+  }
+
+  @Override
+  public void close() throws IOException {
+    channel.close();
+  }
+
+}
@@ -0,0 +1,249 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.co.yahoo.yosegi.util.io.alp;
+
+import jp.co.yahoo.yosegi.util.io.bitpack.BitPackBlockEncoder;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Encode double and float values with ALP, or with byte stream split if ALP is larger.
+ * ALP stores the decimal-scaled longs bit-packed as the offset from the minimum,
+ * and the values that can not be scaled as exceptions with their position.
+ * Byte stream split stores the n-th byte of all values together, so that
+ * the compressor sees the similar sign and exponent bytes in a row.
+ */
+public final class AlpEncoder {
+
+  public static final byte ALP = (byte)0;
+  public static final byte BYTE_STREAM_SPLIT = (byte)1;
+
+  private static final int BLOCK_SIZE = BitPackBlockEncoder.BLOCK_SIZE;
+
+  private AlpEncoder() {}
+
+  /**
+   * Encode the double values.
+   */
+  public static byte[] toBinary( final double[] values , final int rows ) {
+    long[] bitsArray = new long[rows];
+    for ( int i = 0 ; i < rows ; i++ ) {
+      bitsArray[i] = Double.doubleToRawLongBits( values[i] );
+    }
+    return toBinary( bitsArray , rows , Double.BYTES );
+  }
+
+  /**
+   * Encode the float values.
+   */
+  public static byte[] toBinary( final float[] values , final int rows ) {
+    long[] bitsArray = new long[rows];
+    for ( int i = 0 ; i < rows ; i++ ) {
+      bitsArray[i] = Float.floatToRawIntBits( values[i] );
+    }
+    return toBinary( bitsArray , rows , Float.BYTES );
+  }
+
+  /**
+   * Encode the raw bits of double or float values.
+   * The width is Double.BYTES or Float.BYTES.
+   */
+  public static byte[] toBinary( final long[] bitsArray , final int rows , final int valueBytes ) {
+    AlpStatistics statistics = new AlpStatistics( valueBytes );
+    for ( int i = 0 ; i < rows ; i++ ) {
+      statistics.add( AlpUtils.toValue( bitsArray[i] , valueBytes ) );
+    }
+    if ( statistics.calcByteStreamSplitBinarySize() <= statistics.calcAlpBinarySize() ) {
+      return toByteStreamSplitBinary( bitsArray , rows , valueBytes );
+    }
+
+    int exponent = statistics.chooseExponent();
+    long[] encodedArray = new long[rows];
+    boolean[] isExceptionArray = new boolean[rows];
+    int exceptionCount = 0;
+    for ( int i = 0 ; i < rows ; i++ ) {
+      double value = AlpUtils.toValue( bitsArray[i] , valueBytes );
+      if ( AlpUtils.isEncodable( value , exponent , valueBytes ) ) {
+        encodedArray[i] = AlpUtils.encode( value , exponent );
+      } else {
+        isExceptionArray[i] = true;
+        exceptionCount++;
+      }
+    }
+    long minEncoded = toOffset( encodedArray , isExceptionArray , rows );
+    byte[] binary = createAlpBinary( encodedArray , isExceptionArray , rows ,
+        exponent , minEncoded , exceptionCount , valueBytes );
+    ByteBuffer wrapBuffer = ByteBuffer.wrap( binary );
+    wrapBuffer.position( binary.length - exceptionCount * valueBytes );
+    for ( int i = 0 ; i < rows ; i++ ) {
+      if ( ! isExceptionArray[i] ) {
+        continue;
+      }
+      if ( valueBytes == Float.BYTES ) {
+        wrapBuffer.putInt( (int)bitsArray[i] );
+      } else {
+        wrapBuffer.putLong( bitsArray[i] );
+      }
+    }
+    return binary;
+  }
+
+  /**
+   * Replace the encoded values with the offset from the minimum and return the minimum.
+   * The exceptions become 0.
+   */
+  private static long toOffset(
+      final long[] encodedArray , final boolean[] isExceptionArray , final int rows ) {
+    long minEncoded = Long.MAX_VALUE;
+    boolean hasValue = false;
+    for ( int i = 0 ; i < rows ; i++ ) {
+      if ( ! isExceptionArray[i] ) {
+        minEncoded = Math.min( minEncoded , encodedArray[i] );
+        hasValue = true;
+      }
+    }
+    if ( ! hasValue ) {
+      return 0;
+    }
+    for ( int i = 0 ; i < rows ; i++ ) {
+      encodedArray[i] = isExceptionArray[i] ? 0 : encodedArray[i] - minEncoded;
+    }
+    return minEncoded;
+  }
+
+  private static byte[] createAlpBinary(
+      final long[] offsetArray ,
+      final boolean[] isExceptionArray ,
+      final int rows ,
+      final int exponent ,
+      final long minEncoded ,
+      final int exceptionCount ,
+      final int valueBytes ) {
+    int valueLength = BitPackBlockEncoder.calcBinarySize( offsetArray , 0 , rows );
+    byte[] binary = new byte[ AlpStatistics.ALP_HEADER_LENGTH + valueLength
+        + exceptionCount * ( Integer.BYTES + valueBytes ) ];
+    ByteBuffer wrapBuffer = ByteBuffer.wrap( binary );
+    wrapBuffer.put( ALP );
+    wrapBuffer.put( (byte)exponent );
+    wrapBuffer.putLong( minEncoded );
+    wrapBuffer.putInt( exceptionCount );
+    int offset = BitPackBlockEncoder.toBinary(
+        offsetArray , 0 , rows , binary , AlpStatistics.ALP_HEADER_LENGTH );
+    wrapBuffer.position( offset );
+    for ( int i = 0 ; i < rows ; i++ ) {
+      if ( isExceptionArray[i] ) {
+        wrapBuffer.putInt( i );
+      }
+    }
+    return binary;
+  }
+
+  private static byte[] toByteStreamSplitBinary(
+      final long[] bitsArray , final int rows , final int valueBytes ) {
+    byte[] binary = new byte[ AlpStatistics.BYTE_STREAM_SPLIT_HEADER_LENGTH + rows * valueBytes ];
+    binary[0] = BYTE_STREAM_SPLIT;
+    for ( int i = 0 ; i < valueBytes ; i++ ) {
+      int streamStart = AlpStatistics.BYTE_STREAM_SPLIT_HEADER_LENGTH + i * rows;
+      int shift = i * Byte.SIZE;
+      for ( int n = 0 ; n < rows ; n++ ) {
+        binary[ streamStart + n ] = (byte)( bitsArray[n] >>> shift );
+      }
+    }
+    return binary;
+  }
+
+  private static long[] fromByteStreamSplitBinary(
+      final byte[] buffer , final int start , final int rows , final int valueBytes ) {
+    long[] bitsArray = new long[rows];
+    for ( int i = 0 ; i < valueBytes ; i++ ) {
+      int streamStart = start + AlpStatistics.BYTE_STREAM_SPLIT_HEADER_LENGTH + i * rows;
+      int shift = i * Byte.SIZE;
+      for ( int n = 0 ; n < rows ; n++ ) {
+        bitsArray[n] |= ( buffer[ streamStart + n ] & 0xFFL ) << shift;
+      }
+    }
+    return bitsArray;
+  }
+
+  /**
+   * Decode the raw bits of double or float values.
+   * The width is Double.BYTES or Float.BYTES.
+   */
+  public static long[] toBitsArray(
+      final byte[] buffer , final int start , final int rows , final int valueBytes ) {
+    if ( buffer[start] == BYTE_STREAM_SPLIT ) {
+      return fromByteStreamSplitBinary( buffer , start , rows , valueBytes );
+    }
+
+    long[] result = new long[rows];
+    ByteBuffer wrapBuffer = ByteBuffer.wrap( buffer , start , buffer.length - start );
+    wrapBuffer.get();
+    final int exponent = wrapBuffer.get();
+    final long minEncoded = wrapBuffer.getLong();
+    final int exceptionCount = wrapBuffer.getInt();
+    int offset = start + AlpStatistics.ALP_HEADER_LENGTH;
+    long[] blockArray = new long[BLOCK_SIZE];
+    for ( int index = 0 ; index < rows ; index += BLOCK_SIZE ) {
+      int blockLength = Math.min( BLOCK_SIZE , rows - index );
+      offset = BitPackBlockEncoder.readBlock( buffer , offset , blockLength , blockArray );
+      for ( int i = 0 ; i < blockLength ; i++ ) {
+        result[ index + i ] =
+            AlpUtils.decodeBits( minEncoded + blockArray[i] , exponent , valueBytes );
+      }
+    }
+    wrapBuffer.position( offset );
+    int[] exceptionIndexArray = new int[exceptionCount];
+    for ( int i = 0 ; i < exceptionCount ; i++ ) {
+      exceptionIndexArray[i] = wrapBuffer.getInt();
+    }
+    for ( int i = 0 ; i < exceptionCount ; i++ ) {
+      if ( valueBytes == Float.BYTES ) {
+        result[ exceptionIndexArray[i] ] = wrapBuffer.getInt();
+      } else {
+        result[ exceptionIndexArray[i] ] = wrapBuffer.getLong();
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Decode the double values.
+   */
+  public static double[] toDoubleArray( final byte[] buffer , final int start , final int rows ) {
+    long[] bitsArray = toBitsArray( buffer , start , rows , Double.BYTES );
+    double[] result = new double[rows];
+    for ( int i = 0 ; i < rows ; i++ ) {
+      result[i] = Double.longBitsToDouble( bitsArray[i] );
+    }
+    return result;
+  }
+
+  /**
+   * Decode the float values.
+   */
+  public static float[] toFloatArray( final byte[] buffer , final int start , final int rows ) {
+    long[] bitsArray = toBitsArray( buffer , start , rows , Float.BYTES );
+    float[] result = new float[rows];
+    for ( int i = 0 ; i < rows ; i++ ) {
+      result[i] = Float.intBitsToFloat( (int)bitsArray[i] );
+    }
+    return result;
+  }
+
+}
@@ -0,0 +1,153 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.co.yahoo.yosegi.util.io.alp;
+
+import jp.co.yahoo.yosegi.util.io.bitpack.BitPackBlockEncoder;
+import jp.co.yahoo.yosegi.util.io.bitpack.BitPackUtils;
+
+/**
+ * Count the smallest exponent of each value to choose the exponent of a column.
+ * A value that needs a larger exponent than the chosen one is stored as an exception.
+ */
+public class AlpStatistics {
+
+  // encoding, exponent, minEncoded, exceptionCount
+  public static final int ALP_HEADER_LENGTH = Byte.BYTES * 2 + Long.BYTES + Integer.BYTES;
+  public static final int BYTE_STREAM_SPLIT_HEADER_LENGTH = Byte.BYTES;
+
+  private final int valueBytes;
+  private final int[] exponentCounts;
+  private final double[] minArray;
+  private final double[] maxArray;
+  private int rowCount;
+
+  /**
+   * Create statistics of double or float values.
+   */
+  public AlpStatistics( final int valueBytes ) {
+    this.valueBytes = valueBytes;
+    if ( valueBytes == Float.BYTES ) {
+      exponentCounts = new int[ AlpUtils.MAX_FLOAT_EXPONENT + 1 ];
+    } else {
+      exponentCounts = new int[ AlpUtils.MAX_DOUBLE_EXPONENT + 1 ];
+    }
+    minArray = new double[exponentCounts.length];
+    maxArray = new double[exponentCounts.length];
+  }
+
+  /**
+   * Add a value of the width. A float value is passed widened to double.
+   */
+  public void add( final double value ) {
+    rowCount++;
+    addExponent( value , AlpUtils.getExponent( value , valueBytes ) );
+  }
+
+  /**
+   * Add a float value.
+   */
+  public void add( final float value ) {
+    rowCount++;
+    addExponent( value , AlpUtils.getExponent( value ) );
+  }
+
+  private void addExponent( final double value , final int exponent ) {
+    if ( exponent < 0 ) {
+      return;
+    }
+    if ( exponentCounts[exponent] == 0 ) {
+      minArray[exponent] = value;
+      maxArray[exponent] = value;
+    } else {
+      minArray[exponent] = Math.min( minArray[exponent] , value );
+      maxArray[exponent] = Math.max( maxArray[exponent] , value );
+    }
+    exponentCounts[exponent]++;
+  }
+
+  public int getRowCount() {
+    return rowCount;
+  }
+
+  /**
+   * Calculate the ALP binary size of each exponent.
+   * An exponent that overflows the range of long is Integer.MAX_VALUE.
+   */
+  private int[] calcAlpBinarySizeArray() {
+    int[] result = new int[exponentCounts.length];
+    int encodableCount = 0;
+    double min = Double.POSITIVE_INFINITY;
+    double max = Double.NEGATIVE_INFINITY;
+    for ( int i = 0 ; i < exponentCounts.length ; i++ ) {
+      if ( 0 < exponentCounts[i] ) {
+        encodableCount += exponentCounts[i];
+        min = Math.min( min , minArray[i] );
+        max = Math.max( max , maxArray[i] );
+      }
+      int bitWidth = 0;
+      if ( 0 < encodableCount ) {
+        if ( ! AlpUtils.isEncodable( min , i , valueBytes )
+            || ! AlpUtils.isEncodable( max , i , valueBytes ) ) {
+          result[i] = Integer.MAX_VALUE;
+          continue;
+        }
+        bitWidth = BitPackUtils.getBitWidth(
+            AlpUtils.encode( max , i ) - AlpUtils.encode( min , i ) );
+      }
+      int exceptionCount = rowCount - encodableCount;
+      result[i] = ALP_HEADER_LENGTH
+          + BitPackBlockEncoder.calcBinarySize( rowCount , bitWidth )
+          + exceptionCount * ( Integer.BYTES + valueBytes );
+    }
+    return result;
+  }
+
+  /**
+   * Choose the exponent with the smallest ALP binary.
+   */
+  public int chooseExponent() {
+    int[] sizeArray = calcAlpBinarySizeArray();
+    int exponent = 0;
+    for ( int i = 1 ; i < sizeArray.length ; i++ ) {
+      if ( sizeArray[i] < sizeArray[exponent] ) {
+        exponent = i;
+      }
+    }
+    return exponent;
+  }
+
+  /**
+   * Calculate the ALP binary size with the chosen exponent.
+   */
+  public int calcAlpBinarySize() {
+    return calcAlpBinarySizeArray()[ chooseExponent() ];
+  }
+
+  public int calcByteStreamSplitBinarySize() {
+    return BYTE_STREAM_SPLIT_HEADER_LENGTH + rowCount * valueBytes;
+  }
+
+  /**
+   * Calculate the smaller binary size of ALP and byte stream split.
+   */
+  public int calcBinarySize() {
+    return Math.min( calcAlpBinarySize() , calcByteStreamSplitBinarySize() );
+  }
+
+}
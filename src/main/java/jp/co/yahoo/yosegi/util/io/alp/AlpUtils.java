@@ -0,0 +1,133 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.co.yahoo.yosegi.util.io.alp;
+
+/**
+ * Adaptive lossless floating point encoding.
+ * A value is multiplied by 10^exponent and rounded to long, and it is
+ * encodable only if dividing the long by 10^exponent gives the same bits.
+ */
+public final class AlpUtils {
+
+  public static final int MAX_DOUBLE_EXPONENT = 18;
+  public static final int MAX_FLOAT_EXPONENT = 10;
+
+  private static final double[] POW10 = new double[]{
+    1e0 , 1e1 , 1e2 , 1e3 , 1e4 , 1e5 , 1e6 , 1e7 , 1e8 , 1e9 ,
+    1e10 , 1e11 , 1e12 , 1e13 , 1e14 , 1e15 , 1e16 , 1e17 , 1e18
+  };
+
+  private AlpUtils() {}
+
+  public static long encode( final double value , final int exponent ) {
+    return Math.round( value * POW10[exponent] );
+  }
+
+  public static double decodeDouble( final long encoded , final int exponent ) {
+    return encoded / POW10[exponent];
+  }
+
+  public static float decodeFloat( final long encoded , final int exponent ) {
+    return (float)( encoded / POW10[exponent] );
+  }
+
+  /**
+   * Returns true if the value is restored from the encoded long.
+   * NaN, infinity and -0.0 are never encodable.
+   */
+  public static boolean isEncodable( final double value , final int exponent ) {
+    return Double.doubleToRawLongBits( decodeDouble( encode( value , exponent ) , exponent ) )
+        == Double.doubleToRawLongBits( value );
+  }
+
+  /**
+   * Returns true if the value is restored from the encoded long.
+   */
+  public static boolean isEncodable( final float value , final int exponent ) {
+    return Float.floatToRawIntBits( decodeFloat( encode( value , exponent ) , exponent ) )
+        == Float.floatToRawIntBits( value );
+  }
+
+  /**
+   * Returns true if the value of the width is restored from the encoded long.
+   * A float value is passed widened to double.
+   */
+  public static boolean isEncodable(
+      final double value , final int exponent , final int valueBytes ) {
+    if ( valueBytes == Float.BYTES ) {
+      return isEncodable( (float)value , exponent );
+    }
+    return isEncodable( value , exponent );
+  }
+
+  /**
+   * Convert the raw bits of a double or float value to double.
+   */
+  public static double toValue( final long bits , final int valueBytes ) {
+    if ( valueBytes == Float.BYTES ) {
+      return Float.intBitsToFloat( (int)bits );
+    }
+    return Double.longBitsToDouble( bits );
+  }
+
+  /**
+   * Decode the encoded long to the raw bits of a double or float value.
+   */
+  public static long decodeBits( final long encoded , final int exponent , final int valueBytes ) {
+    if ( valueBytes == Float.BYTES ) {
+      return Float.floatToRawIntBits( decodeFloat( encoded , exponent ) );
+    }
+    return Double.doubleToRawLongBits( decodeDouble( encoded , exponent ) );
+  }
+
+  /**
+   * Get the smallest exponent that can encode the value, or -1.
+   */
+  public static int getExponent( final double value ) {
+    for ( int i = 0 ; i <= MAX_DOUBLE_EXPONENT ; i++ ) {
+      if ( isEncodable( value , i ) ) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Get the smallest exponent that can encode the value, or -1.
+   */
+  public static int getExponent( final float value ) {
+    for ( int i = 0 ; i <= MAX_FLOAT_EXPONENT ; i++ ) {
+      if ( isEncodable( value , i ) ) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Get the smallest exponent that can encode the value of the width, or -1.
+   */
+  public static int getExponent( final double value , final int valueBytes ) {
+    if ( valueBytes == Float.BYTES ) {
+      return getExponent( (float)value );
+    }
+    return getExponent( value );
+  }
+
+}
@@ -0,0 +1,104 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.co.yahoo.yosegi.util.io.bitpack;
+
+/**
+ * Pack unsigned values in blocks of 128 values.
+ * Each block starts with a byte of its bit width followed by the packed values,
+ * so a block of small values does not pay for the largest value of the column.
+ */
+public final class BitPackBlockEncoder {
+
+  public static final int BLOCK_SIZE = 128;
+
+  private BitPackBlockEncoder() {}
+
+  /**
+   * Calculate the binary size when all blocks use the same bit width.
+   */
+  public static int calcBinarySize( final int count , final int bitWidth ) {
+    int blockCount = ( count + BLOCK_SIZE - 1 ) / BLOCK_SIZE;
+    return blockCount + BitPackUtils.getPackedLength( count , bitWidth );
+  }
+
+  /**
+   * Calculate the binary size of the values.
+   */
+  public static int calcBinarySize( final long[] values , final int start , final int count ) {
+    int length = 0;
+    for ( int blockStart = 0 ; blockStart < count ; blockStart += BLOCK_SIZE ) {
+      int blockLength = Math.min( BLOCK_SIZE , count - blockStart );
+      int bitWidth = getBitWidth( values , start + blockStart , blockLength );
+      length += 1 + BitPackUtils.getPackedLength( blockLength , bitWidth );
+    }
+    return length;
+  }
+
+  private static int getBitWidth( final long[] values , final int start , final int count ) {
+    long mergedValue = 0;
+    for ( int i = start ; i < start + count ; i++ ) {
+      mergedValue |= values[i];
+    }
+    return BitPackUtils.getBitWidth( mergedValue );
+  }
+
+  /**
+   * Write the values into the buffer filled with zero.
+   * Returns the offset next to the written binary.
+   */
+  public static int toBinary(
+      final long[] values ,
+      final int start ,
+      final int count ,
+      final byte[] buffer ,
+      final int offset ) {
+    int currentOffset = offset;
+    for ( int blockStart = 0 ; blockStart < count ; blockStart += BLOCK_SIZE ) {
+      int blockLength = Math.min( BLOCK_SIZE , count - blockStart );
+      int bitWidth = getBitWidth( values , start + blockStart , blockLength );
+      buffer[currentOffset++] = (byte)bitWidth;
+      currentOffset += BitPackUtils.pack(
+          values , start + blockStart , blockLength , bitWidth , buffer , currentOffset );
+    }
+    return currentOffset;
+  }
+
+  /**
+   * Read a block of count values, which is BLOCK_SIZE except for the last block.
+   * Returns the offset of the next block.
+   */
+  public static int readBlock(
+      final byte[] buffer , final int offset , final int count , final long[] dst ) {
+    int bitWidth = buffer[offset] & 0xFF;
+    BitPackUtils.unpack( buffer , offset + 1 , count , bitWidth , dst , 0 );
+    return offset + 1 + BitPackUtils.getPackedLength( count , bitWidth );
+  }
+
+  /**
+   * Read a block of count values into int array. The bit width must be 32 or less.
+   * Returns the offset of the next block.
+   */
+  public static int readBlock(
+      final byte[] buffer , final int offset , final int count , final int[] dst ) {
+    int bitWidth = buffer[offset] & 0xFF;
+    BitPackUtils.unpack( buffer , offset + 1 , count , bitWidth , dst , 0 );
+    return offset + 1 + BitPackUtils.getPackedLength( count , bitWidth );
+  }
+
+}
@@ -0,0 +1,220 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.co.yahoo.yosegi.util.io.bitpack;
+
+import java.util.Arrays;
+
+/**
+ * Pack unsigned values with an arbitrary bit width from 0 to 64.
+ * Values are written from the lowest bit in little endian order, and
+ * eight values always fill bitWidth bytes, so the packed binary is padded
+ * to a multiple of eight values.
+ */
+public final class BitPackUtils {
+
+  public static final int GROUP_SIZE = 8;
+
+  private static final int MAX_NARROW_BIT_WIDTH = 56;
+
+  private BitPackUtils() {}
+
+  /**
+   * Get the number of bits needed to hold the value as unsigned.
+   */
+  public static int getBitWidth( final long value ) {
+    return Long.SIZE - Long.numberOfLeadingZeros( value );
+  }
+
+  /**
+   * Get the binary size to pack the values.
+   */
+  public static int getPackedLength( final int count , final int bitWidth ) {
+    return ( ( count + GROUP_SIZE - 1 ) / GROUP_SIZE ) * bitWidth;
+  }
+
+  private static long getMask( final int bitWidth ) {
+    return bitWidth == Long.SIZE ? -1L : ( 1L << bitWidth ) - 1L;
+  }
+
+  /**
+   * Pack the values into the buffer. The buffer range must be filled with zero.
+   * Returns the packed binary size.
+   */
+  public static int pack(
+      final long[] src ,
+      final int srcStart ,
+      final int count ,
+      final int bitWidth ,
+      final byte[] dst ,
+      final int dstStart ) {
+    long mask = getMask( bitWidth );
+    int offset = dstStart;
+    int bitOffset = 0;
+    for ( int i = 0 ; i < count && 0 < bitWidth ; i++ ) {
+      long value = src[ srcStart + i ] & mask;
+      int remaining = bitWidth;
+      while ( 0 < remaining ) {
+        dst[offset] |= (byte)( value << bitOffset );
+        int written = Math.min( Byte.SIZE - bitOffset , remaining );
+        value >>>= written;
+        remaining -= written;
+        bitOffset += written;
+        if ( bitOffset == Byte.SIZE ) {
+          offset++;
+          bitOffset = 0;
+        }
+      }
+    }
+    return getPackedLength( count , bitWidth );
+  }
+
+  /**
+   * Unpack the values into long array.
+   */
+  public static void unpack(
+      final byte[] src ,
+      final int start ,
+      final int count ,
+      final int bitWidth ,
+      final long[] dst ,
+      final int dstStart ) {
+    if ( bitWidth == 0 ) {
+      Arrays.fill( dst , dstStart , dstStart + count , 0L );
+      return;
+    }
+    int offset = start;
+    int dstOffset = dstStart;
+    int fullGroupEnd = dstStart + ( count / GROUP_SIZE ) * GROUP_SIZE;
+    for ( ; dstOffset < fullGroupEnd ; dstOffset += GROUP_SIZE , offset += bitWidth ) {
+      unpackGroup( src , offset , bitWidth , dst , dstOffset );
+    }
+    int remainder = dstStart + count - dstOffset;
+    if ( 0 < remainder ) {
+      long[] group = new long[GROUP_SIZE];
+      unpackGroup( src , offset , bitWidth , group , 0 );
+      System.arraycopy( group , 0 , dst , dstOffset , remainder );
+    }
+  }
+
+  /**
+   * Unpack the values into int array. The bit width must be 32 or less.
+   */
+  public static void unpack(
+      final byte[] src ,
+      final int start ,
+      final int count ,
+      final int bitWidth ,
+      final int[] dst ,
+      final int dstStart ) {
+    if ( Integer.SIZE < bitWidth ) {
+      throw new IllegalArgumentException( "Bit width exceeds int : " + bitWidth );
+    }
+    if ( bitWidth == 0 ) {
+      Arrays.fill( dst , dstStart , dstStart + count , 0 );
+      return;
+    }
+    int offset = start;
+    int dstOffset = dstStart;
+    int fullGroupEnd = dstStart + ( count / GROUP_SIZE ) * GROUP_SIZE;
+    for ( ; dstOffset < fullGroupEnd ; dstOffset += GROUP_SIZE , offset += bitWidth ) {
+      unpackGroup( src , offset , bitWidth , dst , dstOffset );
+    }
+    int remainder = dstStart + count - dstOffset;
+    if ( 0 < remainder ) {
+      int[] group = new int[GROUP_SIZE];
+      unpackGroup( src , offset , bitWidth , group , 0 );
+      System.arraycopy( group , 0 , dst , dstOffset , remainder );
+    }
+  }
+
+  private static void unpackGroup(
+      final byte[] src ,
+      final int start ,
+      final int bitWidth ,
+      final long[] dst ,
+      final int dstStart ) {
+    if ( MAX_NARROW_BIT_WIDTH < bitWidth ) {
+      unpackWideGroup( src , start , bitWidth , dst , dstStart );
+      return;
+    }
+    long mask = getMask( bitWidth );
+    long buffer = 0;
+    int bits = 0;
+    int offset = start;
+    for ( int i = 0 ; i < GROUP_SIZE ; i++ ) {
+      while ( bits < bitWidth ) {
+        buffer |= ( src[offset++] & 0xFFL ) << bits;
+        bits += Byte.SIZE;
+      }
+      dst[ dstStart + i ] = buffer & mask;
+      buffer >>>= bitWidth;
+      bits -= bitWidth;
+    }
+  }
+
+  private static void unpackGroup(
+      final byte[] src ,
+      final int start ,
+      final int bitWidth ,
+      final int[] dst ,
+      final int dstStart ) {
+    long mask = getMask( bitWidth );
+    long buffer = 0;
+    int bits = 0;
+    int offset = start;
+    for ( int i = 0 ; i < GROUP_SIZE ; i++ ) {
+      while ( bits < bitWidth ) {
+        buffer |= ( src[offset++] & 0xFFL ) << bits;
+        bits += Byte.SIZE;
+      }
+      dst[ dstStart + i ] = (int)( buffer & mask );
+      buffer >>>= bitWidth;
+      bits -= bitWidth;
+    }
+  }
+
+  /**
+   * A value wider than 56 bits may not fit in the buffer with the remaining bits,
+   * so the bits of the last byte that belong to the next value are kept separately.
+   */
+  private static void unpackWideGroup(
+      final byte[] src ,
+      final int start ,
+      final int bitWidth ,
+      final long[] dst ,
+      final int dstStart ) {
+    long mask = getMask( bitWidth );
+    long buffer = 0;
+    int bits = 0;
+    int offset = start;
+    for ( int i = 0 ; i < GROUP_SIZE ; i++ ) {
+      long value = buffer;
+      int filled = bits;
+      while ( filled < bitWidth ) {
+        value |= ( src[offset++] & 0xFFL ) << filled;
+        filled += Byte.SIZE;
+      }
+      int extra = filled - bitWidth;
+      dst[ dstStart + i ] = value & mask;
+      buffer = extra == 0 ? 0 : ( src[ offset - 1 ] & 0xFFL ) >>> ( Byte.SIZE - extra );
+      bits = extra;
+    }
+  }
+
+}
@@ -0,0 +1,129 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.co.yahoo.yosegi.util.io.fsst;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Dictionary of strings encoded with a FsstSymbolTable.
+ * Each string is encoded separately, so it can be decoded or compared
+ * without decoding the other strings.
+ */
+public class FsstStringDictionary {
+
+  private final FsstSymbolTable symbolTable;
+  private final byte[] buffer;
+  private final ByteBuffer wrapBuffer;
+  private final int offsetStart;
+  private final int valueStart;
+  private final int size;
+
+  /**
+   * Read the dictionary written by toBinary.
+   * The buffer is referred to and not copied.
+   */
+  public FsstStringDictionary( final byte[] buffer , final int start ) {
+    this.buffer = buffer;
+    wrapBuffer = ByteBuffer.wrap( buffer );
+    symbolTable = FsstSymbolTable.read( buffer , start );
+    int tableLength = symbolTable.getBinarySize();
+    size = wrapBuffer.getInt( start + tableLength );
+    offsetStart = start + tableLength + Integer.BYTES;
+    valueStart = offsetStart + Integer.BYTES * ( size + 1 );
+  }
+
+  /**
+   * Train a table from the values and encode them.
+   * Layout: symbol table, size, offsets of size + 1, encoded values.
+   */
+  public static byte[] toBinary( final List<byte[]> valueList ) {
+    FsstSymbolTable symbolTable = FsstSymbolTable.train( valueList );
+    List<byte[]> encodedList = new ArrayList<byte[]>( valueList.size() );
+    int valueLength = 0;
+    for ( byte[] value : valueList ) {
+      byte[] encoded = symbolTable.encode( value );
+      encodedList.add( encoded );
+      valueLength += encoded.length;
+    }
+    int tableLength = symbolTable.getBinarySize();
+    byte[] binary = new byte[ tableLength + Integer.BYTES
+        + Integer.BYTES * ( encodedList.size() + 1 ) + valueLength ];
+    symbolTable.toBinary( binary , 0 );
+    ByteBuffer wrapBuffer = ByteBuffer.wrap( binary );
+    wrapBuffer.position( tableLength );
+    wrapBuffer.putInt( encodedList.size() );
+    int offset = 0;
+    wrapBuffer.putInt( offset );
+    for ( byte[] encoded : encodedList ) {
+      offset += encoded.length;
+      wrapBuffer.putInt( offset );
+    }
+    for ( byte[] encoded : encodedList ) {
+      wrapBuffer.put( encoded );
+    }
+    return binary;
+  }
+
+  public FsstSymbolTable getSymbolTable() {
+    return symbolTable;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  private int getOffset( final int index ) {
+    return wrapBuffer.getInt( offsetStart + Integer.BYTES * index );
+  }
+
+  /**
+   * Decode the string of the index.
+   */
+  public byte[] get( final int index ) {
+    int start = getOffset( index );
+    return symbolTable.decode( buffer , valueStart + start , getOffset( index + 1 ) - start );
+  }
+
+  /**
+   * Returns true if the string of the index is encoded to the same bytes.
+   */
+  public boolean isEqual( final int index , final byte[] encodedValue ) {
+    int start = getOffset( index );
+    if ( getOffset( index + 1 ) - start != encodedValue.length ) {
+      return false;
+    }
+    for ( int i = 0 ; i < encodedValue.length ; i++ ) {
+      if ( buffer[ valueStart + start + i ] != encodedValue[i] ) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Returns true if the string of the index starts with the prefix of the matcher.
+   */
+  public boolean startsWith( final int index , final FsstSymbolTable.PrefixMatcher matcher ) {
+    int start = getOffset( index );
+    return matcher.match( buffer , valueStart + start , getOffset( index + 1 ) - start );
+  }
+
+}
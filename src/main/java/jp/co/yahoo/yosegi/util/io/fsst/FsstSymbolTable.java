@@ -0,0 +1,341 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.co.yahoo.yosegi.util.io.fsst;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Static symbol table of FSST (Fast Static Symbol Table) string compression.
+ * Each code byte is a symbol of up to 8 bytes, and the escape code is followed
+ * by a literal byte. A value is encoded by taking the longest symbol at each
+ * position, so the same value is always encoded to the same bytes.
+ */
+public class FsstSymbolTable {
+
+  public static final int MAX_SYMBOL_LENGTH = 8;
+  public static final int MAX_SYMBOL_COUNT = 255;
+  public static final int ESCAPE = 255;
+
+  private static final int GENERATIONS = 5;
+  private static final int MAX_SAMPLE_BYTES = 1 << 16;
+  private static final int[] EMPTY_CODES = new int[0];
+
+  private final byte[][] symbolArray;
+  private final int[][] candidateArray = new int[256][];
+
+  /**
+   * Create a table of the symbols.
+   */
+  public FsstSymbolTable( final byte[][] symbolArray ) {
+    if ( MAX_SYMBOL_COUNT < symbolArray.length ) {
+      throw new IllegalArgumentException(
+          "Symbol count must be " + MAX_SYMBOL_COUNT + " or less : " + symbolArray.length );
+    }
+    this.symbolArray = symbolArray;
+    List<List<Integer>> codeListArray = new ArrayList<List<Integer>>();
+    for ( int i = 0 ; i < candidateArray.length ; i++ ) {
+      codeListArray.add( new ArrayList<Integer>() );
+    }
+    for ( int i = 0 ; i < symbolArray.length ; i++ ) {
+      byte[] symbol = symbolArray[i];
+      if ( symbol.length == 0 || MAX_SYMBOL_LENGTH < symbol.length ) {
+        throw new IllegalArgumentException( "Invalid symbol length : " + symbol.length );
+      }
+      codeListArray.get( symbol[0] & 0xFF ).add( i );
+    }
+    for ( int i = 0 ; i < candidateArray.length ; i++ ) {
+      List<Integer> codeList = codeListArray.get( i );
+      if ( codeList.isEmpty() ) {
+        candidateArray[i] = EMPTY_CODES;
+        continue;
+      }
+      codeList.sort( ( left , right ) -> symbolArray[right].length - symbolArray[left].length );
+      candidateArray[i] = new int[codeList.size()];
+      for ( int n = 0 ; n < candidateArray[i].length ; n++ ) {
+        candidateArray[i][n] = codeList.get( n );
+      }
+    }
+  }
+
+  /**
+   * Build a table from the values.
+   * The symbols are chosen by the saved bytes in a few rounds over a sample.
+   */
+  public static FsstSymbolTable train( final List<byte[]> valueList ) {
+    long totalBytes = 0;
+    for ( byte[] value : valueList ) {
+      totalBytes += value.length;
+    }
+    int step = (int)Math.max( 1 , totalBytes / MAX_SAMPLE_BYTES );
+    List<byte[]> sampleList = new ArrayList<byte[]>();
+    for ( int i = 0 ; i < valueList.size() ; i += step ) {
+      sampleList.add( valueList.get( i ) );
+    }
+
+    FsstSymbolTable table = new FsstSymbolTable( new byte[0][] );
+    for ( int generation = 0 ; generation < GENERATIONS ; generation++ ) {
+      Map<String,Integer> countMap = new HashMap<String,Integer>();
+      for ( byte[] value : sampleList ) {
+        String previous = null;
+        int position = 0;
+        while ( position < value.length ) {
+          int code = table.findCode( value , position , value.length );
+          int length = code == ESCAPE ? 1 : table.symbolArray[code].length;
+          String current = new String( value , position , length , StandardCharsets.ISO_8859_1 );
+          countMap.merge( current , 1 , Integer::sum );
+          if ( previous != null && previous.length() + length <= MAX_SYMBOL_LENGTH ) {
+            countMap.merge( previous + current , 1 , Integer::sum );
+          }
+          previous = current;
+          position += length;
+        }
+      }
+      table = new FsstSymbolTable( selectSymbols( countMap ) );
+    }
+    return table;
+  }
+
+  private static byte[][] selectSymbols( final Map<String,Integer> countMap ) {
+    List<Map.Entry<String,Integer>> entryList =
+        new ArrayList<Map.Entry<String,Integer>>( countMap.entrySet() );
+    Collections.sort( entryList , ( left , right ) -> {
+      long leftGain = (long)left.getValue() * left.getKey().length();
+      long rightGain = (long)right.getValue() * right.getKey().length();
+      if ( leftGain != rightGain ) {
+        return leftGain < rightGain ? 1 : -1;
+      }
+      return left.getKey().compareTo( right.getKey() );
+    } );
+    int symbolCount = Math.min( MAX_SYMBOL_COUNT , entryList.size() );
+    byte[][] result = new byte[symbolCount][];
+    for ( int i = 0 ; i < symbolCount ; i++ ) {
+      result[i] = entryList.get( i ).getKey().getBytes( StandardCharsets.ISO_8859_1 );
+    }
+    return result;
+  }
+
+  /**
+   * Get the code of the longest symbol at the position, or ESCAPE.
+   */
+  private int findCode( final byte[] buffer , final int position , final int end ) {
+    for ( int code : candidateArray[ buffer[position] & 0xFF ] ) {
+      byte[] symbol = symbolArray[code];
+      if ( end - position < symbol.length ) {
+        continue;
+      }
+      int matchLength = 1;
+      while ( matchLength < symbol.length
+          && symbol[matchLength] == buffer[ position + matchLength ] ) {
+        matchLength++;
+      }
+      if ( matchLength == symbol.length ) {
+        return code;
+      }
+    }
+    return ESCAPE;
+  }
+
+  public int getSymbolCount() {
+    return symbolArray.length;
+  }
+
+  public byte[] getSymbol( final int code ) {
+    return symbolArray[code];
+  }
+
+  /**
+   * Encode the value.
+   */
+  public byte[] encode( final byte[] value , final int start , final int length ) {
+    byte[] buffer = new byte[ length * 2 ];
+    int offset = 0;
+    int position = start;
+    int end = start + length;
+    while ( position < end ) {
+      int code = findCode( value , position , end );
+      buffer[offset++] = (byte)code;
+      if ( code == ESCAPE ) {
+        buffer[offset++] = value[position++];
+      } else {
+        position += symbolArray[code].length;
+      }
+    }
+    byte[] result = new byte[offset];
+    System.arraycopy( buffer , 0 , result , 0 , offset );
+    return result;
+  }
+
+  public byte[] encode( final byte[] value ) {
+    return encode( value , 0 , value.length );
+  }
+
+  /**
+   * Decode the encoded bytes.
+   */
+  public byte[] decode( final byte[] buffer , final int start , final int length ) {
+    int end = start + length;
+    int decodedLength = 0;
+    for ( int position = start ; position < end ; position++ ) {
+      int code = buffer[position] & 0xFF;
+      if ( code == ESCAPE ) {
+        position++;
+        decodedLength++;
+      } else {
+        decodedLength += symbolArray[code].length;
+      }
+    }
+    byte[] result = new byte[decodedLength];
+    int offset = 0;
+    for ( int position = start ; position < end ; position++ ) {
+      int code = buffer[position] & 0xFF;
+      if ( code == ESCAPE ) {
+        result[offset++] = buffer[++position];
+      } else {
+        byte[] symbol = symbolArray[code];
+        System.arraycopy( symbol , 0 , result , offset , symbol.length );
+        offset += symbol.length;
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Create a matcher of the encoded values that start with the prefix.
+   */
+  public PrefixMatcher createPrefixMatcher( final byte[] prefix ) {
+    // The code at a position only depends on the next MAX_SYMBOL_LENGTH bytes,
+    // so the codes are the same as any value with the prefix until that point.
+    byte[] buffer = new byte[ prefix.length * 2 ];
+    int offset = 0;
+    int position = 0;
+    while ( position + MAX_SYMBOL_LENGTH <= prefix.length ) {
+      int code = findCode( prefix , position , prefix.length );
+      buffer[offset++] = (byte)code;
+      if ( code == ESCAPE ) {
+        buffer[offset++] = prefix[position++];
+      } else {
+        position += symbolArray[code].length;
+      }
+    }
+    byte[] encodedPrefix = new byte[offset];
+    System.arraycopy( buffer , 0 , encodedPrefix , 0 , offset );
+    return new PrefixMatcher( prefix , encodedPrefix , position );
+  }
+
+  /**
+   * Get the binary size of the table.
+   */
+  public int getBinarySize() {
+    int length = Byte.BYTES + symbolArray.length;
+    for ( byte[] symbol : symbolArray ) {
+      length += symbol.length;
+    }
+    return length;
+  }
+
+  /**
+   * Write the table and returns the next offset.
+   * Layout: symbolCount, symbol lengths, symbol bytes.
+   */
+  public int toBinary( final byte[] buffer , final int start ) {
+    int offset = start;
+    buffer[offset++] = (byte)symbolArray.length;
+    for ( byte[] symbol : symbolArray ) {
+      buffer[offset++] = (byte)symbol.length;
+    }
+    for ( byte[] symbol : symbolArray ) {
+      System.arraycopy( symbol , 0 , buffer , offset , symbol.length );
+      offset += symbol.length;
+    }
+    return offset;
+  }
+
+  /**
+   * Read the table written by toBinary.
+   */
+  public static FsstSymbolTable read( final byte[] buffer , final int start ) {
+    int symbolCount = buffer[start] & 0xFF;
+    byte[][] symbolArray = new byte[symbolCount][];
+    int offset = start + Byte.BYTES + symbolCount;
+    for ( int i = 0 ; i < symbolCount ; i++ ) {
+      symbolArray[i] = new byte[ buffer[ start + Byte.BYTES + i ] ];
+      System.arraycopy( buffer , offset , symbolArray[i] , 0 , symbolArray[i].length );
+      offset += symbolArray[i].length;
+    }
+    return new FsstSymbolTable( symbolArray );
+  }
+
+  public final class PrefixMatcher {
+
+    private final byte[] prefix;
+    private final byte[] encodedPrefix;
+    private final int stableLength;
+
+    private PrefixMatcher(
+        final byte[] prefix , final byte[] encodedPrefix , final int stableLength ) {
+      this.prefix = prefix;
+      this.encodedPrefix = encodedPrefix;
+      this.stableLength = stableLength;
+    }
+
+    /**
+     * Returns true if the encoded value starts with the prefix.
+     * The stable part is compared as encoded bytes, and only the rest is decoded.
+     */
+    public boolean match( final byte[] buffer , final int start , final int length ) {
+      if ( length < encodedPrefix.length ) {
+        return false;
+      }
+      for ( int i = 0 ; i < encodedPrefix.length ; i++ ) {
+        if ( buffer[ start + i ] != encodedPrefix[i] ) {
+          return false;
+        }
+      }
+      int position = start + encodedPrefix.length;
+      int end = start + length;
+      int prefixIndex = stableLength;
+      while ( prefixIndex < prefix.length ) {
+        if ( end <= position ) {
+          return false;
+        }
+        int code = buffer[position++] & 0xFF;
+        if ( code == ESCAPE ) {
+          if ( buffer[position++] != prefix[prefixIndex++] ) {
+            return false;
+          }
+          continue;
+        }
+        byte[] symbol = symbolArray[code];
+        for ( int i = 0 ; i < symbol.length && prefixIndex < prefix.length ; i++ ) {
+          if ( symbol[i] != prefix[prefixIndex++] ) {
+            return false;
+          }
+        }
+      }
+      return true;
+    }
+
+  }
+
+}
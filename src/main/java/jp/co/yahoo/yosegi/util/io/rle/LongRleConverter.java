@@ -0,0 +1,132 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.co.yahoo.yosegi.util.io.rle;
+
+import java.io.IOException;
+
+/**
+ * RleConverter for primitive long values, which does not box each value.
+ */
+public class LongRleConverter {
+
+  private boolean isFinish = false;
+
+  private final long[] valueArray;
+  private final int[] lengthArray;
+  private int rowGroupCount;
+  private int maxRowGroupLength;
+  private long currentValue;
+  private int currentLength;
+
+  /**
+   * Initialization by specifying initial value and buffer size.
+   */
+  public LongRleConverter( final long firstValue , final long[] valueArray ) {
+    this.valueArray = valueArray;
+    if ( valueArray == null ) {
+      lengthArray = null;
+    } else {
+      lengthArray = new int[valueArray.length];
+    }
+    currentValue = firstValue;
+  }
+
+  /**
+   * Add value.
+   */
+  public void add( final long value ) throws IOException {
+    if ( isFinish ) {
+      throw new IOException( "Processing has already been completed." );
+    }
+    if ( currentValue != value ) {
+      if ( valueArray != null ) {
+        valueArray[rowGroupCount] = currentValue;
+        lengthArray[rowGroupCount] = currentLength;
+      }
+      rowGroupCount++;
+      if ( maxRowGroupLength < currentLength ) {
+        maxRowGroupLength = currentLength;
+      }
+      currentValue = value;
+      currentLength = 0;
+    }
+    currentLength++;
+  }
+
+  /**
+   * Finish adding values.
+   */
+  public void finish() throws IOException {
+    if ( isFinish ) {
+      throw new IOException( "Processing has already been completed." );
+    }
+    if ( currentLength != 0 ) {
+      if ( valueArray != null ) {
+        valueArray[rowGroupCount] = currentValue;
+        lengthArray[rowGroupCount] = currentLength;
+      }
+      rowGroupCount++;
+      if ( maxRowGroupLength < currentLength ) {
+        maxRowGroupLength = currentLength;
+      }
+    }
+    isFinish = true;
+  }
+
+  /**
+   * Get array of value.
+   */
+  public long[] getValueArray() throws IOException {
+    if ( ! isFinish ) {
+      throw new IOException( "Finish is not running." );
+    }
+    return valueArray;
+  }
+
+  /**
+   * Get array of length.
+   */
+  public int[] getLengthArray() throws IOException {
+    if ( ! isFinish ) {
+      throw new IOException( "Finish is not running." );
+    }
+    return lengthArray;
+  }
+
+  /**
+   * Get row goup count.
+   */
+  public int getRowGroupCount() throws IOException {
+    if ( ! isFinish ) {
+      throw new IOException( "Finish is not running." );
+    }
+    return rowGroupCount;
+  }
+
+  /**
+   * Get maximum length of group.
+   */
+  public int getMaxGroupLength() throws IOException {
+    if ( ! isFinish ) {
+      throw new IOException( "Finish is not running." );
+    }
+    return maxRowGroupLength;
+  }
+
+}
@@ -0,0 +1,189 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jp.co.yahoo.yosegi.writer;
+
+import jp.co.yahoo.yosegi.message.objects.PrimitiveObject;
+import jp.co.yahoo.yosegi.message.parser.IParser;
+import jp.co.yahoo.yosegi.spread.Spread;
+import jp.co.yahoo.yosegi.spread.column.ArrayCell;
+import jp.co.yahoo.yosegi.spread.column.ColumnType;
+import jp.co.yahoo.yosegi.spread.column.ICell;
+import jp.co.yahoo.yosegi.spread.column.IColumn;
+import jp.co.yahoo.yosegi.spread.column.PrimitiveCell;
+import jp.co.yahoo.yosegi.spread.column.SpreadCell;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keep the rows of a Spread and create the Spread ordered by the sort keys.
+ * Rows are ordered in ascending order of the top level primitive columns,
+ * and null rows are placed last. Rows with equal keys keep their input order.
+ * The rows are parsed into a Spread once when added, and the Map or IParser
+ * of a row is not referenced after that.
+ */
+public class SortedRowBuffer {
+
+  private final List<String> sortKeys;
+  private Spread spread = new Spread();
+  private int rowCount;
+
+  public SortedRowBuffer( final List<String> sortKeys ) {
+    this.sortKeys = sortKeys;
+  }
+
+  /**
+   * Add row data.
+   */
+  public int addRow( final Map<String,Object> row ) throws IOException {
+    rowCount++;
+    return spread.addRow( row );
+  }
+
+  /**
+   * Add row data.
+   */
+  public int addParserRow( final IParser parser ) throws IOException {
+    rowCount++;
+    return spread.addParserRow( parser );
+  }
+
+  public int size() {
+    return rowCount;
+  }
+
+  /**
+   * Create the Spread of the sorted rows and clear this buffer.
+   * The row indexes are sorted, and the rows are copied from the cells in that order.
+   */
+  public Spread createSortedSpread() throws IOException {
+    Integer[] order = new Integer[rowCount];
+    for ( int i = 0 ; i < order.length ; i++ ) {
+      order[i] = Integer.valueOf( i );
+    }
+    try {
+      Arrays.sort( order , createComparator( spread ) );
+    } catch ( UncheckedIOException ex ) {
+      throw ex.getCause();
+    }
+    Spread sortedSpread = new Spread();
+    Map<String,ICell> line = new HashMap<String,ICell>();
+    for ( Integer index : order ) {
+      sortedSpread.addRow( toRowMap( spread.getLine( line , index.intValue() ) ) );
+    }
+    rowCount = 0;
+    spread = new Spread();
+    return sortedSpread;
+  }
+
+  private static Map<String,Object> toRowMap( final Map<String,ICell> line ) {
+    Map<String,Object> row = new HashMap<String,Object>( line.size() );
+    for ( Map.Entry<String,ICell> entry : line.entrySet() ) {
+      Object value = toRowObject( entry.getValue() );
+      if ( value != null ) {
+        row.put( entry.getKey() , value );
+      }
+    }
+    return row;
+  }
+
+  /**
+   * Convert the cell to the object that Spread.addRow accepts, or null if it has no value.
+   */
+  private static Object toRowObject( final ICell cell ) {
+    if ( cell instanceof PrimitiveCell ) {
+      return ( (PrimitiveCell)cell ).getRow();
+    }
+    if ( cell instanceof SpreadCell ) {
+      return toRowMap( ( (SpreadCell)cell ).getRow() );
+    }
+    if ( cell instanceof ArrayCell ) {
+      List<ICell> cellList = ( (ArrayCell)cell ).getRow();
+      List<Object> result = new ArrayList<Object>( cellList.size() );
+      for ( ICell child : cellList ) {
+        result.add( toRowObject( child ) );
+      }
+      return result;
+    }
+    return null;
+  }
+
+  private Comparator<Integer> createComparator( final Spread target ) {
+    List<IColumn> keyColumnList = new ArrayList<IColumn>();
+    for ( String sortKey : sortKeys ) {
+      if ( target.containsColumn( sortKey ) ) {
+        keyColumnList.add( target.getColumn( sortKey ) );
+      }
+    }
+    return ( left , right ) -> {
+      try {
+        for ( IColumn column : keyColumnList ) {
+          int result = compareCell(
+              column.get( left.intValue() ) , column.get( right.intValue() ) );
+          if ( result != 0 ) {
+            return result;
+          }
+        }
+        return 0;
+      } catch ( IOException ex ) {
+        throw new UncheckedIOException( ex );
+      }
+    };
+  }
+
+  /**
+   * Compare the cells of a sort key. Null and nested cells are placed last.
+   */
+  public static int compareCell( final ICell left , final ICell right ) throws IOException {
+    boolean isLeftValue = left instanceof PrimitiveCell && left.getType() != ColumnType.NULL;
+    boolean isRightValue = right instanceof PrimitiveCell && right.getType() != ColumnType.NULL;
+    if ( ! isLeftValue || ! isRightValue ) {
+      return Boolean.compare( ! isLeftValue , ! isRightValue );
+    }
+    if ( left.getType() != right.getType() ) {
+      return left.getType().compareTo( right.getType() );
+    }
+    PrimitiveObject leftObj = ( (PrimitiveCell)left ).getRow();
+    PrimitiveObject rightObj = ( (PrimitiveCell)right ).getRow();
+    switch ( left.getType() ) {
+      case BOOLEAN:
+        return Boolean.compare( leftObj.getBoolean() , rightObj.getBoolean() );
+      case BYTE:
+      case SHORT:
+      case INTEGER:
+      case LONG:
+        return Long.compare( leftObj.getLong() , rightObj.getLong() );
+      case FLOAT:
+        return Float.compare( leftObj.getFloat() , rightObj.getFloat() );
+      case DOUBLE:
+        return Double.compare( leftObj.getDouble() , rightObj.getDouble() );
+      case STRING:
+        return leftObj.getString().compareTo( rightObj.getString() );
+      default:
+        return 0;
+    }
+  }
+
+}
@@ -24,9 +24,17 @@ import jp.co.yahoo.yosegi.message.parser.IParser;
 import jp.co.yahoo.yosegi.spread.Spread;
 
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.io.OutputStream;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 
 public class YosegiRecordWriter implements AutoCloseable {
 
@@ -36,11 +44,16 @@ public class YosegiRecordWriter implements AutoCloseable {
   public static final int DEFAULT_MIN_RECORDS = 1000;
 
   private final YosegiWriter fileWriter;
+  private ExecutorService convertExecutor;
+  private ExecutorService appendExecutor;
+  private Semaphore inFlightSpreads;
+  private volatile Throwable asyncError;
   private int maxRows;
   private int currentDataSize;
   private int currentRows;
   private int spreadSize;
   private Spread currentSpread;
+  private SortedRowBuffer sortedRowBuffer;
 
   public YosegiRecordWriter( final OutputStream out ) throws IOException {
     this( out , new Configuration() );
@@ -57,17 +70,50 @@ public class YosegiRecordWriter implements AutoCloseable {
     if ( spreadSize < DEFAULT_MIN_SIZE ) {
       spreadSize = DEFAULT_MIN_SIZE;
     }
+    List<String> sortKeys = new ArrayList<String>();
+    for ( String sortKey : config.get( "record.writer.sort.keys" , "" ).split( "," ) ) {
+      if ( ! sortKey.trim().isEmpty() ) {
+        sortKeys.add( sortKey.trim() );
+      }
+    }
+    if ( ! sortKeys.isEmpty() ) {
+      sortedRowBuffer = new SortedRowBuffer( sortKeys );
+      fileWriter.getBlockWriter().setSortKeys( sortKeys );
+    }
     maxRows = config.getInt( "record.writer.max.rows" , DEFAULT_MAX_RECORDS );
     if ( maxRows < DEFAULT_MIN_RECORDS ) {
       maxRows = DEFAULT_MIN_RECORDS;
     }
+    int asyncSpreads = config.getInt( "record.writer.async.spreads" , 0 );
+    if ( 0 < asyncSpreads ) {
+      int convertThreads = config.getInt( "record.writer.async.convert.threads" , 1 );
+      if ( convertThreads < 1 ) {
+        convertThreads = 1;
+      }
+      convertExecutor = Executors.newFixedThreadPool(
+          convertThreads , runnable -> createThread( runnable , "yosegi-spread-convert" ) );
+      appendExecutor = Executors.newSingleThreadExecutor(
+          runnable -> createThread( runnable , "yosegi-spread-append" ) );
+      inFlightSpreads = new Semaphore( asyncSpreads );
+    }
+  }
+
+  private static Thread createThread( final Runnable runnable , final String name ) {
+    Thread thread = new Thread( runnable , name );
+    thread.setDaemon( true );
+    return thread;
   }
 
   /**
    * Add row data.
    */
   public void addRow( final Map<String,Object> row ) throws IOException {
-    currentDataSize += currentSpread.addRow( row );
+    checkAsyncError();
+    if ( sortedRowBuffer != null ) {
+      currentDataSize += sortedRowBuffer.addRow( row );
+    } else {
+      currentDataSize += currentSpread.addRow( row );
+    }
     currentRows++;
     flushSpread();
   }
@@ -76,30 +122,163 @@ public class YosegiRecordWriter implements AutoCloseable {
    * Add row data.
    */
   public void addParserRow( final IParser parser )throws IOException {
-    currentDataSize += currentSpread.addParserRow( parser );
+    checkAsyncError();
+    if ( sortedRowBuffer != null ) {
+      currentDataSize += sortedRowBuffer.addParserRow( parser );
+    } else {
+      currentDataSize += currentSpread.addParserRow( parser );
+    }
     currentRows++;
     flushSpread();
   }
 
   private void flushSpread() throws IOException {
     if ( spreadSize < currentDataSize || maxRows <= currentRows ) {
-      List<ColumnBinary> columnBinary = fileWriter.convertRow( currentSpread );
-      currentSpread = new Spread();
-      fileWriter.appendRow( columnBinary , currentRows );
+      Spread spread = takeSpread();
+      if ( appendExecutor != null ) {
+        appendAsync( spread , currentRows );
+      } else {
+        List<ColumnBinary> columnBinary = fileWriter.convertRow( spread );
+        fileWriter.appendRow( columnBinary , currentRows );
+      }
 
       currentDataSize = 0;
       currentRows = 0;
     }
   }
 
+  /**
+   * Take the current Spread, whose rows are sorted if the sort keys are set.
+   */
+  private Spread takeSpread() throws IOException {
+    Spread spread = currentSpread;
+    if ( sortedRowBuffer != null ) {
+      spread = sortedRowBuffer.createSortedSpread();
+    }
+    currentSpread = new Spread();
+    return spread;
+  }
+
+  /**
+   * Convert the Spread on the worker threads and append it on the writer thread.
+   * Spreads are appended in the order of this call.
+   * If the number of Spreads in flight reaches the limit, wait until one is appended.
+   * After a failure, the queued Spreads are neither converted nor appended,
+   * and the next call throws the failure.
+   */
+  private void appendAsync( final Spread spread , final int rows ) throws IOException {
+    checkAsyncError();
+    try {
+      inFlightSpreads.acquire();
+    } catch ( InterruptedException ex ) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException( "Interrupted while waiting for the Spread conversion." );
+    }
+    Future<List<ColumnBinary>> convertFuture;
+    try {
+      convertFuture = convertExecutor.submit( () -> {
+        checkAsyncError();
+        return fileWriter.convertRow( spread );
+      } );
+      appendExecutor.execute( () -> {
+        try {
+          if ( asyncError == null ) {
+            List<ColumnBinary> binaryList = convertFuture.get();
+            synchronized ( fileWriter ) {
+              checkAsyncError();
+              fileWriter.appendRow( binaryList , rows );
+            }
+          }
+        } catch ( ExecutionException ex ) {
+          setAsyncError( ex.getCause() );
+        } catch ( Throwable ex ) {
+          setAsyncError( ex );
+        } finally {
+          inFlightSpreads.release();
+        }
+      } );
+    } catch ( RuntimeException ex ) {
+      inFlightSpreads.release();
+      throw ex;
+    }
+  }
+
+  /**
+   * Keep the first failure and stop the conversions that have not started.
+   */
+  private synchronized void setAsyncError( final Throwable error ) {
+    if ( asyncError == null ) {
+      asyncError = error;
+    }
+    convertExecutor.shutdownNow();
+  }
+
+  private void checkAsyncError() throws IOException {
+    Throwable error = asyncError;
+    if ( error == null ) {
+      return;
+    }
+    if ( error instanceof IOException ) {
+      throw new IOException( error.getMessage() , error );
+    }
+    throw new IOException( error );
+  }
+
+  /**
+   * Wait until the queued Spreads are appended.
+   * The threads have finished when this returns without an interrupt,
+   * so the file can be closed after a failure as well.
+   */
+  private void awaitAsync() throws IOException {
+    convertExecutor.shutdown();
+    appendExecutor.shutdown();
+    try {
+      while ( ! appendExecutor.awaitTermination( 1 , TimeUnit.SECONDS ) ) {
+        continue;
+      }
+      while ( ! convertExecutor.awaitTermination( 1 , TimeUnit.SECONDS ) ) {
+        continue;
+      }
+    } catch ( InterruptedException ex ) {
+      InterruptedIOException error =
+          new InterruptedIOException( "Interrupted while waiting for the Spread conversion." );
+      setAsyncError( error );
+      appendExecutor.shutdownNow();
+      Thread.currentThread().interrupt();
+      throw error;
+    }
+    checkAsyncError();
+  }
+
   /**
    * Close.
    */
   public void close() throws IOException {
-    if ( currentSpread.size() != 0 ) {
-      fileWriter.append( currentSpread );
+    if ( appendExecutor != null ) {
+      try {
+        Spread spread = takeSpread();
+        if ( spread.size() != 0 ) {
+          appendAsync( spread , spread.size() );
+        }
+      } finally {
+        try {
+          awaitAsync();
+        } finally {
+          synchronized ( fileWriter ) {
+            fileWriter.close();
+          }
+        }
+      }
+    } else {
+      try {
+        Spread spread = takeSpread();
+        if ( spread.size() != 0 ) {
+          fileWriter.append( spread );
+        }
+      } finally {
+        fileWriter.close();
+      }
     }
-    fileWriter.close();
   }
 
 }
@@ -104,9 +104,12 @@ public class YosegiWriter implements AutoCloseable {
    * Close.
    */
   public void close() throws IOException {
-    blockMaker.writeVariableBlock( out );
-    blockMaker.close();
-    out.close();
+    try {
+      blockMaker.writeVariableBlock( out );
+      blockMaker.close();
+    } finally {
+      out.close();
+    }
   }
 
   public IBlockWriter getBlockWriter() {
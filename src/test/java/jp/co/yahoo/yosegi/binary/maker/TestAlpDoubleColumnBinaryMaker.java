@@ -0,0 +1,123 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.yosegi.binary.maker;
+
+import java.io.IOException;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import jp.co.yahoo.yosegi.binary.ColumnBinary;
+import jp.co.yahoo.yosegi.binary.ColumnBinaryMakerConfig;
+import jp.co.yahoo.yosegi.binary.CompressResultNode;
+import jp.co.yahoo.yosegi.compressor.CompressBuffer;
+import jp.co.yahoo.yosegi.compressor.DefaultCompressor;
+import jp.co.yahoo.yosegi.inmemory.IMemoryAllocator;
+import jp.co.yahoo.yosegi.message.objects.DoubleObj;
+import jp.co.yahoo.yosegi.message.objects.PrimitiveObject;
+import jp.co.yahoo.yosegi.spread.analyzer.DoubleColumnAnalizeResult;
+import jp.co.yahoo.yosegi.spread.analyzer.DoubleColumnAnalizer;
+import jp.co.yahoo.yosegi.spread.column.ColumnType;
+import jp.co.yahoo.yosegi.spread.column.IColumn;
+import jp.co.yahoo.yosegi.spread.column.PrimitiveColumn;
+import jp.co.yahoo.yosegi.util.ByteArrayData;
+
+public class TestAlpDoubleColumnBinaryMaker {
+
+  private ColumnBinary toBinary( final IColumnBinaryMaker maker , final IColumn column ) throws IOException {
+    ColumnBinaryMakerConfig config = new ColumnBinaryMakerConfig();
+    config.compressorClass = new DefaultCompressor();
+    return maker.toBinary( config , null , new CompressResultNode() , column );
+  }
+
+  private IColumn createPriceColumn() throws IOException {
+    IColumn column = new PrimitiveColumn( ColumnType.DOUBLE , "price" );
+    for ( int i = 0 ; i < 1000 ; i++ ) {
+      if ( i % 10 == 3 ) {
+        continue;
+      }
+      column.add( ColumnType.DOUBLE , new DoubleObj( 1000 + ( i * 37 % 10000 ) / 100.0d ) , i );
+    }
+    return column;
+  }
+
+  @Test
+  public void T_toColumn_equalsValues_withNull() throws IOException {
+    IColumn column = createPriceColumn();
+    IColumn result = new AlpDoubleColumnBinaryMaker().toColumn(
+        toBinary( new AlpDoubleColumnBinaryMaker() , column ) );
+    assertEquals( column.size() , result.size() );
+    for ( int i = 0 ; i < column.size() ; i++ ) {
+      assertEquals( column.get( i ).getType() , result.get( i ).getType() );
+      if ( column.get( i ).getType() != ColumnType.NULL ) {
+        assertEquals(
+            ( (PrimitiveObject)column.get( i ).getRow() ).getDouble() ,
+            ( (PrimitiveObject)result.get( i ).getRow() ).getDouble() );
+      }
+    }
+  }
+
+  @Test
+  public void T_calcBinarySize_smallerThanDump_withDecimalValues() throws IOException {
+    IColumn column = createPriceColumn();
+    DoubleColumnAnalizeResult analizeResult =
+        (DoubleColumnAnalizeResult)new DoubleColumnAnalizer( column ).analize();
+    assertNotNull( analizeResult.getAlpStatistics() );
+    AlpDoubleColumnBinaryMaker maker = new AlpDoubleColumnBinaryMaker();
+    int estimate = maker.calcBinarySize( analizeResult );
+    int dumpEstimate =
+        new OptimizedNullArrayDumpDoubleColumnBinaryMaker().calcBinarySize( analizeResult );
+    assertTrue( estimate * 3 < dumpEstimate );
+    assertTrue( toBinary( maker , column ).rawDataSize <= estimate );
+  }
+
+  @Test
+  public void T_calcBinarySize_largerThanDump_withoutStatistics() throws IOException {
+    DoubleColumnAnalizeResult analizeResult = new DoubleColumnAnalizeResult(
+        "d" , 100 , false , 0 , 100 , 100 , 0.0d , 1.0d );
+    assertNull( analizeResult.getAlpStatistics() );
+    int estimate = new AlpDoubleColumnBinaryMaker().calcBinarySize( analizeResult );
+    int dumpEstimate =
+        new OptimizedNullArrayDumpDoubleColumnBinaryMaker().calcBinarySize( analizeResult );
+    assertTrue( dumpEstimate < estimate );
+  }
+
+  @Test
+  public void T_loadInMemoryStorage_releaseBuffer_withAllocatorException() throws IOException {
+    IColumn column = new PrimitiveColumn( ColumnType.DOUBLE , "column" );
+    for ( int i = 0 ; i < 1000 ; i++ ) {
+      column.add( ColumnType.DOUBLE , new DoubleObj( i * 0.01d ) , i );
+    }
+    ColumnBinary columnBinary = toBinary( new AlpDoubleColumnBinaryMaker() , column );
+    IMemoryAllocator allocator = new IMemoryAllocator() {
+      @Override
+      public void setValueCount( final int count ) throws IOException {
+        throw new IOException( "Allocation failed." );
+      }
+    };
+    ByteArrayData buffer = CompressBuffer.acquire();
+    CompressBuffer.release( buffer );
+    assertThrows( IOException.class ,
+        () -> new AlpDoubleColumnBinaryMaker().loadInMemoryStorage( columnBinary , allocator ) );
+    ByteArrayData result = CompressBuffer.acquire();
+    assertSame( buffer , result );
+    CompressBuffer.release( result );
+  }
+
+}
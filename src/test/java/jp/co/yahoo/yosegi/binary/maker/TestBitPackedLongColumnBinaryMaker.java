@@ -0,0 +1,100 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.yosegi.binary.maker;
+
+import java.io.IOException;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import jp.co.yahoo.yosegi.binary.ColumnBinary;
+import jp.co.yahoo.yosegi.binary.ColumnBinaryMakerConfig;
+import jp.co.yahoo.yosegi.binary.CompressResultNode;
+import jp.co.yahoo.yosegi.compressor.CompressBuffer;
+import jp.co.yahoo.yosegi.compressor.DefaultCompressor;
+import jp.co.yahoo.yosegi.inmemory.IMemoryAllocator;
+import jp.co.yahoo.yosegi.message.objects.LongObj;
+import jp.co.yahoo.yosegi.spread.column.ColumnType;
+import jp.co.yahoo.yosegi.spread.column.IColumn;
+import jp.co.yahoo.yosegi.spread.column.PrimitiveColumn;
+import jp.co.yahoo.yosegi.util.ByteArrayData;
+
+public class TestBitPackedLongColumnBinaryMaker {
+
+  private ColumnBinary toBinary( final IColumnBinaryMaker maker , final IColumn column ) throws IOException {
+    ColumnBinaryMakerConfig config = new ColumnBinaryMakerConfig();
+    config.compressorClass = new DefaultCompressor();
+    return maker.toBinary( config , null , new CompressResultNode() , column );
+  }
+
+  @Test
+  public void T_toBinary_smallerThanDump_withThreeBitValues() throws IOException {
+    IColumn column = new PrimitiveColumn( ColumnType.LONG , "column" );
+    for ( int i = 0 ; i < 1000 ; i++ ) {
+      column.add( ColumnType.LONG , new LongObj( 1000000L + ( i % 7 ) ) , i );
+    }
+    ColumnBinary bitPacked = toBinary( new BitPackedLongColumnBinaryMaker() , column );
+    ColumnBinary dump = toBinary( new OptimizedNullArrayDumpLongColumnBinaryMaker() , column );
+    assertTrue( bitPacked.binaryLength * 2 < dump.binaryLength );
+
+    IColumn result = new BitPackedLongColumnBinaryMaker().toColumn( bitPacked );
+    for ( int i = 0 ; i < 1000 ; i++ ) {
+      assertEquals( 1000000L + ( i % 7 ) , ( (LongObj)result.get( i ).getRow() ).getLong() );
+    }
+  }
+
+  @Test
+  public void T_toColumn_equalsValues_withFullRangeAndNull() throws IOException {
+    IColumn column = new PrimitiveColumn( ColumnType.LONG , "column" );
+    column.add( ColumnType.LONG , new LongObj( Long.MIN_VALUE ) , 1 );
+    column.add( ColumnType.LONG , new LongObj( Long.MAX_VALUE ) , 2 );
+    column.add( ColumnType.LONG , new LongObj( 0 ) , 300 );
+    ColumnBinary binary = toBinary( new BitPackedLongColumnBinaryMaker() , column );
+    IColumn result = new BitPackedLongColumnBinaryMaker().toColumn( binary );
+    assertEquals( 301 , result.size() );
+    assertEquals( ColumnType.NULL , result.get( 0 ).getType() );
+    assertEquals( Long.MIN_VALUE , ( (LongObj)result.get( 1 ).getRow() ).getLong() );
+    assertEquals( Long.MAX_VALUE , ( (LongObj)result.get( 2 ).getRow() ).getLong() );
+    assertEquals( ColumnType.NULL , result.get( 3 ).getType() );
+    assertEquals( 0 , ( (LongObj)result.get( 300 ).getRow() ).getLong() );
+  }
+
+  @Test
+  public void T_loadInMemoryStorage_releaseBuffer_withAllocatorException() throws IOException {
+    IColumn column = new PrimitiveColumn( ColumnType.LONG , "column" );
+    for ( int i = 0 ; i < 1000 ; i++ ) {
+      column.add( ColumnType.LONG , new LongObj( 1000000L + ( i % 7 ) ) , i );
+    }
+    ColumnBinary columnBinary = toBinary( new BitPackedLongColumnBinaryMaker() , column );
+    IMemoryAllocator allocator = new IMemoryAllocator() {
+      @Override
+      public void setValueCount( final int count ) throws IOException {
+        throw new IOException( "Allocation failed." );
+      }
+    };
+    ByteArrayData buffer = CompressBuffer.acquire();
+    CompressBuffer.release( buffer );
+    assertThrows( IOException.class ,
+        () -> new BitPackedLongColumnBinaryMaker().loadInMemoryStorage( columnBinary , allocator ) );
+    ByteArrayData result = CompressBuffer.acquire();
+    assertSame( buffer , result );
+    CompressBuffer.release( result );
+  }
+
+}
@@ -0,0 +1,179 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.yosegi.binary.maker;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.BitVector;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import jp.co.yahoo.yosegi.binary.ColumnBinary;
+import jp.co.yahoo.yosegi.binary.ColumnBinaryMakerConfig;
+import jp.co.yahoo.yosegi.binary.CompressResultNode;
+import jp.co.yahoo.yosegi.blockindex.BlockIndexNode;
+import jp.co.yahoo.yosegi.blockindex.BooleanBlockIndex;
+import jp.co.yahoo.yosegi.inmemory.ArrowBooleanMemoryAllocator;
+import jp.co.yahoo.yosegi.inmemory.IMemoryAllocator;
+import jp.co.yahoo.yosegi.message.objects.BooleanObj;
+import jp.co.yahoo.yosegi.message.objects.PrimitiveObject;
+import jp.co.yahoo.yosegi.spread.column.ColumnType;
+import jp.co.yahoo.yosegi.spread.column.IColumn;
+import jp.co.yahoo.yosegi.spread.column.PrimitiveColumn;
+import jp.co.yahoo.yosegi.spread.column.filter.BooleanFilter;
+import jp.co.yahoo.yosegi.spread.expression.SelectionBitmap;
+
+public class TestBitmapBooleanColumnBinaryMaker {
+
+  private Boolean[] createValues( final int rows ) {
+    Boolean[] values = new Boolean[rows];
+    for ( int i = 0 ; i < rows ; i++ ) {
+      if ( i % 7 == 3 ) {
+        continue;
+      }
+      values[i] = ( i % 3 == 0 ) || ( 64 <= i && i < 192 );
+    }
+    return values;
+  }
+
+  private ColumnBinary toColumnBinary( final Boolean[] values ) throws IOException {
+    IColumn column = new PrimitiveColumn( ColumnType.BOOLEAN , "target" );
+    for ( int i = 0 ; i < values.length ; i++ ) {
+      if ( values[i] != null ) {
+        column.add( ColumnType.BOOLEAN , new BooleanObj( values[i] ) , i );
+      }
+    }
+    return new BitmapBooleanColumnBinaryMaker().toBinary(
+        new ColumnBinaryMakerConfig() , null , new CompressResultNode() , column );
+  }
+
+  private class TestMemoryAllocator implements IMemoryAllocator {
+
+    public final Map<Integer,Boolean> map = new HashMap<Integer,Boolean>();
+    public int valueCount;
+
+    @Override
+    public void setNull( final int index ) {
+      map.put( index , null );
+    }
+
+    @Override
+    public void setBoolean( final int index , final boolean value ) throws IOException {
+      map.put( index , value );
+    }
+
+    @Override
+    public void setValueCount( final int count ) throws IOException {
+      valueCount = count;
+    }
+
+  }
+
+  @Test
+  public void T_toColumn_equalsSetValue_withNull() throws IOException {
+    Boolean[] values = createValues( 300 );
+    IColumn column =
+        new BitmapBooleanColumnBinaryMaker().toColumn( toColumnBinary( values ) );
+    assertEquals( values.length , column.size() );
+    for ( int i = 0 ; i < values.length ; i++ ) {
+      if ( values[i] == null ) {
+        assertEquals( ColumnType.NULL , column.get( i ).getType() );
+      } else {
+        PrimitiveObject obj = (PrimitiveObject)( column.get( i ).getRow() );
+        assertEquals( values[i].booleanValue() , obj.getBoolean() );
+      }
+    }
+  }
+
+  @Test
+  public void T_filter_equalsMatchedRows_withBooleanFilter() throws IOException {
+    Boolean[] values = createValues( 300 );
+    IColumn column =
+        new BitmapBooleanColumnBinaryMaker().toColumn( toColumnBinary( values ) );
+    for ( boolean flag : new boolean[]{ true , false } ) {
+      boolean[] result = column.filter( new BooleanFilter( flag ) , new boolean[values.length] );
+      assertNotNull( result );
+      for ( int i = 0 ; i < values.length ; i++ ) {
+        assertEquals( values[i] != null && values[i] == flag , result[i] );
+      }
+    }
+  }
+
+  @Test
+  public void T_filterBitmap_equalsMatchedRows_withBooleanFilter() throws IOException {
+    Boolean[] values = createValues( 300 );
+    IColumn column =
+        new BitmapBooleanColumnBinaryMaker().toColumn( toColumnBinary( values ) );
+    for ( boolean flag : new boolean[]{ true , false } ) {
+      SelectionBitmap result = column.filterBitmap( new BooleanFilter( flag ) , values.length );
+      assertNotNull( result );
+      assertEquals( values.length , result.size() );
+      for ( int i = 0 ; i < values.length ; i++ ) {
+        assertEquals( values[i] != null && values[i] == flag , result.get( i ) );
+      }
+    }
+  }
+
+  @Test
+  public void T_loadInMemoryStorage_equalsSetValue_withDefaultAllocator() throws IOException {
+    Boolean[] values = createValues( 131 );
+    TestMemoryAllocator allocator = new TestMemoryAllocator();
+    new BitmapBooleanColumnBinaryMaker().loadInMemoryStorage(
+        toColumnBinary( values ) , allocator );
+    assertEquals( values.length , allocator.valueCount );
+    for ( int i = 0 ; i < values.length ; i++ ) {
+      assertEquals( values[i] , allocator.map.get( i ) );
+    }
+  }
+
+  @Test
+  public void T_loadInMemoryStorage_equalsSetValue_withArrowBitVector() throws IOException {
+    Boolean[] values = createValues( 1000 );
+    BufferAllocator bufferAllocator = new RootAllocator( 1024 * 1024 );
+    BitVector vector = new BitVector( "target" , bufferAllocator );
+    new BitmapBooleanColumnBinaryMaker().loadInMemoryStorage(
+        toColumnBinary( values ) , new ArrowBooleanMemoryAllocator( vector , 10 ) );
+    assertEquals( values.length , vector.getValueCount() );
+    for ( int i = 0 ; i < values.length ; i++ ) {
+      if ( values[i] == null ) {
+        assertTrue( vector.isNull( i ) );
+      } else {
+        assertEquals( values[i] ? 1 : 0 , vector.get( i ) );
+      }
+    }
+    vector.close();
+    bufferAllocator.close();
+  }
+
+  @Test
+  public void T_setBlockIndexNode_hasFlags() throws IOException {
+    BlockIndexNode node = new BlockIndexNode();
+    new BitmapBooleanColumnBinaryMaker().setBlockIndexNode(
+        node , toColumnBinary( new Boolean[]{ true , null , true } ) , 0 );
+    BooleanBlockIndex index = (BooleanBlockIndex)node.getChildNode( "target" ).getBlockIndex();
+    assertTrue( index.hasTrue() );
+    assertFalse( index.hasFalse() );
+    assertTrue( index.hasNull() );
+  }
+
+}
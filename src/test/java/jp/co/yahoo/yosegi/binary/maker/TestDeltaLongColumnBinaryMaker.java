@@ -0,0 +1,161 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.yosegi.binary.maker;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import jp.co.yahoo.yosegi.binary.ColumnBinary;
+import jp.co.yahoo.yosegi.binary.ColumnBinaryMakerConfig;
+import jp.co.yahoo.yosegi.binary.CompressResultNode;
+import jp.co.yahoo.yosegi.compressor.CompressBuffer;
+import jp.co.yahoo.yosegi.compressor.DefaultCompressor;
+import jp.co.yahoo.yosegi.inmemory.IMemoryAllocator;
+import jp.co.yahoo.yosegi.message.objects.IntegerObj;
+import jp.co.yahoo.yosegi.message.objects.LongObj;
+import jp.co.yahoo.yosegi.message.objects.PrimitiveObject;
+import jp.co.yahoo.yosegi.spread.analyzer.LongColumnAnalizer;
+import jp.co.yahoo.yosegi.spread.column.ColumnType;
+import jp.co.yahoo.yosegi.spread.column.IColumn;
+import jp.co.yahoo.yosegi.spread.column.PrimitiveColumn;
+import jp.co.yahoo.yosegi.util.ByteArrayData;
+
+public class TestDeltaLongColumnBinaryMaker {
+
+  private ColumnBinary toBinary( final IColumnBinaryMaker maker , final IColumn column ) throws IOException {
+    ColumnBinaryMakerConfig config = new ColumnBinaryMakerConfig();
+    config.compressorClass = new DefaultCompressor();
+    return maker.toBinary( config , null , new CompressResultNode() , column );
+  }
+
+  private byte getEncoding( final ColumnBinary columnBinary ) throws IOException {
+    byte[] binary = new DefaultCompressor().decompress(
+        columnBinary.binary , columnBinary.binaryStart + Long.BYTES * 2 , columnBinary.binaryLength - Long.BYTES * 2 );
+    int nullIndexLength = ByteBuffer.wrap( binary ).getInt( Integer.BYTES * 2 );
+    return binary[ Integer.BYTES * 3 + nullIndexLength ];
+  }
+
+  private void assertValues( final IColumn column , final ColumnBinary columnBinary ) throws IOException {
+    IColumn result = new DeltaLongColumnBinaryMaker().toColumn( columnBinary );
+    assertEquals( column.size() , result.size() );
+    for ( int i = 0 ; i < column.size() ; i++ ) {
+      assertEquals( column.get( i ).getType() , result.get( i ).getType() );
+      if ( column.get( i ).getType() != ColumnType.NULL ) {
+        assertEquals(
+            ( (PrimitiveObject)column.get( i ).getRow() ).getLong() ,
+            ( (PrimitiveObject)result.get( i ).getRow() ).getLong() );
+      }
+    }
+  }
+
+  @Test
+  public void T_toBinary_useDeltaOfDelta_withGrowingInterval() throws IOException {
+    IColumn column = new PrimitiveColumn( ColumnType.LONG , "t" );
+    long timestamp = 1600000000000L;
+    for ( int i = 0 ; i < 1000 ; i++ ) {
+      timestamp += 1000 + i * 2;
+      column.add( ColumnType.LONG , new LongObj( timestamp ) , i );
+    }
+    ColumnBinary delta = toBinary( new DeltaLongColumnBinaryMaker() , column );
+    ColumnBinary dump = toBinary( new OptimizedNullArrayDumpLongColumnBinaryMaker() , column );
+    assertEquals( DeltaLongColumnBinaryMaker.DELTA_OF_DELTA , getEncoding( delta ) );
+    assertTrue( delta.binaryLength * 5 < dump.binaryLength );
+    assertValues( column , delta );
+  }
+
+  @Test
+  public void T_toBinary_useDelta_withIncreasingIds() throws IOException {
+    IColumn column = new PrimitiveColumn( ColumnType.LONG , "id" );
+    long id = 100000000L;
+    for ( int i = 0 ; i < 500 ; i++ ) {
+      id += ( i * 7 ) % 13;
+      column.add( ColumnType.LONG , new LongObj( id ) , i );
+    }
+    ColumnBinary delta = toBinary( new DeltaLongColumnBinaryMaker() , column );
+    assertEquals( DeltaLongColumnBinaryMaker.DELTA , getEncoding( delta ) );
+    assertValues( column , delta );
+  }
+
+  @Test
+  public void T_toColumn_equalsValues_withNullAndOverflow() throws IOException {
+    IColumn column = new PrimitiveColumn( ColumnType.LONG , "t" );
+    column.add( ColumnType.LONG , new LongObj( Long.MAX_VALUE ) , 2 );
+    column.add( ColumnType.LONG , new LongObj( Long.MIN_VALUE ) , 3 );
+    column.add( ColumnType.LONG , new LongObj( 5 ) , 5 );
+    column.add( ColumnType.LONG , new LongObj( Long.MAX_VALUE ) , 300 );
+    assertValues( column , toBinary( new DeltaLongColumnBinaryMaker() , column ) );
+  }
+
+  @Test
+  public void T_toColumn_equalsValues_withIntegerColumn() throws IOException {
+    IColumn column = new PrimitiveColumn( ColumnType.INTEGER , "i" );
+    for ( int i = 0 ; i < 300 ; i++ ) {
+      column.add( ColumnType.INTEGER , new IntegerObj( Integer.MAX_VALUE - i * 3 ) , i );
+    }
+    ColumnBinary binary = toBinary( new DeltaLongColumnBinaryMaker() , column );
+    IColumn result = new DeltaLongColumnBinaryMaker().toColumn( binary );
+    for ( int i = 0 ; i < 300 ; i++ ) {
+      assertTrue( result.get( i ).getRow() instanceof IntegerObj );
+      assertEquals( Integer.MAX_VALUE - i * 3 , ( (PrimitiveObject)result.get( i ).getRow() ).getInt() );
+    }
+  }
+
+  @Test
+  public void T_calcBinarySize_smallerThanDump_withTimestamps() throws IOException {
+    IColumn column = new PrimitiveColumn( ColumnType.LONG , "t" );
+    long timestamp = 1600000000000L;
+    for ( int i = 0 ; i < 1000 ; i++ ) {
+      timestamp += 1000 + ( i % 3 );
+      column.add( ColumnType.LONG , new LongObj( timestamp ) , i );
+    }
+    DeltaLongColumnBinaryMaker maker = new DeltaLongColumnBinaryMaker();
+    int estimate = maker.calcBinarySize( new LongColumnAnalizer( column ).analize() );
+    int dumpEstimate = new OptimizedNullArrayDumpLongColumnBinaryMaker().calcBinarySize(
+        new LongColumnAnalizer( column ).analize() );
+    assertTrue( estimate * 5 < dumpEstimate );
+    ColumnBinary binary = toBinary( maker , column );
+    assertTrue( binary.rawDataSize <= estimate );
+  }
+
+  @Test
+  public void T_loadInMemoryStorage_releaseBuffer_withAllocatorException() throws IOException {
+    IColumn column = new PrimitiveColumn( ColumnType.LONG , "column" );
+    for ( int i = 0 ; i < 1000 ; i++ ) {
+      column.add( ColumnType.LONG , new LongObj( 1000000L + i * 3 ) , i );
+    }
+    ColumnBinary columnBinary = toBinary( new DeltaLongColumnBinaryMaker() , column );
+    IMemoryAllocator allocator = new IMemoryAllocator() {
+      @Override
+      public void setValueCount( final int count ) throws IOException {
+        throw new IOException( "Allocation failed." );
+      }
+    };
+    ByteArrayData buffer = CompressBuffer.acquire();
+    CompressBuffer.release( buffer );
+    assertThrows( IOException.class ,
+        () -> new DeltaLongColumnBinaryMaker().loadInMemoryStorage( columnBinary , allocator ) );
+    ByteArrayData result = CompressBuffer.acquire();
+    assertSame( buffer , result );
+    CompressBuffer.release( result );
+  }
+
+}
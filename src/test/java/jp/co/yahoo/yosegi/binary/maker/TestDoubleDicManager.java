@@ -0,0 +1,53 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.yosegi.binary.maker;
+
+import java.io.IOException;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import jp.co.yahoo.yosegi.message.objects.DoubleObj;
+import jp.co.yahoo.yosegi.message.objects.FloatObj;
+
+public class TestDoubleDicManager {
+
+  @Test
+  public void T_get_equalsArrayValue() throws IOException {
+    DoubleDicManager dicManager = new DoubleDicManager( new double[]{ 0 , 1.5d , -2.25d } );
+    assertEquals( 3 , dicManager.getDicSize() );
+    assertTrue( dicManager.isNull( 0 ) );
+    assertNull( dicManager.get( 0 ) );
+    assertEquals( 1.5d , dicManager.getDouble( 1 ) );
+    assertEquals( -2.25d , dicManager.getDouble( 2 ) );
+    assertTrue( dicManager.get( 2 ) instanceof DoubleObj );
+    assertEquals( -2.25d , dicManager.get( 2 ).getDouble() );
+  }
+
+  @Test
+  public void T_get_equalsArrayValue_withFloat() throws IOException {
+    FloatDicManager dicManager = new FloatDicManager( new float[]{ 0 , 1.5f , -2.25f } );
+    assertTrue( dicManager.isNull( 0 ) );
+    assertEquals( 1.5f , dicManager.getFloat( 1 ) );
+    assertEquals( -2.25d , dicManager.getDouble( 2 ) );
+    assertTrue( dicManager.get( 1 ) instanceof FloatObj );
+    assertEquals( 1.5f , dicManager.get( 1 ).getFloat() );
+  }
+
+}
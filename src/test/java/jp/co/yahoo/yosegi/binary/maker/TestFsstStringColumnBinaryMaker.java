@@ -0,0 +1,103 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.yosegi.binary.maker;
+
+import java.io.IOException;
+import java.util.function.Predicate;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import jp.co.yahoo.yosegi.binary.ColumnBinary;
+import jp.co.yahoo.yosegi.binary.ColumnBinaryMakerConfig;
+import jp.co.yahoo.yosegi.binary.CompressResultNode;
+import jp.co.yahoo.yosegi.compressor.DefaultCompressor;
+import jp.co.yahoo.yosegi.message.objects.PrimitiveObject;
+import jp.co.yahoo.yosegi.message.objects.StringObj;
+import jp.co.yahoo.yosegi.spread.column.ColumnType;
+import jp.co.yahoo.yosegi.spread.column.IColumn;
+import jp.co.yahoo.yosegi.spread.column.PrimitiveColumn;
+import jp.co.yahoo.yosegi.spread.column.filter.ForwardMatchStringFilter;
+import jp.co.yahoo.yosegi.spread.column.filter.IFilter;
+import jp.co.yahoo.yosegi.spread.column.filter.PartialMatchStringFilter;
+import jp.co.yahoo.yosegi.spread.column.filter.PerfectMatchStringFilter;
+
+public class TestFsstStringColumnBinaryMaker {
+
+  private IColumn createUserAgentColumn() throws IOException {
+    String[] browserArray = new String[]{ "Chrome/120.0.0.0" , "Firefox/121.0" , "Safari/605.1.15" };
+    IColumn column = new PrimitiveColumn( ColumnType.STRING , "ua" );
+    for ( int i = 0 ; i < 500 ; i++ ) {
+      if ( i % 9 == 0 ) {
+        continue;
+      }
+      String ua = String.format(
+          "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/%d.36 %s" ,
+          500 + i % 40 , browserArray[ i % browserArray.length ] );
+      column.add( ColumnType.STRING , new StringObj( ua ) , i );
+    }
+    return column;
+  }
+
+  private IColumn toColumn( final IColumn column ) throws IOException {
+    ColumnBinaryMakerConfig config = new ColumnBinaryMakerConfig();
+    config.compressorClass = new DefaultCompressor();
+    FsstStringColumnBinaryMaker maker = new FsstStringColumnBinaryMaker();
+    ColumnBinary columnBinary = maker.toBinary( config , null , new CompressResultNode() , column );
+    return maker.toColumn( columnBinary );
+  }
+
+  private void assertFilter( final IColumn column , final IColumn result , final IFilter filter ,
+      final Predicate<String> expected ) throws IOException {
+    boolean[] filterArray = result.filter( filter , new boolean[ column.size() ] );
+    for ( int i = 0 ; i < column.size() ; i++ ) {
+      boolean isMatch = column.get( i ).getType() != ColumnType.NULL
+          && expected.test( ( (PrimitiveObject)column.get( i ).getRow() ).getString() );
+      assertEquals( isMatch , filterArray[i] );
+    }
+  }
+
+  @Test
+  public void T_toColumn_equalsValues_withNull() throws IOException {
+    IColumn column = createUserAgentColumn();
+    IColumn result = toColumn( column );
+    assertEquals( column.size() , result.size() );
+    for ( int i = 0 ; i < column.size() ; i++ ) {
+      assertEquals( column.get( i ).getType() , result.get( i ).getType() );
+      if ( column.get( i ).getType() != ColumnType.NULL ) {
+        assertEquals(
+            ( (PrimitiveObject)column.get( i ).getRow() ).getString() ,
+            ( (PrimitiveObject)result.get( i ).getRow() ).getString() );
+      }
+    }
+  }
+
+  @Test
+  public void T_filter_equalsDecodedMatch() throws IOException {
+    IColumn column = createUserAgentColumn();
+    IColumn result = toColumn( column );
+    String target = "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/512.36 Safari/605.1.15";
+    assertFilter( column , result , new PerfectMatchStringFilter( target ) , target::equals );
+    String prefix = "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/51";
+    assertFilter( column , result , new ForwardMatchStringFilter( prefix ) , s -> s.startsWith( prefix ) );
+    assertFilter( column , result , new ForwardMatchStringFilter( "Opera" ) , s -> s.startsWith( "Opera" ) );
+    assertFilter( column , result , new PartialMatchStringFilter( "Firefox" ) , s -> s.contains( "Firefox" ) );
+  }
+
+}
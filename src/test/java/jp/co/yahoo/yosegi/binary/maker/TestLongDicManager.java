@@ -0,0 +1,58 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.yosegi.binary.maker;
+
+import java.io.IOException;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import jp.co.yahoo.yosegi.message.objects.ByteObj;
+import jp.co.yahoo.yosegi.message.objects.LongObj;
+import jp.co.yahoo.yosegi.message.objects.PrimitiveObject;
+import jp.co.yahoo.yosegi.spread.column.ColumnType;
+
+public class TestLongDicManager {
+
+  @Test
+  public void T_get_equalsArrayValue() throws IOException {
+    LongDicManager dicManager = new LongDicManager( ColumnType.LONG , new long[]{ 0 , 5 , Long.MAX_VALUE } );
+    assertEquals( 3 , dicManager.getDicSize() );
+    assertTrue( dicManager.isNull( 0 ) );
+    assertNull( dicManager.get( 0 ) );
+    assertFalse( dicManager.isNull( 1 ) );
+    assertEquals( 5L , dicManager.getLong( 1 ) );
+    assertEquals( Long.MAX_VALUE , dicManager.getLong( 2 ) );
+    PrimitiveObject obj = dicManager.get( 2 );
+    assertTrue( obj instanceof LongObj );
+    assertEquals( Long.MAX_VALUE , obj.getLong() );
+    assertSame( obj , dicManager.get( 2 ) );
+  }
+
+  @Test
+  public void T_get_createColumnTypeObject_withByteColumn() throws IOException {
+    LongDicManager dicManager = new LongDicManager( ColumnType.BYTE , new long[]{ 0 , -3 , 100 } );
+    assertTrue( dicManager.get( 1 ) instanceof ByteObj );
+    assertEquals( (byte)-3 , dicManager.get( 1 ).getByte() );
+    assertEquals( (byte)100 , dicManager.getByte( 2 ) );
+    assertEquals( (short)100 , dicManager.getShort( 2 ) );
+    assertEquals( 100 , dicManager.getInt( 2 ) );
+  }
+
+}
@@ -0,0 +1,142 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.yosegi.binary.maker;
+
+import jp.co.yahoo.yosegi.binary.ColumnBinary;
+import jp.co.yahoo.yosegi.binary.ColumnBinaryMakerConfig;
+import jp.co.yahoo.yosegi.binary.CompressResultNode;
+import jp.co.yahoo.yosegi.message.objects.LongObj;
+import jp.co.yahoo.yosegi.message.objects.PrimitiveObject;
+import jp.co.yahoo.yosegi.message.objects.StringObj;
+import jp.co.yahoo.yosegi.spread.column.ColumnType;
+import jp.co.yahoo.yosegi.spread.column.IColumn;
+import jp.co.yahoo.yosegi.spread.column.PrimitiveColumn;
+import jp.co.yahoo.yosegi.spread.column.filter.NumberFilter;
+import jp.co.yahoo.yosegi.spread.column.filter.NumberFilterType;
+import jp.co.yahoo.yosegi.spread.column.filter.PerfectMatchStringFilter;
+import jp.co.yahoo.yosegi.spread.expression.ListIndexExpressionIndex;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+public class TestRunLengthCellManager {
+
+  // rows 0-1 are before startIndex, rows 4 , 8 and 9 are null.
+  private RunLengthCellManager createStringCellManager() throws IOException {
+    boolean[] isNullArray = new boolean[]{ false , false , true , false , false , false , true , true , false };
+    int[] rowGroupLengthArray = new int[]{ 2 , 3 , 1 };
+    PrimitiveObject[] valueArray = new PrimitiveObject[]{
+        new StringObj( "a" ) , new StringObj( "b" ) , new StringObj( "a" ) };
+    return RunLengthCellManager.create(
+        ColumnType.STRING , 2 , isNullArray , 3 , rowGroupLengthArray , valueArray );
+  }
+
+  @Test
+  public void T_get_equalsSetValue() throws IOException {
+    RunLengthCellManager cellManager = createStringCellManager();
+    String[] expected = new String[]{ null , null , "a" , "a" , null , "b" , "b" , "b" , null , null , "a" };
+    assertEquals( expected.length , cellManager.size() );
+    for ( int i = expected.length - 1 ; 0 <= i ; i-- ) {
+      if ( expected[i] == null ) {
+        assertNull( cellManager.get( i , null ) );
+      } else {
+        assertEquals( expected[i] , ( (PrimitiveObject)( cellManager.get( i , null ).getRow() ) ).getString() );
+      }
+    }
+    assertNull( cellManager.get( 11 , null ) );
+  }
+
+  @Test
+  public void T_getRunLength_equalsRuns_splitByNull() throws IOException {
+    RunLengthCellManager cellManager = createStringCellManager();
+    assertTrue( cellManager.isRunLength() );
+    assertEquals( 3 , cellManager.getRunLengthSize() );
+    assertArrayEquals( new int[]{ 2 , 5 , 10 } , cellManager.getRunLengthStartArray() );
+    assertArrayEquals( new int[]{ 2 , 3 , 1 } , cellManager.getRunLengthLengthArray() );
+    PrimitiveObject[] valueArray = cellManager.getRunLengthValueArray();
+    assertEquals( "a" , valueArray[0].getString() );
+    assertEquals( "b" , valueArray[1].getString() );
+    assertEquals( "a" , valueArray[2].getString() );
+  }
+
+  @Test
+  public void T_filter_equalsRunRows() throws IOException {
+    RunLengthCellManager cellManager = createStringCellManager();
+    boolean[] result = cellManager.filter( new PerfectMatchStringFilter( "a" ) , new boolean[11] );
+    boolean[] expected = new boolean[11];
+    expected[2] = true;
+    expected[3] = true;
+    expected[10] = true;
+    assertArrayEquals( expected , result );
+  }
+
+  @Test
+  public void T_filter_equalsRunRows_withNumber() throws IOException {
+    boolean[] isNullArray = new boolean[]{ false , false , false , true , false };
+    int[] rowGroupLengthArray = new int[]{ 3 , 1 };
+    PrimitiveObject[] valueArray = new PrimitiveObject[]{ new LongObj( 5 ) , new LongObj( 10 ) };
+    RunLengthCellManager cellManager = RunLengthCellManager.create(
+        ColumnType.LONG , 0 , isNullArray , 2 , rowGroupLengthArray , valueArray );
+    boolean[] result = cellManager.filter(
+        new NumberFilter( NumberFilterType.GT , new LongObj( 7 ) ) , new boolean[5] );
+    assertArrayEquals( new boolean[]{ false , false , false , false , true } , result );
+    result = cellManager.filter(
+        new NumberFilter( NumberFilterType.NOT_EQUAL , new LongObj( 5 ) ) , new boolean[5] );
+    assertArrayEquals( new boolean[]{ false , false , false , true , true } , result );
+  }
+
+  @Test
+  public void T_getPrimitiveObjectArray_equalsSetValue() throws IOException {
+    RunLengthCellManager cellManager = createStringCellManager();
+    PrimitiveObject[] result = cellManager.getPrimitiveObjectArray(
+        new ListIndexExpressionIndex( Arrays.asList( 10 , 0 , 6 , 4 , 3 ) ) , 0 , 5 );
+    assertEquals( "a" , result[0].getString() );
+    assertNull( result[1] );
+    assertEquals( "b" , result[2].getString() );
+    assertNull( result[3] );
+    assertEquals( "a" , result[4].getString() );
+  }
+
+  @Test
+  public void T_getRunLength_equalsRuns_withRleLongColumnBinaryMaker() throws IOException {
+    IColumn column = new PrimitiveColumn( ColumnType.LONG , "tenant" );
+    for ( int i = 0 ; i < 100 ; i++ ) {
+      if ( i == 50 ) {
+        continue;
+      }
+      column.add( ColumnType.LONG , new LongObj( i / 40 ) , i );
+    }
+    RleLongColumnBinaryMaker maker = new RleLongColumnBinaryMaker();
+    ColumnBinary columnBinary = maker.toBinary(
+        new ColumnBinaryMakerConfig() , null , new CompressResultNode() , column );
+    IColumn result = maker.toColumn( columnBinary );
+    assertTrue( result.isRunLength() );
+    assertArrayEquals( new int[]{ 0 , 40 , 51 , 80 } , result.getRunLengthStartArray() );
+    assertArrayEquals( new int[]{ 40 , 10 , 29 , 20 } , result.getRunLengthLengthArray() );
+    PrimitiveObject[] valueArray = result.getRunLengthValueArray();
+    assertEquals( 0L , valueArray[0].getLong() );
+    assertEquals( 1L , valueArray[1].getLong() );
+    assertEquals( 1L , valueArray[2].getLong() );
+    assertEquals( 2L , valueArray[3].getLong() );
+  }
+
+}
@@ -0,0 +1,183 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.yosegi.binary.maker;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Predicate;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import jp.co.yahoo.yosegi.binary.ColumnBinary;
+import jp.co.yahoo.yosegi.binary.ColumnBinaryMakerConfig;
+import jp.co.yahoo.yosegi.binary.CompressResultNode;
+import jp.co.yahoo.yosegi.binary.SharedDictionary;
+import jp.co.yahoo.yosegi.compressor.DefaultCompressor;
+import jp.co.yahoo.yosegi.message.objects.PrimitiveObject;
+import jp.co.yahoo.yosegi.message.objects.StringObj;
+import jp.co.yahoo.yosegi.spread.column.ColumnType;
+import jp.co.yahoo.yosegi.spread.column.IColumn;
+import jp.co.yahoo.yosegi.spread.column.PrimitiveColumn;
+import jp.co.yahoo.yosegi.spread.column.filter.ForwardMatchStringFilter;
+import jp.co.yahoo.yosegi.spread.column.filter.IFilter;
+import jp.co.yahoo.yosegi.spread.column.filter.PerfectMatchStringFilter;
+
+public class TestSharedDictionaryStringColumnBinaryMaker {
+
+  private IColumn createColumn( final int offset ) throws IOException {
+    IColumn column = new PrimitiveColumn( ColumnType.STRING , "country" );
+    for ( int i = 0 ; i < 300 ; i++ ) {
+      if ( i % 7 == 0 ) {
+        continue;
+      }
+      column.add( ColumnType.STRING , new StringObj( "country_" + ( ( i + offset ) % 20 ) ) , i );
+    }
+    return column;
+  }
+
+  private ColumnBinary toBinary( final IColumn column ) throws IOException {
+    ColumnBinaryMakerConfig config = new ColumnBinaryMakerConfig();
+    config.compressorClass = new DefaultCompressor();
+    return new SharedDictionaryStringColumnBinaryMaker().toBinary(
+        config , null , new CompressResultNode() , column );
+  }
+
+  private ColumnBinary shareDictionary(
+      final ColumnBinary columnBinary , final SharedDictionary dictionary ) throws IOException {
+    return new SharedDictionaryStringColumnBinaryMaker().shareDictionary(
+        new ColumnBinaryMakerConfig() , new CompressResultNode() , columnBinary , dictionary );
+  }
+
+  private void assertColumn( final IColumn column , final IColumn result ) throws IOException {
+    assertEquals( column.size() , result.size() );
+    for ( int i = 0 ; i < column.size() ; i++ ) {
+      assertEquals( column.get( i ).getType() , result.get( i ).getType() );
+      if ( column.get( i ).getType() != ColumnType.NULL ) {
+        assertEquals(
+            ( (PrimitiveObject)column.get( i ).getRow() ).getString() ,
+            ( (PrimitiveObject)result.get( i ).getRow() ).getString() );
+      }
+    }
+  }
+
+  private void assertFilter( final IColumn column , final IColumn result , final IFilter filter ,
+      final Predicate<String> expected ) throws IOException {
+    boolean[] filterArray = result.filter( filter , new boolean[ column.size() ] );
+    for ( int i = 0 ; i < column.size() ; i++ ) {
+      boolean isMatch = column.get( i ).getType() != ColumnType.NULL
+          && expected.test( ( (PrimitiveObject)column.get( i ).getRow() ).getString() );
+      assertEquals( isMatch , filterArray[i] );
+    }
+  }
+
+  @Test
+  public void T_toColumn_equalsValues_withLocalDictionary() throws IOException {
+    IColumn column = createColumn( 0 );
+    ColumnBinary columnBinary = toBinary( column );
+    assertColumn( column , new SharedDictionaryStringColumnBinaryMaker().toColumn( columnBinary ) );
+  }
+
+  @Test
+  public void T_filter_equalsDecodedMatch_withLocalDictionary() throws IOException {
+    IColumn column = createColumn( 0 );
+    IColumn result = new SharedDictionaryStringColumnBinaryMaker().toColumn( toBinary( column ) );
+    assertFilter( column , result , new PerfectMatchStringFilter( "country_3" ) , "country_3"::equals );
+    assertFilter( column , result , new ForwardMatchStringFilter( "country_1" ) ,
+        s -> s.startsWith( "country_1" ) );
+    assertFilter( column , result , new PerfectMatchStringFilter( "x" ) , "x"::equals );
+  }
+
+  @Test
+  public void T_shareDictionary_equalsValues_withSameDictionary() throws IOException {
+    SharedDictionaryStringColumnBinaryMaker maker = new SharedDictionaryStringColumnBinaryMaker();
+    SharedDictionary dictionary = new SharedDictionary( ColumnType.STRING );
+    IColumn column1 = createColumn( 0 );
+    IColumn column2 = createColumn( 5 );
+    ColumnBinary shared1 = shareDictionary( toBinary( column1 ) , dictionary );
+    ColumnBinary shared2 = shareDictionary( toBinary( column2 ) , dictionary );
+    assertEquals( 20 , dictionary.size() );
+    assertColumn( column1 , maker.toColumn( shared1 ) );
+    assertColumn( column2 , maker.toColumn( shared2 ) );
+    assertFilter( column2 , maker.toColumn( shared2 ) ,
+        new PerfectMatchStringFilter( "country_3" ) , "country_3"::equals );
+
+    ColumnBinary local = shareDictionary( shared2 , null );
+    assertNull( local.sharedDictionary );
+    assertColumn( column2 , maker.toColumn( local ) );
+  }
+
+  @Test
+  public void T_toColumn_throwsException_withoutSharedDictionary() throws IOException {
+    SharedDictionaryStringColumnBinaryMaker maker = new SharedDictionaryStringColumnBinaryMaker();
+    ColumnBinary shared = shareDictionary(
+        toBinary( createColumn( 0 ) ) , new SharedDictionary( ColumnType.STRING ) );
+    shared.sharedDictionary = null;
+    assertThrows( UncheckedIOException.class , () -> maker.toColumn( shared ).get( 0 ) );
+  }
+
+  @Test
+  public void T_toBinary_appendIds_withBlockDictionary() throws IOException {
+    SharedDictionaryStringColumnBinaryMaker maker = new SharedDictionaryStringColumnBinaryMaker();
+    ColumnBinaryMakerConfig config = new ColumnBinaryMakerConfig();
+    config.compressorClass = new DefaultCompressor();
+    SharedDictionary dictionary = new SharedDictionary( ColumnType.STRING );
+    IColumn column1 = createColumn( 0 );
+    IColumn column2 = createColumn( 5 );
+    ColumnBinary shared1 = maker.toBinary(
+        config , null , new CompressResultNode() , column1 , dictionary );
+    assertEquals( 0 , dictionary.size() );
+    assertColumn( column1 , maker.toColumn( shared1 ) );
+    assertTrue( shared1.sharedDictionaryAppend.canAppendTo( dictionary ) );
+    shared1.sharedDictionaryAppend.appendTo( dictionary );
+    shared1.sharedDictionary = dictionary;
+    shared1.sharedDictionaryAppend = null;
+
+    ColumnBinary shared2 = maker.toBinary(
+        config , null , new CompressResultNode() , column2 , dictionary );
+    assertTrue( shared2.sharedDictionaryAppend.canAppendTo( dictionary ) );
+    assertEquals( 0 , shared2.sharedDictionaryAppend.getAppendBinarySize() );
+    shared2.sharedDictionary = dictionary;
+    shared2.sharedDictionaryAppend = null;
+    assertEquals( 20 , dictionary.size() );
+    assertColumn( column1 , maker.toColumn( shared1 ) );
+    assertColumn( column2 , maker.toColumn( shared2 ) );
+  }
+
+  @Test
+  public void T_shareDictionary_equalsValues_withChangedBlockDictionary() throws IOException {
+    SharedDictionaryStringColumnBinaryMaker maker = new SharedDictionaryStringColumnBinaryMaker();
+    ColumnBinaryMakerConfig config = new ColumnBinaryMakerConfig();
+    config.compressorClass = new DefaultCompressor();
+    SharedDictionary dictionary = new SharedDictionary( ColumnType.STRING );
+    dictionary.add( "country_3".getBytes( "UTF-8" ) );
+    IColumn column = createColumn( 0 );
+    ColumnBinary shared = maker.toBinary(
+        config , null , new CompressResultNode() , column , dictionary );
+
+    SharedDictionary otherDictionary = new SharedDictionary( ColumnType.STRING );
+    otherDictionary.add( "other".getBytes( "UTF-8" ) );
+    assertFalse( shared.sharedDictionaryAppend.canAppendTo( otherDictionary ) );
+    ColumnBinary rebound = shareDictionary( shared , otherDictionary );
+    assertNull( rebound.sharedDictionaryAppend );
+    assertEquals( 21 , otherDictionary.size() );
+    assertColumn( column , maker.toColumn( rebound ) );
+  }
+
+}
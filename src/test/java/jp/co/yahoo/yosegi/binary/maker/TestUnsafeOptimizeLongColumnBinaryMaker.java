@@ -135,6 +135,11 @@ public class TestUnsafeOptimizeLongColumnBinaryMaker{
     for( int i = 1 ; i < rp.length ; i++ ){
       assertEquals( rp[i].getLong() , l.get( i ).getLong() );
     }
+    long[] rl = maker.getDicLongArray( l.size() , b , 0 , b.length , ByteOrder.nativeOrder() );
+    assertEquals( rl.length , l.size() );
+    for( int i = 1 ; i < rl.length ; i++ ){
+      assertEquals( rl[i] , l.get( i ).getLong() );
+    }
   }
 
   @Test
@@ -161,6 +166,11 @@ public class TestUnsafeOptimizeLongColumnBinaryMaker{
     for( int i = 1 ; i < rp.length ; i++ ){
       assertEquals( rp[i].getLong() , l.get( i ).getLong() );
     }
+    long[] rl = maker.getDicLongArray( l.size() , b , 0 , b.length , ByteOrder.nativeOrder() );
+    assertEquals( rl.length , l.size() );
+    for( int i = 1 ; i < rl.length ; i++ ){
+      assertEquals( rl[i] , l.get( i ).getLong() );
+    }
   }
 
   @Test
@@ -187,6 +197,11 @@ public class TestUnsafeOptimizeLongColumnBinaryMaker{
     for( int i = 1 ; i < rp.length ; i++ ){
       assertEquals( rp[i].getLong() , l.get( i ).getLong() );
     }
+    long[] rl = maker.getDicLongArray( l.size() , b , 0 , b.length , ByteOrder.nativeOrder() );
+    assertEquals( rl.length , l.size() );
+    for( int i = 1 ; i < rl.length ; i++ ){
+      assertEquals( rl[i] , l.get( i ).getLong() );
+    }
   }
 
   @Test
@@ -213,6 +228,11 @@ public class TestUnsafeOptimizeLongColumnBinaryMaker{
     for( int i = 1 ; i < rp.length ; i++ ){
       assertEquals( rp[i].getLong() , l.get( i ).getLong() );
     }
+    long[] rl = maker.getDicLongArray( l.size() , b , 0 , b.length , ByteOrder.nativeOrder() );
+    assertEquals( rl.length , l.size() );
+    for( int i = 1 ; i < rl.length ; i++ ){
+      assertEquals( rl[i] , l.get( i ).getLong() );
+    }
   }
 
   @Test
@@ -238,6 +258,11 @@ public class TestUnsafeOptimizeLongColumnBinaryMaker{
     for( int i = 1 ; i < rp.length ; i++ ){
       assertEquals( rp[i].getLong() , l.get( i ).getLong() );
     }
+    long[] rl = maker.getDicLongArray( l.size() , b , 0 , b.length , ByteOrder.nativeOrder() );
+    assertEquals( rl.length , l.size() );
+    for( int i = 1 ; i < rl.length ; i++ ){
+      assertEquals( rl[i] , l.get( i ).getLong() );
+    }
   }
 
   @Test
@@ -263,6 +288,11 @@ public class TestUnsafeOptimizeLongColumnBinaryMaker{
     for( int i = 1 ; i < rp.length ; i++ ){
       assertEquals( rp[i].getLong() , l.get( i ).getLong() );
     }
+    long[] rl = maker.getDicLongArray( l.size() , b , 0 , b.length , ByteOrder.nativeOrder() );
+    assertEquals( rl.length , l.size() );
+    for( int i = 1 ; i < rl.length ; i++ ){
+      assertEquals( rl[i] , l.get( i ).getLong() );
+    }
   }
 
   @Test
@@ -286,6 +316,11 @@ public class TestUnsafeOptimizeLongColumnBinaryMaker{
     for( int i = 1 ; i < rp.length ; i++ ){
       assertEquals( rp[i].getLong() , l.get( i ).getLong() );
     }
+    long[] rl = maker.getDicLongArray( l.size() , b , 0 , b.length , ByteOrder.nativeOrder() );
+    assertEquals( rl.length , l.size() );
+    for( int i = 1 ; i < rl.length ; i++ ){
+      assertEquals( rl[i] , l.get( i ).getLong() );
+    }
   }
 
   @Test
@@ -311,6 +346,11 @@ public class TestUnsafeOptimizeLongColumnBinaryMaker{
     for( int i = 1 ; i < rp.length ; i++ ){
       assertEquals( rp[i].getLong() , l.get( i ).getLong() );
     }
+    long[] rl = maker.getDicLongArray( l.size() , b , 0 , b.length , ByteOrder.nativeOrder() );
+    assertEquals( rl.length , l.size() );
+    for( int i = 1 ; i < rl.length ; i++ ){
+      assertEquals( rl[i] , l.get( i ).getLong() );
+    }
   }
 
   @Test
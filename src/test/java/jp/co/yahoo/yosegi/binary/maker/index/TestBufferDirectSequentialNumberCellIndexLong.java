@@ -88,6 +88,33 @@ public class TestBufferDirectSequentialNumberCellIndexLong{
     }
   }
 
+  @Test
+  public void T_long_filter_dictionary() throws IOException{
+    List<PrimitiveObject> dic = new ArrayList<PrimitiveObject>();
+    dic.add( new LongObj( 1000 ) );
+    dic.add( new LongObj( 2000 ) );
+    dic.add( new LongObj( 3000 ) );
+    dic.add( new LongObj( 4000 ) );
+    dic.add( new LongObj( 5000 ) );
+    IntBuffer buffer = IntBuffer.allocate( 100 );
+    for( int i = 0 ; i < 100 ; i++ ){
+      buffer.put( i % 5 );
+    }
+    ICellIndex index = new BufferDirectSequentialNumberCellIndex( ColumnType.LONG , new TestDicManager( dic ) , buffer );
+    List<PrimitiveObject> target = new ArrayList<PrimitiveObject>();
+    target.add( new LongObj( 2000 ) );
+    target.add( new IntegerObj( 4000 ) );
+    target.add( new LongObj( 6000 ) );
+    IFilter filter = new NumberDictionaryFilter( target );
+
+    FilterdExpressionIndex result = new FilterdExpressionIndex( index.filter( filter , new boolean[100] ) );
+    assertEquals( result.size() , 40 );
+    for( int i = 0,n=0 ; n < 100 ; i+=2,n+=5 ){
+      assertEquals( result.get(i) , n + 1 );
+      assertEquals( result.get(i+1) , n + 3 );
+    }
+  }
+
   @Test
   public void T_long_filter_2() throws IOException{
     List<PrimitiveObject> dic = new ArrayList<PrimitiveObject>();
@@ -0,0 +1,126 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.yosegi.binary.maker.index;
+
+import java.io.IOException;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import jp.co.yahoo.yosegi.message.objects.BooleanObj;
+import jp.co.yahoo.yosegi.message.objects.LongObj;
+import jp.co.yahoo.yosegi.message.objects.StringObj;
+import jp.co.yahoo.yosegi.spread.column.ColumnType;
+import jp.co.yahoo.yosegi.spread.column.IColumn;
+import jp.co.yahoo.yosegi.spread.column.PrimitiveColumn;
+import jp.co.yahoo.yosegi.spread.column.filter.ForwardMatchStringFilter;
+import jp.co.yahoo.yosegi.spread.column.filter.NotNullFilter;
+import jp.co.yahoo.yosegi.spread.column.filter.NumberFilter;
+import jp.co.yahoo.yosegi.spread.column.filter.NumberFilterType;
+import jp.co.yahoo.yosegi.spread.column.filter.NumberRangeFilter;
+import jp.co.yahoo.yosegi.spread.column.filter.PerfectMatchStringFilter;
+
+public class TestSortedCellIndex {
+
+  private IColumn createLongColumn( final long... values ) throws IOException {
+    IColumn column = new PrimitiveColumn( ColumnType.LONG , "c" );
+    for ( int i = 0 ; i < values.length ; i++ ) {
+      column.add( ColumnType.LONG , new LongObj( values[i] ) , i );
+    }
+    return column;
+  }
+
+  private IColumn createStringColumn( final String... values ) throws IOException {
+    IColumn column = new PrimitiveColumn( ColumnType.STRING , "c" );
+    for ( int i = 0 ; i < values.length ; i++ ) {
+      column.add( ColumnType.STRING , new StringObj( values[i] ) , i );
+    }
+    return column;
+  }
+
+  private void assertRange( final boolean[] result , final int start , final int end ) {
+    for ( int i = 0 ; i < result.length ; i++ ) {
+      assertEquals( start <= i && i < end , result[i] , "index=" + i );
+    }
+  }
+
+  @Test
+  public void T_filter_equalsRange_withNumberFilter() throws IOException {
+    SortedCellIndex index = new SortedCellIndex( createLongColumn( 1 , 2 , 2 , 2 , 5 , 9 ) );
+    assertRange( index.filter(
+        new NumberFilter( NumberFilterType.EQUAL , new LongObj( 2 ) ) , new boolean[6] ) , 1 , 4 );
+    assertRange( index.filter(
+        new NumberFilter( NumberFilterType.LT , new LongObj( 2 ) ) , new boolean[6] ) , 0 , 1 );
+    assertRange( index.filter(
+        new NumberFilter( NumberFilterType.LE , new LongObj( 2 ) ) , new boolean[6] ) , 0 , 4 );
+    assertRange( index.filter(
+        new NumberFilter( NumberFilterType.GT , new LongObj( 2 ) ) , new boolean[6] ) , 4 , 6 );
+    assertRange( index.filter(
+        new NumberFilter( NumberFilterType.GE , new LongObj( 5 ) ) , new boolean[6] ) , 4 , 6 );
+    assertRange( index.filter(
+        new NumberFilter( NumberFilterType.EQUAL , new LongObj( 3 ) ) , new boolean[6] ) , 0 , 0 );
+  }
+
+  @Test
+  public void T_filter_equalsRange_withNumberRangeFilter() throws IOException {
+    SortedCellIndex index = new SortedCellIndex( createLongColumn( 1 , 2 , 3 , 4 , 5 , 6 ) );
+    assertRange( index.filter( new NumberRangeFilter(
+        new LongObj( 2 ) , true , new LongObj( 5 ) , false ) , new boolean[6] ) , 1 , 4 );
+    assertRange( index.filter( new NumberRangeFilter(
+        new LongObj( 2 ) , false , new LongObj( 5 ) , true ) , new boolean[6] ) , 2 , 5 );
+  }
+
+  @Test
+  public void T_filter_notMatchNullRows_withShortColumn() throws IOException {
+    SortedCellIndex index = new SortedCellIndex( createLongColumn( 1 , 2 , 3 ) );
+    assertRange( index.filter(
+        new NumberFilter( NumberFilterType.GE , new LongObj( 2 ) ) , new boolean[5] ) , 1 , 3 );
+  }
+
+  @Test
+  public void T_filter_equalsRange_withStringFilter() throws IOException {
+    SortedCellIndex index = new SortedCellIndex(
+        createStringColumn( "a" , "ab" , "abc" , "b" , "ba" , "c" ) );
+    assertRange( index.filter(
+        new PerfectMatchStringFilter( "b" ) , new boolean[6] ) , 3 , 4 );
+    assertRange( index.filter(
+        new ForwardMatchStringFilter( "ab" ) , new boolean[6] ) , 1 , 3 );
+    assertRange( index.filter(
+        new ForwardMatchStringFilter( "d" ) , new boolean[6] ) , 0 , 0 );
+  }
+
+  @Test
+  public void T_filter_null_withUnsupportedFilter() throws IOException {
+    SortedCellIndex index = new SortedCellIndex( createLongColumn( 1 , 2 , 3 ) );
+    assertNull( index.filter(
+        new NumberFilter( NumberFilterType.NOT_EQUAL , new LongObj( 2 ) ) , new boolean[3] ) );
+    assertNull( index.filter( new NotNullFilter( ColumnType.LONG ) , new boolean[3] ) );
+    assertNull( index.filter( new PerfectMatchStringFilter( "1" ) , new boolean[3] ) );
+  }
+
+  @Test
+  public void T_filter_null_withBooleanColumn() throws IOException {
+    IColumn column = new PrimitiveColumn( ColumnType.BOOLEAN , "c" );
+    column.add( ColumnType.BOOLEAN , new BooleanObj( true ) , 0 );
+    SortedCellIndex index = new SortedCellIndex( column );
+    assertNull( index.filter(
+        new NumberFilter( NumberFilterType.EQUAL , new LongObj( 1 ) ) , new boolean[1] ) );
+  }
+
+}
@@ -0,0 +1,151 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.yosegi.blackbox;
+
+import java.io.IOException;
+
+import java.util.*;
+
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.Arguments;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.params.provider.Arguments.arguments;
+
+import jp.co.yahoo.yosegi.message.objects.*;
+
+import jp.co.yahoo.yosegi.spread.column.filter.*;
+import jp.co.yahoo.yosegi.spread.column.*;
+import jp.co.yahoo.yosegi.binary.*;
+import jp.co.yahoo.yosegi.binary.maker.*;
+import jp.co.yahoo.yosegi.blockindex.*;
+
+public class TestBloomFilterIndex{
+
+  public static Stream<Arguments> stringMaker() throws IOException{
+    return Stream.of(
+      arguments( "jp.co.yahoo.yosegi.binary.maker.UnsafeOptimizeDumpStringColumnBinaryMaker" ),
+      arguments( "jp.co.yahoo.yosegi.binary.maker.UnsafeOptimizeStringColumnBinaryMaker" ),
+      arguments( "jp.co.yahoo.yosegi.binary.maker.FsstStringColumnBinaryMaker" ),
+      arguments( "jp.co.yahoo.yosegi.binary.maker.SharedDictionaryStringColumnBinaryMaker" ),
+      arguments( "jp.co.yahoo.yosegi.binary.maker.OptimizedNullArrayDumpStringColumnBinaryMaker" ),
+      arguments( "jp.co.yahoo.yosegi.binary.maker.OptimizedNullArrayStringColumnBinaryMaker" ),
+      arguments( "jp.co.yahoo.yosegi.binary.maker.RleStringColumnBinaryMaker" ),
+      arguments( "jp.co.yahoo.yosegi.binary.maker.DictionaryRleStringColumnBinaryMaker" )
+    );
+  }
+
+  public static Stream<Arguments> longMaker() throws IOException{
+    return Stream.of(
+      arguments( "jp.co.yahoo.yosegi.binary.maker.UnsafeOptimizeDumpLongColumnBinaryMaker" ),
+      arguments( "jp.co.yahoo.yosegi.binary.maker.UnsafeOptimizeLongColumnBinaryMaker" ),
+      arguments( "jp.co.yahoo.yosegi.binary.maker.OptimizedNullArrayDumpLongColumnBinaryMaker" ),
+      arguments( "jp.co.yahoo.yosegi.binary.maker.OptimizedNullArrayLongColumnBinaryMaker" ),
+      arguments( "jp.co.yahoo.yosegi.binary.maker.RleLongColumnBinaryMaker" )
+    );
+  }
+
+  private static IBlockIndex createIndex(
+      final String targetClassName , final List<IColumn> columnList ) throws IOException{
+    BlockIndexNode node = new BlockIndexNode();
+    node.enableBloomFilter();
+    IColumnBinaryMaker maker = FindColumnBinaryMaker.get( targetClassName );
+    ColumnBinaryMakerConfig defaultConfig = new ColumnBinaryMakerConfig();
+    for( int i = 0 ; i < columnList.size() ; i++ ){
+      ColumnBinary c = maker.toBinary( defaultConfig , null , new CompressResultNode() , columnList.get( i ) );
+      FindColumnBinaryMaker.get( c.makerClassName ).setBlockIndexNode( node , c , i );
+    }
+    BlockIndexNode readNode = BlockIndexNode.createFromBinary( toBinary( node ) , 0 );
+    return readNode.getChildNode( "column" ).getBlockIndex();
+  }
+
+  private static byte[] toBinary( final BlockIndexNode node ) throws IOException{
+    byte[] binary = new byte[ node.getBinarySize() ];
+    node.toBinary( binary , 0 );
+    return binary;
+  }
+
+  private static IColumn createStringColumn( final String... values ) throws IOException{
+    IColumn column = new PrimitiveColumn( ColumnType.STRING , "column" );
+    for( int i = 0 ; i < values.length ; i++ ){
+      column.add( ColumnType.STRING , new StringObj( values[i] ) , i );
+    }
+    return column;
+  }
+
+  private static IColumn createLongColumn( final long... values ) throws IOException{
+    IColumn column = new PrimitiveColumn( ColumnType.LONG , "column" );
+    for( int i = 0 ; i < values.length ; i++ ){
+      column.add( ColumnType.LONG , new LongObj( values[i] ) , i );
+    }
+    return column;
+  }
+
+  @ParameterizedTest
+  @MethodSource( "stringMaker" )
+  public void T_getBlockSpreadIndex_skipSpreadInRange_withStringMaker( final String targetClassName ) throws IOException{
+    IBlockIndex index = createIndex( targetClassName , Arrays.asList(
+        createStringColumn( "a" , "m" , "z" ) ,
+        createStringColumn( "b" , "y" , "b" ) ,
+        createStringColumn( "c" , "x" , "w" ) ) );
+    assertTrue( index instanceof CompositeBlockIndex );
+    assertEquals( Arrays.asList( 0 ) , index.getBlockSpreadIndex( new PerfectMatchStringFilter( "m" ) ) );
+    assertEquals( Arrays.asList( 1 ) , index.getBlockSpreadIndex( new PerfectMatchStringFilter( "y" ) ) );
+    Set<String> dic = new HashSet<String>();
+    dic.add( "x" );
+    dic.add( "z" );
+    assertEquals( Arrays.asList( 0 , 2 ) , index.getBlockSpreadIndex( new StringDictionaryFilter( dic ) ) );
+    assertNull( index.getBlockSpreadIndex( new ForwardMatchStringFilter( "m" ) ) );
+  }
+
+  @ParameterizedTest
+  @MethodSource( "longMaker" )
+  public void T_getBlockSpreadIndex_skipSpreadInRange_withLongMaker( final String targetClassName ) throws IOException{
+    IBlockIndex index = createIndex( targetClassName , Arrays.asList(
+        createLongColumn( 1 , 500 , 1000 ) ,
+        createLongColumn( 2 , 700 , 2 ) ,
+        createLongColumn( 3 , 300 , 999 ) ) );
+    assertTrue( index instanceof CompositeBlockIndex );
+    assertEquals( Arrays.asList( 0 ) , index.getBlockSpreadIndex( new NumberFilter( NumberFilterType.EQUAL , new LongObj( 500 ) ) ) );
+    assertEquals( Arrays.asList( 1 ) , index.getBlockSpreadIndex( new NumberFilter( NumberFilterType.EQUAL , new IntegerObj( 700 ) ) ) );
+    assertNull( index.getBlockSpreadIndex( new NumberFilter( NumberFilterType.GE , new LongObj( 500 ) ) ) );
+    assertEquals( Arrays.asList( 0 , 1 ) , index.getBlockSpreadIndex( new NumberDictionaryFilter( Arrays.<PrimitiveObject>asList( new LongObj( 500 ) , new LongObj( 700 ) ) ) ) );
+    assertEquals( Arrays.asList( 1 ) , index.getBlockSpreadIndex( new NumberDictionaryFilter( Arrays.<PrimitiveObject>asList( new IntegerObj( 600 ) , new LongObj( 700 ) ) ) ) );
+  }
+
+  @Test
+  public void T_setBlockIndex_keepRangeOnly_withoutBloomFilterSpread() throws IOException{
+    BlockIndexNode node = new BlockIndexNode();
+    IColumnBinaryMaker maker = FindColumnBinaryMaker.get(
+        "jp.co.yahoo.yosegi.binary.maker.OptimizedNullArrayDumpStringColumnBinaryMaker" );
+    ColumnBinaryMakerConfig defaultConfig = new ColumnBinaryMakerConfig();
+    ColumnBinary c1 = maker.toBinary( defaultConfig , null , new CompressResultNode() , createStringColumn( "a" , "z" ) );
+    ColumnBinary c2 = maker.toBinary( defaultConfig , null , new CompressResultNode() , createStringColumn( "m" , "n" ) );
+    FindColumnBinaryMaker.get( c1.makerClassName ).setBlockIndexNode( node , c1 , 0 );
+    node.getChildNode( "column" ).enableBloomFilter();
+    FindColumnBinaryMaker.get( c2.makerClassName ).setBlockIndexNode( node , c2 , 1 );
+    IBlockIndex index = node.getChildNode( "column" ).getBlockIndex();
+    assertTrue( index instanceof CompositeBlockIndex );
+    assertNull( index.getBlockSpreadIndex( new PerfectMatchStringFilter( "m" ) ) );
+  }
+
+}
@@ -49,7 +49,8 @@ public class TestBooleanPrimitiveColumn {
     return Stream.of(
       arguments( "jp.co.yahoo.yosegi.binary.maker.DumpBooleanColumnBinaryMaker" ),
       arguments( "jp.co.yahoo.yosegi.binary.maker.OptimizedNullArrayDumpBooleanColumnBinaryMaker" ),
-      arguments( "jp.co.yahoo.yosegi.binary.maker.FlagIndexedOptimizedNullArrayDumpBooleanColumnBinaryMaker" )
+      arguments( "jp.co.yahoo.yosegi.binary.maker.FlagIndexedOptimizedNullArrayDumpBooleanColumnBinaryMaker" ),
+      arguments( "jp.co.yahoo.yosegi.binary.maker.BitmapBooleanColumnBinaryMaker" )
     );
   }
 
@@ -40,7 +40,8 @@ public class TestCalcLogicalDataSizeBoolean {
     return Stream.of(
       arguments( "jp.co.yahoo.yosegi.binary.maker.DumpBooleanColumnBinaryMaker" ),
       arguments( "jp.co.yahoo.yosegi.binary.maker.OptimizedNullArrayDumpBooleanColumnBinaryMaker" ),
-      arguments( "jp.co.yahoo.yosegi.binary.maker.FlagIndexedOptimizedNullArrayDumpBooleanColumnBinaryMaker" )
+      arguments( "jp.co.yahoo.yosegi.binary.maker.FlagIndexedOptimizedNullArrayDumpBooleanColumnBinaryMaker" ),
+      arguments( "jp.co.yahoo.yosegi.binary.maker.BitmapBooleanColumnBinaryMaker" )
     );
   }
 
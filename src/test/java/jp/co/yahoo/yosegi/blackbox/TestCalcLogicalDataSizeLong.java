@@ -42,6 +42,9 @@ public class TestCalcLogicalDataSizeLong {
       arguments( "jp.co.yahoo.yosegi.binary.maker.UnsafeOptimizeLongColumnBinaryMaker" ) ,
       arguments( "jp.co.yahoo.yosegi.binary.maker.OptimizedNullArrayLongColumnBinaryMaker" ), 
       arguments( "jp.co.yahoo.yosegi.binary.maker.OptimizedNullArrayDumpLongColumnBinaryMaker" ), 
+      arguments( "jp.co.yahoo.yosegi.binary.maker.BitPackedLongColumnBinaryMaker" ), 
+      arguments( "jp.co.yahoo.yosegi.binary.maker.DeltaLongColumnBinaryMaker" ),
+      arguments( "jp.co.yahoo.yosegi.binary.maker.SharedDictionaryLongColumnBinaryMaker" ),
       arguments( "jp.co.yahoo.yosegi.binary.maker.RleLongColumnBinaryMaker" ) 
     );
   }
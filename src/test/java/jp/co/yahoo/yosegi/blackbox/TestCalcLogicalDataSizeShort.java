@@ -42,7 +42,10 @@ public class TestCalcLogicalDataSizeShort {
       arguments( "jp.co.yahoo.yosegi.binary.maker.UnsafeOptimizeLongColumnBinaryMaker" ) ,
       arguments( "jp.co.yahoo.yosegi.binary.maker.RleLongColumnBinaryMaker" ) ,
       arguments( "jp.co.yahoo.yosegi.binary.maker.OptimizedNullArrayLongColumnBinaryMaker" ),
-      arguments( "jp.co.yahoo.yosegi.binary.maker.OptimizedNullArrayDumpLongColumnBinaryMaker" )
+      arguments( "jp.co.yahoo.yosegi.binary.maker.OptimizedNullArrayDumpLongColumnBinaryMaker" ),
+      arguments( "jp.co.yahoo.yosegi.binary.maker.BitPackedLongColumnBinaryMaker" ),
+      arguments( "jp.co.yahoo.yosegi.binary.maker.DeltaLongColumnBinaryMaker" ),
+      arguments( "jp.co.yahoo.yosegi.binary.maker.SharedDictionaryLongColumnBinaryMaker" )
     );
   }
 
@@ -40,6 +40,8 @@ public class TestCalcLogicalDataSizeString {
     return Stream.of(
       arguments( "jp.co.yahoo.yosegi.binary.maker.UnsafeOptimizeDumpStringColumnBinaryMaker" ) ,
       arguments( "jp.co.yahoo.yosegi.binary.maker.UnsafeOptimizeStringColumnBinaryMaker" ),
+      arguments( "jp.co.yahoo.yosegi.binary.maker.FsstStringColumnBinaryMaker" ),
+      arguments( "jp.co.yahoo.yosegi.binary.maker.SharedDictionaryStringColumnBinaryMaker" ),
       arguments( "jp.co.yahoo.yosegi.binary.maker.RleStringColumnBinaryMaker" ) , 
       arguments( "jp.co.yahoo.yosegi.binary.maker.DictionaryRleStringColumnBinaryMaker" ) , 
       arguments( "jp.co.yahoo.yosegi.binary.maker.OptimizedNullArrayStringColumnBinaryMaker" ) , 
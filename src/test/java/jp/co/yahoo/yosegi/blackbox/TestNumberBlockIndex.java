@@ -49,35 +49,49 @@ public class TestNumberBlockIndex{
       createByteTestData( "jp.co.yahoo.yosegi.binary.maker.UnsafeOptimizeDumpLongColumnBinaryMaker" ) ,
       createByteTestData( "jp.co.yahoo.yosegi.binary.maker.UnsafeOptimizeLongColumnBinaryMaker" ) ,
       createByteTestData( "jp.co.yahoo.yosegi.binary.maker.OptimizedNullArrayDumpLongColumnBinaryMaker" ) ,
+      createByteTestData( "jp.co.yahoo.yosegi.binary.maker.BitPackedLongColumnBinaryMaker" ) ,
+      createByteTestData( "jp.co.yahoo.yosegi.binary.maker.DeltaLongColumnBinaryMaker" ) ,
+      createByteTestData( "jp.co.yahoo.yosegi.binary.maker.SharedDictionaryLongColumnBinaryMaker" ) ,
       createByteTestData( "jp.co.yahoo.yosegi.binary.maker.OptimizedNullArrayLongColumnBinaryMaker" ) ,
       createByteTestData( "jp.co.yahoo.yosegi.binary.maker.RleLongColumnBinaryMaker" ) ,
 
       createShortTestData( "jp.co.yahoo.yosegi.binary.maker.UnsafeOptimizeDumpLongColumnBinaryMaker" ) ,
       createShortTestData( "jp.co.yahoo.yosegi.binary.maker.UnsafeOptimizeLongColumnBinaryMaker" ) ,
       createShortTestData( "jp.co.yahoo.yosegi.binary.maker.OptimizedNullArrayDumpLongColumnBinaryMaker" ) ,
+      createShortTestData( "jp.co.yahoo.yosegi.binary.maker.BitPackedLongColumnBinaryMaker" ) ,
+      createShortTestData( "jp.co.yahoo.yosegi.binary.maker.DeltaLongColumnBinaryMaker" ) ,
+      createShortTestData( "jp.co.yahoo.yosegi.binary.maker.SharedDictionaryLongColumnBinaryMaker" ) ,
       createShortTestData( "jp.co.yahoo.yosegi.binary.maker.OptimizedNullArrayLongColumnBinaryMaker" ) ,
       createShortTestData( "jp.co.yahoo.yosegi.binary.maker.RleLongColumnBinaryMaker" ) ,
 
       createIntegerTestData( "jp.co.yahoo.yosegi.binary.maker.UnsafeOptimizeDumpLongColumnBinaryMaker" ) ,
       createIntegerTestData( "jp.co.yahoo.yosegi.binary.maker.UnsafeOptimizeLongColumnBinaryMaker" ) ,
       createIntegerTestData( "jp.co.yahoo.yosegi.binary.maker.OptimizedNullArrayDumpLongColumnBinaryMaker" ) ,
+      createIntegerTestData( "jp.co.yahoo.yosegi.binary.maker.BitPackedLongColumnBinaryMaker" ) ,
+      createIntegerTestData( "jp.co.yahoo.yosegi.binary.maker.DeltaLongColumnBinaryMaker" ) ,
+      createIntegerTestData( "jp.co.yahoo.yosegi.binary.maker.SharedDictionaryLongColumnBinaryMaker" ) ,
       createIntegerTestData( "jp.co.yahoo.yosegi.binary.maker.OptimizedNullArrayLongColumnBinaryMaker" ) ,
       createIntegerTestData( "jp.co.yahoo.yosegi.binary.maker.RleLongColumnBinaryMaker" ) ,
 
       createLongTestData( "jp.co.yahoo.yosegi.binary.maker.UnsafeOptimizeDumpLongColumnBinaryMaker" ) ,
       createLongTestData( "jp.co.yahoo.yosegi.binary.maker.UnsafeOptimizeLongColumnBinaryMaker" ) ,
       createLongTestData( "jp.co.yahoo.yosegi.binary.maker.OptimizedNullArrayDumpLongColumnBinaryMaker" ) ,
+      createLongTestData( "jp.co.yahoo.yosegi.binary.maker.BitPackedLongColumnBinaryMaker" ) ,
+      createLongTestData( "jp.co.yahoo.yosegi.binary.maker.DeltaLongColumnBinaryMaker" ) ,
+      createLongTestData( "jp.co.yahoo.yosegi.binary.maker.SharedDictionaryLongColumnBinaryMaker" ) ,
       createLongTestData( "jp.co.yahoo.yosegi.binary.maker.OptimizedNullArrayLongColumnBinaryMaker" ) ,
       createLongTestData( "jp.co.yahoo.yosegi.binary.maker.RleLongColumnBinaryMaker" ) ,
 
       createFloatTestData( "jp.co.yahoo.yosegi.binary.maker.UnsafeRangeDumpFloatColumnBinaryMaker" ) ,
       createFloatTestData( "jp.co.yahoo.yosegi.binary.maker.UnsafeOptimizeFloatColumnBinaryMaker" ) ,
       createFloatTestData( "jp.co.yahoo.yosegi.binary.maker.OptimizedNullArrayDumpFloatColumnBinaryMaker" ) ,
+      createFloatTestData( "jp.co.yahoo.yosegi.binary.maker.AlpFloatColumnBinaryMaker" ) ,
       createFloatTestData( "jp.co.yahoo.yosegi.binary.maker.OptimizedNullArrayFloatColumnBinaryMaker" ) ,
 
       createDoubleTestData( "jp.co.yahoo.yosegi.binary.maker.UnsafeRangeDumpDoubleColumnBinaryMaker" ) ,
       createDoubleTestData( "jp.co.yahoo.yosegi.binary.maker.UnsafeOptimizeDoubleColumnBinaryMaker" ) ,
       createDoubleTestData( "jp.co.yahoo.yosegi.binary.maker.OptimizedNullArrayDumpDoubleColumnBinaryMaker" ) ,
+      createDoubleTestData( "jp.co.yahoo.yosegi.binary.maker.AlpDoubleColumnBinaryMaker" ) ,
       createDoubleTestData( "jp.co.yahoo.yosegi.binary.maker.OptimizedNullArrayDoubleColumnBinaryMaker" ) 
     };
   }
@@ -22,11 +22,18 @@ import jp.co.yahoo.yosegi.binary.ColumnBinary;
 import jp.co.yahoo.yosegi.binary.ColumnBinaryMakerConfig;
 import jp.co.yahoo.yosegi.binary.ColumnBinaryMakerCustomConfigNode;
 import jp.co.yahoo.yosegi.binary.CompressResultNode;
+import jp.co.yahoo.yosegi.binary.FindColumnBinaryMaker;
 import jp.co.yahoo.yosegi.binary.maker.IColumnBinaryMaker;
+import jp.co.yahoo.yosegi.binary.maker.OptimizedNullArrayDumpStringColumnBinaryMaker;
+import jp.co.yahoo.yosegi.binary.maker.SharedDictionaryLongColumnBinaryMaker;
+import jp.co.yahoo.yosegi.binary.maker.SharedDictionaryStringColumnBinaryMaker;
 import jp.co.yahoo.yosegi.binary.maker.UnsafeOptimizeDumpStringColumnBinaryMaker;
+import jp.co.yahoo.yosegi.compressor.DefaultCompressor;
 import jp.co.yahoo.yosegi.config.Configuration;
+import jp.co.yahoo.yosegi.message.objects.LongObj;
 import jp.co.yahoo.yosegi.message.objects.PrimitiveObject;
 import jp.co.yahoo.yosegi.message.objects.StringObj;
+import jp.co.yahoo.yosegi.spread.Spread;
 import jp.co.yahoo.yosegi.spread.column.ColumnType;
 import jp.co.yahoo.yosegi.spread.column.PrimitiveColumn;
 import jp.co.yahoo.yosegi.spread.column.IColumn;
@@ -44,17 +51,24 @@ import static org.junit.jupiter.params.provider.Arguments.arguments;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 public class TestPushdownSupportedBlockReader {
 
   private ColumnBinary createStringPushdownTestColumn() throws IOException{
+    return createStringPushdownTestColumn( "D" );
+  }
+
+  private ColumnBinary createStringPushdownTestColumn( final String value ) throws IOException{
     IColumn column = new PrimitiveColumn( ColumnType.STRING , "column" );
-    column.add( ColumnType.STRING , new StringObj( "D" ) , 0 );
-    column.add( ColumnType.STRING , new StringObj( "D" ) , 1 );
-    column.add( ColumnType.STRING , new StringObj( "D" ) , 2 );
-    column.add( ColumnType.STRING , new StringObj( "D" ) , 3 );
+    column.add( ColumnType.STRING , new StringObj( value ) , 0 );
+    column.add( ColumnType.STRING , new StringObj( value ) , 1 );
+    column.add( ColumnType.STRING , new StringObj( value ) , 2 );
+    column.add( ColumnType.STRING , new StringObj( value ) , 3 );
 
     IColumnBinaryMaker maker = new UnsafeOptimizeDumpStringColumnBinaryMaker();
     ColumnBinaryMakerConfig defaultConfig = new ColumnBinaryMakerConfig();
@@ -116,4 +130,353 @@ public class TestPushdownSupportedBlockReader {
     assertEquals( reader.getBlockCount() , 0 );
   }
 
+  private byte[] createSpreadRangeTestBlock( final Configuration config ) throws IOException {
+    int blockSize = 1024 * 1024 * 4;
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    PushdownSupportedBlockWriter writer = new PushdownSupportedBlockWriter();
+    writer.setup( blockSize , config );
+    writer.append( 4 , Arrays.asList( createStringPushdownTestColumn( "A" ) ) );
+    writer.append( 4 , Arrays.asList( createStringPushdownTestColumn( "D" ) ) );
+    writer.append( 4 , Arrays.asList( createStringPushdownTestColumn( "X" ) ) );
+    writer.writeFixedBlock( out );
+    writer.close();
+    out.close();
+    return out.toByteArray();
+  }
+
+  private List<String> readColumnValues(
+      final byte[] block , final IFilter filter ) throws IOException {
+    PushdownSupportedBlockReader reader = new PushdownSupportedBlockReader();
+    reader.setup( new Configuration() );
+    AndExpressionNode index = new AndExpressionNode();
+    index.addChildNode( new ExecuterNode( new StringExtractNode( "column" ) , filter ) );
+    reader.setBlockSkipIndex( index );
+    reader.setStream( new ByteArrayInputStream( block ) , block.length );
+    List<String> result = new ArrayList<String>();
+    while ( reader.hasNext() ) {
+      IColumn column = reader.next().getColumn( "column" );
+      PrimitiveObject obj = (PrimitiveObject)( column.get(0).getRow() );
+      result.add( obj == null ? null : obj.getString() );
+    }
+    return result;
+  }
+
+  @Test
+  public void T_setStream_skipSpread_withSpreadIndex() throws IOException {
+    byte[] block = createSpreadRangeTestBlock( new Configuration() );
+    List<String> result = readColumnValues( block , new PerfectMatchStringFilter( "D" ) );
+    assertEquals( Arrays.asList( null , "D" , null ) , result );
+    result = readColumnValues( block , new PerfectMatchStringFilter( "p" ) );
+    assertEquals( 0 , result.size() );
+    result = readColumnValues( block , new NullFilter( ColumnType.STRING ) );
+    assertEquals( 0 , result.size() );
+  }
+
+  @Test
+  public void T_setStream_readAllSpread_withoutSpreadIndex() throws IOException {
+    Configuration config = new Configuration();
+    config.set( "block.maker.spread.index" , "false" );
+    byte[] block = createSpreadRangeTestBlock( config );
+    List<String> result = readColumnValues( block , new PerfectMatchStringFilter( "D" ) );
+    assertEquals( Arrays.asList( "A" , "D" , "X" ) , result );
+  }
+
+  private List<ColumnBinary> createNullCountTestColumn( final String... values ) throws IOException {
+    IColumn column = new PrimitiveColumn( ColumnType.STRING , "column" );
+    for ( int i = 0 ; i < values.length ; i++ ) {
+      if ( values[i] != null ) {
+        column.add( ColumnType.STRING , new StringObj( values[i] ) , i );
+      }
+    }
+    return Arrays.asList( new OptimizedNullArrayDumpStringColumnBinaryMaker().toBinary(
+        new ColumnBinaryMakerConfig() , null , new CompressResultNode() , column ) );
+  }
+
+  @Test
+  public void T_setStream_skipSpread_withNullCount() throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    PushdownSupportedBlockWriter writer = new PushdownSupportedBlockWriter();
+    writer.setup( 1024 * 1024 * 4 , new Configuration() );
+    writer.append( 4 , createNullCountTestColumn( "A" , "A" , "A" , "A" ) );
+    writer.append( 4 , createNullCountTestColumn( "B" , null , "C" , "C" ) );
+    writer.append( 4 , createNullCountTestColumn( "X" , "X" ) );
+    writer.append( 4 , createNullCountTestColumn( "Y" , "Y" , "Z" , "Z" ) );
+    writer.writeFixedBlock( out );
+    writer.close();
+    out.close();
+    byte[] block = out.toByteArray();
+
+    List<String> result = readColumnValues( block , new NullFilter( ColumnType.STRING ) );
+    assertEquals( Arrays.asList( null , "B" , "X" , null ) , result );
+    result = readColumnValues( block , new NotNullFilter( ColumnType.STRING ) );
+    assertEquals( Arrays.asList( "A" , "B" , "X" , "Y" ) , result );
+  }
+
+  private List<ColumnBinary> createSharedDictionaryTestColumn( final int offset ) throws IOException {
+    IColumn stringColumn = new PrimitiveColumn( ColumnType.STRING , "country" );
+    IColumn longColumn = new PrimitiveColumn( ColumnType.LONG , "code" );
+    for ( int i = 0 ; i < 100 ; i++ ) {
+      if ( i % 10 == 0 ) {
+        continue;
+      }
+      int value = ( i + offset ) % 30;
+      stringColumn.add( ColumnType.STRING , new StringObj( "country_name_" + value ) , i );
+      longColumn.add( ColumnType.LONG , new LongObj( 1000000000000L + value ) , i );
+    }
+    ColumnBinaryMakerConfig config = new ColumnBinaryMakerConfig();
+    config.compressorClass = new DefaultCompressor();
+    return new ArrayList<ColumnBinary>( Arrays.asList(
+        new SharedDictionaryStringColumnBinaryMaker().toBinary(
+            config , null , new CompressResultNode() , stringColumn ) ,
+        new SharedDictionaryLongColumnBinaryMaker().toBinary(
+            config , null , new CompressResultNode() , longColumn ) ) );
+  }
+
+  private byte[] createSharedDictionaryTestBlock( final String isShared ) throws IOException {
+    Configuration config = new Configuration();
+    config.set( "block.maker.shared.dictionary" , isShared );
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    PushdownSupportedBlockWriter writer = new PushdownSupportedBlockWriter();
+    writer.setup( 1024 * 1024 * 4 , config );
+    for ( int i = 0 ; i < 4 ; i++ ) {
+      writer.append( 100 , createSharedDictionaryTestColumn( i * 7 ) );
+    }
+    writer.writeVariableBlock( out );
+    writer.close();
+    out.close();
+    return out.toByteArray();
+  }
+
+  @Test
+  public void T_next_equalsValues_withSharedDictionary() throws IOException {
+    byte[] localBlock = createSharedDictionaryTestBlock( "false" );
+    byte[] sharedBlock = createSharedDictionaryTestBlock( "true" );
+    assertTrue( sharedBlock.length < localBlock.length );
+
+    PushdownSupportedBlockReader reader = new PushdownSupportedBlockReader();
+    reader.setup( new Configuration() );
+    AndExpressionNode index = new AndExpressionNode();
+    index.addChildNode( new ExecuterNode(
+        new StringExtractNode( "country" ) , new PerfectMatchStringFilter( "country_name_3" ) ) );
+    reader.setBlockSkipIndex( index );
+    reader.setStream( new ByteArrayInputStream( sharedBlock ) , sharedBlock.length );
+    int spreadCount = 0;
+    while ( reader.hasNext() ) {
+      int offset = spreadCount * 7;
+      Spread spread = reader.next();
+      IColumn stringColumn = spread.getColumn( "country" );
+      IColumn longColumn = spread.getColumn( "code" );
+      boolean[] filterArray = stringColumn.filter(
+          new PerfectMatchStringFilter( "country_name_3" ) , new boolean[ stringColumn.size() ] );
+      for ( int i = 0 ; i < 100 ; i++ ) {
+        if ( i % 10 == 0 ) {
+          assertEquals( ColumnType.NULL , stringColumn.get( i ).getType() );
+          assertEquals( ColumnType.NULL , longColumn.get( i ).getType() );
+          assertFalse( filterArray[i] );
+          continue;
+        }
+        int value = ( i + offset ) % 30;
+        assertEquals( "country_name_" + value ,
+            ( (PrimitiveObject)( stringColumn.get( i ).getRow() ) ).getString() );
+        assertEquals( 1000000000000L + value ,
+            ( (PrimitiveObject)( longColumn.get( i ).getRow() ) ).getLong() );
+        assertEquals( value == 3 , filterArray[i] );
+      }
+      spreadCount++;
+    }
+    assertEquals( 4 , spreadCount );
+  }
+
+  private Spread createZstdDictionaryTestSpread( final int offset ) throws IOException {
+    Spread spread = new Spread();
+    for ( int i = 0 ; i < 20 ; i++ ) {
+      int value = offset * 20 + i;
+      Map<String,Object> row = new HashMap<String,Object>();
+      row.put( "agent" , new StringObj( "Mozilla/5.0 (Windows NT 10.0; Win64; x64) build_" + value ) );
+      row.put( "path" , new StringObj( "/api/v1/users/" + ( value * 7919 ) + "/items" ) );
+      spread.addRow( row );
+    }
+    return spread;
+  }
+
+  @Test
+  public void T_next_equalsValues_withZstdDictionary() throws IOException {
+    Configuration config = new Configuration();
+    config.set( "block.maker.zstd.dictionary" , "true" );
+    config.set( "block.maker.zstd.dictionary.train.spreads" , "16" );
+    config.set( "block.maker.zstd.dictionary.size" , "2048" );
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    PushdownSupportedBlockWriter writer = new PushdownSupportedBlockWriter();
+    writer.setup( 1024 * 1024 * 4 , config );
+    List<ColumnBinary> lastBinaryList = null;
+    for ( int i = 0 ; i < 24 ; i++ ) {
+      lastBinaryList = writer.convertRow( createZstdDictionaryTestSpread( i ) );
+      writer.append( 20 , lastBinaryList );
+    }
+    writer.writeVariableBlock( out );
+    writer.close();
+    out.close();
+    byte[] block = out.toByteArray();
+
+    ColumnBinary lastBinary = lastBinaryList.get( 0 );
+    assertNotNull( lastBinary.zstdDictionaryMap );
+    lastBinary.setZstdDictionaryMap( null );
+    assertThrows( Exception.class , () -> FindColumnBinaryMaker.get( lastBinary.makerClassName )
+        .toColumn( lastBinary ).get( 0 ).getRow() );
+
+    PushdownSupportedBlockReader reader = new PushdownSupportedBlockReader();
+    reader.setup( new Configuration() );
+    reader.setStream( new ByteArrayInputStream( block ) , block.length );
+    int spreadCount = 0;
+    while ( reader.hasNext() ) {
+      Spread spread = reader.next();
+      Spread expected = createZstdDictionaryTestSpread( spreadCount );
+      for ( String columnName : Arrays.asList( "agent" , "path" ) ) {
+        IColumn column = spread.getColumn( columnName );
+        IColumn expectedColumn = expected.getColumn( columnName );
+        for ( int i = 0 ; i < 20 ; i++ ) {
+          assertEquals( ( (PrimitiveObject)( expectedColumn.get( i ).getRow() ) ).getString() ,
+              ( (PrimitiveObject)( column.get( i ).getRow() ) ).getString() );
+        }
+      }
+      spreadCount++;
+    }
+    assertEquals( 24 , spreadCount );
+  }
+
+  @Test
+  public void T_next_equalsValues_withBufferPool() throws IOException {
+    List<byte[]> blockList = new ArrayList<byte[]>();
+    for ( int b = 0 ; b < 3 ; b++ ) {
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      PushdownSupportedBlockWriter writer = new PushdownSupportedBlockWriter();
+      writer.setup( 1024 * 1024 * 4 , new Configuration() );
+      for ( int i = 0 ; i < 4 ; i++ ) {
+        writer.append( 20 , writer.convertRow( createZstdDictionaryTestSpread( b * 4 + i ) ) );
+      }
+      writer.writeVariableBlock( out );
+      writer.close();
+      blockList.add( out.toByteArray() );
+    }
+
+    Configuration config = new Configuration();
+    config.set( "block.reader.buffer.pool" , "true" );
+    PushdownSupportedBlockReader reader = new PushdownSupportedBlockReader();
+    reader.setup( config );
+    int spreadCount = 0;
+    for ( byte[] block : blockList ) {
+      reader.setStream( new ByteArrayInputStream( block ) , block.length );
+      while ( reader.hasNext() ) {
+        Spread spread = reader.next();
+        Spread expected = createZstdDictionaryTestSpread( spreadCount );
+        for ( String columnName : Arrays.asList( "agent" , "path" ) ) {
+          IColumn column = spread.getColumn( columnName );
+          IColumn expectedColumn = expected.getColumn( columnName );
+          for ( int i = 0 ; i < 20 ; i++ ) {
+            assertEquals( ( (PrimitiveObject)( expectedColumn.get( i ).getRow() ) ).getString() ,
+                ( (PrimitiveObject)( column.get( i ).getRow() ) ).getString() );
+          }
+        }
+        spreadCount++;
+      }
+    }
+    reader.close();
+    assertEquals( 12 , spreadCount );
+  }
+
+  @Test
+  public void T_next_keepValuesAfterNextBlock_withBufferPool() throws IOException {
+    List<byte[]> blockList = new ArrayList<byte[]>();
+    for ( int b = 0 ; b < 3 ; b++ ) {
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      PushdownSupportedBlockWriter writer = new PushdownSupportedBlockWriter();
+      writer.setup( 1024 * 1024 * 4 , new Configuration() );
+      for ( int i = 0 ; i < 4 ; i++ ) {
+        writer.append( 20 , writer.convertRow( createZstdDictionaryTestSpread( b * 4 + i ) ) );
+      }
+      writer.writeVariableBlock( out );
+      writer.close();
+      blockList.add( out.toByteArray() );
+    }
+
+    Configuration config = new Configuration();
+    config.set( "block.reader.buffer.pool" , "true" );
+    PushdownSupportedBlockReader reader = new PushdownSupportedBlockReader();
+    reader.setup( config );
+    PushdownSupportedBlockReader rawReader = new PushdownSupportedBlockReader();
+    rawReader.setup( config );
+    List<Spread> spreadList = new ArrayList<Spread>();
+    List<List<ColumnBinary>> rawList = new ArrayList<List<ColumnBinary>>();
+    for ( byte[] block : blockList ) {
+      reader.setStream( new ByteArrayInputStream( block ) , block.length );
+      while ( reader.hasNext() ) {
+        spreadList.add( reader.next() );
+      }
+      rawReader.setStream( new ByteArrayInputStream( block ) , block.length );
+      while ( rawReader.hasNext() ) {
+        rawList.add( rawReader.nextRaw() );
+      }
+    }
+    reader.close();
+    rawReader.close();
+
+    assertEquals( 12 , spreadList.size() );
+    assertEquals( 12 , rawList.size() );
+    for ( int s = 0 ; s < spreadList.size() ; s++ ) {
+      Spread spread = spreadList.get( s );
+      Spread rawSpread = new Spread();
+      for ( ColumnBinary columnBinary : rawList.get( s ) ) {
+        rawSpread.addColumn( FindColumnBinaryMaker.get( columnBinary.makerClassName )
+            .toColumn( columnBinary ) );
+      }
+      Spread expected = createZstdDictionaryTestSpread( s );
+      for ( String columnName : Arrays.asList( "agent" , "path" ) ) {
+        IColumn expectedColumn = expected.getColumn( columnName );
+        for ( Spread actual : Arrays.asList( spread , rawSpread ) ) {
+          IColumn column = actual.getColumn( columnName );
+          for ( int i = 0 ; i < 20 ; i++ ) {
+            assertEquals(
+                ( (PrimitiveObject)( expectedColumn.get( i ).getRow() ) ).getString() ,
+                ( (PrimitiveObject)( column.get( i ).getRow() ) ).getString() );
+          }
+        }
+      }
+    }
+  }
+
+  @Test
+  public void T_next_equalsValues_withAdaptiveCompressor() throws IOException {
+    Configuration config = new Configuration();
+    config.set( "block.maker.compress.adaptive" , "true" );
+    config.set( "block.maker.compress.adaptive.samples" , "2" );
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    PushdownSupportedBlockWriter writer = new PushdownSupportedBlockWriter();
+    writer.setup( 1024 * 1024 * 4 , config );
+    for ( int i = 0 ; i < 6 ; i++ ) {
+      writer.append( 20 , writer.convertRow( createZstdDictionaryTestSpread( i ) ) );
+    }
+    writer.writeVariableBlock( out );
+    writer.close();
+    byte[] block = out.toByteArray();
+
+    PushdownSupportedBlockReader reader = new PushdownSupportedBlockReader();
+    reader.setup( new Configuration() );
+    reader.setStream( new ByteArrayInputStream( block ) , block.length );
+    int spreadCount = 0;
+    while ( reader.hasNext() ) {
+      Spread spread = reader.next();
+      Spread expected = createZstdDictionaryTestSpread( spreadCount );
+      for ( String columnName : Arrays.asList( "agent" , "path" ) ) {
+        IColumn column = spread.getColumn( columnName );
+        IColumn expectedColumn = expected.getColumn( columnName );
+        for ( int i = 0 ; i < 20 ; i++ ) {
+          assertEquals( ( (PrimitiveObject)( expectedColumn.get( i ).getRow() ) ).getString() ,
+              ( (PrimitiveObject)( column.get( i ).getRow() ) ).getString() );
+        }
+      }
+      spreadCount++;
+    }
+    assertEquals( 6 , spreadCount );
+  }
+
 }
@@ -25,6 +25,7 @@ import jp.co.yahoo.yosegi.binary.CompressResultNode;
 import jp.co.yahoo.yosegi.binary.maker.DumpBooleanColumnBinaryMaker;
 import jp.co.yahoo.yosegi.binary.maker.DumpSpreadColumnBinaryMaker;
 import jp.co.yahoo.yosegi.binary.maker.IColumnBinaryMaker;
+import jp.co.yahoo.yosegi.binary.maker.SharedDictionaryStringColumnBinaryMaker;
 import jp.co.yahoo.yosegi.binary.maker.UnsafeOptimizeDumpStringColumnBinaryMaker;
 import jp.co.yahoo.yosegi.compressor.CompressResult;
 import jp.co.yahoo.yosegi.compressor.DefaultCompressor;
@@ -32,6 +33,10 @@ import jp.co.yahoo.yosegi.compressor.GzipCompressor;
 import jp.co.yahoo.yosegi.config.Configuration;
 import jp.co.yahoo.yosegi.message.objects.PrimitiveObject;
 import jp.co.yahoo.yosegi.message.objects.BooleanObj;
+import jp.co.yahoo.yosegi.message.objects.DoubleObj;
+import jp.co.yahoo.yosegi.message.objects.FloatObj;
+import jp.co.yahoo.yosegi.message.objects.IntegerObj;
+import jp.co.yahoo.yosegi.message.objects.LongObj;
 import jp.co.yahoo.yosegi.message.objects.StringObj;
 import jp.co.yahoo.yosegi.spread.Spread;
 import jp.co.yahoo.yosegi.spread.column.ColumnType;
@@ -55,6 +60,8 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 public class TestPushdownSupportedBlockWriter {
 
@@ -586,4 +593,250 @@ public class TestPushdownSupportedBlockWriter {
     assertEquals( blockSize + 1 , block.length );
   }
 
+  private Spread createWideSpread() throws IOException {
+    Spread spread = new Spread();
+    for ( int i = 0 ; i < 100 ; i++ ) {
+      Map<String,Object> row = new HashMap<String,Object>();
+      for ( int c = 0 ; c < 32 ; c++ ) {
+        if ( c % 2 == 0 ) {
+          row.put( "s" + c , new StringObj( "v" + ( i % ( c + 1 ) ) ) );
+        } else {
+          row.put( "l" + c , new LongObj( (long)i * c ) );
+        }
+      }
+      spread.addRow( row );
+    }
+    return spread;
+  }
+
+  private void assertColumnBinaryListEquals(
+      final List<ColumnBinary> expected , final List<ColumnBinary> actual ) {
+    assertEquals( expected.size() , actual.size() );
+    for ( int i = 0 ; i < expected.size() ; i++ ) {
+      ColumnBinary expectedBinary = expected.get( i );
+      ColumnBinary actualBinary = actual.get( i );
+      assertEquals( expectedBinary.columnName , actualBinary.columnName );
+      assertEquals( expectedBinary.makerClassName , actualBinary.makerClassName );
+      assertArrayEquals(
+          Arrays.copyOfRange( expectedBinary.binary , expectedBinary.binaryStart , expectedBinary.binaryStart + expectedBinary.binaryLength ) ,
+          Arrays.copyOfRange( actualBinary.binary , actualBinary.binaryStart , actualBinary.binaryStart + actualBinary.binaryLength ) );
+    }
+  }
+
+  @Test
+  public void T_convertRow_equalsSerialResult_withConvertThreads() throws IOException {
+    PushdownSupportedBlockWriter serialWriter = new PushdownSupportedBlockWriter();
+    serialWriter.setup( 1024 * 1024 * 8 , new Configuration() );
+    Configuration config = new Configuration();
+    config.set( "block.maker.convert.threads" , "4" );
+    PushdownSupportedBlockWriter parallelWriter = new PushdownSupportedBlockWriter();
+    parallelWriter.setup( 1024 * 1024 * 8 , config );
+
+    for ( int i = 0 ; i < 3 ; i++ ) {
+      assertColumnBinaryListEquals(
+          serialWriter.convertRow( createWideSpread() ) ,
+          parallelWriter.convertRow( createWideSpread() ) );
+    }
+    serialWriter.close();
+    parallelWriter.close();
+  }
+
+  @Test
+  public void T_convertRow_equalsSerialResult_withConvertExecutor() throws IOException {
+    PushdownSupportedBlockWriter serialWriter = new PushdownSupportedBlockWriter();
+    serialWriter.setup( 1024 * 1024 * 8 , new Configuration() );
+    ExecutorService executor = Executors.newFixedThreadPool( 3 );
+    PushdownSupportedBlockWriter parallelWriter = new PushdownSupportedBlockWriter();
+    parallelWriter.setup( 1024 * 1024 * 8 , new Configuration() );
+    parallelWriter.setConvertExecutor( executor );
+
+    assertColumnBinaryListEquals(
+        serialWriter.convertRow( createWideSpread() ) ,
+        parallelWriter.convertRow( createWideSpread() ) );
+    parallelWriter.close();
+    assertFalse( executor.isShutdown() );
+    executor.shutdown();
+  }
+
+  @Test
+  public void T_sizeAfterAppend_notLessThanSize_withBloomFilter() throws IOException {
+    Configuration config = new Configuration();
+    config.set( "block.maker.bloom.filter" , "true" );
+    PushdownSupportedBlockWriter writer = new PushdownSupportedBlockWriter();
+    writer.setup( 1024 * 1024 * 8 , config );
+    List<ColumnBinary> list = createSimpleCaseData();
+    for ( int i = 0 ; i < 4 ; i++ ) {
+      int sizeAfterAppend = writer.sizeAfterAppend( list );
+      writer.append( 10 , list );
+      assertEquals( writer.size() , sizeAfterAppend );
+    }
+    List<ColumnBinary> duplicateList = Arrays.asList( createDuplicateStringColumnBinary() );
+    int sizeAfterAppend = writer.sizeAfterAppend( duplicateList );
+    writer.append( 100 , duplicateList );
+    assertTrue( writer.size() <= sizeAfterAppend );
+
+    int outputDataSize = writer.size();
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    writer.writeVariableBlock( out );
+    assertEquals( outputDataSize , out.toByteArray().length );
+  }
+
+  private Spread createZstdDictionaryTestSpread( final int offset ) throws IOException {
+    Spread spread = new Spread();
+    for ( int i = 0 ; i < 20 ; i++ ) {
+      int value = offset * 20 + i;
+      Map<String,Object> row = new HashMap<String,Object>();
+      row.put( "agent" , new StringObj( "Mozilla/5.0 (Windows NT 10.0; Win64; x64) build_" + value ) );
+      spread.addRow( row );
+    }
+    return spread;
+  }
+
+  @Test
+  public void T_blockMetaSize_notIncludeZstdDictionary_withoutReferencedBinary() throws IOException {
+    Configuration config = new Configuration();
+    config.set( "block.maker.zstd.dictionary" , "true" );
+    config.set( "block.maker.zstd.dictionary.train.spreads" , "16" );
+    config.set( "block.maker.zstd.dictionary.size" , "2048" );
+    PushdownSupportedBlockWriter writer = new PushdownSupportedBlockWriter();
+    writer.setup( 1024 * 1024 * 4 , config );
+    List<ColumnBinary> lastBinaryList = null;
+    for ( int i = 0 ; i < 20 ; i++ ) {
+      lastBinaryList = writer.convertRow( createZstdDictionaryTestSpread( i ) );
+      int sizeAfterAppend = writer.sizeAfterAppend( lastBinaryList );
+      writer.append( 20 , lastBinaryList );
+      assertEquals( writer.size() , sizeAfterAppend );
+    }
+    assertEquals( 1 , lastBinaryList.get( 0 ).zstdDictionaryMap.size() );
+    writer.writeVariableBlock( new ByteArrayOutputStream() );
+
+    int emptyMetaSize = writer.blockMetaSize();
+    writer.append( 10 , createSimpleCaseData() );
+    assertEquals( emptyMetaSize + Integer.BYTES , writer.blockMetaSize() );
+
+    int metaSize = writer.blockMetaSize();
+    writer.append( 20 , lastBinaryList );
+    assertTrue( metaSize + Integer.BYTES < writer.blockMetaSize() );
+  }
+
+  @Test
+  public void T_close_releaseZstdDictionary_withoutWrite() throws IOException {
+    Configuration config = new Configuration();
+    config.set( "block.maker.zstd.dictionary" , "true" );
+    config.set( "block.maker.zstd.dictionary.train.spreads" , "16" );
+    config.set( "block.maker.zstd.dictionary.size" , "2048" );
+    PushdownSupportedBlockWriter writer = new PushdownSupportedBlockWriter();
+    writer.setup( 1024 * 1024 * 4 , config );
+    int emptyMetaSize = writer.blockMetaSize();
+    for ( int i = 0 ; i < 20 ; i++ ) {
+      writer.append( 20 , writer.convertRow( createZstdDictionaryTestSpread( i ) ) );
+    }
+    assertTrue( emptyMetaSize + Integer.BYTES * 20 < writer.blockMetaSize() );
+    writer.close();
+    assertEquals( emptyMetaSize , writer.blockMetaSize() );
+  }
+
+  @Test
+  public void T_setup_throwsException_withConflictingColumnCompressor() throws IOException {
+    Configuration adaptiveAndDictionary = new Configuration();
+    adaptiveAndDictionary.set( "block.maker.compress.adaptive" , "true" );
+    adaptiveAndDictionary.set( "block.maker.zstd.dictionary" , "true" );
+    Configuration defaultAndAdaptive = new Configuration();
+    defaultAndAdaptive.set( "spread.column.maker.default.compress.class" ,
+        "jp.co.yahoo.yosegi.compressor.ZstdCompressor" );
+    defaultAndAdaptive.set( "block.maker.compress.adaptive" , "true" );
+    Configuration defaultAndDictionary = new Configuration();
+    defaultAndDictionary.set( "spread.column.maker.default.compress.class" ,
+        "jp.co.yahoo.yosegi.compressor.ZstdCompressor" );
+    defaultAndDictionary.set( "block.maker.zstd.dictionary" , "true" );
+    for ( Configuration config
+        : Arrays.asList( adaptiveAndDictionary , defaultAndAdaptive , defaultAndDictionary ) ) {
+      PushdownSupportedBlockWriter writer = new PushdownSupportedBlockWriter();
+      assertThrows( IOException.class , () -> writer.setup( 1024 * 1024 , config ) );
+    }
+
+    Configuration adaptiveOnly = new Configuration();
+    adaptiveOnly.set( "block.maker.compress.adaptive" , "true" );
+    adaptiveOnly.set( "block.maker.zstd.dictionary" , "false" );
+    PushdownSupportedBlockWriter writer = new PushdownSupportedBlockWriter();
+    writer.setup( 1024 * 1024 , adaptiveOnly );
+    writer.close();
+  }
+
+  private Spread createSharedDictionaryTestSpread( final int offset ) throws IOException {
+    Spread spread = new Spread();
+    for ( int i = 0 ; i < 50 ; i++ ) {
+      Map<String,Object> row = new HashMap<String,Object>();
+      row.put( "country" , new StringObj( "country_" + ( ( offset + i ) % 30 ) ) );
+      spread.addRow( row );
+    }
+    return spread;
+  }
+
+  @Test
+  public void T_append_keepConvertedBinary_withSharedDictionary() throws IOException {
+    Configuration config = new Configuration();
+    config.set( "block.maker.shared.dictionary" , "true" );
+    config.set( "spread.column.maker.setting" , "{ \"column_name\" : \"root\" , "
+        + "\"string_maker_class\" : \"" + SharedDictionaryStringColumnBinaryMaker.class.getName()
+        + "\" }" );
+    PushdownSupportedBlockWriter writer = new PushdownSupportedBlockWriter();
+    writer.setup( 1024 * 1024 , config );
+    for ( int i = 0 ; i < 5 ; i++ ) {
+      List<ColumnBinary> binaryList = writer.convertRow( createSharedDictionaryTestSpread( i * 7 ) );
+      ColumnBinary columnBinary = binaryList.get( 0 );
+      byte[] binary = columnBinary.binary;
+      assertNotNull( columnBinary.sharedDictionaryAppend );
+      int sizeAfterAppend = writer.sizeAfterAppend( binaryList );
+      writer.append( 50 , binaryList );
+      assertEquals( writer.size() , sizeAfterAppend );
+      assertSame( binary , columnBinary.binary );
+      assertNull( columnBinary.sharedDictionaryAppend );
+      assertEquals( 30 , columnBinary.sharedDictionary.size() );
+    }
+    writer.writeVariableBlock( new ByteArrayOutputStream() );
+    writer.close();
+  }
+
+  private Spread createLegacyMakersTestSpread() throws IOException {
+    Spread spread = new Spread();
+    for ( int i = 0 ; i < 1000 ; i++ ) {
+      Map<String,Object> row = new HashMap<String,Object>();
+      row.put( "int" , new IntegerObj( i * 3 ) );
+      row.put( "long" , new LongObj( 1000000000000L + i * 3 ) );
+      row.put( "float" , new FloatObj( i * 0.25f ) );
+      row.put( "double" , new DoubleObj( i * 0.01d ) );
+      spread.addRow( row );
+    }
+    return spread;
+  }
+
+  @Test
+  public void T_convertRow_notUseNewMakers_withLegacyMakers() throws IOException {
+    Configuration config = new Configuration();
+    config.set( "spread.column.maker.use.auto.optimizer.legacy.makers" , "true" );
+    PushdownSupportedBlockWriter writer = new PushdownSupportedBlockWriter();
+    writer.setup( 1024 * 1024 , config );
+    List<String> newMakerList = Arrays.asList(
+        "jp.co.yahoo.yosegi.binary.maker.BitPackedLongColumnBinaryMaker" ,
+        "jp.co.yahoo.yosegi.binary.maker.DeltaLongColumnBinaryMaker" ,
+        "jp.co.yahoo.yosegi.binary.maker.AlpFloatColumnBinaryMaker" ,
+        "jp.co.yahoo.yosegi.binary.maker.AlpDoubleColumnBinaryMaker" );
+    for ( ColumnBinary columnBinary : writer.convertRow( createLegacyMakersTestSpread() ) ) {
+      assertFalse( newMakerList.contains( columnBinary.makerClassName ) ,
+          columnBinary.columnName + " : " + columnBinary.makerClassName );
+    }
+    writer.close();
+  }
+
+  private ColumnBinary createDuplicateStringColumnBinary() throws IOException {
+    IColumn column = new PrimitiveColumn( ColumnType.STRING , "column1" );
+    for ( int i = 0 ; i < 100 ; i++ ) {
+      column.add( ColumnType.STRING , new StringObj( "value_" + ( i % 3 ) ) , i );
+    }
+    UnsafeOptimizeDumpStringColumnBinaryMaker maker = new UnsafeOptimizeDumpStringColumnBinaryMaker();
+    ColumnBinaryMakerConfig defaultConfig = new ColumnBinaryMakerConfig();
+    return maker.toBinary( defaultConfig , null , new CompressResultNode() , column );
+  }
+
 }
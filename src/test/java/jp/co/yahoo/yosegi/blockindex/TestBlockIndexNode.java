@@ -18,6 +18,8 @@
 package jp.co.yahoo.yosegi.blockindex;
 
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
 
 import java.util.stream.Stream;
 
@@ -29,7 +31,11 @@ import org.junit.jupiter.params.provider.Arguments;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.junit.jupiter.params.provider.Arguments.arguments;
 
+import jp.co.yahoo.yosegi.spread.column.ColumnType;
 import jp.co.yahoo.yosegi.spread.column.filter.IFilter;
+import jp.co.yahoo.yosegi.spread.column.filter.NotNullFilter;
+import jp.co.yahoo.yosegi.spread.column.filter.NullFilter;
+import jp.co.yahoo.yosegi.spread.column.filter.PerfectMatchStringFilter;
 
 public class TestBlockIndexNode{
 
@@ -159,4 +165,77 @@ public class TestBlockIndexNode{
     assertTrue( bIndex instanceof UnsupportedBlockIndex );
   }
 
+  @Test
+  public void T_putSpreadIndex_keepRangePerSpread(){
+    BlockIndexNode b = new BlockIndexNode();
+    for ( int i = 0 ; i < 3 ; i++ ) {
+      BlockIndexNode spreadNode = new BlockIndexNode();
+      String value = String.valueOf( (char)( 'A' + i * 3 ) );
+      spreadNode.getChildNode( "col" ).setBlockIndex( new StringRangeBlockIndex( value , value ) );
+      b.putSpreadIndex( spreadNode , i , 10 );
+    }
+    IBlockIndex bIndex = b.getChildNode( "col" ).getBlockIndex();
+    assertTrue( bIndex instanceof FullRangeBlockIndex );
+    assertEquals( 3 , ( (FullRangeBlockIndex)bIndex ).getBlockIndexList().size() );
+    List<Integer> result = bIndex.getBlockSpreadIndex( new PerfectMatchStringFilter( "D" ) );
+    assertEquals( Arrays.asList( 1 ) , result );
+    assertNull( bIndex.getBlockSpreadIndex( new NullFilter( ColumnType.STRING ) ) );
+  }
+
+  private BlockIndexNode createNullCountIndexNode(){
+    // spread 0 has no null, 1 has nulls, 2 has no column, 3 is shorter than the spread
+    // and 4 has only null.
+    int[][] countArray = new int[][]{ { 0 , 10 } , { 2 , 10 } , null , { 0 , 5 } , { 10 , 10 } };
+    BlockIndexNode b = new BlockIndexNode();
+    for ( int i = 0 ; i < countArray.length ; i++ ) {
+      BlockIndexNode spreadNode = new BlockIndexNode();
+      if ( countArray[i] != null ) {
+        BlockIndexNode columnNode = spreadNode.getChildNode( "col" );
+        columnNode.setBlockIndex( new StringRangeBlockIndex( "A" , "Z" ) );
+        columnNode.setNullCount( countArray[i][0] , countArray[i][1] );
+      }
+      b.putSpreadIndex( spreadNode , i , 10 );
+    }
+    b.setSpreadCount( countArray.length );
+    return b;
+  }
+
+  @Test
+  public void T_putSpreadIndex_skipSpread_withNullCount(){
+    IBlockIndex bIndex = createNullCountIndexNode().getChildNode( "col" ).getBlockIndex();
+    assertEquals( Arrays.asList( 1 , 2 , 3 , 4 ) ,
+        bIndex.getBlockSpreadIndex( new NullFilter( ColumnType.STRING ) ) );
+    assertEquals( Arrays.asList( 0 , 1 , 3 ) ,
+        bIndex.getBlockSpreadIndex( new NotNullFilter( ColumnType.STRING ) ) );
+  }
+
+  @Test
+  public void T_createFromBinary_keepNullCount() throws IOException{
+    BlockIndexNode b = createNullCountIndexNode();
+    byte[] binary = new byte[b.getBinarySize()];
+    b.toBinary( binary , 0 );
+    IBlockIndex bIndex =
+        BlockIndexNode.createFromBinary( binary , 0 ).getChildNode( "col" ).getBlockIndex();
+    assertEquals( Arrays.asList( 1 , 2 , 3 , 4 ) ,
+        bIndex.getBlockSpreadIndex( new NullFilter( ColumnType.STRING ) ) );
+    assertEquals( Arrays.asList( 0 , 1 , 3 ) ,
+        bIndex.getBlockSpreadIndex( new NotNullFilter( ColumnType.STRING ) ) );
+  }
+
+  @Test
+  public void T_putSpreadIndex_readAllSpread_withoutNullCount(){
+    BlockIndexNode b = new BlockIndexNode();
+    for ( int i = 0 ; i < 2 ; i++ ) {
+      BlockIndexNode spreadNode = new BlockIndexNode();
+      spreadNode.getChildNode( "col" ).setBlockIndex( new StringRangeBlockIndex( "A" , "Z" ) );
+      b.putSpreadIndex( spreadNode , i , 10 );
+    }
+    b.setSpreadCount( 2 );
+    IBlockIndex bIndex = b.getChildNode( "col" ).getBlockIndex();
+    assertEquals( Arrays.asList( 0 , 1 ) ,
+        bIndex.getBlockSpreadIndex( new NullFilter( ColumnType.STRING ) ) );
+    assertEquals( Arrays.asList( 0 , 1 ) ,
+        bIndex.getBlockSpreadIndex( new NotNullFilter( ColumnType.STRING ) ) );
+  }
+
 }
@@ -0,0 +1,108 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.yosegi.blockindex;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import jp.co.yahoo.yosegi.message.objects.LongObj;
+import jp.co.yahoo.yosegi.spread.column.ColumnType;
+import jp.co.yahoo.yosegi.spread.column.filter.NullFilter;
+import jp.co.yahoo.yosegi.spread.column.filter.NumberFilter;
+import jp.co.yahoo.yosegi.spread.column.filter.NumberFilterType;
+import jp.co.yahoo.yosegi.spread.column.filter.PerfectMatchStringFilter;
+
+public class TestBloomFilterBlockIndex{
+
+  private IBlockIndex createStringIndex( final int spreadIndex , final int start , final int length ) throws IOException{
+    BloomFilterMemoryAllocator allocator = new BloomFilterMemoryAllocator( BloomFilterBlockIndex.STRING_VALUE );
+    for( int i = start ; i < start + length ; i++ ){
+      allocator.setString( i , "id_" + i );
+    }
+    return allocator.createBlockIndex( spreadIndex );
+  }
+
+  @Test
+  public void T_getBlockSpreadIndex_noFalseNegative() throws IOException{
+    IBlockIndex index = createStringIndex( 0 , 0 , 10000 );
+    for( int i = 0 ; i < 10000 ; i++ ){
+      assertEquals( Arrays.asList( 0 ) , index.getBlockSpreadIndex( new PerfectMatchStringFilter( "id_" + i ) ) );
+    }
+  }
+
+  @Test
+  public void T_getBlockSpreadIndex_skipMostAbsentValues() throws IOException{
+    IBlockIndex index = createStringIndex( 0 , 0 , 10000 );
+    int hitCount = 0;
+    for( int i = 10000 ; i < 20000 ; i++ ){
+      if( ! index.getBlockSpreadIndex( new PerfectMatchStringFilter( "id_" + i ) ).isEmpty() ){
+        hitCount++;
+      }
+    }
+    assertTrue( hitCount < 500 );
+  }
+
+  @Test
+  public void T_merge_returnSpreadIndex_afterBinary() throws IOException{
+    IBlockIndex index = createStringIndex( 0 , 0 , 100 );
+    assertTrue( index.merge( createStringIndex( 1 , 100 , 100 ) ) );
+    assertTrue( index.merge( createStringIndex( 2 , 200 , 100 ) ) );
+    byte[] binary = index.toBinary();
+    assertEquals( index.getBinarySize() , binary.length );
+    IBlockIndex readIndex = new BloomFilterBlockIndex();
+    readIndex.setFromBinary( binary , 0 , binary.length );
+    assertEquals( Arrays.asList( 1 ) , readIndex.getBlockSpreadIndex( new PerfectMatchStringFilter( "id_150" ) ) );
+    assertEquals( Arrays.asList( 2 ) , readIndex.getBlockSpreadIndex( new PerfectMatchStringFilter( "id_299" ) ) );
+    assertNull( readIndex.getBlockSpreadIndex( new NullFilter( ColumnType.STRING ) ) );
+  }
+
+  @Test
+  public void T_merge_false_withOtherValueType() throws IOException{
+    BloomFilterMemoryAllocator allocator = new BloomFilterMemoryAllocator( BloomFilterBlockIndex.NUMBER_VALUE );
+    allocator.setLong( 0 , 10L );
+    IBlockIndex numberIndex = allocator.createBlockIndex( 1 );
+    assertFalse( createStringIndex( 0 , 0 , 10 ).merge( numberIndex ) );
+    assertNull( createStringIndex( 0 , 0 , 10 ).getBlockSpreadIndex(
+        new NumberFilter( NumberFilterType.EQUAL , new LongObj( 10L ) ) ) );
+    assertEquals( Arrays.asList( 1 ) , numberIndex.getBlockSpreadIndex(
+        new NumberFilter( NumberFilterType.EQUAL , new LongObj( 10L ) ) ) );
+  }
+
+  @Test
+  public void T_createEmpty_equalsBinarySize_withSameDistinctCount() throws IOException{
+    IBlockIndex index = createStringIndex( 0 , 0 , 1000 );
+    IBlockIndex emptyIndex = BloomFilterBlockIndex.createEmpty( BloomFilterBlockIndex.STRING_VALUE , 0 , 1000 );
+    assertEquals( index.getBinarySize() , emptyIndex.getBinarySize() );
+    assertEquals( Arrays.asList() , emptyIndex.getBlockSpreadIndex( new PerfectMatchStringFilter( "id_1" ) ) );
+  }
+
+  @Test
+  public void T_clone_keepFilters_afterMergeOriginal() throws IOException{
+    IBlockIndex index = createStringIndex( 0 , 0 , 100 );
+    IBlockIndex cloneIndex = index.clone();
+    assertTrue( index.merge( createStringIndex( 1 , 100 , 100 ) ) );
+    assertEquals( Arrays.asList( 0 ) , cloneIndex.getBlockSpreadIndex( new PerfectMatchStringFilter( "id_50" ) ) );
+    assertEquals( Arrays.asList() , cloneIndex.getBlockSpreadIndex( new PerfectMatchStringFilter( "id_150" ) ) );
+  }
+
+}
@@ -0,0 +1,85 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.yosegi.blockindex;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import jp.co.yahoo.yosegi.spread.column.filter.PerfectMatchStringFilter;
+
+public class TestCompositeBlockIndex{
+
+  private IBlockIndex createBloomFilter( final int spreadIndex , final String... values ) throws IOException{
+    BloomFilterMemoryAllocator allocator = new BloomFilterMemoryAllocator( BloomFilterBlockIndex.STRING_VALUE );
+    for( int i = 0 ; i < values.length ; i++ ){
+      allocator.setString( i , values[i] );
+    }
+    return allocator.createBlockIndex( spreadIndex );
+  }
+
+  @Test
+  public void T_getBlockSpreadIndex_intersectChildIndex() throws IOException{
+    IBlockIndex index = new CompositeBlockIndex(
+        new StringRangeBlockIndex( "a" , "c" ) , createBloomFilter( 0 , "a" , "c" ) );
+    assertTrue( index.merge( new CompositeBlockIndex(
+        new StringRangeBlockIndex( "d" , "f" ) , createBloomFilter( 1 , "d" , "f" ) ) ) );
+    assertEquals( Arrays.asList( 0 ) , index.getBlockSpreadIndex( new PerfectMatchStringFilter( "a" ) ) );
+    assertEquals( 0 , index.getBlockSpreadIndex( new PerfectMatchStringFilter( "b" ) ).size() );
+    assertEquals( 0 , index.getBlockSpreadIndex( new PerfectMatchStringFilter( "z" ) ).size() );
+  }
+
+  @Test
+  public void T_merge_removeIndex_notInTarget() throws IOException{
+    IBlockIndex index = new CompositeBlockIndex(
+        new StringRangeBlockIndex( "a" , "c" ) , createBloomFilter( 0 , "a" , "c" ) );
+    assertTrue( index.merge( new StringRangeBlockIndex( "d" , "f" ) ) );
+    assertEquals( 1 , ( (CompositeBlockIndex)index ).getBlockIndexList().size() );
+    assertNull( index.getBlockSpreadIndex( new PerfectMatchStringFilter( "e" ) ) );
+    assertFalse( index.merge( new LongRangeBlockIndex( 0 , 1 ) ) );
+  }
+
+  @Test
+  public void T_setBlockIndex_mergeCompositeIntoRange() throws IOException{
+    BlockIndexNode node = new BlockIndexNode();
+    node.setBlockIndex( new StringRangeBlockIndex( "a" , "c" ) );
+    node.setBlockIndex( new CompositeBlockIndex(
+        new StringRangeBlockIndex( "d" , "f" ) , createBloomFilter( 1 , "d" , "f" ) ) );
+    IBlockIndex index = node.getBlockIndex();
+    assertTrue( index instanceof CompositeBlockIndex );
+    assertNull( index.getBlockSpreadIndex( new PerfectMatchStringFilter( "e" ) ) );
+    assertEquals( 0 , index.getBlockSpreadIndex( new PerfectMatchStringFilter( "z" ) ).size() );
+  }
+
+  @Test
+  public void T_toBinary_equalsIndex_afterSetFromBinary() throws IOException{
+    IBlockIndex index = new CompositeBlockIndex(
+        new StringRangeBlockIndex( "a" , "c" ) , createBloomFilter( 3 , "a" , "c" ) );
+    byte[] binary = index.toBinary();
+    assertEquals( index.getBinarySize() , binary.length );
+    CompositeBlockIndex readIndex = new CompositeBlockIndex();
+    readIndex.setFromBinary( binary , 0 , binary.length );
+    assertEquals( 2 , readIndex.getBlockIndexList().size() );
+    assertEquals( Arrays.asList( 3 ) , readIndex.getBlockSpreadIndex( new PerfectMatchStringFilter( "c" ) ) );
+    assertEquals( 0 , readIndex.getBlockSpreadIndex( new PerfectMatchStringFilter( "b" ) ).size() );
+  }
+
+}
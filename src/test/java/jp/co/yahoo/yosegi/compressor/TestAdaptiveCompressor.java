@@ -0,0 +1,146 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.yosegi.compressor;
+
+import jp.co.yahoo.yosegi.binary.CompressResultNode;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Random;
+
+public class TestAdaptiveCompressor {
+
+  private byte[] createText( final int seed ) {
+    StringBuilder builder = new StringBuilder();
+    for ( int i = 0 ; i < 200 ; i++ ) {
+      int value = seed * 31 + i;
+      builder.append( "Mozilla/5.0 (Windows NT 10.0; Win64; x64) country_" )
+          .append( value % 7 ).append( " /api/v1/users/" ).append( value * 7919 ).append( "\n" );
+    }
+    return builder.toString().getBytes( StandardCharsets.UTF_8 );
+  }
+
+  private byte[] createRandom( final int seed ) {
+    byte[] data = new byte[1024 * 16];
+    new Random( seed ).nextBytes( data );
+    return data;
+  }
+
+  private String getCandidateName( final byte[] binary ) {
+    return AdaptiveCompressor.getCandidateNames()[ binary[0] ];
+  }
+
+  @Test
+  public void T_compress_selectZstd_withTextAndBestCompression() throws IOException {
+    ICompressor compressor = new AdaptiveCompressor( 2 );
+    CompressResult compressResult =
+        new CompressResult( CompressionPolicy.BEST_COMPRESSION , 1.0d );
+    for ( int i = 0 ; i < 2 ; i++ ) {
+      byte[] data = createText( i );
+      compressor.compress( data , 0 , data.length , compressResult );
+    }
+    String selectedName = compressResult.getSelectedCompressorName();
+    assertTrue( selectedName.startsWith( "zstd" ) );
+    for ( int i = 2 ; i < 5 ; i++ ) {
+      byte[] data = createText( i );
+      byte[] binary = compressor.compress( data , 0 , data.length , compressResult );
+      assertEquals( selectedName , getCandidateName( binary ) );
+      assertArrayEquals( data , compressor.decompress( binary , 0 , binary.length ) );
+    }
+  }
+
+  @Test
+  public void T_compress_selectNone_withRandomAndBestCompression() throws IOException {
+    ICompressor compressor = new AdaptiveCompressor( 2 );
+    CompressResult compressResult =
+        new CompressResult( CompressionPolicy.BEST_COMPRESSION , 1.0d );
+    assertNull( compressResult.getSelectedCompressorName() );
+    for ( int i = 0 ; i < 3 ; i++ ) {
+      byte[] data = createRandom( i );
+      byte[] binary = compressor.compress( data , 0 , data.length , compressResult );
+      assertEquals( "none" , getCandidateName( binary ) );
+      assertArrayEquals( data , compressor.decompress( binary , 0 , binary.length ) );
+    }
+    assertEquals( "none" , compressResult.getSelectedCompressorName() );
+  }
+
+  @Test
+  public void T_compress_selectSameCandidate_withSameResult() throws IOException {
+    ICompressor compressor = new AdaptiveCompressor( 1 , 0.0d , 0.0d );
+    CompressResult first = new CompressResult( CompressionPolicy.BEST_SPEED , 1.0d );
+    CompressResult second = new CompressResult( CompressionPolicy.BEST_SPEED , 1.0d );
+    byte[] data = createText( 0 );
+    byte[] firstBinary = compressor.compress( data , 0 , data.length , first );
+    byte[] secondBinary = compressor.compress( data , 0 , data.length , second );
+    assertEquals( first.getSelectedCompressorName() , second.getSelectedCompressorName() );
+    assertArrayEquals( firstBinary , secondBinary );
+  }
+
+  @Test
+  public void T_getSelectedCompressorNames_equalsSelectedName() throws IOException {
+    CompressResultNode node = new CompressResultNode();
+    CompressResult compressResult = node.getChild( "agent" ).getCompressResult(
+        "maker" , "data" , CompressionPolicy.BEST_COMPRESSION , 1.0d );
+    node.getChild( "agent" ).getCompressResult(
+        "maker" , "index" , CompressionPolicy.BEST_COMPRESSION , 1.0d );
+    ICompressor compressor = new AdaptiveCompressor( 1 );
+    byte[] data = createRandom( 0 );
+    compressor.compress( data , 0 , data.length , compressResult );
+
+    Map<String,Map<String,String>> names = node.getChild( "agent" ).getSelectedCompressorNames();
+    assertEquals( 1 , names.size() );
+    assertEquals( 1 , names.get( "maker" ).size() );
+    assertEquals( "none" , names.get( "maker" ).get( "data" ) );
+  }
+
+  @Test
+  public void T_decompress_throwsException_withUnknownIndex() {
+    ICompressor compressor = new AdaptiveCompressor();
+    byte[] binary = new byte[]{ 100 , 0 , 0 , 0 , 0 };
+    assertThrows( IOException.class , () -> compressor.decompress( binary , 0 , binary.length ) );
+  }
+
+  @Test
+  public void T_endSampleAndGet_selectLowestCost_afterSamples() {
+    CompressorSelector selector =
+        new CompressorSelector( new String[]{ "small" , "fast" } , 2 , 1.0d , 0.0d );
+    selector.addResult( 0 , 100 , 1000 , 200 );
+    selector.addResult( 1 , 200 , 10 , 10 );
+    assertEquals( 1 , selector.endSampleAndGet() );
+    assertFalse( selector.isEnd() );
+    assertNull( selector.getSelectedName() );
+    selector.addResult( 0 , 100 , 1000 , 200 );
+    selector.addResult( 1 , 200 , 10 , 10 );
+    assertEquals( 1 , selector.endSampleAndGet() );
+    assertTrue( selector.isEnd() );
+    assertEquals( "fast" , selector.getSelectedName() );
+    assertEquals( 420.0d , selector.getCost( 1 ) );
+    assertEquals( 600.0d , selector.getCost( 0 ) );
+  }
+
+  @Test
+  public void T_constructor_throwsException_withZeroSamples() {
+    assertThrows( IllegalArgumentException.class , () -> new AdaptiveCompressor( 0 ) );
+  }
+
+}
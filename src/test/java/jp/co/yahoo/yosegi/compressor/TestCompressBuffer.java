@@ -0,0 +1,82 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.yosegi.compressor;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import jp.co.yahoo.yosegi.util.ByteArrayData;
+
+public class TestCompressBuffer {
+
+  // The buffers are kept per thread, so each test starts with an empty pool in a new thread.
+  private static void runInNewThread( final Runnable test ) throws Throwable {
+    Throwable[] error = new Throwable[1];
+    Thread thread = new Thread( () -> {
+      try {
+        test.run();
+      } catch ( Throwable ex ) {
+        error[0] = ex;
+      }
+    } );
+    thread.start();
+    thread.join();
+    if ( error[0] != null ) {
+      throw error[0];
+    }
+  }
+
+  @Test
+  public void T_acquire_returnsReleasedBuffer() throws Throwable{
+    runInNewThread( () -> {
+      ByteArrayData buffer = CompressBuffer.acquire();
+      buffer.append( new byte[]{ 1 , 2 , 3 } );
+      CompressBuffer.release( buffer );
+      ByteArrayData result = CompressBuffer.acquire();
+      assertSame( buffer , result );
+      assertEquals( 0 , result.getLength() );
+      CompressBuffer.release( result );
+    } );
+  }
+
+  @Test
+  public void T_acquire_returnsDifferentBuffer_withoutRelease() throws Throwable{
+    runInNewThread( () -> {
+      ByteArrayData buffer = CompressBuffer.acquire();
+      ByteArrayData nested = CompressBuffer.acquire();
+      assertNotSame( buffer , nested );
+      CompressBuffer.release( nested );
+      CompressBuffer.release( buffer );
+    } );
+  }
+
+  @Test
+  public void T_release_notKeepBuffer_withLargeBuffer() throws Throwable{
+    runInNewThread( () -> {
+      ByteArrayData buffer = CompressBuffer.acquire();
+      buffer.setLength( CompressBuffer.MAX_KEEP_BUFFER_SIZE + 1 );
+      CompressBuffer.release( buffer );
+      ByteArrayData result = CompressBuffer.acquire();
+      assertNotSame( buffer , result );
+      assertEquals( CompressBuffer.INITIAL_BUFFER_SIZE , result.getBytes().length );
+      CompressBuffer.release( result );
+    } );
+  }
+
+}
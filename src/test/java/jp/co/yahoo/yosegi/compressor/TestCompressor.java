@@ -32,6 +32,8 @@ import static org.junit.jupiter.params.provider.Arguments.arguments;
 
 import java.nio.ByteBuffer;
 
+import jp.co.yahoo.yosegi.util.ByteArrayData;
+
 public class TestCompressor {
 
   private static String[] getCompressorClass(){
@@ -46,6 +48,10 @@ public class TestCompressor {
       SnappyCommonsCompressor.class.getName(),
       //FramedLZ4CommonsCompressor.class.getName(),
       ZstdCommonsCompressor.class.getName(),
+      ZstdCompressor.class.getName(),
+      Lz4Compressor.class.getName(),
+      ZstdDictionaryCompressor.class.getName(),
+      AdaptiveCompressor.class.getName(),
     };
   }
 
@@ -97,4 +103,87 @@ public class TestCompressor {
     }
   }
 
+  public static Stream<Arguments> data2() throws IOException{
+    return Stream.of(
+      arguments( new ZstdCompressor() ),
+      arguments( new Lz4Compressor() )
+    );
+  }
+
+  @ParameterizedTest
+  @MethodSource( "data2" )
+  public void T_compress_roundTrip_withEachPolicyAndFeedBack( final ICompressor compressor ) throws IOException{
+    byte[] target = largeBinary();
+    for( CompressionPolicy policy : CompressionPolicy.values() ){
+      CompressResult compressResult = new CompressResult( policy , 1.5d );
+      for( int i = 0 ; i < 4 ; i++ ){
+        byte[] compressData = compressor.compress( target , 0 , target.length , compressResult );
+        assertTrue( compressData.length < target.length );
+        assertTrue( Arrays.equals( target , compressor.decompress( compressData , 0 , compressData.length ) ) );
+      }
+    }
+  }
+
+  @ParameterizedTest
+  @MethodSource( "data2" )
+  public void T_decompressAndSet_readWithOffset( final ICompressor compressor ) throws IOException{
+    byte[] compressData = compressor.compress( "abcdeabcde".getBytes() , 0 , 10 );
+    byte[] data = new byte[ compressData.length + 3 ];
+    System.arraycopy( compressData , 0 , data , 3 , compressData.length );
+    byte[] buffer = new byte[20];
+    assertEquals( 10 , compressor.decompressAndSet( data , 3 , compressData.length , buffer ) );
+    assertEquals( "abcdeabcde" , new String( buffer , 0 , 10 ) );
+  }
+
+  @ParameterizedTest
+  @MethodSource( "data2" )
+  public void T_decompress_throwsException_withBrokenData( final ICompressor compressor ) throws IOException{
+    byte[] compressData = compressor.compress( "abcdeabcde".getBytes() , 0 , 10 );
+    ByteBuffer.wrap( compressData ).putInt( 0 , 5 );
+    assertThrows( IOException.class , () -> {
+      compressor.decompress( compressData , 0 , compressData.length );
+    } );
+  }
+
+  @ParameterizedTest
+  @MethodSource( "data1" )
+  public void T_compressWithHeader_equalsCompress_afterHeader( final String[] classNames , final byte[] compressTarget , final int start , final int length , final byte[] success ) throws IOException{
+    for( int i = 0 ; i < classNames.length ; i++ ){
+      ICompressor compressor = FindCompressor.get( classNames[i] );
+      byte[] binary = compressor.compressWithHeader( compressTarget , start , length , 5 ,
+          new CompressResult( CompressionPolicy.DEFAULT , 1.0d ) );
+      for( int n = 0 ; n < 5 ; n++ ){
+        assertEquals( 0 , binary[n] );
+      }
+      assertEquals( success.length , compressor.getDecompressSize( binary , 5 , binary.length - 5 ) );
+      assertTrue( Arrays.equals( success , compressor.decompress( binary , 5 , binary.length - 5 ) ) );
+    }
+  }
+
+  @ParameterizedTest
+  @MethodSource( "data1" )
+  public void T_compress_intoByteArrayData_withHeapAndDirectBuffer( final String[] classNames , final byte[] compressTarget , final int start , final int length , final byte[] success ) throws IOException{
+    ByteBuffer heapBuffer = ByteBuffer.wrap( compressTarget , start , length ).slice();
+    ByteBuffer directBuffer = ByteBuffer.allocateDirect( length );
+    directBuffer.put( compressTarget , start , length );
+    directBuffer.flip();
+    ByteArrayData output = new ByteArrayData( 16 );
+    ByteArrayData decompressOutput = new ByteArrayData( 16 );
+    for( int i = 0 ; i < classNames.length ; i++ ){
+      ICompressor compressor = FindCompressor.get( classNames[i] );
+      for( ByteBuffer data : new ByteBuffer[]{ heapBuffer , directBuffer } ){
+        int compressLength = compressor.compress( data , 3 , output ,
+            new CompressResult( CompressionPolicy.DEFAULT , 1.0d ) );
+        assertEquals( 0 , data.position() );
+        assertEquals( length , data.remaining() );
+        assertEquals( 3 + compressLength , output.getLength() );
+
+        ByteBuffer compressBuffer = ByteBuffer.wrap( output.getBytes() , 3 , compressLength );
+        assertEquals( success.length , compressor.decompressAndSet( compressBuffer , decompressOutput ) );
+        assertEquals( success.length , decompressOutput.getLength() );
+        assertTrue( Arrays.equals( success , Arrays.copyOf( decompressOutput.getBytes() , decompressOutput.getLength() ) ) );
+      }
+    }
+  }
+
 }
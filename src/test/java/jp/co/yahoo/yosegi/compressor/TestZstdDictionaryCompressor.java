@@ -0,0 +1,165 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.yosegi.compressor;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+public class TestZstdDictionaryCompressor {
+
+  private byte[] createChunk( final int seed ) {
+    StringBuilder builder = new StringBuilder();
+    for ( int i = 0 ; i < 20 ; i++ ) {
+      int value = seed * 31 + i;
+      builder.append( "{\"user_agent\":\"Mozilla/5.0 (Windows NT 10.0; Win64; x64)\"," )
+          .append( "\"country\":\"country_" ).append( value % 7 ).append( "\"," )
+          .append( "\"request_id\":" ).append( value * 7919 ).append( "}" );
+    }
+    return builder.toString().getBytes( StandardCharsets.UTF_8 );
+  }
+
+  private long getDictionaryKey( final byte[] binary ) {
+    return ByteBuffer.wrap( binary ).getLong( Integer.BYTES );
+  }
+
+  private ZstdDictionary trainDictionary() {
+    ZstdDictionaryTrainer trainer = new ZstdDictionaryTrainer( 64 , 1024 * 1024 , 1024 * 4 );
+    for ( int i = 0 ; i < 63 ; i++ ) {
+      byte[] chunk = createChunk( i );
+      assertNull( trainer.addSampleAndGet( chunk , 0 , chunk.length ) );
+    }
+    assertFalse( trainer.isEnd() );
+    byte[] chunk = createChunk( 63 );
+    ZstdDictionary dictionary = trainer.addSampleAndGet( chunk , 0 , chunk.length );
+    assertTrue( trainer.isEnd() );
+    return dictionary;
+  }
+
+  private Map<Long,ZstdDictionary> toDictionaryMap( final ZstdDictionary dictionary ) {
+    return Collections.singletonMap( dictionary.getKey() , dictionary );
+  }
+
+  @Test
+  public void T_compress_useTrainedDictionary_afterTrainSamples() throws IOException {
+    ZstdDictionaryCompressor compressor =
+        new ZstdDictionaryCompressor( 64 , 1024 * 1024 , 1024 * 4 );
+    CompressResult compressResult = new CompressResult( CompressionPolicy.DEFAULT , 1.5d );
+    for ( int i = 0 ; i < 63 ; i++ ) {
+      byte[] chunk = createChunk( i );
+      byte[] binary = compressor.compress( chunk , 0 , chunk.length , compressResult );
+      assertEquals( 0 , getDictionaryKey( binary ) );
+    }
+    assertTrue( compressor.getDictionaryList().isEmpty() );
+
+    ICompressor plainCompressor = new ZstdCompressor();
+    compressor.takeUsedDictionaryMap();
+    for ( int i = 63 ; i < 73 ; i++ ) {
+      byte[] chunk = createChunk( i );
+      byte[] binary = compressor.compress( chunk , 0 , chunk.length , compressResult );
+      byte[] plainBinary = plainCompressor.compress(
+          chunk , 0 , chunk.length , new CompressResult( CompressionPolicy.DEFAULT , 1.5d ) );
+      assertEquals( 1 , compressor.getDictionaryList().size() );
+      assertEquals( compressor.getDictionaryList().get( 0 ).getKey() , getDictionaryKey( binary ) );
+      assertTrue( binary.length < plainBinary.length );
+      ZstdDictionary dictionary = compressor.getDictionaryList().get( 0 );
+      assertEquals( toDictionaryMap( dictionary ) , compressor.takeUsedDictionaryMap() );
+      ICompressor readCompressor = new ZstdDictionaryCompressor( toDictionaryMap( dictionary ) );
+      assertArrayEquals( chunk , readCompressor.decompress( binary , 0 , binary.length ) );
+    }
+  }
+
+  @Test
+  public void T_decompress_equalsOriginal_withGivenDictionary() throws IOException {
+    ZstdDictionary dictionary = trainDictionary();
+    assertNotNull( dictionary );
+    ZstdDictionaryCompressor compressor = new ZstdDictionaryCompressor( dictionary );
+    assertEquals( 1 , compressor.getDictionaryList().size() );
+
+    byte[] chunk = createChunk( 200 );
+    byte[] binary = new byte[10];
+    byte[] compressBinary = compressor.compress( chunk , 0 , chunk.length ,
+        new CompressResult( CompressionPolicy.BEST_COMPRESSION , 1.5d ) );
+    binary = Arrays.copyOf( binary , binary.length + compressBinary.length );
+    System.arraycopy( compressBinary , 0 , binary , 10 , compressBinary.length );
+    assertEquals( dictionary.getKey() , getDictionaryKey( compressBinary ) );
+
+    ICompressor readCompressor = new ZstdDictionaryCompressor( toDictionaryMap( dictionary ) );
+    byte[] buffer = new byte[ readCompressor.getDecompressSize( binary , 10 , compressBinary.length ) ];
+    assertEquals( chunk.length ,
+        readCompressor.decompressAndSet( binary , 10 , compressBinary.length , buffer ) );
+    assertArrayEquals( chunk , buffer );
+  }
+
+  @Test
+  public void T_decompress_throwsException_withoutAttachedDictionary() throws IOException {
+    ZstdDictionary dictionary = trainDictionary();
+    ZstdDictionaryCompressor compressor = new ZstdDictionaryCompressor( dictionary );
+    byte[] chunk = createChunk( 300 );
+    byte[] binary = compressor.compress( chunk , 0 , chunk.length ,
+        new CompressResult( CompressionPolicy.DEFAULT , 1.5d ) );
+
+    ICompressor readCompressor = new ZstdDictionaryCompressor();
+    assertThrows( IOException.class ,
+        () -> readCompressor.decompress( binary , 0 , binary.length ) );
+    assertThrows( IOException.class ,
+        () -> new ZstdDictionaryCompressor( new HashMap<Long,ZstdDictionary>() )
+            .decompress( binary , 0 , binary.length ) );
+
+    byte[] dictionaryBinary = dictionary.getBinary();
+    ICompressor attachedCompressor = new ZstdDictionaryCompressor( toDictionaryMap(
+        new ZstdDictionary( dictionaryBinary , 0 , dictionaryBinary.length ) ) );
+    assertArrayEquals( chunk , attachedCompressor.decompress( binary , 0 , binary.length ) );
+  }
+
+  @Test
+  public void T_compress_withoutDictionary_whenTrainingFails() throws IOException {
+    ZstdDictionaryCompressor compressor = new ZstdDictionaryCompressor( 1 , 1024 , 1024 );
+    CompressResult compressResult = new CompressResult( CompressionPolicy.DEFAULT , 1.5d );
+    byte[] data = "abc".getBytes( StandardCharsets.UTF_8 );
+    for ( int i = 0 ; i < 3 ; i++ ) {
+      byte[] binary = compressor.compress( data , 0 , data.length , compressResult );
+      assertEquals( 0 , getDictionaryKey( binary ) );
+      assertArrayEquals( data ,
+          new ZstdDictionaryCompressor().decompress( binary , 0 , binary.length ) );
+    }
+    assertTrue( compressor.getDictionaryList().isEmpty() );
+    assertTrue( compressor.takeUsedDictionaryMap().isEmpty() );
+  }
+
+  @Test
+  public void T_createKey_equalsKey_withSameBinary() {
+    byte[] binary = createChunk( 1 );
+    ZstdDictionary dictionary1 = new ZstdDictionary( binary , 0 , binary.length );
+    ZstdDictionary dictionary2 = new ZstdDictionary( binary , 0 , binary.length );
+    assertEquals( dictionary1.getKey() , dictionary2.getKey() );
+    assertNotEquals( 0 , dictionary1.getKey() );
+    byte[] otherBinary = createChunk( 2 );
+    assertNotEquals( dictionary1.getKey() ,
+        new ZstdDictionary( otherBinary , 0 , otherBinary.length ).getKey() );
+  }
+
+}
@@ -0,0 +1,158 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.yosegi.inmemory;
+
+import java.io.IOException;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.SchemaChangeCallBack;
+import org.apache.arrow.vector.ValueVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.complex.StructVector;
+import org.apache.arrow.vector.dictionary.Dictionary;
+import org.apache.arrow.vector.dictionary.DictionaryEncoder;
+import org.apache.arrow.vector.types.pojo.DictionaryEncoding;
+import org.apache.arrow.vector.types.pojo.FieldType;
+import org.apache.arrow.vector.types.pojo.ArrowType.Struct;
+
+import jp.co.yahoo.yosegi.binary.ColumnBinary;
+import jp.co.yahoo.yosegi.binary.ColumnBinaryMakerConfig;
+import jp.co.yahoo.yosegi.binary.CompressResultNode;
+import jp.co.yahoo.yosegi.binary.maker.IColumnBinaryMaker;
+import jp.co.yahoo.yosegi.binary.maker.OptimizedNullArrayStringColumnBinaryMaker;
+import jp.co.yahoo.yosegi.binary.maker.RleStringColumnBinaryMaker;
+import jp.co.yahoo.yosegi.message.objects.StringObj;
+import jp.co.yahoo.yosegi.spread.column.ColumnType;
+import jp.co.yahoo.yosegi.spread.column.IColumn;
+import jp.co.yahoo.yosegi.spread.column.PrimitiveColumn;
+
+public class TestArrowDictionaryStringMemoryAllocator {
+
+  private StructVector createParent( final BufferAllocator allocator ) {
+    StructVector parent = new StructVector( "root" , allocator ,
+        new FieldType( false , Struct.INSTANCE , null , null ) , new SchemaChangeCallBack() );
+    parent.allocateNew();
+    return parent;
+  }
+
+  private VarCharVector decode(
+      final StructVector parent , final ArrowDictionaryProvider provider ) {
+    IntVector indexVector = parent.getChild( "target" , IntVector.class );
+    DictionaryEncoding encoding = indexVector.getField().getDictionary();
+    assertNotNull( encoding );
+    Dictionary dictionary = provider.lookup( encoding.getId() );
+    return (VarCharVector)DictionaryEncoder.decode( indexVector , dictionary );
+  }
+
+  private void assertLoad(
+      final IColumnBinaryMaker maker , final int maxDictionarySize ) throws IOException {
+    IColumn column = new PrimitiveColumn( ColumnType.STRING , "target" );
+    String[] values = new String[]{ "a" , "a" , null , "b" , "a" , "c" , "c" };
+    for ( int i = 0 ; i < values.length ; i++ ) {
+      if ( values[i] != null ) {
+        column.add( ColumnType.STRING , new StringObj( values[i] ) , i );
+      }
+    }
+    ColumnBinaryMakerConfig defaultConfig = new ColumnBinaryMakerConfig();
+    ColumnBinary columnBinary =
+        maker.toBinary( defaultConfig , null , new CompressResultNode() , column );
+
+    BufferAllocator allocator = new RootAllocator( 1024 * 1024 * 10 );
+    ArrowDictionaryProvider provider = new ArrowDictionaryProvider();
+    StructVector parent = createParent( allocator );
+    IMemoryAllocator memoryAllocator = ArrowMemoryAllocatorFactory.getFromStructVector(
+        ColumnType.STRING , "target" , allocator , parent , values.length , provider );
+    maker.loadInMemoryStorage( columnBinary , memoryAllocator );
+    memoryAllocator.setValueCount( values.length );
+
+    IntVector indexVector = parent.getChild( "target" , IntVector.class );
+    assertTrue( provider.lookup( indexVector.getField().getDictionary().getId() )
+        .getVector().getValueCount() <= maxDictionarySize );
+    VarCharVector decoded = decode( parent , provider );
+    for ( int i = 0 ; i < values.length ; i++ ) {
+      if ( values[i] == null ) {
+        assertTrue( decoded.isNull( i ) );
+      } else {
+        assertEquals( values[i] , decoded.getObject( i ).toString() );
+      }
+    }
+    decoded.close();
+    provider.close();
+    parent.close();
+  }
+
+  @Test
+  public void T_setString_dedupDictionary() throws IOException {
+    BufferAllocator allocator = new RootAllocator( 1024 * 1024 * 10 );
+    ArrowDictionaryProvider provider = new ArrowDictionaryProvider();
+    StructVector parent = createParent( allocator );
+    IMemoryAllocator memoryAllocator = ArrowMemoryAllocatorFactory.getFromStructVector(
+        ColumnType.STRING , "target" , allocator , parent , 4 , provider );
+    memoryAllocator.setString( 0 , "a" );
+    memoryAllocator.setString( 1 , "b" );
+    memoryAllocator.setString( 2 , "a" );
+    memoryAllocator.setNull( 3 );
+    memoryAllocator.setValueCount( 4 );
+
+    IntVector indexVector = parent.getChild( "target" , IntVector.class );
+    assertEquals( 0 , indexVector.get( 0 ) );
+    assertEquals( 1 , indexVector.get( 1 ) );
+    assertEquals( 0 , indexVector.get( 2 ) );
+    assertTrue( indexVector.isNull( 3 ) );
+    ValueVector dictionaryVector =
+        provider.lookup( indexVector.getField().getDictionary().getId() ).getVector();
+    assertEquals( 2 , dictionaryVector.getValueCount() );
+    provider.close();
+    parent.close();
+  }
+
+  @Test
+  public void T_getFromStructVector_keepEncoding_withSameColumn() throws IOException {
+    BufferAllocator allocator = new RootAllocator( 1024 * 1024 * 10 );
+    ArrowDictionaryProvider provider = new ArrowDictionaryProvider();
+    StructVector parent = createParent( allocator );
+    ArrowMemoryAllocatorFactory.getFromStructVector(
+        ColumnType.STRING , "target" , allocator , parent , 1 , provider );
+    long id = parent.getChild( "target" , IntVector.class ).getField().getDictionary().getId();
+    parent.clear();
+    ArrowMemoryAllocatorFactory.getFromStructVector(
+        ColumnType.STRING , "target" , allocator , parent , 1 , provider );
+    assertEquals( id ,
+        parent.getChild( "target" , IntVector.class ).getField().getDictionary().getId() );
+    assertEquals( 1 , provider.getDictionaryIds().size() );
+    provider.close();
+    parent.close();
+  }
+
+  @Test
+  public void T_loadInMemoryStorage_decodeValues_withDictionaryMaker() throws IOException {
+    assertLoad( new OptimizedNullArrayStringColumnBinaryMaker() , 3 );
+  }
+
+  @Test
+  public void T_loadInMemoryStorage_decodeValues_withRleMaker() throws IOException {
+    assertLoad( new RleStringColumnBinaryMaker() , 4 );
+  }
+
+}
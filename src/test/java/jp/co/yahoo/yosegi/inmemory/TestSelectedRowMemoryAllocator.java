@@ -0,0 +1,105 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.yosegi.inmemory;
+
+import java.io.IOException;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.SchemaChangeCallBack;
+import org.apache.arrow.vector.complex.StructVector;
+import org.apache.arrow.vector.types.pojo.FieldType;
+import org.apache.arrow.vector.types.pojo.ArrowType.Struct;
+
+import jp.co.yahoo.yosegi.spread.column.ColumnType;
+import jp.co.yahoo.yosegi.spread.expression.SelectionBitmap;
+
+public class TestSelectedRowMemoryAllocator {
+
+  private StructVector createParent( final BufferAllocator allocator ) {
+    StructVector parent = new StructVector( "root" , allocator ,
+        new FieldType( false , Struct.INSTANCE , null , null ) , new SchemaChangeCallBack() );
+    parent.allocateNew();
+    return parent;
+  }
+
+  private SelectionBitmap createBitmap( final int size , final int... indexes ) {
+    SelectionBitmap bitmap = new SelectionBitmap( size );
+    for ( int index : indexes ) {
+      bitmap.set( index );
+    }
+    return bitmap;
+  }
+
+  @Test
+  public void T_setLong_compactSelectedRows() throws IOException {
+    BufferAllocator allocator = new RootAllocator( 1024 * 1024 * 10 );
+    StructVector parent = createParent( allocator );
+    IMemoryAllocator memoryAllocator = new SelectedRowMemoryAllocator(
+        ArrowMemoryAllocatorFactory.getFromStructVector(
+            ColumnType.LONG , "target" , allocator , parent , 3 ) ,
+        createBitmap( 6 , 1 , 3 , 4 ) );
+    for ( int i = 0 ; i < 6 ; i++ ) {
+      if ( i == 3 ) {
+        memoryAllocator.setNull( i );
+      } else {
+        memoryAllocator.setLong( i , i * 10L );
+      }
+    }
+    memoryAllocator.setValueCount( 6 );
+
+    BigIntVector vector = parent.getChild( "target" , BigIntVector.class );
+    assertEquals( 3 , vector.getValueCount() );
+    assertEquals( 10L , vector.get( 0 ) );
+    assertTrue( vector.isNull( 1 ) );
+    assertEquals( 40L , vector.get( 2 ) );
+    parent.close();
+  }
+
+  @Test
+  public void T_setRunFromDictionary_compactSelectedRows() throws IOException {
+    BufferAllocator allocator = new RootAllocator( 1024 * 1024 * 10 );
+    StructVector parent = createParent( allocator );
+    IMemoryAllocator memoryAllocator = new SelectedRowMemoryAllocator(
+        ArrowMemoryAllocatorFactory.getFromStructVector(
+            ColumnType.LONG , "target" , allocator , parent , 3 ) ,
+        createBitmap( 8 , 0 , 2 , 5 , 7 ) );
+    IDictionary dic = memoryAllocator.createDictionary( 2 );
+    dic.setLong( 0 , 100L );
+    dic.setLong( 1 , 200L );
+    memoryAllocator.setRunFromDictionary( 0 , 4 , 0 , dic );
+    memoryAllocator.setRunFromDictionary( 4 , 2 , 1 , dic );
+    memoryAllocator.setRunFromDictionary( 6 , 1 , 0 , dic );
+    memoryAllocator.setNull( 7 );
+    memoryAllocator.setValueCount( 8 );
+
+    BigIntVector vector = parent.getChild( "target" , BigIntVector.class );
+    assertEquals( 4 , vector.getValueCount() );
+    assertEquals( 100L , vector.get( 0 ) );
+    assertEquals( 100L , vector.get( 1 ) );
+    assertEquals( 200L , vector.get( 2 ) );
+    assertTrue( vector.isNull( 3 ) );
+    parent.close();
+  }
+
+}
@@ -0,0 +1,200 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.yosegi.reader;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.complex.StructVector;
+import org.apache.arrow.vector.complex.reader.BaseReader.StructReader;
+import org.apache.arrow.vector.dictionary.DictionaryEncoder;
+import org.apache.arrow.vector.types.pojo.DictionaryEncoding;
+
+import jp.co.yahoo.yosegi.config.Configuration;
+import jp.co.yahoo.yosegi.message.objects.LongObj;
+import jp.co.yahoo.yosegi.message.objects.StringObj;
+import jp.co.yahoo.yosegi.message.parser.json.JacksonMessageReader;
+import jp.co.yahoo.yosegi.spread.column.filter.PerfectMatchStringFilter;
+import jp.co.yahoo.yosegi.spread.expression.AndExpressionNode;
+import jp.co.yahoo.yosegi.spread.expression.ExecuterNode;
+import jp.co.yahoo.yosegi.spread.expression.IExpressionNode;
+import jp.co.yahoo.yosegi.spread.expression.StringExtractNode;
+import jp.co.yahoo.yosegi.writer.YosegiRecordWriter;
+
+public class TestYosegiArrowReader {
+
+  private byte[] createData( final int rows ) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try ( YosegiRecordWriter writer = new YosegiRecordWriter( out ) ) {
+      for ( int i = 0 ; i < rows ; i++ ) {
+        Map<String,Object> row = new HashMap<String,Object>();
+        row.put( "id" , new LongObj( i ) );
+        row.put( "name" , new StringObj( "name_" + ( i % 3 ) ) );
+        writer.addRow( row );
+      }
+    }
+    return out.toByteArray();
+  }
+
+  private byte[] createNestedData( final int rows ) throws IOException {
+    Configuration config = new Configuration();
+    config.set( "spread.column.maker.setting" , "{ \"column_name\" : \"root\" , "
+        + "\"string_maker_class\" : "
+        + "\"jp.co.yahoo.yosegi.binary.maker.UnsafeOptimizeDumpStringColumnBinaryMaker\" }" );
+    return createNestedData( rows , config );
+  }
+
+  private byte[] createNestedData(
+      final int rows , final Configuration config ) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    JacksonMessageReader messageReader = new JacksonMessageReader();
+    try ( YosegiRecordWriter writer = new YosegiRecordWriter( out , config ) ) {
+      for ( int i = 0 ; i < rows ; i++ ) {
+        writer.addParserRow( messageReader.create( String.format(
+            "{\"id\":%d,\"name\":\"name_%d\",\"info\":{\"v\":%d}}" , i , i % 3 , i ) ) );
+      }
+    }
+    return out.toByteArray();
+  }
+
+  private void assertSelectedRows( final Configuration config ) throws IOException {
+    byte[] data = createNestedData( 100 );
+    config.set( "spread.reader.arrow.late.materialization" , "true" );
+    YosegiArrowReader reader = createReader( data , config );
+    IExpressionNode node = new AndExpressionNode();
+    node.addChildNode( new ExecuterNode(
+        new StringExtractNode( "name" ) , new PerfectMatchStringFilter( "name_1" ) ) );
+    reader.setNode( node );
+    StructVector rootVector = (StructVector)reader.next();
+    assertEquals( 33 , rootVector.getValueCount() );
+    StructReader rootReader = rootVector.getReader();
+    for ( int i = 0 ; i < 33 ; i++ ) {
+      rootReader.setPosition( i );
+      assertEquals( i * 3 + 1 , rootReader.reader( "id" ).readInteger().intValue() );
+      assertEquals( i * 3 + 1 , rootReader.reader( "info" ).reader( "v" ).readInteger().intValue() );
+    }
+    assertFalse( reader.hasNext() );
+    reader.close();
+  }
+
+  private YosegiArrowReader createReader(
+      final byte[] data , final Configuration config ) throws IOException {
+    YosegiReader reader = new YosegiReader();
+    reader.setNewStream( new ByteArrayInputStream( data ) , data.length , config );
+    return new YosegiArrowReader( reader , config );
+  }
+
+  @Test
+  public void T_next_dictionaryEncodedString_withDictionaryConfig() throws IOException {
+    byte[] data = createData( 100 );
+    Configuration config = new Configuration();
+    config.set( "spread.reader.arrow.dictionary" , "true" );
+    YosegiArrowReader reader = createReader( data , config );
+    assertTrue( reader.hasNext() );
+    VectorSchemaRoot root = reader.nextToSchemaRoot();
+    assertEquals( 100 , root.getRowCount() );
+    FieldVector nameVector = root.getVector( "name" );
+    assertTrue( nameVector instanceof IntVector );
+    DictionaryEncoding encoding = nameVector.getField().getDictionary();
+    assertNotNull( encoding );
+    VarCharVector decoded = (VarCharVector)DictionaryEncoder.decode(
+        nameVector , reader.getDictionaryProvider().lookup( encoding.getId() ) );
+    for ( int i = 0 ; i < 100 ; i++ ) {
+      assertEquals( "name_" + ( i % 3 ) , decoded.getObject( i ).toString() );
+    }
+    decoded.close();
+    reader.close();
+  }
+
+  @Test
+  public void T_nextToBytes_writeDictionary_withDictionaryConfig() throws IOException {
+    byte[] data = createData( 10 );
+    Configuration config = new Configuration();
+    config.set( "spread.reader.arrow.dictionary" , "true" );
+    YosegiArrowReader reader = createReader( data , config );
+    assertTrue( 0 < reader.nextToBytes().length );
+    reader.close();
+  }
+
+  @Test
+  public void T_next_varCharString_withoutDictionaryConfig() throws IOException {
+    byte[] data = createData( 10 );
+    YosegiArrowReader reader = createReader( data , new Configuration() );
+    VectorSchemaRoot root = reader.nextToSchemaRoot();
+    FieldVector nameVector = root.getVector( "name" );
+    assertTrue( nameVector instanceof VarCharVector );
+    assertNull( reader.getDictionaryProvider() );
+    reader.close();
+  }
+
+  @Test
+  public void T_next_loadSelectedRows_withLateMaterialization() throws IOException {
+    assertSelectedRows( new Configuration() );
+  }
+
+  @Test
+  public void T_next_loadSelectedRows_withLateMaterializationAndDictionary() throws IOException {
+    Configuration config = new Configuration();
+    config.set( "spread.reader.arrow.dictionary" , "true" );
+    assertSelectedRows( config );
+  }
+
+  @Test
+  public void T_next_loadAllRows_withLateMaterializationAndNoCellIndex() throws IOException {
+    Configuration writerConfig = new Configuration();
+    writerConfig.set( "spread.column.maker.setting" , "{ \"column_name\" : \"root\" , "
+        + "\"string_maker_class\" : "
+        + "\"jp.co.yahoo.yosegi.binary.maker.OptimizedNullArrayStringColumnBinaryMaker\" }" );
+    byte[] data = createNestedData( 10 , writerConfig );
+    Configuration config = new Configuration();
+    config.set( "spread.reader.arrow.late.materialization" , "true" );
+    YosegiArrowReader reader = createReader( data , config );
+    IExpressionNode node = new AndExpressionNode();
+    node.addChildNode( new ExecuterNode(
+        new StringExtractNode( "name" ) , new PerfectMatchStringFilter( "name_1" ) ) );
+    reader.setNode( node );
+    assertEquals( 10 , reader.next().getValueCount() );
+    reader.close();
+  }
+
+  @Test
+  public void T_next_emptyVector_withLateMaterializationAndNoMatch() throws IOException {
+    byte[] data = createNestedData( 10 );
+    Configuration config = new Configuration();
+    config.set( "spread.reader.arrow.late.materialization" , "true" );
+    YosegiArrowReader reader = createReader( data , config );
+    IExpressionNode node = new AndExpressionNode();
+    node.addChildNode( new ExecuterNode(
+        new StringExtractNode( "name" ) , new PerfectMatchStringFilter( "name_3" ) ) );
+    reader.setNode( node );
+    assertEquals( 0 , reader.next().getValueCount() );
+    reader.close();
+  }
+
+}
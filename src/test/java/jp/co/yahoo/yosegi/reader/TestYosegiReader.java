@@ -33,9 +33,11 @@ import jp.co.yahoo.yosegi.spread.column.PrimitiveColumn;
 import jp.co.yahoo.yosegi.spread.column.IColumn;
 import jp.co.yahoo.yosegi.spread.column.filter.*;
 import jp.co.yahoo.yosegi.spread.expression.*;
+import jp.co.yahoo.yosegi.util.io.FileChannelInputStream;
 import jp.co.yahoo.yosegi.writer.YosegiWriter;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.junit.jupiter.params.provider.Arguments;
@@ -45,7 +47,10 @@ import static org.junit.jupiter.params.provider.Arguments.arguments;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.List;
 
@@ -53,6 +58,9 @@ public class TestYosegiReader {
 
   private int blockSize = 1024 * 1024 * 4;
 
+  @TempDir
+  Path tempDir;
+
   private ColumnBinary createStringPushdownTestColumn() throws IOException{
     IColumn column = new PrimitiveColumn( ColumnType.STRING , "column" );
     column.add( ColumnType.STRING , new StringObj( "D" ) , 0 );
@@ -304,4 +312,202 @@ public class TestYosegiReader {
     assertEquals( reader.hasNext() , false );
   }
 
+  @Test
+  public void T_read_withBlockPrefetch() throws IOException {
+    byte[] blocks = createTestBinary();
+    ByteArrayInputStream in = new ByteArrayInputStream( blocks );
+    YosegiReader reader = new YosegiReader();
+    Configuration readerConfig = new Configuration();
+    readerConfig.set( "spread.reader.block.prefetch" , "2" );
+    reader.setNewStream( in , blocks.length , readerConfig );
+
+    String[] columnNames = new String[]{ "column" , "column" , "column" , "column" , "column2" };
+    for ( String columnName : columnNames ) {
+      assertEquals( reader.hasNext() , true );
+      List<ColumnBinary> raw = reader.nextRaw();
+      assertEquals( reader.getCurrentSpreadSize().intValue() , 4 );
+      assertEquals( raw.size() , 1 );
+      assertEquals( raw.get(0).columnName , columnName );
+    }
+    assertEquals( reader.hasNext() , false );
+    assertEquals( reader.getReadStats().getRowCount() , 0 );
+    reader.close();
+  }
+
+  @Test
+  public void T_next_withBlockPrefetchAndReadRange() throws IOException {
+    byte[] blocks = createTestBinary();
+    ByteArrayInputStream in = new ByteArrayInputStream( blocks );
+    YosegiReader reader = new YosegiReader();
+    Configuration readerConfig = new Configuration();
+    readerConfig.set( "spread.reader.block.prefetch" , "1" );
+    // Read Block-2 and Block-3
+    reader.setNewStream( in , blocks.length , readerConfig , blockSize , blockSize * 2 );
+
+    assertEquals( reader.hasNext() , true );
+    assertEquals( reader.next().getColumn(0).getColumnName() , "column" );
+    assertEquals( reader.next().getColumn(0).getColumnName() , "column" );
+    assertEquals( reader.hasNext() , true );
+    assertEquals( reader.next().getColumn(0).getColumnName() , "column2" );
+    assertEquals( reader.hasNext() , false );
+    assertEquals( reader.getReadStats().getRowCount() , 12 );
+    reader.close();
+  }
+
+  @Test
+  public void T_next_equalsWithoutPrefetch_withBlockPrefetchDecode() throws IOException {
+    byte[] blocks = createTestBinary();
+    YosegiReader reader = new YosegiReader();
+    reader.setNewStream( new ByteArrayInputStream( blocks ) , blocks.length , new Configuration() );
+    Configuration readerConfig = new Configuration();
+    readerConfig.set( "spread.reader.block.prefetch" , "2" );
+    readerConfig.set( "spread.reader.block.prefetch.decode" , "true" );
+    readerConfig.set( "spread.reader.block.prefetch.threads" , "2" );
+    YosegiReader prefetchReader = new YosegiReader();
+    prefetchReader.setNewStream(
+        new ByteArrayInputStream( blocks ) , blocks.length , readerConfig );
+
+    int spreadCount = 0;
+    while ( reader.hasNext() ) {
+      assertEquals( prefetchReader.hasNext() , true );
+      IColumn expected = reader.next().getColumn(0);
+      IColumn actual = prefetchReader.next().getColumn(0);
+      assertEquals( expected.getColumnName() , actual.getColumnName() );
+      for ( int i = 0 ; i < 4 ; i++ ) {
+        assertEquals( expected.get(i).toString() , actual.get(i).toString() );
+      }
+      spreadCount++;
+    }
+    assertEquals( prefetchReader.hasNext() , false );
+    assertEquals( 5 , spreadCount );
+    assertEquals( reader.getReadStats().getRowCount() ,
+        prefetchReader.getReadStats().getRowCount() );
+    reader.close();
+    prefetchReader.close();
+  }
+
+  @Test
+  public void T_nextRaw_afterNext_withBlockPrefetchDecode() throws IOException {
+    byte[] blocks = createTestBinary();
+    Configuration readerConfig = new Configuration();
+    readerConfig.set( "spread.reader.block.prefetch" , "1" );
+    readerConfig.set( "spread.reader.block.prefetch.decode" , "true" );
+    YosegiReader reader = new YosegiReader();
+    reader.setNewStream( new ByteArrayInputStream( blocks ) , blocks.length , readerConfig );
+
+    assertEquals( reader.next().getColumn(0).getColumnName() , "column" );
+    assertEquals( reader.nextRaw().get(0).columnName , "column" );
+    assertEquals( reader.next().getColumn(0).getColumnName() , "column" );
+    assertEquals( reader.getBlockReadCount() , 3 );
+    reader.close();
+  }
+
+  @Test
+  public void T_close_withoutRead_withBlockPrefetchDecode() throws IOException {
+    byte[] blocks = createTestBinary();
+    Configuration readerConfig = new Configuration();
+    readerConfig.set( "spread.reader.block.prefetch" , "4" );
+    readerConfig.set( "spread.reader.block.prefetch.decode" , "true" );
+    YosegiReader reader = new YosegiReader();
+    reader.setNewStream( new ByteArrayInputStream( blocks ) , blocks.length , readerConfig );
+    reader.setNewStream( new ByteArrayInputStream( blocks ) , blocks.length , readerConfig );
+    assertEquals( reader.next().getColumn(0).getColumnName() , "column" );
+    reader.close();
+    assertEquals( reader.hasNext() , false );
+  }
+
+  @Test
+  public void T_EmptyPushdown_withBlockPrefetch() throws IOException {
+    byte[] blocks = createTestBinary();
+    ByteArrayInputStream in = new ByteArrayInputStream( blocks );
+    YosegiReader reader = new YosegiReader();
+    AndExpressionNode index = new AndExpressionNode();
+    index.addChildNode(
+        new ExecuterNode( new StringExtractNode( "column" )
+        , new PerfectMatchStringFilter( "p" ) )
+    );
+    Configuration readerConfig = new Configuration();
+    readerConfig.set( "spread.reader.block.prefetch" , "4" );
+    // Skip Block-1, Block-2
+    reader.setBlockSkipIndex( index );
+    reader.setNewStream( in , blocks.length , readerConfig );
+    assertEquals( reader.hasNext() , true );
+
+    // Block-3 Spread-1
+    List<ColumnBinary> raw = reader.nextRaw();
+    assertEquals( reader.getCurrentSpreadSize().intValue() , 4 );
+    assertEquals( raw.size() , 1 );
+    assertEquals( raw.get(0).columnName , "column2" );
+    assertEquals( reader.hasNext() , false );
+    reader.close();
+  }
+
+  @Test
+  public void T_nextRaw_equalsStreamResult_withFileChannelInputStream() throws IOException {
+    byte[] blocks = createTestBinary();
+    File file = tempDir.resolve( "test.yosegi" ).toFile();
+    Files.write( file.toPath() , blocks );
+    Configuration readerConfig = new Configuration();
+    readerConfig.set( "spread.reader.read.column.names" , "[[\"column2\"]]" );
+
+    YosegiReader streamReader = new YosegiReader();
+    streamReader.setNewStream( new ByteArrayInputStream( blocks ) , blocks.length , readerConfig );
+    YosegiReader fileReader = new YosegiReader();
+    fileReader.setNewStream( FileChannelInputStream.open( file ) , file.length() , readerConfig );
+    while ( streamReader.hasNext() ) {
+      assertEquals( fileReader.hasNext() , true );
+      List<ColumnBinary> expected = streamReader.nextRaw();
+      List<ColumnBinary> actual = fileReader.nextRaw();
+      assertEquals( expected.size() , actual.size() );
+      for ( int i = 0 ; i < expected.size() ; i++ ) {
+        ColumnBinary expectedBinary = expected.get(i);
+        ColumnBinary actualBinary = actual.get(i);
+        assertEquals( expectedBinary.columnName , actualBinary.columnName );
+        assertArrayEquals(
+            Arrays.copyOfRange( expectedBinary.binary , expectedBinary.binaryStart ,
+                expectedBinary.binaryStart + expectedBinary.binaryLength ) ,
+            Arrays.copyOfRange( actualBinary.binary , actualBinary.binaryStart ,
+                actualBinary.binaryStart + actualBinary.binaryLength ) );
+      }
+    }
+    assertEquals( fileReader.hasNext() , false );
+    assertEquals( streamReader.getReadPos() , fileReader.getReadPos() );
+    streamReader.close();
+    fileReader.close();
+  }
+
+  @Test
+  public void T_getBlockReadCount_equalsTotal_withBlockPrefetch() throws IOException {
+    byte[] blocks = createTestBinary();
+    File file = tempDir.resolve( "prefetch.yosegi" ).toFile();
+    Files.write( file.toPath() , blocks );
+    Configuration config = new Configuration();
+    config.set( "spread.reader.read.column.names" , "[[\"column2\"]]" );
+    Configuration prefetchConfig = new Configuration();
+    prefetchConfig.set( "spread.reader.read.column.names" , "[[\"column2\"]]" );
+    prefetchConfig.set( "spread.reader.block.prefetch" , "2" );
+
+    YosegiReader reader = new YosegiReader();
+    reader.setNewStream( FileChannelInputStream.open( file ) , file.length() , config );
+    YosegiReader prefetchReader = new YosegiReader();
+    prefetchReader.setNewStream(
+        FileChannelInputStream.open( file ) , file.length() , prefetchConfig );
+    int spreadCount = 0;
+    while ( reader.hasNext() ) {
+      assertEquals( prefetchReader.hasNext() , true );
+      reader.nextRaw();
+      prefetchReader.nextRaw();
+      spreadCount++;
+      assertEquals( spreadCount , reader.getBlockReadCount() );
+      assertEquals( spreadCount , prefetchReader.getBlockReadCount() );
+    }
+    assertEquals( prefetchReader.hasNext() , false );
+    assertEquals( 5 , spreadCount );
+    assertEquals( 5 , reader.getBlockCount() );
+    assertEquals( 5 , prefetchReader.getBlockCount() );
+    assertEquals( reader.getReadBytes() , prefetchReader.getReadBytes() );
+    reader.close();
+    prefetchReader.close();
+  }
+
 }
@@ -36,6 +36,7 @@ import jp.co.yahoo.yosegi.message.objects.*;
 
 import jp.co.yahoo.yosegi.spread.Spread;
 import jp.co.yahoo.yosegi.spread.column.NullColumn;
+import jp.co.yahoo.yosegi.spread.column.PrimitiveColumn;
 import jp.co.yahoo.yosegi.spread.column.ColumnType;
 
 public class TestLongColumnAnalizeResult {
@@ -53,6 +54,35 @@ public class TestLongColumnAnalizeResult {
     assertEquals( Long.BYTES * 90 , result.getLogicalDataSize() );
     assertEquals( (long)40 , result.getMin() );
     assertEquals( (long)50 , result.getMax() );
+    assertEquals( Long.MIN_VALUE , result.getMinDelta() );
+    assertEquals( Long.MAX_VALUE , result.getMaxDelta() );
+  }
+
+  @Test
+  public void T_analize_deltaRange_withTimestamps() throws IOException{
+    PrimitiveColumn column = new PrimitiveColumn( ColumnType.LONG , "t" );
+    column.add( ColumnType.LONG , new LongObj( 1000 ) , 0 );
+    column.add( ColumnType.LONG , new LongObj( 1010 ) , 1 );
+    column.add( ColumnType.LONG , new LongObj( 1030 ) , 3 );
+    column.add( ColumnType.LONG , new LongObj( 1045 ) , 4 );
+    LongColumnAnalizeResult result = (LongColumnAnalizeResult)( new LongColumnAnalizer( column ).analize() );
+    assertEquals( 10 , result.getMinDelta() );
+    assertEquals( 20 , result.getMaxDelta() );
+    assertEquals( -5 , result.getMinDeltaOfDelta() );
+    assertEquals( 10 , result.getMaxDeltaOfDelta() );
+  }
+
+  @Test
+  public void T_analize_fullDeltaRange_withOverflow() throws IOException{
+    PrimitiveColumn column = new PrimitiveColumn( ColumnType.LONG , "t" );
+    column.add( ColumnType.LONG , new LongObj( Long.MIN_VALUE ) , 0 );
+    column.add( ColumnType.LONG , new LongObj( Long.MAX_VALUE ) , 1 );
+    column.add( ColumnType.LONG , new LongObj( 0 ) , 2 );
+    LongColumnAnalizeResult result = (LongColumnAnalizeResult)( new LongColumnAnalizer( column ).analize() );
+    assertEquals( Long.MIN_VALUE , result.getMinDelta() );
+    assertEquals( Long.MAX_VALUE , result.getMaxDelta() );
+    assertEquals( Long.MIN_VALUE , result.getMinDeltaOfDelta() );
+    assertEquals( Long.MAX_VALUE , result.getMaxDeltaOfDelta() );
   }
 
 }
@@ -0,0 +1,85 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.yosegi.spread.column.filter;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import jp.co.yahoo.yosegi.message.objects.DoubleObj;
+import jp.co.yahoo.yosegi.message.objects.FloatObj;
+import jp.co.yahoo.yosegi.message.objects.IntegerObj;
+import jp.co.yahoo.yosegi.message.objects.LongObj;
+import jp.co.yahoo.yosegi.message.objects.PrimitiveObject;
+import jp.co.yahoo.yosegi.message.objects.StringObj;
+import jp.co.yahoo.yosegi.spread.column.ColumnType;
+import jp.co.yahoo.yosegi.util.LongHashSet;
+
+public class TestNumberDictionaryFilter {
+
+  @Test
+  public void T_getFilterType_equalsNumberDictionary() {
+    NumberDictionaryFilter filter = new NumberDictionaryFilter(
+        Arrays.<PrimitiveObject>asList( new IntegerObj( 1 ) ) );
+    assertEquals( FilterType.NUMBER_DICTIONARY , filter.getFilterType() );
+    assertEquals( 1 , filter.getNumberObjectList().size() );
+  }
+
+  @Test
+  public void T_getDictionary_equalsLongKeys_withIntegerColumn() throws IOException {
+    NumberDictionaryFilter filter = new NumberDictionaryFilter( Arrays.<PrimitiveObject>asList(
+        new IntegerObj( 1 ) , new LongObj( -5 ) , new StringObj( "abc" ) ) );
+    LongHashSet dictionary = filter.getDictionary( ColumnType.INTEGER );
+    assertEquals( 2 , dictionary.size() );
+    assertTrue( dictionary.contains( 1 ) );
+    assertTrue( dictionary.contains( -5 ) );
+    assertSame( dictionary , filter.getDictionary( ColumnType.LONG ) );
+  }
+
+  @Test
+  public void T_getDictionary_equalsBitsKeys_withDoubleColumn() throws IOException {
+    NumberDictionaryFilter filter = new NumberDictionaryFilter( Arrays.<PrimitiveObject>asList(
+        new DoubleObj( 1.5d ) , new DoubleObj( -0.0d ) , new DoubleObj( Double.NaN ) ) );
+    LongHashSet dictionary = filter.getDictionary( ColumnType.DOUBLE );
+    assertEquals( 2 , dictionary.size() );
+    assertTrue( dictionary.contains( NumberDictionaryFilter.toDoubleKey( 1.5d ) ) );
+    assertTrue( dictionary.contains( NumberDictionaryFilter.toDoubleKey( 0.0d ) ) );
+    assertEquals(
+        NumberDictionaryFilter.toDoubleKey( 0.0d ) , NumberDictionaryFilter.toDoubleKey( -0.0d ) );
+  }
+
+  @Test
+  public void T_getDictionary_equalsBitsKeys_withFloatColumn() throws IOException {
+    NumberDictionaryFilter filter = new NumberDictionaryFilter( Arrays.<PrimitiveObject>asList(
+        new FloatObj( 2.5f ) , new FloatObj( Float.NaN ) ) );
+    LongHashSet dictionary = filter.getDictionary( ColumnType.FLOAT );
+    assertEquals( 1 , dictionary.size() );
+    assertTrue( dictionary.contains( NumberDictionaryFilter.toFloatKey( 2.5f ) ) );
+  }
+
+  @Test
+  public void T_getDictionary_isEmpty_withStringColumn() throws IOException {
+    NumberDictionaryFilter filter = new NumberDictionaryFilter(
+        Arrays.<PrimitiveObject>asList( new IntegerObj( 1 ) ) );
+    assertTrue( filter.getDictionary( ColumnType.STRING ).isEmpty() );
+  }
+
+}
@@ -23,6 +23,8 @@ import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.BufferedReader;
 import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -34,7 +36,14 @@ import static org.junit.jupiter.params.provider.Arguments.arguments;
 
 import jp.co.yahoo.yosegi.writer.YosegiRecordWriter;
 import jp.co.yahoo.yosegi.spread.Spread;
+import jp.co.yahoo.yosegi.binary.maker.HeaderIndexLazyColumn;
+import jp.co.yahoo.yosegi.binary.maker.IColumnManager;
+import jp.co.yahoo.yosegi.spread.column.ColumnType;
+import jp.co.yahoo.yosegi.spread.column.IColumn;
+import jp.co.yahoo.yosegi.spread.column.PrimitiveColumn;
+import jp.co.yahoo.yosegi.spread.column.filter.IFilter;
 import jp.co.yahoo.yosegi.spread.column.filter.PerfectMatchStringFilter;
+import jp.co.yahoo.yosegi.spread.column.index.ICellIndex;
 
 import jp.co.yahoo.yosegi.message.objects.*;
 import jp.co.yahoo.yosegi.message.parser.IParser;
@@ -150,4 +159,94 @@ public class TestExpression {
     assertEquals( ( (PrimitiveObject)( spread.getColumn("col1").get( result.get(3) ).getRow() ) ).getString() , "e" );
   }
 
+  @Test
+  public void T_execBitmap_equalsExec_withNestedNode() throws IOException{
+    Spread spread = getTestSpread();
+
+    StringExtractNode col1Node = new StringExtractNode( "col1" );
+
+    IExpressionNode orNode = new OrExpressionNode();
+    orNode.addChildNode( new ExecuterNode( col1Node , new PerfectMatchStringFilter( "a" ) ) );
+    orNode.addChildNode( new ExecuterNode( col1Node , new PerfectMatchStringFilter( "c" ) ) );
+    orNode.addChildNode( new ExecuterNode( col1Node , new PerfectMatchStringFilter( "e" ) ) );
+    IExpressionNode node = new AndExpressionNode();
+    node.addChildNode( orNode );
+    node.addChildNode( new NotExpressionNode(
+        new ExecuterNode( col1Node , new PerfectMatchStringFilter( "c" ) ) ) );
+
+    boolean[] expected = node.exec( spread );
+    assertArrayEquals( new boolean[]{ true , false , false , false , true } , expected );
+    assertArrayEquals( expected , node.execBitmap( spread ).toBooleanArray() );
+
+    IExpressionIndex result = IndexFactory.toExpressionIndex( spread , node.execBitmap( spread ) );
+    assertEquals( result.size() , 2 );
+    assertEquals( result.get(0) , 0 );
+    assertEquals( result.get(1) , 4 );
+  }
+
+  @Test
+  public void T_execBitmap_returnNull_withEmptyAndNode() throws IOException{
+    Spread spread = getTestSpread();
+    IExpressionNode node = new AndExpressionNode();
+    assertNull( node.execBitmap( spread ) );
+    IExpressionIndex result = IndexFactory.toExpressionIndex( spread , node.execBitmap( spread ) );
+    assertEquals( ( result instanceof AllExpressionIndex ) , true );
+    assertEquals( result.size() , 5 );
+  }
+
+  @Test
+  public void T_execBitmap_useCellIndexBitmap_withExecuterNode() throws IOException{
+    PrimitiveColumn column = new PrimitiveColumn( ColumnType.STRING , "col1" );
+    for ( int i = 0 ; i < 3 ; i++ ) {
+      column.add( ColumnType.STRING , new StringObj( "v" + i ) , i );
+    }
+    ICellIndex index = new ICellIndex() {
+      @Override
+      public boolean[] filter( final IFilter filter , final boolean[] filterArray ) {
+        throw new UnsupportedOperationException( "The bitmap must be used." );
+      }
+
+      @Override
+      public SelectionBitmap filterBitmap( final IFilter filter , final int size ) {
+        SelectionBitmap bitmap = new SelectionBitmap( size );
+        bitmap.set( 1 );
+        return bitmap;
+      }
+    };
+    IColumnManager columnManager = new IColumnManager() {
+      @Override
+      public IColumn get() {
+        return column;
+      }
+
+      @Override
+      public List<String> getColumnKeys() {
+        return new ArrayList<String>();
+      }
+
+      @Override
+      public int getColumnSize() {
+        return 0;
+      }
+    };
+    Spread spread = new Spread();
+    spread.addColumn(
+        new HeaderIndexLazyColumn( "col1" , ColumnType.STRING , columnManager , index ) );
+    spread.setRowCount( 3 );
+
+    IExpressionNode node = new ExecuterNode(
+        new StringExtractNode( "col1" ) , new PerfectMatchStringFilter( "v1" ) );
+    SelectionBitmap result = node.execBitmap( spread );
+    assertEquals( 3 , result.size() );
+    assertArrayEquals( new int[]{ 1 } , result.toIndexArray() );
+  }
+
+  @Test
+  public void T_execBitmap_equalsExec_withExecuterNode() throws IOException{
+    Spread spread = getTestSpread();
+    IExpressionNode node = new ExecuterNode(
+        new StringExtractNode( "col1" ) , new PerfectMatchStringFilter( "c" ) );
+    assertArrayEquals( node.exec( spread ) , node.execBitmap( spread ).toBooleanArray() );
+  }
+
 }
@@ -0,0 +1,129 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.yosegi.spread.expression;
+
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.Arguments;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.params.provider.Arguments.arguments;
+
+public class TestSelectionBitmap {
+
+  public static Stream<Arguments> data1() {
+    return Stream.of(
+      arguments( 0 ),
+      arguments( 1 ),
+      arguments( 63 ),
+      arguments( 64 ),
+      arguments( 65 ),
+      arguments( 1000 )
+    );
+  }
+
+  private boolean[] createFlags( final int size , final int mod ) {
+    boolean[] result = new boolean[size];
+    for ( int i = 0 ; i < size ; i++ ) {
+      result[i] = ( i % mod ) == 0;
+    }
+    return result;
+  }
+
+  @ParameterizedTest
+  @MethodSource( "data1" )
+  public void T_toBooleanArray_equalsSource( final int size ) {
+    boolean[] flags = createFlags( size , 3 );
+    SelectionBitmap bitmap = SelectionBitmap.fromBooleanArray( flags );
+    assertEquals( size , bitmap.size() );
+    assertArrayEquals( flags , bitmap.toBooleanArray() );
+    for ( int i = 0 ; i < size ; i++ ) {
+      assertEquals( flags[i] , bitmap.get(i) );
+    }
+  }
+
+  @ParameterizedTest
+  @MethodSource( "data1" )
+  public void T_and_or_not_equalsBooleanResult( final int size ) {
+    boolean[] flags2 = createFlags( size , 2 );
+    boolean[] flags3 = createFlags( size , 3 );
+    boolean[] andFlags = new boolean[size];
+    boolean[] orFlags = new boolean[size];
+    boolean[] notFlags = new boolean[size];
+    int andCount = 0;
+    for ( int i = 0 ; i < size ; i++ ) {
+      andFlags[i] = flags2[i] && flags3[i];
+      orFlags[i] = flags2[i] || flags3[i];
+      notFlags[i] = ! flags2[i];
+      if ( andFlags[i] ) {
+        andCount++;
+      }
+    }
+    SelectionBitmap andBitmap = SelectionBitmap.fromBooleanArray( flags2 )
+        .and( SelectionBitmap.fromBooleanArray( flags3 ) );
+    assertArrayEquals( andFlags , andBitmap.toBooleanArray() );
+    assertEquals( andCount , andBitmap.cardinality() );
+    assertArrayEquals( orFlags ,
+        SelectionBitmap.fromBooleanArray( flags2 )
+            .or( SelectionBitmap.fromBooleanArray( flags3 ) ).toBooleanArray() );
+    assertArrayEquals( notFlags ,
+        SelectionBitmap.fromBooleanArray( flags2 ).not().toBooleanArray() );
+  }
+
+  @Test
+  public void T_not_keepSize_withTailBits() {
+    SelectionBitmap bitmap = new SelectionBitmap( 70 );
+    assertTrue( bitmap.isEmpty() );
+    bitmap.not();
+    assertEquals( 70 , bitmap.cardinality() );
+    assertTrue( bitmap.isAll() );
+    assertFalse( bitmap.isEmpty() );
+  }
+
+  @Test
+  public void T_toIndexArray_equalsSetIndex() {
+    SelectionBitmap bitmap = new SelectionBitmap( 200 );
+    bitmap.set( 0 );
+    bitmap.set( 63 );
+    bitmap.set( 64 );
+    bitmap.set( 199 );
+    assertArrayEquals( new int[]{ 0 , 63 , 64 , 199 } , bitmap.toIndexArray() );
+
+    FilterdExpressionIndex index = new FilterdExpressionIndex( bitmap );
+    assertEquals( 4 , index.size() );
+    assertEquals( 64 , index.get(2) );
+  }
+
+  @Test
+  public void T_fromWords_clearTail_withWords() {
+    SelectionBitmap bitmap = SelectionBitmap.fromWords( new long[]{ -1L , -1L } , 70 );
+    assertEquals( 70 , bitmap.size() );
+    assertEquals( 70 , bitmap.cardinality() );
+    assertTrue( bitmap.isAll() );
+  }
+
+  @Test
+  public void T_fromWords_throwsException_withInvalidLength() {
+    assertThrows( IllegalArgumentException.class ,
+        () -> SelectionBitmap.fromWords( new long[1] , 70 ) );
+  }
+
+}
@@ -0,0 +1,89 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.yosegi.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestByteArrayPool {
+
+  @Test
+  public void T_getClassIndex_equalsPowerOfTwoClass() {
+    assertEquals( 0 , ByteArrayPool.getClassIndex( 1 ) );
+    assertEquals( 0 , ByteArrayPool.getClassIndex( 1024 ) );
+    assertEquals( 1 , ByteArrayPool.getClassIndex( 1025 ) );
+    assertEquals( 1 , ByteArrayPool.getClassIndex( 2048 ) );
+    assertEquals( 20 , ByteArrayPool.getClassIndex( 1 << 30 ) );
+    assertEquals( -1 , ByteArrayPool.getClassIndex( ( 1 << 30 ) + 1 ) );
+  }
+
+  @Test
+  public void T_acquire_returnReleasedArray_withSameClass() {
+    ByteArrayPool pool = new ByteArrayPool( 1024 * 1024 );
+    byte[] buffer = pool.acquire( 3000 );
+    assertEquals( 4096 , buffer.length );
+    pool.release( buffer );
+    assertEquals( 4096 , pool.getRetainedBytes() );
+    assertSame( buffer , pool.acquire( 2049 ) );
+    assertEquals( 0 , pool.getRetainedBytes() );
+    assertNotSame( buffer , pool.acquire( 4096 ) );
+  }
+
+  @Test
+  public void T_acquire_returnEmpty_withZero() {
+    ByteArrayPool pool = new ByteArrayPool( 1024 * 1024 );
+    assertEquals( 0 , pool.acquire( 0 ).length );
+  }
+
+  @Test
+  public void T_acquire_throwsException_withNegativeSize() {
+    ByteArrayPool pool = new ByteArrayPool( 1024 * 1024 );
+    assertThrows( IllegalArgumentException.class , () -> pool.acquire( -1 ) );
+  }
+
+  @Test
+  public void T_release_dropArray_withOverRetainedLimit() {
+    ByteArrayPool pool = new ByteArrayPool( 8192 );
+    byte[] first = pool.acquire( 8192 );
+    byte[] second = pool.acquire( 8192 );
+    pool.release( first );
+    pool.release( second );
+    assertEquals( 8192 , pool.getRetainedBytes() );
+    assertSame( first , pool.acquire( 8192 ) );
+    assertNotSame( second , pool.acquire( 8192 ) );
+  }
+
+  @Test
+  public void T_release_dropArray_withNotClassSize() {
+    ByteArrayPool pool = new ByteArrayPool( 1024 * 1024 );
+    pool.release( new byte[3000] );
+    pool.release( null );
+    assertEquals( 0 , pool.getRetainedBytes() );
+  }
+
+  @Test
+  public void T_clear_dropAllArrays() {
+    ByteArrayPool pool = new ByteArrayPool( 1024 * 1024 );
+    pool.release( pool.acquire( 100 ) );
+    pool.release( pool.acquire( 10000 ) );
+    pool.clear();
+    assertEquals( 0 , pool.getRetainedBytes() );
+  }
+
+}
@@ -0,0 +1,78 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.yosegi.util;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestLongHashSet {
+
+  @Test
+  public void T_add_returnFalse_withDuplicateValue() {
+    LongHashSet set = new LongHashSet();
+    assertTrue( set.isEmpty() );
+    assertTrue( set.add( 5 ) );
+    assertFalse( set.add( 5 ) );
+    assertTrue( set.add( 0 ) );
+    assertFalse( set.add( 0 ) );
+    assertEquals( 2 , set.size() );
+    assertFalse( set.isEmpty() );
+  }
+
+  @Test
+  public void T_contains_equalsAddedValues_withZeroAndNegative() {
+    LongHashSet set = new LongHashSet();
+    set.add( 0 );
+    set.add( -1 );
+    set.add( Long.MIN_VALUE );
+    assertTrue( set.contains( 0 ) );
+    assertTrue( set.contains( -1 ) );
+    assertTrue( set.contains( Long.MIN_VALUE ) );
+    assertFalse( set.contains( 1 ) );
+    assertFalse( set.contains( Long.MAX_VALUE ) );
+  }
+
+  @Test
+  public void T_contains_keepValues_afterResize() {
+    LongHashSet set = new LongHashSet( 1 );
+    for ( long i = 0 ; i < 10000 ; i++ ) {
+      assertTrue( set.add( i * 31 ) );
+    }
+    assertEquals( 10000 , set.size() );
+    for ( long i = 0 ; i < 10000 ; i++ ) {
+      assertTrue( set.contains( i * 31 ) );
+      assertFalse( set.contains( i * 31 + 1 ) );
+    }
+  }
+
+  @Test
+  public void T_toArray_equalsAddedValues() {
+    LongHashSet set = new LongHashSet();
+    set.add( 3 );
+    set.add( 0 );
+    set.add( -7 );
+    set.add( 3 );
+    long[] result = set.toArray();
+    Arrays.sort( result );
+    assertArrayEquals( new long[]{ -7 , 0 , 3 } , result );
+  }
+
+}
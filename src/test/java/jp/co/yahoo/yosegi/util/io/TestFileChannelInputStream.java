@@ -0,0 +1,98 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.yosegi.util.io;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestFileChannelInputStream {
+
+  @TempDir
+  Path tempDir;
+
+  private File createFile( final int length ) throws IOException {
+    byte[] data = new byte[length];
+    for ( int i = 0 ; i < length ; i++ ) {
+      data[i] = (byte)i;
+    }
+    File file = tempDir.resolve( "data.bin" ).toFile();
+    Files.write( file.toPath() , data );
+    return file;
+  }
+
+  @Test
+  public void T_read_equalsFileData_afterSkip() throws IOException {
+    try ( FileChannelInputStream in = FileChannelInputStream.open( createFile( 100 ) ) ) {
+      assertEquals( 0 , in.read() );
+      assertEquals( 10 , in.skip( 10 ) );
+      byte[] buffer = new byte[5];
+      assertEquals( 5 , in.read( buffer , 0 , 5 ) );
+      assertArrayEquals( new byte[]{ 11 , 12 , 13 , 14 , 15 } , buffer );
+      assertEquals( 16 , in.getPosition() );
+      assertEquals( 84 , in.available() );
+    }
+  }
+
+  @Test
+  public void T_skip_stopAtEndOfFile() throws IOException {
+    try ( FileChannelInputStream in = FileChannelInputStream.open( createFile( 10 ) ) ) {
+      assertEquals( 10 , in.skip( 20 ) );
+      assertEquals( 0 , in.skip( 1 ) );
+      assertEquals( 0 , in.skip( -1 ) );
+      assertEquals( -1 , in.read() );
+      assertEquals( -1 , in.read( new byte[1] , 0 , 1 ) );
+    }
+  }
+
+  @Test
+  public void T_readFully_scatterToBuffers() throws IOException {
+    try ( FileChannelInputStream in = FileChannelInputStream.open( createFile( 100 ) ) ) {
+      in.skip( 50 );
+      byte[] first = new byte[10];
+      byte[] second = new byte[10];
+      ByteBuffer[] buffers = new ByteBuffer[]{
+          ByteBuffer.wrap( first , 2 , 3 ) , ByteBuffer.wrap( second , 0 , 4 ) };
+      assertEquals( 7 , in.readFully( buffers ) );
+      assertEquals( 50 , first[2] );
+      assertEquals( 52 , first[4] );
+      assertEquals( 53 , second[0] );
+      assertEquals( 56 , second[3] );
+      assertEquals( 57 , in.getPosition() );
+      assertEquals( 57 , in.read() );
+    }
+  }
+
+  @Test
+  public void T_readFully_returnShortLength_atEndOfFile() throws IOException {
+    try ( FileChannelInputStream in = FileChannelInputStream.open( createFile( 10 ) ) ) {
+      in.skip( 8 );
+      ByteBuffer[] buffers = new ByteBuffer[]{ ByteBuffer.allocate( 5 ) };
+      assertEquals( 2 , in.readFully( buffers ) );
+      assertEquals( 10 , in.getPosition() );
+    }
+  }
+
+}
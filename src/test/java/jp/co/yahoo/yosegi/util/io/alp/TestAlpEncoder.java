@@ -0,0 +1,112 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.yosegi.util.io.alp;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestAlpEncoder {
+
+  @Test
+  public void T_toBinary_useAlp_withDecimalValues() {
+    double[] values = new double[1000];
+    for ( int i = 0 ; i < values.length ; i++ ) {
+      values[i] = 100 + ( i % 50 ) / 100.0d;
+    }
+    byte[] binary = AlpEncoder.toBinary( values , values.length );
+    assertEquals( AlpEncoder.ALP , binary[0] );
+    assertEquals( 2 , binary[1] );
+    assertTrue( binary.length < values.length * Double.BYTES / 4 );
+    assertArrayEquals( values , AlpEncoder.toDoubleArray( binary , 0 , values.length ) );
+  }
+
+  @Test
+  public void T_toDoubleArray_equalsValues_withExceptions() {
+    double[] values = new double[300];
+    for ( int i = 0 ; i < values.length ; i++ ) {
+      values[i] = i * 0.5d;
+    }
+    values[3] = Double.NaN;
+    values[150] = -0.0d;
+    values[200] = Math.PI / 1e5;
+    values[299] = Double.NEGATIVE_INFINITY;
+    byte[] binary = AlpEncoder.toBinary( values , values.length );
+    assertEquals( AlpEncoder.ALP , binary[0] );
+    double[] result = AlpEncoder.toDoubleArray( binary , 0 , values.length );
+    for ( int i = 0 ; i < values.length ; i++ ) {
+      assertEquals(
+          Double.doubleToRawLongBits( values[i] ) , Double.doubleToRawLongBits( result[i] ) );
+    }
+  }
+
+  @Test
+  public void T_toBinary_useByteStreamSplit_withRandomValues() {
+    double[] values = new double[100];
+    for ( int i = 0 ; i < values.length ; i++ ) {
+      values[i] = Math.sqrt( i + 2 ) / 1e7;
+    }
+    byte[] binary = AlpEncoder.toBinary( values , values.length );
+    assertEquals( AlpEncoder.BYTE_STREAM_SPLIT , binary[0] );
+    assertArrayEquals( values , AlpEncoder.toDoubleArray( binary , 0 , values.length ) );
+  }
+
+  @Test
+  public void T_toFloatArray_equalsValues() {
+    float[] values = new float[200];
+    for ( int i = 0 ; i < values.length ; i++ ) {
+      values[i] = i * 0.1f - 5f;
+    }
+    values[10] = Float.NaN;
+    byte[] binary = AlpEncoder.toBinary( values , values.length );
+    assertEquals( AlpEncoder.ALP , binary[0] );
+    assertArrayEquals( values , AlpEncoder.toFloatArray( binary , 0 , values.length ) );
+
+    float[] randomValues = new float[50];
+    for ( int i = 0 ; i < randomValues.length ; i++ ) {
+      randomValues[i] = (float)( Math.sqrt( i + 2 ) / 1e5 );
+    }
+    binary = AlpEncoder.toBinary( randomValues , randomValues.length );
+    assertEquals( AlpEncoder.BYTE_STREAM_SPLIT , binary[0] );
+    assertArrayEquals( randomValues , AlpEncoder.toFloatArray( binary , 0 , randomValues.length ) );
+  }
+
+  @Test
+  public void T_toDoubleArray_readFromOffset() {
+    double[] values = new double[]{ 1.5d , 2.25d , -3.125d };
+    byte[] binary = AlpEncoder.toBinary( values , values.length );
+    byte[] buffer = new byte[ binary.length + 7 ];
+    System.arraycopy( binary , 0 , buffer , 7 , binary.length );
+    assertArrayEquals( values , AlpEncoder.toDoubleArray( buffer , 7 , values.length ) );
+    assertEquals( 0 , AlpEncoder.toDoubleArray( new byte[]{ AlpEncoder.BYTE_STREAM_SPLIT } , 0 , 0 ).length );
+  }
+
+  @Test
+  public void T_calcBinarySize_notSmallerThanBinaryLength() {
+    double[] values = new double[500];
+    AlpStatistics statistics = new AlpStatistics( Double.BYTES );
+    for ( int i = 0 ; i < values.length ; i++ ) {
+      values[i] = i % 7 == 0 ? Math.E * i / 1e7 : i * 0.25d;
+      statistics.add( values[i] );
+    }
+    assertEquals( 2 , statistics.chooseExponent() );
+    assertTrue(
+        AlpEncoder.toBinary( values , values.length ).length <= statistics.calcBinarySize() );
+  }
+
+}
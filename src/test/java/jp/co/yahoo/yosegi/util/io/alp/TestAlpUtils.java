@@ -0,0 +1,53 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.yosegi.util.io.alp;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestAlpUtils {
+
+  @Test
+  public void T_getExponent_equalsDecimalDigits() {
+    assertEquals( 0 , AlpUtils.getExponent( 12.0d ) );
+    assertEquals( 2 , AlpUtils.getExponent( 12.34d ) );
+    assertEquals( 3 , AlpUtils.getExponent( -0.001d ) );
+    assertEquals( 1 , AlpUtils.getExponent( 1.5f ) );
+    assertEquals( 2 , AlpUtils.getExponent( 0.25f ) );
+  }
+
+  @Test
+  public void T_getExponent_minus_withSpecialValues() {
+    assertEquals( -1 , AlpUtils.getExponent( Double.NaN ) );
+    assertEquals( -1 , AlpUtils.getExponent( Double.POSITIVE_INFINITY ) );
+    assertEquals( -1 , AlpUtils.getExponent( -0.0d ) );
+    assertEquals( -1 , AlpUtils.getExponent( Math.PI / 1e5 ) );
+    assertEquals( -1 , AlpUtils.getExponent( 1e300 ) );
+    assertEquals( -1 , AlpUtils.getExponent( Float.NaN ) );
+  }
+
+  @Test
+  public void T_decode_equalsValue_afterEncode() {
+    long encoded = AlpUtils.encode( 98.76d , 2 );
+    assertEquals( 9876L , encoded );
+    assertEquals( 98.76d , AlpUtils.decodeDouble( encoded , 2 ) );
+    assertEquals( 98.76f , AlpUtils.decodeFloat( AlpUtils.encode( 98.76f , 2 ) , 2 ) );
+  }
+
+}
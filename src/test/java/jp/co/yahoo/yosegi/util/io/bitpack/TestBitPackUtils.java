@@ -0,0 +1,100 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.yosegi.util.io.bitpack;
+
+import java.util.Random;
+
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestBitPackUtils {
+
+  public static Stream<Integer> bitWidth() {
+    return IntStream.rangeClosed( 0 , 64 ).boxed();
+  }
+
+  private static long[] createValues( final int count , final int bitWidth ) {
+    Random rnd = new Random( bitWidth );
+    long mask = bitWidth == 64 ? -1L : ( 1L << bitWidth ) - 1L;
+    long[] values = new long[count];
+    for ( int i = 0 ; i < count ; i++ ) {
+      values[i] = rnd.nextLong() & mask;
+    }
+    if ( 0 < count ) {
+      values[0] = mask;
+    }
+    return values;
+  }
+
+  @Test
+  public void T_getBitWidth_equalsNeededBits() {
+    assertEquals( 0 , BitPackUtils.getBitWidth( 0 ) );
+    assertEquals( 1 , BitPackUtils.getBitWidth( 1 ) );
+    assertEquals( 3 , BitPackUtils.getBitWidth( 7 ) );
+    assertEquals( 4 , BitPackUtils.getBitWidth( 8 ) );
+    assertEquals( 64 , BitPackUtils.getBitWidth( -1L ) );
+  }
+
+  @Test
+  public void T_getPackedLength_paddedToGroup() {
+    assertEquals( 0 , BitPackUtils.getPackedLength( 0 , 3 ) );
+    assertEquals( 3 , BitPackUtils.getPackedLength( 1 , 3 ) );
+    assertEquals( 3 , BitPackUtils.getPackedLength( 8 , 3 ) );
+    assertEquals( 6 , BitPackUtils.getPackedLength( 9 , 3 ) );
+    assertEquals( 0 , BitPackUtils.getPackedLength( 100 , 0 ) );
+  }
+
+  @ParameterizedTest
+  @MethodSource( "bitWidth" )
+  public void T_unpack_equalsPackedValues_withLongArray( final int bitWidth ) {
+    long[] values = createValues( 131 , bitWidth );
+    byte[] binary = new byte[ BitPackUtils.getPackedLength( values.length , bitWidth ) + 2 ];
+    assertEquals( binary.length - 2 ,
+        BitPackUtils.pack( values , 0 , values.length , bitWidth , binary , 2 ) );
+    long[] result = new long[ values.length + 1 ];
+    BitPackUtils.unpack( binary , 2 , values.length , bitWidth , result , 1 );
+    for ( int i = 0 ; i < values.length ; i++ ) {
+      assertEquals( values[i] , result[ i + 1 ] );
+    }
+  }
+
+  @ParameterizedTest
+  @MethodSource( "bitWidth" )
+  public void T_unpack_equalsPackedValues_withIntArray( final int bitWidth ) {
+    if ( 32 < bitWidth ) {
+      assertThrows( IllegalArgumentException.class ,
+          () -> BitPackUtils.unpack( new byte[0] , 0 , 0 , bitWidth , new int[0] , 0 ) );
+      return;
+    }
+    long[] values = createValues( 29 , bitWidth );
+    byte[] binary = new byte[ BitPackUtils.getPackedLength( values.length , bitWidth ) ];
+    BitPackUtils.pack( values , 0 , values.length , bitWidth , binary , 0 );
+    int[] result = new int[ values.length ];
+    BitPackUtils.unpack( binary , 0 , values.length , bitWidth , result , 0 );
+    for ( int i = 0 ; i < values.length ; i++ ) {
+      assertEquals( (int)values[i] , result[i] );
+    }
+  }
+
+}
@@ -0,0 +1,111 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.yosegi.util.io.fsst;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestFsstSymbolTable {
+
+  private List<byte[]> createUrlList() {
+    List<byte[]> result = new ArrayList<byte[]>();
+    for ( int i = 0 ; i < 1000 ; i++ ) {
+      String url = String.format(
+          "https://www.example.com/category/%d/item?id=%d&ref=search" , i % 17 , i );
+      result.add( url.getBytes( StandardCharsets.UTF_8 ) );
+    }
+    return result;
+  }
+
+  @Test
+  public void T_decode_equalsValue_afterEncode() {
+    List<byte[]> urlList = createUrlList();
+    FsstSymbolTable table = FsstSymbolTable.train( urlList );
+    int rawLength = 0;
+    int encodedLength = 0;
+    for ( byte[] url : urlList ) {
+      byte[] encoded = table.encode( url );
+      assertArrayEquals( url , table.decode( encoded , 0 , encoded.length ) );
+      rawLength += url.length;
+      encodedLength += encoded.length;
+    }
+    assertTrue( encodedLength * 2 < rawLength );
+  }
+
+  @Test
+  public void T_encode_useEscape_withUnknownBytes() {
+    FsstSymbolTable table = new FsstSymbolTable( new byte[][]{
+        "ab".getBytes( StandardCharsets.UTF_8 ) , "abc".getBytes( StandardCharsets.UTF_8 ) } );
+    byte[] encoded = table.encode( "abcabxab".getBytes( StandardCharsets.UTF_8 ) );
+    assertArrayEquals( new byte[]{ 1 , 0 , (byte)FsstSymbolTable.ESCAPE , 'x' , 0 } , encoded );
+    byte[] binary = new byte[ table.getBinarySize() ];
+    assertEquals( binary.length , table.toBinary( binary , 0 ) );
+    FsstSymbolTable readTable = FsstSymbolTable.read( binary , 0 );
+    assertEquals( 2 , readTable.getSymbolCount() );
+    assertArrayEquals(
+        "abcabxab".getBytes( StandardCharsets.UTF_8 ) , readTable.decode( encoded , 0 , 5 ) );
+  }
+
+  @Test
+  public void T_createPrefixMatcher_equalsStartsWith() {
+    List<byte[]> urlList = createUrlList();
+    FsstSymbolTable table = FsstSymbolTable.train( urlList );
+    String[] prefixArray = new String[]{
+        "" , "h" , "https://www.example.com/" , "https://www.example.com/category/1" ,
+        "https://www.example.com/category/1/item?id=1" , "https://www.example.org" , "x" };
+    for ( String prefix : prefixArray ) {
+      FsstSymbolTable.PrefixMatcher matcher =
+          table.createPrefixMatcher( prefix.getBytes( StandardCharsets.UTF_8 ) );
+      for ( byte[] url : urlList ) {
+        byte[] encoded = table.encode( url );
+        assertEquals(
+            new String( url , StandardCharsets.UTF_8 ).startsWith( prefix ) ,
+            matcher.match( encoded , 0 , encoded.length ) );
+      }
+    }
+  }
+
+  @Test
+  public void T_get_equalsValue_inDictionary() {
+    List<byte[]> urlList = createUrlList();
+    byte[] binary = FsstStringDictionary.toBinary( urlList );
+    byte[] buffer = new byte[ binary.length + 3 ];
+    System.arraycopy( binary , 0 , buffer , 3 , binary.length );
+    FsstStringDictionary dictionary = new FsstStringDictionary( buffer , 3 );
+    assertEquals( urlList.size() , dictionary.size() );
+    byte[] target = dictionary.getSymbolTable().encode( urlList.get( 500 ) );
+    for ( int i = 0 ; i < urlList.size() ; i++ ) {
+      assertArrayEquals( urlList.get( i ) , dictionary.get( i ) );
+      assertEquals( i == 500 , dictionary.isEqual( i , target ) );
+    }
+  }
+
+  @Test
+  public void T_new_throwsException_withTooManySymbols() {
+    assertThrows( IllegalArgumentException.class ,
+        () -> new FsstSymbolTable( new byte[256][] ) );
+    assertThrows( IllegalArgumentException.class ,
+        () -> new FsstSymbolTable( new byte[][]{ new byte[9] } ) );
+  }
+
+}
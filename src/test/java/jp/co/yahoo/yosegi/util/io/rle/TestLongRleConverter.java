@@ -0,0 +1,70 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.yosegi.util.io.rle;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+
+public class TestLongRleConverter {
+
+  @Test
+  public void T_addAndGet_equalsSetValue() throws IOException {
+    LongRleConverter rle = new LongRleConverter( 1L , new long[100] );
+    long[] data = new long[]{ 1 , 1 , 2 , 1 , 1 , 1 , 2 , 1 , 1 };
+    for ( long value : data ) {
+      rle.add( value );
+    }
+    rle.finish();
+    assertEquals( 5 , rle.getRowGroupCount() );
+    assertEquals( 3 , rle.getMaxGroupLength() );
+    int[] lengthArray = rle.getLengthArray();
+    long[] valueArray = rle.getValueArray();
+    int[] expectedLength = new int[]{ 2 , 1 , 3 , 1 , 2 };
+    long[] expectedValue = new long[]{ 1 , 2 , 1 , 2 , 1 };
+    for ( int i = 0 ; i < 5 ; i++ ) {
+      assertEquals( expectedLength[i] , lengthArray[i] );
+      assertEquals( expectedValue[i] , valueArray[i] );
+    }
+  }
+
+  @Test
+  public void T_addAndGet_equalsSetValue_withEmpty() throws IOException {
+    LongRleConverter rle = new LongRleConverter( 1L , new long[100] );
+    rle.finish();
+    assertEquals( 0 , rle.getRowGroupCount() );
+    assertEquals( 0 , rle.getMaxGroupLength() );
+  }
+
+  @Test
+  public void T_getValueArray_throwsException_whenNotFinish() throws IOException {
+    LongRleConverter rle = new LongRleConverter( 1L , new long[100] );
+    rle.add( 1L );
+    assertThrows( IOException.class , () -> rle.getValueArray() );
+  }
+
+  @Test
+  public void T_add_throwsException_whenFinished() throws IOException {
+    LongRleConverter rle = new LongRleConverter( 1L , new long[100] );
+    rle.finish();
+    assertThrows( IOException.class , () -> rle.add( 1L ) );
+  }
+
+}
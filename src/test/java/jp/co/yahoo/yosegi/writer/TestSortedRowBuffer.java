@@ -0,0 +1,135 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.yosegi.writer;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import jp.co.yahoo.yosegi.message.objects.IntegerObj;
+import jp.co.yahoo.yosegi.message.objects.StringObj;
+import jp.co.yahoo.yosegi.message.parser.json.JacksonMessageReader;
+import jp.co.yahoo.yosegi.spread.Spread;
+import jp.co.yahoo.yosegi.spread.column.ArrayCell;
+import jp.co.yahoo.yosegi.spread.column.ICell;
+import jp.co.yahoo.yosegi.spread.column.IColumn;
+import jp.co.yahoo.yosegi.spread.column.IntegerCell;
+import jp.co.yahoo.yosegi.spread.column.PrimitiveCell;
+import jp.co.yahoo.yosegi.spread.column.NullCell;
+import jp.co.yahoo.yosegi.spread.column.SpreadCell;
+
+public class TestSortedRowBuffer {
+
+  private Map<String,Object> createRow( final Integer key , final String value ) {
+    Map<String,Object> row = new HashMap<String,Object>();
+    if ( key != null ) {
+      row.put( "key" , new IntegerObj( key.intValue() ) );
+    }
+    row.put( "value" , new StringObj( value ) );
+    return row;
+  }
+
+  @Test
+  public void T_createSortedSpread_ascendingAndStable_withNullKey() throws IOException {
+    SortedRowBuffer buffer = new SortedRowBuffer( Arrays.asList( "key" ) );
+    buffer.addRow( createRow( 3 , "a" ) );
+    buffer.addRow( createRow( null , "b" ) );
+    buffer.addRow( createRow( 1 , "c" ) );
+    buffer.addRow( createRow( 2 , "d" ) );
+    buffer.addRow( createRow( 1 , "e" ) );
+    assertEquals( 5 , buffer.size() );
+
+    Spread spread = buffer.createSortedSpread();
+    assertEquals( 0 , buffer.size() );
+    assertEquals( 5 , spread.size() );
+    IColumn valueColumn = spread.getColumn( "value" );
+    String[] expected = new String[]{ "c" , "e" , "d" , "a" , "b" };
+    for ( int i = 0 ; i < expected.length ; i++ ) {
+      assertEquals( expected[i] , ( (PrimitiveCell)valueColumn.get( i ) ).getRow().getString() );
+    }
+  }
+
+  @Test
+  public void T_createSortedSpread_keepOrder_withMissingKey() throws IOException {
+    SortedRowBuffer buffer = new SortedRowBuffer( Arrays.asList( "none" ) );
+    buffer.addRow( createRow( 3 , "a" ) );
+    buffer.addRow( createRow( 1 , "b" ) );
+    Spread spread = buffer.createSortedSpread();
+    IColumn valueColumn = spread.getColumn( "value" );
+    assertEquals( "a" , ( (PrimitiveCell)valueColumn.get( 0 ) ).getRow().getString() );
+    assertEquals( "b" , ( (PrimitiveCell)valueColumn.get( 1 ) ).getRow().getString() );
+  }
+
+  @Test
+  public void T_createSortedSpread_keepValues_withReusedRowMap() throws IOException {
+    SortedRowBuffer buffer = new SortedRowBuffer( Arrays.asList( "key" ) );
+    Map<String,Object> row = new HashMap<String,Object>();
+    row.put( "key" , new IntegerObj( 2 ) );
+    row.put( "value" , new StringObj( "a" ) );
+    buffer.addRow( row );
+    row.put( "key" , new IntegerObj( 1 ) );
+    row.put( "value" , new StringObj( "b" ) );
+    buffer.addRow( row );
+    row.clear();
+
+    Spread spread = buffer.createSortedSpread();
+    IColumn valueColumn = spread.getColumn( "value" );
+    assertEquals( "b" , ( (PrimitiveCell)valueColumn.get( 0 ) ).getRow().getString() );
+    assertEquals( "a" , ( (PrimitiveCell)valueColumn.get( 1 ) ).getRow().getString() );
+  }
+
+  @Test
+  public void T_createSortedSpread_keepNestedValues_withParserRow() throws IOException {
+    SortedRowBuffer buffer = new SortedRowBuffer( Arrays.asList( "key" ) );
+    JacksonMessageReader messageReader = new JacksonMessageReader();
+    for ( int i = 3 ; 0 < i ; i-- ) {
+      buffer.addParserRow( messageReader.create( String.format(
+          "{\"key\":%d,\"child\":{\"name\":\"name_%d\"},\"list\":[%d,%d]}" ,
+          i , i , i , i * 10 ) ) );
+    }
+
+    Spread spread = buffer.createSortedSpread();
+    assertEquals( 3 , spread.size() );
+    for ( int i = 0 ; i < 3 ; i++ ) {
+      int key = i + 1;
+      assertEquals( key ,
+          ( (PrimitiveCell)spread.getColumn( "key" ).get( i ) ).getRow().getInt() );
+      Map<String,ICell> child = ( (SpreadCell)spread.getColumn( "child" ).get( i ) ).getRow();
+      assertEquals( "name_" + key , ( (PrimitiveCell)child.get( "name" ) ).getRow().getString() );
+      List<ICell> list = ( (ArrayCell)spread.getColumn( "list" ).get( i ) ).getRow();
+      assertEquals( 2 , list.size() );
+      assertEquals( key , ( (PrimitiveCell)list.get( 0 ) ).getRow().getInt() );
+      assertEquals( key * 10 , ( (PrimitiveCell)list.get( 1 ) ).getRow().getInt() );
+    }
+  }
+
+  @Test
+  public void T_compareCell_nullLast() throws IOException {
+    IntegerCell cell = new IntegerCell( new IntegerObj( 1 ) );
+    assertTrue( SortedRowBuffer.compareCell( cell , NullCell.getInstance() ) < 0 );
+    assertTrue( SortedRowBuffer.compareCell( NullCell.getInstance() , cell ) > 0 );
+    assertEquals( 0 , SortedRowBuffer.compareCell( NullCell.getInstance() , NullCell.getInstance() ) );
+  }
+
+}
@@ -0,0 +1,215 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.co.yahoo.yosegi.writer;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import jp.co.yahoo.yosegi.config.Configuration;
+import jp.co.yahoo.yosegi.message.objects.LongObj;
+import jp.co.yahoo.yosegi.message.objects.StringObj;
+import jp.co.yahoo.yosegi.message.parser.IParser;
+import jp.co.yahoo.yosegi.reader.YosegiReader;
+import jp.co.yahoo.yosegi.reader.YosegiSchemaReader;
+import jp.co.yahoo.yosegi.spread.Spread;
+import jp.co.yahoo.yosegi.spread.column.IColumn;
+import jp.co.yahoo.yosegi.spread.column.PrimitiveCell;
+import jp.co.yahoo.yosegi.spread.column.filter.PerfectMatchStringFilter;
+
+public class TestYosegiRecordWriter {
+
+  private byte[] write( final Configuration config , final int rows ) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    YosegiRecordWriter writer = new YosegiRecordWriter( out , config );
+    for ( int i = 0 ; i < rows ; i++ ) {
+      Map<String,Object> row = new HashMap<String,Object>();
+      row.put( "id" , new LongObj( i ) );
+      row.put( "name" , new StringObj( "name_" + ( i % 100 ) ) );
+      writer.addRow( row );
+    }
+    writer.close();
+    return out.toByteArray();
+  }
+
+  private void assertRows( final byte[] data , final int rows ) throws IOException {
+    YosegiSchemaReader reader = new YosegiSchemaReader();
+    reader.setNewStream(
+        new ByteArrayInputStream( data ) , data.length , new Configuration() );
+    int count = 0;
+    while ( reader.hasNext() ) {
+      IParser parser = reader.next();
+      assertEquals( (long)count , parser.get( "id" ).getLong() );
+      assertEquals( "name_" + ( count % 100 ) , parser.get( "name" ).getString() );
+      count++;
+    }
+    reader.close();
+    assertEquals( rows , count );
+  }
+
+  private static class FailOutputStream extends OutputStream {
+
+    private boolean closed;
+
+    @Override
+    public void write( final int b ) throws IOException {
+      throw new IOException( "write failed." );
+    }
+
+    @Override
+    public void close() {
+      closed = true;
+    }
+
+  }
+
+  private boolean writeToFailStream( final Configuration config ) throws IOException {
+    FailOutputStream out = new FailOutputStream();
+    YosegiRecordWriter writer = new YosegiRecordWriter( out , config );
+    assertThrows( IOException.class , () -> {
+      try {
+        for ( int i = 0 ; i < 100000 ; i++ ) {
+          Map<String,Object> row = new HashMap<String,Object>();
+          row.put( "id" , new LongObj( i ) );
+          row.put( "name" , new StringObj( "name_" + i ) );
+          writer.addRow( row );
+        }
+      } finally {
+        writer.close();
+      }
+    } );
+    return out.closed;
+  }
+
+  @Test
+  public void T_close_closeStream_withWriteError() throws IOException {
+    Configuration config = new Configuration();
+    config.set( "record.writer.max.rows" , "1000" );
+    config.set( "block.size" , Integer.toString( 1024 * 64 ) );
+    assertTrue( writeToFailStream( config ) );
+  }
+
+  @Test
+  public void T_close_closeStream_withAsyncSpreadsAndWriteError() throws IOException {
+    Configuration config = new Configuration();
+    config.set( "record.writer.max.rows" , "1000" );
+    config.set( "record.writer.async.spreads" , "2" );
+    config.set( "record.writer.async.convert.threads" , "3" );
+    config.set( "block.size" , Integer.toString( 1024 * 64 ) );
+    assertTrue( writeToFailStream( config ) );
+  }
+
+  @Test
+  public void T_close_keepRowOrder_withoutAsync() throws IOException {
+    Configuration config = new Configuration();
+    config.set( "record.writer.max.rows" , "1000" );
+    assertRows( write( config , 5500 ) , 5500 );
+  }
+
+  @Test
+  public void T_close_keepRowOrder_withAsyncSpreads() throws IOException {
+    Configuration config = new Configuration();
+    config.set( "record.writer.max.rows" , "1000" );
+    config.set( "record.writer.async.spreads" , "2" );
+    config.set( "record.writer.async.convert.threads" , "3" );
+    assertRows( write( config , 10500 ) , 10500 );
+  }
+
+  @Test
+  public void T_close_keepRowOrder_withAsyncSpreadsAndLessRows() throws IOException {
+    Configuration config = new Configuration();
+    config.set( "record.writer.async.spreads" , "4" );
+    assertRows( write( config , 10 ) , 10 );
+  }
+
+  @Test
+  public void T_close_writeEmptyFile_withAsyncSpreadsAndNoRows() throws IOException {
+    Configuration config = new Configuration();
+    config.set( "record.writer.async.spreads" , "4" );
+    assertRows( write( config , 0 ) , 0 );
+  }
+
+  @Test
+  public void T_close_sortRowsInSpread_withSortKeys() throws IOException {
+    Configuration config = new Configuration();
+    config.set( "record.writer.max.rows" , "1000" );
+    config.set( "record.writer.sort.keys" , "name , id" );
+    byte[] data = write( config , 2500 );
+
+    int count = 0;
+    try ( YosegiReader reader = new YosegiReader() ) {
+      reader.setNewStream( new ByteArrayInputStream( data ) , data.length , new Configuration() );
+      while ( reader.hasNext() ) {
+        Spread spread = reader.next();
+        assertEquals( Arrays.asList( "name" , "id" ) , reader.getSortKeys() );
+        IColumn nameColumn = spread.getColumn( "name" );
+        IColumn idColumn = spread.getColumn( "id" );
+        String prevName = "";
+        long prevId = -1;
+        int matchCount = 0;
+        for ( int i = 0 ; i < spread.size() ; i++ ) {
+          String name = ( (PrimitiveCell)nameColumn.get( i ) ).getRow().getString();
+          long id = ( (PrimitiveCell)idColumn.get( i ) ).getRow().getLong();
+          assertTrue( prevName.compareTo( name ) < 0
+              || ( prevName.equals( name ) && prevId < id ) );
+          if ( "name_5".equals( name ) ) {
+            matchCount++;
+          }
+          prevName = name;
+          prevId = id;
+        }
+        boolean[] result = nameColumn.filter(
+            new PerfectMatchStringFilter( "name_5" ) , new boolean[spread.size()] );
+        int resultCount = 0;
+        for ( int i = 0 ; i < result.length ; i++ ) {
+          if ( result[i] ) {
+            assertEquals( "name_5" ,
+                ( (PrimitiveCell)nameColumn.get( i ) ).getRow().getString() );
+            resultCount++;
+          }
+        }
+        assertEquals( matchCount , resultCount );
+        count += spread.size();
+      }
+    }
+    assertEquals( 2500 , count );
+  }
+
+  @Test
+  public void T_close_keepRowOrder_withoutSortKeys() throws IOException {
+    Configuration config = new Configuration();
+    config.set( "record.writer.max.rows" , "1000" );
+    byte[] data = write( config , 1500 );
+    try ( YosegiReader reader = new YosegiReader() ) {
+      reader.setNewStream( new ByteArrayInputStream( data ) , data.length , new Configuration() );
+      while ( reader.hasNext() ) {
+        reader.next();
+        assertTrue( reader.getSortKeys().isEmpty() );
+      }
+    }
+  }
+
+}